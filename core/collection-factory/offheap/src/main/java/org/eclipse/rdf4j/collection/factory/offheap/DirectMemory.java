@@ -0,0 +1,121 @@
+/*******************************************************************************
+ * Copyright (c) 2023 Eclipse RDF4J contributors.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Distribution License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/org/documents/edl-v10.php.
+ *
+ * SPDX-License-Identifier: BSD-3-Clause
+ *******************************************************************************/
+package org.eclipse.rdf4j.collection.factory.offheap;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.Field;
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Allocates the direct buffers of the off-heap sets of one {@link OffHeapCollectionFactory}. The direct memory of all
+ * factories together is limited by {@link OffHeapCollectionFactory#MAX_DIRECT_MEMORY_PROPERTY}, a set that can not grow
+ * within that limit keeps its new elements in the collections of the delegate factory instead.
+ * <p>
+ * Buffers are freed as soon as they are released, and the buffers of all sets are freed when the factory is closed, so
+ * that the memory does not have to wait for the garbage collector. Where the JVM does not allow to free direct buffers,
+ * they are left to the garbage collector.
+ */
+final class DirectMemory {
+
+	// the direct memory of all factories, in bytes
+	private static final AtomicLong allocated = new AtomicLong();
+
+	private static final MethodHandle invokeCleaner = findInvokeCleaner();
+
+	private final long limit;
+
+	private final List<OffHeapTupleSet> sets = new ArrayList<>();
+
+	private boolean closed;
+
+	/**
+	 * @param limit the maximum number of bytes of direct memory of all factories together
+	 */
+	DirectMemory(long limit) {
+		this.limit = limit;
+	}
+
+	/**
+	 * @return a new set whose buffers are freed when this memory is closed
+	 */
+	synchronized OffHeapTupleSet createSet() {
+		if (closed) {
+			throw new IllegalStateException("Collection factory is closed");
+		}
+		OffHeapTupleSet set = new OffHeapTupleSet(this);
+		sets.add(set);
+		return set;
+	}
+
+	/**
+	 * @param bytes the size of the buffer
+	 * @return a new direct buffer, or null if it would exceed the limit of direct memory
+	 */
+	ByteBuffer allocate(int bytes) {
+		if (allocated.addAndGet(bytes) > limit) {
+			allocated.addAndGet(-bytes);
+			return null;
+		}
+		try {
+			return ByteBuffer.allocateDirect(bytes);
+		} catch (OutOfMemoryError e) {
+			// the JVM has a lower limit on direct memory
+			allocated.addAndGet(-bytes);
+			return null;
+		}
+	}
+
+	/**
+	 * Free a buffer that was allocated by {@link #allocate(int)}. The buffer must not be used afterwards.
+	 */
+	void free(ByteBuffer buffer) {
+		allocated.addAndGet(-buffer.capacity());
+		if (invokeCleaner != null) {
+			try {
+				invokeCleaner.invokeExact(buffer);
+			} catch (Throwable e) {
+				// left to the garbage collector
+			}
+		}
+	}
+
+	/**
+	 * Free the buffers of all sets. The sets can not be used afterwards.
+	 */
+	synchronized void close() {
+		closed = true;
+		for (OffHeapTupleSet set : sets) {
+			set.free();
+		}
+		sets.clear();
+	}
+
+	/**
+	 * @return a handle to sun.misc.Unsafe#invokeCleaner(ByteBuffer), or null if it is not available
+	 */
+	private static MethodHandle findInvokeCleaner() {
+		try {
+			Class<?> unsafeClass = Class.forName("sun.misc.Unsafe");
+			Field theUnsafe = unsafeClass.getDeclaredField("theUnsafe");
+			theUnsafe.setAccessible(true);
+			return MethodHandles.lookup()
+					.findVirtual(unsafeClass, "invokeCleaner", MethodType.methodType(void.class, ByteBuffer.class))
+					.bindTo(theUnsafe.get(null));
+		} catch (ReflectiveOperationException | RuntimeException e) {
+			return null;
+		}
+	}
+}
@@ -0,0 +1,390 @@
+/*******************************************************************************
+ * Copyright (c) 2023 Eclipse RDF4J contributors.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Distribution License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/org/documents/edl-v10.php.
+ *
+ * SPDX-License-Identifier: BSD-3-Clause
+ *******************************************************************************/
+package org.eclipse.rdf4j.collection.factory.offheap;
+
+import java.util.AbstractSet;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.function.ToIntFunction;
+
+import org.eclipse.rdf4j.collection.factory.api.BindingSetKey;
+import org.eclipse.rdf4j.collection.factory.api.CollectionFactory;
+import org.eclipse.rdf4j.collection.factory.impl.DefaultCollectionFactory;
+import org.eclipse.rdf4j.common.annotation.Experimental;
+import org.eclipse.rdf4j.common.exception.RDF4JException;
+import org.eclipse.rdf4j.model.Value;
+import org.eclipse.rdf4j.query.Binding;
+import org.eclipse.rdf4j.query.BindingSet;
+import org.eclipse.rdf4j.query.impl.MapBindingSet;
+
+/**
+ * A CollectionFactory that keeps the values of a store as the IDs the store uses for them. Sets of values and of
+ * binding sets are kept in off-heap memory as tuples of IDs, and the keys of GROUP BY maps hold IDs instead of values.
+ * This keeps large intermediate results out of the heap and away from the garbage collector.
+ * <p>
+ * The off-heap memory of a factory is freed when the factory is {@link #close() closed}. The off-heap memory of all
+ * factories together is limited by {@link #MAX_DIRECT_MEMORY_PROPERTY}, when the limit is reached the sets keep their
+ * new elements in the collections of the delegate factory.
+ * <p>
+ * Values that are not known to the store, such as values that are computed during query evaluation, do not have an ID
+ * and are kept in the collections of a delegate factory. Collections that are not keyed by values are always created by
+ * the delegate.
+ */
+@Experimental
+public class OffHeapCollectionFactory implements CollectionFactory {
+
+	/**
+	 * The system property that limits the off-heap memory of all factories together, in bytes. It is read when a
+	 * factory is created and defaults to half of the maximum heap size.
+	 */
+	public static final String MAX_DIRECT_MEMORY_PROPERTY = "org.eclipse.rdf4j.collection.factory.offheap.maxDirectMemory";
+
+	// the ID of unbound values in binding set keys
+	private static final long UNBOUND = -2;
+
+	private final ValueIdResolver resolver;
+
+	private final CollectionFactory delegate;
+
+	private final DirectMemory memory;
+
+	// binding names are kept in the off-heap sets by their index
+	private final List<String> bindingNames = new ArrayList<>();
+
+	private final Map<String, Integer> bindingNameIndexes = new HashMap<>();
+
+	public OffHeapCollectionFactory(ValueIdResolver resolver) {
+		this(resolver, new DefaultCollectionFactory());
+	}
+
+	public OffHeapCollectionFactory(ValueIdResolver resolver, CollectionFactory delegate) {
+		this.resolver = resolver;
+		this.delegate = delegate;
+		this.memory = new DirectMemory(
+				Long.getLong(MAX_DIRECT_MEMORY_PROPERTY, Runtime.getRuntime().maxMemory() / 2));
+	}
+
+	@Override
+	public <T> List<T> createList() {
+		return delegate.createList();
+	}
+
+	@Override
+	public List<Value> createValueList() {
+		return delegate.createValueList();
+	}
+
+	@Override
+	public <T> Set<T> createSet() {
+		return delegate.createSet();
+	}
+
+	@Override
+	public Set<BindingSet> createSetOfBindingSets() {
+		return new BindingSetSet(delegate.createSetOfBindingSets());
+	}
+
+	@Override
+	public Set<Value> createValueSet() {
+		return new ValueSet(delegate.createValueSet());
+	}
+
+	@Override
+	public <K, V> Map<K, V> createMap() {
+		return delegate.createMap();
+	}
+
+	@Override
+	public <V> Map<Value, V> createValueKeyedMap() {
+		return delegate.createValueKeyedMap();
+	}
+
+	@Override
+	public <T> Queue<T> createQueue() {
+		return delegate.createQueue();
+	}
+
+	@Override
+	public Queue<Value> createValueQueue() {
+		return delegate.createValueQueue();
+	}
+
+	@Override
+	public <E> Map<BindingSetKey, E> createGroupByMap() {
+		return delegate.createGroupByMap();
+	}
+
+	@Override
+	public BindingSetKey createBindingSetKey(BindingSet bindingSet, List<Function<BindingSet, Value>> getValues,
+			ToIntFunction<BindingSet> hashOfBindingSetCalculator) {
+		long[] ids = new long[getValues.size()];
+		for (int i = 0; i < ids.length; i++) {
+			Value value = getValues.get(i).apply(bindingSet);
+			if (value == null) {
+				ids[i] = UNBOUND;
+			} else {
+				ids[i] = resolver.getId(value);
+				if (ids[i] == ValueIdResolver.NO_ID) {
+					// equal keys are either both made of IDs or both made of values
+					return delegate.createBindingSetKey(bindingSet, getValues, hashOfBindingSetCalculator);
+				}
+			}
+		}
+		return new IdBindingSetKey(ids, hashOfBindingSetCalculator.applyAsInt(bindingSet));
+	}
+
+	@Override
+	public void close() throws RDF4JException {
+		try {
+			memory.close();
+		} finally {
+			delegate.close();
+		}
+	}
+
+	private synchronized int getBindingNameIndex(String name) {
+		return bindingNameIndexes.computeIfAbsent(name, n -> {
+			bindingNames.add(n);
+			return bindingNames.size() - 1;
+		});
+	}
+
+	private synchronized String getBindingName(int index) {
+		return bindingNames.get(index);
+	}
+
+	private static final class IdBindingSetKey implements BindingSetKey {
+
+		private final long[] ids;
+
+		private final int hash;
+
+		public IdBindingSetKey(long[] ids, int hash) {
+			this.ids = ids;
+			this.hash = hash;
+		}
+
+		@Override
+		public int hashCode() {
+			return hash;
+		}
+
+		@Override
+		public boolean equals(Object other) {
+			return other instanceof IdBindingSetKey && other.hashCode() == hash
+					&& Arrays.equals(ids, ((IdBindingSetKey) other).ids);
+		}
+	}
+
+	/**
+	 * A set of values that keeps the IDs of values in off-heap memory, and other values in a delegate set. Values with
+	 * an ID are also kept in the delegate set once the off-heap memory is full.
+	 */
+	private class ValueSet extends AbstractSet<Value> {
+
+		private final OffHeapTupleSet ids = memory.createSet();
+
+		private final Set<Value> values;
+
+		private final long[] tuple = new long[1];
+
+		public ValueSet(Set<Value> values) {
+			this.values = values;
+		}
+
+		@Override
+		public boolean add(Value value) {
+			long id = resolver.getId(value);
+			if (id == ValueIdResolver.NO_ID) {
+				return values.add(value);
+			}
+			tuple[0] = id;
+			switch (ids.add(tuple, 1)) {
+			case OffHeapTupleSet.ADDED:
+				return true;
+			case OffHeapTupleSet.PRESENT:
+				return false;
+			default:
+				return values.add(value);
+			}
+		}
+
+		@Override
+		public boolean contains(Object o) {
+			if (!(o instanceof Value)) {
+				return false;
+			}
+			long id = resolver.getId((Value) o);
+			if (id == ValueIdResolver.NO_ID) {
+				return values.contains(o);
+			}
+			tuple[0] = id;
+			return ids.contains(tuple, 1) || values.contains(o);
+		}
+
+		@Override
+		public Iterator<Value> iterator() {
+			Iterator<Value> others = values.iterator();
+			return new Iterator<>() {
+
+				private int offset;
+
+				@Override
+				public boolean hasNext() {
+					return offset < ids.end() || others.hasNext();
+				}
+
+				@Override
+				public Value next() {
+					if (offset < ids.end()) {
+						Value value = resolver.getValue(ids.get(offset, 0));
+						offset = ids.next(offset);
+						return value;
+					}
+					return others.next();
+				}
+			};
+		}
+
+		@Override
+		public int size() {
+			return ids.size() + values.size();
+		}
+
+		@Override
+		public void clear() {
+			ids.clear();
+			values.clear();
+		}
+	}
+
+	/**
+	 * A set of binding sets that keeps the binding sets of which all values have an ID in off-heap memory, as their
+	 * binding name indexes and IDs ordered by binding name index, and other binding sets in a delegate set. Binding
+	 * sets with IDs are also kept in the delegate set once the off-heap memory is full.
+	 */
+	private class BindingSetSet extends AbstractSet<BindingSet> {
+
+		private final OffHeapTupleSet ids = memory.createSet();
+
+		private final Set<BindingSet> bindingSets;
+
+		private long[] tuple = new long[16];
+
+		public BindingSetSet(Set<BindingSet> bindingSets) {
+			this.bindingSets = bindingSets;
+		}
+
+		@Override
+		public boolean add(BindingSet bindingSet) {
+			int length = encode(bindingSet);
+			if (length < 0) {
+				return bindingSets.add(bindingSet);
+			}
+			switch (ids.add(tuple, length)) {
+			case OffHeapTupleSet.ADDED:
+				return true;
+			case OffHeapTupleSet.PRESENT:
+				return false;
+			default:
+				return bindingSets.add(bindingSet);
+			}
+		}
+
+		@Override
+		public boolean contains(Object o) {
+			if (!(o instanceof BindingSet)) {
+				return false;
+			}
+			int length = encode((BindingSet) o);
+			if (length < 0) {
+				return bindingSets.contains(o);
+			}
+			return ids.contains(tuple, length) || bindingSets.contains(o);
+		}
+
+		/**
+		 * @return the length of the tuple of the binding set, or -1 if some value does not have an ID
+		 */
+		private int encode(BindingSet bindingSet) {
+			int size = bindingSet.size();
+			if (tuple.length < size * 2) {
+				tuple = new long[size * 2];
+			}
+			int length = 0;
+			for (Binding binding : bindingSet) {
+				long id = resolver.getId(binding.getValue());
+				if (id == ValueIdResolver.NO_ID) {
+					return -1;
+				}
+				int name = getBindingNameIndex(binding.getName());
+				// insertion sort by binding name, binding sets are small
+				int i = length;
+				while (i > 0 && tuple[i - 2] > name) {
+					tuple[i] = tuple[i - 2];
+					tuple[i + 1] = tuple[i - 1];
+					i -= 2;
+				}
+				tuple[i] = name;
+				tuple[i + 1] = id;
+				length += 2;
+			}
+			return length;
+		}
+
+		@Override
+		public Iterator<BindingSet> iterator() {
+			Iterator<BindingSet> others = bindingSets.iterator();
+			return new Iterator<>() {
+
+				private int offset;
+
+				@Override
+				public boolean hasNext() {
+					return offset < ids.end() || others.hasNext();
+				}
+
+				@Override
+				public BindingSet next() {
+					if (offset >= ids.end()) {
+						return others.next();
+					}
+					int length = ids.length(offset);
+					MapBindingSet bindingSet = new MapBindingSet(length / 2);
+					for (int i = 0; i < length; i += 2) {
+						bindingSet.addBinding(getBindingName((int) ids.get(offset, i)),
+								resolver.getValue(ids.get(offset, i + 1)));
+					}
+					offset = ids.next(offset);
+					return bindingSet;
+				}
+			};
+		}
+
+		@Override
+		public int size() {
+			return ids.size() + bindingSets.size();
+		}
+
+		@Override
+		public void clear() {
+			ids.clear();
+			bindingSets.clear();
+		}
+	}
+}
@@ -0,0 +1,269 @@
+/*******************************************************************************
+ * Copyright (c) 2023 Eclipse RDF4J contributors.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Distribution License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/org/documents/edl-v10.php.
+ *
+ * SPDX-License-Identifier: BSD-3-Clause
+ *******************************************************************************/
+package org.eclipse.rdf4j.collection.factory.offheap;
+
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.LongBuffer;
+
+/**
+ * A set of tuples of longs that is kept in direct memory, so that it does not add to the heap or to the work of the
+ * garbage collector. The tuples are appended to an arena in the order they are added, as their length followed by their
+ * elements, and are indexed by an open addressing hash table that holds their offsets in the arena.
+ * <p>
+ * The buffers are allocated by a {@link DirectMemory}. A buffer is freed as soon as it is replaced by a bigger one or
+ * the set is {@link #clear() cleared}, and all buffers are freed when the memory is closed. If the memory has no room
+ * to grow the set, {@link #add(long[], int)} returns {@link #FULL}. Tuples can not be removed from the set.
+ */
+final class OffHeapTupleSet {
+
+	/**
+	 * The tuple was added to the set.
+	 */
+	static final int ADDED = 0;
+
+	/**
+	 * The tuple was already in the set.
+	 */
+	static final int PRESENT = 1;
+
+	/**
+	 * The tuple is not in the set and there is no direct memory left to add it.
+	 */
+	static final int FULL = 2;
+
+	private static final int INITIAL_CAPACITY = 1024;
+
+	// the maximum size of a direct buffer of longs
+	private static final int MAX_CAPACITY = Integer.MAX_VALUE / Long.BYTES;
+
+	private final DirectMemory memory;
+
+	// the buffers are null until the first tuple is added
+	private ByteBuffer arenaBuffer;
+
+	private LongBuffer arena;
+
+	private int arenaSize;
+
+	private ByteBuffer tableBuffer;
+
+	// the offsets of the tuples in the arena plus one, so that an empty slot is 0
+	private LongBuffer table;
+
+	private int mask;
+
+	private int size;
+
+	private boolean freed;
+
+	OffHeapTupleSet(DirectMemory memory) {
+		this.memory = memory;
+	}
+
+	int size() {
+		return size;
+	}
+
+	/**
+	 * @return {@link #ADDED}, {@link #PRESENT} or {@link #FULL}
+	 */
+	int add(long[] tuple, int length) {
+		if (freed) {
+			throw new IllegalStateException("Collection factory is closed");
+		}
+		if (table == null) {
+			if (!rehash(INITIAL_CAPACITY)) {
+				return FULL;
+			}
+		} else if ((size + 1) * 2L > table.capacity() && !rehash(table.capacity() * 2)) {
+			return contains(tuple, length) ? PRESENT : FULL;
+		}
+		int slot = findSlot(tuple, length);
+		if (table.get(slot) != 0) {
+			return PRESENT;
+		}
+		if (!ensureArenaCapacity(arenaSize + length + 1L)) {
+			return FULL;
+		}
+
+		arena.put(arenaSize, length);
+		for (int i = 0; i < length; i++) {
+			arena.put(arenaSize + 1 + i, tuple[i]);
+		}
+		table.put(slot, arenaSize + 1);
+		arenaSize += length + 1;
+		size++;
+		return ADDED;
+	}
+
+	boolean contains(long[] tuple, int length) {
+		return table != null && table.get(findSlot(tuple, length)) != 0;
+	}
+
+	/**
+	 * @param offset the offset of a tuple in the arena, 0 for the first tuple
+	 * @return the offset of the next tuple, which is {@link #end()} after the last tuple.
+	 */
+	int next(int offset) {
+		return offset + (int) arena.get(offset) + 1;
+	}
+
+	/**
+	 * @return the offset after the last tuple in the arena
+	 */
+	int end() {
+		return arenaSize;
+	}
+
+	/**
+	 * @return the length of the tuple at the given offset
+	 */
+	int length(int offset) {
+		return (int) arena.get(offset);
+	}
+
+	/**
+	 * @return the element at the given index of the tuple at the given offset
+	 */
+	long get(int offset, int index) {
+		return arena.get(offset + 1 + index);
+	}
+
+	void clear() {
+		if (arenaBuffer != null) {
+			memory.free(arenaBuffer);
+			arenaBuffer = null;
+			arena = null;
+		}
+		if (tableBuffer != null) {
+			memory.free(tableBuffer);
+			tableBuffer = null;
+			table = null;
+		}
+		arenaSize = 0;
+		mask = 0;
+		size = 0;
+	}
+
+	/**
+	 * Free the buffers of this set. The set can not be used afterwards.
+	 */
+	void free() {
+		freed = true;
+		clear();
+	}
+
+	private int findSlot(long[] tuple, int length) {
+		int slot = hash(tuple, length) & mask;
+		while (true) {
+			long entry = table.get(slot);
+			if (entry == 0 || equals((int) entry - 1, tuple, length)) {
+				return slot;
+			}
+			slot = (slot + 1) & mask;
+		}
+	}
+
+	private boolean equals(int offset, long[] tuple, int length) {
+		if (arena.get(offset) != length) {
+			return false;
+		}
+		for (int i = 0; i < length; i++) {
+			if (arena.get(offset + 1 + i) != tuple[i]) {
+				return false;
+			}
+		}
+		return true;
+	}
+
+	/**
+	 * @return false if there is no direct memory for a table of the given capacity
+	 */
+	private boolean rehash(int capacity) {
+		if (capacity > MAX_CAPACITY) {
+			return false;
+		}
+		ByteBuffer buffer = memory.allocate(capacity * Long.BYTES);
+		if (buffer == null) {
+			return false;
+		}
+		if (tableBuffer != null) {
+			memory.free(tableBuffer);
+		}
+		tableBuffer = buffer;
+		table = asLongBuffer(buffer);
+		mask = capacity - 1;
+		long[] tuple = new long[16];
+		for (int offset = 0; offset < arenaSize; offset = next(offset)) {
+			int length = length(offset);
+			if (tuple.length < length) {
+				tuple = new long[length];
+			}
+			for (int i = 0; i < length; i++) {
+				tuple[i] = get(offset, i);
+			}
+			int slot = hash(tuple, length) & mask;
+			while (table.get(slot) != 0) {
+				slot = (slot + 1) & mask;
+			}
+			table.put(slot, offset + 1);
+		}
+		return true;
+	}
+
+	/**
+	 * @return false if there is no direct memory for an arena of the given capacity
+	 */
+	private boolean ensureArenaCapacity(long capacity) {
+		int current = arena == null ? 0 : arena.capacity();
+		if (capacity <= current) {
+			return true;
+		}
+		long newCapacity = Math.max(capacity, Math.max(INITIAL_CAPACITY, current * 2L));
+		if (newCapacity > MAX_CAPACITY) {
+			if (capacity > MAX_CAPACITY) {
+				return false;
+			}
+			newCapacity = MAX_CAPACITY;
+		}
+		ByteBuffer buffer = memory.allocate((int) newCapacity * Long.BYTES);
+		if (buffer == null) {
+			return false;
+		}
+		LongBuffer grown = asLongBuffer(buffer);
+		if (arena != null) {
+			arena.position(0).limit(arenaSize);
+			grown.put(arena);
+			grown.clear();
+			memory.free(arenaBuffer);
+		}
+		arenaBuffer = buffer;
+		arena = grown;
+		return true;
+	}
+
+	private static int hash(long[] tuple, int length) {
+		long h = length;
+		for (int i = 0; i < length; i++) {
+			h = h * 31 + tuple[i];
+		}
+		// spread the bits, IDs are often sequential
+		h ^= h >>> 33;
+		h *= 0xff51afd7ed558ccdL;
+		h ^= h >>> 33;
+		return (int) h;
+	}
+
+	private static LongBuffer asLongBuffer(ByteBuffer buffer) {
+		return buffer.order(ByteOrder.nativeOrder()).asLongBuffer();
+	}
+}
@@ -0,0 +1,43 @@
+/*******************************************************************************
+ * Copyright (c) 2023 Eclipse RDF4J contributors.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Distribution License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/org/documents/edl-v10.php.
+ *
+ * SPDX-License-Identifier: BSD-3-Clause
+ *******************************************************************************/
+package org.eclipse.rdf4j.collection.factory.offheap;
+
+import org.eclipse.rdf4j.common.annotation.Experimental;
+import org.eclipse.rdf4j.model.Value;
+
+/**
+ * Maps values to the IDs that a store uses for them internally, so that the values can be kept in collections as
+ * numbers.
+ * <p>
+ * IDs must be consistent with {@link Value#equals(Object)}: equal values have the same ID, or are all without an ID.
+ * This means that a value that is not created by the store, but equal to a value in the store, must be resolved to the
+ * ID of that value.
+ */
+@Experimental
+public interface ValueIdResolver {
+
+	/**
+	 * The ID of values that are not known to the store.
+	 */
+	long NO_ID = -1;
+
+	/**
+	 * @param value a value
+	 * @return the non-negative ID of the value in the store, or {@link #NO_ID} if the store does not contain the value.
+	 */
+	long getId(Value value);
+
+	/**
+	 * @param id an ID returned by {@link #getId(Value)}
+	 * @return the value with the ID
+	 */
+	Value getValue(long id);
+}
@@ -0,0 +1,84 @@
+/*******************************************************************************
+ * Copyright (c) 2023 Eclipse RDF4J contributors.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Distribution License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/org/documents/edl-v10.php.
+ *
+ * SPDX-License-Identifier: BSD-3-Clause
+ *******************************************************************************/
+package org.eclipse.rdf4j.common.transaction;
+
+import org.eclipse.rdf4j.common.annotation.Experimental;
+
+/**
+ * The Query Evaluation Parallelism determines how many threads the SPARQL query engine may use to evaluate a single
+ * query. With a parallelism of 1, the default, every query is evaluated by the thread that consumes its results. Higher
+ * values allow operators such as hash joins and unions to distribute their work over additional worker threads.
+ */
+@Experimental
+public final class QueryEvaluationParallelism implements TransactionSetting {
+
+	/**
+	 * Evaluate queries in the thread that consumes the results.
+	 */
+	public static final QueryEvaluationParallelism SEQUENTIAL = new QueryEvaluationParallelism(1);
+
+	private final int parallelism;
+
+	private QueryEvaluationParallelism(int parallelism) {
+		this.parallelism = parallelism;
+	}
+
+	/**
+	 * @param parallelism the maximum number of threads that may work on a single operator, at least 1.
+	 * @return the corresponding setting
+	 */
+	public static QueryEvaluationParallelism of(int parallelism) {
+		if (parallelism < 1) {
+			throw new IllegalArgumentException("Parallelism must be positive: " + parallelism);
+		}
+		if (parallelism == 1) {
+			return SEQUENTIAL;
+		}
+		return new QueryEvaluationParallelism(parallelism);
+	}
+
+	/**
+	 * @return a setting that uses one thread per available processor.
+	 */
+	public static QueryEvaluationParallelism availableProcessors() {
+		return of(Runtime.getRuntime().availableProcessors());
+	}
+
+	public int getParallelism() {
+		return parallelism;
+	}
+
+	@Override
+	public String getValue() {
+		return Integer.toString(parallelism);
+	}
+
+	@Override
+	public boolean equals(Object o) {
+		if (this == o) {
+			return true;
+		}
+		if (!(o instanceof QueryEvaluationParallelism)) {
+			return false;
+		}
+		return parallelism == ((QueryEvaluationParallelism) o).parallelism;
+	}
+
+	@Override
+	public int hashCode() {
+		return Integer.hashCode(parallelism);
+	}
+
+	@Override
+	public String toString() {
+		return "QueryEvaluationParallelism{" + parallelism + "}";
+	}
+}
@@ -231,6 +231,10 @@ public class CONFIG {
 		/** <var>tag:rdf4j.org,2023:config/sail.defaultQueryEvaluationMode</var> */
 		public final static IRI defaultQueryEvaluationMode = Vocabularies.createIRI(NAMESPACE,
 				"sail.defaultQueryEvaluationMode");
+
+		/** <var>tag:rdf4j.org,2023:config/sail.defaultQueryEvaluationParallelism</var> */
+		public final static IRI defaultQueryEvaluationParallelism = Vocabularies.createIRI(NAMESPACE,
+				"sail.defaultQueryEvaluationParallelism");
 	}
 
 	/**
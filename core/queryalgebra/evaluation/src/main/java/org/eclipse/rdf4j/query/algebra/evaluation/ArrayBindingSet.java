@@ -43,9 +43,10 @@ public class ArrayBindingSet extends AbstractBindingSet implements MutableBindin
 	// Creating a LinkedHashSet is expensive, so we should cache the binding names set
 	private Set<String> bindingNamesSetCache;
 
-	private final boolean[] whichBindingsHaveBeenSet;
+	// package-private so that BindingSetBatch can copy rows without per-variable lookups
+	final boolean[] whichBindingsHaveBeenSet;
 
-	private final Value[] values;
+	final Value[] values;
 
 	/**
 	 * Creates a new Array-based BindingSet for the supplied bindings names. <em>The supplied list of binding names is
@@ -368,7 +369,12 @@ public class ArrayBindingSet extends AbstractBindingSet implements MutableBindin
 		return true;
 	}
 
-	private void clearCache() {
+	void clearCache() {
 		bindingNamesSetCache = null;
+		sortedBindingNames = null;
+	}
+
+	String[] getBindingNamesArray() {
+		return bindingNames;
 	}
 }
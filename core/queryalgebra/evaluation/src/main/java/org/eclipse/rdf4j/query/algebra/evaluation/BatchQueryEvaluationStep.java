@@ -0,0 +1,59 @@
+/*******************************************************************************
+ * Copyright (c) 2023 Eclipse RDF4J contributors.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Distribution License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/org/documents/edl-v10.php.
+ *
+ * SPDX-License-Identifier: BSD-3-Clause
+ *******************************************************************************/
+package org.eclipse.rdf4j.query.algebra.evaluation;
+
+import org.eclipse.rdf4j.common.annotation.Experimental;
+import org.eclipse.rdf4j.common.iteration.CloseableIteration;
+import org.eclipse.rdf4j.query.BindingSet;
+import org.eclipse.rdf4j.query.QueryEvaluationException;
+import org.eclipse.rdf4j.query.algebra.evaluation.impl.ArrayBindingBasedQueryEvaluationContext;
+import org.eclipse.rdf4j.query.algebra.evaluation.iterator.BatchingIteration;
+import org.eclipse.rdf4j.query.algebra.evaluation.iterator.UnbatchingIteration;
+
+/**
+ * A {@link QueryEvaluationStep} that can produce its results a {@link BindingSetBatch} at a time. Batch steps consume
+ * the batches of their arguments directly, row based steps are adapted at the edges of a batch pipeline with
+ * {@link BatchingIteration} and {@link UnbatchingIteration}.
+ */
+@Experimental
+public interface BatchQueryEvaluationStep extends QueryEvaluationStep {
+
+	/**
+	 * Evaluate this step, returning the solutions in batches. Returned batches are owned by the consumer, they are
+	 * never reused by the producer.
+	 *
+	 * @param bindings the bindings to evaluate this step with
+	 * @return an iteration of non empty batches
+	 */
+	CloseableIteration<BindingSetBatch, QueryEvaluationException> evaluateBatches(BindingSet bindings);
+
+	@Override
+	default CloseableIteration<BindingSet, QueryEvaluationException> evaluate(BindingSet bindings) {
+		return new UnbatchingIteration(evaluateBatches(bindings));
+	}
+
+	/**
+	 * Evaluate any step in batches, adapting row based steps.
+	 *
+	 * @param step      the step to evaluate
+	 * @param bindings  the bindings to evaluate the step with
+	 * @param context   the context used to create batches for row based steps
+	 * @param batchSize the size of batches for row based steps
+	 * @return an iteration of non empty batches
+	 */
+	static CloseableIteration<BindingSetBatch, QueryEvaluationException> evaluateBatches(QueryEvaluationStep step,
+			BindingSet bindings, ArrayBindingBasedQueryEvaluationContext context, int batchSize) {
+		if (step instanceof BatchQueryEvaluationStep) {
+			return ((BatchQueryEvaluationStep) step).evaluateBatches(bindings);
+		}
+		return new BatchingIteration(step.evaluate(bindings), context, batchSize);
+	}
+}
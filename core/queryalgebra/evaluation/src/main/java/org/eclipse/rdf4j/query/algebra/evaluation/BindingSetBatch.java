@@ -0,0 +1,314 @@
+/*******************************************************************************
+ * Copyright (c) 2023 Eclipse RDF4J contributors.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Distribution License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/org/documents/edl-v10.php.
+ *
+ * SPDX-License-Identifier: BSD-3-Clause
+ *******************************************************************************/
+package org.eclipse.rdf4j.query.algebra.evaluation;
+
+import java.util.Arrays;
+
+import org.eclipse.rdf4j.common.annotation.InternalUseOnly;
+import org.eclipse.rdf4j.model.Value;
+import org.eclipse.rdf4j.query.BindingSet;
+
+/**
+ * A fixed capacity batch of solutions stored column wise. There is one column per variable of the query, in the same
+ * order as the binding names of the {@link ArrayBindingSet}s created for that query. This allows operators in batch
+ * mode to move whole columns around instead of creating a new binding set for every intermediate solution.
+ * <p>
+ * Just like {@link ArrayBindingSet} a variable can be bound to null, which marks a variable that must remain unbound
+ * for that solution.
+ *
+ * @see BatchQueryEvaluationStep
+ */
+@InternalUseOnly
+public final class BindingSetBatch {
+
+	private final String[] bindingNames;
+
+	// values[variable][row]
+	private final Value[][] values;
+
+	// bound[variable][row]
+	private final boolean[][] bound;
+
+	private final int capacity;
+
+	private int size;
+
+	/**
+	 * @param bindingNames the binding names, must be the same array as used by the {@link ArrayBindingSet}s of the
+	 *                     query.
+	 * @param capacity     the maximum number of rows in this batch.
+	 */
+	public BindingSetBatch(String[] bindingNames, int capacity) {
+		if (capacity < 1) {
+			throw new IllegalArgumentException("Batch capacity must be positive: " + capacity);
+		}
+		this.bindingNames = bindingNames;
+		this.capacity = capacity;
+		this.values = new Value[bindingNames.length][capacity];
+		this.bound = new boolean[bindingNames.length][capacity];
+	}
+
+	/**
+	 * @return a new empty batch with the same binding names and capacity.
+	 */
+	public BindingSetBatch newBatch() {
+		return new BindingSetBatch(bindingNames, capacity);
+	}
+
+	/**
+	 * @param capacity the capacity of the new batch, at least the size of this batch.
+	 * @return a new batch with the given capacity containing all rows of this batch.
+	 */
+	public BindingSetBatch withCapacity(int capacity) {
+		assert capacity >= size;
+		BindingSetBatch copy = new BindingSetBatch(bindingNames, capacity);
+		copy.addAll(this, 0);
+		return copy;
+	}
+
+	public String[] getBindingNames() {
+		return bindingNames;
+	}
+
+	/**
+	 * @param bindingName a binding name.
+	 * @return the column index of the binding name, or -1 if this batch has no such column.
+	 */
+	public int getIndex(String bindingName) {
+		for (int i = 0; i < bindingNames.length; i++) {
+			if (bindingNames[i] == bindingName) {
+				return i;
+			}
+		}
+		for (int i = 0; i < bindingNames.length; i++) {
+			if (bindingNames[i].equals(bindingName)) {
+				return i;
+			}
+		}
+		return -1;
+	}
+
+	public int size() {
+		return size;
+	}
+
+	public int capacity() {
+		return capacity;
+	}
+
+	public boolean isEmpty() {
+		return size == 0;
+	}
+
+	public boolean isFull() {
+		return size == capacity;
+	}
+
+	/**
+	 * Removes all rows. The columns are cleared so that no values are retained by a reused batch.
+	 */
+	public void clear() {
+		for (int i = 0; i < values.length; i++) {
+			Arrays.fill(values[i], 0, size, null);
+			Arrays.fill(bound[i], 0, size, false);
+		}
+		size = 0;
+	}
+
+	public Value getValue(int column, int row) {
+		assert row < size;
+		return values[column][row];
+	}
+
+	public boolean isBound(int column, int row) {
+		assert row < size;
+		return bound[column][row];
+	}
+
+	/**
+	 * Set the value of a variable in an existing row. A null value marks the variable as one that must remain unbound.
+	 */
+	public void setValue(int column, int row, Value value) {
+		assert row < size;
+		values[column][row] = value;
+		bound[column][row] = true;
+	}
+
+	/**
+	 * Append a row, copying all bindings of the supplied binding set.
+	 *
+	 * @return the index of the new row
+	 */
+	public int add(ArrayBindingSet bindings) {
+		assert !isFull();
+		assert bindings.getBindingNamesArray() == bindingNames || bindings.values.length == bindingNames.length;
+		int row = size++;
+		Value[] rowValues = bindings.values;
+		boolean[] rowBound = bindings.whichBindingsHaveBeenSet;
+		for (int i = 0; i < rowValues.length; i++) {
+			values[i][row] = rowValues[i];
+			bound[i][row] = rowBound[i];
+		}
+		return row;
+	}
+
+	/**
+	 * Append a row, copying all bindings of the row in the other batch.
+	 *
+	 * @return the index of the new row
+	 */
+	public int add(BindingSetBatch other, int otherRow) {
+		assert !isFull();
+		int row = size++;
+		for (int i = 0; i < values.length; i++) {
+			values[i][row] = other.values[i][otherRow];
+			bound[i][row] = other.bound[i][otherRow];
+		}
+		return row;
+	}
+
+	/**
+	 * Append as many rows of the other batch as fit, starting at the given row of the other batch.
+	 *
+	 * @return the number of rows copied
+	 */
+	public int addAll(BindingSetBatch other, int fromRow) {
+		int count = Math.min(capacity - size, other.size - fromRow);
+		if (count <= 0) {
+			return 0;
+		}
+		for (int i = 0; i < values.length; i++) {
+			System.arraycopy(other.values[i], fromRow, values[i], size, count);
+			System.arraycopy(other.bound[i], fromRow, bound[i], size, count);
+		}
+		size += count;
+		return count;
+	}
+
+	/**
+	 * Append the same row repeatedly.
+	 *
+	 * @param bindings the row to repeat
+	 * @param count    how often the row should be added
+	 */
+	public void fill(ArrayBindingSet bindings, int count) {
+		assert size + count <= capacity;
+		Value[] rowValues = bindings.values;
+		boolean[] rowBound = bindings.whichBindingsHaveBeenSet;
+		int end = size + count;
+		for (int i = 0; i < rowValues.length; i++) {
+			if (rowBound[i]) {
+				Arrays.fill(values[i], size, end, rowValues[i]);
+				Arrays.fill(bound[i], size, end, true);
+			}
+		}
+		size = end;
+	}
+
+	/**
+	 * Copy a complete column from the other batch into this batch. Both batches must be of the same size.
+	 */
+	public void copyColumn(BindingSetBatch other, int otherColumn, int column) {
+		assert other.size == size;
+		System.arraycopy(other.values[otherColumn], 0, values[column], 0, size);
+		System.arraycopy(other.bound[otherColumn], 0, bound[column], 0, size);
+	}
+
+	/**
+	 * Grow this batch to the given size with empty rows.
+	 */
+	public void extendTo(int newSize) {
+		assert newSize <= capacity && newSize >= size;
+		size = newSize;
+	}
+
+	/**
+	 * Remove all rows for which keep is false, keeping the relative order of the remaining rows.
+	 *
+	 * @param keep one flag per row
+	 */
+	public void retain(boolean[] keep) {
+		int newSize = 0;
+		for (int row = 0; row < size; row++) {
+			if (keep[row]) {
+				if (newSize != row) {
+					for (int i = 0; i < values.length; i++) {
+						values[i][newSize] = values[i][row];
+						bound[i][newSize] = bound[i][row];
+					}
+				}
+				newSize++;
+			}
+		}
+		for (int i = 0; i < values.length; i++) {
+			Arrays.fill(values[i], newSize, size, null);
+			Arrays.fill(bound[i], newSize, size, false);
+		}
+		size = newSize;
+	}
+
+	/**
+	 * @return a new binding set for the given row.
+	 */
+	public ArrayBindingSet get(int row) {
+		ArrayBindingSet bindings = new ArrayBindingSet(bindingNames);
+		copyTo(row, bindings);
+		return bindings;
+	}
+
+	/**
+	 * Overwrite all bindings of the target with the bindings of a row of this batch. Allows reusing one binding set to
+	 * evaluate value expressions over every row of a batch.
+	 */
+	public void copyTo(int row, ArrayBindingSet target) {
+		assert row < size;
+		Value[] targetValues = target.values;
+		boolean[] targetBound = target.whichBindingsHaveBeenSet;
+		for (int i = 0; i < targetValues.length; i++) {
+			targetValues[i] = values[i][row];
+			targetBound[i] = bound[i][row];
+		}
+		target.clearCache();
+	}
+
+	/**
+	 * Overwrite all bindings of a row of this batch with the bindings of the source.
+	 */
+	public void copyFrom(ArrayBindingSet source, int row) {
+		assert row < size;
+		Value[] sourceValues = source.values;
+		boolean[] sourceBound = source.whichBindingsHaveBeenSet;
+		for (int i = 0; i < sourceValues.length; i++) {
+			values[i][row] = sourceValues[i];
+			bound[i][row] = sourceBound[i];
+		}
+	}
+
+	/**
+	 * @return true if the binding set can be copied into a batch with these binding names without conversion.
+	 */
+	public boolean isCompatible(BindingSet bindings) {
+		return bindings instanceof ArrayBindingSet
+				&& ((ArrayBindingSet) bindings).getBindingNamesArray() == bindingNames;
+	}
+
+	@Override
+	public String toString() {
+		StringBuilder sb = new StringBuilder("BindingSetBatch{size=").append(size).append(", rows=[");
+		for (int row = 0; row < size; row++) {
+			if (row > 0) {
+				sb.append(", ");
+			}
+			sb.append(get(row));
+		}
+		return sb.append("]}").toString();
+	}
+}
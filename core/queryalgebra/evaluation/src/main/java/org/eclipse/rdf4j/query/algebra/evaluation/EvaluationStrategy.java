@@ -19,6 +19,7 @@ import org.eclipse.rdf4j.collection.factory.impl.DefaultCollectionFactory;
 import org.eclipse.rdf4j.common.annotation.Experimental;
 import org.eclipse.rdf4j.common.iteration.CloseableIteration;
 import org.eclipse.rdf4j.common.transaction.QueryEvaluationMode;
+import org.eclipse.rdf4j.common.transaction.QueryEvaluationParallelism;
 import org.eclipse.rdf4j.model.Value;
 import org.eclipse.rdf4j.model.impl.SimpleValueFactory;
 import org.eclipse.rdf4j.query.BindingSet;
@@ -174,6 +175,25 @@ public interface EvaluationStrategy extends FederatedServiceResolver {
 
 	void setQueryEvaluationMode(QueryEvaluationMode queryEvaluationMode);
 
+	/**
+	 * @return the number of threads that may be used to evaluate a single query.
+	 */
+	@Experimental
+	default QueryEvaluationParallelism getQueryEvaluationParallelism() {
+		return QueryEvaluationParallelism.SEQUENTIAL;
+	}
+
+	/**
+	 * Set the number of threads that may be used to evaluate a single query. Implementations that do not support
+	 * parallel evaluation ignore this setting.
+	 *
+	 * @param parallelism the parallelism to use for future query evaluations
+	 */
+	@Experimental
+	default void setQueryEvaluationParallelism(QueryEvaluationParallelism parallelism) {
+		// no-op for backwards compatibility
+	}
+
 	default QueryValueEvaluationStep precompile(ValueExpr arg, QueryEvaluationContext context) {
 		return new QueryValueEvaluationStep.Minimal(this, arg);
 	}
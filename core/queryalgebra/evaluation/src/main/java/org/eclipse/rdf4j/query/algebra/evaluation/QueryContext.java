@@ -34,7 +34,8 @@ public class QueryContext {
 
 	private final Map<String, Object> attributes = new HashMap<>();
 
-	private QueryContext previous;
+	// per thread, as worker threads may begin the same context to evaluate parts of a query in parallel
+	private final ThreadLocal<QueryContext> previous = new ThreadLocal<>();
 
 	public QueryContext() {
 	}
@@ -44,7 +45,7 @@ public class QueryContext {
 	}
 
 	public void begin() {
-		this.previous = queryContext.get();
+		previous.set(queryContext.get());
 		queryContext.set(this);
 	}
 
@@ -62,8 +63,10 @@ public class QueryContext {
 
 	public void end() {
 		queryContext.remove();
-		if (previous != null) {
-			queryContext.set(previous);
+		QueryContext previousContext = previous.get();
+		previous.remove();
+		if (previousContext != null) {
+			queryContext.set(previousContext);
 		}
 	}
 }
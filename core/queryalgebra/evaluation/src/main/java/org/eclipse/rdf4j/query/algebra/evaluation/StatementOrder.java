@@ -0,0 +1,62 @@
+/*******************************************************************************
+ * Copyright (c) 2023 Eclipse RDF4J contributors.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Distribution License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/org/documents/edl-v10.php.
+ *
+ * SPDX-License-Identifier: BSD-3-Clause
+ *******************************************************************************/
+package org.eclipse.rdf4j.query.algebra.evaluation;
+
+import org.eclipse.rdf4j.common.annotation.Experimental;
+import org.eclipse.rdf4j.model.Statement;
+import org.eclipse.rdf4j.model.Value;
+
+/**
+ * The component of statements that a {@link TripleSource} can order statements by.
+ *
+ * @see TripleSource#getOrderedStatements(StatementOrder, org.eclipse.rdf4j.model.Resource, org.eclipse.rdf4j.model.IRI,
+ *      Value, org.eclipse.rdf4j.model.Resource...)
+ */
+@Experimental
+public enum StatementOrder {
+
+	/**
+	 * Ordered by subject.
+	 */
+	S,
+
+	/**
+	 * Ordered by predicate.
+	 */
+	P,
+
+	/**
+	 * Ordered by object.
+	 */
+	O,
+
+	/**
+	 * Ordered by context.
+	 */
+	C;
+
+	/**
+	 * @param statement a statement
+	 * @return the component of the statement that this order is on
+	 */
+	public Value getValue(Statement statement) {
+		switch (this) {
+		case S:
+			return statement.getSubject();
+		case P:
+			return statement.getPredicate();
+		case O:
+			return statement.getObject();
+		default:
+			return statement.getContext();
+		}
+	}
+}
@@ -10,6 +10,11 @@
  *******************************************************************************/
 package org.eclipse.rdf4j.query.algebra.evaluation;
 
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.Set;
+
+import org.eclipse.rdf4j.common.annotation.Experimental;
 import org.eclipse.rdf4j.common.iteration.CloseableIteration;
 import org.eclipse.rdf4j.common.iteration.EmptyIteration;
 import org.eclipse.rdf4j.model.IRI;
@@ -51,4 +56,50 @@ public interface TripleSource {
 	 * @return a ValueFactory object for this TripleSource.
 	 */
 	ValueFactory getValueFactory();
+
+	/**
+	 * Gets the orders in which this triple source can return the statements that match a pattern, see
+	 * {@link #getOrderedStatements(StatementOrder, Resource, IRI, Value, Resource...)}. Only orders that are as cheap
+	 * to produce as the unordered statements should be returned.
+	 *
+	 * @param subj     A Resource specifying the subject, or <var>null</var> for a wildcard.
+	 * @param pred     A URI specifying the predicate, or <var>null</var> for a wildcard.
+	 * @param obj      A Value specifying the object, or <var>null</var> for a wildcard.
+	 * @param contexts The context(s) to get the statements from.
+	 * @return the supported orders, by default none
+	 */
+	@Experimental
+	default Set<StatementOrder> getSupportedOrders(Resource subj, IRI pred, Value obj, Resource... contexts) {
+		return Collections.emptySet();
+	}
+
+	/**
+	 * Gets all statements that match a pattern, ordered by one of their components according to the
+	 * {@link #getComparator() comparator} of this triple source.
+	 *
+	 * @param order    one of the {@link #getSupportedOrders(Resource, IRI, Value, Resource...) supported orders} of the
+	 *                 pattern
+	 * @param subj     A Resource specifying the subject, or <var>null</var> for a wildcard.
+	 * @param pred     A URI specifying the predicate, or <var>null</var> for a wildcard.
+	 * @param obj      A Value specifying the object, or <var>null</var> for a wildcard.
+	 * @param contexts The context(s) to get the statements from.
+	 * @return An iterator over the relevant statements, in the given order.
+	 * @throws QueryEvaluationException If the triple source failed to get the statements.
+	 */
+	@Experimental
+	default CloseableIteration<? extends Statement, QueryEvaluationException> getOrderedStatements(StatementOrder order,
+			Resource subj, IRI pred, Value obj, Resource... contexts) throws QueryEvaluationException {
+		throw new UnsupportedOperationException("Ordered statements are not supported by " + getClass().getName());
+	}
+
+	/**
+	 * Gets the comparator of the values of this triple source that ordered statements are ordered by. Values that are
+	 * equal according to the comparator are equal values.
+	 *
+	 * @return the comparator, or <var>null</var> if this triple source does not support ordered statements.
+	 */
+	@Experimental
+	default Comparator<Value> getComparator() {
+		return null;
+	}
 }
@@ -41,6 +41,7 @@ import org.eclipse.rdf4j.query.algebra.UnaryTupleOperator;
 import org.eclipse.rdf4j.query.algebra.Var;
 import org.eclipse.rdf4j.query.algebra.ZeroLengthPath;
 import org.eclipse.rdf4j.query.algebra.evaluation.ArrayBindingSet;
+import org.eclipse.rdf4j.query.algebra.evaluation.BindingSetBatch;
 import org.eclipse.rdf4j.query.algebra.evaluation.iterator.ZeroLengthPathIteration;
 import org.eclipse.rdf4j.query.algebra.helpers.AbstractSimpleQueryModelVisitor;
 import org.eclipse.rdf4j.query.impl.EmptyBindingSet;
@@ -98,6 +99,14 @@ public final class ArrayBindingBasedQueryEvaluationContext implements QueryEvalu
 		return new ArrayBindingSet(allVariables);
 	}
 
+	/**
+	 * @param capacity the maximum number of rows
+	 * @return a new empty batch with one column for every variable of the query.
+	 */
+	public BindingSetBatch createBatch(int capacity) {
+		return new BindingSetBatch(allVariables, capacity);
+	}
+
 	@Override
 	public Predicate<BindingSet> hasBinding(String variableName) {
 		if (initialized) {
@@ -21,6 +21,7 @@ import java.util.function.Supplier;
 
 import org.eclipse.rdf4j.collection.factory.api.CollectionFactory;
 import org.eclipse.rdf4j.collection.factory.impl.DefaultCollectionFactory;
+import org.eclipse.rdf4j.common.annotation.Experimental;
 import org.eclipse.rdf4j.common.iteration.CloseableIteration;
 import org.eclipse.rdf4j.common.iteration.DistinctIteration;
 import org.eclipse.rdf4j.common.iteration.EmptyIteration;
@@ -30,6 +31,7 @@ import org.eclipse.rdf4j.common.iteration.ReducedIteration;
 import org.eclipse.rdf4j.common.iteration.SingletonIteration;
 import org.eclipse.rdf4j.common.net.ParsedIRI;
 import org.eclipse.rdf4j.common.transaction.QueryEvaluationMode;
+import org.eclipse.rdf4j.common.transaction.QueryEvaluationParallelism;
 import org.eclipse.rdf4j.model.BNode;
 import org.eclipse.rdf4j.model.IRI;
 import org.eclipse.rdf4j.model.Literal;
@@ -40,6 +42,7 @@ import org.eclipse.rdf4j.model.ValueFactory;
 import org.eclipse.rdf4j.model.base.CoreDatatype;
 import org.eclipse.rdf4j.model.datatypes.XMLDatatypeUtil;
 import org.eclipse.rdf4j.model.impl.BooleanLiteral;
+import org.eclipse.rdf4j.model.impl.SimpleValueFactory;
 import org.eclipse.rdf4j.model.util.Literals;
 import org.eclipse.rdf4j.query.BindingSet;
 import org.eclipse.rdf4j.query.Dataset;
@@ -114,6 +117,7 @@ import org.eclipse.rdf4j.query.algebra.ValueExpr;
 import org.eclipse.rdf4j.query.algebra.ValueExprTripleRef;
 import org.eclipse.rdf4j.query.algebra.Var;
 import org.eclipse.rdf4j.query.algebra.ZeroLengthPath;
+import org.eclipse.rdf4j.query.algebra.evaluation.BindingSetBatch;
 import org.eclipse.rdf4j.query.algebra.evaluation.EvaluationStrategy;
 import org.eclipse.rdf4j.query.algebra.evaluation.QueryBindingSet;
 import org.eclipse.rdf4j.query.algebra.evaluation.QueryEvaluationStep;
@@ -133,17 +137,25 @@ import org.eclipse.rdf4j.query.algebra.evaluation.function.TupleFunction;
 import org.eclipse.rdf4j.query.algebra.evaluation.function.TupleFunctionRegistry;
 import org.eclipse.rdf4j.query.algebra.evaluation.function.datetime.Now;
 import org.eclipse.rdf4j.query.algebra.evaluation.impl.evaluationsteps.BindingSetAssignmentQueryEvaluationStep;
+import org.eclipse.rdf4j.query.algebra.evaluation.impl.evaluationsteps.ExtensionBatchQueryEvaluationStep;
+import org.eclipse.rdf4j.query.algebra.evaluation.impl.evaluationsteps.FilterBatchQueryEvaluationStep;
+import org.eclipse.rdf4j.query.algebra.evaluation.impl.evaluationsteps.GroupBatchQueryEvaluationStep;
 import org.eclipse.rdf4j.query.algebra.evaluation.impl.evaluationsteps.IntersectionQueryEvaluationStep;
+import org.eclipse.rdf4j.query.algebra.evaluation.impl.evaluationsteps.JoinBatchQueryEvaluationStep;
 import org.eclipse.rdf4j.query.algebra.evaluation.impl.evaluationsteps.JoinQueryEvaluationStep;
 import org.eclipse.rdf4j.query.algebra.evaluation.impl.evaluationsteps.LeftJoinQueryEvaluationStep;
+import org.eclipse.rdf4j.query.algebra.evaluation.impl.evaluationsteps.MergeJoinQueryEvaluationStep;
 import org.eclipse.rdf4j.query.algebra.evaluation.impl.evaluationsteps.MinusQueryEvaluationStep;
 import org.eclipse.rdf4j.query.algebra.evaluation.impl.evaluationsteps.OrderQueryEvaluationStep;
+import org.eclipse.rdf4j.query.algebra.evaluation.impl.evaluationsteps.ParallelUnionQueryEvaluationStep;
+import org.eclipse.rdf4j.query.algebra.evaluation.impl.evaluationsteps.ProjectionBatchQueryEvaluationStep;
 import org.eclipse.rdf4j.query.algebra.evaluation.impl.evaluationsteps.ProjectionQueryEvaluationStep;
 import org.eclipse.rdf4j.query.algebra.evaluation.impl.evaluationsteps.RdfStarQueryEvaluationStep;
 import org.eclipse.rdf4j.query.algebra.evaluation.impl.evaluationsteps.RegexValueEvaluationStepSupplier;
 import org.eclipse.rdf4j.query.algebra.evaluation.impl.evaluationsteps.ReificationRdfStarQueryEvaluationStep;
 import org.eclipse.rdf4j.query.algebra.evaluation.impl.evaluationsteps.ServiceQueryEvaluationStep;
 import org.eclipse.rdf4j.query.algebra.evaluation.impl.evaluationsteps.SliceQueryEvaluationStep;
+import org.eclipse.rdf4j.query.algebra.evaluation.impl.evaluationsteps.StatementPatternBatchQueryEvaluationStep;
 import org.eclipse.rdf4j.query.algebra.evaluation.impl.evaluationsteps.StatementPatternQueryEvaluationStep;
 import org.eclipse.rdf4j.query.algebra.evaluation.impl.evaluationsteps.UnionQueryEvaluationStep;
 import org.eclipse.rdf4j.query.algebra.evaluation.impl.evaluationsteps.ZeroLengthPathEvaluationStep;
@@ -162,6 +174,7 @@ import org.eclipse.rdf4j.query.algebra.evaluation.iterator.ExtensionIterator;
 import org.eclipse.rdf4j.query.algebra.evaluation.iterator.FilterIterator;
 import org.eclipse.rdf4j.query.algebra.evaluation.iterator.GroupIterator;
 import org.eclipse.rdf4j.query.algebra.evaluation.iterator.MultiProjectionIterator;
+import org.eclipse.rdf4j.query.algebra.evaluation.iterator.ParallelEvaluation;
 import org.eclipse.rdf4j.query.algebra.evaluation.iterator.PathIteration;
 import org.eclipse.rdf4j.query.algebra.evaluation.util.MathUtil;
 import org.eclipse.rdf4j.query.algebra.evaluation.util.OrderComparator;
@@ -218,6 +231,11 @@ public class DefaultEvaluationStrategy implements EvaluationStrategy, FederatedS
 
 	private Supplier<CollectionFactory> collectionFactory = DefaultCollectionFactory::new;
 
+	// the number of solutions per batch in batch evaluation mode, 0 if batch evaluation is disabled
+	private int batchSize;
+
+	private QueryEvaluationParallelism queryEvaluationParallelism = QueryEvaluationParallelism.SEQUENTIAL;
+
 	static CloseableIteration<BindingSet, QueryEvaluationException> evaluate(TupleFunction func,
 			final List<Var> resultVars, final BindingSet bindings, ValueFactory valueFactory, Value... argValues)
 			throws QueryEvaluationException {
@@ -538,15 +556,19 @@ public class DefaultEvaluationStrategy implements EvaluationStrategy, FederatedS
 	protected QueryEvaluationStep prepare(Difference node, QueryEvaluationContext context)
 			throws QueryEvaluationException {
 		return new MinusQueryEvaluationStep(precompile(node.getLeftArg(), context),
-				precompile(node.getRightArg(), context));
+				precompile(node.getRightArg(), context), getCollectionFactory());
 	}
 
 	protected QueryEvaluationStep prepare(Group node, QueryEvaluationContext context) throws QueryEvaluationException {
+		ArrayBindingBasedQueryEvaluationContext batchContext = getBatchContext(context);
+		if (batchContext != null) {
+			return new GroupBatchQueryEvaluationStep(this, node, batchContext, collectionFactory, batchSize);
+		}
 		return new QueryEvaluationStep() {
 			@Override
 			public CloseableIteration<BindingSet, QueryEvaluationException> evaluate(BindingSet bindings) {
 				return new GroupIterator(DefaultEvaluationStrategy.this, node, bindings, iterationCacheSyncThreshold,
-						context);
+						context, SimpleValueFactory.getInstance(), collectionFactory.get());
 			}
 		};
 	}
@@ -555,11 +577,18 @@ public class DefaultEvaluationStrategy implements EvaluationStrategy, FederatedS
 			throws QueryEvaluationException {
 		QueryEvaluationStep leftArg = precompile(node.getLeftArg(), context);
 		QueryEvaluationStep rightArg = precompile(node.getRightArg(), context);
-		return new IntersectionQueryEvaluationStep(leftArg, rightArg, this::makeSet);
+		return IntersectionQueryEvaluationStep.supply(leftArg, rightArg, getCollectionFactory());
 	}
 
 	protected QueryEvaluationStep prepare(Join node, QueryEvaluationContext context) throws QueryEvaluationException {
-		return new JoinQueryEvaluationStep(this, node, context);
+		if (node.isMergeJoin() && tripleSource.getComparator() != null) {
+			return new MergeJoinQueryEvaluationStep(this, node, tripleSource.getComparator(), context);
+		}
+		ArrayBindingBasedQueryEvaluationContext batchContext = getBatchContext(context);
+		if (batchContext != null) {
+			return JoinBatchQueryEvaluationStep.supply(this, node, batchContext, batchSize);
+		}
+		return new JoinQueryEvaluationStep(this, node, context, getParallelism(node));
 	}
 
 	protected QueryEvaluationStep prepare(LeftJoin node, QueryEvaluationContext context)
@@ -582,6 +611,10 @@ public class DefaultEvaluationStrategy implements EvaluationStrategy, FederatedS
 	protected QueryEvaluationStep prepare(Projection node, QueryEvaluationContext context)
 			throws QueryEvaluationException {
 		QueryEvaluationStep temp = precompile(node.getArg(), context);
+		ArrayBindingBasedQueryEvaluationContext batchContext = getBatchContext(context);
+		if (batchContext != null) {
+			return new ProjectionBatchQueryEvaluationStep(node, temp, batchContext, batchSize);
+		}
 		return new ProjectionQueryEvaluationStep(node, temp, context);
 	}
 
@@ -594,10 +627,19 @@ public class DefaultEvaluationStrategy implements EvaluationStrategy, FederatedS
 
 	protected QueryEvaluationStep prepare(StatementPattern node, QueryEvaluationContext context)
 			throws QueryEvaluationException {
+		ArrayBindingBasedQueryEvaluationContext batchContext = getBatchContext(context);
+		if (batchContext != null) {
+			return new StatementPatternBatchQueryEvaluationStep(node, batchContext, tripleSource, batchSize);
+		}
 		return new StatementPatternQueryEvaluationStep(node, context, tripleSource);
 	}
 
 	protected QueryEvaluationStep prepare(Union node, QueryEvaluationContext context) throws QueryEvaluationException {
+		int parallelism = getParallelism(node);
+		if (parallelism > 1) {
+			return new ParallelUnionQueryEvaluationStep(this, node, context, parallelism,
+					ParallelEvaluation.QUEUE_CAPACITY);
+		}
 		QueryEvaluationStep leftQes = precompile(node.getLeftArg(), context);
 		QueryEvaluationStep rightQes = precompile(node.getRightArg(), context);
 
@@ -614,6 +656,10 @@ public class DefaultEvaluationStrategy implements EvaluationStrategy, FederatedS
 		QueryEvaluationStep arg = precompile(node.getArg(), context);
 		Consumer<MutableBindingSet> consumer = ExtensionIterator.buildLambdaToEvaluateTheExpressions(node, this,
 				context);
+		ArrayBindingBasedQueryEvaluationContext batchContext = getBatchContext(context);
+		if (batchContext != null) {
+			return new ExtensionBatchQueryEvaluationStep(arg, consumer, batchContext, batchSize);
+		}
 		return new ExtensionQueryEvaluationStep(arg, consumer, context);
 	}
 
@@ -640,6 +686,10 @@ public class DefaultEvaluationStrategy implements EvaluationStrategy, FederatedS
 				}
 			};
 		}
+		ArrayBindingBasedQueryEvaluationContext batchContext = getBatchContext(context);
+		if (batchContext != null) {
+			return new FilterBatchQueryEvaluationStep(arg, ves, this, batchContext, batchSize);
+		}
 		return new QueryEvaluationStep() {
 
 			@Override
@@ -727,8 +777,19 @@ public class DefaultEvaluationStrategy implements EvaluationStrategy, FederatedS
 			@Override
 			public CloseableIteration<BindingSet, QueryEvaluationException> evaluate(BindingSet bindings) {
 				final CloseableIteration<BindingSet, QueryEvaluationException> evaluate = child.evaluate(bindings);
+				CollectionFactory cf = getCollectionFactory().get();
 				return new DistinctIteration<BindingSet, QueryEvaluationException>(evaluate,
-						DefaultEvaluationStrategy.this::makeSet);
+						cf::createSetOfBindingSets) {
+
+					@Override
+					protected void handleClose() throws QueryEvaluationException {
+						try {
+							super.handleClose();
+						} finally {
+							cf.close();
+						}
+					}
+				};
 			}
 		};
 
@@ -2165,6 +2226,87 @@ public class DefaultEvaluationStrategy implements EvaluationStrategy, FederatedS
 		this.queryEvaluationMode = Objects.requireNonNull(queryEvaluationMode);
 	}
 
+	@Override
+	public QueryEvaluationParallelism getQueryEvaluationParallelism() {
+		return queryEvaluationParallelism;
+	}
+
+	/**
+	 * Set the number of threads that may be used to evaluate a single query. With a parallelism greater than 1, the
+	 * branches of unions are evaluated concurrently and hash joins build and probe their hash table with several worker
+	 * threads.
+	 *
+	 * @param queryEvaluationParallelism the parallelism to use
+	 */
+	@Experimental
+	@Override
+	public void setQueryEvaluationParallelism(QueryEvaluationParallelism queryEvaluationParallelism) {
+		this.queryEvaluationParallelism = Objects.requireNonNull(queryEvaluationParallelism);
+	}
+
+	/**
+	 * Operators that are evaluated once for every solution of another operator, like the right argument of a nested
+	 * loop join or the argument of an EXISTS filter, are evaluated sequentially. Starting worker threads for each of
+	 * these evaluations would cost more than it gains.
+	 *
+	 * @return the number of threads that may be used to evaluate the node.
+	 */
+	private int getParallelism(TupleExpr node) {
+		int parallelism = queryEvaluationParallelism.getParallelism();
+		if (parallelism <= 1) {
+			return 1;
+		}
+		QueryModelNode current = node;
+		QueryModelNode parent = node.getParentNode();
+		while (parent != null) {
+			if (parent instanceof ValueExpr) {
+				return 1;
+			}
+			if ((parent instanceof Join || parent instanceof LeftJoin)
+					&& ((BinaryTupleOperator) parent).getRightArg() == current) {
+				return 1;
+			}
+			current = parent;
+			parent = parent.getParentNode();
+		}
+		return parallelism;
+	}
+
+	/**
+	 * Enable or disable batch evaluation. In batch evaluation mode statement patterns, filters, extensions,
+	 * projections, joins and groups pass their solutions on in {@link BindingSetBatch}es of the given size, instead of
+	 * one binding set at a time. Batch evaluation is only used for queries that are precompiled from their
+	 * {@link QueryRoot}.
+	 *
+	 * @param batchSize the number of solutions per batch, or 0 to disable batch evaluation
+	 */
+	@Experimental
+	public void setBatchSize(int batchSize) {
+		if (batchSize < 0) {
+			throw new IllegalArgumentException("Batch size must not be negative: " + batchSize);
+		}
+		this.batchSize = batchSize;
+	}
+
+	/**
+	 * @return the number of solutions per batch, 0 if batch evaluation is disabled
+	 */
+	@Experimental
+	public int getBatchSize() {
+		return batchSize;
+	}
+
+	/**
+	 * @return the context to use for batch evaluation, or null if the step should be evaluated one binding set at a
+	 *         time.
+	 */
+	private ArrayBindingBasedQueryEvaluationContext getBatchContext(QueryEvaluationContext context) {
+		if (batchSize > 0 && context instanceof ArrayBindingBasedQueryEvaluationContext) {
+			return (ArrayBindingBasedQueryEvaluationContext) context;
+		}
+		return null;
+	}
+
 	@Override
 	public Supplier<CollectionFactory> getCollectionFactory() {
 		return collectionFactory;
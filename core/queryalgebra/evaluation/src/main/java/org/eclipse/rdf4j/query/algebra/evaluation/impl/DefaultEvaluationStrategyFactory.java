@@ -13,6 +13,7 @@ package org.eclipse.rdf4j.query.algebra.evaluation.impl;
 import java.util.function.Supplier;
 
 import org.eclipse.rdf4j.collection.factory.api.CollectionFactory;
+import org.eclipse.rdf4j.common.annotation.Experimental;
 import org.eclipse.rdf4j.query.Dataset;
 import org.eclipse.rdf4j.query.algebra.evaluation.EvaluationStrategy;
 import org.eclipse.rdf4j.query.algebra.evaluation.EvaluationStrategyFactory;
@@ -25,6 +26,7 @@ public class DefaultEvaluationStrategyFactory extends AbstractEvaluationStrategy
 
 	private FederatedServiceResolver serviceResolver;
 	private Supplier<CollectionFactory> collectionFactorySupplier;
+	private int batchSize;
 
 	public DefaultEvaluationStrategyFactory() {
 	}
@@ -47,6 +49,22 @@ public class DefaultEvaluationStrategyFactory extends AbstractEvaluationStrategy
 		this.collectionFactorySupplier = collectionFactory;
 	}
 
+	/**
+	 * Set the batch size of the created strategies.
+	 *
+	 * @param batchSize the number of solutions per batch, or 0 to disable batch evaluation
+	 * @see DefaultEvaluationStrategy#setBatchSize(int)
+	 */
+	@Experimental
+	public void setBatchSize(int batchSize) {
+		this.batchSize = batchSize;
+	}
+
+	@Experimental
+	public int getBatchSize() {
+		return batchSize;
+	}
+
 	@Override
 	public EvaluationStrategy createEvaluationStrategy(Dataset dataset, TripleSource tripleSource,
 			EvaluationStatistics evaluationStatistics) {
@@ -54,6 +72,7 @@ public class DefaultEvaluationStrategyFactory extends AbstractEvaluationStrategy
 				getQuerySolutionCacheThreshold(), evaluationStatistics, isTrackResultSize());
 		getOptimizerPipeline().ifPresent(strategy::setOptimizerPipeline);
 		strategy.setCollectionFactory(collectionFactorySupplier);
+		strategy.setBatchSize(batchSize);
 		return strategy;
 	}
 
@@ -11,9 +11,12 @@
 package org.eclipse.rdf4j.query.algebra.evaluation.impl;
 
 import java.util.Collection;
+import java.util.HashSet;
+import java.util.Set;
 import java.util.UUID;
 import java.util.concurrent.atomic.AtomicLong;
 
+import org.eclipse.rdf4j.common.annotation.Experimental;
 import org.eclipse.rdf4j.query.algebra.AbstractQueryModelNode;
 import org.eclipse.rdf4j.query.algebra.ArbitraryLengthPath;
 import org.eclipse.rdf4j.query.algebra.BinaryTupleOperator;
@@ -62,6 +65,42 @@ public class EvaluationStatistics {
 		return calculator.getCardinality();
 	}
 
+	/**
+	 * Estimates the number of distinct values of a variable in the solutions of an expression, which the query
+	 * optimizer uses to estimate the selectivity of joins on that variable.
+	 * <p>
+	 * The default implementation assumes that the values of the unbound variables of the expression are independent and
+	 * equally distributed: an expression with cardinality <var>c</var> and <var>n</var> unbound variables has
+	 * <var>c<sup>1/n</sup></var> distinct values per variable.
+	 *
+	 * @param expr    the expression
+	 * @param varName the name of the variable
+	 * @return the estimated number of distinct values, at least 1 and at most the cardinality of the expression if it
+	 *         is larger than 1. 1 if the variable is not bound by the expression.
+	 */
+	@Experimental
+	public double getDistinctValueCount(TupleExpr expr, String varName) {
+		Set<String> varNames = getUnboundVarNames(expr);
+		if (!varNames.contains(varName)) {
+			return 1;
+		}
+		double cardinality = getCardinality(expr);
+		return Math.max(1, Math.min(cardinality, Math.pow(cardinality, 1.0 / varNames.size())));
+	}
+
+	private static Set<String> getUnboundVarNames(TupleExpr expr) {
+		if (!(expr instanceof StatementPattern)) {
+			return expr.getBindingNames();
+		}
+		Set<String> varNames = new HashSet<>();
+		for (Var var : ((StatementPattern) expr).getVarList()) {
+			if (!var.hasValue()) {
+				varNames.add(var.getName());
+			}
+		}
+		return varNames;
+	}
+
 	protected CardinalityCalculator createCardinalityCalculator() {
 		return new CardinalityCalculator();
 	}
@@ -0,0 +1,85 @@
+/*******************************************************************************
+ * Copyright (c) 2023 Eclipse RDF4J contributors.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Distribution License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/org/documents/edl-v10.php.
+ *
+ * SPDX-License-Identifier: BSD-3-Clause
+ *******************************************************************************/
+package org.eclipse.rdf4j.query.algebra.evaluation.impl.evaluationsteps;
+
+import java.util.function.Consumer;
+
+import org.eclipse.rdf4j.common.iteration.CloseableIteration;
+import org.eclipse.rdf4j.common.iteration.EmptyIteration;
+import org.eclipse.rdf4j.common.iteration.LookAheadIteration;
+import org.eclipse.rdf4j.query.BindingSet;
+import org.eclipse.rdf4j.query.MutableBindingSet;
+import org.eclipse.rdf4j.query.QueryEvaluationException;
+import org.eclipse.rdf4j.query.algebra.evaluation.ArrayBindingSet;
+import org.eclipse.rdf4j.query.algebra.evaluation.BatchQueryEvaluationStep;
+import org.eclipse.rdf4j.query.algebra.evaluation.BindingSetBatch;
+import org.eclipse.rdf4j.query.algebra.evaluation.QueryEvaluationStep;
+import org.eclipse.rdf4j.query.algebra.evaluation.ValueExprEvaluationException;
+import org.eclipse.rdf4j.query.algebra.evaluation.impl.ArrayBindingBasedQueryEvaluationContext;
+
+/**
+ * Evaluates an Extension in batches. The extension elements are evaluated for every row of a batch using one reused
+ * binding set, after which the row in the batch is updated in place.
+ */
+public final class ExtensionBatchQueryEvaluationStep implements BatchQueryEvaluationStep {
+
+	private final QueryEvaluationStep arg;
+	private final Consumer<MutableBindingSet> consumer;
+	private final ArrayBindingBasedQueryEvaluationContext context;
+	private final int batchSize;
+
+	public ExtensionBatchQueryEvaluationStep(QueryEvaluationStep arg, Consumer<MutableBindingSet> consumer,
+			ArrayBindingBasedQueryEvaluationContext context, int batchSize) {
+		this.arg = arg;
+		this.consumer = consumer;
+		this.context = context;
+		this.batchSize = batchSize;
+	}
+
+	@Override
+	public CloseableIteration<BindingSetBatch, QueryEvaluationException> evaluateBatches(BindingSet bindings) {
+		CloseableIteration<BindingSetBatch, QueryEvaluationException> batches;
+		try {
+			batches = BatchQueryEvaluationStep.evaluateBatches(arg, bindings, context, batchSize);
+		} catch (ValueExprEvaluationException e) {
+			// a type error in an extension argument should be silently ignored and result in zero bindings.
+			return new EmptyIteration<>();
+		}
+
+		return new LookAheadIteration<>() {
+
+			private final ArrayBindingSet row = context.createBindingSet();
+
+			@Override
+			protected BindingSetBatch getNextElement() throws QueryEvaluationException {
+				if (!batches.hasNext()) {
+					return null;
+				}
+				BindingSetBatch batch = batches.next();
+				for (int i = 0; i < batch.size(); i++) {
+					batch.copyTo(i, row);
+					consumer.accept(row);
+					batch.copyFrom(row, i);
+				}
+				return batch;
+			}
+
+			@Override
+			protected void handleClose() throws QueryEvaluationException {
+				try {
+					super.handleClose();
+				} finally {
+					batches.close();
+				}
+			}
+		};
+	}
+}
@@ -0,0 +1,101 @@
+/*******************************************************************************
+ * Copyright (c) 2023 Eclipse RDF4J contributors.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Distribution License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/org/documents/edl-v10.php.
+ *
+ * SPDX-License-Identifier: BSD-3-Clause
+ *******************************************************************************/
+package org.eclipse.rdf4j.query.algebra.evaluation.impl.evaluationsteps;
+
+import org.eclipse.rdf4j.common.iteration.CloseableIteration;
+import org.eclipse.rdf4j.common.iteration.LookAheadIteration;
+import org.eclipse.rdf4j.query.BindingSet;
+import org.eclipse.rdf4j.query.QueryEvaluationException;
+import org.eclipse.rdf4j.query.algebra.evaluation.ArrayBindingSet;
+import org.eclipse.rdf4j.query.algebra.evaluation.BatchQueryEvaluationStep;
+import org.eclipse.rdf4j.query.algebra.evaluation.BindingSetBatch;
+import org.eclipse.rdf4j.query.algebra.evaluation.EvaluationStrategy;
+import org.eclipse.rdf4j.query.algebra.evaluation.QueryEvaluationStep;
+import org.eclipse.rdf4j.query.algebra.evaluation.QueryValueEvaluationStep;
+import org.eclipse.rdf4j.query.algebra.evaluation.ValueExprEvaluationException;
+import org.eclipse.rdf4j.query.algebra.evaluation.impl.ArrayBindingBasedQueryEvaluationContext;
+
+/**
+ * Evaluates a Filter in batches. The condition is evaluated for every row of a batch using one reused binding set,
+ * rejected rows are then removed from the batch in place.
+ */
+public final class FilterBatchQueryEvaluationStep implements BatchQueryEvaluationStep {
+
+	private final QueryEvaluationStep arg;
+	private final QueryValueEvaluationStep condition;
+	private final EvaluationStrategy strategy;
+	private final ArrayBindingBasedQueryEvaluationContext context;
+	private final int batchSize;
+
+	public FilterBatchQueryEvaluationStep(QueryEvaluationStep arg, QueryValueEvaluationStep condition,
+			EvaluationStrategy strategy, ArrayBindingBasedQueryEvaluationContext context, int batchSize) {
+		this.arg = arg;
+		this.condition = condition;
+		this.strategy = strategy;
+		this.context = context;
+		this.batchSize = batchSize;
+	}
+
+	@Override
+	public CloseableIteration<BindingSetBatch, QueryEvaluationException> evaluateBatches(BindingSet bindings) {
+		CloseableIteration<BindingSetBatch, QueryEvaluationException> batches = BatchQueryEvaluationStep
+				.evaluateBatches(arg, bindings, context, batchSize);
+
+		return new LookAheadIteration<>() {
+
+			private final ArrayBindingSet row = context.createBindingSet();
+
+			private boolean[] keep = new boolean[batchSize];
+
+			@Override
+			protected BindingSetBatch getNextElement() throws QueryEvaluationException {
+				while (batches.hasNext()) {
+					BindingSetBatch batch = batches.next();
+					int size = batch.size();
+					if (keep.length < size) {
+						keep = new boolean[size];
+					}
+					boolean keepAll = true;
+					for (int i = 0; i < size; i++) {
+						batch.copyTo(i, row);
+						keep[i] = accept(row);
+						keepAll &= keep[i];
+					}
+					if (!keepAll) {
+						batch.retain(keep);
+					}
+					if (!batch.isEmpty()) {
+						return batch;
+					}
+				}
+				return null;
+			}
+
+			@Override
+			protected void handleClose() throws QueryEvaluationException {
+				try {
+					super.handleClose();
+				} finally {
+					batches.close();
+				}
+			}
+		};
+	}
+
+	private boolean accept(BindingSet bindings) throws QueryEvaluationException {
+		try {
+			return strategy.isTrue(condition, bindings);
+		} catch (ValueExprEvaluationException e) {
+			// failed to evaluate condition
+			return false;
+		}
+	}
+}
@@ -0,0 +1,57 @@
+/*******************************************************************************
+ * Copyright (c) 2023 Eclipse RDF4J contributors.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Distribution License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/org/documents/edl-v10.php.
+ *
+ * SPDX-License-Identifier: BSD-3-Clause
+ *******************************************************************************/
+package org.eclipse.rdf4j.query.algebra.evaluation.impl.evaluationsteps;
+
+import java.util.function.Supplier;
+
+import org.eclipse.rdf4j.collection.factory.api.CollectionFactory;
+import org.eclipse.rdf4j.common.iteration.CloseableIteration;
+import org.eclipse.rdf4j.model.impl.SimpleValueFactory;
+import org.eclipse.rdf4j.query.BindingSet;
+import org.eclipse.rdf4j.query.QueryEvaluationException;
+import org.eclipse.rdf4j.query.algebra.Group;
+import org.eclipse.rdf4j.query.algebra.evaluation.BatchQueryEvaluationStep;
+import org.eclipse.rdf4j.query.algebra.evaluation.BindingSetBatch;
+import org.eclipse.rdf4j.query.algebra.evaluation.EvaluationStrategy;
+import org.eclipse.rdf4j.query.algebra.evaluation.impl.ArrayBindingBasedQueryEvaluationContext;
+import org.eclipse.rdf4j.query.algebra.evaluation.iterator.BatchingIteration;
+import org.eclipse.rdf4j.query.algebra.evaluation.iterator.GroupIterator;
+
+/**
+ * Evaluates a Group in batches. The solutions of the group argument are consumed a batch at a time and grouped by the
+ * columns of the group binding names, after which the groups are returned in batches.
+ */
+public final class GroupBatchQueryEvaluationStep implements BatchQueryEvaluationStep {
+
+	private final EvaluationStrategy strategy;
+	private final Group group;
+	private final ArrayBindingBasedQueryEvaluationContext context;
+	private final Supplier<CollectionFactory> collectionFactory;
+	private final int batchSize;
+
+	public GroupBatchQueryEvaluationStep(EvaluationStrategy strategy, Group group,
+			ArrayBindingBasedQueryEvaluationContext context, Supplier<CollectionFactory> collectionFactory,
+			int batchSize) {
+		this.strategy = strategy;
+		this.group = group;
+		this.context = context;
+		this.collectionFactory = collectionFactory;
+		this.batchSize = batchSize;
+	}
+
+	@Override
+	public CloseableIteration<BindingSetBatch, QueryEvaluationException> evaluateBatches(BindingSet bindings) {
+		// there is usually only a small number of groups, which are not worth storing column wise
+		GroupIterator groups = new GroupIterator(strategy, group, bindings, context, SimpleValueFactory.getInstance(),
+				collectionFactory.get(), batchSize);
+		return new BatchingIteration(groups, context, batchSize);
+	}
+}
@@ -14,6 +14,8 @@ import java.util.Set;
 import java.util.function.Function;
 import java.util.function.Supplier;
 
+import org.eclipse.rdf4j.collection.factory.api.CollectionFactory;
+import org.eclipse.rdf4j.common.annotation.Experimental;
 import org.eclipse.rdf4j.common.iteration.CloseableIteration;
 import org.eclipse.rdf4j.common.iteration.IntersectIteration;
 import org.eclipse.rdf4j.query.BindingSet;
@@ -40,4 +42,28 @@ public class IntersectionQueryEvaluationStep implements QueryEvaluationStep {
 	public CloseableIteration<BindingSet, QueryEvaluationException> evaluate(BindingSet bs) {
 		return new IntersectIteration<>(leftArg.evaluate(bs), rightArgDelayed.apply(bs), setMaker);
 	}
+
+	/**
+	 * Creates a step that keeps the solutions of the right argument in a set of a collection factory, which is created
+	 * for each evaluation and closed with the returned iteration.
+	 */
+	@Experimental
+	public static QueryEvaluationStep supply(QueryEvaluationStep leftArg, QueryEvaluationStep rightArg,
+			Supplier<CollectionFactory> collectionFactory) {
+		return bs -> {
+			CollectionFactory cf = collectionFactory.get();
+			return new IntersectIteration<BindingSet, QueryEvaluationException>(leftArg.evaluate(bs),
+					new DelayedEvaluationIteration(rightArg, bs), cf::createSetOfBindingSets) {
+
+				@Override
+				protected void handleClose() throws QueryEvaluationException {
+					try {
+						super.handleClose();
+					} finally {
+						cf.close();
+					}
+				}
+			};
+		};
+	}
 }
@@ -0,0 +1,220 @@
+/*******************************************************************************
+ * Copyright (c) 2023 Eclipse RDF4J contributors.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Distribution License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/org/documents/edl-v10.php.
+ *
+ * SPDX-License-Identifier: BSD-3-Clause
+ *******************************************************************************/
+package org.eclipse.rdf4j.query.algebra.evaluation.impl.evaluationsteps;
+
+import org.eclipse.rdf4j.common.iteration.CloseableIteration;
+import org.eclipse.rdf4j.common.iteration.EmptyIteration;
+import org.eclipse.rdf4j.common.iteration.LookAheadIteration;
+import org.eclipse.rdf4j.model.Statement;
+import org.eclipse.rdf4j.query.BindingSet;
+import org.eclipse.rdf4j.query.QueryEvaluationException;
+import org.eclipse.rdf4j.query.algebra.Join;
+import org.eclipse.rdf4j.query.algebra.Service;
+import org.eclipse.rdf4j.query.algebra.TupleExpr;
+import org.eclipse.rdf4j.query.algebra.evaluation.BatchQueryEvaluationStep;
+import org.eclipse.rdf4j.query.algebra.evaluation.BindingSetBatch;
+import org.eclipse.rdf4j.query.algebra.evaluation.EvaluationStrategy;
+import org.eclipse.rdf4j.query.algebra.evaluation.QueryEvaluationStep;
+import org.eclipse.rdf4j.query.algebra.evaluation.impl.ArrayBindingBasedQueryEvaluationContext;
+import org.eclipse.rdf4j.query.algebra.helpers.TupleExprs;
+
+/**
+ * Evaluates a Join in batches. Like the {@link org.eclipse.rdf4j.query.algebra.evaluation.iterator.JoinIterator} the
+ * right argument is evaluated once for every solution of the left argument, but the results of the right argument are
+ * collected into full batches before they are handed to the parent.
+ */
+public final class JoinBatchQueryEvaluationStep implements BatchQueryEvaluationStep {
+
+	private final QueryEvaluationStep leftPrepared;
+	private final QueryEvaluationStep rightPrepared;
+	private final ArrayBindingBasedQueryEvaluationContext context;
+	private final int batchSize;
+
+	private static final int INITIAL_CAPACITY = 16;
+
+	private JoinBatchQueryEvaluationStep(QueryEvaluationStep leftPrepared, QueryEvaluationStep rightPrepared,
+			ArrayBindingBasedQueryEvaluationContext context, int batchSize) {
+		this.leftPrepared = leftPrepared;
+		this.rightPrepared = rightPrepared;
+		this.context = context;
+		this.batchSize = batchSize;
+	}
+
+	/**
+	 * Create a batch join step if the join can be evaluated as a nested loop join, otherwise fall back to the
+	 * {@link JoinQueryEvaluationStep}.
+	 */
+	public static QueryEvaluationStep supply(EvaluationStrategy strategy, Join join,
+			ArrayBindingBasedQueryEvaluationContext context, int batchSize) {
+		TupleExpr rightArg = join.getRightArg();
+		if (rightArg instanceof Service || TupleExprs.isVariableScopeChange(rightArg)
+				|| TupleExprs.containsSubquery(rightArg)) {
+			return new JoinQueryEvaluationStep(strategy, join, context);
+		}
+		QueryEvaluationStep leftPrepared = strategy.precompile(join.getLeftArg(), context);
+		QueryEvaluationStep rightPrepared = strategy.precompile(rightArg, context);
+		join.setAlgorithm(JoinBatchQueryEvaluationStep.class.getSimpleName());
+		return new JoinBatchQueryEvaluationStep(leftPrepared, rightPrepared, context, batchSize);
+	}
+
+	/**
+	 * Make sure the result batch can take another row. Result batches start small and grow up to the batch size, as the
+	 * right argument of a join is often evaluated once per solution with only a few results each time.
+	 */
+	private BindingSetBatch ensureCapacity(BindingSetBatch result) {
+		if (result == null) {
+			return context.createBatch(Math.min(batchSize, INITIAL_CAPACITY));
+		} else if (result.isFull()) {
+			return result.withCapacity(Math.min(batchSize, result.capacity() * 2));
+		}
+		return result;
+	}
+
+	@Override
+	public CloseableIteration<BindingSetBatch, QueryEvaluationException> evaluateBatches(BindingSet bindings) {
+		CloseableIteration<BindingSetBatch, QueryEvaluationException> leftIter = BatchQueryEvaluationStep
+				.evaluateBatches(leftPrepared, bindings, context, batchSize);
+		if (rightPrepared instanceof StatementPatternBatchQueryEvaluationStep) {
+			return new StatementPatternJoinIteration(leftIter,
+					(StatementPatternBatchQueryEvaluationStep) rightPrepared);
+		}
+		return new BatchJoinIteration(leftIter);
+	}
+
+	/**
+	 * Joins with a statement pattern by appending every matching statement to the output batch directly, without
+	 * creating intermediate batches.
+	 */
+	private final class StatementPatternJoinIteration
+			extends LookAheadIteration<BindingSetBatch, QueryEvaluationException> {
+
+		private final CloseableIteration<BindingSetBatch, QueryEvaluationException> leftIter;
+
+		private final StatementPatternBatchQueryEvaluationStep pattern;
+
+		private CloseableIteration<? extends Statement, QueryEvaluationException> statements = new EmptyIteration<>();
+
+		private BindingSetBatch leftBatch;
+		private int leftRow;
+
+		private StatementPatternJoinIteration(CloseableIteration<BindingSetBatch, QueryEvaluationException> leftIter,
+				StatementPatternBatchQueryEvaluationStep pattern) {
+			this.leftIter = leftIter;
+			this.pattern = pattern;
+		}
+
+		@Override
+		protected BindingSetBatch getNextElement() throws QueryEvaluationException {
+			BindingSetBatch result = null;
+			while (true) {
+				if (statements.hasNext()) {
+					result = ensureCapacity(result);
+					int row = result.add(leftBatch, leftRow - 1);
+					pattern.bind(result, row, statements.next());
+					if (result.size() >= batchSize) {
+						return result;
+					}
+				} else if (leftBatch != null && leftRow < leftBatch.size()) {
+					statements.close();
+					CloseableIteration<? extends Statement, QueryEvaluationException> next = pattern
+							.getStatements(leftBatch.get(leftRow++));
+					statements = next != null ? next : new EmptyIteration<>();
+				} else if (leftIter.hasNext()) {
+					leftBatch = leftIter.next();
+					leftRow = 0;
+				} else {
+					return result;
+				}
+			}
+		}
+
+		@Override
+		protected void handleClose() throws QueryEvaluationException {
+			try {
+				super.handleClose();
+			} finally {
+				try {
+					leftIter.close();
+				} finally {
+					statements.close();
+				}
+			}
+		}
+	}
+
+	private final class BatchJoinIteration extends LookAheadIteration<BindingSetBatch, QueryEvaluationException> {
+
+		private final CloseableIteration<BindingSetBatch, QueryEvaluationException> leftIter;
+
+		private CloseableIteration<BindingSetBatch, QueryEvaluationException> rightIter = new EmptyIteration<>();
+
+		private BindingSetBatch leftBatch;
+		private int leftRow;
+
+		// a batch of the right argument that has not been completely copied yet
+		private BindingSetBatch pending;
+		private int pendingRow;
+
+		private BatchJoinIteration(CloseableIteration<BindingSetBatch, QueryEvaluationException> leftIter) {
+			this.leftIter = leftIter;
+		}
+
+		@Override
+		protected BindingSetBatch getNextElement() throws QueryEvaluationException {
+			BindingSetBatch result = null;
+			while (true) {
+				if (pending != null) {
+					if (result == null) {
+						if (pendingRow == 0 && pending.size() >= batchSize) {
+							// nothing to gain from copying a full batch
+							BindingSetBatch full = pending;
+							pending = null;
+							return full;
+						}
+					}
+					result = ensureCapacity(result);
+					pendingRow += result.addAll(pending, pendingRow);
+					if (pendingRow >= pending.size()) {
+						pending = null;
+					}
+					if (result.size() >= batchSize) {
+						return result;
+					}
+				} else if (rightIter.hasNext()) {
+					pending = rightIter.next();
+					pendingRow = 0;
+				} else if (leftBatch != null && leftRow < leftBatch.size()) {
+					rightIter.close();
+					rightIter = BatchQueryEvaluationStep.evaluateBatches(rightPrepared, leftBatch.get(leftRow++),
+							context, batchSize);
+				} else if (leftIter.hasNext()) {
+					leftBatch = leftIter.next();
+					leftRow = 0;
+				} else {
+					return result;
+				}
+			}
+		}
+
+		@Override
+		protected void handleClose() throws QueryEvaluationException {
+			try {
+				super.handleClose();
+			} finally {
+				try {
+					leftIter.close();
+				} finally {
+					rightIter.close();
+				}
+			}
+		}
+	}
+}
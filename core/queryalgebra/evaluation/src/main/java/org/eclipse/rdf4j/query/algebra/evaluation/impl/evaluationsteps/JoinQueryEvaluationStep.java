@@ -10,6 +10,7 @@
  *******************************************************************************/
 package org.eclipse.rdf4j.query.algebra.evaluation.impl.evaluationsteps;
 
+import org.eclipse.rdf4j.common.annotation.Experimental;
 import org.eclipse.rdf4j.common.iteration.CloseableIteration;
 import org.eclipse.rdf4j.query.BindingSet;
 import org.eclipse.rdf4j.query.QueryEvaluationException;
@@ -22,6 +23,8 @@ import org.eclipse.rdf4j.query.algebra.evaluation.federation.ServiceJoinIterator
 import org.eclipse.rdf4j.query.algebra.evaluation.impl.QueryEvaluationContext;
 import org.eclipse.rdf4j.query.algebra.evaluation.iterator.HashJoinIteration;
 import org.eclipse.rdf4j.query.algebra.evaluation.iterator.JoinIterator;
+import org.eclipse.rdf4j.query.algebra.evaluation.iterator.ParallelEvaluation;
+import org.eclipse.rdf4j.query.algebra.evaluation.iterator.ParallelHashJoinIteration;
 import org.eclipse.rdf4j.query.algebra.helpers.TupleExprs;
 
 public class JoinQueryEvaluationStep implements QueryEvaluationStep {
@@ -29,6 +32,15 @@ public class JoinQueryEvaluationStep implements QueryEvaluationStep {
 	private final java.util.function.Function<BindingSet, CloseableIteration<BindingSet, QueryEvaluationException>> eval;
 
 	public JoinQueryEvaluationStep(EvaluationStrategy strategy, Join join, QueryEvaluationContext context) {
+		this(strategy, join, context, 1);
+	}
+
+	/**
+	 * @param parallelism the number of threads a hash join may use, 1 to evaluate the join in the calling thread
+	 */
+	@Experimental
+	public JoinQueryEvaluationStep(EvaluationStrategy strategy, Join join, QueryEvaluationContext context,
+			int parallelism) {
 		// efficient computation of a SERVICE join using vectored evaluation
 		// TODO maybe we can create a ServiceJoin node already in the parser?
 		QueryEvaluationStep leftPrepared = strategy.precompile(join.getLeftArg(), context);
@@ -40,9 +52,16 @@ public class JoinQueryEvaluationStep implements QueryEvaluationStep {
 			join.setAlgorithm(ServiceJoinIterator.class.getSimpleName());
 		} else if (isOutOfScopeForLeftArgBindings(join.getRightArg())) {
 			String[] joinAttributes = HashJoinIteration.hashJoinAttributeNames(join);
-			eval = (bindings) -> new HashJoinIteration(leftPrepared, rightPrepared, bindings, false,
-					joinAttributes, context);
-			join.setAlgorithm(HashJoinIteration.class.getSimpleName());
+			if (parallelism > 1) {
+				eval = (bindings) -> new ParallelHashJoinIteration(ParallelEvaluation.getExecutor(), leftPrepared,
+						rightPrepared, bindings, joinAttributes, context, parallelism,
+						ParallelEvaluation.QUEUE_CAPACITY);
+				join.setAlgorithm(ParallelHashJoinIteration.class.getSimpleName());
+			} else {
+				eval = (bindings) -> new HashJoinIteration(leftPrepared, rightPrepared, bindings, false,
+						joinAttributes, context, strategy.getCollectionFactory().get());
+				join.setAlgorithm(HashJoinIteration.class.getSimpleName());
+			}
 		} else {
 			eval = (bindings) -> new JoinIterator(strategy, leftPrepared, rightPrepared, join, bindings);
 			join.setAlgorithm(JoinIterator.class.getSimpleName());
@@ -44,7 +44,8 @@ public final class LeftJoinQueryEvaluationStep implements QueryEvaluationStep {
 			String[] joinAttributes = leftBindingNames.stream()
 					.filter(rightBindingNames::contains)
 					.toArray(String[]::new);
-			return bs -> new HashJoinIteration(left, right, bs, true, joinAttributes, context);
+			return bs -> new HashJoinIteration(left, right, bs, true, joinAttributes, context,
+					strategy.getCollectionFactory().get());
 		}
 
 		// Check whether optional join is "well designed" as defined in section
@@ -0,0 +1,76 @@
+/*******************************************************************************
+ * Copyright (c) 2023 Eclipse RDF4J contributors.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Distribution License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/org/documents/edl-v10.php.
+ *
+ * SPDX-License-Identifier: BSD-3-Clause
+ *******************************************************************************/
+package org.eclipse.rdf4j.query.algebra.evaluation.impl.evaluationsteps;
+
+import java.util.Comparator;
+
+import org.eclipse.rdf4j.common.annotation.Experimental;
+import org.eclipse.rdf4j.common.iteration.CloseableIteration;
+import org.eclipse.rdf4j.model.Value;
+import org.eclipse.rdf4j.query.BindingSet;
+import org.eclipse.rdf4j.query.QueryEvaluationException;
+import org.eclipse.rdf4j.query.algebra.Filter;
+import org.eclipse.rdf4j.query.algebra.Join;
+import org.eclipse.rdf4j.query.algebra.StatementPattern;
+import org.eclipse.rdf4j.query.algebra.TupleExpr;
+import org.eclipse.rdf4j.query.algebra.evaluation.EvaluationStrategy;
+import org.eclipse.rdf4j.query.algebra.evaluation.QueryEvaluationStep;
+import org.eclipse.rdf4j.query.algebra.evaluation.impl.QueryEvaluationContext;
+import org.eclipse.rdf4j.query.algebra.evaluation.iterator.MergeJoinIterator;
+
+/**
+ * Evaluates a {@link Join#isMergeJoin() merge join} with a {@link MergeJoinIterator}.
+ */
+@Experimental
+public class MergeJoinQueryEvaluationStep implements QueryEvaluationStep {
+
+	private final QueryEvaluationStep leftPrepared;
+
+	private final QueryEvaluationStep rightPrepared;
+
+	private final Comparator<Value> comparator;
+
+	private final String joinVariable;
+
+	private final QueryEvaluationContext context;
+
+	/**
+	 * @param comparator the comparator of the triple source that the arguments of the join are ordered by
+	 */
+	public MergeJoinQueryEvaluationStep(EvaluationStrategy strategy, Join join, Comparator<Value> comparator,
+			QueryEvaluationContext context) {
+		this.leftPrepared = strategy.precompile(join.getLeftArg(), context);
+		this.rightPrepared = strategy.precompile(join.getRightArg(), context);
+		this.comparator = comparator;
+		this.joinVariable = getOrder(join);
+		this.context = context;
+		join.setAlgorithm(MergeJoinIterator.class.getSimpleName());
+	}
+
+	/**
+	 * @return the name of the variable that the arguments of a merge join are ordered by
+	 */
+	private static String getOrder(TupleExpr expr) {
+		if (expr instanceof StatementPattern && ((StatementPattern) expr).getOrder() != null) {
+			return ((StatementPattern) expr).getOrder().getName();
+		} else if (expr instanceof Filter) {
+			return getOrder(((Filter) expr).getArg());
+		} else if (expr instanceof Join && ((Join) expr).isMergeJoin()) {
+			return getOrder(((Join) expr).getLeftArg());
+		}
+		throw new IllegalArgumentException("Not ordered: " + expr);
+	}
+
+	@Override
+	public CloseableIteration<BindingSet, QueryEvaluationException> evaluate(BindingSet bindings) {
+		return new MergeJoinIterator(leftPrepared, rightPrepared, bindings, comparator, joinVariable, context);
+	}
+}
@@ -10,9 +10,16 @@
  *******************************************************************************/
 package org.eclipse.rdf4j.query.algebra.evaluation.impl.evaluationsteps;
 
+import java.util.Set;
 import java.util.function.Function;
+import java.util.function.Supplier;
 
+import org.eclipse.rdf4j.collection.factory.api.CollectionFactory;
+import org.eclipse.rdf4j.collection.factory.impl.DefaultCollectionFactory;
+import org.eclipse.rdf4j.common.annotation.Experimental;
 import org.eclipse.rdf4j.common.iteration.CloseableIteration;
+import org.eclipse.rdf4j.common.iteration.Iteration;
+import org.eclipse.rdf4j.common.iteration.Iterations;
 import org.eclipse.rdf4j.query.BindingSet;
 import org.eclipse.rdf4j.query.QueryEvaluationException;
 import org.eclipse.rdf4j.query.algebra.evaluation.QueryEvaluationStep;
@@ -21,14 +28,41 @@ import org.eclipse.rdf4j.query.algebra.evaluation.iterator.SPARQLMinusIteration;
 public class MinusQueryEvaluationStep implements QueryEvaluationStep {
 	private final QueryEvaluationStep leftQes;
 	private final Function<BindingSet, DelayedEvaluationIteration> rightQes;
+	private final Supplier<CollectionFactory> collectionFactory;
 
 	public MinusQueryEvaluationStep(QueryEvaluationStep leftQes, QueryEvaluationStep rightQes) {
+		this(leftQes, rightQes, DefaultCollectionFactory::new);
+	}
+
+	/**
+	 * @param collectionFactory supplies the factory of the set of solutions of the right argument for each evaluation
+	 */
+	@Experimental
+	public MinusQueryEvaluationStep(QueryEvaluationStep leftQes, QueryEvaluationStep rightQes,
+			Supplier<CollectionFactory> collectionFactory) {
 		this.leftQes = leftQes;
 		this.rightQes = bs -> new DelayedEvaluationIteration(rightQes, bs);
+		this.collectionFactory = collectionFactory;
 	}
 
 	@Override
 	public CloseableIteration<BindingSet, QueryEvaluationException> evaluate(BindingSet bindings) {
-		return new SPARQLMinusIteration<>(leftQes.evaluate(bindings), rightQes.apply(bindings));
+		CollectionFactory cf = collectionFactory.get();
+		return new SPARQLMinusIteration<>(leftQes.evaluate(bindings), rightQes.apply(bindings)) {
+
+			@Override
+			protected Set<BindingSet> makeSet(Iteration<BindingSet, QueryEvaluationException> rightArg) {
+				return Iterations.addAll(rightArg, cf.createSetOfBindingSets());
+			}
+
+			@Override
+			protected void handleClose() throws QueryEvaluationException {
+				try {
+					super.handleClose();
+				} finally {
+					cf.close();
+				}
+			}
+		};
 	}
 }
@@ -0,0 +1,70 @@
+/*******************************************************************************
+ * Copyright (c) 2023 Eclipse RDF4J contributors.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Distribution License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/org/documents/edl-v10.php.
+ *
+ * SPDX-License-Identifier: BSD-3-Clause
+ *******************************************************************************/
+package org.eclipse.rdf4j.query.algebra.evaluation.impl.evaluationsteps;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.eclipse.rdf4j.common.annotation.Experimental;
+import org.eclipse.rdf4j.common.iteration.CloseableIteration;
+import org.eclipse.rdf4j.query.BindingSet;
+import org.eclipse.rdf4j.query.QueryEvaluationException;
+import org.eclipse.rdf4j.query.algebra.TupleExpr;
+import org.eclipse.rdf4j.query.algebra.Union;
+import org.eclipse.rdf4j.query.algebra.evaluation.EvaluationStrategy;
+import org.eclipse.rdf4j.query.algebra.evaluation.QueryEvaluationStep;
+import org.eclipse.rdf4j.query.algebra.evaluation.impl.QueryEvaluationContext;
+import org.eclipse.rdf4j.query.algebra.evaluation.iterator.ParallelEvaluation;
+import org.eclipse.rdf4j.query.algebra.evaluation.iterator.ParallelUnionIteration;
+
+/**
+ * Evaluates the branches of a (nested) union concurrently.
+ */
+@Experimental
+public class ParallelUnionQueryEvaluationStep implements QueryEvaluationStep {
+
+	private final List<QueryEvaluationStep> branches;
+
+	private final int parallelism;
+
+	private final int queueCapacity;
+
+	public ParallelUnionQueryEvaluationStep(EvaluationStrategy strategy, Union union, QueryEvaluationContext context,
+			int parallelism, int queueCapacity) {
+		List<TupleExpr> args = new ArrayList<>();
+		collectBranches(union.getLeftArg(), args);
+		collectBranches(union.getRightArg(), args);
+		this.branches = new ArrayList<>(args.size());
+		for (TupleExpr arg : args) {
+			branches.add(strategy.precompile(arg, context));
+		}
+		this.parallelism = parallelism;
+		this.queueCapacity = queueCapacity;
+	}
+
+	/**
+	 * Flatten directly nested unions, so that all branches share the same workers and queue.
+	 */
+	private static void collectBranches(TupleExpr expr, List<TupleExpr> branches) {
+		if (expr instanceof Union && !((Union) expr).isVariableScopeChange()) {
+			collectBranches(((Union) expr).getLeftArg(), branches);
+			collectBranches(((Union) expr).getRightArg(), branches);
+		} else {
+			branches.add(expr);
+		}
+	}
+
+	@Override
+	public CloseableIteration<BindingSet, QueryEvaluationException> evaluate(BindingSet bindings) {
+		return new ParallelUnionIteration(ParallelEvaluation.getExecutor(), branches, bindings, parallelism,
+				queueCapacity);
+	}
+}
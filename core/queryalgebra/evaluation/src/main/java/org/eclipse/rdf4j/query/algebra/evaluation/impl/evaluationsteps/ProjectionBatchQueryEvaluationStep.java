@@ -0,0 +1,136 @@
+/*******************************************************************************
+ * Copyright (c) 2023 Eclipse RDF4J contributors.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Distribution License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/org/documents/edl-v10.php.
+ *
+ * SPDX-License-Identifier: BSD-3-Clause
+ *******************************************************************************/
+package org.eclipse.rdf4j.query.algebra.evaluation.impl.evaluationsteps;
+
+import java.util.List;
+
+import org.eclipse.rdf4j.common.iteration.CloseableIteration;
+import org.eclipse.rdf4j.common.iteration.LookAheadIteration;
+import org.eclipse.rdf4j.model.Value;
+import org.eclipse.rdf4j.query.BindingSet;
+import org.eclipse.rdf4j.query.QueryEvaluationException;
+import org.eclipse.rdf4j.query.algebra.MultiProjection;
+import org.eclipse.rdf4j.query.algebra.Projection;
+import org.eclipse.rdf4j.query.algebra.ProjectionElem;
+import org.eclipse.rdf4j.query.algebra.QueryModelNode;
+import org.eclipse.rdf4j.query.algebra.evaluation.ArrayBindingSet;
+import org.eclipse.rdf4j.query.algebra.evaluation.BatchQueryEvaluationStep;
+import org.eclipse.rdf4j.query.algebra.evaluation.BindingSetBatch;
+import org.eclipse.rdf4j.query.algebra.evaluation.QueryEvaluationStep;
+import org.eclipse.rdf4j.query.algebra.evaluation.impl.ArrayBindingBasedQueryEvaluationContext;
+
+/**
+ * Evaluates a Projection in batches by copying the projected columns of each input batch into a new batch.
+ */
+public final class ProjectionBatchQueryEvaluationStep implements BatchQueryEvaluationStep {
+
+	private final QueryEvaluationStep arg;
+	private final ArrayBindingBasedQueryEvaluationContext context;
+	private final int batchSize;
+	private final boolean includeAllParentBindings;
+
+	// the source and target column of each projection element, -1 if the source is not a variable of the query
+	private final int[] sourceIndexes;
+	private final int[] targetIndexes;
+	private final String[] sourceNames;
+
+	public ProjectionBatchQueryEvaluationStep(Projection projection, QueryEvaluationStep arg,
+			ArrayBindingBasedQueryEvaluationContext context, int batchSize) {
+		this.arg = arg;
+		this.context = context;
+		this.batchSize = batchSize;
+		this.includeAllParentBindings = !isOuterProjection(projection);
+
+		List<ProjectionElem> elements = projection.getProjectionElemList().getElements();
+		BindingSetBatch layout = context.createBatch(1);
+		this.sourceIndexes = new int[elements.size()];
+		this.targetIndexes = new int[elements.size()];
+		this.sourceNames = new String[elements.size()];
+		for (int i = 0; i < elements.size(); i++) {
+			ProjectionElem pe = elements.get(i);
+			sourceNames[i] = pe.getName();
+			sourceIndexes[i] = layout.getIndex(pe.getName());
+			targetIndexes[i] = layout.getIndex(pe.getProjectionAlias().orElse(pe.getName()));
+		}
+	}
+
+	private static boolean isOuterProjection(QueryModelNode ancestor) {
+		while (ancestor.getParentNode() != null) {
+			ancestor = ancestor.getParentNode();
+			if (ancestor instanceof Projection || ancestor instanceof MultiProjection) {
+				return false;
+			}
+		}
+		return true;
+	}
+
+	@Override
+	public CloseableIteration<BindingSetBatch, QueryEvaluationException> evaluateBatches(BindingSet bindings) {
+		CloseableIteration<BindingSetBatch, QueryEvaluationException> batches = BatchQueryEvaluationStep
+				.evaluateBatches(arg, bindings, context, batchSize);
+
+		ArrayBindingSet parent = includeAllParentBindings ? context.createBindingSet(bindings) : null;
+
+		// values from the parent bindings used when a projected variable is not bound in the source
+		Value[] parentValues = new Value[sourceNames.length];
+		if (!includeAllParentBindings) {
+			for (int i = 0; i < sourceNames.length; i++) {
+				parentValues[i] = bindings.getValue(sourceNames[i]);
+			}
+		}
+
+		return new LookAheadIteration<>() {
+
+			@Override
+			protected BindingSetBatch getNextElement() throws QueryEvaluationException {
+				if (!batches.hasNext()) {
+					return null;
+				}
+				BindingSetBatch source = batches.next();
+				int size = source.size();
+				BindingSetBatch target = source.newBatch();
+				if (includeAllParentBindings) {
+					target.fill(parent, size);
+				} else {
+					target.extendTo(size);
+				}
+
+				for (int i = 0; i < sourceIndexes.length; i++) {
+					int sourceIndex = sourceIndexes[i];
+					int targetIndex = targetIndexes[i];
+					if (targetIndex == -1) {
+						continue;
+					}
+					Value parentValue = parentValues[i];
+					for (int row = 0; row < size; row++) {
+						Value value = sourceIndex == -1 ? null : source.getValue(sourceIndex, row);
+						if (value == null) {
+							value = parentValue;
+						}
+						if (value != null) {
+							target.setValue(targetIndex, row, value);
+						}
+					}
+				}
+				return target;
+			}
+
+			@Override
+			protected void handleClose() throws QueryEvaluationException {
+				try {
+					super.handleClose();
+				} finally {
+					batches.close();
+				}
+			}
+		};
+	}
+}
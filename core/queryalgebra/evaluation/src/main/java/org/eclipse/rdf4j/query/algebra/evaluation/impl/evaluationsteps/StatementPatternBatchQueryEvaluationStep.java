@@ -0,0 +1,170 @@
+/*******************************************************************************
+ * Copyright (c) 2023 Eclipse RDF4J contributors.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Distribution License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/org/documents/edl-v10.php.
+ *
+ * SPDX-License-Identifier: BSD-3-Clause
+ *******************************************************************************/
+package org.eclipse.rdf4j.query.algebra.evaluation.impl.evaluationsteps;
+
+import java.util.Arrays;
+import java.util.function.Function;
+
+import org.eclipse.rdf4j.common.iteration.CloseableIteration;
+import org.eclipse.rdf4j.common.iteration.EmptyIteration;
+import org.eclipse.rdf4j.common.iteration.LookAheadIteration;
+import org.eclipse.rdf4j.model.Statement;
+import org.eclipse.rdf4j.model.Value;
+import org.eclipse.rdf4j.query.BindingSet;
+import org.eclipse.rdf4j.query.QueryEvaluationException;
+import org.eclipse.rdf4j.query.algebra.StatementPattern;
+import org.eclipse.rdf4j.query.algebra.Var;
+import org.eclipse.rdf4j.query.algebra.evaluation.ArrayBindingSet;
+import org.eclipse.rdf4j.query.algebra.evaluation.BatchQueryEvaluationStep;
+import org.eclipse.rdf4j.query.algebra.evaluation.BindingSetBatch;
+import org.eclipse.rdf4j.query.algebra.evaluation.TripleSource;
+import org.eclipse.rdf4j.query.algebra.evaluation.impl.ArrayBindingBasedQueryEvaluationContext;
+
+/**
+ * Evaluates a StatementPattern in batches. Statements are written column by column straight into the batch, instead of
+ * creating a binding set per statement.
+ */
+public final class StatementPatternBatchQueryEvaluationStep implements BatchQueryEvaluationStep {
+
+	private final StatementPatternQueryEvaluationStep statements;
+	private final ArrayBindingBasedQueryEvaluationContext context;
+	private final int batchSize;
+	private final BindingSetBatch layout;
+
+	// the columns to fill with the subject, predicate, object and context of each statement, -1 for none
+	private final int subjectIndex;
+	private final int predicateIndex;
+	private final int objectIndex;
+	private final int contextIndex;
+
+	public StatementPatternBatchQueryEvaluationStep(StatementPattern statementPattern,
+			ArrayBindingBasedQueryEvaluationContext context, TripleSource tripleSource, int batchSize) {
+		this.statements = new StatementPatternQueryEvaluationStep(statementPattern, context, tripleSource);
+		this.context = context;
+		this.batchSize = batchSize;
+
+		this.layout = context.createBatch(1);
+		this.subjectIndex = getIndex(layout, statementPattern.getSubjectVar());
+		this.predicateIndex = getIndex(layout, statementPattern.getPredicateVar());
+		this.objectIndex = getIndex(layout, statementPattern.getObjectVar());
+		this.contextIndex = getIndex(layout, statementPattern.getContextVar());
+	}
+
+	private static int getIndex(BindingSetBatch layout, Var var) {
+		if (var == null || var.isConstant()) {
+			return -1;
+		}
+		return layout.getIndex(var.getName());
+	}
+
+	@Override
+	public CloseableIteration<BindingSetBatch, QueryEvaluationException> evaluateBatches(BindingSet bindings) {
+		CloseableIteration<? extends Statement, QueryEvaluationException> iter = statements.getStatements(bindings);
+		if (iter == null) {
+			return new EmptyIteration<>();
+		}
+		ArrayBindingSet parent;
+		if (bindings.isEmpty()) {
+			parent = null;
+		} else if (layout.isCompatible(bindings)) {
+			parent = (ArrayBindingSet) bindings;
+		} else {
+			parent = context.createBindingSet(bindings);
+		}
+		return new StatementBatchIteration(iter, parent);
+	}
+
+	/**
+	 * @see StatementPatternQueryEvaluationStep#getStatements(BindingSet)
+	 */
+	CloseableIteration<? extends Statement, QueryEvaluationException> getStatements(BindingSet bindings) {
+		return statements.getStatements(bindings);
+	}
+
+	/**
+	 * Bind the variables of this pattern that are not yet bound in the row of the batch to the values of the statement.
+	 */
+	void bind(BindingSetBatch batch, int row, Statement st) {
+		bind(batch, row, subjectIndex, st.getSubject());
+		bind(batch, row, predicateIndex, st.getPredicate());
+		bind(batch, row, objectIndex, st.getObject());
+		bind(batch, row, contextIndex, st.getContext());
+	}
+
+	private static void bind(BindingSetBatch batch, int row, int column, Value value) {
+		if (column != -1 && !batch.isBound(column, row)) {
+			batch.setValue(column, row, value);
+		}
+	}
+
+	private final class StatementBatchIteration extends LookAheadIteration<BindingSetBatch, QueryEvaluationException> {
+
+		private final CloseableIteration<? extends Statement, QueryEvaluationException> iter;
+		private final ArrayBindingSet parent;
+		private Statement[] buffer;
+
+		private StatementBatchIteration(CloseableIteration<? extends Statement, QueryEvaluationException> iter,
+				ArrayBindingSet parent) {
+			this.iter = iter;
+			this.parent = parent;
+			// start small, a pattern that is evaluated once per solution of a join often only matches a few statements
+			this.buffer = new Statement[Math.min(batchSize, 16)];
+		}
+
+		@Override
+		protected BindingSetBatch getNextElement() throws QueryEvaluationException {
+			int count = 0;
+			while (count < batchSize && iter.hasNext()) {
+				if (count == buffer.length) {
+					buffer = Arrays.copyOf(buffer, Math.min(batchSize, buffer.length * 2));
+				}
+				buffer[count++] = iter.next();
+			}
+			if (count == 0) {
+				return null;
+			}
+
+			BindingSetBatch batch = context.createBatch(count);
+			if (parent == null) {
+				batch.extendTo(count);
+			} else {
+				batch.fill(parent, count);
+			}
+
+			fillColumn(batch, subjectIndex, count, Statement::getSubject);
+			fillColumn(batch, predicateIndex, count, Statement::getPredicate);
+			fillColumn(batch, objectIndex, count, Statement::getObject);
+			fillColumn(batch, contextIndex, count, Statement::getContext);
+
+			Arrays.fill(buffer, 0, count, null);
+			return batch;
+		}
+
+		private void fillColumn(BindingSetBatch batch, int column, int count, Function<Statement, Value> getter) {
+			if (column == -1 || parent != null && parent.hasBinding(batch.getBindingNames()[column])) {
+				// constant, or already bound by the parent and therefore equal for every statement
+				return;
+			}
+			for (int row = 0; row < count; row++) {
+				batch.setValue(column, row, getter.apply(buffer[row]));
+			}
+		}
+
+		@Override
+		protected void handleClose() throws QueryEvaluationException {
+			try {
+				super.handleClose();
+			} finally {
+				iter.close();
+			}
+		}
+	}
+}
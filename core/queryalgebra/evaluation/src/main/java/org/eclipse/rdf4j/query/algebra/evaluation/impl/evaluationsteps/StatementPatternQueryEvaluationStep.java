@@ -32,6 +32,7 @@ import org.eclipse.rdf4j.query.algebra.StatementPattern;
 import org.eclipse.rdf4j.query.algebra.StatementPattern.Scope;
 import org.eclipse.rdf4j.query.algebra.Var;
 import org.eclipse.rdf4j.query.algebra.evaluation.QueryEvaluationStep;
+import org.eclipse.rdf4j.query.algebra.evaluation.StatementOrder;
 import org.eclipse.rdf4j.query.algebra.evaluation.TripleSource;
 import org.eclipse.rdf4j.query.algebra.evaluation.impl.QueryEvaluationContext;
 
@@ -59,6 +60,9 @@ public class StatementPatternQueryEvaluationStep implements QueryEvaluationStep
 	private final Function<BindingSet, Value> getPredicateVar;
 	private final Function<BindingSet, Value> getObjectVar;
 
+	// the order that the statements are requested in, or null
+	private final StatementOrder order;
+
 	// We try to do as much work as possible in the constructor.
 	// With the aim of making the evaluate method as cheap as possible.
 	public StatementPatternQueryEvaluationStep(StatementPattern statementPattern, QueryEvaluationContext context,
@@ -130,6 +134,22 @@ public class StatementPatternQueryEvaluationStep implements QueryEvaluationStep
 		getPredicateVar = makeGetVarValue(predVar, context);
 		getObjectVar = makeGetVarValue(objVar, context);
 
+		order = getOrder(statementPattern);
+	}
+
+	private static StatementOrder getOrder(StatementPattern statementPattern) {
+		Var order = statementPattern.getOrder();
+		if (order == null) {
+			return null;
+		} else if (order.getName().equals(statementPattern.getSubjectVar().getName())) {
+			return StatementOrder.S;
+		} else if (order.getName().equals(statementPattern.getPredicateVar().getName())) {
+			return StatementOrder.P;
+		} else if (order.getName().equals(statementPattern.getObjectVar().getName())) {
+			return StatementOrder.O;
+		} else {
+			return StatementOrder.C;
+		}
 	}
 
 	// test if the variable must remain unbound for this solution see
@@ -222,7 +242,37 @@ public class StatementPatternQueryEvaluationStep implements QueryEvaluationStep
 		}
 	}
 
+	/**
+	 * Get the statements that match this pattern given the bindings, without converting them into binding sets.
+	 *
+	 * @param bindings the bindings to evaluate this pattern with
+	 * @return the matching statements, or null if no statement can match
+	 */
+	CloseableIteration<? extends Statement, QueryEvaluationException> getStatements(BindingSet bindings) {
+		if (emptyGraph) {
+			return null;
+		} else if (bindings.isEmpty()) {
+			return getStatements();
+		} else if (unboundTest.test(bindings)) {
+			return null;
+		} else {
+			return getStatementsForBindings(bindings);
+		}
+	}
+
 	private JoinStatementWithBindingSetIterator getIteration(BindingSet bindings) {
+		CloseableIteration<? extends Statement, QueryEvaluationException> iteration = getStatementsForBindings(
+				bindings);
+		if (iteration == null) {
+			return null;
+		}
+
+		// Return an iterator that converts the statements to var bindings
+		return new JoinStatementWithBindingSetIterator(iteration, converter, bindings, context);
+	}
+
+	private CloseableIteration<? extends Statement, QueryEvaluationException> getStatementsForBindings(
+			BindingSet bindings) {
 		final Value contextValue = getContextVar != null ? getContextVar.apply(bindings) : null;
 
 		Resource[] contexts = contextSup.apply(contextValue);
@@ -247,14 +297,11 @@ public class StatementPatternQueryEvaluationStep implements QueryEvaluationStep
 
 		CloseableIteration<? extends Statement, QueryEvaluationException> iteration = null;
 		try {
-			iteration = tripleSource.getStatements((Resource) subject, (IRI) predicate, object, contexts);
+			iteration = getStatements((Resource) subject, (IRI) predicate, object, contexts);
 			if (iteration instanceof EmptyIteration) {
 				return null;
 			}
-			iteration = handleFilter(contexts, (Resource) subject, (IRI) predicate, object, iteration);
-
-			// Return an iterator that converts the statements to var bindings
-			return new JoinStatementWithBindingSetIterator(iteration, converter, bindings, context);
+			return handleFilter(contexts, (Resource) subject, (IRI) predicate, object, iteration);
 		} catch (Throwable t) {
 			if (iteration != null) {
 				iteration.close();
@@ -266,7 +313,25 @@ public class StatementPatternQueryEvaluationStep implements QueryEvaluationStep
 		}
 	}
 
+	private CloseableIteration<? extends Statement, QueryEvaluationException> getStatements(Resource subject,
+			IRI predicate, Value object, Resource[] contexts) {
+		if (order == null) {
+			return tripleSource.getStatements(subject, predicate, object, contexts);
+		}
+		return tripleSource.getOrderedStatements(order, subject, predicate, object, contexts);
+	}
+
 	private ConvertStatementToBindingSetIterator getIteration() {
+		CloseableIteration<? extends Statement, QueryEvaluationException> iteration = getStatements();
+		if (iteration == null) {
+			return null;
+		}
+
+		// Return an iterator that converts the statements to var bindings
+		return new ConvertStatementToBindingSetIterator(iteration, converter, context);
+	}
+
+	private CloseableIteration<? extends Statement, QueryEvaluationException> getStatements() {
 
 		Var contextVar = statementPattern.getContextVar();
 		Resource[] contexts = contextSup.apply(contextVar != null ? contextVar.getValue() : null);
@@ -285,14 +350,11 @@ public class StatementPatternQueryEvaluationStep implements QueryEvaluationStep
 
 		CloseableIteration<? extends Statement, QueryEvaluationException> iteration = null;
 		try {
-			iteration = tripleSource.getStatements((Resource) subject, (IRI) predicate, object, contexts);
+			iteration = getStatements((Resource) subject, (IRI) predicate, object, contexts);
 			if (iteration instanceof EmptyIteration) {
 				return null;
 			}
-			iteration = handleFilter(contexts, (Resource) subject, (IRI) predicate, object, iteration);
-
-			// Return an iterator that converts the statements to var bindings
-			return new ConvertStatementToBindingSetIterator(iteration, converter, context);
+			return handleFilter(contexts, (Resource) subject, (IRI) predicate, object, iteration);
 		} catch (Throwable t) {
 			if (iteration != null) {
 				iteration.close();
@@ -0,0 +1,83 @@
+/*******************************************************************************
+ * Copyright (c) 2023 Eclipse RDF4J contributors.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Distribution License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/org/documents/edl-v10.php.
+ *
+ * SPDX-License-Identifier: BSD-3-Clause
+ *******************************************************************************/
+package org.eclipse.rdf4j.query.algebra.evaluation.iterator;
+
+import java.util.Arrays;
+
+import org.eclipse.rdf4j.common.iteration.CloseableIteration;
+import org.eclipse.rdf4j.common.iteration.LookAheadIteration;
+import org.eclipse.rdf4j.query.BindingSet;
+import org.eclipse.rdf4j.query.QueryEvaluationException;
+import org.eclipse.rdf4j.query.algebra.evaluation.ArrayBindingSet;
+import org.eclipse.rdf4j.query.algebra.evaluation.BindingSetBatch;
+import org.eclipse.rdf4j.query.algebra.evaluation.impl.ArrayBindingBasedQueryEvaluationContext;
+
+/**
+ * Groups the binding sets of a row based iteration into {@link BindingSetBatch}es. Used where a batch pipeline consumes
+ * the results of a step that can only produce one binding set at a time.
+ */
+public class BatchingIteration extends LookAheadIteration<BindingSetBatch, QueryEvaluationException> {
+
+	private final CloseableIteration<BindingSet, QueryEvaluationException> iter;
+
+	private final ArrayBindingBasedQueryEvaluationContext context;
+
+	private final int batchSize;
+
+	private final BindingSetBatch layout;
+
+	private ArrayBindingSet[] buffer;
+
+	public BatchingIteration(CloseableIteration<BindingSet, QueryEvaluationException> iter,
+			ArrayBindingBasedQueryEvaluationContext context, int batchSize) {
+		this.iter = iter;
+		this.context = context;
+		this.batchSize = batchSize;
+		this.layout = context.createBatch(1);
+		this.buffer = new ArrayBindingSet[Math.min(batchSize, 16)];
+	}
+
+	@Override
+	protected BindingSetBatch getNextElement() throws QueryEvaluationException {
+		int count = 0;
+		while (count < batchSize && iter.hasNext()) {
+			if (count == buffer.length) {
+				buffer = Arrays.copyOf(buffer, Math.min(batchSize, buffer.length * 2));
+			}
+			BindingSet next = iter.next();
+			if (layout.isCompatible(next)) {
+				buffer[count++] = (ArrayBindingSet) next;
+			} else {
+				buffer[count++] = context.createBindingSet(next);
+			}
+		}
+		if (count == 0) {
+			return null;
+		}
+
+		// size the batch to its content, so that small results do not allocate full batches
+		BindingSetBatch batch = context.createBatch(count);
+		for (int i = 0; i < count; i++) {
+			batch.add(buffer[i]);
+		}
+		Arrays.fill(buffer, 0, count, null);
+		return batch;
+	}
+
+	@Override
+	protected void handleClose() throws QueryEvaluationException {
+		try {
+			super.handleClose();
+		} finally {
+			iter.close();
+		}
+	}
+}
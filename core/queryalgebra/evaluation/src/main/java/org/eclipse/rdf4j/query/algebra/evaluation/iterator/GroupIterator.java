@@ -10,13 +10,20 @@
  *******************************************************************************/
 package org.eclipse.rdf4j.query.algebra.evaluation.iterator;
 
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+import java.util.ArrayDeque;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collection;
 import java.util.Collections;
+import java.util.Deque;
 import java.util.Iterator;
 import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.NoSuchElementException;
 import java.util.Random;
 import java.util.Set;
 import java.util.function.BiConsumer;
@@ -30,6 +37,8 @@ import org.eclipse.rdf4j.collection.factory.api.BindingSetEntry;
 import org.eclipse.rdf4j.collection.factory.api.BindingSetKey;
 import org.eclipse.rdf4j.collection.factory.api.CollectionFactory;
 import org.eclipse.rdf4j.collection.factory.impl.DefaultCollectionFactory;
+import org.eclipse.rdf4j.common.annotation.Experimental;
+import org.eclipse.rdf4j.common.iteration.CloseableIteration;
 import org.eclipse.rdf4j.common.iteration.CloseableIteratorIteration;
 import org.eclipse.rdf4j.common.transaction.QueryEvaluationMode;
 import org.eclipse.rdf4j.model.Literal;
@@ -55,10 +64,14 @@ import org.eclipse.rdf4j.query.algebra.Sample;
 import org.eclipse.rdf4j.query.algebra.Sum;
 import org.eclipse.rdf4j.query.algebra.UnaryValueOperator;
 import org.eclipse.rdf4j.query.algebra.ValueExpr;
+import org.eclipse.rdf4j.query.algebra.evaluation.ArrayBindingSet;
+import org.eclipse.rdf4j.query.algebra.evaluation.BatchQueryEvaluationStep;
+import org.eclipse.rdf4j.query.algebra.evaluation.BindingSetBatch;
 import org.eclipse.rdf4j.query.algebra.evaluation.EvaluationStrategy;
 import org.eclipse.rdf4j.query.algebra.evaluation.QueryEvaluationStep;
 import org.eclipse.rdf4j.query.algebra.evaluation.QueryValueEvaluationStep;
 import org.eclipse.rdf4j.query.algebra.evaluation.ValueExprEvaluationException;
+import org.eclipse.rdf4j.query.algebra.evaluation.impl.ArrayBindingBasedQueryEvaluationContext;
 import org.eclipse.rdf4j.query.algebra.evaluation.impl.QueryEvaluationContext;
 import org.eclipse.rdf4j.query.algebra.evaluation.util.MathUtil;
 import org.eclipse.rdf4j.query.algebra.evaluation.util.ValueComparator;
@@ -81,6 +94,21 @@ public class GroupIterator extends CloseableIteratorIteration<BindingSet, QueryE
 	 * Constants *
 	 *-----------*/
 
+	/**
+	 * The name of the system property that sets the maximum number of groups that a GroupIterator keeps in memory. When
+	 * a query has more groups, and all its aggregates can be computed from partial aggregates (COUNT, SUM and AVG
+	 * without DISTINCT, MIN, MAX and SAMPLE), the partially aggregated groups are spilled to temporary files that are
+	 * partitioned by the hash of the group, and the partitions are then aggregated one at a time. The default of 0
+	 * keeps all groups in memory.
+	 */
+	@Experimental
+	public static final String SPILL_THRESHOLD_PROPERTY = "org.eclipse.rdf4j.query.algebra.evaluation.iterator.GroupIterator.spillThreshold";
+
+	// the number of partitions is 2^PARTITION_BITS, every level of partitioning uses the next bits of the hash
+	private static final int PARTITION_BITS = 5;
+
+	private static final int MAX_PARTITION_LEVEL = Integer.SIZE / PARTITION_BITS;
+
 	private final EvaluationStrategy strategy;
 
 	private final BindingSet parentBindings;
@@ -95,6 +123,16 @@ public class GroupIterator extends CloseableIteratorIteration<BindingSet, QueryE
 
 	private final CollectionFactory cf;
 
+	private final long spillThreshold;
+
+	// the context and batch size to consume the solutions of the argument in batches, null and 0 for rows
+	private final ArrayBindingBasedQueryEvaluationContext batchContext;
+
+	private final int batchSize;
+
+	// the partitions of spilled groups that remain to be aggregated
+	private final Deque<GroupPartition> partitions = new ArrayDeque<>();
+
 	/*--------------*
 	 * Constructors *
 	 *--------------*/
@@ -114,6 +152,26 @@ public class GroupIterator extends CloseableIteratorIteration<BindingSet, QueryE
 	public GroupIterator(EvaluationStrategy strategy, Group group, BindingSet parentBindings,
 			long iterationCacheSyncThreshold, QueryEvaluationContext context, ValueFactory vf, CollectionFactory cf)
 			throws QueryEvaluationException {
+		this(strategy, group, parentBindings, context, vf, cf, null, 0);
+	}
+
+	/**
+	 * Creates a GroupIterator that consumes the solutions of the group argument in {@link BindingSetBatch}es. The group
+	 * keys are read from the columns of the batches, and the aggregates are evaluated over a single binding set that is
+	 * reused for every row, unless a COUNT(DISTINCT *) needs to keep the solutions.
+	 *
+	 * @param batchSize the number of solutions per batch if the group argument is evaluated one binding set at a time
+	 */
+	@Experimental
+	public GroupIterator(EvaluationStrategy strategy, Group group, BindingSet parentBindings,
+			ArrayBindingBasedQueryEvaluationContext context, ValueFactory vf, CollectionFactory cf, int batchSize)
+			throws QueryEvaluationException {
+		this(strategy, group, parentBindings, context, vf, cf, context, batchSize);
+	}
+
+	private GroupIterator(EvaluationStrategy strategy, Group group, BindingSet parentBindings,
+			QueryEvaluationContext context, ValueFactory vf, CollectionFactory cf,
+			ArrayBindingBasedQueryEvaluationContext batchContext, int batchSize) throws QueryEvaluationException {
 		this.strategy = strategy;
 		this.group = group;
 		this.parentBindings = parentBindings;
@@ -123,6 +181,9 @@ public class GroupIterator extends CloseableIteratorIteration<BindingSet, QueryE
 		this.vf = vf;
 		this.cf = cf;
 		this.arguments = strategy.precompile(group.getArg(), context);
+		this.spillThreshold = Long.getLong(SPILL_THRESHOLD_PROPERTY, 0);
+		this.batchContext = batchContext;
+		this.batchSize = batchSize;
 	}
 
 	/*---------*
@@ -134,7 +195,11 @@ public class GroupIterator extends CloseableIteratorIteration<BindingSet, QueryE
 		try {
 			cf.close();
 		} finally {
-			super.handleClose();
+			try {
+				closePartitions();
+			} finally {
+				super.handleClose();
+			}
 		}
 	}
 
@@ -176,6 +241,10 @@ public class GroupIterator extends CloseableIteratorIteration<BindingSet, QueryE
 		}
 
 		BiConsumer<Entry, MutableBindingSet> bindSolution = makeBindSolution(aggregates);
+		if (spillThreshold > 0 && !getValues.isEmpty() && canSpill()) {
+			return new SpillingAggregation(aggregates, getValues, setBindings, makeNewBindingSet, bindSolution);
+		}
+
 		Collection<Entry> entries = buildEntries(aggregates);
 		Set<BindingSet> bindingSets = cf.createSetOfBindingSets();
 		BiConsumer<BindingSet, MutableBindingSet> setValues = makeSetValues(getValues, setBindings);
@@ -276,6 +345,9 @@ public class GroupIterator extends CloseableIteratorIteration<BindingSet, QueryE
 
 	private Collection<Entry> buildEntries(List<AggregatePredicateCollectorSupplier<?, ?>> aggregates)
 			throws QueryEvaluationException {
+		if (batchContext != null) {
+			return buildEntriesFromBatches(aggregates);
+		}
 		try (var iter = arguments.evaluate(parentBindings)) {
 			List<Function<BindingSet, Value>> getValues = group.getGroupBindingNames()
 					.stream()
@@ -315,6 +387,77 @@ public class GroupIterator extends CloseableIteratorIteration<BindingSet, QueryE
 		}
 	}
 
+	private Collection<Entry> buildEntriesFromBatches(List<AggregatePredicateCollectorSupplier<?, ?>> aggregates)
+			throws QueryEvaluationException {
+		try (var batches = evaluateBatches()) {
+			if (!batches.hasNext()) {
+				return emptySolutionSpecialCase(aggregates);
+			}
+
+			// COUNT(DISTINCT *) keeps the solutions it has seen, so these can not be reused
+			boolean reuseSolution = group.getGroupElements()
+					.stream()
+					.map(GroupElem::getOperator)
+					.noneMatch(op -> op instanceof Count && ((Count) op).getArg() == null && op.isDistinct());
+			ArrayBindingSet row = batchContext.createBindingSet();
+			Map<GroupKey, Entry> entries = new LinkedHashMap<>();
+			int[] keyColumns = null;
+			while (batches.hasNext()) {
+				BindingSetBatch batch = batches.next();
+				if (keyColumns == null) {
+					keyColumns = getKeyColumns(batch);
+				}
+				for (int i = 0; i < batch.size(); i++) {
+					ArrayBindingSet sol;
+					if (reuseSolution) {
+						batch.copyTo(i, row);
+						sol = row;
+					} else {
+						sol = batch.get(i);
+					}
+
+					GroupKey key = new GroupKey(getKey(batch, keyColumns, i));
+					Entry entry = entries.get(key);
+					if (entry == null) {
+						List<AggregateCollector> collectors = makeCollectors(aggregates);
+						List<Predicate<?>> predicates = new ArrayList<>(aggregates.size());
+						for (AggregatePredicateCollectorSupplier<?, ?> a : aggregates) {
+							predicates.add(a.makePotentialDistinctTest.get());
+						}
+
+						entry = new Entry(reuseSolution ? batch.get(i) : sol, collectors, predicates);
+						entries.put(key, entry);
+					}
+
+					entry.addSolution(sol, aggregates);
+				}
+			}
+			return entries.values();
+		}
+	}
+
+	private CloseableIteration<BindingSetBatch, QueryEvaluationException> evaluateBatches()
+			throws QueryEvaluationException {
+		return BatchQueryEvaluationStep.evaluateBatches(arguments, parentBindings, batchContext, batchSize);
+	}
+
+	/**
+	 * @return the column of every group binding name in batches of the group argument, -1 if it has no column
+	 */
+	private int[] getKeyColumns(BindingSetBatch batch) {
+		return group.getGroupBindingNames().stream().mapToInt(batch::getIndex).toArray();
+	}
+
+	private static Value[] getKey(BindingSetBatch batch, int[] keyColumns, int row) {
+		Value[] values = new Value[keyColumns.length];
+		for (int i = 0; i < keyColumns.length; i++) {
+			if (keyColumns[i] >= 0 && batch.isBound(keyColumns[i], row)) {
+				values[i] = batch.getValue(keyColumns[i], row);
+			}
+		}
+		return values;
+	}
+
 	private List<Entry> emptySolutionSpecialCase(List<AggregatePredicateCollectorSupplier<?, ?>> aggregates) {
 		// no solutions, but if we are not explicitly grouping and aggregates are
 		// present, we still need to process them to produce a zero-result.
@@ -345,6 +488,271 @@ public class GroupIterator extends CloseableIteratorIteration<BindingSet, QueryE
 		return collectors;
 	}
 
+	/**
+	 * @return true if all aggregates can be computed by merging the partial aggregates of parts of a group.
+	 */
+	private boolean canSpill() {
+		for (GroupElem ge : group.getGroupElements()) {
+			AggregateOperator operator = ge.getOperator();
+			if (operator instanceof Min || operator instanceof Max || operator instanceof Sample) {
+				// duplicates do not change the result
+				continue;
+			}
+			if (operator.isDistinct()
+					|| !(operator instanceof Count || operator instanceof Sum || operator instanceof Avg)) {
+				return false;
+			}
+		}
+		return true;
+	}
+
+	private void closePartitions() throws QueryEvaluationException {
+		IOException exception = null;
+		while (!partitions.isEmpty()) {
+			try {
+				partitions.pop().close();
+			} catch (IOException e) {
+				if (exception == null) {
+					exception = e;
+				}
+			}
+		}
+		if (exception != null) {
+			throw new QueryEvaluationException(exception);
+		}
+	}
+
+	/**
+	 * Aggregates the groups in memory until there are more than {@link #spillThreshold} of them, at which point the
+	 * partially aggregated groups are written to partitions on disk by their hash. Once the input is exhausted, the
+	 * partitions are aggregated one at a time, and repartitioned using other bits of the hash if they still contain too
+	 * many groups.
+	 */
+	private class SpillingAggregation implements Iterator<BindingSet> {
+
+		private final List<AggregatePredicateCollectorSupplier<?, ?>> aggregates;
+
+		private final List<Function<BindingSet, Value>> getValues;
+
+		private final List<BiConsumer<Value, MutableBindingSet>> setBindings;
+
+		private final Supplier<MutableBindingSet> makeNewBindingSet;
+
+		private final BiConsumer<Entry, MutableBindingSet> bindSolution;
+
+		private Iterator<Map.Entry<GroupKey, List<AggregateCollector>>> current;
+
+		public SpillingAggregation(List<AggregatePredicateCollectorSupplier<?, ?>> aggregates,
+				List<Function<BindingSet, Value>> getValues, List<BiConsumer<Value, MutableBindingSet>> setBindings,
+				Supplier<MutableBindingSet> makeNewBindingSet, BiConsumer<Entry, MutableBindingSet> bindSolution)
+				throws QueryEvaluationException {
+			this.aggregates = aggregates;
+			this.getValues = getValues;
+			this.setBindings = setBindings;
+			this.makeNewBindingSet = makeNewBindingSet;
+			this.bindSolution = bindSolution;
+
+			Map<GroupKey, List<AggregateCollector>> groups = new LinkedHashMap<>();
+			GroupPartition[] spilled = null;
+			if (batchContext != null) {
+				try (var batches = evaluateBatches()) {
+					// none of the aggregates that can be spilled keeps the solutions
+					ArrayBindingSet row = batchContext.createBindingSet();
+					int[] keyColumns = null;
+					while (batches.hasNext()) {
+						BindingSetBatch batch = batches.next();
+						if (keyColumns == null) {
+							keyColumns = getKeyColumns(batch);
+						}
+						for (int i = 0; i < batch.size(); i++) {
+							batch.copyTo(i, row);
+							spilled = add(groups, spilled, getKey(batch, keyColumns, i), row);
+						}
+					}
+				}
+			} else {
+				try (var iter = arguments.evaluate(parentBindings)) {
+					while (iter.hasNext()) {
+						BindingSet sol = iter.next();
+						Value[] values = new Value[getValues.size()];
+						for (int i = 0; i < values.length; i++) {
+							values[i] = getValues.get(i).apply(sol);
+						}
+						spilled = add(groups, spilled, values, sol);
+					}
+				}
+			}
+			current = finish(groups, spilled, 0);
+		}
+
+		private GroupPartition[] add(Map<GroupKey, List<AggregateCollector>> groups, GroupPartition[] spilled,
+				Value[] values, BindingSet sol) throws QueryEvaluationException {
+			List<AggregateCollector> collectors = groups.computeIfAbsent(new GroupKey(values),
+					k -> makeCollectors(aggregates));
+			for (int i = 0; i < aggregates.size(); i++) {
+				// none of the aggregates that can be spilled is affected by DISTINCT
+				aggregates.get(i).operate(sol, ALWAYS_TRUE, collectors.get(i));
+			}
+			if (groups.size() > spillThreshold) {
+				return spill(groups, spilled, 0);
+			}
+			return spilled;
+		}
+
+		@Override
+		public boolean hasNext() {
+			while (!current.hasNext()) {
+				if (partitions.isEmpty()) {
+					return false;
+				}
+				current = aggregate(partitions.pop());
+			}
+			return true;
+		}
+
+		@Override
+		public BindingSet next() {
+			if (!hasNext()) {
+				throw new NoSuchElementException();
+			}
+			Map.Entry<GroupKey, List<AggregateCollector>> group = current.next();
+			// release the group, the remaining groups of a partition can still take up a lot of memory
+			current.remove();
+
+			MutableBindingSet sol = makeNewBindingSet.get();
+			Value[] values = group.getKey().values;
+			for (int i = 0; i < values.length; i++) {
+				if (values[i] != null) {
+					setBindings.get(i).accept(values[i], sol);
+				}
+			}
+			bindSolution.accept(new Entry(null, group.getValue(), null), sol);
+			return sol;
+		}
+
+		private Iterator<Map.Entry<GroupKey, List<AggregateCollector>>> aggregate(GroupPartition partition)
+				throws QueryEvaluationException {
+			Map<GroupKey, List<AggregateCollector>> groups = new LinkedHashMap<>();
+			GroupPartition[] spilled = null;
+			int level = partition.getLevel() + 1;
+			try (partition) {
+				DataInput in = partition.read();
+				for (long n = 0; n < partition.size(); n++) {
+					Value[] values = new Value[getValues.size()];
+					for (int i = 0; i < values.length; i++) {
+						values[i] = GroupPartition.readValue(in);
+					}
+					List<AggregateCollector> partials = makeCollectors(aggregates);
+					for (int i = 0; i < aggregates.size(); i++) {
+						aggregates.get(i).readPartial(partials.get(i), in);
+					}
+					List<AggregateCollector> collectors = groups.putIfAbsent(new GroupKey(values), partials);
+					if (collectors != null) {
+						for (int i = 0; i < aggregates.size(); i++) {
+							aggregates.get(i).mergePartial(collectors.get(i), partials.get(i));
+						}
+					}
+					// groups with the same hash can not be split up, so these are kept in memory
+					if (groups.size() > spillThreshold && level < MAX_PARTITION_LEVEL) {
+						spilled = spill(groups, spilled, level);
+					}
+				}
+			} catch (IOException e) {
+				throw new QueryEvaluationException(e);
+			}
+			return finish(groups, spilled, level);
+		}
+
+		private GroupPartition[] spill(Map<GroupKey, List<AggregateCollector>> groups, GroupPartition[] spilled,
+				int level) throws QueryEvaluationException {
+			if (spilled == null) {
+				spilled = new GroupPartition[1 << PARTITION_BITS];
+			}
+			try {
+				for (Map.Entry<GroupKey, List<AggregateCollector>> group : groups.entrySet()) {
+					int index = group.getKey().getPartition(level);
+					if (spilled[index] == null) {
+						spilled[index] = new GroupPartition(level);
+						// closed by the iterator if evaluation does not complete
+						partitions.push(spilled[index]);
+					}
+					DataOutput out = spilled[index].append();
+					for (Value value : group.getKey().values) {
+						GroupPartition.writeValue(value, out);
+					}
+					List<AggregateCollector> collectors = group.getValue();
+					for (int i = 0; i < aggregates.size(); i++) {
+						aggregates.get(i).writePartial(collectors.get(i), out);
+					}
+				}
+			} catch (IOException e) {
+				throw new QueryEvaluationException(e);
+			}
+			groups.clear();
+			return spilled;
+		}
+
+		/**
+		 * @return the aggregated groups, or nothing if some of the groups have been spilled to disk, in which case the
+		 *         remaining groups are spilled as well.
+		 */
+		private Iterator<Map.Entry<GroupKey, List<AggregateCollector>>> finish(
+				Map<GroupKey, List<AggregateCollector>> groups, GroupPartition[] spilled, int level)
+				throws QueryEvaluationException {
+			if (spilled == null) {
+				return groups.entrySet().iterator();
+			}
+			if (!groups.isEmpty()) {
+				spill(groups, spilled, level);
+			}
+			try {
+				for (GroupPartition partition : spilled) {
+					if (partition != null) {
+						partition.finish();
+					}
+				}
+			} catch (IOException e) {
+				throw new QueryEvaluationException(e);
+			}
+			return Collections.emptyIterator();
+		}
+	}
+
+	private static class GroupKey {
+
+		private final Value[] values;
+
+		private final int hashCode;
+
+		public GroupKey(Value[] values) {
+			this.values = values;
+			this.hashCode = Arrays.hashCode(values);
+		}
+
+		/**
+		 * @return the partition of this group at the given level of partitioning
+		 */
+		public int getPartition(int level) {
+			// mix the bits, as the hash codes of values do not use all of them
+			int h = hashCode * 0x9E3779B9;
+			h ^= h >>> 16;
+			h *= 0x85EBCA6B;
+			h ^= h >>> 13;
+			return (h >>> (level * PARTITION_BITS)) & ((1 << PARTITION_BITS) - 1);
+		}
+
+		@Override
+		public int hashCode() {
+			return hashCode;
+		}
+
+		@Override
+		public boolean equals(Object obj) {
+			return obj instanceof GroupKey && hashCode == ((GroupKey) obj).hashCode
+					&& Arrays.equals(values, ((GroupKey) obj).values);
+		}
+	}
+
 	private static class Entry implements BindingSetEntry {
 
 		private static final long serialVersionUID = 1L;
@@ -396,8 +804,34 @@ public class GroupIterator extends CloseableIteratorIteration<BindingSet, QueryE
 		private void operate(BindingSet bs, Predicate<?> predicate, Object t) {
 			agg.processAggregate(bs, (Predicate<D>) predicate, (T) t);
 		}
+
+		private void mergePartial(AggregateCollector collector, AggregateCollector partial) {
+			((PartialAggregate<T>) agg).merge((T) collector, (T) partial);
+		}
+
+		private void writePartial(AggregateCollector collector, DataOutput out) throws IOException {
+			((PartialAggregate<T>) agg).write((T) collector, out);
+		}
+
+		private void readPartial(AggregateCollector collector, DataInput in) throws IOException {
+			((PartialAggregate<T>) agg).read((T) collector, in);
+		}
+	}
+
+	/**
+	 * An aggregate that can be computed by merging the collectors of disjoint parts of a group, which are written to
+	 * disk when there are too many groups to keep in memory.
+	 */
+	private interface PartialAggregate<T extends AggregateCollector> {
+
+		void merge(T collector, T partial);
+
+		void write(T collector, DataOutput out) throws IOException;
+
+		void read(T collector, DataInput in) throws IOException;
 	}
 
+	private static final Predicate<Object> ALWAYS_TRUE = (t) -> true;
 	private static final Predicate<BindingSet> ALWAYS_TRUE_BINDING_SET = (t) -> true;
 	private static final Predicate<Value> ALWAYS_TRUE_VALUE = (t) -> true;
 	private static final Supplier<Predicate<Value>> ALWAYS_TRUE_VALUE_SUPPLIER = () -> ALWAYS_TRUE_VALUE;
@@ -605,7 +1039,8 @@ public class GroupIterator extends CloseableIteratorIteration<BindingSet, QueryE
 		}
 	}
 
-	private static class CountAggregate extends AggregateFunction<CountCollector, Value> {
+	private static class CountAggregate extends AggregateFunction<CountCollector, Value>
+			implements PartialAggregate<CountCollector> {
 
 		public CountAggregate(Function<BindingSet, Value> f) {
 			super(f);
@@ -619,9 +1054,25 @@ public class GroupIterator extends CloseableIteratorIteration<BindingSet, QueryE
 				agv.value++;
 			}
 		}
+
+		@Override
+		public void merge(CountCollector collector, CountCollector partial) {
+			collector.value += partial.value;
+		}
+
+		@Override
+		public void write(CountCollector collector, DataOutput out) throws IOException {
+			out.writeLong(collector.value);
+		}
+
+		@Override
+		public void read(CountCollector collector, DataInput in) throws IOException {
+			collector.value = in.readLong();
+		}
 	}
 
-	private static class WildCardCountAggregate extends AggregateFunction<CountCollector, BindingSet> {
+	private static class WildCardCountAggregate extends AggregateFunction<CountCollector, BindingSet>
+			implements PartialAggregate<CountCollector> {
 
 		public WildCardCountAggregate() {
 			super(null);
@@ -635,9 +1086,25 @@ public class GroupIterator extends CloseableIteratorIteration<BindingSet, QueryE
 				agv.value++;
 			}
 		}
+
+		@Override
+		public void merge(CountCollector collector, CountCollector partial) {
+			collector.value += partial.value;
+		}
+
+		@Override
+		public void write(CountCollector collector, DataOutput out) throws IOException {
+			out.writeLong(collector.value);
+		}
+
+		@Override
+		public void read(CountCollector collector, DataInput in) throws IOException {
+			collector.value = in.readLong();
+		}
 	}
 
-	private class MinAggregate extends AggregateFunction<ValueCollector, Value> {
+	private class MinAggregate extends AggregateFunction<ValueCollector, Value>
+			implements PartialAggregate<ValueCollector> {
 
 		private final ValueComparator comparator = new ValueComparator();
 
@@ -659,9 +1126,28 @@ public class GroupIterator extends CloseableIteratorIteration<BindingSet, QueryE
 				}
 			}
 		}
+
+		@Override
+		public void merge(ValueCollector collector, ValueCollector partial) {
+			if (partial.value != null
+					&& (collector.value == null || comparator.compare(partial.value, collector.value) < 0)) {
+				collector.value = partial.value;
+			}
+		}
+
+		@Override
+		public void write(ValueCollector collector, DataOutput out) throws IOException {
+			GroupPartition.writeValue(collector.value, out);
+		}
+
+		@Override
+		public void read(ValueCollector collector, DataInput in) throws IOException {
+			collector.value = GroupPartition.readValue(in);
+		}
 	}
 
-	private static class MaxAggregate extends AggregateFunction<ValueCollector, Value> {
+	private static class MaxAggregate extends AggregateFunction<ValueCollector, Value>
+			implements PartialAggregate<ValueCollector> {
 
 		private final ValueComparator comparator = new ValueComparator();
 
@@ -682,9 +1168,28 @@ public class GroupIterator extends CloseableIteratorIteration<BindingSet, QueryE
 				}
 			}
 		}
+
+		@Override
+		public void merge(ValueCollector collector, ValueCollector partial) {
+			if (partial.value != null
+					&& (collector.value == null || comparator.compare(partial.value, collector.value) > 0)) {
+				collector.value = partial.value;
+			}
+		}
+
+		@Override
+		public void write(ValueCollector collector, DataOutput out) throws IOException {
+			GroupPartition.writeValue(collector.value, out);
+		}
+
+		@Override
+		public void read(ValueCollector collector, DataInput in) throws IOException {
+			collector.value = GroupPartition.readValue(in);
+		}
 	}
 
-	private static class SumAggregate extends AggregateFunction<IntegerCollector, Value> {
+	private static class SumAggregate extends AggregateFunction<IntegerCollector, Value>
+			implements PartialAggregate<IntegerCollector> {
 		public SumAggregate(Function<BindingSet, Value> f) {
 			super(f);
 		}
@@ -714,9 +1219,34 @@ public class GroupIterator extends CloseableIteratorIteration<BindingSet, QueryE
 				}
 			}
 		}
+
+		@Override
+		public void merge(IntegerCollector collector, IntegerCollector partial) {
+			if (collector.hasError()) {
+				return;
+			}
+			if (partial.hasError()) {
+				collector.setTypeError(partial.typeError);
+			} else {
+				collector.value = MathUtil.compute(collector.value, partial.value, MathOp.PLUS);
+			}
+		}
+
+		@Override
+		public void write(IntegerCollector collector, DataOutput out) throws IOException {
+			writeTypeError(collector.typeError, out);
+			GroupPartition.writeValue(collector.value, out);
+		}
+
+		@Override
+		public void read(IntegerCollector collector, DataInput in) throws IOException {
+			collector.typeError = readTypeError(in);
+			collector.value = (Literal) GroupPartition.readValue(in);
+		}
 	}
 
-	private static class AvgAggregate extends AggregateFunction<AvgCollector, Value> {
+	private static class AvgAggregate extends AggregateFunction<AvgCollector, Value>
+			implements PartialAggregate<AvgCollector> {
 
 		public AvgAggregate(Function<BindingSet, Value> operator) {
 			super(operator);
@@ -751,6 +1281,47 @@ public class GroupIterator extends CloseableIteratorIteration<BindingSet, QueryE
 				}
 			}
 		}
+
+		@Override
+		public void merge(AvgCollector collector, AvgCollector partial) {
+			if (collector.hasError()) {
+				return;
+			}
+			if (partial.hasError()) {
+				collector.setTypeError(partial.typeError);
+			} else {
+				collector.sum = MathUtil.compute(collector.sum, partial.sum, MathOp.PLUS);
+				collector.count += partial.count;
+			}
+		}
+
+		@Override
+		public void write(AvgCollector collector, DataOutput out) throws IOException {
+			writeTypeError(collector.typeError, out);
+			GroupPartition.writeValue(collector.sum, out);
+			out.writeLong(collector.count);
+		}
+
+		@Override
+		public void read(AvgCollector collector, DataInput in) throws IOException {
+			collector.typeError = readTypeError(in);
+			collector.sum = (Literal) GroupPartition.readValue(in);
+			collector.count = in.readLong();
+		}
+	}
+
+	private static void writeTypeError(ValueExprEvaluationException typeError, DataOutput out) throws IOException {
+		out.writeBoolean(typeError != null);
+		if (typeError != null) {
+			GroupPartition.writeString(String.valueOf(typeError.getMessage()), out);
+		}
+	}
+
+	private static ValueExprEvaluationException readTypeError(DataInput in) throws IOException {
+		if (in.readBoolean()) {
+			return new ValueExprEvaluationException(GroupPartition.readString(in));
+		}
+		return null;
 	}
 
 	private static class SampleCollector implements AggregateCollector {
@@ -765,7 +1336,8 @@ public class GroupIterator extends CloseableIteratorIteration<BindingSet, QueryE
 		}
 	}
 
-	private static class SampleAggregate extends AggregateFunction<SampleCollector, Value> {
+	private static class SampleAggregate extends AggregateFunction<SampleCollector, Value>
+			implements PartialAggregate<SampleCollector> {
 
 		private final Random random;
 
@@ -786,6 +1358,23 @@ public class GroupIterator extends CloseableIteratorIteration<BindingSet, QueryE
 				}
 			}
 		}
+
+		@Override
+		public void merge(SampleCollector collector, SampleCollector partial) {
+			if (collector.sample == null || partial.sample != null && random.nextFloat() < 0.5f) {
+				collector.sample = partial.sample;
+			}
+		}
+
+		@Override
+		public void write(SampleCollector collector, DataOutput out) throws IOException {
+			GroupPartition.writeValue(collector.sample, out);
+		}
+
+		@Override
+		public void read(SampleCollector collector, DataInput in) throws IOException {
+			collector.sample = GroupPartition.readValue(in);
+		}
 	}
 
 	private static class StringBuilderCollector implements AggregateCollector {
@@ -0,0 +1,196 @@
+/*******************************************************************************
+ * Copyright (c) 2023 Eclipse RDF4J contributors.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Distribution License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/org/documents/edl-v10.php.
+ *
+ * SPDX-License-Identifier: BSD-3-Clause
+ *******************************************************************************/
+package org.eclipse.rdf4j.query.algebra.evaluation.iterator;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.Closeable;
+import java.io.DataInput;
+import java.io.DataInputStream;
+import java.io.DataOutput;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+
+import org.eclipse.rdf4j.model.BNode;
+import org.eclipse.rdf4j.model.IRI;
+import org.eclipse.rdf4j.model.Literal;
+import org.eclipse.rdf4j.model.Resource;
+import org.eclipse.rdf4j.model.Triple;
+import org.eclipse.rdf4j.model.Value;
+import org.eclipse.rdf4j.model.ValueFactory;
+import org.eclipse.rdf4j.model.impl.SimpleValueFactory;
+
+/**
+ * A temporary file holding the partially aggregated groups of a {@link GroupIterator} that did not fit in memory. The
+ * groups are appended to the file until it is {@link #finish() finished}, after which they can be read back in the same
+ * order.
+ * <p>
+ * Values are written by their lexical form rather than by Java serialization, so that values of a store, which may only
+ * be equal to values of the same store instance, are read back as plain values that can be compared to each other.
+ */
+final class GroupPartition implements Closeable {
+
+	private static final byte NULL_VALUE = 0;
+	private static final byte IRI_VALUE = 1;
+	private static final byte BNODE_VALUE = 2;
+	private static final byte LITERAL_VALUE = 3;
+	private static final byte LANG_LITERAL_VALUE = 4;
+	private static final byte TRIPLE_VALUE = 5;
+
+	private static final ValueFactory vf = SimpleValueFactory.getInstance();
+
+	private final File file;
+
+	private final int level;
+
+	private DataOutputStream output;
+
+	private DataInputStream input;
+
+	private long size;
+
+	/**
+	 * @param level the level of partitioning that assigned the groups to this partition, 0 for the groups of the input
+	 */
+	GroupPartition(int level) throws IOException {
+		this.level = level;
+		file = File.createTempFile("group", ".tmp");
+		output = new DataOutputStream(new BufferedOutputStream(new FileOutputStream(file)));
+	}
+
+	int getLevel() {
+		return level;
+	}
+
+	/**
+	 * @return the number of groups written to this partition
+	 */
+	long size() {
+		return size;
+	}
+
+	/**
+	 * @return the output to write the next group to.
+	 */
+	DataOutput append() {
+		size++;
+		return output;
+	}
+
+	/**
+	 * Closes the output, after which the groups can be {@link #read() read}.
+	 */
+	void finish() throws IOException {
+		if (output != null) {
+			output.close();
+			output = null;
+		}
+	}
+
+	/**
+	 * @return the input to read all groups from, in the order they were written.
+	 */
+	DataInput read() throws IOException {
+		finish();
+		if (input == null) {
+			input = new DataInputStream(new BufferedInputStream(new FileInputStream(file)));
+		}
+		return input;
+	}
+
+	@Override
+	public void close() throws IOException {
+		try {
+			if (output != null) {
+				output.close();
+				output = null;
+			}
+			if (input != null) {
+				input.close();
+				input = null;
+			}
+		} finally {
+			file.delete();
+		}
+	}
+
+	static void writeValue(Value value, DataOutput out) throws IOException {
+		if (value == null) {
+			out.writeByte(NULL_VALUE);
+		} else if (value.isIRI()) {
+			out.writeByte(IRI_VALUE);
+			writeString(value.stringValue(), out);
+		} else if (value.isBNode()) {
+			out.writeByte(BNODE_VALUE);
+			writeString(((BNode) value).getID(), out);
+		} else if (value.isLiteral()) {
+			Literal literal = (Literal) value;
+			if (literal.getLanguage().isPresent()) {
+				out.writeByte(LANG_LITERAL_VALUE);
+				writeString(literal.getLabel(), out);
+				writeString(literal.getLanguage().get(), out);
+			} else {
+				out.writeByte(LITERAL_VALUE);
+				writeString(literal.getLabel(), out);
+				writeString(literal.getDatatype().stringValue(), out);
+			}
+		} else if (value.isTriple()) {
+			Triple triple = (Triple) value;
+			out.writeByte(TRIPLE_VALUE);
+			writeValue(triple.getSubject(), out);
+			writeValue(triple.getPredicate(), out);
+			writeValue(triple.getObject(), out);
+		} else {
+			throw new IOException("Unsupported value type: " + value.getClass());
+		}
+	}
+
+	static Value readValue(DataInput in) throws IOException {
+		byte type = in.readByte();
+		switch (type) {
+		case NULL_VALUE:
+			return null;
+		case IRI_VALUE:
+			return vf.createIRI(readString(in));
+		case BNODE_VALUE:
+			return vf.createBNode(readString(in));
+		case LITERAL_VALUE:
+			String label = readString(in);
+			return vf.createLiteral(label, vf.createIRI(readString(in)));
+		case LANG_LITERAL_VALUE:
+			String langLabel = readString(in);
+			return vf.createLiteral(langLabel, readString(in));
+		case TRIPLE_VALUE:
+			Resource subject = (Resource) readValue(in);
+			IRI predicate = (IRI) readValue(in);
+			return vf.createTriple(subject, predicate, readValue(in));
+		default:
+			throw new IOException("Unknown value type: " + type);
+		}
+	}
+
+	static void writeString(String string, DataOutput out) throws IOException {
+		// not writeUTF, which is limited to 64KB
+		byte[] bytes = string.getBytes(StandardCharsets.UTF_8);
+		out.writeInt(bytes.length);
+		out.write(bytes);
+	}
+
+	static String readString(DataInput in) throws IOException {
+		byte[] bytes = new byte[in.readInt()];
+		in.readFully(bytes);
+		return new String(bytes, StandardCharsets.UTF_8);
+	}
+}
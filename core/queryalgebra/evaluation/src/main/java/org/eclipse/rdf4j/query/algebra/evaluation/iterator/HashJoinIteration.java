@@ -21,6 +21,8 @@ import java.util.Set;
 import java.util.function.Function;
 import java.util.function.IntFunction;
 
+import org.eclipse.rdf4j.collection.factory.api.CollectionFactory;
+import org.eclipse.rdf4j.common.annotation.Experimental;
 import org.eclipse.rdf4j.common.iteration.CloseableIteration;
 import org.eclipse.rdf4j.common.iteration.LookAheadIteration;
 import org.eclipse.rdf4j.common.iterator.EmptyIterator;
@@ -64,6 +66,9 @@ public class HashJoinIteration extends LookAheadIteration<BindingSet, QueryEvalu
 	private final IntFunction<List<BindingSet>> mapValueMaker;
 	private final Function<BindingSet, MutableBindingSet> bsMaker;
 
+	// the factory of the hash table, or null to keep it in memory
+	private final CollectionFactory collectionFactory;
+
 	/*--------------*
 	 * Constructors *
 	 *--------------*/
@@ -92,8 +97,27 @@ public class HashJoinIteration extends LookAheadIteration<BindingSet, QueryEvalu
 			BindingSet bindings,
 			boolean leftJoin, String[] joinAttributes, QueryEvaluationContext context)
 			throws QueryEvaluationException {
+		this(left, right, bindings, leftJoin, joinAttributes, context, null);
+	}
+
+	/**
+	 * @param collectionFactory the factory of the hash table, which is closed with this iteration, or null to keep the
+	 *                          hash table in memory
+	 */
+	@Experimental
+	public HashJoinIteration(QueryEvaluationStep left, QueryEvaluationStep right,
+			BindingSet bindings,
+			boolean leftJoin, String[] joinAttributes, QueryEvaluationContext context,
+			CollectionFactory collectionFactory)
+			throws QueryEvaluationException {
+		this.collectionFactory = collectionFactory;
 		this.leftIter = left.evaluate(bindings);
-		this.rightIter = right.evaluate(bindings);
+		try {
+			this.rightIter = right.evaluate(bindings);
+		} catch (Throwable t) {
+			leftIter.close();
+			throw t;
+		}
 		this.joinAttributes = joinAttributes;
 		this.leftJoin = leftJoin;
 		this.mapMaker = this::makeHashTable;
@@ -115,6 +139,7 @@ public class HashJoinIteration extends LookAheadIteration<BindingSet, QueryEvalu
 		this.leftJoin = leftJoin;
 		this.mapValueMaker = this::makeHashValue;
 		this.bsMaker = QueryBindingSet::new;
+		this.collectionFactory = null;
 	}
 
 	@Deprecated(forRemoval = true)
@@ -133,6 +158,7 @@ public class HashJoinIteration extends LookAheadIteration<BindingSet, QueryEvalu
 		this.leftJoin = leftJoin;
 		this.mapValueMaker = mapValueMaker;
 		this.bsMaker = QueryBindingSet::new;
+		this.collectionFactory = null;
 	}
 
 	/*---------*
@@ -246,10 +272,16 @@ public class HashJoinIteration extends LookAheadIteration<BindingSet, QueryEvalu
 								disposeCache(toCloseScanList);
 							}
 						} finally {
-							Map<BindingSetHashKey, List<BindingSet>> toCloseHashTable = hashTable;
-							hashTable = null;
-							if (toCloseHashTable != null) {
-								disposeHashTable(toCloseHashTable);
+							try {
+								Map<BindingSetHashKey, List<BindingSet>> toCloseHashTable = hashTable;
+								hashTable = null;
+								if (toCloseHashTable != null) {
+									disposeHashTable(toCloseHashTable);
+								}
+							} finally {
+								if (collectionFactory != null) {
+									collectionFactory.close();
+								}
 							}
 						}
 					}
@@ -319,7 +351,8 @@ public class HashJoinIteration extends LookAheadIteration<BindingSet, QueryEvalu
 			List<BindingSet> hashValue, boolean newEntry) throws QueryEvaluationException {
 		// by default, we use a standard memory hash map
 		// so we only need to do the put() if the list is new
-		if (newEntry) {
+		// a map of the collection factory may store a copy of the list
+		if (newEntry || collectionFactory != null && joinAttributes.length > 0) {
 			nextHashTable.put(hashKey, hashValue);
 		}
 	}
@@ -344,7 +377,7 @@ public class HashJoinIteration extends LookAheadIteration<BindingSet, QueryEvalu
 			// we should probably adjust for the load factor
 			// but we are only one rehash away and this might save a bit of memory
 			// when we have more than one value per entry
-			nextHashTable = new HashMap<>(initialSize);
+			nextHashTable = collectionFactory != null ? collectionFactory.createMap() : new HashMap<>(initialSize);
 		} else {
 			List<BindingSet> l = (initialSize > 0) ? new ArrayList<>(initialSize) : null;
 			nextHashTable = Collections.singletonMap(BindingSetHashKey.EMPTY, l);
@@ -360,6 +393,9 @@ public class HashJoinIteration extends LookAheadIteration<BindingSet, QueryEvalu
 	protected List<BindingSet> makeHashValue(int currentMaxListSize) {
 		// we pick an initial size that means we may only have to resize once
 		// while saving memory in the case that the list doesn't reach max size
+		if (collectionFactory != null) {
+			return collectionFactory.createList();
+		}
 		return new ArrayList<>(currentMaxListSize / 2 + 1);
 	}
 
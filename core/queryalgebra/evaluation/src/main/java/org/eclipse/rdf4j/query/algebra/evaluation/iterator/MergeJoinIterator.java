@@ -0,0 +1,154 @@
+/*******************************************************************************
+ * Copyright (c) 2023 Eclipse RDF4J contributors.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Distribution License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/org/documents/edl-v10.php.
+ *
+ * SPDX-License-Identifier: BSD-3-Clause
+ *******************************************************************************/
+package org.eclipse.rdf4j.query.algebra.evaluation.iterator;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.function.Function;
+
+import org.eclipse.rdf4j.common.annotation.Experimental;
+import org.eclipse.rdf4j.common.iteration.CloseableIteration;
+import org.eclipse.rdf4j.common.iteration.LookAheadIteration;
+import org.eclipse.rdf4j.model.Value;
+import org.eclipse.rdf4j.query.BindingSet;
+import org.eclipse.rdf4j.query.MutableBindingSet;
+import org.eclipse.rdf4j.query.QueryEvaluationException;
+import org.eclipse.rdf4j.query.QueryResults;
+import org.eclipse.rdf4j.query.algebra.evaluation.QueryEvaluationStep;
+import org.eclipse.rdf4j.query.algebra.evaluation.impl.QueryEvaluationContext;
+
+/**
+ * Joins two arguments that are both ordered by the variable they are joined on, by reading them side by side. Only the
+ * solutions of the right argument that have the same value for the join variable are kept in memory, and neither
+ * argument is evaluated more than once. The results are ordered by the join variable as well.
+ */
+@Experimental
+public class MergeJoinIterator extends LookAheadIteration<BindingSet, QueryEvaluationException> {
+
+	private final CloseableIteration<BindingSet, QueryEvaluationException> leftIter;
+
+	private final CloseableIteration<BindingSet, QueryEvaluationException> rightIter;
+
+	private final Comparator<Value> comparator;
+
+	private final Function<BindingSet, Value> getValue;
+
+	private final Function<BindingSet, MutableBindingSet> bsMaker;
+
+	private BindingSet currentLeft;
+
+	// the first solution of the right argument that is not in the current group
+	private BindingSet nextRight;
+
+	// the solutions of the right argument with the value of the current group
+	private final List<BindingSet> group = new ArrayList<>();
+
+	private Value groupValue;
+
+	private int groupIndex;
+
+	/**
+	 * @param leftPrepared  the left argument, ordered by the join variable
+	 * @param rightPrepared the right argument, ordered by the join variable
+	 * @param bindings      the bindings to evaluate both arguments with
+	 * @param comparator    the comparator that both arguments are ordered by
+	 * @param joinVariable  the name of the variable that the arguments are joined on, which is bound by both
+	 * @param context       the context of the evaluation
+	 */
+	public MergeJoinIterator(QueryEvaluationStep leftPrepared, QueryEvaluationStep rightPrepared,
+			BindingSet bindings, Comparator<Value> comparator, String joinVariable, QueryEvaluationContext context)
+			throws QueryEvaluationException {
+		this.comparator = comparator;
+		this.getValue = context.getValue(joinVariable);
+		this.bsMaker = context::createBindingSet;
+		leftIter = leftPrepared.evaluate(bindings);
+		try {
+			rightIter = rightPrepared.evaluate(bindings);
+		} catch (Throwable t) {
+			leftIter.close();
+			throw t;
+		}
+	}
+
+	@Override
+	protected BindingSet getNextElement() throws QueryEvaluationException {
+		while (true) {
+			// join the current solution of the left argument with the group of matching right solutions
+			while (groupIndex < group.size()) {
+				BindingSet right = group.get(groupIndex++);
+				if (QueryResults.bindingSetsCompatible(currentLeft, right)) {
+					return join(currentLeft, right);
+				}
+			}
+
+			if (!leftIter.hasNext()) {
+				return null;
+			}
+			currentLeft = leftIter.next();
+			groupIndex = 0;
+
+			Value value = getValue.apply(currentLeft);
+			if (groupValue != null && comparator.compare(value, groupValue) == 0) {
+				// the same group matches the next left solution
+				continue;
+			}
+
+			group.clear();
+			groupValue = null;
+			while (nextRight != null || rightIter.hasNext()) {
+				if (nextRight == null) {
+					nextRight = rightIter.next();
+				}
+				int diff = comparator.compare(value, getValue.apply(nextRight));
+				if (diff < 0) {
+					break;
+				}
+				if (diff == 0) {
+					groupValue = value;
+					group.add(nextRight);
+				}
+				nextRight = null;
+			}
+
+			if (groupValue == null && nextRight == null) {
+				// the right argument is exhausted, no other left solution can match
+				return null;
+			}
+		}
+	}
+
+	private BindingSet join(BindingSet left, BindingSet right) {
+		MutableBindingSet result = bsMaker.apply(left);
+		for (String name : right.getBindingNames()) {
+			if (!result.hasBinding(name)) {
+				Value value = right.getValue(name);
+				if (value != null) {
+					result.addBinding(name, value);
+				}
+			}
+		}
+		return result;
+	}
+
+	@Override
+	protected void handleClose() throws QueryEvaluationException {
+		try {
+			super.handleClose();
+		} finally {
+			try {
+				leftIter.close();
+			} finally {
+				rightIter.close();
+			}
+		}
+	}
+}
@@ -0,0 +1,76 @@
+/*******************************************************************************
+ * Copyright (c) 2023 Eclipse RDF4J contributors.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Distribution License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/org/documents/edl-v10.php.
+ *
+ * SPDX-License-Identifier: BSD-3-Clause
+ *******************************************************************************/
+package org.eclipse.rdf4j.query.algebra.evaluation.iterator;
+
+import java.util.List;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.eclipse.rdf4j.common.annotation.InternalUseOnly;
+
+/**
+ * Shared infrastructure for iterations that evaluate parts of a query on worker threads.
+ */
+@InternalUseOnly
+public final class ParallelEvaluation {
+
+	/**
+	 * The default number of solutions that workers of a single operator may buffer.
+	 */
+	public static final int QUEUE_CAPACITY = 1024;
+
+	private static final AtomicInteger threadCount = new AtomicInteger();
+
+	/**
+	 * Workers block when their output queue is full, so the executor must not have a bounded number of threads. A
+	 * bounded pool could deadlock when parallel operators are nested. The number of concurrent workers is bounded per
+	 * operator by the configured parallelism instead.
+	 */
+	private static final ExecutorService executor = Executors.newCachedThreadPool(runnable -> {
+		Thread thread = new Thread(runnable, "rdf4j-parallel-query-evaluation-" + threadCount.incrementAndGet());
+		thread.setDaemon(true);
+		return thread;
+	});
+
+	private ParallelEvaluation() {
+	}
+
+	/**
+	 * @return the executor shared by all parallel query evaluation.
+	 */
+	public static ExecutorService getExecutor() {
+		return executor;
+	}
+
+	/**
+	 * Wait for workers to finish. Workers are not cancelled or interrupted, as interrupting a thread that reads from a
+	 * file channel closes that channel. They are expected to stop by themselves once the iteration that started them
+	 * has been closed, so that their resources are released before the iteration is reported as closed.
+	 *
+	 * @param workers the workers to wait for
+	 */
+	static void awaitTermination(List<Future<?>> workers) {
+		for (Future<?> worker : workers) {
+			try {
+				worker.get();
+			} catch (CancellationException | ExecutionException e) {
+				// failures have already been reported to the consumer
+			} catch (InterruptedException e) {
+				Thread.currentThread().interrupt();
+				return;
+			}
+		}
+	}
+}
@@ -0,0 +1,295 @@
+/*******************************************************************************
+ * Copyright (c) 2023 Eclipse RDF4J contributors.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Distribution License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/org/documents/edl-v10.php.
+ *
+ * SPDX-License-Identifier: BSD-3-Clause
+ *******************************************************************************/
+package org.eclipse.rdf4j.query.algebra.evaluation.iterator;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+
+import org.eclipse.rdf4j.common.annotation.Experimental;
+import org.eclipse.rdf4j.common.iteration.CloseableIteration;
+import org.eclipse.rdf4j.common.iteration.LookAheadIteration;
+import org.eclipse.rdf4j.model.Value;
+import org.eclipse.rdf4j.query.BindingSet;
+import org.eclipse.rdf4j.query.MutableBindingSet;
+import org.eclipse.rdf4j.query.QueryEvaluationException;
+import org.eclipse.rdf4j.query.algebra.evaluation.QueryContext;
+import org.eclipse.rdf4j.query.algebra.evaluation.QueryEvaluationStep;
+import org.eclipse.rdf4j.query.algebra.evaluation.impl.QueryEvaluationContext;
+import org.eclipse.rdf4j.query.impl.EmptyBindingSet;
+import org.eclipse.rdf4j.query.impl.QueueCursor;
+
+/**
+ * A hash join that uses several worker threads. The right argument is evaluated into a hash table that is partitioned
+ * on the hash of the join attributes, with one worker building each partition. At the same time the left argument is
+ * evaluated and split into chunks, which are probed against the hash table by a pool of probe workers as soon as the
+ * table is complete. Results are handed to the consumer through a bounded queue, their order is not defined.
+ * <p>
+ * Unlike {@link HashJoinIteration} the right argument is always used to build the hash table, as it can be evaluated
+ * concurrently with the left argument this way.
+ *
+ * @see ParallelUnionIteration
+ */
+@Experimental
+public class ParallelHashJoinIteration extends LookAheadIteration<BindingSet, QueryEvaluationException> {
+
+	private static final int CHUNK_SIZE = 256;
+
+	private static final List<BindingSet> END_OF_CHUNKS = Collections.emptyList();
+
+	private final String[] joinAttributes;
+
+	private final Function<BindingSet, MutableBindingSet> bsMaker;
+
+	private final int parallelism;
+
+	private final ExecutorService executor;
+
+	private final QueryContext queryContext;
+
+	private final QueueCursor<BindingSet> output;
+
+	private final BlockingQueue<List<BindingSet>> chunks;
+
+	private final CompletableFuture<Map<BindingSetHashKey, List<BindingSet>>[]> hashTable = new CompletableFuture<>();
+
+	private final AtomicInteger runningProbeWorkers;
+
+	private final List<Future<?>> workers = new ArrayList<>();
+
+	/**
+	 * @param executor       the executor that runs the workers, must be able to start new threads on demand as workers
+	 *                       block when their queues are full.
+	 * @param left           the left argument of the join, which is probed against the hash table
+	 * @param right          the right argument of the join, from which the hash table is built
+	 * @param bindings       the bindings to evaluate both arguments with
+	 * @param joinAttributes the names of the variables shared by both arguments
+	 * @param context        the context used to create the joined binding sets
+	 * @param parallelism    the number of partitions of the hash table and the number of probe workers
+	 * @param queueCapacity  the maximum number of results that are buffered
+	 */
+	public ParallelHashJoinIteration(ExecutorService executor, QueryEvaluationStep left, QueryEvaluationStep right,
+			BindingSet bindings, String[] joinAttributes, QueryEvaluationContext context, int parallelism,
+			int queueCapacity) {
+		this.executor = executor;
+		this.joinAttributes = joinAttributes;
+		this.bsMaker = context::createBindingSet;
+		// without join attributes every solution ends up in the same partition
+		this.parallelism = joinAttributes.length == 0 ? 1 : Math.max(1, parallelism);
+		this.queryContext = QueryContext.getQueryContext();
+		this.output = new QueueCursor<>(queueCapacity);
+		this.chunks = new ArrayBlockingQueue<>(Math.max(2, parallelism * 2));
+
+		int probeWorkers = Math.max(1, parallelism);
+		this.runningProbeWorkers = new AtomicInteger(probeWorkers);
+		workers.add(executor.submit(() -> inContext(() -> build(right, bindings))));
+		workers.add(executor.submit(() -> inContext(() -> readProbeSide(left, bindings))));
+		for (int i = 0; i < probeWorkers; i++) {
+			workers.add(executor.submit(() -> inContext(this::probe)));
+		}
+	}
+
+	private void inContext(Runnable task) {
+		if (queryContext != null) {
+			queryContext.begin();
+		}
+		try {
+			task.run();
+		} finally {
+			if (queryContext != null) {
+				queryContext.end();
+			}
+		}
+	}
+
+	private void build(QueryEvaluationStep right, BindingSet bindings) {
+		try {
+			List<BindingSet> solutions = new ArrayList<>();
+			try (CloseableIteration<BindingSet, QueryEvaluationException> iter = right.evaluate(bindings)) {
+				while (!output.isClosed() && iter.hasNext()) {
+					solutions.add(iter.next());
+				}
+			}
+
+			int size = solutions.size();
+			BindingSetHashKey[] keys = new BindingSetHashKey[size];
+			for (int i = 0; i < size; i++) {
+				keys[i] = BindingSetHashKey.create(joinAttributes, solutions.get(i));
+			}
+
+			@SuppressWarnings("unchecked")
+			Map<BindingSetHashKey, List<BindingSet>>[] partitions = new Map[parallelism];
+			List<Future<?>> partitionWorkers = new ArrayList<>(parallelism - 1);
+			for (int i = 1; i < parallelism; i++) {
+				int partition = i;
+				partitionWorkers.add(executor.submit(
+						() -> partitions[partition] = buildPartition(partition, keys, solutions)));
+			}
+			partitions[0] = buildPartition(0, keys, solutions);
+			for (Future<?> partitionWorker : partitionWorkers) {
+				partitionWorker.get();
+			}
+			hashTable.complete(partitions);
+		} catch (Throwable e) {
+			hashTable.completeExceptionally(e);
+			toss(e);
+		}
+	}
+
+	private Map<BindingSetHashKey, List<BindingSet>> buildPartition(int partition, BindingSetHashKey[] keys,
+			List<BindingSet> solutions) {
+		Map<BindingSetHashKey, List<BindingSet>> map = new HashMap<>();
+		for (int i = 0; i < keys.length; i++) {
+			BindingSetHashKey key = keys[i];
+			if (partition(key) == partition) {
+				map.computeIfAbsent(key, k -> new ArrayList<>(1)).add(solutions.get(i));
+			}
+		}
+		return map;
+	}
+
+	private int partition(BindingSetHashKey key) {
+		return Math.floorMod(key.hashCode(), parallelism);
+	}
+
+	private void readProbeSide(QueryEvaluationStep left, BindingSet bindings) {
+		try (CloseableIteration<BindingSet, QueryEvaluationException> iter = left.evaluate(bindings)) {
+			List<BindingSet> chunk = new ArrayList<>(CHUNK_SIZE);
+			while (!output.isClosed() && iter.hasNext()) {
+				chunk.add(iter.next());
+				if (chunk.size() == CHUNK_SIZE) {
+					putChunk(chunk);
+					chunk = new ArrayList<>(CHUNK_SIZE);
+				}
+			}
+			if (!chunk.isEmpty()) {
+				putChunk(chunk);
+			}
+		} catch (Throwable e) {
+			toss(e);
+		} finally {
+			try {
+				putChunk(END_OF_CHUNKS);
+			} catch (InterruptedException e) {
+				Thread.currentThread().interrupt();
+			}
+		}
+	}
+
+	private void putChunk(List<BindingSet> chunk) throws InterruptedException {
+		while (!output.isClosed() && !chunks.offer(chunk, 100, TimeUnit.MILLISECONDS)) {
+			// check regularly if the consumer is still interested
+		}
+	}
+
+	private void probe() {
+		try {
+			Map<BindingSetHashKey, List<BindingSet>>[] partitions = hashTable.get();
+			while (!output.isClosed()) {
+				List<BindingSet> chunk = chunks.poll(100, TimeUnit.MILLISECONDS);
+				if (chunk == END_OF_CHUNKS) {
+					// let the other probe workers see the end as well
+					chunks.put(END_OF_CHUNKS);
+					break;
+				} else if (chunk != null) {
+					for (BindingSet leftSolution : chunk) {
+						if (output.isClosed()) {
+							break;
+						}
+						probe(leftSolution, partitions);
+					}
+				}
+			}
+		} catch (ExecutionException e) {
+			// reported by the build worker
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+			toss(e);
+		} catch (Throwable e) {
+			toss(e);
+		} finally {
+			if (runningProbeWorkers.decrementAndGet() == 0) {
+				output.done();
+			}
+		}
+	}
+
+	private void probe(BindingSet leftSolution, Map<BindingSetHashKey, List<BindingSet>>[] partitions)
+			throws InterruptedException {
+		if (leftSolution instanceof EmptyBindingSet) {
+			// the empty binding set is compatible with all solutions in the hash table
+			for (Map<BindingSetHashKey, List<BindingSet>> partition : partitions) {
+				for (List<BindingSet> rightSolutions : partition.values()) {
+					join(leftSolution, rightSolutions);
+				}
+			}
+		} else {
+			BindingSetHashKey key = BindingSetHashKey.create(joinAttributes, leftSolution);
+			List<BindingSet> rightSolutions = partitions[partition(key)].get(key);
+			if (rightSolutions != null) {
+				join(leftSolution, rightSolutions);
+			}
+		}
+	}
+
+	private void join(BindingSet leftSolution, List<BindingSet> rightSolutions) throws InterruptedException {
+		for (BindingSet rightSolution : rightSolutions) {
+			MutableBindingSet result = bsMaker.apply(leftSolution);
+			for (String name : rightSolution.getBindingNames()) {
+				if (!result.hasBinding(name)) {
+					Value v = rightSolution.getValue(name);
+					if (v != null) {
+						result.addBinding(name, v);
+					}
+				}
+			}
+			output.put(result);
+		}
+	}
+
+	private void toss(Throwable e) {
+		output.toss(e instanceof Exception ? (Exception) e : new QueryEvaluationException(e));
+	}
+
+	@Override
+	protected BindingSet getNextElement() throws QueryEvaluationException {
+		if (output.hasNext()) {
+			return output.next();
+		}
+		return null;
+	}
+
+	@Override
+	protected void handleClose() throws QueryEvaluationException {
+		try {
+			super.handleClose();
+		} finally {
+			try {
+				output.close();
+			} finally {
+				chunks.clear();
+				hashTable.cancel(false);
+				ParallelEvaluation.awaitTermination(workers);
+			}
+		}
+	}
+}
@@ -0,0 +1,129 @@
+/*******************************************************************************
+ * Copyright (c) 2023 Eclipse RDF4J contributors.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Distribution License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/org/documents/edl-v10.php.
+ *
+ * SPDX-License-Identifier: BSD-3-Clause
+ *******************************************************************************/
+package org.eclipse.rdf4j.query.algebra.evaluation.iterator;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.eclipse.rdf4j.common.annotation.Experimental;
+import org.eclipse.rdf4j.common.iteration.CloseableIteration;
+import org.eclipse.rdf4j.common.iteration.LookAheadIteration;
+import org.eclipse.rdf4j.query.BindingSet;
+import org.eclipse.rdf4j.query.QueryEvaluationException;
+import org.eclipse.rdf4j.query.algebra.evaluation.QueryContext;
+import org.eclipse.rdf4j.query.algebra.evaluation.QueryEvaluationStep;
+import org.eclipse.rdf4j.query.impl.QueueCursor;
+
+/**
+ * Evaluates the branches of a union concurrently. Every branch is evaluated by a worker thread which puts its results
+ * on a bounded queue, so a slow consumer will stall the workers instead of buffering the complete union in memory. The
+ * order of the results is not defined.
+ * <p>
+ * The {@link QueryContext} of the thread that creates this iteration is made available to the workers. Closing the
+ * iteration, for example because of a query timeout, stops all workers after their current solution and closes the
+ * branches.
+ */
+@Experimental
+public class ParallelUnionIteration extends LookAheadIteration<BindingSet, QueryEvaluationException> {
+
+	private final QueueCursor<BindingSet> queue;
+
+	private final List<Future<?>> workers;
+
+	private final List<QueryEvaluationStep> branches;
+
+	private final BindingSet bindings;
+
+	private final QueryContext queryContext;
+
+	private final AtomicInteger nextBranch = new AtomicInteger();
+
+	private final AtomicInteger runningWorkers;
+
+	/**
+	 * @param executor      the executor that runs the workers, must be able to start new threads on demand as workers
+	 *                      block when the queue is full.
+	 * @param branches      the branches of the union
+	 * @param bindings      the bindings to evaluate the branches with
+	 * @param parallelism   the maximum number of branches that are evaluated at the same time
+	 * @param queueCapacity the maximum number of solutions that are buffered
+	 */
+	public ParallelUnionIteration(ExecutorService executor, List<QueryEvaluationStep> branches, BindingSet bindings,
+			int parallelism, int queueCapacity) {
+		this.branches = branches;
+		this.bindings = bindings;
+		this.queue = new QueueCursor<>(queueCapacity);
+		this.queryContext = QueryContext.getQueryContext();
+
+		int workerCount = Math.max(1, Math.min(parallelism, branches.size()));
+		this.runningWorkers = new AtomicInteger(workerCount);
+		this.workers = new ArrayList<>(workerCount);
+		for (int i = 0; i < workerCount; i++) {
+			workers.add(executor.submit(this::evaluateBranches));
+		}
+	}
+
+	private void evaluateBranches() {
+		if (queryContext != null) {
+			queryContext.begin();
+		}
+		try {
+			int branch;
+			while (!queue.isClosed() && (branch = nextBranch.getAndIncrement()) < branches.size()) {
+				try (CloseableIteration<BindingSet, QueryEvaluationException> iter = branches.get(branch)
+						.evaluate(bindings)) {
+					while (!queue.isClosed() && iter.hasNext()) {
+						queue.put(iter.next());
+					}
+				}
+			}
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+			queue.toss(e);
+		} catch (Throwable e) {
+			queue.toss(e instanceof Exception ? (Exception) e : new QueryEvaluationException(e));
+		} finally {
+			try {
+				if (runningWorkers.decrementAndGet() == 0) {
+					queue.done();
+				}
+			} finally {
+				if (queryContext != null) {
+					queryContext.end();
+				}
+			}
+		}
+	}
+
+	@Override
+	protected BindingSet getNextElement() throws QueryEvaluationException {
+		if (queue.hasNext()) {
+			return queue.next();
+		}
+		return null;
+	}
+
+	@Override
+	protected void handleClose() throws QueryEvaluationException {
+		try {
+			super.handleClose();
+		} finally {
+			try {
+				queue.close();
+			} finally {
+				ParallelEvaluation.awaitTermination(workers);
+			}
+		}
+	}
+}
@@ -0,0 +1,75 @@
+/*******************************************************************************
+ * Copyright (c) 2023 Eclipse RDF4J contributors.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Distribution License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/org/documents/edl-v10.php.
+ *
+ * SPDX-License-Identifier: BSD-3-Clause
+ *******************************************************************************/
+package org.eclipse.rdf4j.query.algebra.evaluation.iterator;
+
+import java.util.NoSuchElementException;
+
+import org.eclipse.rdf4j.common.iteration.CloseableIteration;
+import org.eclipse.rdf4j.query.BindingSet;
+import org.eclipse.rdf4j.query.QueryEvaluationException;
+import org.eclipse.rdf4j.query.algebra.evaluation.BindingSetBatch;
+
+/**
+ * Returns the rows of an iteration of {@link BindingSetBatch}es one binding set at a time. This is the edge where a
+ * batch pipeline hands its results to row based consumers.
+ */
+public class UnbatchingIteration implements CloseableIteration<BindingSet, QueryEvaluationException> {
+
+	private final CloseableIteration<BindingSetBatch, QueryEvaluationException> batches;
+
+	private BindingSetBatch current;
+
+	private int row;
+
+	private boolean closed;
+
+	public UnbatchingIteration(CloseableIteration<BindingSetBatch, QueryEvaluationException> batches) {
+		this.batches = batches;
+	}
+
+	@Override
+	public boolean hasNext() throws QueryEvaluationException {
+		if (closed) {
+			return false;
+		}
+		while (current == null || row >= current.size()) {
+			if (!batches.hasNext()) {
+				close();
+				return false;
+			}
+			current = batches.next();
+			row = 0;
+		}
+		return true;
+	}
+
+	@Override
+	public BindingSet next() throws QueryEvaluationException {
+		if (!hasNext()) {
+			throw new NoSuchElementException();
+		}
+		return current.get(row++);
+	}
+
+	@Override
+	public void remove() throws QueryEvaluationException {
+		throw new UnsupportedOperationException();
+	}
+
+	@Override
+	public void close() throws QueryEvaluationException {
+		if (!closed) {
+			closed = true;
+			current = null;
+			batches.close();
+		}
+	}
+}
@@ -14,7 +14,11 @@ import java.util.Collection;
 import java.util.Iterator;
 import java.util.Set;
 import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
 
+import org.eclipse.rdf4j.collection.factory.api.CollectionFactory;
+import org.eclipse.rdf4j.collection.factory.impl.DefaultCollectionFactory;
+import org.eclipse.rdf4j.query.BindingSet;
 import org.eclipse.rdf4j.query.Dataset;
 import org.eclipse.rdf4j.query.QueryEvaluationException;
 import org.eclipse.rdf4j.query.algebra.evaluation.TripleSource;
@@ -53,6 +57,25 @@ public class LimitedSizeEvaluationStrategy extends StrictEvaluationStrategy {
 		this.maxSize = maxCollectionsSize;
 	}
 
+	/**
+	 * Returns a factory of in-memory collections whose sets are limited like the sets of {@link #makeSet()}.
+	 */
+	@Override
+	public Supplier<CollectionFactory> getCollectionFactory() {
+		return () -> new DefaultCollectionFactory() {
+
+			@Override
+			public <T> Set<T> createSet() {
+				return makeSet();
+			}
+
+			@Override
+			public Set<BindingSet> createSetOfBindingSets() {
+				return makeSet();
+			}
+		};
+	}
+
 	@Override
 	public <B> Set<B> makeSet() {
 		Set<B> wrapped = super.makeSet();
@@ -0,0 +1,244 @@
+/*******************************************************************************
+ * Copyright (c) 2023 Eclipse RDF4J contributors.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Distribution License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/org/documents/edl-v10.php.
+ *
+ * SPDX-License-Identifier: BSD-3-Clause
+ *******************************************************************************/
+package org.eclipse.rdf4j.query.algebra.evaluation.optimizer;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Finds the cheapest left-deep order of a group of join arguments by dynamic programming over the subsets of the group.
+ * Every subset is extended with each remaining argument in turn, but only with arguments that share a variable with the
+ * subset, so that cross products are only considered when none of the remaining arguments is connected to the subset.
+ * <p>
+ * The join arguments are evaluated as index nested loop joins, so the cost of adding an argument to a plan is the
+ * number of lookups, which is the number of solutions of the plan so far, plus the number of solutions it produces. The
+ * number of solutions per lookup is estimated from the join selectivity: an argument with cardinality <var>c</var> is
+ * expected to produce <var>c / &prod; max(d<sub>plan</sub>(v), d(v))</var> solutions per lookup, where <var>v</var>
+ * ranges over the variables that it shares with the plan, <var>d(v)</var> is the number of distinct values of
+ * <var>v</var> in the argument and <var>d<sub>plan</sub>(v)</var> is the number of distinct values of <var>v</var> in
+ * the solutions of the plan. The latter is estimated as the smallest number of distinct values of <var>v</var> in the
+ * arguments of the plan, but at most the number of solutions of the plan.
+ */
+class DynamicProgrammingJoinOrder {
+
+	/**
+	 * The number of join arguments above which dynamic programming uses too much memory and time to be worthwhile. The
+	 * table holds an entry for every subset of the join arguments.
+	 */
+	static final int MAX_JOIN_ARGS = 16;
+
+	private final int size;
+
+	private final double[] cardinalities;
+
+	private final long[] vars;
+
+	// per join argument and variable index: the estimated number of distinct values of the variable
+	private final double[][] distinctCounts;
+
+	private final long initiallyBound;
+
+	// per subset of the join arguments: the cost of the cheapest plan, its number of solutions and the last argument
+	private double[] cost;
+	private double[] solutions;
+	private byte[] last;
+
+	private int[] order;
+
+	// the estimated number of solutions per lookup of each argument, in evaluation order
+	private double[] estimates;
+
+	/**
+	 * @param cardinalities  the estimated cardinality of each join argument
+	 * @param vars           the variables of each join argument, without constants
+	 * @param distinctCounts the estimated number of distinct values of each variable of each join argument
+	 * @param initiallyBound the variables that are bound before the join is evaluated
+	 */
+	private DynamicProgrammingJoinOrder(double[] cardinalities, long[] vars, double[][] distinctCounts,
+			long initiallyBound) {
+		this.size = cardinalities.length;
+		this.cardinalities = cardinalities;
+		this.vars = vars;
+		this.distinctCounts = distinctCounts;
+		this.initiallyBound = initiallyBound;
+	}
+
+	/**
+	 * @param cardinalities  the estimated cardinality of each join argument
+	 * @param distinctCounts the estimated number of distinct values of the variables of each join argument, by variable
+	 *                       name, without constants
+	 * @param initiallyBound the names of the variables that are bound before the join is evaluated
+	 * @return the cheapest order, or null if there are too many arguments or variables to use dynamic programming.
+	 */
+	static DynamicProgrammingJoinOrder findOrder(double[] cardinalities, List<Map<String, Double>> distinctCounts,
+			Set<String> initiallyBound) {
+		if (cardinalities.length > MAX_JOIN_ARGS) {
+			return null;
+		}
+
+		Map<String, Integer> varIndexes = new HashMap<>();
+		long[] vars = new long[cardinalities.length];
+		for (int i = 0; i < cardinalities.length; i++) {
+			for (String name : distinctCounts.get(i).keySet()) {
+				Integer index = varIndexes.computeIfAbsent(name, k -> varIndexes.size());
+				if (index >= Long.SIZE) {
+					return null;
+				}
+				vars[i] |= 1L << index;
+			}
+		}
+
+		double[][] counts = new double[cardinalities.length][varIndexes.size()];
+		for (int i = 0; i < cardinalities.length; i++) {
+			for (Map.Entry<String, Double> entry : distinctCounts.get(i).entrySet()) {
+				counts[i][varIndexes.get(entry.getKey())] = Math.max(1, entry.getValue());
+			}
+		}
+
+		long bound = 0;
+		for (String name : initiallyBound) {
+			Integer index = varIndexes.get(name);
+			if (index != null) {
+				bound |= 1L << index;
+			}
+		}
+
+		DynamicProgrammingJoinOrder joinOrder = new DynamicProgrammingJoinOrder(cardinalities, vars, counts, bound);
+		joinOrder.findOrder();
+		return joinOrder;
+	}
+
+	/**
+	 * @return the order in which the join arguments should be evaluated, as indexes into the join arguments.
+	 */
+	int[] getOrder() {
+		return order;
+	}
+
+	/**
+	 * @param position a position in the {@link #getOrder() order}
+	 * @return the estimated number of solutions per lookup of the join argument at that position
+	 */
+	double getEstimate(int position) {
+		return estimates[position];
+	}
+
+	private void findOrder() {
+		int subsets = 1 << size;
+		cost = new double[subsets];
+		solutions = new double[subsets];
+		last = new byte[subsets];
+		Arrays.fill(cost, Double.POSITIVE_INFINITY);
+
+		for (int i = 0; i < size; i++) {
+			double produced = getSolutionsPerLookup(i, 0, 1);
+			cost[1 << i] = produced;
+			solutions[1 << i] = produced;
+			last[1 << i] = (byte) i;
+		}
+
+		// every subset is numerically larger than its own subsets, so they are complete by the time it is extended
+		for (int subset = 1; subset < subsets; subset++) {
+			if (cost[subset] == Double.POSITIVE_INFINITY) {
+				continue;
+			}
+
+			long boundVars = getBoundVars(subset);
+
+			boolean connected = false;
+			for (int i = 0; i < size; i++) {
+				if ((subset & (1 << i)) == 0 && (vars[i] & boundVars) != 0) {
+					connected = true;
+					break;
+				}
+			}
+
+			for (int i = 0; i < size; i++) {
+				if ((subset & (1 << i)) != 0 || connected && (vars[i] & boundVars) == 0) {
+					continue;
+				}
+				double produced = solutions[subset] * getSolutionsPerLookup(i, subset, solutions[subset]);
+				double extendedCost = cost[subset] + solutions[subset] + produced;
+				int extended = subset | (1 << i);
+				if (extendedCost < cost[extended]) {
+					cost[extended] = extendedCost;
+					solutions[extended] = produced;
+					last[extended] = (byte) i;
+				}
+			}
+		}
+
+		order = new int[size];
+		int subset = subsets - 1;
+		for (int position = size - 1; position >= 0; position--) {
+			order[position] = last[subset];
+			subset &= ~(1 << last[subset]);
+		}
+
+		estimates = new double[size];
+		int plan = 0;
+		double planSolutions = 1;
+		for (int position = 0; position < size; position++) {
+			estimates[position] = getSolutionsPerLookup(order[position], plan, planSolutions);
+			planSolutions *= estimates[position];
+			plan |= 1 << order[position];
+		}
+
+		// the table is only needed while searching
+		cost = null;
+		solutions = null;
+		last = null;
+	}
+
+	/**
+	 * @return the variables that are bound after the join arguments of the subset have been evaluated
+	 */
+	private long getBoundVars(int subset) {
+		long boundVars = initiallyBound;
+		for (int i = 0; i < size; i++) {
+			if ((subset & (1 << i)) != 0) {
+				boundVars |= vars[i];
+			}
+		}
+		return boundVars;
+	}
+
+	/**
+	 * @param arg           the join argument
+	 * @param subset        the join arguments that are evaluated before it
+	 * @param planSolutions the estimated number of solutions of the join arguments of the subset
+	 * @return the estimated number of solutions of the join argument for every solution of the subset.
+	 */
+	private double getSolutionsPerLookup(int arg, int subset, double planSolutions) {
+		double produced = cardinalities[arg];
+		long shared = vars[arg] & getBoundVars(subset);
+		while (shared != 0) {
+			int var = Long.numberOfTrailingZeros(shared);
+			shared &= shared - 1;
+
+			// an initially bound variable has a single value per evaluation of the join
+			double planDistinctCount = 1;
+			if ((initiallyBound & (1L << var)) == 0) {
+				planDistinctCount = planSolutions;
+				for (int i = 0; i < size; i++) {
+					if ((subset & (1 << i)) != 0 && (vars[i] & (1L << var)) != 0) {
+						planDistinctCount = Math.min(planDistinctCount, distinctCounts[i][var]);
+					}
+				}
+			}
+			produced /= Math.max(1, Math.max(planDistinctCount, distinctCounts[arg][var]));
+		}
+		return produced;
+	}
+}
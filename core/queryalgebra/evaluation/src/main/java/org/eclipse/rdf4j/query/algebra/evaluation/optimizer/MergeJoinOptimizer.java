@@ -0,0 +1,240 @@
+/*******************************************************************************
+ * Copyright (c) 2023 Eclipse RDF4J contributors.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Distribution License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/org/documents/edl-v10.php.
+ *
+ * SPDX-License-Identifier: BSD-3-Clause
+ *******************************************************************************/
+package org.eclipse.rdf4j.query.algebra.evaluation.optimizer;
+
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.Set;
+
+import org.eclipse.rdf4j.common.annotation.Experimental;
+import org.eclipse.rdf4j.model.IRI;
+import org.eclipse.rdf4j.model.Resource;
+import org.eclipse.rdf4j.model.Value;
+import org.eclipse.rdf4j.query.BindingSet;
+import org.eclipse.rdf4j.query.Dataset;
+import org.eclipse.rdf4j.query.algebra.Filter;
+import org.eclipse.rdf4j.query.algebra.Join;
+import org.eclipse.rdf4j.query.algebra.LeftJoin;
+import org.eclipse.rdf4j.query.algebra.StatementPattern;
+import org.eclipse.rdf4j.query.algebra.TupleExpr;
+import org.eclipse.rdf4j.query.algebra.Var;
+import org.eclipse.rdf4j.query.algebra.evaluation.QueryOptimizer;
+import org.eclipse.rdf4j.query.algebra.evaluation.StatementOrder;
+import org.eclipse.rdf4j.query.algebra.evaluation.TripleSource;
+import org.eclipse.rdf4j.query.algebra.helpers.AbstractSimpleQueryModelVisitor;
+import org.eclipse.rdf4j.query.algebra.helpers.collectors.VarNameCollector;
+
+/**
+ * A query optimizer that turns joins into {@link Join#isMergeJoin() merge joins} when the triple source can return the
+ * statements of both arguments in the order of a variable they share. A merge join reads both arguments once, side by
+ * side, instead of evaluating the right argument for every solution of the left argument, which is cheaper when both
+ * arguments are large. Nested joins are merged as well when all their arguments share the variable.
+ * <p>
+ * Only joins that are evaluated independently of the bindings of other join arguments are considered, and only when the
+ * query has no dataset, as the statements of several graphs are not ordered together.
+ */
+@Experimental
+public class MergeJoinOptimizer implements QueryOptimizer {
+
+	/**
+	 * The system property that enables merge joins for the triple sources that support them.
+	 */
+	@Experimental
+	public static final String ENABLED_PROPERTY = "org.eclipse.rdf4j.query.algebra.evaluation.optimizer.MergeJoinOptimizer.enabled";
+
+	// the cost of looking up the solutions of the right argument of a nested loop join, relative to reading a solution
+	private static final double LOOKUP_COST = 10;
+
+	private final TripleSource tripleSource;
+
+	private final boolean enabled;
+
+	public MergeJoinOptimizer(TripleSource tripleSource) {
+		this(tripleSource, Boolean.getBoolean(ENABLED_PROPERTY));
+	}
+
+	public MergeJoinOptimizer(TripleSource tripleSource, boolean enabled) {
+		this.tripleSource = tripleSource;
+		this.enabled = enabled;
+	}
+
+	@Override
+	public void optimize(TupleExpr tupleExpr, Dataset dataset, BindingSet bindings) {
+		if (!enabled || tripleSource.getComparator() == null) {
+			return;
+		}
+		if (dataset != null && (!dataset.getDefaultGraphs().isEmpty() || !dataset.getNamedGraphs().isEmpty())) {
+			return;
+		}
+		tupleExpr.visit(new MergeJoinVisitor());
+	}
+
+	private class MergeJoinVisitor extends AbstractSimpleQueryModelVisitor<RuntimeException> {
+
+		// the variables that are bound by other join arguments when a node is evaluated
+		private Set<String> boundVars = new HashSet<>();
+
+		protected MergeJoinVisitor() {
+			super(false);
+		}
+
+		@Override
+		public void meet(Join join) {
+			if (mergeJoin(join)) {
+				return;
+			}
+			join.getLeftArg().visit(this);
+			meetWithBindings(join.getRightArg(), join.getLeftArg().getBindingNames());
+		}
+
+		@Override
+		public void meet(LeftJoin leftJoin) {
+			leftJoin.getLeftArg().visit(this);
+			meetWithBindings(leftJoin.getRightArg(), leftJoin.getLeftArg().getBindingNames());
+		}
+
+		private void meetWithBindings(TupleExpr arg, Set<String> bindingNames) {
+			Set<String> origBoundVars = boundVars;
+			try {
+				boundVars = new HashSet<>(boundVars);
+				boundVars.addAll(bindingNames);
+				arg.visit(this);
+			} finally {
+				boundVars = origBoundVars;
+			}
+		}
+
+		private boolean mergeJoin(Join join) {
+			TupleExpr left = join.getLeftArg();
+			TupleExpr right = join.getRightArg();
+			Set<String> leftNames = left.getBindingNames();
+			Set<String> rightNames = right.getBindingNames();
+			if (!Collections.disjoint(boundVars, leftNames) || !Collections.disjoint(boundVars, rightNames)) {
+				return false;
+			}
+			if (!isCheaperThanNestedLoop(left, right)) {
+				return false;
+			}
+			for (String name : leftNames) {
+				if (rightNames.contains(name) && isOrdered(left, name) && isOrdered(right, name)) {
+					join.setMergeJoin(true);
+					setOrder(left, name);
+					setOrder(right, name);
+					return true;
+				}
+			}
+			return false;
+		}
+	}
+
+	private boolean isCheaperThanNestedLoop(TupleExpr left, TupleExpr right) {
+		double leftSize = getResultSizeEstimate(left);
+		double rightSize = getResultSizeEstimate(right);
+		if (leftSize <= 0 || rightSize <= 0) {
+			// no estimates, the arguments are large enough to be ordered
+			return true;
+		}
+		return leftSize + rightSize <= leftSize * LOOKUP_COST;
+	}
+
+	private static double getResultSizeEstimate(TupleExpr expr) {
+		if (expr instanceof Join) {
+			return Math.min(getResultSizeEstimate(((Join) expr).getLeftArg()),
+					getResultSizeEstimate(((Join) expr).getRightArg()));
+		} else if (expr instanceof Filter) {
+			return getResultSizeEstimate(((Filter) expr).getArg());
+		}
+		return expr.getResultSizeEstimate();
+	}
+
+	/**
+	 * @return true if the solutions of the expression can be produced in the order of the variable without depending on
+	 *         other bindings
+	 */
+	private boolean isOrdered(TupleExpr expr, String name) {
+		if (expr instanceof StatementPattern) {
+			return getOrder((StatementPattern) expr, name) != null;
+		} else if (expr instanceof Filter) {
+			Filter filter = (Filter) expr;
+			return filter.getArg().getBindingNames().containsAll(VarNameCollector.process(filter.getCondition()))
+					&& isOrdered(filter.getArg(), name);
+		} else if (expr instanceof Join) {
+			Join join = (Join) expr;
+			return join.getLeftArg().getBindingNames().contains(name)
+					&& join.getRightArg().getBindingNames().contains(name)
+					&& isOrdered(join.getLeftArg(), name) && isOrdered(join.getRightArg(), name);
+		}
+		return false;
+	}
+
+	private void setOrder(TupleExpr expr, String name) {
+		if (expr instanceof StatementPattern) {
+			StatementPattern statementPattern = (StatementPattern) expr;
+			for (Var var : statementPattern.getVarList()) {
+				if (var.getName().equals(name)) {
+					statementPattern.setOrder(var);
+					return;
+				}
+			}
+		} else if (expr instanceof Filter) {
+			setOrder(((Filter) expr).getArg(), name);
+		} else if (expr instanceof Join) {
+			Join join = (Join) expr;
+			join.setMergeJoin(true);
+			setOrder(join.getLeftArg(), name);
+			setOrder(join.getRightArg(), name);
+		}
+	}
+
+	/**
+	 * @return the order of the statements of the pattern by the variable, or null if the triple source does not support
+	 *         it
+	 */
+	private StatementOrder getOrder(StatementPattern statementPattern, String name) {
+		Var subjVar = statementPattern.getSubjectVar();
+		Var predVar = statementPattern.getPredicateVar();
+		Var objVar = statementPattern.getObjectVar();
+		Var conVar = statementPattern.getContextVar();
+
+		StatementOrder order;
+		if (!subjVar.hasValue() && subjVar.getName().equals(name)) {
+			order = StatementOrder.S;
+		} else if (!predVar.hasValue() && predVar.getName().equals(name)) {
+			order = StatementOrder.P;
+		} else if (!objVar.hasValue() && objVar.getName().equals(name)) {
+			order = StatementOrder.O;
+		} else {
+			// the context is not ordered on, as the default graph leaves the variable unbound
+			return null;
+		}
+
+		Value subj = subjVar.getValue();
+		Value pred = predVar.getValue();
+		if (subj != null && !subj.isResource() || pred != null && !pred.isIRI()) {
+			return null;
+		}
+		Resource[] contexts;
+		if (conVar != null && conVar.hasValue()) {
+			if (!conVar.getValue().isResource()) {
+				return null;
+			}
+			contexts = new Resource[] { (Resource) conVar.getValue() };
+		} else {
+			contexts = new Resource[0];
+		}
+
+		if (tripleSource.getSupportedOrders((Resource) subj, (IRI) pred, objVar.getValue(), contexts)
+				.contains(order)) {
+			return order;
+		}
+		return null;
+	}
+}
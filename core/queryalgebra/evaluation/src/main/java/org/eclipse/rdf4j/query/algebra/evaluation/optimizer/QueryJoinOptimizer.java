@@ -18,6 +18,7 @@ import java.util.List;
 import java.util.Map;
 import java.util.Set;
 
+import org.eclipse.rdf4j.common.annotation.Experimental;
 import org.eclipse.rdf4j.query.BindingSet;
 import org.eclipse.rdf4j.query.Dataset;
 import org.eclipse.rdf4j.query.algebra.AbstractQueryModelNode;
@@ -43,16 +44,39 @@ import org.eclipse.rdf4j.query.algebra.helpers.TupleExprs;
  */
 public class QueryJoinOptimizer implements QueryOptimizer {
 
+	/**
+	 * The system property that sets the default {@link #QueryJoinOptimizer(EvaluationStatistics, boolean, int) dynamic
+	 * programming threshold}.
+	 */
+	@Experimental
+	public static final String DYNAMIC_PROGRAMMING_THRESHOLD_PROPERTY = "org.eclipse.rdf4j.query.algebra.evaluation.optimizer.QueryJoinOptimizer.dynamicProgrammingThreshold";
+
 	protected final EvaluationStatistics statistics;
 	private final boolean trackResultSize;
+	private final int dynamicProgrammingThreshold;
 
 	public QueryJoinOptimizer(EvaluationStatistics statistics) {
 		this(statistics, false);
 	}
 
 	public QueryJoinOptimizer(EvaluationStatistics statistics, boolean trackResultSize) {
+		this(statistics, trackResultSize, Integer.getInteger(DYNAMIC_PROGRAMMING_THRESHOLD_PROPERTY, 0));
+	}
+
+	/**
+	 * @param statistics                  the statistics used to estimate the cardinality of join arguments
+	 * @param trackResultSize             whether the actual result sizes of the join arguments are tracked
+	 * @param dynamicProgrammingThreshold the maximum number of arguments of a join for which all orders are considered
+	 *                                    to find the cheapest one, larger joins are ordered greedily. Joins of up to 16
+	 *                                    arguments can be ordered this way. The default of 0 orders all joins greedily.
+	 */
+	@Experimental
+	public QueryJoinOptimizer(EvaluationStatistics statistics, boolean trackResultSize,
+			int dynamicProgrammingThreshold) {
 		this.statistics = statistics;
 		this.trackResultSize = trackResultSize;
+		this.dynamicProgrammingThreshold = Math.min(dynamicProgrammingThreshold,
+				DynamicProgrammingJoinOrder.MAX_JOIN_ARGS);
 	}
 
 	/**
@@ -62,17 +86,20 @@ public class QueryJoinOptimizer implements QueryOptimizer {
 	 */
 	@Override
 	public void optimize(TupleExpr tupleExpr, Dataset dataset, BindingSet bindings) {
-		tupleExpr.visit(new JoinVisitor(statistics, trackResultSize));
+		tupleExpr.visit(new JoinVisitor(statistics, trackResultSize, dynamicProgrammingThreshold));
 	}
 
 	private static class JoinVisitor extends AbstractSimpleQueryModelVisitor<RuntimeException> {
 
 		private final EvaluationStatistics statistics;
+		private final int dynamicProgrammingThreshold;
 		Set<String> boundVars = new HashSet<>();
 
-		protected JoinVisitor(EvaluationStatistics statistics, boolean trackResultSize) {
+		protected JoinVisitor(EvaluationStatistics statistics, boolean trackResultSize,
+				int dynamicProgrammingThreshold) {
 			super(trackResultSize);
 			this.statistics = statistics;
+			this.dynamicProgrammingThreshold = dynamicProgrammingThreshold;
 		}
 
 		@Override
@@ -175,6 +202,26 @@ public class QueryJoinOptimizer implements QueryOptimizer {
 						fillVarFreqMap(varList, varFreqMap);
 					}
 
+					// small joins are ordered by considering all orders, nested joins are ordered when they are met
+					if (joinArgs.size() > 2 && joinArgs.size() <= dynamicProgrammingThreshold
+							&& joinArgs.stream().noneMatch(arg -> arg instanceof Join)) {
+						DynamicProgrammingJoinOrder joinOrder = findJoinOrder(joinArgs, cardinalityMap, varsMap);
+						if (joinOrder != null) {
+							int[] order = joinOrder.getOrder();
+							for (int i = 0; i < order.length; i++) {
+								TupleExpr tupleExpr = joinArgs.get(order[i]);
+								tupleExpr.setCostEstimate(joinOrder.getEstimate(i));
+								orderedJoinArgs.add(tupleExpr);
+
+								// Recursively optimize join arguments
+								tupleExpr.visit(this);
+
+								boundVars.addAll(tupleExpr.getBindingNames());
+							}
+							joinArgs.clear();
+						}
+					}
+
 					// order all other join arguments based on available statistics
 					while (!joinArgs.isEmpty()) {
 						TupleExpr tupleExpr = selectNextTupleExpr(joinArgs, cardinalityMap, varsMap, varFreqMap);
@@ -231,6 +278,44 @@ public class QueryJoinOptimizer implements QueryOptimizer {
 			}
 		}
 
+		/**
+		 * Finds the cheapest order of the join arguments using dynamic programming.
+		 *
+		 * @return the order, or null if there are too many arguments or variables
+		 */
+		private DynamicProgrammingJoinOrder findJoinOrder(List<TupleExpr> joinArgs,
+				Map<TupleExpr, Double> cardinalityMap, Map<TupleExpr, List<Var>> varsMap) {
+			int size = joinArgs.size();
+			double[] cardinalities = new double[size];
+			List<Map<String, Double>> distinctCounts = new ArrayList<>(size);
+			for (int i = 0; i < size; i++) {
+				TupleExpr tupleExpr = joinArgs.get(i);
+				if (hasCachedCardinality(tupleExpr)) {
+					cardinalities[i] = ((AbstractQueryModelNode) tupleExpr).getCardinality();
+				} else {
+					cardinalities[i] = cardinalityMap.get(tupleExpr);
+				}
+
+				Set<String> names;
+				if (tupleExpr instanceof BindingSetAssignment) {
+					names = tupleExpr.getBindingNames();
+				} else {
+					names = new HashSet<>();
+					for (Var var : varsMap.get(tupleExpr)) {
+						if (!var.hasValue() && var.getName() != null) {
+							names.add(var.getName());
+						}
+					}
+				}
+				Map<String, Double> counts = new HashMap<>();
+				for (String name : names) {
+					counts.put(name, statistics.getDistinctValueCount(tupleExpr, name));
+				}
+				distinctCounts.add(counts);
+			}
+			return DynamicProgrammingJoinOrder.findOrder(cardinalities, distinctCounts, boundVars);
+		}
+
 		protected <L extends List<TupleExpr>> L getJoinArgs(TupleExpr tupleExpr, L joinArgs) {
 			if (tupleExpr instanceof Join) {
 				Join join = (Join) tupleExpr;
@@ -84,6 +84,7 @@ public class StandardQueryOptimizerPipeline implements QueryOptimizerPipeline {
 				new QueryJoinOptimizer(evaluationStatistics, strategy.isTrackResultSize()),
 				ITERATIVE_EVALUATION_OPTIMIZER,
 				FILTER_OPTIMIZER,
+				new MergeJoinOptimizer(tripleSource),
 				ORDER_LIMIT_OPTIMIZER);
 
 		if (assertsEnabled) {
@@ -0,0 +1,184 @@
+/*******************************************************************************
+ * Copyright (c) 2023 Eclipse RDF4J contributors.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Distribution License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/org/documents/edl-v10.php.
+ *
+ * SPDX-License-Identifier: BSD-3-Clause
+ *******************************************************************************/
+package org.eclipse.rdf4j.query.algebra.evaluation.impl;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.eclipse.rdf4j.common.iteration.CloseableIteration;
+import org.eclipse.rdf4j.common.iteration.Iterations;
+import org.eclipse.rdf4j.model.IRI;
+import org.eclipse.rdf4j.model.Model;
+import org.eclipse.rdf4j.model.ValueFactory;
+import org.eclipse.rdf4j.model.impl.LinkedHashModel;
+import org.eclipse.rdf4j.model.impl.SimpleValueFactory;
+import org.eclipse.rdf4j.model.vocabulary.FOAF;
+import org.eclipse.rdf4j.model.vocabulary.RDF;
+import org.eclipse.rdf4j.query.BindingSet;
+import org.eclipse.rdf4j.query.QueryEvaluationException;
+import org.eclipse.rdf4j.query.QueryLanguage;
+import org.eclipse.rdf4j.query.algebra.Group;
+import org.eclipse.rdf4j.query.algebra.QueryRoot;
+import org.eclipse.rdf4j.query.algebra.TupleExpr;
+import org.eclipse.rdf4j.query.algebra.evaluation.BatchQueryEvaluationStep;
+import org.eclipse.rdf4j.query.algebra.evaluation.QueryEvaluationStep;
+import org.eclipse.rdf4j.query.algebra.evaluation.impl.evaluationsteps.GroupBatchQueryEvaluationStep;
+import org.eclipse.rdf4j.query.algebra.evaluation.iterator.GroupIterator;
+import org.eclipse.rdf4j.query.algebra.helpers.AbstractQueryModelVisitor;
+import org.eclipse.rdf4j.query.impl.EmptyBindingSet;
+import org.eclipse.rdf4j.query.parser.ParsedQuery;
+import org.eclipse.rdf4j.query.parser.QueryParserUtil;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+/**
+ * Verifies that batch evaluation returns the same solutions as row based evaluation.
+ */
+public class BatchEvaluationTest {
+
+	private static final String PREFIXES = "PREFIX foaf: <http://xmlns.com/foaf/0.1/>\n"
+			+ "PREFIX ex: <http://example.org/>\n";
+
+	private static final ValueFactory vf = SimpleValueFactory.getInstance();
+
+	private static Model model;
+
+	@BeforeAll
+	public static void setUp() {
+		model = new LinkedHashModel();
+		IRI graph = vf.createIRI("http://example.org/graph");
+		for (int i = 0; i < 50; i++) {
+			IRI person = vf.createIRI("http://example.org/person" + i);
+			model.add(person, RDF.TYPE, FOAF.PERSON);
+			model.add(person, FOAF.NAME, vf.createLiteral("person " + i));
+			model.add(person, FOAF.AGE, vf.createLiteral(i % 17));
+			if (i % 3 == 0) {
+				model.add(person, FOAF.MBOX, vf.createLiteral("person" + i + "@example.org"), graph);
+			}
+			for (int j = 0; j < i % 5; j++) {
+				model.add(person, FOAF.KNOWS, vf.createIRI("http://example.org/person" + ((i + j + 1) % 50)));
+			}
+		}
+	}
+
+	@ParameterizedTest
+	@ValueSource(strings = {
+			"SELECT * WHERE { ?s a foaf:Person }",
+			"SELECT ?s ?name WHERE { ?s a foaf:Person ; foaf:name ?name }",
+			"SELECT ?s ?o WHERE { ?s foaf:knows ?o . ?o foaf:knows ?s }",
+			"SELECT ?a ?b ?c WHERE { ?a foaf:knows ?b . ?b foaf:knows ?c . ?c foaf:age ?age }",
+			"SELECT * WHERE { ?s foaf:age ?age FILTER(?age > 10) }",
+			"SELECT * WHERE { ?s foaf:age ?age ; foaf:knows ?o FILTER(?age > 3 && ?age < 9) }",
+			"SELECT ?s ?next WHERE { ?s foaf:age ?age BIND(?age + 1 AS ?next) }",
+			"SELECT ?s ?x WHERE { ?s foaf:age ?age BIND(?age / 0 AS ?x) }",
+			"SELECT ?s ?label WHERE { ?s foaf:name ?name BIND(CONCAT(?name, '!') AS ?label) FILTER(STRLEN(?label) > 9) }",
+			"SELECT ?s (?name AS ?n) WHERE { ?s foaf:name ?name }",
+			"SELECT * WHERE { ?s foaf:name ?name OPTIONAL { ?s foaf:mbox ?mbox } }",
+			"SELECT * WHERE { GRAPH ?g { ?s foaf:mbox ?mbox } ?s foaf:age ?age }",
+			"SELECT * WHERE { ?s foaf:knows ?o { SELECT ?o (COUNT(*) AS ?c) WHERE { ?o foaf:knows ?x } GROUP BY ?o } }",
+			"SELECT ?age (COUNT(?s) AS ?count) WHERE { ?s foaf:age ?age ; a foaf:Person } GROUP BY ?age",
+			"SELECT ?age (SUM(?age) AS ?sum) (AVG(?age) AS ?avg) (MIN(?o) AS ?min) (MAX(?o) AS ?max) "
+					+ "WHERE { ?s foaf:age ?age OPTIONAL { ?s foaf:knows ?o } } GROUP BY ?age",
+			"SELECT (COUNT(DISTINCT *) AS ?c) (COUNT(DISTINCT ?age) AS ?ages) WHERE { ?s foaf:age ?age ; foaf:knows ?o }",
+			"SELECT ?m (COUNT(*) AS ?c) WHERE { ?s foaf:name ?name OPTIONAL { ?s foaf:mbox ?m } } GROUP BY ?m",
+			"SELECT ?age (COUNT(?s) AS ?c) WHERE { ?s foaf:age ?age } GROUP BY ?age HAVING (COUNT(?s) > 2)",
+			"SELECT (COUNT(*) AS ?c) (SUM(?age) AS ?sum) WHERE { ?s foaf:age ?age FILTER(?age > 100) }",
+			"SELECT DISTINCT ?age WHERE { ?s foaf:age ?age ; foaf:knows ?o }",
+			"SELECT * WHERE { ?s foaf:age ?age FILTER EXISTS { ?s foaf:mbox ?m } }",
+			"SELECT * WHERE { { ?s foaf:mbox ?m } UNION { ?s foaf:age 3 } }",
+			"SELECT * WHERE { ?s foaf:knows ?o MINUS { ?o foaf:age 4 } }",
+			"SELECT * WHERE { VALUES ?s { ex:person1 ex:person2 ex:nobody } ?s foaf:knows ?o }",
+			"SELECT * WHERE { ?s foaf:knows ?s }",
+			"SELECT * WHERE { ?s foaf:age ?age } ORDER BY DESC(?age) ?s LIMIT 7"
+	})
+	public void testSameResults(String query) {
+		List<BindingSet> expected = evaluate(query, 0);
+		for (int batchSize : new int[] { 1, 2, 7, 64 }) {
+			assertThat(evaluate(query, batchSize)).as("batch size " + batchSize)
+					.containsExactlyInAnyOrderElementsOf(expected);
+		}
+	}
+
+	@Test
+	public void testGroupSpillsInBatches() {
+		String query = "SELECT ?s (COUNT(?o) AS ?c) (MAX(?age) AS ?age) WHERE { ?s foaf:age ?age ; foaf:knows ?o } "
+				+ "GROUP BY ?s";
+		List<BindingSet> expected = evaluate(query, 0);
+		String previous = System.setProperty(GroupIterator.SPILL_THRESHOLD_PROPERTY, "3");
+		try {
+			for (int batchSize : new int[] { 1, 7, 64 }) {
+				assertThat(evaluate(query, batchSize)).as("batch size " + batchSize)
+						.containsExactlyInAnyOrderElementsOf(expected);
+			}
+		} finally {
+			if (previous == null) {
+				System.clearProperty(GroupIterator.SPILL_THRESHOLD_PROPERTY);
+			} else {
+				System.setProperty(GroupIterator.SPILL_THRESHOLD_PROPERTY, previous);
+			}
+		}
+	}
+
+	@Test
+	public void testBatchStepsAreUsed() {
+		DefaultEvaluationStrategy strategy = new DefaultEvaluationStrategy(new ModelTripleSource(model), null);
+		strategy.setBatchSize(16);
+		QueryEvaluationStep step = precompile(strategy, "SELECT ?s WHERE { ?s a foaf:Person ; foaf:age ?age }");
+		assertThat(step).isInstanceOf(BatchQueryEvaluationStep.class);
+
+		QueryRoot root = parse("SELECT ?age (COUNT(?s) AS ?c) WHERE { ?s foaf:age ?age } GROUP BY ?age");
+		List<Group> groups = new ArrayList<>();
+		root.visit(new AbstractQueryModelVisitor<RuntimeException>() {
+			@Override
+			public void meet(Group node) {
+				groups.add(node);
+			}
+		});
+		assertThat(strategy.precompile(groups.get(0), createContext(root)))
+				.isInstanceOf(GroupBatchQueryEvaluationStep.class);
+
+		strategy.setBatchSize(0);
+		step = precompile(strategy, "SELECT ?s WHERE { ?s a foaf:Person ; foaf:age ?age }");
+		assertThat(step).isNotInstanceOf(BatchQueryEvaluationStep.class);
+	}
+
+	private List<BindingSet> evaluate(String query, int batchSize) {
+		DefaultEvaluationStrategy strategy = new DefaultEvaluationStrategy(new ModelTripleSource(model), null);
+		strategy.setBatchSize(batchSize);
+		QueryRoot root = parse(query);
+		strategy.optimize(root, new EvaluationStatistics(), EmptyBindingSet.getInstance());
+		try (CloseableIteration<BindingSet, QueryEvaluationException> result = strategy.precompile(root)
+				.evaluate(EmptyBindingSet.getInstance())) {
+			return Iterations.asList(result);
+		}
+	}
+
+	private QueryEvaluationStep precompile(DefaultEvaluationStrategy strategy, String query) {
+		QueryRoot root = parse(query);
+		// the projection below the root
+		TupleExpr projection = root.getArg();
+		return strategy.precompile(projection, createContext(root));
+	}
+
+	private static QueryEvaluationContext createContext(QueryRoot root) {
+		return new ArrayBindingBasedQueryEvaluationContext(new QueryEvaluationContext.Minimal(null),
+				ArrayBindingBasedQueryEvaluationContext.findAllVariablesUsedInQuery(root));
+	}
+
+	private static QueryRoot parse(String query) {
+		ParsedQuery pq = QueryParserUtil.parseQuery(QueryLanguage.SPARQL, PREFIXES + query, null);
+		return new QueryRoot(pq.getTupleExpr().clone());
+	}
+}
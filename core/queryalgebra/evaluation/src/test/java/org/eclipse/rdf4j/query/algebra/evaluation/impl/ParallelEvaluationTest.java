@@ -0,0 +1,187 @@
+/*******************************************************************************
+ * Copyright (c) 2023 Eclipse RDF4J contributors.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Distribution License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/org/documents/edl-v10.php.
+ *
+ * SPDX-License-Identifier: BSD-3-Clause
+ *******************************************************************************/
+package org.eclipse.rdf4j.query.algebra.evaluation.impl;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.math.BigInteger;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.eclipse.rdf4j.common.iteration.CloseableIteration;
+import org.eclipse.rdf4j.common.iteration.Iterations;
+import org.eclipse.rdf4j.common.transaction.QueryEvaluationParallelism;
+import org.eclipse.rdf4j.model.IRI;
+import org.eclipse.rdf4j.model.Model;
+import org.eclipse.rdf4j.model.Resource;
+import org.eclipse.rdf4j.model.Statement;
+import org.eclipse.rdf4j.model.Value;
+import org.eclipse.rdf4j.model.ValueFactory;
+import org.eclipse.rdf4j.model.impl.LinkedHashModel;
+import org.eclipse.rdf4j.model.impl.SimpleValueFactory;
+import org.eclipse.rdf4j.model.vocabulary.FOAF;
+import org.eclipse.rdf4j.model.vocabulary.RDF;
+import org.eclipse.rdf4j.query.BindingSet;
+import org.eclipse.rdf4j.query.QueryEvaluationException;
+import org.eclipse.rdf4j.query.QueryLanguage;
+import org.eclipse.rdf4j.query.algebra.QueryRoot;
+import org.eclipse.rdf4j.query.algebra.evaluation.QueryContext;
+import org.eclipse.rdf4j.query.algebra.evaluation.iterator.QueryContextIteration;
+import org.eclipse.rdf4j.query.impl.EmptyBindingSet;
+import org.eclipse.rdf4j.query.parser.ParsedQuery;
+import org.eclipse.rdf4j.query.parser.QueryParserUtil;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+/**
+ * Verifies that parallel evaluation returns the same solutions as sequential evaluation.
+ */
+public class ParallelEvaluationTest {
+
+	private static final String PREFIXES = "PREFIX foaf: <http://xmlns.com/foaf/0.1/>\n"
+			+ "PREFIX ex: <http://example.org/>\n";
+
+	private static final ValueFactory vf = SimpleValueFactory.getInstance();
+
+	private static Model model;
+
+	@BeforeAll
+	public static void setUp() {
+		model = new LinkedHashModel();
+		for (int i = 0; i < 2000; i++) {
+			IRI person = vf.createIRI("http://example.org/person" + i);
+			model.add(person, RDF.TYPE, FOAF.PERSON);
+			model.add(person, FOAF.NAME, vf.createLiteral("person " + i));
+			model.add(person, FOAF.AGE, vf.createLiteral(BigInteger.valueOf(i % 17)));
+			for (int j = 0; j < i % 5; j++) {
+				model.add(person, FOAF.KNOWS, vf.createIRI("http://example.org/person" + ((i + j + 1) % 2000)));
+			}
+		}
+	}
+
+	@ParameterizedTest
+	@ValueSource(strings = {
+			"SELECT * WHERE { { ?s foaf:age 3 } UNION { ?s foaf:age 4 } }",
+			"SELECT * WHERE { { ?s foaf:age 3 } UNION { ?s foaf:age 4 } UNION { ?s foaf:knows ?o } UNION { ?s a ?t } }",
+			"SELECT * WHERE { { ?s foaf:age ?x } UNION { ?s foaf:name ?x } ?s foaf:knows ?o }",
+			"SELECT * WHERE { ?s foaf:knows ?o { { ?o foaf:age 1 } UNION { ?o foaf:age 2 } } }",
+			"SELECT * WHERE { ?s foaf:knows ?o { SELECT ?o (COUNT(*) AS ?c) WHERE { ?o foaf:knows ?x } GROUP BY ?o } }",
+			"SELECT * WHERE { ?s foaf:age ?age { SELECT ?age (COUNT(*) AS ?c) WHERE { ?x foaf:age ?age } GROUP BY ?age } }",
+			"SELECT * WHERE { ?s foaf:age 5 { SELECT * WHERE { ?x foaf:age 6 } } }",
+			"SELECT ?age (COUNT(*) AS ?c) WHERE { { ?s foaf:age ?age } UNION { ?s foaf:knows ?o ; foaf:age ?age } } GROUP BY ?age",
+			"SELECT * WHERE { ?s foaf:age ?age FILTER EXISTS { { ?s foaf:knows ?o } UNION { ?o foaf:knows ?s } } }"
+	})
+	public void testSameResults(String query) {
+		List<BindingSet> expected = evaluate(query, QueryEvaluationParallelism.SEQUENTIAL);
+		for (int parallelism : new int[] { 2, 3, 8 }) {
+			assertThat(evaluate(query, QueryEvaluationParallelism.of(parallelism))).as("parallelism " + parallelism)
+					.containsExactlyInAnyOrderElementsOf(expected);
+		}
+	}
+
+	@Test
+	public void testParallelAlgorithmsAreUsed() {
+		DefaultEvaluationStrategy strategy = new DefaultEvaluationStrategy(new ModelTripleSource(model), null);
+		strategy.setQueryEvaluationParallelism(QueryEvaluationParallelism.of(4));
+		QueryRoot root = parse(
+				"SELECT * WHERE { ?s foaf:age ?age { SELECT ?age (COUNT(*) AS ?c) WHERE { ?x foaf:age ?age } GROUP BY ?age } }");
+		// not optimized, so that the subquery stays the right argument of the join
+		strategy.precompile(root);
+		assertThat(root.toString()).contains("ParallelHashJoinIteration");
+	}
+
+	@Test
+	public void testEarlyClose() {
+		DefaultEvaluationStrategy strategy = new DefaultEvaluationStrategy(new ModelTripleSource(model), null);
+		strategy.setQueryEvaluationParallelism(QueryEvaluationParallelism.of(4));
+		QueryRoot root = parse("SELECT * WHERE { { ?s ?p ?o } UNION { ?s foaf:knows ?x . ?x ?p ?o } }");
+		strategy.optimize(root, new EvaluationStatistics(), EmptyBindingSet.getInstance());
+		for (int i = 0; i < 20; i++) {
+			CloseableIteration<BindingSet, QueryEvaluationException> result = strategy.precompile(root)
+					.evaluate(EmptyBindingSet.getInstance());
+			assertThat(result.hasNext()).isTrue();
+			result.next();
+			result.close();
+			assertThat(result.hasNext()).isFalse();
+		}
+	}
+
+	@Test
+	public void testErrorInBranchIsReported() {
+		ModelTripleSource failing = new ModelTripleSource(model) {
+			@Override
+			public CloseableIteration<? extends Statement, QueryEvaluationException> getStatements(Resource subj,
+					IRI pred, Value obj, Resource... contexts) throws QueryEvaluationException {
+				if (FOAF.KNOWS.equals(pred)) {
+					throw new QueryEvaluationException("failing branch");
+				}
+				return super.getStatements(subj, pred, obj, contexts);
+			}
+		};
+		DefaultEvaluationStrategy strategy = new DefaultEvaluationStrategy(failing, null);
+		strategy.setQueryEvaluationParallelism(QueryEvaluationParallelism.of(2));
+		QueryRoot root = parse("SELECT * WHERE { { ?s foaf:age ?x } UNION { ?s foaf:knows ?x } }");
+		strategy.optimize(root, new EvaluationStatistics(), EmptyBindingSet.getInstance());
+		try (CloseableIteration<BindingSet, QueryEvaluationException> result = strategy.precompile(root)
+				.evaluate(EmptyBindingSet.getInstance())) {
+			assertThatThrownBy(() -> Iterations.asList(result)).isInstanceOf(QueryEvaluationException.class)
+					.hasStackTraceContaining("failing branch");
+		}
+	}
+
+	@Test
+	public void testQueryContextIsAvailableToWorkers() {
+		Set<Object> seen = ConcurrentHashMap.newKeySet();
+		ModelTripleSource recording = new ModelTripleSource(model) {
+			@Override
+			public CloseableIteration<? extends Statement, QueryEvaluationException> getStatements(Resource subj,
+					IRI pred, Value obj, Resource... contexts) throws QueryEvaluationException {
+				QueryContext queryContext = QueryContext.getQueryContext();
+				seen.add(queryContext == null ? "none" : queryContext);
+				return super.getStatements(subj, pred, obj, contexts);
+			}
+		};
+		DefaultEvaluationStrategy strategy = new DefaultEvaluationStrategy(recording, null);
+		strategy.setQueryEvaluationParallelism(QueryEvaluationParallelism.of(2));
+		QueryRoot root = parse("SELECT * WHERE { { ?s foaf:age 3 } UNION { ?s foaf:age 4 } }");
+		strategy.optimize(root, new EvaluationStatistics(), EmptyBindingSet.getInstance());
+
+		QueryContext queryContext = new QueryContext();
+		queryContext.begin();
+		try (CloseableIteration<BindingSet, QueryEvaluationException> result = new QueryContextIteration(
+				strategy.precompile(root).evaluate(EmptyBindingSet.getInstance()), queryContext)) {
+			assertThat(Iterations.asList(result)).isNotEmpty();
+		} finally {
+			queryContext.end();
+		}
+		assertThat(seen).containsExactly(queryContext);
+	}
+
+	private List<BindingSet> evaluate(String query, QueryEvaluationParallelism parallelism) {
+		DefaultEvaluationStrategy strategy = new DefaultEvaluationStrategy(new ModelTripleSource(model), null);
+		strategy.setQueryEvaluationParallelism(parallelism);
+		QueryRoot root = parse(query);
+		strategy.optimize(root, new EvaluationStatistics(), EmptyBindingSet.getInstance());
+		try (CloseableIteration<BindingSet, QueryEvaluationException> result = strategy.precompile(root)
+				.evaluate(EmptyBindingSet.getInstance())) {
+			return Iterations.asList(result);
+		}
+	}
+
+	private static QueryRoot parse(String query) {
+		ParsedQuery pq = QueryParserUtil.parseQuery(QueryLanguage.SPARQL, PREFIXES + query, null);
+		return new QueryRoot(pq.getTupleExpr().clone());
+	}
+}
@@ -17,7 +17,10 @@ import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 
 import java.util.ArrayList;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
 
 import org.eclipse.rdf4j.common.exception.RDF4JException;
 import org.eclipse.rdf4j.query.MalformedQueryException;
@@ -192,6 +195,132 @@ public class QueryJoinOptimizerTest extends QueryOptimizerTest {
 
 	}
 
+	@Test
+	public void testDynamicProgrammingAvoidsCrossProducts() {
+		String query = String.join("\n", "",
+				"prefix ex: <ex:> ",
+				"select * where {",
+				"	?a ex:p1 ?b. ",
+				"	?b ex:p2 ?c. ",
+				"	?c ex:p3 ?d. ",
+				"	?d ex:p4 ?e. ",
+				"}"
+		);
+		EvaluationStatistics statistics = new PredicateStatistics(
+				Map.of("ex:p1", 100.0, "ex:p2", 1_000_000.0, "ex:p3", 10.0, "ex:p4", 100_000.0));
+
+		// the greedy order starts with the two most selective patterns, which share no variables
+		List<StatementPattern> greedy = optimize(query, new QueryJoinOptimizer(statistics, false, 0));
+		assertThat(greedy.get(0).getPredicateVar().getValue().stringValue()).isEqualTo("ex:p3");
+		assertThat(greedy.get(1).getPredicateVar().getValue().stringValue()).isEqualTo("ex:p1");
+
+		List<StatementPattern> dp = optimize(query, new QueryJoinOptimizer(statistics, false, 10));
+		assertThat(dp).extracting(sp -> sp.getPredicateVar().getValue().stringValue())
+				.containsExactly("ex:p3", "ex:p2", "ex:p1", "ex:p4");
+		Set<String> boundVars = new HashSet<>(dp.get(0).getBindingNames());
+		for (StatementPattern sp : dp.subList(1, dp.size())) {
+			assertThat(sp.getBindingNames()).containsAnyElementsOf(boundVars);
+			boundVars.addAll(sp.getBindingNames());
+		}
+	}
+
+	@Test
+	public void testDynamicProgrammingThreshold() {
+		String query = String.join("\n", "",
+				"prefix ex: <ex:> ",
+				"select * where {",
+				"	?a ex:p1 ?b. ",
+				"	?b ex:p2 ?c. ",
+				"	?c ex:p3 ?d. ",
+				"	?d ex:p4 ?e. ",
+				"}"
+		);
+		EvaluationStatistics statistics = new PredicateStatistics(
+				Map.of("ex:p1", 100.0, "ex:p2", 1_000_000.0, "ex:p3", 10.0, "ex:p4", 100_000.0));
+
+		// larger joins than the threshold are ordered greedily
+		assertThat(optimize(query, new QueryJoinOptimizer(statistics, false, 3)))
+				.isEqualTo(optimize(query, new QueryJoinOptimizer(statistics, false, 0)));
+
+		String previous = System.setProperty(QueryJoinOptimizer.DYNAMIC_PROGRAMMING_THRESHOLD_PROPERTY, "4");
+		try {
+			assertThat(optimize(query, new QueryJoinOptimizer(statistics)))
+					.isEqualTo(optimize(query, new QueryJoinOptimizer(statistics, false, 4)));
+		} finally {
+			if (previous == null) {
+				System.clearProperty(QueryJoinOptimizer.DYNAMIC_PROGRAMMING_THRESHOLD_PROPERTY);
+			} else {
+				System.setProperty(QueryJoinOptimizer.DYNAMIC_PROGRAMMING_THRESHOLD_PROPERTY, previous);
+			}
+		}
+	}
+
+	@Test
+	public void testDynamicProgrammingWithBoundVariables() {
+		String query = String.join("\n", "",
+				"prefix ex: <ex:> ",
+				"select * where {",
+				"	values ?c { ex:c1 ex:c2 } ",
+				"	?a ex:p1 ?b. ",
+				"	?b ex:p2 ?c. ",
+				"	?c ex:p3 ?d. ",
+				"}"
+		);
+		EvaluationStatistics statistics = new PredicateStatistics(
+				Map.of("ex:p1", 100.0, "ex:p2", 1_000_000.0, "ex:p3", 10.0));
+
+		// the values clause binds ?c, after which ex:p2 only has one variable left to bind, and the few distinct values
+		// of ?b in ex:p1 reduce its solutions before ex:p3 is joined
+		List<StatementPattern> dp = optimize(query, new QueryJoinOptimizer(statistics, false, 10));
+		assertThat(dp).extracting(sp -> sp.getPredicateVar().getValue().stringValue())
+				.containsExactly("ex:p2", "ex:p1", "ex:p3");
+	}
+
+	@Test
+	public void testDynamicProgrammingWithDistinctValueCounts() {
+		String query = String.join("\n", "",
+				"prefix ex: <ex:> ",
+				"select * where {",
+				"	?a ex:p1 ?b. ",
+				"	?b ex:p2 ?c. ",
+				"	?b ex:p3 ?d. ",
+				"}"
+		);
+		Map<String, Double> cardinalities = Map.of("ex:p1", 10.0, "ex:p2", 100.0, "ex:p3", 200.0);
+
+		// without distinct value counts, ex:p2 is expected to produce fewer solutions per ?b than ex:p3
+		List<StatementPattern> dp = optimize(query,
+				new QueryJoinOptimizer(new PredicateStatistics(cardinalities), false, 10));
+		assertThat(dp).extracting(sp -> sp.getPredicateVar().getValue().stringValue())
+				.containsExactly("ex:p1", "ex:p2", "ex:p3");
+
+		// all ex:p2 statements have the same subject, so the join on ?b does not reduce them
+		EvaluationStatistics statistics = new PredicateStatistics(cardinalities) {
+			@Override
+			public double getDistinctValueCount(TupleExpr expr, String varName) {
+				StatementPattern sp = (StatementPattern) expr;
+				if (sp.getSubjectVar().getName().equals(varName)) {
+					return Map.of("ex:p1", 10.0, "ex:p2", 1.0, "ex:p3", 200.0)
+							.get(sp.getPredicateVar().getValue().stringValue());
+				}
+				return super.getDistinctValueCount(expr, varName);
+			}
+		};
+		dp = optimize(query, new QueryJoinOptimizer(statistics, false, 10));
+		assertThat(dp).extracting(sp -> sp.getPredicateVar().getValue().stringValue())
+				.containsExactly("ex:p1", "ex:p3", "ex:p2");
+	}
+
+	private List<StatementPattern> optimize(String query, QueryJoinOptimizer optimizer) {
+		ParsedQuery pq = QueryParserUtil.parseQuery(QueryLanguage.SPARQL, query, null);
+		QueryRoot optRoot = new QueryRoot(pq.getTupleExpr());
+		optimizer.optimize(optRoot, null, null);
+
+		StatementFinder stmtFinder = new StatementFinder();
+		optRoot.visit(stmtFinder);
+		return stmtFinder.getStatements();
+	}
+
 	@Override
 	public QueryJoinOptimizer getOptimizer() {
 		return new QueryJoinOptimizer(new EvaluationStatistics());
@@ -223,6 +352,28 @@ public class QueryJoinOptimizerTest extends QueryOptimizerTest {
 		assertEquals(expected, actual);
 	}
 
+	/**
+	 * Estimates the cardinality of statement patterns from their predicate only.
+	 */
+	static class PredicateStatistics extends EvaluationStatistics {
+
+		private final Map<String, Double> cardinalities;
+
+		PredicateStatistics(Map<String, Double> cardinalities) {
+			this.cardinalities = cardinalities;
+		}
+
+		@Override
+		protected CardinalityCalculator createCardinalityCalculator() {
+			return new CardinalityCalculator() {
+				@Override
+				protected double getCardinality(StatementPattern sp) {
+					return cardinalities.get(sp.getPredicateVar().getValue().stringValue());
+				}
+			};
+		}
+	}
+
 	class JoinFinder extends AbstractQueryModelVisitor<RuntimeException> {
 
 		private Join join;
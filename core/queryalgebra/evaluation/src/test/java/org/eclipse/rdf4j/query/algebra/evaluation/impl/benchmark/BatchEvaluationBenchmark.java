@@ -0,0 +1,185 @@
+/*******************************************************************************
+ * Copyright (c) 2023 Eclipse RDF4J contributors.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Distribution License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/org/documents/edl-v10.php.
+ *
+ * SPDX-License-Identifier: BSD-3-Clause
+ *******************************************************************************/
+package org.eclipse.rdf4j.query.algebra.evaluation.impl.benchmark;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import org.eclipse.rdf4j.common.iteration.CloseableIteration;
+import org.eclipse.rdf4j.model.IRI;
+import org.eclipse.rdf4j.model.Model;
+import org.eclipse.rdf4j.model.ValueFactory;
+import org.eclipse.rdf4j.model.impl.LinkedHashModel;
+import org.eclipse.rdf4j.model.impl.SimpleValueFactory;
+import org.eclipse.rdf4j.model.vocabulary.RDF;
+import org.eclipse.rdf4j.model.vocabulary.RDFS;
+import org.eclipse.rdf4j.query.BindingSet;
+import org.eclipse.rdf4j.query.QueryEvaluationException;
+import org.eclipse.rdf4j.query.QueryLanguage;
+import org.eclipse.rdf4j.query.algebra.QueryRoot;
+import org.eclipse.rdf4j.query.algebra.TupleExpr;
+import org.eclipse.rdf4j.query.algebra.evaluation.impl.DefaultEvaluationStrategy;
+import org.eclipse.rdf4j.query.algebra.evaluation.impl.EvaluationStatistics;
+import org.eclipse.rdf4j.query.algebra.evaluation.impl.ModelTripleSource;
+import org.eclipse.rdf4j.query.impl.EmptyBindingSet;
+import org.eclipse.rdf4j.query.parser.QueryParserUtil;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+/**
+ * Compares row based and batch evaluation on BSBM shaped data and queries. A batch size of 0 is row based evaluation.
+ */
+@State(Scope.Benchmark)
+@Warmup(iterations = 5)
+@BenchmarkMode({ Mode.AverageTime })
+@Fork(value = 1, jvmArgs = { "-Xms1G", "-Xmx1G" })
+@Measurement(iterations = 10)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+public class BatchEvaluationBenchmark {
+
+	private static final String NS = "http://www4.wiwiss.fu-berlin.de/bizer/bsbm/v01/vocabulary/";
+
+	private static final String PREFIXES = "PREFIX bsbm: <" + NS + ">\n"
+			+ "PREFIX rdfs: <http://www.w3.org/2000/01/rdf-schema#>\n"
+			+ "PREFIX rdf: <http://www.w3.org/1999/02/22-rdf-syntax-ns#>\n";
+
+	// products of a type with two features and a numeric property above a threshold
+	private static final String QUERY_1 = PREFIXES
+			+ "SELECT DISTINCT ?product ?label WHERE {\n"
+			+ "  ?product rdfs:label ?label ; a bsbm:ProductType1 ;\n"
+			+ "    bsbm:productFeature bsbm:ProductFeature1 ; bsbm:productFeature bsbm:ProductFeature2 ;\n"
+			+ "    bsbm:productPropertyNumeric1 ?value1 .\n"
+			+ "  FILTER (?value1 > 100)\n"
+			+ "}";
+
+	// the details of all products, a star join
+	private static final String QUERY_2 = PREFIXES
+			+ "SELECT ?product ?label ?producer ?value1 ?value2 WHERE {\n"
+			+ "  ?product rdfs:label ?label ; bsbm:producer ?producer ;\n"
+			+ "    bsbm:productPropertyNumeric1 ?value1 ; bsbm:productPropertyNumeric2 ?value2 .\n"
+			+ "}";
+
+	// reviews joined with their products, with a computed value
+	private static final String QUERY_3 = PREFIXES
+			+ "SELECT ?review ?product ?score WHERE {\n"
+			+ "  ?review bsbm:reviewFor ?product ; bsbm:rating1 ?rating1 ; bsbm:rating2 ?rating2 .\n"
+			+ "  ?product bsbm:productPropertyNumeric1 ?value1 .\n"
+			+ "  FILTER (?rating1 > 3)\n"
+			+ "  BIND ((?rating1 + ?rating2) * ?value1 AS ?score)\n"
+			+ "}";
+
+	// the number of reviews per producer
+	private static final String QUERY_4 = PREFIXES
+			+ "SELECT ?producer (COUNT(?review) AS ?reviews) WHERE {\n"
+			+ "  ?review bsbm:reviewFor ?product .\n"
+			+ "  ?product bsbm:producer ?producer .\n"
+			+ "} GROUP BY ?producer";
+
+	@Param({ "0", "64", "256", "1024" })
+	public int batchSize;
+
+	private ModelTripleSource tripleSource;
+
+	public static void main(String[] args) throws RunnerException {
+		Options opt = new OptionsBuilder()
+				.include("BatchEvaluationBenchmark.*")
+				.build();
+
+		new Runner(opt).run();
+	}
+
+	@Setup
+	public void setup() {
+		ValueFactory vf = SimpleValueFactory.getInstance();
+		Model model = new LinkedHashModel();
+		Random random = new Random(4711);
+
+		IRI productFeature = vf.createIRI(NS, "productFeature");
+		IRI producerProperty = vf.createIRI(NS, "producer");
+		IRI numeric1 = vf.createIRI(NS, "productPropertyNumeric1");
+		IRI numeric2 = vf.createIRI(NS, "productPropertyNumeric2");
+		IRI reviewFor = vf.createIRI(NS, "reviewFor");
+		IRI rating1 = vf.createIRI(NS, "rating1");
+		IRI rating2 = vf.createIRI(NS, "rating2");
+
+		int products = 20_000;
+		for (int i = 0; i < products; i++) {
+			IRI product = vf.createIRI("http://example.org/product/" + i);
+			model.add(product, RDF.TYPE, vf.createIRI(NS, "ProductType" + random.nextInt(10)));
+			model.add(product, RDFS.LABEL, vf.createLiteral("product " + i));
+			model.add(product, producerProperty, vf.createIRI("http://example.org/producer/" + random.nextInt(100)));
+			model.add(product, numeric1, vf.createLiteral(random.nextInt(2000)));
+			model.add(product, numeric2, vf.createLiteral(random.nextInt(2000)));
+			for (int j = 0; j < 5; j++) {
+				model.add(product, productFeature, vf.createIRI(NS, "ProductFeature" + random.nextInt(20)));
+			}
+		}
+		for (int i = 0; i < products * 2; i++) {
+			IRI review = vf.createIRI("http://example.org/review/" + i);
+			model.add(review, reviewFor, vf.createIRI("http://example.org/product/" + random.nextInt(products)));
+			model.add(review, rating1, vf.createLiteral(random.nextInt(10)));
+			model.add(review, rating2, vf.createLiteral(random.nextInt(10)));
+		}
+
+		tripleSource = new ModelTripleSource(model);
+	}
+
+	@Benchmark
+	public long query1() {
+		return count(QUERY_1);
+	}
+
+	@Benchmark
+	public long query2() {
+		return count(QUERY_2);
+	}
+
+	@Benchmark
+	public long query3() {
+		return count(QUERY_3);
+	}
+
+	@Benchmark
+	public long query4() {
+		return count(QUERY_4);
+	}
+
+	private long count(String query) {
+		DefaultEvaluationStrategy strategy = new DefaultEvaluationStrategy(tripleSource, null);
+		strategy.setBatchSize(batchSize);
+		TupleExpr tupleExpr = QueryParserUtil.parseQuery(QueryLanguage.SPARQL, query, null).getTupleExpr();
+		QueryRoot root = new QueryRoot(tupleExpr.clone());
+		strategy.optimize(root, new EvaluationStatistics(), EmptyBindingSet.getInstance());
+
+		long count = 0;
+		try (CloseableIteration<BindingSet, QueryEvaluationException> result = strategy.precompile(root)
+				.evaluate(EmptyBindingSet.getInstance())) {
+			while (result.hasNext()) {
+				result.next();
+				count++;
+			}
+		}
+		return count;
+	}
+}
@@ -17,9 +17,11 @@ import java.time.Instant;
 import java.util.ArrayList;
 import java.util.Collections;
 import java.util.Date;
+import java.util.List;
 import java.util.function.Function;
 import java.util.function.Predicate;
 
+import org.eclipse.rdf4j.common.iteration.Iterations;
 import org.eclipse.rdf4j.model.Literal;
 import org.eclipse.rdf4j.model.Value;
 import org.eclipse.rdf4j.model.ValueFactory;
@@ -260,6 +262,91 @@ public class GroupIteratorTest {
 		}
 	}
 
+	@Test
+	public void testSpillToDisk() throws QueryEvaluationException {
+		Group group = new Group(largeAssignment());
+		group.addGroupBindingName("g");
+		group.addGroupElement(new GroupElem("count", new Count(new Var("a"))));
+		group.addGroupElement(new GroupElem("countAll", new Count(null)));
+		group.addGroupElement(new GroupElem("sum", new Sum(new Var("a"))));
+		group.addGroupElement(new GroupElem("avg", new Avg(new Var("a"))));
+		group.addGroupElement(new GroupElem("min", new Min(new Var("a"))));
+		group.addGroupElement(new GroupElem("max", new Max(new Var("a"), true)));
+
+		List<BindingSet> expected = evaluate(group, null);
+		assertThat(expected).hasSize(700);
+		// every partition holds more groups than the threshold, so they are partitioned again
+		assertThat(evaluate(group, "10")).containsExactlyInAnyOrderElementsOf(expected);
+		assertThat(evaluate(group, "699")).containsExactlyInAnyOrderElementsOf(expected);
+		assertThat(evaluate(group, "700")).containsExactlyInAnyOrderElementsOf(expected);
+	}
+
+	@Test
+	public void testSpillToDiskSample() throws QueryEvaluationException {
+		Group group = new Group(largeAssignment());
+		group.addGroupBindingName("g");
+		group.addGroupElement(new GroupElem("sample", new Sample(new Var("a"))));
+
+		List<BindingSet> result = evaluate(group, "10");
+		assertThat(result).hasSize(700).allMatch(bs -> bs.hasBinding("sample"));
+	}
+
+	@Test
+	public void testNoSpillToDiskForDistinct() throws QueryEvaluationException {
+		Group group = new Group(largeAssignment());
+		group.addGroupBindingName("g");
+		group.addGroupElement(new GroupElem("count", new Count(new Var("a"), true)));
+		group.addGroupElement(new GroupElem("concat", new GroupConcat(new Var("a"))));
+
+		List<BindingSet> expected = evaluate(group, null);
+		assertThat(evaluate(group, "10")).containsExactlyInAnyOrderElementsOf(expected);
+	}
+
+	@Test
+	public void testSpillToDiskEarlyClose() throws QueryEvaluationException {
+		Group group = new Group(largeAssignment());
+		group.addGroupBindingName("g");
+		group.addGroupElement(new GroupElem("count", new Count(new Var("a"))));
+
+		System.setProperty(GroupIterator.SPILL_THRESHOLD_PROPERTY, "10");
+		try (GroupIterator gi = new GroupIterator(evaluator, group, EmptyBindingSet.getInstance(), context)) {
+			assertThat(gi.next().hasBinding("count")).isTrue();
+			gi.close();
+			assertThat(gi.hasNext()).isFalse();
+		} finally {
+			System.clearProperty(GroupIterator.SPILL_THRESHOLD_PROPERTY);
+		}
+	}
+
+	private static List<BindingSet> evaluate(Group group, String spillThreshold) {
+		if (spillThreshold != null) {
+			System.setProperty(GroupIterator.SPILL_THRESHOLD_PROPERTY, spillThreshold);
+		}
+		try (GroupIterator gi = new GroupIterator(evaluator, group, EmptyBindingSet.getInstance(), context)) {
+			return Iterations.asList(gi);
+		} finally {
+			System.clearProperty(GroupIterator.SPILL_THRESHOLD_PROPERTY);
+		}
+	}
+
+	/**
+	 * @return 700 groups of numbers, one of which contains a value that is not a number
+	 */
+	private static BindingSetAssignment largeAssignment() {
+		var list = new ArrayList<BindingSet>();
+		for (int i = 0; i < 5000; i++) {
+			var bindings = new QueryBindingSet();
+			bindings.addBinding("g", vf.createIRI("urn:group:" + i % 700));
+			if (i % 13 != 0) {
+				bindings.addBinding("a", i == 1400 ? vf.createLiteral("NaN") : vf.createLiteral(i % 100));
+			}
+			list.add(bindings);
+		}
+		BindingSetAssignment assignment = new BindingSetAssignment();
+		assignment.setBindingSets(list);
+		return assignment;
+	}
+
 	/**
 	 * Dummy collector to verify custom aggregate functions
 	 */
@@ -0,0 +1,136 @@
+/*******************************************************************************
+ * Copyright (c) 2023 Eclipse RDF4J contributors.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Distribution License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/org/documents/edl-v10.php.
+ *
+ * SPDX-License-Identifier: BSD-3-Clause
+ *******************************************************************************/
+package org.eclipse.rdf4j.query.algebra.evaluation.iterator;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+
+import org.eclipse.rdf4j.common.iteration.CloseableIteration;
+import org.eclipse.rdf4j.model.IRI;
+import org.eclipse.rdf4j.model.Resource;
+import org.eclipse.rdf4j.model.Statement;
+import org.eclipse.rdf4j.model.Value;
+import org.eclipse.rdf4j.model.ValueFactory;
+import org.eclipse.rdf4j.model.impl.SimpleValueFactory;
+import org.eclipse.rdf4j.query.BindingSet;
+import org.eclipse.rdf4j.query.QueryEvaluationException;
+import org.eclipse.rdf4j.query.QueryResults;
+import org.eclipse.rdf4j.query.algebra.BindingSetAssignment;
+import org.eclipse.rdf4j.query.algebra.evaluation.EvaluationStrategy;
+import org.eclipse.rdf4j.query.algebra.evaluation.QueryBindingSet;
+import org.eclipse.rdf4j.query.algebra.evaluation.TripleSource;
+import org.eclipse.rdf4j.query.algebra.evaluation.impl.DefaultEvaluationStrategy;
+import org.eclipse.rdf4j.query.algebra.evaluation.impl.QueryEvaluationContext;
+import org.eclipse.rdf4j.query.impl.EmptyBindingSet;
+import org.junit.jupiter.api.Test;
+
+public class MergeJoinIteratorTest {
+
+	private final ValueFactory vf = SimpleValueFactory.getInstance();
+
+	private final EvaluationStrategy evaluator = new DefaultEvaluationStrategy(new TripleSource() {
+
+		@Override
+		public ValueFactory getValueFactory() {
+			return vf;
+		}
+
+		@Override
+		public CloseableIteration<? extends Statement, QueryEvaluationException> getStatements(Resource subj, IRI pred,
+				Value obj, Resource... contexts) throws QueryEvaluationException {
+			return null;
+		}
+	}, null);
+
+	private final QueryEvaluationContext context = new QueryEvaluationContext.Minimal(null);
+
+	private final Comparator<Value> comparator = Comparator.comparing(Value::stringValue);
+
+	@Test
+	public void testJoinGroups() {
+		BindingSetAssignment left = assignment("l", "a", "1", "b", "x", "b", "y", "c", "z", "d", "w");
+		BindingSetAssignment right = assignment("r", "b", "2", "b", "3", "c", "4", "e", "5");
+
+		List<BindingSet> result = evaluate(left, right);
+
+		assertThat(result).containsExactly(
+				bindingSet("b", "x", "2"), bindingSet("b", "x", "3"),
+				bindingSet("b", "y", "2"), bindingSet("b", "y", "3"),
+				bindingSet("c", "z", "4"));
+	}
+
+	@Test
+	public void testIncompatibleBindings() {
+		BindingSetAssignment left = new BindingSetAssignment();
+		QueryBindingSet leftBindings = new QueryBindingSet();
+		leftBindings.addBinding("j", vf.createLiteral("a"));
+		leftBindings.addBinding("l", vf.createLiteral("1"));
+		leftBindings.addBinding("r", vf.createLiteral("2"));
+		left.setBindingSets(List.of(leftBindings));
+		BindingSetAssignment right = new BindingSetAssignment();
+		QueryBindingSet compatible = new QueryBindingSet();
+		compatible.addBinding("j", vf.createLiteral("a"));
+		compatible.addBinding("l", vf.createLiteral("1"));
+		QueryBindingSet incompatible = new QueryBindingSet();
+		incompatible.addBinding("j", vf.createLiteral("a"));
+		incompatible.addBinding("l", vf.createLiteral("3"));
+		right.setBindingSets(List.of(incompatible, compatible));
+
+		List<BindingSet> result = evaluate(left, right);
+
+		assertThat(result).hasSize(1);
+		assertThat(result.get(0).getValue("r")).isEqualTo(vf.createLiteral("2"));
+	}
+
+	@Test
+	public void testEmpty() {
+		BindingSetAssignment left = assignment("l", "a", "1");
+		BindingSetAssignment right = assignment("r");
+
+		assertThat(evaluate(left, right)).isEmpty();
+		assertThat(evaluate(right, left)).isEmpty();
+	}
+
+	private List<BindingSet> evaluate(BindingSetAssignment left, BindingSetAssignment right) {
+		try (MergeJoinIterator iter = new MergeJoinIterator(evaluator.precompile(left, context),
+				evaluator.precompile(right, context), EmptyBindingSet.getInstance(), comparator, "j", context)) {
+			return QueryResults.asList(iter);
+		}
+	}
+
+	/**
+	 * @param name   the name of the other binding
+	 * @param values pairs of the join value and the value of the other binding
+	 */
+	private BindingSetAssignment assignment(String name, String... values) {
+		List<BindingSet> bindingSets = new ArrayList<>();
+		for (int i = 0; i < values.length; i += 2) {
+			QueryBindingSet bindingSet = new QueryBindingSet();
+			bindingSet.addBinding("j", vf.createLiteral(values[i]));
+			bindingSet.addBinding(name, vf.createLiteral(values[i + 1]));
+			bindingSets.add(bindingSet);
+		}
+		BindingSetAssignment assignment = new BindingSetAssignment();
+		assignment.setBindingSets(bindingSets);
+		return assignment;
+	}
+
+	private BindingSet bindingSet(String join, String left, String right) {
+		QueryBindingSet bindingSet = new QueryBindingSet();
+		bindingSet.addBinding("j", vf.createLiteral(join));
+		bindingSet.addBinding("l", vf.createLiteral(left));
+		bindingSet.addBinding("r", vf.createLiteral(right));
+		return bindingSet;
+	}
+}
@@ -13,6 +13,7 @@ package org.eclipse.rdf4j.query.algebra;
 import java.util.LinkedHashSet;
 import java.util.Set;
 
+import org.eclipse.rdf4j.common.annotation.Experimental;
 import org.eclipse.rdf4j.query.algebra.helpers.TupleExprs;
 
 /**
@@ -20,6 +21,8 @@ import org.eclipse.rdf4j.query.algebra.helpers.TupleExprs;
  */
 public class Join extends BinaryTupleOperator {
 
+	private boolean mergeJoin;
+
 	/*--------------*
 	 * Constructors *
 	 *--------------*/
@@ -47,6 +50,24 @@ public class Join extends BinaryTupleOperator {
 		return TupleExprs.containsSubquery(rightArg);
 	}
 
+	/**
+	 * @return <code>true</code> if both arguments of this Join produce their results in the order of the variable they
+	 *         are joined on, so that they can be joined by merging them.
+	 */
+	@Experimental
+	public boolean isMergeJoin() {
+		return mergeJoin;
+	}
+
+	/**
+	 * @param mergeJoin whether both arguments of this Join produce their results in the order of the variable they are
+	 *                  joined on
+	 */
+	@Experimental
+	public void setMergeJoin(boolean mergeJoin) {
+		this.mergeJoin = mergeJoin;
+	}
+
 	@Override
 	public Set<String> getBindingNames() {
 		Set<String> bindingNames = new LinkedHashSet<>(16);
@@ -18,6 +18,8 @@ import java.util.List;
 import java.util.Objects;
 import java.util.Set;
 
+import org.eclipse.rdf4j.common.annotation.Experimental;
+
 /**
  * A tuple expression that matches a statement pattern against an RDF graph. Statement patterns can be targeted at one
  * of three context scopes: all contexts, null context only, or named contexts only.
@@ -56,6 +58,9 @@ public class StatementPattern extends AbstractQueryModelNode implements TupleExp
 
 	private Var contextVar;
 
+	// the name of the variable that the matching statements are ordered by
+	private String order;
+
 	private Set<String> assuredBindingNames;
 	private List<Var> varList;
 
@@ -189,6 +194,34 @@ public class StatementPattern extends AbstractQueryModelNode implements TupleExp
 		resetCardinality();
 	}
 
+	/**
+	 * Gets the variable that the statements matching this pattern are ordered by.
+	 *
+	 * @return one of the variables of this pattern, or <var>null</var> if the statements are not ordered
+	 */
+	@Experimental
+	public Var getOrder() {
+		if (order == null) {
+			return null;
+		}
+		for (Var var : getVarList()) {
+			if (var.getName().equals(order)) {
+				return var;
+			}
+		}
+		return null;
+	}
+
+	/**
+	 * Sets the variable that the statements matching this pattern are ordered by.
+	 *
+	 * @param var one of the variables of this pattern, or <var>null</var> if the statements need not be ordered
+	 */
+	@Experimental
+	public void setOrder(Var var) {
+		order = var == null ? null : var.getName();
+	}
+
 	@Override
 	public Set<String> getBindingNames() {
 		return getAssuredBindingNames();
@@ -373,6 +406,10 @@ public class StatementPattern extends AbstractQueryModelNode implements TupleExp
 			sb.append(" FROM NAMED CONTEXT");
 		}
 
+		if (order != null) {
+			sb.append(" ORDER BY ").append(order);
+		}
+
 		return sb.toString();
 	}
 
@@ -63,6 +63,14 @@ public class TupleQueryResultFormat extends QueryResultFormat {
 	public static final TupleQueryResultFormat BINARY = new TupleQueryResultFormat("BINARY",
 			"application/x-binary-rdf-results-table", null, "brt", SUPPORTS_RDF_STAR);
 
+	/**
+	 * Binary RDF results format that encodes the results in compressed blocks of columns, with a dictionary of the
+	 * values of the results.
+	 */
+	@Experimental
+	public static final TupleQueryResultFormat BINARY_COLUMNAR = new TupleQueryResultFormat("BINARY-COLUMNAR",
+			"application/x-binary-rdf-results-columnar", null, "brc", SUPPORTS_RDF_STAR);
+
 	/**
 	 * SPARQL Query Results JSON Format.
 	 */
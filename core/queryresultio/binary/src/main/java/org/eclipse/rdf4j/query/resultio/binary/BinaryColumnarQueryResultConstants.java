@@ -0,0 +1,94 @@
+/*******************************************************************************
+ * Copyright (c) 2023 Eclipse RDF4J contributors.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Distribution License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/org/documents/edl-v10.php.
+ *
+ * SPDX-License-Identifier: BSD-3-Clause
+ *******************************************************************************/
+package org.eclipse.rdf4j.query.resultio.binary;
+
+/**
+ * Interface defining constants for the columnar binary table result format. Integers are encoded as variable length
+ * integers (see {@link org.eclipse.rdf4j.common.io.IOUtil#writeVarInt(java.io.OutputStream, int)}) and strings are
+ * encoded in UTF-8, preceded by the length in bytes of the encoded string as a variable length integer.
+ * <p>
+ * The file header consists of:
+ * <ul>
+ * <li>The ASCII codes for the string "BRTC", which stands for Binary RDF Table Columns.
+ * <li>The format version, as a 32-bit integer (high byte first).
+ * <li>The number of columns, followed by the column headers as strings.
+ * </ul>
+ * Zero or more records follow after the column headers. Each record starts with a record type marker (a single byte):
+ * <ul>
+ * <li><var>BLOCK</var> (byte value: 1):<br>
+ * A block of rows. The record type marker is followed by a byte for the compression of the block (<var>0</var> for
+ * none, <var>1</var> for deflate), the number of rows, the length of the uncompressed data and the length of the
+ * (compressed) data that follows.
+ * <p>
+ * The data starts with a byte that is <var>1</var> if the dictionary of values must be cleared before reading the
+ * block, followed by the number of values that are added to the dictionary and the values. The values of the dictionary
+ * are numbered in the order in which they are added, starting at 1. Following the values are the columns of the block,
+ * in the order of the column headers. Each column holds the dictionary number of the value of each row, or <var>0</var>
+ * if the row has no value for the column.
+ * <li><var>ERROR</var> (byte value: 126):<br>
+ * This record indicates an error. The type of error is indicated by the byte directly following the record type marker:
+ * <var>1</var> for a malformed query error, <var>2</var> for a query evaluation error. The error type byte is followed
+ * by a string for the error message.
+ * <li><var>TABLE_END</var> (byte value: 127):<br>
+ * This record indicates the end of the results table. Any data following this record should be ignored.
+ * </ul>
+ * Values start with a value type marker (a single byte):
+ * <ul>
+ * <li><var>URI</var> (byte value: 1), followed by a string for the URI.
+ * <li><var>BNODE</var> (byte value: 2), followed by a string for the bnode ID.
+ * <li><var>PLAIN_LITERAL</var> (byte value: 3), followed by a string for the label.
+ * <li><var>LANG_LITERAL</var> (byte value: 4), followed by strings for the label and the language.
+ * <li><var>DATATYPE_LITERAL</var> (byte value: 5), followed by strings for the label and the datatype.
+ * <li><var>TRIPLE</var> (byte value: 6), followed by the subject, predicate and object values of the triple.
+ * </ul>
+ */
+interface BinaryColumnarQueryResultConstants {
+
+	/**
+	 * Magic number for columnar Binary RDF Table Result files.
+	 */
+	byte[] MAGIC_NUMBER = new byte[] { 'B', 'R', 'T', 'C' };
+
+	/**
+	 * The version number of the current format.
+	 */
+	int FORMAT_VERSION = 1;
+
+	/* RECORD TYPES */
+	int BLOCK_RECORD_MARKER = 1;
+
+	int ERROR_RECORD_MARKER = 126;
+
+	int TABLE_END_RECORD_MARKER = 127;
+
+	/* VALUE TYPES */
+	int URI_VALUE_MARKER = 1;
+
+	int BNODE_VALUE_MARKER = 2;
+
+	int PLAIN_LITERAL_VALUE_MARKER = 3;
+
+	int LANG_LITERAL_VALUE_MARKER = 4;
+
+	int DATATYPE_LITERAL_VALUE_MARKER = 5;
+
+	int TRIPLE_VALUE_MARKER = 6;
+
+	/* BLOCK COMPRESSION */
+	int NO_COMPRESSION = 0;
+
+	int DEFLATE_COMPRESSION = 1;
+
+	/* ERROR TYPES */
+	int MALFORMED_QUERY_ERROR = 1;
+
+	int QUERY_EVALUATION_ERROR = 2;
+}
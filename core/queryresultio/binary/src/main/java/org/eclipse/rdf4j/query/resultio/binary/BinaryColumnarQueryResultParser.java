@@ -0,0 +1,346 @@
+/*******************************************************************************
+ * Copyright (c) 2023 Eclipse RDF4J contributors.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Distribution License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/org/documents/edl-v10.php.
+ *
+ * SPDX-License-Identifier: BSD-3-Clause
+ *******************************************************************************/
+package org.eclipse.rdf4j.query.resultio.binary;
+
+import static org.eclipse.rdf4j.common.io.IOUtil.readVarInt;
+import static org.eclipse.rdf4j.query.resultio.binary.BinaryColumnarQueryResultConstants.BLOCK_RECORD_MARKER;
+import static org.eclipse.rdf4j.query.resultio.binary.BinaryColumnarQueryResultConstants.BNODE_VALUE_MARKER;
+import static org.eclipse.rdf4j.query.resultio.binary.BinaryColumnarQueryResultConstants.DATATYPE_LITERAL_VALUE_MARKER;
+import static org.eclipse.rdf4j.query.resultio.binary.BinaryColumnarQueryResultConstants.DEFLATE_COMPRESSION;
+import static org.eclipse.rdf4j.query.resultio.binary.BinaryColumnarQueryResultConstants.ERROR_RECORD_MARKER;
+import static org.eclipse.rdf4j.query.resultio.binary.BinaryColumnarQueryResultConstants.FORMAT_VERSION;
+import static org.eclipse.rdf4j.query.resultio.binary.BinaryColumnarQueryResultConstants.LANG_LITERAL_VALUE_MARKER;
+import static org.eclipse.rdf4j.query.resultio.binary.BinaryColumnarQueryResultConstants.MAGIC_NUMBER;
+import static org.eclipse.rdf4j.query.resultio.binary.BinaryColumnarQueryResultConstants.MALFORMED_QUERY_ERROR;
+import static org.eclipse.rdf4j.query.resultio.binary.BinaryColumnarQueryResultConstants.NO_COMPRESSION;
+import static org.eclipse.rdf4j.query.resultio.binary.BinaryColumnarQueryResultConstants.PLAIN_LITERAL_VALUE_MARKER;
+import static org.eclipse.rdf4j.query.resultio.binary.BinaryColumnarQueryResultConstants.QUERY_EVALUATION_ERROR;
+import static org.eclipse.rdf4j.query.resultio.binary.BinaryColumnarQueryResultConstants.TABLE_END_RECORD_MARKER;
+import static org.eclipse.rdf4j.query.resultio.binary.BinaryColumnarQueryResultConstants.TRIPLE_VALUE_MARKER;
+import static org.eclipse.rdf4j.query.resultio.binary.BinaryColumnarQueryResultConstants.URI_VALUE_MARKER;
+
+import java.io.BufferedInputStream;
+import java.io.ByteArrayInputStream;
+import java.io.DataInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InterruptedIOException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.zip.DataFormatException;
+import java.util.zip.Inflater;
+
+import org.eclipse.rdf4j.common.annotation.Experimental;
+import org.eclipse.rdf4j.model.IRI;
+import org.eclipse.rdf4j.model.Resource;
+import org.eclipse.rdf4j.model.Value;
+import org.eclipse.rdf4j.model.ValueFactory;
+import org.eclipse.rdf4j.model.impl.SimpleValueFactory;
+import org.eclipse.rdf4j.query.BindingSet;
+import org.eclipse.rdf4j.query.TupleQueryResultHandlerException;
+import org.eclipse.rdf4j.query.impl.ListBindingSet;
+import org.eclipse.rdf4j.query.resultio.AbstractTupleQueryResultParser;
+import org.eclipse.rdf4j.query.resultio.QueryResultParseException;
+import org.eclipse.rdf4j.query.resultio.TupleQueryResultFormat;
+
+/**
+ * Reader for the columnar binary tuple result format. The format is explained in
+ * {@link BinaryColumnarQueryResultConstants}.
+ * <p>
+ * If the results consist of more than one block, the blocks after the first one are read and decoded by a background
+ * thread while the rows of the previous blocks are reported to the handler by the calling thread, so the
+ * {@link ValueFactory} of the parser must be thread-safe.
+ */
+@Experimental
+public class BinaryColumnarQueryResultParser extends AbstractTupleQueryResultParser {
+
+	/**
+	 * Marks the end of the blocks that are decoded by the background thread.
+	 */
+	private static final Object END = new Object();
+
+	private DataInputStream in;
+
+	private List<String> columnHeaders;
+
+	private Value[] dictionary = new Value[1024];
+
+	private int dictionarySize;
+
+	/**
+	 * Creates a new parser for the columnar binary query result format that will use an instance of
+	 * {@link SimpleValueFactory} to create Value objects.
+	 */
+	public BinaryColumnarQueryResultParser() {
+		super();
+	}
+
+	/**
+	 * Creates a new parser for the columnar binary query result format that will use the supplied ValueFactory to
+	 * create Value objects.
+	 */
+	public BinaryColumnarQueryResultParser(ValueFactory valueFactory) {
+		super(valueFactory);
+	}
+
+	@Override
+	public final TupleQueryResultFormat getTupleQueryResultFormat() {
+		return TupleQueryResultFormat.BINARY_COLUMNAR;
+	}
+
+	@Override
+	public synchronized void parse(InputStream in)
+			throws IOException, QueryResultParseException, TupleQueryResultHandlerException {
+		if (in == null) {
+			throw new IllegalArgumentException("Input stream can not be 'null'");
+		}
+
+		this.in = new DataInputStream(new BufferedInputStream(in));
+		dictionarySize = 0;
+
+		// Check magic number and format version
+		byte[] magicNumber = this.in.readNBytes(MAGIC_NUMBER.length);
+		if (!Arrays.equals(magicNumber, MAGIC_NUMBER)) {
+			throw new QueryResultParseException("File does not contain a columnar binary RDF table result");
+		}
+		int formatVersion = this.in.readInt();
+		if (formatVersion != FORMAT_VERSION) {
+			throw new QueryResultParseException("Incompatible format version: " + formatVersion);
+		}
+
+		// Read column headers
+		int columnCount = readVarInt(this.in);
+		List<String> headers = new ArrayList<>(columnCount);
+		for (int i = 0; i < columnCount; i++) {
+			headers.add(readString(this.in));
+		}
+		columnHeaders = Collections.unmodifiableList(headers);
+
+		if (handler != null) {
+			handler.startQueryResult(columnHeaders);
+		}
+
+		List<BindingSet> block = readBlock();
+		if (block != null) {
+			this.in.mark(1);
+			boolean last = this.in.readByte() == TABLE_END_RECORD_MARKER;
+			this.in.reset();
+			if (last) {
+				handleBlock(block);
+				readBlock();
+			} else {
+				parseInBackground(block);
+			}
+		}
+
+		if (handler != null) {
+			handler.endQueryResult();
+		}
+	}
+
+	/**
+	 * Reports the rows of the first block while the next blocks are read and decoded by a background thread.
+	 */
+	private void parseInBackground(List<BindingSet> first) throws IOException {
+		BlockingQueue<Object> decoded = new ArrayBlockingQueue<>(2);
+		Thread decoder = new Thread(() -> {
+			try {
+				List<BindingSet> block;
+				do {
+					block = readBlock();
+					decoded.put(block == null ? END : block);
+				} while (block != null);
+			} catch (InterruptedException e) {
+				// parsing was stopped
+			} catch (Throwable e) {
+				try {
+					decoded.put(e);
+				} catch (InterruptedException e1) {
+					// parsing was stopped
+				}
+			}
+		}, "Binary columnar query result decoder");
+		decoder.setDaemon(true);
+		decoder.start();
+
+		try {
+			handleBlock(first);
+			Object next;
+			while ((next = decoded.take()) != END) {
+				if (next instanceof Throwable) {
+					Throwable cause = (Throwable) next;
+					if (cause instanceof IOException) {
+						throw (IOException) cause;
+					} else if (cause instanceof RuntimeException) {
+						throw (RuntimeException) cause;
+					} else if (cause instanceof Error) {
+						throw (Error) cause;
+					}
+					throw new QueryResultParseException(cause);
+				}
+				@SuppressWarnings("unchecked")
+				List<BindingSet> block = (List<BindingSet>) next;
+				handleBlock(block);
+			}
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+			throw new InterruptedIOException("Interrupted while parsing");
+		} finally {
+			decoder.interrupt();
+		}
+	}
+
+	private void handleBlock(List<BindingSet> block) {
+		if (handler != null) {
+			for (BindingSet bindingSet : block) {
+				handler.handleSolution(bindingSet);
+			}
+		}
+	}
+
+	/**
+	 * Reads the next block.
+	 *
+	 * @return the rows of the block, or <var>null</var> if the end of the results table has been reached
+	 */
+	private List<BindingSet> readBlock() throws IOException {
+		int recordTypeMarker = in.readByte();
+		if (recordTypeMarker == TABLE_END_RECORD_MARKER) {
+			return null;
+		} else if (recordTypeMarker == ERROR_RECORD_MARKER) {
+			processError();
+		} else if (recordTypeMarker != BLOCK_RECORD_MARKER) {
+			throw new QueryResultParseException("Unexpected record type: " + recordTypeMarker);
+		}
+
+		int codec = in.readByte();
+		int rows = readVarInt(in);
+		int length = readVarInt(in);
+		int storedLength = readVarInt(in);
+		byte[] data = new byte[storedLength];
+		in.readFully(data);
+
+		if (codec == DEFLATE_COMPRESSION) {
+			data = inflate(data, length);
+		} else if (codec != NO_COMPRESSION) {
+			throw new QueryResultParseException("Unknown block compression: " + codec);
+		}
+
+		DataInputStream block = new DataInputStream(new ByteArrayInputStream(data));
+		if (block.readByte() == 1) {
+			dictionarySize = 0;
+		}
+		int newValues = readVarInt(block);
+		if (dictionarySize + newValues > dictionary.length) {
+			dictionary = Arrays.copyOf(dictionary, Math.max(dictionarySize + newValues, dictionary.length * 2));
+		}
+		for (int i = 0; i < newValues; i++) {
+			dictionary[dictionarySize++] = readValue(block);
+		}
+
+		int columnCount = columnHeaders.size();
+		Value[][] values = new Value[rows][columnCount];
+		for (int column = 0; column < columnCount; column++) {
+			for (int row = 0; row < rows; row++) {
+				int id = readVarInt(block);
+				if (id > dictionarySize) {
+					throw new QueryResultParseException("Unknown value: " + id);
+				}
+				values[row][column] = id == 0 ? null : dictionary[id - 1];
+			}
+		}
+
+		List<BindingSet> bindingSets = new ArrayList<>(rows);
+		for (Value[] row : values) {
+			bindingSets.add(new ListBindingSet(columnHeaders, row));
+		}
+		return bindingSets;
+	}
+
+	private static byte[] inflate(byte[] compressed, int length) throws QueryResultParseException {
+		byte[] data = new byte[length];
+		Inflater inflater = new Inflater();
+		try {
+			inflater.setInput(compressed);
+			int inflated = 0;
+			while (inflated < length && !inflater.finished()) {
+				int n = inflater.inflate(data, inflated, length - inflated);
+				if (n == 0 && (inflater.needsInput() || inflater.needsDictionary())) {
+					break;
+				}
+				inflated += n;
+			}
+			if (inflated != length) {
+				throw new QueryResultParseException("Invalid block length: " + inflated);
+			}
+			return data;
+		} catch (DataFormatException e) {
+			throw new QueryResultParseException(e);
+		} finally {
+			inflater.end();
+		}
+	}
+
+	private void processError() throws IOException, QueryResultParseException {
+		byte errTypeFlag = in.readByte();
+
+		QueryErrorType errType;
+		if (errTypeFlag == MALFORMED_QUERY_ERROR) {
+			errType = QueryErrorType.MALFORMED_QUERY_ERROR;
+		} else if (errTypeFlag == QUERY_EVALUATION_ERROR) {
+			errType = QueryErrorType.QUERY_EVALUATION_ERROR;
+		} else {
+			throw new QueryResultParseException("Unkown error type: " + errTypeFlag);
+		}
+
+		throw new QueryResultParseException(errType + ": " + readString(in));
+	}
+
+	private Value readValue(DataInputStream block) throws IOException {
+		int valueTypeMarker = block.readByte();
+		switch (valueTypeMarker) {
+		case URI_VALUE_MARKER:
+			return valueFactory.createIRI(readString(block));
+		case BNODE_VALUE_MARKER:
+			return valueFactory.createBNode(readString(block));
+		case PLAIN_LITERAL_VALUE_MARKER:
+			return valueFactory.createLiteral(readString(block));
+		case LANG_LITERAL_VALUE_MARKER:
+			String label = readString(block);
+			return valueFactory.createLiteral(label, readString(block));
+		case DATATYPE_LITERAL_VALUE_MARKER:
+			label = readString(block);
+			return valueFactory.createLiteral(label, valueFactory.createIRI(readString(block)));
+		case TRIPLE_VALUE_MARKER:
+			Value subject = readValue(block);
+			Value predicate = readValue(block);
+			Value object = readValue(block);
+			if (!(subject instanceof Resource) || !(predicate instanceof IRI)) {
+				throw new QueryResultParseException("Invalid RDF-star triple value");
+			}
+			return valueFactory.createTriple((Resource) subject, (IRI) predicate, object);
+		default:
+			throw new QueryResultParseException("Unexpected value type: " + valueTypeMarker);
+		}
+	}
+
+	private static String readString(DataInputStream in) throws IOException {
+		int length = readVarInt(in);
+		byte[] bytes = new byte[length];
+		in.readFully(bytes);
+		return new String(bytes, StandardCharsets.UTF_8);
+	}
+}
@@ -0,0 +1,403 @@
+/*******************************************************************************
+ * Copyright (c) 2023 Eclipse RDF4J contributors.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Distribution License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/org/documents/edl-v10.php.
+ *
+ * SPDX-License-Identifier: BSD-3-Clause
+ *******************************************************************************/
+package org.eclipse.rdf4j.query.resultio.binary;
+
+import static org.eclipse.rdf4j.common.io.IOUtil.writeVarInt;
+import static org.eclipse.rdf4j.query.resultio.binary.BinaryColumnarQueryResultConstants.BLOCK_RECORD_MARKER;
+import static org.eclipse.rdf4j.query.resultio.binary.BinaryColumnarQueryResultConstants.BNODE_VALUE_MARKER;
+import static org.eclipse.rdf4j.query.resultio.binary.BinaryColumnarQueryResultConstants.DATATYPE_LITERAL_VALUE_MARKER;
+import static org.eclipse.rdf4j.query.resultio.binary.BinaryColumnarQueryResultConstants.DEFLATE_COMPRESSION;
+import static org.eclipse.rdf4j.query.resultio.binary.BinaryColumnarQueryResultConstants.ERROR_RECORD_MARKER;
+import static org.eclipse.rdf4j.query.resultio.binary.BinaryColumnarQueryResultConstants.FORMAT_VERSION;
+import static org.eclipse.rdf4j.query.resultio.binary.BinaryColumnarQueryResultConstants.LANG_LITERAL_VALUE_MARKER;
+import static org.eclipse.rdf4j.query.resultio.binary.BinaryColumnarQueryResultConstants.MAGIC_NUMBER;
+import static org.eclipse.rdf4j.query.resultio.binary.BinaryColumnarQueryResultConstants.MALFORMED_QUERY_ERROR;
+import static org.eclipse.rdf4j.query.resultio.binary.BinaryColumnarQueryResultConstants.NO_COMPRESSION;
+import static org.eclipse.rdf4j.query.resultio.binary.BinaryColumnarQueryResultConstants.PLAIN_LITERAL_VALUE_MARKER;
+import static org.eclipse.rdf4j.query.resultio.binary.BinaryColumnarQueryResultConstants.QUERY_EVALUATION_ERROR;
+import static org.eclipse.rdf4j.query.resultio.binary.BinaryColumnarQueryResultConstants.TABLE_END_RECORD_MARKER;
+import static org.eclipse.rdf4j.query.resultio.binary.BinaryColumnarQueryResultConstants.TRIPLE_VALUE_MARKER;
+import static org.eclipse.rdf4j.query.resultio.binary.BinaryColumnarQueryResultConstants.URI_VALUE_MARKER;
+
+import java.io.BufferedOutputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.zip.Deflater;
+
+import org.eclipse.rdf4j.common.annotation.Experimental;
+import org.eclipse.rdf4j.common.io.ByteSink;
+import org.eclipse.rdf4j.model.BNode;
+import org.eclipse.rdf4j.model.IRI;
+import org.eclipse.rdf4j.model.Literal;
+import org.eclipse.rdf4j.model.Triple;
+import org.eclipse.rdf4j.model.Value;
+import org.eclipse.rdf4j.model.util.Literals;
+import org.eclipse.rdf4j.model.vocabulary.XSD;
+import org.eclipse.rdf4j.query.BindingSet;
+import org.eclipse.rdf4j.query.QueryResultHandlerException;
+import org.eclipse.rdf4j.query.TupleQueryResultHandlerException;
+import org.eclipse.rdf4j.query.resultio.AbstractQueryResultWriter;
+import org.eclipse.rdf4j.query.resultio.TupleQueryResultFormat;
+import org.eclipse.rdf4j.query.resultio.TupleQueryResultWriter;
+import org.eclipse.rdf4j.rio.RioSetting;
+import org.eclipse.rdf4j.rio.WriterConfig;
+
+/**
+ * Writer for the columnar binary tuple result format. The format is explained in
+ * {@link BinaryColumnarQueryResultConstants}.
+ * <p>
+ * The rows are buffered in blocks of {@link BinaryColumnarQueryResultWriterSettings#BLOCK_SIZE} rows, which are written
+ * column by column. Every distinct value is written once, the first time it occurs, and then referred to by its number
+ * in the dictionary of values.
+ */
+@Experimental
+public class BinaryColumnarQueryResultWriter extends AbstractQueryResultWriter
+		implements TupleQueryResultWriter, ByteSink {
+
+	/**
+	 * The output stream to write the results table to.
+	 */
+	private final DataOutputStream out;
+
+	private boolean documentStarted = false;
+
+	private boolean tupleVariablesFound = false;
+
+	private List<String> bindingNames;
+
+	private int blockSize;
+
+	private int dictionarySize;
+
+	private Deflater deflater;
+
+	/**
+	 * The numbers of the values in the dictionary, starting at 1.
+	 */
+	private final Map<Value, Integer> dictionary = new HashMap<>();
+
+	/**
+	 * The values that have been added to the dictionary by the rows of the current block.
+	 */
+	private final List<Value> newValues = new ArrayList<>();
+
+	private boolean clearDictionary;
+
+	/**
+	 * The dictionary numbers of the values of the rows of the current block, per column.
+	 */
+	private int[][] columns;
+
+	private int rows;
+
+	private int capacity;
+
+	public BinaryColumnarQueryResultWriter(OutputStream out) {
+		this.out = new DataOutputStream(new BufferedOutputStream(out));
+	}
+
+	@Override
+	public OutputStream getOutputStream() {
+		return out;
+	}
+
+	@Override
+	public final TupleQueryResultFormat getTupleQueryResultFormat() {
+		return TupleQueryResultFormat.BINARY_COLUMNAR;
+	}
+
+	@Override
+	public final TupleQueryResultFormat getQueryResultFormat() {
+		return getTupleQueryResultFormat();
+	}
+
+	@Override
+	public Collection<RioSetting<?>> getSupportedSettings() {
+		return List.of(BinaryColumnarQueryResultWriterSettings.BLOCK_SIZE,
+				BinaryColumnarQueryResultWriterSettings.DICTIONARY_SIZE,
+				BinaryColumnarQueryResultWriterSettings.COMPRESSION);
+	}
+
+	@Override
+	public void startDocument() throws TupleQueryResultHandlerException {
+		documentStarted = true;
+		try {
+			out.write(MAGIC_NUMBER);
+			out.writeInt(FORMAT_VERSION);
+		} catch (IOException e) {
+			throw new TupleQueryResultHandlerException(e);
+		}
+	}
+
+	@Override
+	public void startQueryResult(List<String> bindingNames) throws TupleQueryResultHandlerException {
+		super.startQueryResult(bindingNames);
+
+		tupleVariablesFound = true;
+
+		if (!documentStarted) {
+			startDocument();
+		}
+
+		WriterConfig config = getWriterConfig();
+		blockSize = (int) Math.max(1, Math.min(config.get(BinaryColumnarQueryResultWriterSettings.BLOCK_SIZE),
+				Integer.MAX_VALUE / 8));
+		dictionarySize = (int) Math.max(1,
+				Math.min(config.get(BinaryColumnarQueryResultWriterSettings.DICTIONARY_SIZE), Integer.MAX_VALUE));
+		String compression = config.get(BinaryColumnarQueryResultWriterSettings.COMPRESSION);
+		if ("deflate".equalsIgnoreCase(compression)) {
+			deflater = new Deflater();
+		} else if (!"none".equalsIgnoreCase(compression)) {
+			throw new IllegalArgumentException("Unsupported compression: " + compression);
+		}
+
+		this.bindingNames = new ArrayList<>(bindingNames);
+		capacity = Math.min(blockSize, 1024);
+		columns = new int[this.bindingNames.size()][capacity];
+		rows = 0;
+		dictionary.clear();
+		newValues.clear();
+
+		try {
+			writeVarInt(out, this.bindingNames.size());
+			for (String bindingName : this.bindingNames) {
+				writeString(out, bindingName);
+			}
+		} catch (IOException e) {
+			throw new TupleQueryResultHandlerException(e);
+		}
+	}
+
+	@Override
+	public void endQueryResult() throws TupleQueryResultHandlerException {
+		if (!tupleVariablesFound) {
+			throw new IllegalStateException("Could not end query result as startQueryResult was not called first.");
+		}
+
+		try {
+			if (rows > 0) {
+				writeBlock();
+			}
+			out.writeByte(TABLE_END_RECORD_MARKER);
+			endDocument();
+		} catch (IOException e) {
+			throw new TupleQueryResultHandlerException(e);
+		}
+	}
+
+	@Override
+	protected void handleSolutionImpl(BindingSet bindingSet) throws TupleQueryResultHandlerException {
+		if (!tupleVariablesFound) {
+			throw new IllegalStateException("Must call startQueryResult before handleSolution");
+		}
+
+		if (dictionary.size() + columns.length > dictionarySize) {
+			// the values of this row might not fit in the dictionary
+			try {
+				if (rows > 0) {
+					writeBlock();
+				}
+			} catch (IOException e) {
+				throw new TupleQueryResultHandlerException(e);
+			}
+			dictionary.clear();
+			clearDictionary = true;
+		}
+
+		if (rows == capacity) {
+			capacity = Math.min(blockSize, capacity * 2);
+			for (int i = 0; i < columns.length; i++) {
+				columns[i] = Arrays.copyOf(columns[i], capacity);
+			}
+		}
+		for (int i = 0; i < columns.length; i++) {
+			Value value = bindingSet.getValue(bindingNames.get(i));
+			columns[i][rows] = value == null ? 0 : getId(value);
+		}
+		rows++;
+
+		if (rows == blockSize) {
+			try {
+				writeBlock();
+			} catch (IOException e) {
+				throw new TupleQueryResultHandlerException(e);
+			}
+		}
+	}
+
+	private int getId(Value value) {
+		Integer id = dictionary.get(value);
+		if (id == null) {
+			id = dictionary.size() + 1;
+			dictionary.put(value, id);
+			newValues.add(value);
+		}
+		return id;
+	}
+
+	/**
+	 * Writes the new values of the dictionary and the columns of the current block, compressed if that makes the block
+	 * smaller.
+	 */
+	private void writeBlock() throws IOException {
+		ByteArrayOutputStream data = new ByteArrayOutputStream(rows * columns.length * 2 + newValues.size() * 32 + 8);
+		data.write(clearDictionary ? 1 : 0);
+		writeVarInt(data, newValues.size());
+		for (Value value : newValues) {
+			writeValue(data, value);
+		}
+		for (int[] column : columns) {
+			for (int i = 0; i < rows; i++) {
+				writeVarInt(data, column[i]);
+			}
+		}
+
+		byte[] bytes = data.toByteArray();
+		byte[] stored = bytes;
+		int storedLength = bytes.length;
+		int codec = NO_COMPRESSION;
+		if (deflater != null) {
+			byte[] compressed = new byte[bytes.length];
+			deflater.reset();
+			deflater.setInput(bytes);
+			deflater.finish();
+			int length = 0;
+			while (!deflater.finished() && length < compressed.length) {
+				length += deflater.deflate(compressed, length, compressed.length - length);
+			}
+			if (deflater.finished() && length < bytes.length) {
+				stored = compressed;
+				storedLength = length;
+				codec = DEFLATE_COMPRESSION;
+			}
+		}
+
+		out.writeByte(BLOCK_RECORD_MARKER);
+		out.writeByte(codec);
+		writeVarInt(out, rows);
+		writeVarInt(out, bytes.length);
+		writeVarInt(out, storedLength);
+		out.write(stored, 0, storedLength);
+
+		newValues.clear();
+		clearDictionary = false;
+		rows = 0;
+	}
+
+	private void writeValue(OutputStream data, Value value) throws IOException {
+		if (value instanceof IRI) {
+			data.write(URI_VALUE_MARKER);
+			writeString(data, value.stringValue());
+		} else if (value instanceof BNode) {
+			data.write(BNODE_VALUE_MARKER);
+			writeString(data, ((BNode) value).getID());
+		} else if (value instanceof Literal) {
+			Literal literal = (Literal) value;
+			if (Literals.isLanguageLiteral(literal)) {
+				data.write(LANG_LITERAL_VALUE_MARKER);
+				writeString(data, literal.getLabel());
+				writeString(data, literal.getLanguage().get());
+			} else if (XSD.STRING.equals(literal.getDatatype())) {
+				data.write(PLAIN_LITERAL_VALUE_MARKER);
+				writeString(data, literal.getLabel());
+			} else {
+				data.write(DATATYPE_LITERAL_VALUE_MARKER);
+				writeString(data, literal.getLabel());
+				writeString(data, literal.getDatatype().stringValue());
+			}
+		} else if (value instanceof Triple) {
+			Triple triple = (Triple) value;
+			data.write(TRIPLE_VALUE_MARKER);
+			writeValue(data, triple.getSubject());
+			writeValue(data, triple.getPredicate());
+			writeValue(data, triple.getObject());
+		} else {
+			throw new TupleQueryResultHandlerException("Unknown Value object type: " + value.getClass());
+		}
+	}
+
+	private static void writeString(OutputStream data, String s) throws IOException {
+		byte[] bytes = s.getBytes(StandardCharsets.UTF_8);
+		writeVarInt(data, bytes.length);
+		data.write(bytes);
+	}
+
+	/**
+	 * Writes an error msg to the stream.
+	 *
+	 * @param errType The error type.
+	 * @param msg     The error message.
+	 * @throws IOException When the error could not be written to the stream.
+	 */
+	public void error(QueryErrorType errType, String msg) throws IOException {
+		if (rows > 0) {
+			writeBlock();
+		}
+		out.writeByte(ERROR_RECORD_MARKER);
+
+		if (errType == QueryErrorType.MALFORMED_QUERY_ERROR) {
+			out.writeByte(MALFORMED_QUERY_ERROR);
+		} else {
+			out.writeByte(QUERY_EVALUATION_ERROR);
+		}
+
+		writeString(out, msg);
+		out.flush();
+	}
+
+	@Override
+	public void handleNamespace(String prefix, String uri) throws QueryResultHandlerException {
+		// Binary format does not support explicit setting of namespace prefixes.
+	}
+
+	@Override
+	public void handleStylesheet(String stylesheetUrl) throws QueryResultHandlerException {
+		// Ignored by Binary Query Results format
+	}
+
+	@Override
+	public void startHeader() throws QueryResultHandlerException {
+		// Ignored by Binary Query Results format
+	}
+
+	@Override
+	public void handleLinks(List<String> linkUrls) throws QueryResultHandlerException {
+		// Ignored by Binary Query Results format
+	}
+
+	@Override
+	public void endHeader() throws QueryResultHandlerException {
+		// Ignored by Binary Query Results format
+	}
+
+	private void endDocument() throws IOException {
+		out.flush();
+		documentStarted = false;
+		if (deflater != null) {
+			deflater.end();
+			deflater = null;
+		}
+	}
+
+	@Override
+	public void handleBoolean(boolean value) throws QueryResultHandlerException {
+		throw new UnsupportedOperationException("Cannot handle boolean results");
+	}
+}
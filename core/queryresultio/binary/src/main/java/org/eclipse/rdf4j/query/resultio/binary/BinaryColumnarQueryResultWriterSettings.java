@@ -0,0 +1,64 @@
+/*******************************************************************************
+ * Copyright (c) 2023 Eclipse RDF4J contributors.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Distribution License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/org/documents/edl-v10.php.
+ *
+ * SPDX-License-Identifier: BSD-3-Clause
+ *******************************************************************************/
+package org.eclipse.rdf4j.query.resultio.binary;
+
+import org.eclipse.rdf4j.common.annotation.Experimental;
+import org.eclipse.rdf4j.rio.RioSetting;
+import org.eclipse.rdf4j.rio.helpers.LongRioSetting;
+import org.eclipse.rdf4j.rio.helpers.StringRioSetting;
+
+/**
+ * WriterSettings for the columnar binary query result writer.
+ *
+ * @since 4.3.2
+ */
+@Experimental
+public class BinaryColumnarQueryResultWriterSettings {
+
+	/**
+	 * Setting for the number of rows per block. Larger blocks compress better, but the parser can only report the rows
+	 * of a block once it has been received completely.
+	 * <p>
+	 * Defaults to {@code 4096}.
+	 * <p>
+	 * Can be overridden by setting system property {@code org.eclipse.rdf4j.query.resultio.binary.block_size}
+	 */
+	public static final RioSetting<Long> BLOCK_SIZE = new LongRioSetting(
+			"org.eclipse.rdf4j.query.resultio.binary.block_size", "Rows per block", 4096L);
+
+	/**
+	 * Setting for the maximum number of values in the dictionary of values that is shared by the blocks. The dictionary
+	 * is cleared when a block would exceed it, which limits the memory used by the writer and the parser.
+	 * <p>
+	 * Defaults to {@code 262144}.
+	 * <p>
+	 * Can be overridden by setting system property {@code org.eclipse.rdf4j.query.resultio.binary.dictionary_size}
+	 */
+	public static final RioSetting<Long> DICTIONARY_SIZE = new LongRioSetting(
+			"org.eclipse.rdf4j.query.resultio.binary.dictionary_size", "Maximum dictionary size", 262144L);
+
+	/**
+	 * Setting for the compression of the blocks. Supported values are {@code "deflate"} and {@code "none"}. Blocks that
+	 * do not get smaller are written uncompressed.
+	 * <p>
+	 * Defaults to {@code "deflate"}.
+	 * <p>
+	 * Can be overridden by setting system property {@code org.eclipse.rdf4j.query.resultio.binary.compression}
+	 */
+	public static final RioSetting<String> COMPRESSION = new StringRioSetting(
+			"org.eclipse.rdf4j.query.resultio.binary.compression", "Block compression", "deflate");
+
+	/**
+	 * Private constructor
+	 */
+	private BinaryColumnarQueryResultWriterSettings() {
+	}
+}
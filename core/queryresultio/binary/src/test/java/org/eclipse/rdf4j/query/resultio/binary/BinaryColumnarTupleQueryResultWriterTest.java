@@ -0,0 +1,134 @@
+/*******************************************************************************
+ * Copyright (c) 2023 Eclipse RDF4J contributors.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Distribution License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/org/documents/edl-v10.php.
+ *
+ * SPDX-License-Identifier: BSD-3-Clause
+ *******************************************************************************/
+package org.eclipse.rdf4j.query.resultio.binary;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.eclipse.rdf4j.model.Value;
+import org.eclipse.rdf4j.model.vocabulary.XSD;
+import org.eclipse.rdf4j.query.BindingSet;
+import org.eclipse.rdf4j.query.impl.ListBindingSet;
+import org.eclipse.rdf4j.query.resultio.QueryResultParseException;
+import org.eclipse.rdf4j.query.resultio.TupleQueryResultParserFactory;
+import org.eclipse.rdf4j.query.resultio.TupleQueryResultWriter;
+import org.eclipse.rdf4j.query.resultio.TupleQueryResultWriterFactory;
+import org.eclipse.rdf4j.query.resultio.helpers.QueryResultCollector;
+import org.eclipse.rdf4j.rio.RioSetting;
+import org.eclipse.rdf4j.testsuite.query.resultio.AbstractTupleQueryResultWriterTest;
+import org.junit.jupiter.api.Test;
+
+public class BinaryColumnarTupleQueryResultWriterTest extends AbstractTupleQueryResultWriterTest {
+
+	private static final List<String> BINDING_NAMES = List.of("s", "o", "g");
+
+	@Override
+	protected TupleQueryResultParserFactory getParserFactory() {
+		return new BinaryColumnarQueryResultParserFactory();
+	}
+
+	@Override
+	protected TupleQueryResultWriterFactory getWriterFactory() {
+		return new BinaryColumnarQueryResultWriterFactory();
+	}
+
+	@Override
+	protected RioSetting<?>[] getExpectedSupportedSettings() {
+		return new RioSetting<?>[] {
+				BinaryColumnarQueryResultWriterSettings.BLOCK_SIZE,
+				BinaryColumnarQueryResultWriterSettings.DICTIONARY_SIZE,
+				BinaryColumnarQueryResultWriterSettings.COMPRESSION
+		};
+	}
+
+	@Test
+	public void testBlocks() throws Exception {
+		List<BindingSet> expected = createBindingSets(10_000);
+
+		byte[] deflated = write(expected, "deflate", 1000);
+		byte[] stored = write(expected, "none", 1000);
+		byte[] smallDictionary = write(expected, "deflate", 50);
+		assertThat(deflated.length).isLessThan(stored.length / 2);
+
+		for (byte[] bytes : List.of(deflated, stored, smallDictionary)) {
+			assertThat(parse(bytes)).isEqualTo(expected);
+		}
+		assertThat(parse(write(expected.subList(0, 10), "deflate", 1000))).isEqualTo(expected.subList(0, 10));
+		assertThat(parse(write(List.of(), "deflate", 1000))).isEmpty();
+	}
+
+	@Test
+	public void testError() throws Exception {
+		ByteArrayOutputStream out = new ByteArrayOutputStream();
+		BinaryColumnarQueryResultWriter writer = new BinaryColumnarQueryResultWriter(out);
+		writer.getWriterConfig().set(BinaryColumnarQueryResultWriterSettings.BLOCK_SIZE, 100L);
+		writer.startQueryResult(BINDING_NAMES);
+		for (BindingSet bindingSet : createBindingSets(1000)) {
+			writer.handleSolution(bindingSet);
+		}
+		writer.error(QueryErrorType.QUERY_EVALUATION_ERROR, "timeout");
+
+		assertThatThrownBy(() -> parse(out.toByteArray())).isInstanceOf(QueryResultParseException.class)
+				.hasMessageContaining("timeout");
+	}
+
+	private List<BindingSet> createBindingSets(int size) {
+		List<BindingSet> bindingSets = new ArrayList<>(size);
+		for (int i = 0; i < size; i++) {
+			Value s = vf.createIRI("http://example.org/s" + i / 3);
+			Value o;
+			switch (i % 4) {
+			case 0:
+				o = vf.createLiteral(i);
+				break;
+			case 1:
+				o = vf.createLiteral("label " + i % 100, "en");
+				break;
+			case 2:
+				o = vf.createLiteral("plain " + i % 100, XSD.STRING);
+				break;
+			default:
+				o = vf.createBNode("b" + i % 10);
+			}
+			Value g = i % 5 == 0 ? null : vf.createIRI("http://example.org/g" + i % 2);
+			bindingSets.add(new ListBindingSet(BINDING_NAMES, s, o, g));
+		}
+		return bindingSets;
+	}
+
+	private byte[] write(List<BindingSet> bindingSets, String compression, long dictionarySize) {
+		ByteArrayOutputStream out = new ByteArrayOutputStream();
+		TupleQueryResultWriter writer = getWriterFactory().getWriter(out);
+		writer.getWriterConfig().set(BinaryColumnarQueryResultWriterSettings.BLOCK_SIZE, 512L);
+		writer.getWriterConfig().set(BinaryColumnarQueryResultWriterSettings.DICTIONARY_SIZE, dictionarySize);
+		writer.getWriterConfig().set(BinaryColumnarQueryResultWriterSettings.COMPRESSION, compression);
+		writer.startQueryResult(BINDING_NAMES);
+		for (BindingSet bindingSet : bindingSets) {
+			writer.handleSolution(bindingSet);
+		}
+		writer.endQueryResult();
+		return out.toByteArray();
+	}
+
+	private List<BindingSet> parse(byte[] bytes) throws Exception {
+		QueryResultCollector collector = new QueryResultCollector();
+		BinaryColumnarQueryResultParser parser = new BinaryColumnarQueryResultParser();
+		parser.setQueryResultHandler(collector);
+		parser.parseQueryResult(new ByteArrayInputStream(bytes));
+		assertThat(collector.getBindingNames()).isEqualTo(BINDING_NAMES);
+		return collector.getBindingSets();
+	}
+}
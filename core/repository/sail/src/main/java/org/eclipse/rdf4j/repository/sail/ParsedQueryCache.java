@@ -0,0 +1,149 @@
+/*******************************************************************************
+ * Copyright (c) 2023 Eclipse RDF4J contributors.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Distribution License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/org/documents/edl-v10.php.
+ *
+ * SPDX-License-Identifier: BSD-3-Clause
+ *******************************************************************************/
+package org.eclipse.rdf4j.repository.sail;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Objects;
+
+import org.eclipse.rdf4j.query.MalformedQueryException;
+import org.eclipse.rdf4j.query.QueryLanguage;
+import org.eclipse.rdf4j.query.algebra.TupleExpr;
+import org.eclipse.rdf4j.query.parser.ParsedBooleanQuery;
+import org.eclipse.rdf4j.query.parser.ParsedDescribeQuery;
+import org.eclipse.rdf4j.query.parser.ParsedGraphQuery;
+import org.eclipse.rdf4j.query.parser.ParsedQuery;
+import org.eclipse.rdf4j.query.parser.ParsedTupleQuery;
+import org.eclipse.rdf4j.query.parser.QueryParserUtil;
+
+/**
+ * A least recently used cache of parsed queries, keyed by query language, query string and base URI. The cached query
+ * models are never handed out: every lookup returns a copy with a cloned {@link TupleExpr}, so callers are free to
+ * modify it.
+ */
+class ParsedQueryCache {
+
+	private final int maxSize;
+
+	private final Map<Key, ParsedQuery> queries;
+
+	ParsedQueryCache(int maxSize) {
+		this.maxSize = maxSize;
+		this.queries = new LinkedHashMap<>(16, 0.75f, true) {
+			private static final long serialVersionUID = 1L;
+
+			@Override
+			protected boolean removeEldestEntry(Map.Entry<Key, ParsedQuery> eldest) {
+				return size() > ParsedQueryCache.this.maxSize;
+			}
+		};
+	}
+
+	int getMaxSize() {
+		return maxSize;
+	}
+
+	synchronized int size() {
+		return queries.size();
+	}
+
+	synchronized void clear() {
+		queries.clear();
+	}
+
+	/**
+	 * Parses the supplied query, or returns a copy of the query model of an earlier parse of the same query.
+	 *
+	 * @param ql      The language in which the query is formulated.
+	 * @param query   The query.
+	 * @param baseURI The base URI to resolve any relative URIs that are in the query against, can be <var>null</var>.
+	 * @return The query model for the parsed query.
+	 * @throws MalformedQueryException If the supplied query was malformed.
+	 */
+	ParsedQuery parseQuery(QueryLanguage ql, String query, String baseURI) throws MalformedQueryException {
+		Key key = new Key(ql, query, baseURI);
+		ParsedQuery cached;
+		synchronized (this) {
+			cached = queries.get(key);
+		}
+		if (cached != null) {
+			return copy(cached);
+		}
+
+		ParsedQuery parsedQuery = QueryParserUtil.parseQuery(ql, query, baseURI);
+		ParsedQuery copy = copy(parsedQuery);
+		if (copy != null) {
+			synchronized (this) {
+				queries.put(key, copy);
+			}
+		}
+		return parsedQuery;
+	}
+
+	/**
+	 * Copies a parsed query, cloning its query model.
+	 *
+	 * @return the copy, or <var>null</var> if the type of the parsed query is not known
+	 */
+	private static ParsedQuery copy(ParsedQuery parsedQuery) {
+		String sourceString = parsedQuery.getSourceString();
+		TupleExpr tupleExpr = parsedQuery.getTupleExpr().clone();
+		ParsedQuery copy;
+		if (parsedQuery.getClass() == ParsedTupleQuery.class) {
+			copy = new ParsedTupleQuery(sourceString, tupleExpr);
+		} else if (parsedQuery.getClass() == ParsedGraphQuery.class) {
+			copy = new ParsedGraphQuery(sourceString, tupleExpr,
+					new LinkedHashMap<>(((ParsedGraphQuery) parsedQuery).getQueryNamespaces()));
+		} else if (parsedQuery.getClass() == ParsedDescribeQuery.class) {
+			copy = new ParsedDescribeQuery(sourceString, tupleExpr,
+					new LinkedHashMap<>(((ParsedDescribeQuery) parsedQuery).getQueryNamespaces()));
+		} else if (parsedQuery.getClass() == ParsedBooleanQuery.class) {
+			copy = new ParsedBooleanQuery(sourceString, tupleExpr);
+		} else {
+			return null;
+		}
+		copy.setDataset(parsedQuery.getDataset());
+		return copy;
+	}
+
+	private static final class Key {
+
+		private final QueryLanguage ql;
+
+		private final String query;
+
+		private final String baseURI;
+
+		private final int hashCode;
+
+		Key(QueryLanguage ql, String query, String baseURI) {
+			this.ql = ql;
+			this.query = query;
+			this.baseURI = baseURI;
+			this.hashCode = Objects.hash(ql, query, baseURI);
+		}
+
+		@Override
+		public boolean equals(Object o) {
+			if (!(o instanceof Key)) {
+				return false;
+			}
+			Key other = (Key) o;
+			return hashCode == other.hashCode && ql.equals(other.ql) && query.equals(other.query)
+					&& Objects.equals(baseURI, other.baseURI);
+		}
+
+		@Override
+		public int hashCode() {
+			return hashCode;
+		}
+	}
+}
@@ -13,6 +13,7 @@ package org.eclipse.rdf4j.repository.sail;
 import java.io.File;
 
 import org.apache.http.client.HttpClient;
+import org.eclipse.rdf4j.common.annotation.Experimental;
 import org.eclipse.rdf4j.http.client.HttpClientDependent;
 import org.eclipse.rdf4j.http.client.HttpClientSessionManager;
 import org.eclipse.rdf4j.http.client.SessionManagerDependent;
@@ -64,6 +65,12 @@ public class SailRepository extends AbstractRepository implements FederatedServi
 
 	private final Sail sail;
 
+	/*-----------*
+	 * Variables *
+	 *-----------*/
+
+	private volatile ParsedQueryCache parsedQueryCache;
+
 	/*--------------*
 	 * Constructors *
 	 *--------------*/
@@ -184,6 +191,35 @@ public class SailRepository extends AbstractRepository implements FederatedServi
 		return sail;
 	}
 
+	/**
+	 * Sets the maximum number of parsed queries that are kept in memory, so that repeated preparations of the same
+	 * query string by connections of this repository skip the query parser. The default is 0, which disables the cache.
+	 * Changing the size discards all cached queries.
+	 *
+	 * @param size the maximum number of cached queries, or 0 to disable the cache
+	 */
+	@Experimental
+	public void setParsedQueryCacheSize(int size) {
+		if (size < 0) {
+			throw new IllegalArgumentException("Cache size must not be negative: " + size);
+		}
+		this.parsedQueryCache = size > 0 ? new ParsedQueryCache(size) : null;
+	}
+
+	/**
+	 * @return the maximum number of parsed queries that are kept in memory, 0 if the cache is disabled
+	 * @see #setParsedQueryCacheSize(int)
+	 */
+	@Experimental
+	public int getParsedQueryCacheSize() {
+		ParsedQueryCache cache = parsedQueryCache;
+		return cache != null ? cache.getMaxSize() : 0;
+	}
+
+	ParsedQueryCache getParsedQueryCache() {
+		return parsedQueryCache;
+	}
+
 	@Override
 	public boolean isWritable() throws RepositoryException {
 		try {
@@ -260,7 +260,7 @@ public class SailRepositoryConnection extends AbstractRepositoryConnection imple
 
 	@Override
 	public SailQuery prepareQuery(QueryLanguage ql, String queryString, String baseURI) throws MalformedQueryException {
-		ParsedQuery parsedQuery = QueryParserUtil.parseQuery(ql, queryString, baseURI);
+		ParsedQuery parsedQuery = parseQuery(ql, queryString, baseURI);
 
 		if (parsedQuery instanceof ParsedTupleQuery) {
 			Optional<TupleExpr> sailTupleExpr = sailConnection.prepareQuery(ql, Query.QueryType.TUPLE, queryString,
@@ -296,7 +296,7 @@ public class SailRepositoryConnection extends AbstractRepositoryConnection imple
 
 		ParsedTupleQuery parsedQuery = sailTupleExpr
 				.map(expr -> new ParsedTupleQuery(queryString, expr))
-				.orElse(QueryParserUtil.parseTupleQuery(ql, queryString, baseURI));
+				.orElseGet(() -> parseTupleQuery(ql, queryString, baseURI));
 		return new SailTupleQuery(parsedQuery, this);
 	}
 
@@ -307,7 +307,7 @@ public class SailRepositoryConnection extends AbstractRepositoryConnection imple
 				baseURI);
 		ParsedGraphQuery parsedQuery = sailTupleExpr
 				.map(expr -> new ParsedGraphQuery(queryString, expr))
-				.orElse(QueryParserUtil.parseGraphQuery(ql, queryString, baseURI));
+				.orElseGet(() -> parseGraphQuery(ql, queryString, baseURI));
 		return new SailGraphQuery(parsedQuery, this);
 	}
 
@@ -318,10 +318,49 @@ public class SailRepositoryConnection extends AbstractRepositoryConnection imple
 				baseURI);
 		ParsedBooleanQuery parsedQuery = sailTupleExpr
 				.map(expr -> new ParsedBooleanQuery(queryString, expr))
-				.orElse(QueryParserUtil.parseBooleanQuery(ql, queryString, baseURI));
+				.orElseGet(() -> parseBooleanQuery(ql, queryString, baseURI));
 		return new SailBooleanQuery(parsedQuery, this);
 	}
 
+	/**
+	 * Parses the supplied query, using the parsed query cache of the repository if it has one.
+	 */
+	private ParsedQuery parseQuery(QueryLanguage ql, String queryString, String baseURI)
+			throws MalformedQueryException {
+		ParsedQueryCache cache = ((SailRepository) getRepository()).getParsedQueryCache();
+		if (cache != null) {
+			return cache.parseQuery(ql, queryString, baseURI);
+		}
+		return QueryParserUtil.parseQuery(ql, queryString, baseURI);
+	}
+
+	private ParsedTupleQuery parseTupleQuery(QueryLanguage ql, String queryString, String baseURI)
+			throws MalformedQueryException {
+		ParsedQuery parsedQuery = parseQuery(ql, queryString, baseURI);
+		if (parsedQuery instanceof ParsedTupleQuery) {
+			return (ParsedTupleQuery) parsedQuery;
+		}
+		throw new IllegalArgumentException("query is not a tuple query: " + queryString);
+	}
+
+	private ParsedGraphQuery parseGraphQuery(QueryLanguage ql, String queryString, String baseURI)
+			throws MalformedQueryException {
+		ParsedQuery parsedQuery = parseQuery(ql, queryString, baseURI);
+		if (parsedQuery instanceof ParsedGraphQuery) {
+			return (ParsedGraphQuery) parsedQuery;
+		}
+		throw new IllegalArgumentException("query is not a graph query: " + queryString);
+	}
+
+	private ParsedBooleanQuery parseBooleanQuery(QueryLanguage ql, String queryString, String baseURI)
+			throws MalformedQueryException {
+		ParsedQuery parsedQuery = parseQuery(ql, queryString, baseURI);
+		if (parsedQuery instanceof ParsedBooleanQuery) {
+			return (ParsedBooleanQuery) parsedQuery;
+		}
+		throw new IllegalArgumentException("query is not a boolean query: " + queryString);
+	}
+
 	@Override
 	public Update prepareUpdate(QueryLanguage ql, String update, String baseURI)
 			throws RepositoryException, MalformedQueryException {
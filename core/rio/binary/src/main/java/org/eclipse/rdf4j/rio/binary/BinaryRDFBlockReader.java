@@ -0,0 +1,150 @@
+/*******************************************************************************
+ * Copyright (c) 2023 Eclipse RDF4J contributors.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Distribution License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/org/documents/edl-v10.php.
+ *
+ * SPDX-License-Identifier: BSD-3-Clause
+ *******************************************************************************/
+
+package org.eclipse.rdf4j.rio.binary;
+
+import static org.eclipse.rdf4j.common.io.IOUtil.readVarInt;
+import static org.eclipse.rdf4j.rio.binary.BinaryRDFConstants.FORMAT_V3;
+import static org.eclipse.rdf4j.rio.binary.BinaryRDFConstants.MAGIC_NUMBER;
+import static org.eclipse.rdf4j.rio.binary.BinaryRDFConstants.TRAILER_SIZE;
+
+import java.io.BufferedInputStream;
+import java.io.Closeable;
+import java.io.DataInputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+
+import org.eclipse.rdf4j.common.annotation.Experimental;
+import org.eclipse.rdf4j.rio.RDFHandler;
+import org.eclipse.rdf4j.rio.RDFHandlerException;
+import org.eclipse.rdf4j.rio.RDFParseException;
+
+/**
+ * Random access to the blocks of a binary RDF file of version 3 (see {@link BinaryRDFWriterSettings#VERSION}), using
+ * the index of the blocks at the end of the file.
+ * <p>
+ * Blank nodes are mapped consistently for all blocks read by the same reader. Namespace declarations and comments are
+ * reported with the block that contains them.
+ */
+@Experimental
+public class BinaryRDFBlockReader implements Closeable {
+
+	private final FileChannel channel;
+
+	private final BinaryRDFParser parser = new BinaryRDFParser();
+
+	private final Charset charset;
+
+	private final long[] offsets;
+
+	private final int[] statements;
+
+	/**
+	 * Opens a binary RDF file and reads the index of its blocks.
+	 *
+	 * @param file a binary RDF file of version 3
+	 * @throws IOException       if the file can not be read
+	 * @throws RDFParseException if the file is not a binary RDF file of version 3
+	 */
+	public BinaryRDFBlockReader(Path file) throws IOException, RDFParseException {
+		channel = FileChannel.open(file, StandardOpenOption.READ);
+		try {
+			DataInputStream in = open(0);
+			if (!Arrays.equals(in.readNBytes(MAGIC_NUMBER.length), MAGIC_NUMBER)) {
+				throw new RDFParseException("File does not contain a binary RDF document");
+			}
+			int formatVersion = in.readInt();
+			if (formatVersion != FORMAT_V3) {
+				throw new RDFParseException("Blocks are not supported by format version: " + formatVersion);
+			}
+			charset = Charset.forName(new String(in.readNBytes(readVarInt(in)), StandardCharsets.UTF_8));
+
+			long size = channel.size();
+			ByteBuffer trailer = ByteBuffer.allocate(TRAILER_SIZE);
+			channel.read(trailer, size - TRAILER_SIZE);
+			trailer.flip();
+			long indexOffset = trailer.getLong();
+			byte[] magicNumber = new byte[MAGIC_NUMBER.length];
+			trailer.get(magicNumber);
+			if (!Arrays.equals(magicNumber, MAGIC_NUMBER) || indexOffset < 0 || indexOffset >= size) {
+				throw new RDFParseException("Binary RDF file does not end with a block index");
+			}
+
+			in = open(indexOffset);
+			int blocks = readVarInt(in);
+			offsets = new long[blocks];
+			statements = new int[blocks];
+			for (int i = 0; i < blocks; i++) {
+				offsets[i] = in.readLong();
+				statements[i] = readVarInt(in);
+			}
+		} catch (IOException | RuntimeException e) {
+			channel.close();
+			throw e;
+		}
+	}
+
+	/**
+	 * @return the number of blocks in the file
+	 */
+	public int getBlockCount() {
+		return offsets.length;
+	}
+
+	/**
+	 * @param block the number of a block, starting at 0
+	 * @return the number of statements in the block
+	 */
+	public int getStatementCount(int block) {
+		return statements[block];
+	}
+
+	/**
+	 * Reports the statements, namespace declarations and comments of a block to an RDF handler. The
+	 * {@link RDFHandler#startRDF()} and {@link RDFHandler#endRDF()} methods of the handler are not called.
+	 *
+	 * @param block   the number of a block, starting at 0
+	 * @param handler the handler to report to
+	 * @throws IOException         if the block can not be read
+	 * @throws RDFParseException   if the block can not be decoded
+	 * @throws RDFHandlerException if the handler throws an exception
+	 */
+	public synchronized void readBlock(int block, RDFHandler handler)
+			throws IOException, RDFParseException, RDFHandlerException {
+		DataInputStream in = open(offsets[block]);
+		parser.startBlocks(charset, handler);
+		try {
+			BinaryRDFParser.Block read = parser.readBlock(in);
+			if (read == null) {
+				throw new RDFParseException("No block at offset " + offsets[block]);
+			}
+			parser.decodeBlock(read);
+		} finally {
+			parser.startBlocks(charset, null);
+		}
+	}
+
+	private DataInputStream open(long position) throws IOException {
+		return new DataInputStream(new BufferedInputStream(Channels.newInputStream(channel.position(position))));
+	}
+
+	@Override
+	public void close() throws IOException {
+		channel.close();
+	}
+}
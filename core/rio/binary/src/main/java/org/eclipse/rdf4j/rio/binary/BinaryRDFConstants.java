@@ -26,6 +26,12 @@ class BinaryRDFConstants {
 
 	static final int FORMAT_V2 = 2;
 
+	/**
+	 * Version 3 groups the records in blocks that each have their own value dictionary and that may be compressed. The
+	 * blocks are followed by an index of their offsets and a trailer with the offset of the index.
+	 */
+	static final int FORMAT_V3 = 3;
+
 	/* RECORD TYPES */
 
 	static final int NAMESPACE_DECL = 0;
@@ -36,6 +42,8 @@ class BinaryRDFConstants {
 
 	static final int VALUE_DECL = 3;
 
+	static final int BLOCK = 4;
+
 	// public static final int ERROR = 126;
 
 	static final int END_OF_DATA = 127;
@@ -57,4 +65,15 @@ class BinaryRDFConstants {
 	static final int VALUE_REF = 6;
 
 	static final int TRIPLE_VALUE = 7;
+
+	/* BLOCK CODECS */
+
+	static final int NO_COMPRESSION = 0;
+
+	static final int DEFLATE_COMPRESSION = 1;
+
+	/**
+	 * Size of the trailer of version 3 files: the offset of the block index and the magic number.
+	 */
+	static final int TRAILER_SIZE = Long.BYTES + MAGIC_NUMBER.length;
 }
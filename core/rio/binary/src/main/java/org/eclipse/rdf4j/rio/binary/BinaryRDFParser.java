@@ -12,15 +12,19 @@
 package org.eclipse.rdf4j.rio.binary;
 
 import static org.eclipse.rdf4j.common.io.IOUtil.readVarInt;
+import static org.eclipse.rdf4j.rio.binary.BinaryRDFConstants.BLOCK;
 import static org.eclipse.rdf4j.rio.binary.BinaryRDFConstants.BNODE_VALUE;
 import static org.eclipse.rdf4j.rio.binary.BinaryRDFConstants.COMMENT;
 import static org.eclipse.rdf4j.rio.binary.BinaryRDFConstants.DATATYPE_LITERAL_VALUE;
+import static org.eclipse.rdf4j.rio.binary.BinaryRDFConstants.DEFLATE_COMPRESSION;
 import static org.eclipse.rdf4j.rio.binary.BinaryRDFConstants.END_OF_DATA;
 import static org.eclipse.rdf4j.rio.binary.BinaryRDFConstants.FORMAT_V1;
 import static org.eclipse.rdf4j.rio.binary.BinaryRDFConstants.FORMAT_V2;
+import static org.eclipse.rdf4j.rio.binary.BinaryRDFConstants.FORMAT_V3;
 import static org.eclipse.rdf4j.rio.binary.BinaryRDFConstants.LANG_LITERAL_VALUE;
 import static org.eclipse.rdf4j.rio.binary.BinaryRDFConstants.MAGIC_NUMBER;
 import static org.eclipse.rdf4j.rio.binary.BinaryRDFConstants.NAMESPACE_DECL;
+import static org.eclipse.rdf4j.rio.binary.BinaryRDFConstants.NO_COMPRESSION;
 import static org.eclipse.rdf4j.rio.binary.BinaryRDFConstants.NULL_VALUE;
 import static org.eclipse.rdf4j.rio.binary.BinaryRDFConstants.PLAIN_LITERAL_VALUE;
 import static org.eclipse.rdf4j.rio.binary.BinaryRDFConstants.STATEMENT;
@@ -31,27 +35,52 @@ import static org.eclipse.rdf4j.rio.binary.BinaryRDFConstants.VALUE_DECL;
 import static org.eclipse.rdf4j.rio.binary.BinaryRDFConstants.VALUE_REF;
 
 import java.io.BufferedInputStream;
+import java.io.ByteArrayInputStream;
 import java.io.DataInputStream;
 import java.io.IOException;
 import java.io.InputStream;
+import java.io.InterruptedIOException;
 import java.io.Reader;
 import java.nio.charset.Charset;
 import java.nio.charset.StandardCharsets;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.Collection;
+import java.util.Deque;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.zip.DataFormatException;
+import java.util.zip.Inflater;
 
 import org.eclipse.rdf4j.common.io.IOUtil;
 import org.eclipse.rdf4j.model.IRI;
 import org.eclipse.rdf4j.model.Literal;
+import org.eclipse.rdf4j.model.Namespace;
 import org.eclipse.rdf4j.model.Resource;
 import org.eclipse.rdf4j.model.Statement;
 import org.eclipse.rdf4j.model.Triple;
 import org.eclipse.rdf4j.model.Value;
+import org.eclipse.rdf4j.model.impl.SimpleNamespace;
+import org.eclipse.rdf4j.rio.ParseErrorListener;
 import org.eclipse.rdf4j.rio.RDFFormat;
+import org.eclipse.rdf4j.rio.RDFHandler;
 import org.eclipse.rdf4j.rio.RDFHandlerException;
 import org.eclipse.rdf4j.rio.RDFParseException;
+import org.eclipse.rdf4j.rio.RioSetting;
+import org.eclipse.rdf4j.rio.helpers.AbstractRDFHandler;
 import org.eclipse.rdf4j.rio.helpers.AbstractRDFParser;
 
 /**
+ * A parser for the binary RDF format. Version 3 documents can be decoded by multiple threads, see
+ * {@link BinaryRDFParserSettings#PARSER_THREADS}.
+ *
  * @author Arjohn Kampman
  * @author Frens Jan Rumph
  */
@@ -65,11 +94,25 @@ public class BinaryRDFParser extends AbstractRDFParser {
 
 	private byte[] buf = new byte[1024];
 
+	/**
+	 * The parser of the document if this parser decodes blocks for it, see {@link #parseBlocksInParallel(int)}.
+	 */
+	private BinaryRDFParser documentParser;
+
+	private final Object bnodeLock = new Object();
+
 	@Override
 	public RDFFormat getRDFFormat() {
 		return RDFFormat.BINARY;
 	}
 
+	@Override
+	public Collection<RioSetting<?>> getSupportedSettings() {
+		Collection<RioSetting<?>> result = new HashSet<>(super.getSupportedSettings());
+		result.add(BinaryRDFParserSettings.PARSER_THREADS);
+		return result;
+	}
+
 	@Override
 	public void parse(Reader reader, String baseURI) throws IOException, RDFParseException, RDFHandlerException {
 		throw new UnsupportedOperationException();
@@ -94,9 +137,9 @@ public class BinaryRDFParser extends AbstractRDFParser {
 
 			formatVersion = this.in.readInt();
 
-			// Check format version (parser is backward-compatible with version 1 and version 2)
+			// Check format version (parser is backward-compatible with version 1 and version 2, and reads version 3)
 			if (formatVersion == FORMAT_V1) {
-			} else if (formatVersion == FORMAT_V2) {
+			} else if (formatVersion == FORMAT_V2 || formatVersion == FORMAT_V3) {
 				charset = Charset.forName(readString());
 			} else {
 				reportFatalError("Incompatible format version: " + formatVersion);
@@ -106,17 +149,211 @@ public class BinaryRDFParser extends AbstractRDFParser {
 				rdfHandler.startRDF();
 			}
 
+			if (formatVersion == FORMAT_V3) {
+				long threads = getParserConfig().get(BinaryRDFParserSettings.PARSER_THREADS);
+				if (threads > 1) {
+					parseBlocksInParallel((int) Math.min(threads, Runtime.getRuntime().availableProcessors() * 4L));
+				} else {
+					DataInputStream document = this.in;
+					Block block;
+					while ((block = readBlock(document)) != null) {
+						decodeBlock(block);
+					}
+				}
+			} else {
+				loop: while (true) {
+					int recordType = this.in.readByte();
+
+					switch (recordType) {
+					case END_OF_DATA:
+						break loop;
+					case STATEMENT:
+						readStatement();
+						break;
+					case VALUE_DECL:
+						readValueDecl();
+						break;
+					case NAMESPACE_DECL:
+						readNamespaceDecl();
+						break;
+					case COMMENT:
+						readComment();
+						break;
+					default:
+						reportFatalError("Invalid record type: " + recordType);
+					}
+				}
+			}
+		} finally {
+			clear();
+		}
+
+		if (rdfHandler != null) {
+			rdfHandler.endRDF();
+		}
+	}
+
+	/**
+	 * Reads the blocks of the document, which are decoded by a pool of threads. The statements of the blocks are
+	 * reported by the calling thread in the order of the document.
+	 */
+	private void parseBlocksInParallel(int threads) throws IOException {
+		ParseErrorListener errorListener = getParseErrorListener() == null ? null
+				: new SynchronizedParseErrorListener(getParseErrorListener());
+		Queue<BinaryRDFParser> blockParsers = new ConcurrentLinkedQueue<>();
+
+		ExecutorService executor = Executors.newFixedThreadPool(threads, r -> {
+			Thread t = Executors.defaultThreadFactory().newThread(r);
+			t.setDaemon(true);
+			t.setName("Binary RDF parser thread " + t.getId());
+			return t;
+		});
+		Deque<Future<Block>> pending = new ArrayDeque<>();
+
+		try {
+			DataInputStream document = this.in;
+			Block block;
+			while ((block = readBlock(document)) != null) {
+				Block toDecode = block;
+				pending.add(executor.submit(() -> decodeBlock(toDecode, blockParsers, errorListener)));
+
+				// limits the number of blocks that are kept in memory
+				if (pending.size() >= threads * 2) {
+					handleBlock(pending.poll());
+				}
+			}
+			while (!pending.isEmpty()) {
+				handleBlock(pending.poll());
+			}
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+			throw new InterruptedIOException("Interrupted while parsing");
+		} finally {
+			executor.shutdownNow();
+		}
+	}
+
+	private Block decodeBlock(Block block, Queue<BinaryRDFParser> blockParsers, ParseErrorListener errorListener)
+			throws IOException {
+		BinaryRDFParser parser = blockParsers.poll();
+		if (parser == null) {
+			parser = new BinaryRDFParser();
+			parser.documentParser = this;
+			parser.setParserConfig(getParserConfig());
+			parser.setParseErrorListener(errorListener);
+			parser.valueFactory = valueFactory;
+			parser.formatVersion = formatVersion;
+			parser.charset = charset;
+		}
+
+		parser.rdfHandler = block;
+		try {
+			parser.decodeBlock(block);
+		} finally {
+			parser.rdfHandler = null;
+			blockParsers.add(parser);
+		}
+		return block;
+	}
+
+	private void handleBlock(Future<Block> future) throws IOException, InterruptedException {
+		Block block;
+		try {
+			block = future.get();
+		} catch (ExecutionException e) {
+			Throwable cause = e.getCause();
+			if (cause instanceof RuntimeException) {
+				throw (RuntimeException) cause;
+			} else if (cause instanceof Error) {
+				throw (Error) cause;
+			} else if (cause instanceof IOException) {
+				throw (IOException) cause;
+			}
+			throw new RDFParseException(cause);
+		}
+
+		if (rdfHandler != null) {
+			for (Object parsed : block.parsed) {
+				if (parsed instanceof Statement) {
+					rdfHandler.handleStatement((Statement) parsed);
+				} else if (parsed instanceof Namespace) {
+					rdfHandler.handleNamespace(((Namespace) parsed).getPrefix(), ((Namespace) parsed).getName());
+				} else {
+					rdfHandler.handleComment((String) parsed);
+				}
+			}
+		}
+	}
+
+	/**
+	 * Reads the next block of a version 3 document.
+	 *
+	 * @param document the stream of the document, positioned at the start of a block record
+	 * @return the block, or <var>null</var> if the end of the blocks has been reached
+	 */
+	Block readBlock(DataInputStream document) throws IOException {
+		int recordType = document.readByte();
+		if (recordType == END_OF_DATA) {
+			return null;
+		} else if (recordType != BLOCK) {
+			reportFatalError("Invalid record type: " + recordType);
+		}
+
+		int codec = document.readByte();
+		int statements = readVarInt(document);
+		int length = readVarInt(document);
+		int storedLength = readVarInt(document);
+		byte[] data = new byte[storedLength];
+		document.readFully(data);
+		return new Block(codec, statements, length, data);
+	}
+
+	/**
+	 * Decodes the dictionary and the records of a block, and reports them to the RDF handler.
+	 */
+	void decodeBlock(Block block) throws IOException {
+		byte[] data = block.data;
+		if (block.codec == DEFLATE_COMPRESSION) {
+			data = new byte[block.length];
+			Inflater inflater = new Inflater();
+			try {
+				inflater.setInput(block.data);
+				int length = 0;
+				while (length < data.length && !inflater.finished()) {
+					int inflated = inflater.inflate(data, length, data.length - length);
+					if (inflated == 0 && (inflater.needsInput() || inflater.needsDictionary())) {
+						break;
+					}
+					length += inflated;
+				}
+				if (length != data.length) {
+					reportFatalError("Invalid block length: " + length);
+				}
+			} catch (DataFormatException e) {
+				reportFatalError(e);
+			} finally {
+				inflater.end();
+			}
+		} else if (block.codec != NO_COMPRESSION) {
+			reportFatalError("Unknown block compression: " + block.codec);
+		}
+
+		DataInputStream document = in;
+		in = new DataInputStream(new ByteArrayInputStream(data));
+		try {
+			Value[] values = new Value[readVarInt(in)];
+			for (int i = 0; i < values.length; i++) {
+				values[i] = readValue();
+			}
+
 			loop: while (true) {
-				int recordType = this.in.readByte();
+				int recordType = in.readByte();
 
 				switch (recordType) {
 				case END_OF_DATA:
 					break loop;
 				case STATEMENT:
-					readStatement();
-					break;
-				case VALUE_DECL:
-					readValueDecl();
+					readBlockStatement(values);
 					break;
 				case NAMESPACE_DECL:
 					readNamespaceDecl();
@@ -129,12 +366,61 @@ public class BinaryRDFParser extends AbstractRDFParser {
 				}
 			}
 		} finally {
-			clear();
+			in = document;
 		}
+	}
 
+	private void readBlockStatement(Value[] values) throws IOException, RDFParseException, RDFHandlerException {
+		Value subj = getBlockValue(values, readVarInt(in));
+		Value pred = getBlockValue(values, readVarInt(in));
+		Value obj = getBlockValue(values, readVarInt(in));
+		int contextId = readVarInt(in);
+		Value context = contextId == 0 ? null : getBlockValue(values, contextId - 1);
+
+		if (!(subj instanceof Resource)) {
+			reportFatalError("Invalid subject type: " + subj);
+		}
+		if (!(pred instanceof IRI)) {
+			reportFatalError("Invalid predicate type: " + pred);
+		}
+		if (obj == null) {
+			reportFatalError("Invalid object type: null");
+		}
+		if (context != null && !(context instanceof Resource)) {
+			reportFatalError("Invalid context type: " + context);
+		}
+
+		Statement st = createStatement((Resource) subj, (IRI) pred, obj, (Resource) context);
 		if (rdfHandler != null) {
-			rdfHandler.endRDF();
+			rdfHandler.handleStatement(st);
+		}
+	}
+
+	private Value getBlockValue(Value[] values, int id) throws RDFParseException {
+		if (id >= values.length) {
+			reportFatalError("Invalid value id: " + id);
+		}
+		return values[id];
+	}
+
+	/**
+	 * Prepares this parser for decoding blocks of a version 3 document without parsing its header, for random access.
+	 */
+	void startBlocks(Charset charset, RDFHandler handler) {
+		this.formatVersion = FORMAT_V3;
+		this.charset = charset;
+		this.rdfHandler = handler;
+	}
+
+	@Override
+	protected Resource createNode(String nodeID) throws RDFParseException {
+		if (documentParser != null && !preserveBNodeIDs()) {
+			// the blank node identifiers must be mapped consistently for the whole document
+			synchronized (documentParser.bnodeLock) {
+				return documentParser.createNode(nodeID);
+			}
 		}
+		return super.createNode(nodeID);
 	}
 
 	private void readNamespaceDecl() throws IOException, RDFHandlerException {
@@ -306,4 +592,70 @@ public class BinaryRDFParser extends AbstractRDFParser {
 		return buf;
 	}
 
+	/**
+	 * A block of a version 3 document, that collects the records that were decoded from it.
+	 */
+	static final class Block extends AbstractRDFHandler {
+
+		private final int codec;
+
+		private final int statements;
+
+		private final int length;
+
+		private final byte[] data;
+
+		private final List<Object> parsed;
+
+		Block(int codec, int statements, int length, byte[] data) {
+			this.codec = codec;
+			this.statements = statements;
+			this.length = length;
+			this.data = data;
+			this.parsed = new ArrayList<>(statements);
+		}
+
+		@Override
+		public void handleStatement(Statement st) throws RDFHandlerException {
+			parsed.add(st);
+		}
+
+		@Override
+		public void handleNamespace(String prefix, String uri) throws RDFHandlerException {
+			parsed.add(new SimpleNamespace(prefix, uri));
+		}
+
+		@Override
+		public void handleComment(String comment) throws RDFHandlerException {
+			parsed.add(comment);
+		}
+	}
+
+	/**
+	 * Reports the errors of the threads that decode the blocks to the error listener of the parser.
+	 */
+	private static final class SynchronizedParseErrorListener implements ParseErrorListener {
+
+		private final ParseErrorListener delegate;
+
+		private SynchronizedParseErrorListener(ParseErrorListener delegate) {
+			this.delegate = delegate;
+		}
+
+		@Override
+		public synchronized void warning(String msg, long lineNo, long colNo) {
+			delegate.warning(msg, lineNo, colNo);
+		}
+
+		@Override
+		public synchronized void error(String msg, long lineNo, long colNo) {
+			delegate.error(msg, lineNo, colNo);
+		}
+
+		@Override
+		public synchronized void fatalError(String msg, long lineNo, long colNo) {
+			delegate.fatalError(msg, lineNo, colNo);
+		}
+	}
+
 }
@@ -0,0 +1,45 @@
+/*******************************************************************************
+ * Copyright (c) 2023 Eclipse RDF4J contributors.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Distribution License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/org/documents/edl-v10.php.
+ *
+ * SPDX-License-Identifier: BSD-3-Clause
+ *******************************************************************************/
+
+package org.eclipse.rdf4j.rio.binary;
+
+import org.eclipse.rdf4j.common.annotation.Experimental;
+import org.eclipse.rdf4j.rio.RioSetting;
+import org.eclipse.rdf4j.rio.helpers.LongRioSetting;
+
+/**
+ * ParserSettings for the binary RDF parser.
+ *
+ * @since 4.3.2
+ */
+@Experimental
+public class BinaryRDFParserSettings {
+
+	/**
+	 * Setting for the number of threads that decode binary RDF documents. If larger than 1, the blocks of version 3
+	 * documents (see {@link BinaryRDFWriterSettings#VERSION}) are decompressed and decoded in parallel. The statements
+	 * are still reported to the {@link org.eclipse.rdf4j.rio.RDFHandler} in the order of the document by the thread
+	 * that called the parser, and the {@link org.eclipse.rdf4j.model.ValueFactory} of the parser must be thread-safe.
+	 * Documents of older versions are always decoded by a single thread.
+	 * <p>
+	 * Defaults to 1.
+	 * <p>
+	 * Can be overridden by setting system property {@code org.eclipse.rdf4j.rio.binary.parser_threads}
+	 */
+	public static final RioSetting<Long> PARSER_THREADS = new LongRioSetting(
+			"org.eclipse.rdf4j.rio.binary.parser_threads", "Number of threads decoding binary RDF", 1L);
+
+	/**
+	 * Private constructor
+	 */
+	private BinaryRDFParserSettings() {
+	}
+}
@@ -12,15 +12,19 @@
 package org.eclipse.rdf4j.rio.binary;
 
 import static org.eclipse.rdf4j.common.io.IOUtil.writeVarInt;
+import static org.eclipse.rdf4j.rio.binary.BinaryRDFConstants.BLOCK;
 import static org.eclipse.rdf4j.rio.binary.BinaryRDFConstants.BNODE_VALUE;
 import static org.eclipse.rdf4j.rio.binary.BinaryRDFConstants.COMMENT;
 import static org.eclipse.rdf4j.rio.binary.BinaryRDFConstants.DATATYPE_LITERAL_VALUE;
+import static org.eclipse.rdf4j.rio.binary.BinaryRDFConstants.DEFLATE_COMPRESSION;
 import static org.eclipse.rdf4j.rio.binary.BinaryRDFConstants.END_OF_DATA;
 import static org.eclipse.rdf4j.rio.binary.BinaryRDFConstants.FORMAT_V1;
 import static org.eclipse.rdf4j.rio.binary.BinaryRDFConstants.FORMAT_V2;
+import static org.eclipse.rdf4j.rio.binary.BinaryRDFConstants.FORMAT_V3;
 import static org.eclipse.rdf4j.rio.binary.BinaryRDFConstants.LANG_LITERAL_VALUE;
 import static org.eclipse.rdf4j.rio.binary.BinaryRDFConstants.MAGIC_NUMBER;
 import static org.eclipse.rdf4j.rio.binary.BinaryRDFConstants.NAMESPACE_DECL;
+import static org.eclipse.rdf4j.rio.binary.BinaryRDFConstants.NO_COMPRESSION;
 import static org.eclipse.rdf4j.rio.binary.BinaryRDFConstants.NULL_VALUE;
 import static org.eclipse.rdf4j.rio.binary.BinaryRDFConstants.PLAIN_LITERAL_VALUE;
 import static org.eclipse.rdf4j.rio.binary.BinaryRDFConstants.STATEMENT;
@@ -29,19 +33,23 @@ import static org.eclipse.rdf4j.rio.binary.BinaryRDFConstants.URI_VALUE;
 import static org.eclipse.rdf4j.rio.binary.BinaryRDFConstants.VALUE_REF;
 
 import java.io.BufferedOutputStream;
+import java.io.ByteArrayOutputStream;
 import java.io.DataOutputStream;
 import java.io.IOException;
 import java.io.OutputStream;
 import java.nio.charset.Charset;
 import java.nio.charset.StandardCharsets;
 import java.util.ArrayDeque;
+import java.util.ArrayList;
 import java.util.Collection;
 import java.util.HashMap;
 import java.util.HashSet;
+import java.util.List;
 import java.util.Map;
 import java.util.Optional;
 import java.util.Queue;
 import java.util.Set;
+import java.util.zip.Deflater;
 
 import org.eclipse.rdf4j.common.io.ByteSink;
 import org.eclipse.rdf4j.model.BNode;
@@ -60,6 +68,12 @@ import org.eclipse.rdf4j.rio.helpers.AbstractRDFWriter;
 
 /**
  * A {@link RDFWriter} for the binary RDF format.
+ * <p>
+ * In version 3 of the format (see {@link BinaryRDFWriterSettings#VERSION}), the records are written in blocks of
+ * {@link BinaryRDFWriterSettings#BUFFER_SIZE} statements. Each block starts with a dictionary of the values of its
+ * statements, which refer to these values by their position in the dictionary, and is compressed as a whole (see
+ * {@link BinaryRDFWriterSettings#COMPRESSION}). The last block is followed by an index with the offset and the number
+ * of statements of each block, and a trailer with the offset of that index.
  *
  * @author Arjohn Kampman
  * @author Frens Jan Rumph
@@ -78,16 +92,32 @@ public class BinaryRDFWriter extends AbstractRDFWriter implements ByteSink {
 
 	private final DataOutputStream out;
 
+	/**
+	 * The stream that records are written to: the output stream, or the buffer of the current block in version 3.
+	 */
+	private DataOutputStream recordOut;
+
 	private int formatVersion;
 	private Charset charset;
 	private boolean recycleIds;
 
+	// the values of the current block in version 3, with their position in its dictionary
+	private final Map<Value, Integer> blockIds = new HashMap<>();
+	private final List<Value> blockValues = new ArrayList<>();
+	private final ByteArrayOutputStream blockRecords = new ByteArrayOutputStream();
+	private int blockStatements;
+
+	private Deflater deflater;
+	private long position;
+	private final List<long[]> blockIndex = new ArrayList<>();
+
 	public BinaryRDFWriter(OutputStream out) {
 		this(out, 8192);
 	}
 
 	public BinaryRDFWriter(OutputStream out, int bufferSize) {
 		this.out = new DataOutputStream(new BufferedOutputStream(out));
+		this.recordOut = this.out;
 		this.statementQueue = new ArrayDeque<>(bufferSize);
 		this.valueMeta = new HashMap<>(bufferSize * 3);
 		this.idPool = new ArrayDeque<>(bufferSize);
@@ -106,6 +136,7 @@ public class BinaryRDFWriter extends AbstractRDFWriter implements ByteSink {
 		result.add(BinaryRDFWriterSettings.BUFFER_SIZE);
 		result.add(BinaryRDFWriterSettings.CHARSET);
 		result.add(BinaryRDFWriterSettings.RECYCLE_IDS);
+		result.add(BinaryRDFWriterSettings.COMPRESSION);
 		return result;
 	}
 
@@ -129,6 +160,11 @@ public class BinaryRDFWriter extends AbstractRDFWriter implements ByteSink {
 				writeInt(charsetBytes.length);
 				out.write(charsetBytes);
 			}
+
+			if (formatVersion == FORMAT_V3) {
+				recordOut = new DataOutputStream(blockRecords);
+				position = out.size();
+			}
 		} catch (IOException e) {
 			throw new RDFHandlerException(e);
 		}
@@ -140,7 +176,7 @@ public class BinaryRDFWriter extends AbstractRDFWriter implements ByteSink {
 		formatVersion = Math.toIntExact(config.get(BinaryRDFWriterSettings.VERSION));
 		if (formatVersion == FORMAT_V1) {
 			charset = StandardCharsets.UTF_16BE;
-		} else if (formatVersion == FORMAT_V2) {
+		} else if (formatVersion == FORMAT_V2 || formatVersion == FORMAT_V3) {
 			charset = Charset.forName(config.get(BinaryRDFWriterSettings.CHARSET));
 		} else {
 			throw new IllegalArgumentException("Unsupported binary RDF version: " + formatVersion);
@@ -151,19 +187,37 @@ public class BinaryRDFWriter extends AbstractRDFWriter implements ByteSink {
 		}
 
 		recycleIds = config.get(BinaryRDFWriterSettings.RECYCLE_IDS);
+
+		if (formatVersion == FORMAT_V3) {
+			String compression = config.get(BinaryRDFWriterSettings.COMPRESSION);
+			if ("deflate".equalsIgnoreCase(compression)) {
+				deflater = new Deflater();
+			} else if (!"none".equalsIgnoreCase(compression)) {
+				throw new IllegalArgumentException("Unsupported binary RDF compression: " + compression);
+			}
+		}
 	}
 
 	@Override
 	public void endRDF() throws RDFHandlerException {
 		checkWritingStarted();
 		try {
-			while (!statementQueue.isEmpty()) {
-				writeStatement();
+			if (formatVersion == FORMAT_V3) {
+				endBlocks();
+			} else {
+				while (!statementQueue.isEmpty()) {
+					writeStatement();
+				}
+				out.writeByte(END_OF_DATA);
 			}
-			out.writeByte(END_OF_DATA);
 			out.flush();
 		} catch (IOException e) {
 			throw new RDFHandlerException(e);
+		} finally {
+			if (deflater != null) {
+				deflater.end();
+				deflater = null;
+			}
 		}
 	}
 
@@ -171,7 +225,7 @@ public class BinaryRDFWriter extends AbstractRDFWriter implements ByteSink {
 	public void handleNamespace(String prefix, String uri) throws RDFHandlerException {
 		checkWritingStarted();
 		try {
-			out.writeByte(NAMESPACE_DECL);
+			recordOut.writeByte(NAMESPACE_DECL);
 			writeString(prefix);
 			writeString(uri);
 		} catch (IOException e) {
@@ -183,7 +237,7 @@ public class BinaryRDFWriter extends AbstractRDFWriter implements ByteSink {
 	public void handleComment(String comment) throws RDFHandlerException {
 		checkWritingStarted();
 		try {
-			out.writeByte(COMMENT);
+			recordOut.writeByte(COMMENT);
 			writeString(comment);
 		} catch (IOException e) {
 			throw new RDFHandlerException(e);
@@ -192,6 +246,15 @@ public class BinaryRDFWriter extends AbstractRDFWriter implements ByteSink {
 
 	@Override
 	protected void consumeStatement(Statement st) {
+		if (formatVersion == FORMAT_V3) {
+			try {
+				writeBlockStatement(st);
+			} catch (IOException e) {
+				throw new RDFHandlerException(e);
+			}
+			return;
+		}
+
 		statementQueue.add(st);
 		incValueFreq(st.getSubject());
 		incValueFreq(st.getPredicate());
@@ -217,13 +280,115 @@ public class BinaryRDFWriter extends AbstractRDFWriter implements ByteSink {
 	private void writeStatement() throws RDFHandlerException, IOException {
 		Statement st = statementQueue.remove();
 
-		out.writeByte(STATEMENT);
+		recordOut.writeByte(STATEMENT);
 		writeValueOrId(st.getSubject());
 		writeValueOrId(st.getPredicate());
 		writeValueOrId(st.getObject());
 		writeValueOrId(st.getContext());
 	}
 
+	/**
+	 * Adds a statement to the current block, and writes the block if it is full
+	 */
+	private void writeBlockStatement(Statement st) throws IOException {
+		recordOut.writeByte(STATEMENT);
+		writeInt(getBlockId(st.getSubject()));
+		writeInt(getBlockId(st.getPredicate()));
+		writeInt(getBlockId(st.getObject()));
+		// 0 is the default graph
+		writeInt(st.getContext() == null ? 0 : getBlockId(st.getContext()) + 1);
+
+		if (++blockStatements >= bufferSize) {
+			writeBlock();
+		}
+	}
+
+	private int getBlockId(Value v) {
+		Integer id = blockIds.get(v);
+		if (id == null) {
+			id = blockValues.size();
+			blockIds.put(v, id);
+			blockValues.add(v);
+		}
+		return id;
+	}
+
+	/**
+	 * Writes the dictionary and the records of the current block, compressed if that makes the block smaller
+	 */
+	private void writeBlock() throws IOException {
+		ByteArrayOutputStream data = new ByteArrayOutputStream(blockRecords.size() + blockValues.size() * 32 + 8);
+		DataOutputStream records = recordOut;
+		recordOut = new DataOutputStream(data);
+		try {
+			writeInt(blockValues.size());
+			for (Value v : blockValues) {
+				writeValue(v);
+			}
+			blockRecords.writeTo(data);
+			data.write(END_OF_DATA);
+		} finally {
+			recordOut = records;
+		}
+
+		byte[] bytes = data.toByteArray();
+		byte[] stored = bytes;
+		int storedLength = bytes.length;
+		int codec = NO_COMPRESSION;
+		if (deflater != null) {
+			byte[] compressed = new byte[bytes.length];
+			deflater.reset();
+			deflater.setInput(bytes);
+			deflater.finish();
+			int length = 0;
+			while (!deflater.finished() && length < compressed.length) {
+				length += deflater.deflate(compressed, length, compressed.length - length);
+			}
+			if (deflater.finished() && length < bytes.length) {
+				stored = compressed;
+				storedLength = length;
+				codec = DEFLATE_COMPRESSION;
+			}
+		}
+
+		ByteArrayOutputStream header = new ByteArrayOutputStream(16);
+		header.write(BLOCK);
+		header.write(codec);
+		writeVarInt(header, blockStatements);
+		writeVarInt(header, bytes.length);
+		writeVarInt(header, storedLength);
+		header.writeTo(out);
+		out.write(stored, 0, storedLength);
+
+		blockIndex.add(new long[] { position, blockStatements });
+		position += header.size() + storedLength;
+
+		blockIds.clear();
+		blockValues.clear();
+		blockRecords.reset();
+		blockStatements = 0;
+	}
+
+	/**
+	 * Writes the last block, the index of the blocks and the trailer
+	 */
+	private void endBlocks() throws IOException {
+		if (blockRecords.size() > 0) {
+			writeBlock();
+		}
+		out.writeByte(END_OF_DATA);
+		long indexOffset = position + 1;
+
+		writeVarInt(out, blockIndex.size());
+		for (long[] block : blockIndex) {
+			out.writeLong(block[0]);
+			writeVarInt(out, (int) block[1]);
+		}
+		out.writeLong(indexOffset);
+		out.write(MAGIC_NUMBER);
+		blockIndex.clear();
+	}
+
 	private void incValueFreq(Value v) {
 		if (v == null) {
 			return;
@@ -249,7 +414,7 @@ public class BinaryRDFWriter extends AbstractRDFWriter implements ByteSink {
 		meta.id = id;
 
 		try {
-			out.writeByte(BinaryRDFConstants.VALUE_DECL);
+			recordOut.writeByte(BinaryRDFConstants.VALUE_DECL);
 			writeInt(id);
 			writeValue(v);
 		} catch (IOException e) {
@@ -259,12 +424,12 @@ public class BinaryRDFWriter extends AbstractRDFWriter implements ByteSink {
 
 	private void writeValueOrId(Value value) throws RDFHandlerException, IOException {
 		if (value == null) {
-			out.writeByte(NULL_VALUE);
+			recordOut.writeByte(NULL_VALUE);
 		} else {
 			ValueMeta meta = valueMeta.get(value);
 
 			if (meta.hasId()) {
-				out.writeByte(VALUE_REF);
+				recordOut.writeByte(VALUE_REF);
 				writeInt(meta.id);
 			} else {
 				writeValue(value);
@@ -299,12 +464,12 @@ public class BinaryRDFWriter extends AbstractRDFWriter implements ByteSink {
 	}
 
 	private void writeURI(IRI uri) throws IOException {
-		out.writeByte(URI_VALUE);
+		recordOut.writeByte(URI_VALUE);
 		writeString(uri.toString());
 	}
 
 	private void writeBNode(BNode bnode) throws IOException {
-		out.writeByte(BNODE_VALUE);
+		recordOut.writeByte(BNODE_VALUE);
 		writeString(bnode.getID());
 	}
 
@@ -314,21 +479,21 @@ public class BinaryRDFWriter extends AbstractRDFWriter implements ByteSink {
 		Optional<String> language = literal.getLanguage();
 
 		if (language.isPresent()) {
-			out.writeByte(LANG_LITERAL_VALUE);
+			recordOut.writeByte(LANG_LITERAL_VALUE);
 			writeString(label);
 			writeString(language.get());
 		} else if (datatype.equals(XSD.STRING)) {
-			out.writeByte(PLAIN_LITERAL_VALUE);
+			recordOut.writeByte(PLAIN_LITERAL_VALUE);
 			writeString(label);
 		} else {
-			out.writeByte(DATATYPE_LITERAL_VALUE);
+			recordOut.writeByte(DATATYPE_LITERAL_VALUE);
 			writeString(label);
 			writeString(datatype.toString());
 		}
 	}
 
 	private void writeTriple(Triple triple) throws IOException {
-		out.writeByte(TRIPLE_VALUE);
+		recordOut.writeByte(TRIPLE_VALUE);
 		writeValue(triple.getSubject());
 		writeValue(triple.getPredicate());
 		writeValue(triple.getObject());
@@ -343,14 +508,14 @@ public class BinaryRDFWriter extends AbstractRDFWriter implements ByteSink {
 			writeInt(bytes.length);
 		}
 
-		out.write(bytes);
+		recordOut.write(bytes);
 	}
 
 	private void writeInt(int i) throws IOException {
 		if (formatVersion == FORMAT_V1) {
-			out.writeInt(i);
+			recordOut.writeInt(i);
 		} else {
-			writeVarInt(out, i);
+			writeVarInt(recordOut, i);
 		}
 	}
 
@@ -13,6 +13,7 @@ package org.eclipse.rdf4j.rio.binary;
 
 import java.nio.charset.StandardCharsets;
 
+import org.eclipse.rdf4j.common.annotation.Experimental;
 import org.eclipse.rdf4j.rio.RioSetting;
 import org.eclipse.rdf4j.rio.helpers.BooleanRioSetting;
 import org.eclipse.rdf4j.rio.helpers.LongRioSetting;
@@ -30,6 +31,11 @@ public class BinaryRDFWriterSettings {
 	/**
 	 * Setting for the binary RDF format to use.
 	 * <p>
+	 * Version 3 writes the statements in blocks of {@link #BUFFER_SIZE} statements, each with its own dictionary of
+	 * values and optionally compressed (see {@link #COMPRESSION}), followed by an index of the blocks. Such files can
+	 * be decoded by multiple threads (see {@link BinaryRDFParserSettings#PARSER_THREADS}) and their blocks can be read
+	 * individually with a {@link BinaryRDFBlockReader}, but they can not be read by older versions of RDF4J.
+	 * <p>
 	 * Defaults to {@code 2}.
 	 * <p>
 	 * Can be overridden by setting system property {@code org.eclipse.rdf4j.rio.binary.format_version}
@@ -39,7 +45,8 @@ public class BinaryRDFWriterSettings {
 
 	/**
 	 * Setting for the number of statements to consider while analyzing duplicate RDF terms. Terms that occur twice or
-	 * more within the buffer of statements are written out (starting from the second occurrence) as identifiers.
+	 * more within the buffer of statements are written out (starting from the second occurrence) as identifiers. In
+	 * version 3 of the binary RDF format, this is the number of statements per block.
 	 * <p>
 	 * Defaults to {@code 8192}.
 	 * <p>
@@ -49,7 +56,7 @@ public class BinaryRDFWriterSettings {
 			"org.eclipse.rdf4j.rio.binary.buffer_size", "Buffer size", 8192L);
 
 	/**
-	 * Setting for the character set to use for encoding strings (only applicable to version 2 of the binary RDF
+	 * Setting for the character set to use for encoding strings (only applicable to version 2 and 3 of the binary RDF
 	 * format).
 	 * <p>
 	 * Defaults to {@code "UTF-8"}.
@@ -77,6 +84,19 @@ public class BinaryRDFWriterSettings {
 	public static final RioSetting<Boolean> RECYCLE_IDS = new BooleanRioSetting(
 			"org.eclipse.rdf4j.rio.binary.recycle_ids", "Charset", true);
 
+	/**
+	 * Setting for the compression of the blocks of statements (only applicable to version 3 of the binary RDF format).
+	 * Supported values are {@code "deflate"} and {@code "none"}. Blocks that do not get smaller are written
+	 * uncompressed.
+	 * <p>
+	 * Defaults to {@code "deflate"}.
+	 * <p>
+	 * Can be overridden by setting system property {@code org.eclipse.rdf4j.rio.binary.compression}
+	 */
+	@Experimental
+	public static final RioSetting<String> COMPRESSION = new StringRioSetting(
+			"org.eclipse.rdf4j.rio.binary.compression", "Block compression", "deflate");
+
 	/**
 	 * Private constructor
 	 */
@@ -43,7 +43,8 @@ public class BinaryRDFWriterBackgroundTest extends RDFWriterTest {
 				BinaryRDFWriterSettings.VERSION,
 				BinaryRDFWriterSettings.BUFFER_SIZE,
 				BinaryRDFWriterSettings.CHARSET,
-				BinaryRDFWriterSettings.RECYCLE_IDS
+				BinaryRDFWriterSettings.RECYCLE_IDS,
+				BinaryRDFWriterSettings.COMPRESSION
 		};
 	}
 
@@ -28,7 +28,8 @@ public class BinaryRDFWriterTest extends RDFWriterTest {
 				BinaryRDFWriterSettings.VERSION,
 				BinaryRDFWriterSettings.BUFFER_SIZE,
 				BinaryRDFWriterSettings.CHARSET,
-				BinaryRDFWriterSettings.RECYCLE_IDS
+				BinaryRDFWriterSettings.RECYCLE_IDS,
+				BinaryRDFWriterSettings.COMPRESSION
 		};
 	}
 }
@@ -0,0 +1,150 @@
+/*******************************************************************************
+ * Copyright (c) 2023 Eclipse RDF4J contributors.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Distribution License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/org/documents/edl-v10.php.
+ *
+ * SPDX-License-Identifier: BSD-3-Clause
+ *******************************************************************************/
+package org.eclipse.rdf4j.rio.binary;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.eclipse.rdf4j.model.BNode;
+import org.eclipse.rdf4j.model.IRI;
+import org.eclipse.rdf4j.model.Model;
+import org.eclipse.rdf4j.model.Statement;
+import org.eclipse.rdf4j.model.ValueFactory;
+import org.eclipse.rdf4j.model.impl.LinkedHashModel;
+import org.eclipse.rdf4j.model.impl.SimpleValueFactory;
+import org.eclipse.rdf4j.model.util.Models;
+import org.eclipse.rdf4j.model.vocabulary.RDF;
+import org.eclipse.rdf4j.rio.ParserConfig;
+import org.eclipse.rdf4j.rio.RDFWriter;
+import org.eclipse.rdf4j.rio.RDFWriterTest;
+import org.eclipse.rdf4j.rio.RioSetting;
+import org.eclipse.rdf4j.rio.WriterConfig;
+import org.eclipse.rdf4j.rio.helpers.BasicParserSettings;
+import org.eclipse.rdf4j.rio.helpers.StatementCollector;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+/**
+ * Runs the writer tests with version 3 of the binary RDF format, in small blocks that are decoded by multiple threads.
+ */
+public class BinaryRDFWriterV3Test extends RDFWriterTest {
+
+	private static final ValueFactory vf = SimpleValueFactory.getInstance();
+
+	@TempDir
+	File tmpDir;
+
+	public BinaryRDFWriterV3Test() {
+		super(new BinaryRDFWriterFactory(), new BinaryRDFParserFactory());
+	}
+
+	@Override
+	protected void setupWriterConfig(WriterConfig config) {
+		config.set(BinaryRDFWriterSettings.VERSION, 3L);
+		config.set(BinaryRDFWriterSettings.BUFFER_SIZE, 16L);
+	}
+
+	@Override
+	protected void setupParserConfig(ParserConfig config) {
+		config.set(BinaryRDFParserSettings.PARSER_THREADS, 4L);
+	}
+
+	@Override
+	protected RioSetting<?>[] getExpectedSupportedSettings() {
+		return new RioSetting[] {
+				BinaryRDFWriterSettings.VERSION,
+				BinaryRDFWriterSettings.BUFFER_SIZE,
+				BinaryRDFWriterSettings.CHARSET,
+				BinaryRDFWriterSettings.RECYCLE_IDS,
+				BinaryRDFWriterSettings.COMPRESSION
+		};
+	}
+
+	@Test
+	public void testCompression() throws Exception {
+		Model model = createModel(1000);
+		byte[] deflated = write(model, "deflate");
+		byte[] stored = write(model, "none");
+		assertThat(deflated.length).isLessThan(stored.length / 2);
+
+		for (byte[] bytes : new byte[][] { deflated, stored }) {
+			for (long threads : new long[] { 1, 3 }) {
+				BinaryRDFParser parser = new BinaryRDFParser();
+				parser.getParserConfig().set(BinaryRDFParserSettings.PARSER_THREADS, threads);
+				parser.getParserConfig().set(BasicParserSettings.PRESERVE_BNODE_IDS, true);
+				StatementCollector collector = new StatementCollector();
+				parser.setRDFHandler(collector);
+				parser.parse(new ByteArrayInputStream(bytes));
+
+				// statements are reported in the order of the document
+				assertThat(collector.getStatements()).containsExactlyElementsOf(model);
+				assertThat(collector.getNamespaces()).containsEntry("ex", "http://example.org/");
+			}
+		}
+	}
+
+	@Test
+	public void testBlockReader() throws Exception {
+		Model model = createModel(110);
+		File file = new File(tmpDir, "test.brf");
+		Files.write(file.toPath(), write(model, "deflate"));
+
+		try (BinaryRDFBlockReader reader = new BinaryRDFBlockReader(file.toPath())) {
+			assertThat(reader.getBlockCount()).isEqualTo(7);
+
+			List<Statement> statements = new ArrayList<>();
+			for (int block = reader.getBlockCount() - 1; block >= 0; block--) {
+				StatementCollector collector = new StatementCollector();
+				reader.readBlock(block, collector);
+				assertThat(collector.getStatements()).hasSize(reader.getStatementCount(block));
+				statements.addAll(0, collector.getStatements());
+			}
+			assertThat(reader.getStatementCount(6)).isEqualTo(30);
+
+			// blank nodes are mapped consistently for all blocks
+			assertThat(Models.isomorphic(statements, model)).isTrue();
+		}
+	}
+
+	private Model createModel(int size) {
+		Model model = new LinkedHashModel();
+		IRI p = vf.createIRI("http://example.org/p");
+		BNode b = vf.createBNode();
+		for (int i = 0; i < size; i++) {
+			IRI s = vf.createIRI("http://example.org/s" + i);
+			model.add(s, RDF.TYPE, vf.createIRI("http://example.org/Class" + (i % 7)));
+			model.add(s, p, vf.createLiteral(i), vf.createIRI("http://example.org/graph"));
+			model.add(s, p, b);
+		}
+		return model;
+	}
+
+	private byte[] write(Model model, String compression) {
+		ByteArrayOutputStream out = new ByteArrayOutputStream();
+		RDFWriter writer = rdfWriterFactory.getWriter(out);
+		writer.getWriterConfig().set(BinaryRDFWriterSettings.VERSION, 3L);
+		writer.getWriterConfig().set(BinaryRDFWriterSettings.BUFFER_SIZE, 50L);
+		writer.getWriterConfig().set(BinaryRDFWriterSettings.COMPRESSION, compression);
+		writer.startRDF();
+		writer.handleNamespace("ex", "http://example.org/");
+		for (Statement st : model) {
+			writer.handleStatement(st);
+		}
+		writer.endRDF();
+		return out.toByteArray();
+	}
+}
@@ -92,6 +92,14 @@ abstract class HDTArray extends HDTPart {
 	 */
 	protected abstract int get(int i);
 
+	/**
+	 * Get entry from this array, for entries that may not fit in an integer
+	 *
+	 * @param i zero-based index
+	 * @return entry
+	 */
+	protected abstract long getLong(int i);
+
 	@Override
 	protected void parse(InputStream is) throws IOException {
 		CRC8 crc8 = new CRC8();
@@ -12,7 +12,10 @@ package org.eclipse.rdf4j.rio.hdt;
 
 import java.io.IOException;
 import java.io.InputStream;
+import java.io.OutputStream;
+import java.util.function.IntToLongFunction;
 import java.util.zip.CheckedInputStream;
+import java.util.zip.CheckedOutputStream;
 
 import org.eclipse.rdf4j.common.io.UncloseableInputStream;
 
@@ -34,7 +37,7 @@ import org.eclipse.rdf4j.common.io.UncloseableInputStream;
  * @author Bart Hanssens
  */
 class HDTArrayLog64 extends HDTArray {
-	private byte buffer[];
+	private HDTBuffer buffer;
 
 	@Override
 	protected int getType() {
@@ -43,42 +46,109 @@ class HDTArrayLog64 extends HDTArray {
 
 	@Override
 	protected int get(int i) {
-		// start byte of the value, and start bit in that start byte
-		int bytePos = (i * nrbits) / 8;
-		int bitPos = (i * nrbits) % 8;
+		return (int) getLong(i);
+	}
 
-		// value bits may be encoded across boundaries of bytes
-		int tmplen = (bitPos + nrbits + 7) / 8;
+	@Override
+	protected long getLong(int i) {
+		// start byte of the value, and start bit in that start byte
+		long bitStart = (long) i * nrbits;
+		long bytePos = bitStart / 8;
+		int bitPos = (int) (bitStart % 8);
 
-		long val = 0L;
-		// little-endian to big-endian
-		for (int j = 0; j < tmplen; j++) {
-			val |= (buffer[bytePos + j] & 0xFFL) << (j * 8);
+		long val;
+		if (bitPos + nrbits <= 64) {
+			// value bits fit in one little-endian long
+			val = buffer.getLong(bytePos) >>> bitPos;
+		} else {
+			// value bits may be encoded across boundaries of bytes
+			int tmplen = (bitPos + nrbits + 7) / 8;
+			val = 0L;
+			for (int j = 0; j < tmplen - 1; j++) {
+				val |= (buffer.get(bytePos + j) & 0xFFL) << (j * 8);
+			}
+			val >>>= bitPos;
+			val |= (buffer.get(bytePos + tmplen - 1) & 0xFFL) << ((tmplen - 1) * 8 - bitPos);
 		}
-
-		val >>= bitPos;
-		val &= 0xFFFFFFFFFFFFFFFFL >>> (64 - nrbits);
-
-		return (int) val;
+		return val & (0xFFFFFFFFFFFFFFFFL >>> (64 - nrbits));
 	}
 
 	@Override
 	protected void parse(InputStream is) throws IOException {
 		super.parse(is);
 
+		// read bytes, minimum 1
+		long bytes = ((long) nrbits * entries + 7) / 8;
+
+		if (is instanceof HDTFileInputStream) {
+			// the CRC is not verified, since that would require reading the whole array
+			buffer = ((HDTFileInputStream) is).map(bytes);
+			is.skip(4);
+			return;
+		}
+
 		// don't close CheckedInputStream, as it will close the underlying inputstream
 		try (UncloseableInputStream uis = new UncloseableInputStream(is);
 				CheckedInputStream cis = new CheckedInputStream(uis, new CRC32())) {
-			// read bytes, minimum 1
-			long bytes = (nrbits * entries + 7) / 8;
 			if (bytes > Integer.MAX_VALUE) {
 				throw new UnsupportedOperationException("Maximum number of bytes in array exceeded: " + bytes);
 			}
 
-			buffer = new byte[(int) bytes];
-			cis.read(buffer);
-
+			buffer = HDTBuffer.wrap(cis.readNBytes((int) bytes));
 			checkCRC(cis, is, 4);
 		}
 	}
+
+	/**
+	 * Get the number of bits needed to encode values up to a maximum value.
+	 *
+	 * @param max maximum value
+	 * @return number of bits, minimum 1
+	 */
+	protected static int nrBits(long max) {
+		return Math.max(1, 64 - Long.numberOfLeadingZeros(max));
+	}
+
+	/**
+	 * Write an array: the type, the number of bits per entry, the VByte-encoded number of entries, the 8-bit CRC, the
+	 * entries and the 32-bit CRC.
+	 *
+	 * @param os      output stream
+	 * @param entries number of entries
+	 * @param nrbits  number of bits per entry
+	 * @param values  function returning the entry for a zero-based index
+	 * @throws IOException
+	 */
+	protected static void write(OutputStream os, int entries, int nrbits, IntToLongFunction values)
+			throws IOException {
+		CheckedOutputStream cos = new CheckedOutputStream(os, new CRC8());
+		cos.write(HDTArray.Type.LOG64.getValue());
+		cos.write(nrbits);
+		VByte.encode(cos, entries);
+		writeCRC(cos.getChecksum(), os, 1);
+
+		cos = new CheckedOutputStream(os, new CRC32());
+		long mask = 0xFFFFFFFFFFFFFFFFL >>> (64 - nrbits);
+		long word = 0L;
+		int used = 0;
+		for (int i = 0; i < entries; i++) {
+			long val = values.applyAsLong(i) & mask;
+			word |= val << used;
+			used += nrbits;
+			if (used >= 64) {
+				writeBytes(cos, word, 8);
+				used -= 64;
+				// remaining bits of the value that did not fit in the word
+				word = (used == 0) ? 0L : val >>> (nrbits - used);
+			}
+		}
+		writeBytes(cos, word, (used + 7) / 8);
+		writeCRC(cos.getChecksum(), os, 4);
+	}
+
+	private static void writeBytes(OutputStream os, long word, int len) throws IOException {
+		for (int j = 0; j < len; j++) {
+			os.write((int) (word >>> (j * 8)) & 0xFF);
+		}
+	}
 }
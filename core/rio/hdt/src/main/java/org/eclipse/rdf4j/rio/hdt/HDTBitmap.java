@@ -12,7 +12,9 @@ package org.eclipse.rdf4j.rio.hdt;
 
 import java.io.IOException;
 import java.io.InputStream;
+import java.io.OutputStream;
 import java.util.zip.CheckedInputStream;
+import java.util.zip.CheckedOutputStream;
 
 import org.eclipse.rdf4j.common.io.UncloseableInputStream;
 
@@ -22,8 +24,15 @@ import org.eclipse.rdf4j.common.io.UncloseableInputStream;
 class HDTBitmap extends HDTPart {
 	protected final static int BITMAP1 = 1;
 
+	// number of bits per block of the rank directory
+	private final static int BLOCK_BITS = 512;
+
 	private int bits;
-	private byte[] buffer;
+	private HDTBuffer buffer;
+
+	// number of 1 bits before each block, for rank and select
+	private int[] directory;
+	private int ones;
 
 	/**
 	 * Get bit
@@ -35,10 +44,109 @@ class HDTBitmap extends HDTPart {
 		int bytePos = i / 8;
 		int bitPos = i % 8;
 
-		byte b = buffer[bytePos];
+		byte b = buffer.get(bytePos);
 		return ((b & 0xFF) >> bitPos) & 1;
 	}
 
+	/**
+	 * Build the directory needed for {@link #rank1(int)} and {@link #select1(int)}, which takes one integer per 512
+	 * bits.
+	 */
+	protected void buildIndex() {
+		int blocks = (bits + BLOCK_BITS - 1) / BLOCK_BITS;
+		int[] dir = new int[blocks + 1];
+		int count = 0;
+		int words = (bits + 63) / 64;
+		for (int w = 0; w < words; w++) {
+			if (w % (BLOCK_BITS / 64) == 0) {
+				dir[w / (BLOCK_BITS / 64)] = count;
+			}
+			count += Long.bitCount(word(w));
+		}
+		dir[blocks] = count;
+		ones = count;
+		directory = dir;
+	}
+
+	/**
+	 * Get the number of 1 bits before a position. Requires {@link #buildIndex()}.
+	 *
+	 * @param i zero-based position, at most the size of the bitmap
+	 * @return number of 1 bits in positions 0 to i - 1
+	 */
+	protected int rank1(int i) {
+		int block = i / BLOCK_BITS;
+		int count = directory[block];
+		int w = block * (BLOCK_BITS / 64);
+		int last = i / 64;
+		for (; w < last; w++) {
+			count += Long.bitCount(word(w));
+		}
+		int rest = i % 64;
+		if (rest > 0) {
+			count += Long.bitCount(word(w) & ((1L << rest) - 1));
+		}
+		return count;
+	}
+
+	/**
+	 * Get the position of the n-th 1 bit. Requires {@link #buildIndex()}.
+	 *
+	 * @param n number of the 1 bit, starting with 1
+	 * @return zero-based position, or -1 if the bitmap has less than n 1 bits
+	 */
+	protected int select1(int n) {
+		if (n < 1 || n > ones) {
+			return -1;
+		}
+		// find the last block with less than n 1 bits before it
+		int low = 0;
+		int high = directory.length - 2;
+		while (low < high) {
+			int mid = (low + high + 1) >>> 1;
+			if (directory[mid] < n) {
+				low = mid;
+			} else {
+				high = mid - 1;
+			}
+		}
+		int remaining = n - directory[low];
+		int w = low * (BLOCK_BITS / 64);
+		long word = word(w);
+		int cnt = Long.bitCount(word);
+		while (cnt < remaining) {
+			remaining -= cnt;
+			word = word(++w);
+			cnt = Long.bitCount(word);
+		}
+		// clear the lowest 1 bits until the requested one is the lowest
+		for (int j = 1; j < remaining; j++) {
+			word &= word - 1;
+		}
+		return w * 64 + Long.numberOfTrailingZeros(word);
+	}
+
+	/**
+	 * Get the total number of 1 bits. Requires {@link #buildIndex()}.
+	 *
+	 * @return number of 1 bits
+	 */
+	protected int countOnes() {
+		return ones;
+	}
+
+	/**
+	 * Get 64 bits, ignoring bits beyond the size of the bitmap
+	 *
+	 * @param w zero-based index of the 64-bit word
+	 * @return bits
+	 */
+	private long word(int w) {
+		long val = buffer.getLong(w * 8L);
+		int valid = bits - w * 64;
+		return (valid < 64) ? val & ((1L << valid) - 1) : val;
+	}
+
 	/**
 	 * Get number of entries in this bitmap
 	 *
@@ -67,19 +175,46 @@ class HDTBitmap extends HDTPart {
 				throw new UnsupportedOperationException("Maximum number of entries in bitmap exceeded: " + b);
 			}
 			bits = (int) b;
-			bytes = (bits + 7) / 8;
+			bytes = (bits + 7L) / 8;
 
 			checkCRC(cis, is, 1);
 		}
 
+		if (is instanceof HDTFileInputStream) {
+			// the CRC is not verified, since that would require reading the whole bitmap
+			buffer = ((HDTFileInputStream) is).map(bytes);
+			is.skip(4);
+			return;
+		}
+
 		// don't close CheckedInputStream, as it will close the underlying inputstream
 		try (UncloseableInputStream uis = new UncloseableInputStream(is);
 				CheckedInputStream cis = new CheckedInputStream(uis, new CRC32())) {
 
-			buffer = new byte[(int) bytes];
-			cis.read(buffer);
-
+			buffer = HDTBuffer.wrap(cis.readNBytes((int) bytes));
 			checkCRC(cis, is, 4);
 		}
 	}
+
+	/**
+	 * Write a bitmap: the type, the VByte-encoded number of bits, the 8-bit CRC, the bits and the 32-bit CRC.
+	 *
+	 * @param os    output stream
+	 * @param words bits, stored little-endian in 64-bit words
+	 * @param bits  number of bits
+	 * @throws IOException
+	 */
+	protected static void write(OutputStream os, long[] words, int bits) throws IOException {
+		CheckedOutputStream cos = new CheckedOutputStream(os, new CRC8());
+		cos.write(BITMAP1);
+		VByte.encode(cos, bits);
+		writeCRC(cos.getChecksum(), os, 1);
+
+		cos = new CheckedOutputStream(os, new CRC32());
+		long bytes = (bits + 7L) / 8;
+		for (long i = 0; i < bytes; i++) {
+			cos.write((int) (words[(int) (i / 8)] >>> ((i % 8) * 8)) & 0xFF);
+		}
+		writeCRC(cos.getChecksum(), os, 4);
+	}
 }
@@ -0,0 +1,147 @@
+/*******************************************************************************
+ * Copyright (c) 2023 Eclipse RDF4J contributors.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Distribution License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/org/documents/edl-v10.php.
+ *
+ * SPDX-License-Identifier: BSD-3-Clause
+ *******************************************************************************/
+package org.eclipse.rdf4j.rio.hdt;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.FileChannel;
+
+/**
+ * Read-only view on the bytes of an HDT part, which are either read into memory or memory-mapped from a file.
+ * <p>
+ * Memory-mapped parts are mapped in chunks of 1 GB, so they can be larger than 2 GB. All methods use absolute
+ * positions, so a buffer can be read by multiple threads.
+ */
+class HDTBuffer {
+	private final static int CHUNK_BITS = 30;
+	private final static int CHUNK_SIZE = 1 << CHUNK_BITS;
+	private final static int CHUNK_MASK = CHUNK_SIZE - 1;
+
+	private final ByteBuffer[] chunks;
+	private final long length;
+
+	private HDTBuffer(ByteBuffer[] chunks, long length) {
+		this.chunks = chunks;
+		this.length = length;
+		for (ByteBuffer chunk : chunks) {
+			chunk.order(ByteOrder.LITTLE_ENDIAN);
+		}
+	}
+
+	/**
+	 * Wrap a byte array
+	 *
+	 * @param b byte array
+	 * @return buffer
+	 */
+	protected static HDTBuffer wrap(byte[] b) {
+		return new HDTBuffer(new ByteBuffer[] { ByteBuffer.wrap(b) }, b.length);
+	}
+
+	/**
+	 * Memory-map a region of a file. The mapping remains valid after the channel has been closed.
+	 *
+	 * @param channel file channel
+	 * @param pos     start position in the file
+	 * @param len     length of the region
+	 * @return buffer
+	 * @throws IOException
+	 */
+	protected static HDTBuffer map(FileChannel channel, long pos, long len) throws IOException {
+		int nrchunks = (int) ((len + CHUNK_SIZE - 1) >>> CHUNK_BITS);
+		ByteBuffer[] chunks = new ByteBuffer[Math.max(1, nrchunks)];
+		if (nrchunks == 0) {
+			chunks[0] = ByteBuffer.allocate(0);
+		}
+		for (int i = 0; i < nrchunks; i++) {
+			long start = (long) i << CHUNK_BITS;
+			chunks[i] = channel.map(FileChannel.MapMode.READ_ONLY, pos + start, Math.min(CHUNK_SIZE, len - start));
+		}
+		return new HDTBuffer(chunks, len);
+	}
+
+	/**
+	 * Get the length of the buffer
+	 *
+	 * @return number of bytes
+	 */
+	protected long length() {
+		return length;
+	}
+
+	/**
+	 * Get a single byte
+	 *
+	 * @param pos zero-based position
+	 * @return byte
+	 */
+	protected byte get(long pos) {
+		return chunks[(int) (pos >>> CHUNK_BITS)].get((int) (pos & CHUNK_MASK));
+	}
+
+	/**
+	 * Get a little-endian long, bytes beyond the end of the buffer are read as zero
+	 *
+	 * @param pos zero-based position
+	 * @return long value
+	 */
+	protected long getLong(long pos) {
+		ByteBuffer chunk = chunks[(int) (pos >>> CHUNK_BITS)];
+		int off = (int) (pos & CHUNK_MASK);
+		if (off + 8 <= chunk.limit()) {
+			return chunk.getLong(off);
+		}
+		long val = 0L;
+		for (int j = 0; j < 8 && pos + j < length; j++) {
+			val |= (get(pos + j) & 0xFFL) << (j * 8);
+		}
+		return val;
+	}
+
+	/**
+	 * Copy a range of bytes
+	 *
+	 * @param pos start position
+	 * @param len number of bytes
+	 * @return byte array
+	 */
+	protected byte[] getBytes(long pos, int len) {
+		byte[] b = new byte[len];
+		ByteBuffer chunk = chunks[(int) (pos >>> CHUNK_BITS)];
+		int off = (int) (pos & CHUNK_MASK);
+		if (off + len <= chunk.limit()) {
+			// duplicate, since relative reads change the position
+			chunk.duplicate().position(off).get(b);
+		} else {
+			for (int i = 0; i < len; i++) {
+				b[i] = get(pos + i);
+			}
+		}
+		return b;
+	}
+
+	/**
+	 * Find the position of the first null byte
+	 *
+	 * @param start start position
+	 * @return position of the null byte
+	 * @throws IOException when there is no null byte
+	 */
+	protected long countToNull(long start) throws IOException {
+		for (long i = start; i < length; i++) {
+			if (get(i) == 0b00) {
+				return i;
+			}
+		}
+		throw new IOException("No null byte found in buffer starting at byte " + start);
+	}
+}
@@ -12,7 +12,10 @@ package org.eclipse.rdf4j.rio.hdt;
 
 import java.io.IOException;
 import java.io.InputStream;
+import java.io.OutputStream;
 import java.nio.charset.StandardCharsets;
+import java.util.LinkedHashMap;
+import java.util.Map;
 import java.util.zip.CheckedInputStream;
 
 import org.eclipse.rdf4j.common.io.UncloseableInputStream;
@@ -55,4 +58,18 @@ class HDTDictionary extends HDTPart {
 			checkCRC(cis, is, 2);
 		}
 	}
+
+	/**
+	 * Write the dictionary part. The four sections must be written separately.
+	 *
+	 * @param os       output stream
+	 * @param elements total number of strings in the dictionary
+	 * @throws IOException
+	 */
+	protected static void write(OutputStream os, long elements) throws IOException {
+		Map<String, String> props = new LinkedHashMap<>();
+		props.put(DICT_MAPPING, "1");
+		props.put(DICT_ELEMENTS, Long.toString(elements));
+		writeControl(os, HDTPart.Type.DICTIONARY, DICT_FORMAT, props);
+	}
 }
@@ -52,6 +52,14 @@ abstract class HDTDictionarySection extends HDTPart {
 	 */
 	protected abstract byte[] get(int i) throws IOException;
 
+	/**
+	 * Get the position of an entry. Entries are sorted by their unsigned byte values.
+	 *
+	 * @param str entry
+	 * @return one-based position, or 0 if the entry is not in this section
+	 */
+	protected abstract int locate(byte[] str) throws IOException;
+
 	/**
 	 * Constructor
 	 *
@@ -12,11 +12,14 @@ package org.eclipse.rdf4j.rio.hdt;
 
 import java.io.IOException;
 import java.io.InputStream;
+import java.io.OutputStream;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.LinkedHashMap;
+import java.util.List;
 import java.util.Map;
 import java.util.zip.CheckedInputStream;
+import java.util.zip.CheckedOutputStream;
 
 import org.eclipse.rdf4j.common.io.UncloseableInputStream;
 
@@ -54,7 +57,7 @@ import org.eclipse.rdf4j.common.io.UncloseableInputStream;
  * @author Bart Hanssens
  */
 class HDTDictionarySectionPFC extends HDTDictionarySection {
-	private byte[] buffer;
+	private HDTBuffer buffer;
 
 	private int totalStrings;
 	private int stringsBlock;
@@ -88,16 +91,41 @@ class HDTDictionarySectionPFC extends HDTDictionarySection {
 		// HDT index start counting from 1
 		int idx = i - 1;
 
-		// get the block this string belongs to, and maintain the cache of recently used blocks
+		// get the block this string belongs to
 		int block = idx / stringsBlock;
+		return getBlock(block).get(idx - (block * stringsBlock));
+	}
 
-		ArrayList<byte[]> strings = cache.get(block);
-		if (strings == null) {
-			int blockStart = blockStarts.get(block);
-			strings = decodeBlock(block, blockStart);
-			cache.put(block, strings);
+	@Override
+	protected int locate(byte[] str) throws IOException {
+		if (totalStrings == 0) {
+			return 0;
+		}
+		// find the last block starting with a string that is not larger than the requested string
+		int low = 0;
+		int high = (totalStrings - 1) / stringsBlock;
+		while (low < high) {
+			int mid = (low + high + 1) >>> 1;
+			int cmp = compareFirst(mid, str);
+			if (cmp == 0) {
+				return mid * stringsBlock + 1;
+			} else if (cmp < 0) {
+				low = mid;
+			} else {
+				high = mid - 1;
+			}
+		}
+
+		ArrayList<byte[]> strings = getBlock(low);
+		for (int j = 0; j < strings.size(); j++) {
+			int cmp = Arrays.compareUnsigned(strings.get(j), str);
+			if (cmp == 0) {
+				return low * stringsBlock + j + 1;
+			} else if (cmp > 0) {
+				break;
+			}
 		}
-		return strings.get(idx - (block * stringsBlock));
+		return 0;
 	}
 
 	@Override
@@ -105,23 +133,19 @@ class HDTDictionarySectionPFC extends HDTDictionarySection {
 		CRC8 crc8 = new CRC8();
 		crc8.update((byte) HDTDictionarySection.Type.FRONT.getValue());
 
-		int buflen;
+		long buflen;
 
 		// don't close CheckedInputStream, as it will close the underlying inputstream
 		try (UncloseableInputStream uis = new UncloseableInputStream(is);
 				CheckedInputStream cis = new CheckedInputStream(uis, crc8)) {
 
 			long val = VByte.decode(cis);
-			if (totalStrings > Integer.MAX_VALUE) {
+			if (val > Integer.MAX_VALUE) {
 				throw new UnsupportedOperationException(getDebugPartStr() + " max number of strings exceeded: " + val);
 			}
 			totalStrings = (int) val;
 
-			val = VByte.decode(cis);
-			if (val > Integer.MAX_VALUE) {
-				throw new UnsupportedOperationException(getDebugPartStr() + " max buffer length exceeded: " + val);
-			}
-			buflen = (int) val;
+			buflen = VByte.decode(cis);
 
 			val = VByte.decode(cis);
 			if (val > Integer.MAX_VALUE) {
@@ -137,16 +161,70 @@ class HDTDictionarySectionPFC extends HDTDictionarySection {
 		blockStarts = HDTArrayFactory.parse(is);
 		blockStarts.parse(is);
 
+		if (is instanceof HDTFileInputStream) {
+			// the CRC is not verified, since that would require reading the whole buffer
+			buffer = ((HDTFileInputStream) is).map(buflen);
+			is.skip(4);
+			return;
+		}
+
+		if (buflen > Integer.MAX_VALUE) {
+			throw new UnsupportedOperationException(getDebugPartStr() + " max buffer length exceeded: " + buflen);
+		}
+
 		// don't close CheckedInputStream, as it will close the underlying inputstream
 		try (UncloseableInputStream uis = new UncloseableInputStream(is);
 				CheckedInputStream cis = new CheckedInputStream(uis, new CRC32())) {
 
-			buffer = new byte[buflen];
-			cis.read(buffer);
+			buffer = HDTBuffer.wrap(cis.readNBytes((int) buflen));
 			checkCRC(cis, is, 4);
 		}
 	}
 
+	/**
+	 * Get a decoded block, and maintain the cache of recently used blocks
+	 *
+	 * @param block block number
+	 * @return list of decoded byte strings
+	 * @throws IOException
+	 */
+	private ArrayList<byte[]> getBlock(int block) throws IOException {
+		synchronized (cache) {
+			ArrayList<byte[]> strings = cache.get(block);
+			if (strings != null) {
+				return strings;
+			}
+		}
+		ArrayList<byte[]> strings = decodeBlock(block, blockStarts.getLong(block));
+		synchronized (cache) {
+			cache.put(block, strings);
+		}
+		return strings;
+	}
+
+	/**
+	 * Compare the first string of a block with a string, without decoding the block
+	 *
+	 * @param block block number
+	 * @param str   string
+	 * @return negative, zero or positive number when the first string is smaller, equal or larger
+	 * @throws IOException
+	 */
+	private int compareFirst(int block, byte[] str) throws IOException {
+		long idx = blockStarts.getLong(block);
+		for (int j = 0; j < str.length; j++) {
+			int b = buffer.get(idx + j) & 0xFF;
+			if (b == 0) {
+				// first string is a prefix of the requested string
+				return -1;
+			}
+			if (b != (str[j] & 0xFF)) {
+				return b - (str[j] & 0xFF);
+			}
+		}
+		return (buffer.get(idx + str.length) == 0b00) ? 0 : 1;
+	}
+
 	/**
 	 * Parse a single block
 	 *
@@ -155,31 +233,102 @@ class HDTDictionarySectionPFC extends HDTDictionarySection {
 	 * @return list of decoded byte strings
 	 * @throws IOException
 	 */
-	private ArrayList<byte[]> decodeBlock(int block, int start) throws IOException {
+	private ArrayList<byte[]> decodeBlock(int block, long start) throws IOException {
 		ArrayList<byte[]> arr = new ArrayList<>(stringsBlock);
 
 		// initial string
-		int idx = start;
-		int end = HDTPart.countToNull(buffer, idx);
-		byte[] str = Arrays.copyOfRange(buffer, idx, end);
+		long idx = start;
+		long end = buffer.countToNull(idx);
+		byte[] str = buffer.getBytes(idx, (int) (end - idx));
 		arr.add(str);
 		idx = end + 1;
 
 		// read the remaining strings, with a maximum of stringsBlock
 		int remaining = totalStrings - (block * stringsBlock);
 		for (int j = 1; j < stringsBlock && j < remaining; j++) {
-			int common = (int) VByte.decodeFrom(buffer, idx);
-			idx += VByte.encodedLength(common);
-			end = HDTPart.countToNull(buffer, idx);
-			byte[] suffix = Arrays.copyOfRange(buffer, idx, end);
+			// VByte-encoded number of common characters
+			int common = 0;
+			int shift = 0;
+			byte b;
+			do {
+				b = buffer.get(idx++);
+				common |= (b & 0x7F) << shift;
+				shift += 7;
+			} while (VByte.hasNext(b));
+
+			end = buffer.countToNull(idx);
+			int suffixLen = (int) (end - idx);
 
 			// copy the common part and add the suffix
-			str = Arrays.copyOf(str, common + suffix.length);
-			System.arraycopy(suffix, 0, str, common, suffix.length);
+			byte[] next = Arrays.copyOf(str, common + suffixLen);
+			for (int k = 0; k < suffixLen; k++) {
+				next[common + k] = buffer.get(idx + k);
+			}
+			str = next;
 			arr.add(str);
 
 			idx = end + 1;
 		}
 		return arr;
 	}
+
+	/**
+	 * Write a dictionary section with front coding.
+	 *
+	 * @param os           output stream
+	 * @param strings      strings, sorted by their unsigned byte values and without duplicates
+	 * @param stringsBlock number of strings per block
+	 * @throws IOException
+	 */
+	protected static void write(OutputStream os, List<byte[]> strings, int stringsBlock) throws IOException {
+		// calculate the start positions of the blocks first, since the buffer length precedes the buffer
+		int blocks = (strings.size() + stringsBlock - 1) / stringsBlock;
+		long[] starts = new long[blocks + 1];
+		long buflen = 0;
+		for (int i = 0; i < strings.size(); i++) {
+			byte[] str = strings.get(i);
+			if (i % stringsBlock == 0) {
+				starts[i / stringsBlock] = buflen;
+				buflen += str.length + 1;
+			} else {
+				int common = commonPrefix(strings.get(i - 1), str);
+				buflen += VByte.encodedLength(common) + str.length - common + 1;
+			}
+		}
+		starts[blocks] = buflen;
+
+		CheckedOutputStream cos = new CheckedOutputStream(os, new CRC8());
+		cos.write(HDTDictionarySection.Type.FRONT.getValue());
+		VByte.encode(cos, strings.size());
+		VByte.encode(cos, buflen);
+		VByte.encode(cos, stringsBlock);
+		writeCRC(cos.getChecksum(), os, 1);
+
+		HDTArrayLog64.write(os, starts.length, HDTArrayLog64.nrBits(buflen), i -> starts[i]);
+
+		cos = new CheckedOutputStream(os, new CRC32());
+		for (int i = 0; i < strings.size(); i++) {
+			byte[] str = strings.get(i);
+			int common = 0;
+			if (i % stringsBlock != 0) {
+				common = commonPrefix(strings.get(i - 1), str);
+				VByte.encode(cos, common);
+			}
+			cos.write(str, common, str.length - common);
+			cos.write(0b00);
+		}
+		writeCRC(cos.getChecksum(), os, 4);
+	}
+
+	/**
+	 * Get the number of bytes two strings have in common
+	 *
+	 * @param a first string
+	 * @param b second string
+	 * @return length of the common prefix
+	 */
+	private static int commonPrefix(byte[] a, byte[] b) {
+		int mismatch = Arrays.mismatch(a, b);
+		return (mismatch < 0) ? a.length : mismatch;
+	}
 }
@@ -0,0 +1,612 @@
+/*******************************************************************************
+ * Copyright (c) 2023 Eclipse RDF4J contributors.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Distribution License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/org/documents/edl-v10.php.
+ *
+ * SPDX-License-Identifier: BSD-3-Clause
+ *******************************************************************************/
+package org.eclipse.rdf4j.rio.hdt;
+
+import java.io.Closeable;
+import java.io.File;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.channels.FileChannel;
+import java.nio.file.StandardOpenOption;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+
+import org.eclipse.rdf4j.common.annotation.Experimental;
+import org.eclipse.rdf4j.model.IRI;
+import org.eclipse.rdf4j.model.Literal;
+import org.eclipse.rdf4j.model.Resource;
+import org.eclipse.rdf4j.model.Value;
+import org.eclipse.rdf4j.model.ValueFactory;
+
+/**
+ * Read-only access to the triples of an HDT v1.0 file, without loading the file.
+ * <p>
+ * The dictionary sections and the bitmap triples are memory-mapped, so opening a file only reads the small control
+ * parts and builds a rank directory for the bitmaps. Values are identified by their numeric position in the dictionary:
+ * subjects and objects share the IDs of the "shared" section, which come before the IDs of the subject and the object
+ * section. Predicates have their own IDs. The ID 0 is used for a value that is not in the dictionary, and as a wildcard
+ * in {@link #search(int, int, int)}.
+ * <p>
+ * Triples are stored in SPO order, which allows looking up triples by subject. Looking up triples by object or
+ * predicate uses an additional index, which is built the first time it is needed and stored next to the HDT file (with
+ * the extension <code>.rdf4j.idx</code>), or in the temporary directory if that directory is not writable.
+ * <p>
+ * Like the {@link HDTParser}, only files with front-coded dictionary sections and bitmap triples in SPO order are
+ * supported, with less than 2<sup>31</sup> triples. An HDTFile can be used by multiple threads.
+ *
+ * @see <a href="http://www.rdfhdt.org/hdt-binary-format/">HDT draft (2015)</a>
+ */
+@Experimental
+public class HDTFile implements Closeable {
+	private final static String INDEX_EXT = ".rdf4j.idx";
+
+	private final File file;
+
+	private final HDTDictionarySection shared;
+	private final HDTDictionarySection subjects;
+	private final HDTDictionarySection predicates;
+	private final HDTDictionarySection objects;
+
+	private final HDTTriplesSectionBitmap section;
+	private final HDTBitmap bitmapY;
+	private final HDTBitmap bitmapZ;
+	private final HDTArray arrY;
+	private final HDTArray arrZ;
+
+	private volatile HDTIndex index;
+	private volatile boolean closed;
+
+	private HDTFile(File file, HDTFileInputStream is) throws IOException {
+		this.file = file;
+
+		HDTGlobal global = new HDTGlobal();
+		global.parse(is);
+		new HDTHeader().parse(is);
+		new HDTDictionary().parse(is);
+
+		long dpos = is.getPosition();
+		shared = HDTDictionarySectionFactory.parse(is, "S+O", dpos);
+		shared.parse(is);
+
+		dpos = is.getPosition();
+		subjects = HDTDictionarySectionFactory.parse(is, "S", dpos);
+		subjects.parse(is);
+
+		dpos = is.getPosition();
+		predicates = HDTDictionarySectionFactory.parse(is, "P", dpos);
+		predicates.parse(is);
+
+		dpos = is.getPosition();
+		objects = HDTDictionarySectionFactory.parse(is, "O", dpos);
+		objects.parse(is);
+
+		HDTTriples triples = new HDTTriples();
+		triples.parse(is);
+
+		section = (HDTTriplesSectionBitmap) HDTTriplesSectionFactory.parse(new String(HDTTriples.FORMAT_BITMAP));
+		section.parse(is, triples.getOrder());
+		bitmapY = section.getBitmapY();
+		bitmapZ = section.getBitmapZ();
+		arrY = section.getArrayY();
+		arrZ = section.getArrayZ();
+
+		bitmapY.buildIndex();
+		bitmapZ.buildIndex();
+	}
+
+	/**
+	 * Open an HDT file
+	 *
+	 * @param file HDT file
+	 * @return HDT file
+	 * @throws IOException                   when the file could not be read
+	 * @throws UnsupportedOperationException when the file uses an unsupported encoding
+	 */
+	public static HDTFile open(File file) throws IOException {
+		try (FileChannel ch = FileChannel.open(file.toPath(), StandardOpenOption.READ)) {
+			// the mapped parts remain valid after the channel has been closed
+			return new HDTFile(file, new HDTFileInputStream(ch));
+		}
+	}
+
+	/**
+	 * Get the HDT file
+	 *
+	 * @return file
+	 */
+	public File getFile() {
+		return file;
+	}
+
+	/**
+	 * Get the number of triples
+	 *
+	 * @return number of triples
+	 */
+	public int getTripleCount() {
+		return arrZ.size();
+	}
+
+	/**
+	 * Get the number of distinct subjects, which are numbered from 1
+	 *
+	 * @return number of subjects
+	 */
+	public int getSubjectCount() {
+		return shared.size() + subjects.size();
+	}
+
+	/**
+	 * Get the number of distinct predicates, which are numbered from 1
+	 *
+	 * @return number of predicates
+	 */
+	public int getPredicateCount() {
+		return predicates.size();
+	}
+
+	/**
+	 * Get the number of distinct objects, which are numbered from 1
+	 *
+	 * @return number of objects
+	 */
+	public int getObjectCount() {
+		return shared.size() + objects.size();
+	}
+
+	/**
+	 * Get the ID of a subject
+	 *
+	 * @param subj subject
+	 * @return ID, or 0 if the value is not a subject in this file
+	 * @throws IOException
+	 */
+	public int getSubjectID(Value subj) throws IOException {
+		if (!(subj instanceof Resource)) {
+			return 0;
+		}
+		return locate(HDTValues.toBytes(subj), subjects);
+	}
+
+	/**
+	 * Get the ID of a predicate
+	 *
+	 * @param pred predicate
+	 * @return ID, or 0 if the value is not a predicate in this file
+	 * @throws IOException
+	 */
+	public int getPredicateID(Value pred) throws IOException {
+		if (!(pred instanceof IRI)) {
+			return 0;
+		}
+		return predicates.locate(HDTValues.toBytes(pred));
+	}
+
+	/**
+	 * Get the ID of an object
+	 *
+	 * @param obj object
+	 * @return ID, or 0 if the value is not an object in this file
+	 * @throws IOException
+	 */
+	public int getObjectID(Value obj) throws IOException {
+		byte[] b = HDTValues.toBytes(obj);
+		if (b == null) {
+			return 0;
+		}
+		if (obj instanceof Literal) {
+			// literals are never subjects, so they are not in the shared section
+			int id = objects.locate(b);
+			if (id == 0) {
+				b = HDTValues.toTypedStringBytes(obj);
+				id = (b != null) ? objects.locate(b) : 0;
+			}
+			return (id != 0) ? shared.size() + id : 0;
+		}
+		return locate(b, objects);
+	}
+
+	/**
+	 * Get the subject with an ID
+	 *
+	 * @param id ID
+	 * @param vf value factory
+	 * @return IRI or blank node
+	 * @throws IOException
+	 */
+	public Resource getSubject(int id, ValueFactory vf) throws IOException {
+		return HDTValues.createSubject(get(id, subjects), vf);
+	}
+
+	/**
+	 * Get the predicate with an ID
+	 *
+	 * @param id ID
+	 * @param vf value factory
+	 * @return IRI
+	 * @throws IOException
+	 */
+	public IRI getPredicate(int id, ValueFactory vf) throws IOException {
+		return HDTValues.createPredicate(predicates.get(id), vf);
+	}
+
+	/**
+	 * Get the object with an ID
+	 *
+	 * @param id ID
+	 * @param vf value factory
+	 * @return IRI, blank node or literal
+	 * @throws IOException
+	 */
+	public Value getObject(int id, ValueFactory vf) throws IOException {
+		return HDTValues.createObject(get(id, objects), vf);
+	}
+
+	/**
+	 * Get the triples matching a pattern. Triples are returned as an array of subject, predicate and object ID.
+	 *
+	 * @param subj subject ID, or 0 for any subject
+	 * @param pred predicate ID, or 0 for any predicate
+	 * @param obj  object ID, or 0 for any object
+	 * @return iterator over the matching triples
+	 * @throws UncheckedIOException when the additional index could not be built
+	 */
+	public Iterator<int[]> search(int subj, int pred, int obj) {
+		checkOpen();
+		if (subj > 0) {
+			if (subj > bitmapY.countOnes()) {
+				// objects that are not in the shared section are never subjects
+				return new RangeIterator(0, -1, 0, 0);
+			}
+			int firstY = firstY(subj);
+			int lastY = bitmapY.select1(subj);
+			if (pred > 0) {
+				int y = binarySearch(arrY, firstY, lastY, pred);
+				if (y < 0) {
+					return new RangeIterator(0, -1, 0, 0);
+				}
+				if (obj > 0) {
+					int z = binarySearch(arrZ, firstZ(y), bitmapZ.select1(y + 1), obj);
+					return (z < 0) ? new RangeIterator(0, -1, 0, 0) : new RangeIterator(z, z, 0, 0);
+				}
+				return new RangeIterator(firstZ(y), bitmapZ.select1(y + 1), 0, 0);
+			}
+			return new RangeIterator(firstZ(firstY), bitmapZ.select1(lastY + 1), 0, obj);
+		}
+		if (obj > 0) {
+			HDTIndex idx = getIndex();
+			if (pred > 0 && idx.getPredicateCount(pred) < idx.getObjectCount(obj)) {
+				return new PredicateIterator(pred, obj);
+			}
+			return new ObjectIterator(obj, pred);
+		}
+		if (pred > 0) {
+			return new PredicateIterator(pred, 0);
+		}
+		return new RangeIterator(0, arrZ.size() - 1, 0, 0);
+	}
+
+	/**
+	 * Get the number of triples matching a pattern. The number is exact, except for patterns with both a subject or
+	 * predicate and an object, for which an upper bound is returned.
+	 *
+	 * @param subj subject ID, or 0 for any subject
+	 * @param pred predicate ID, or 0 for any predicate
+	 * @param obj  object ID, or 0 for any object
+	 * @return number of triples
+	 * @throws UncheckedIOException when the additional index could not be built
+	 */
+	public long estimateCardinality(int subj, int pred, int obj) {
+		checkOpen();
+		if (subj > 0) {
+			if (subj > bitmapY.countOnes()) {
+				return 0;
+			}
+			int firstY = firstY(subj);
+			int lastY = bitmapY.select1(subj);
+			if (pred > 0) {
+				int y = binarySearch(arrY, firstY, lastY, pred);
+				if (y < 0) {
+					return 0;
+				}
+				int lastZ = bitmapZ.select1(y + 1);
+				if (obj > 0) {
+					return (binarySearch(arrZ, firstZ(y), lastZ, obj) < 0) ? 0 : 1;
+				}
+				return lastZ - firstZ(y) + 1;
+			}
+			long count = bitmapZ.select1(lastY + 1) - firstZ(firstY) + 1;
+			return (obj > 0) ? Math.min(count, getIndex().getObjectCount(obj)) : count;
+		}
+		if (obj > 0) {
+			int count = getIndex().getObjectCount(obj);
+			return (pred > 0) ? Math.min(count, getIndex().getPredicateCount(pred)) : count;
+		}
+		if (pred > 0) {
+			return getIndex().getPredicateCount(pred);
+		}
+		return arrZ.size();
+	}
+
+	/**
+	 * Close the file. Memory-mapped parts are released when they are garbage collected.
+	 */
+	@Override
+	public void close() {
+		closed = true;
+		index = null;
+	}
+
+	private void checkOpen() {
+		if (closed) {
+			throw new IllegalStateException("HDT file " + file + " has been closed");
+		}
+	}
+
+	private int locate(byte[] b, HDTDictionarySection other) throws IOException {
+		checkOpen();
+		int id = shared.locate(b);
+		if (id == 0) {
+			id = other.locate(b);
+			return (id != 0) ? shared.size() + id : 0;
+		}
+		return id;
+	}
+
+	private byte[] get(int id, HDTDictionarySection other) throws IOException {
+		int size = shared.size();
+		return (id <= size) ? shared.get(id) : other.get(id - size);
+	}
+
+	/**
+	 * Get the additional index on objects and predicates, building it if needed
+	 *
+	 * @return index
+	 */
+	private HDTIndex getIndex() {
+		HDTIndex idx = index;
+		if (idx == null) {
+			synchronized (this) {
+				checkOpen();
+				idx = index;
+				if (idx == null) {
+					File idxFile = new File(file.getPath() + INDEX_EXT);
+					try {
+						idx = HDTIndex.open(idxFile, file, getObjectCount(), getPredicateCount(), section);
+					} catch (IOException e) {
+						try {
+							idx = openTmpIndex();
+						} catch (IOException e2) {
+							e2.addSuppressed(e);
+							throw new UncheckedIOException("Could not build index for HDT file " + file, e2);
+						}
+					}
+					index = idx;
+				}
+			}
+		}
+		return idx;
+	}
+
+	/**
+	 * Open the index in the temporary directory, for HDT files in a directory that is not writable
+	 *
+	 * @return index
+	 * @throws IOException
+	 */
+	private HDTIndex openTmpIndex() throws IOException {
+		// use a name that is unique for the path of the HDT file
+		String name = file.getName() + "-" + Integer.toHexString(file.getAbsolutePath().hashCode()) + INDEX_EXT;
+		File idx = new File(System.getProperty("java.io.tmpdir"), name);
+		return HDTIndex.open(idx, file, getObjectCount(), getPredicateCount(), section);
+	}
+
+	/**
+	 * Get the first Y-level position of a subject
+	 *
+	 * @param subj subject ID
+	 * @return zero-based position
+	 */
+	private int firstY(int subj) {
+		return (subj == 1) ? 0 : bitmapY.select1(subj - 1) + 1;
+	}
+
+	/**
+	 * Get the first Z-level position of a Y-level position
+	 *
+	 * @param y zero-based Y-level position
+	 * @return zero-based Z-level position
+	 */
+	private int firstZ(int y) {
+		return (y == 0) ? 0 : bitmapZ.select1(y) + 1;
+	}
+
+	/**
+	 * Find a value in a sorted range of an array
+	 *
+	 * @param arr   array
+	 * @param first first position of the range
+	 * @param last  last position of the range (inclusive)
+	 * @param val   value
+	 * @return position, or -1 if the value is not in the range
+	 */
+	private int binarySearch(HDTArray arr, int first, int last, int val) {
+		int low = first;
+		int high = last;
+		while (low <= high) {
+			int mid = (low + high) >>> 1;
+			int cur = arr.get(mid);
+			if (cur < val) {
+				low = mid + 1;
+			} else if (cur > val) {
+				high = mid - 1;
+			} else {
+				return mid;
+			}
+		}
+		return -1;
+	}
+
+	/**
+	 * Iterator that computes the next triple in advance
+	 */
+	private abstract class TripleIterator implements Iterator<int[]> {
+		private int[] next;
+
+		/**
+		 * Compute the next triple
+		 *
+		 * @return triple, or null if there are no more triples
+		 */
+		protected abstract int[] computeNext();
+
+		@Override
+		public boolean hasNext() {
+			if (next == null) {
+				checkOpen();
+				next = computeNext();
+			}
+			return next != null;
+		}
+
+		@Override
+		public int[] next() {
+			if (!hasNext()) {
+				throw new NoSuchElementException();
+			}
+			int[] triple = next;
+			next = null;
+			return triple;
+		}
+	}
+
+	/**
+	 * Iterates over a range of Z-level positions, optionally filtering on predicate and object
+	 */
+	private class RangeIterator extends TripleIterator {
+		private final int lastZ;
+		private final int pred;
+		private final int obj;
+
+		private int x;
+		private int y;
+		private int z;
+
+		RangeIterator(int firstZ, int lastZ, int pred, int obj) {
+			this.lastZ = lastZ;
+			this.pred = pred;
+			this.obj = obj;
+			this.z = firstZ;
+			if (firstZ <= lastZ) {
+				y = bitmapZ.rank1(firstZ);
+				x = bitmapY.rank1(y) + 1;
+			}
+		}
+
+		@Override
+		protected int[] computeNext() {
+			while (z <= lastZ) {
+				int o = arrZ.get(z);
+				int p = arrY.get(y);
+				int s = x;
+				if (bitmapZ.get(z) == 1) {
+					// move to the next predicate and, if this was the last one, to the next subject
+					if (bitmapY.get(y) == 1) {
+						x++;
+					}
+					y++;
+				}
+				z++;
+				if ((pred == 0 || pred == p) && (obj == 0 || obj == o)) {
+					return new int[] { s, p, o };
+				}
+			}
+			return null;
+		}
+	}
+
+	/**
+	 * Iterates over the triples of an object, using the object index
+	 */
+	private class ObjectIterator extends TripleIterator {
+		private final HDTIndex idx = getIndex();
+		private final int obj;
+		private final int pred;
+		private final int end;
+		private int i;
+
+		ObjectIterator(int obj, int pred) {
+			this.obj = obj;
+			this.pred = pred;
+			this.i = idx.getObjectStart(obj);
+			this.end = i + idx.getObjectCount(obj);
+		}
+
+		@Override
+		protected int[] computeNext() {
+			while (i < end) {
+				int z = idx.getObjectZ(i++);
+				int y = bitmapZ.rank1(z);
+				int p = arrY.get(y);
+				if (pred == 0 || pred == p) {
+					return new int[] { bitmapY.rank1(y) + 1, p, obj };
+				}
+			}
+			return null;
+		}
+	}
+
+	/**
+	 * Iterates over the triples of a predicate, using the predicate index, optionally filtering on object
+	 */
+	private class PredicateIterator extends TripleIterator {
+		private final HDTIndex idx = getIndex();
+		private final int pred;
+		private final int obj;
+		private final int end;
+		private int i;
+
+		// current subject and range of Z-level positions
+		private int x;
+		private int z = 0;
+		private int lastZ = -1;
+
+		PredicateIterator(int pred, int obj) {
+			this.pred = pred;
+			this.obj = obj;
+			this.i = idx.getPredicateStart(pred);
+			this.end = i + idx.getPredicatePairCount(pred);
+		}
+
+		@Override
+		protected int[] computeNext() {
+			while (z > lastZ) {
+				if (i >= end) {
+					return null;
+				}
+				int y = idx.getPredicateY(i++);
+				x = bitmapY.rank1(y) + 1;
+				z = firstZ(y);
+				lastZ = bitmapZ.select1(y + 1);
+				if (obj > 0) {
+					int found = binarySearch(arrZ, z, lastZ, obj);
+					if (found < 0) {
+						z = lastZ + 1;
+					} else {
+						z = found;
+						lastZ = found;
+					}
+				}
+			}
+			return new int[] { x, pred, arrZ.get(z++) };
+		}
+	}
+}
@@ -0,0 +1,116 @@
+/*******************************************************************************
+ * Copyright (c) 2023 Eclipse RDF4J contributors.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Distribution License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/org/documents/edl-v10.php.
+ *
+ * SPDX-License-Identifier: BSD-3-Clause
+ *******************************************************************************/
+package org.eclipse.rdf4j.rio.hdt;
+
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+
+/**
+ * Input stream on an HDT file that keeps track of its position in the file.
+ * <p>
+ * The small control parts of an HDT file are read through the stream, while the potentially very large dictionary
+ * buffers, bitmaps and arrays are memory-mapped with {@link #map(long)} instead of being read into the heap.
+ */
+class HDTFileInputStream extends InputStream {
+	private final static int BUFLEN = 8 * 1024;
+
+	private final FileChannel channel;
+	private final ByteBuffer buffer = ByteBuffer.allocate(BUFLEN);
+
+	// position in the file of the first byte in the buffer
+	private long bufferPos = 0;
+
+	/**
+	 * Constructor
+	 *
+	 * @param channel file channel, which is not closed by this stream
+	 */
+	protected HDTFileInputStream(FileChannel channel) {
+		this.channel = channel;
+		buffer.limit(0);
+	}
+
+	/**
+	 * Get the current position in the file
+	 *
+	 * @return position
+	 */
+	protected long getPosition() {
+		return bufferPos + buffer.position();
+	}
+
+	/**
+	 * Memory-map the next bytes of the file and skip them.
+	 *
+	 * @param len number of bytes
+	 * @return buffer
+	 * @throws IOException
+	 */
+	protected HDTBuffer map(long len) throws IOException {
+		long pos = getPosition();
+		if (pos + len > channel.size()) {
+			throw new EOFException("Unexpected end of file at byte " + channel.size() + ", expected " + len
+					+ " bytes starting at byte " + pos);
+		}
+		HDTBuffer mapped = HDTBuffer.map(channel, pos, len);
+		seek(pos + len);
+		return mapped;
+	}
+
+	@Override
+	public int read() throws IOException {
+		if (!buffer.hasRemaining() && !fill()) {
+			return -1;
+		}
+		return buffer.get() & 0xFF;
+	}
+
+	@Override
+	public int read(byte[] b, int off, int len) throws IOException {
+		if (len == 0) {
+			return 0;
+		}
+		if (!buffer.hasRemaining() && !fill()) {
+			return -1;
+		}
+		int n = Math.min(len, buffer.remaining());
+		buffer.get(b, off, n);
+		return n;
+	}
+
+	@Override
+	public long skip(long n) throws IOException {
+		long pos = getPosition();
+		long skipped = Math.max(0, Math.min(n, channel.size() - pos));
+		seek(pos + skipped);
+		return skipped;
+	}
+
+	private void seek(long pos) {
+		if (pos >= bufferPos && pos <= bufferPos + buffer.limit()) {
+			buffer.position((int) (pos - bufferPos));
+		} else {
+			bufferPos = pos;
+			buffer.limit(0);
+		}
+	}
+
+	private boolean fill() throws IOException {
+		bufferPos += buffer.position();
+		buffer.clear();
+		int n = channel.read(buffer, bufferPos);
+		buffer.flip();
+		return n > 0;
+	}
+}
@@ -12,7 +12,9 @@ package org.eclipse.rdf4j.rio.hdt;
 
 import java.io.IOException;
 import java.io.InputStream;
+import java.io.OutputStream;
 import java.nio.charset.StandardCharsets;
+import java.util.Map;
 import java.util.zip.CheckedInputStream;
 
 import org.eclipse.rdf4j.common.io.UncloseableInputStream;
@@ -55,4 +57,14 @@ class HDTGlobal extends HDTPart {
 			checkCRC(cis, is, 2);
 		}
 	}
+
+	/**
+	 * Write the global part.
+	 *
+	 * @param os output stream
+	 * @throws IOException
+	 */
+	protected static void write(OutputStream os) throws IOException {
+		writeControl(os, HDTPart.Type.GLOBAL, GLOBAL_FORMAT, Map.of(GLOBAL_SOFTWARE, "RDF4J"));
+	}
 }
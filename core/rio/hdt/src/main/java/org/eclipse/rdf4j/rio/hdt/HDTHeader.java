@@ -12,7 +12,9 @@ package org.eclipse.rdf4j.rio.hdt;
 
 import java.io.IOException;
 import java.io.InputStream;
+import java.io.OutputStream;
 import java.nio.charset.StandardCharsets;
+import java.util.Map;
 import java.util.zip.CheckedInputStream;
 
 import org.eclipse.rdf4j.common.io.UncloseableInputStream;
@@ -79,4 +81,17 @@ class HDTHeader extends HDTPart {
 		is.read(b);
 		return b;
 	}
+
+	/**
+	 * Write the header part, followed by the metadata.
+	 *
+	 * @param os         output stream
+	 * @param headerData metadata in NTriples format
+	 * @throws IOException
+	 */
+	protected static void write(OutputStream os, byte[] headerData) throws IOException {
+		writeControl(os, HDTPart.Type.HEADER, HEADER_FORMAT,
+				Map.of(HEADER_LENGTH, Integer.toString(headerData.length)));
+		os.write(headerData);
+	}
 }
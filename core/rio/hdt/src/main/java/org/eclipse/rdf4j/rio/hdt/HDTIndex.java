@@ -0,0 +1,318 @@
+/*******************************************************************************
+ * Copyright (c) 2023 Eclipse RDF4J contributors.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Distribution License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/org/documents/edl-v10.php.
+ *
+ * SPDX-License-Identifier: BSD-3-Clause
+ *******************************************************************************/
+package org.eclipse.rdf4j.rio.hdt;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.IntBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * Additional indexes on the bitmap triples of an HDT file in SPO order, which are needed to look up triples by object
+ * or by predicate without scanning all triples.
+ * <p>
+ * The object index lists, for each object, the positions in the Z-level where the object occurs. The predicate index
+ * lists, for each predicate, the positions in the Y-level where the predicate occurs, and also keeps the number of
+ * triples per predicate. Since the lists are sorted by position, the triples are returned in subject order.
+ * <p>
+ * The indexes are built once with a counting sort and stored in a separate file, which is memory-mapped. The file
+ * records the size and modification time of the HDT file, so it is rebuilt when the HDT file changes.
+ * <p>
+ * Structure:
+ *
+ * <pre>
+ * +--------+------------+----------+------------+-------------+-------------+
+ * | header | starts (O) | object Z | starts (P) | predicate Y | count (P)   |
+ * +--------+------------+----------+------------+-------------+-------------+
+ * </pre>
+ */
+class HDTIndex {
+	private final static byte[] MAGIC = "RDF4JHDX".getBytes(StandardCharsets.US_ASCII);
+	private final static int VERSION = 1;
+	private final static int HEADER_SIZE = 48;
+
+	private final IntArray objectStarts;
+	private final IntArray objectZ;
+	private final IntArray predicateStarts;
+	private final IntArray predicateY;
+	private final IntArray predicateCount;
+
+	private HDTIndex(FileChannel ch, int nrObjects, int nrPredicates, int nrZ, int nrY, FileChannel.MapMode mode)
+			throws IOException {
+		long pos = HEADER_SIZE;
+		objectStarts = new IntArray(ch, pos, nrObjects + 2L, mode);
+		pos += (nrObjects + 2L) * 4;
+		objectZ = new IntArray(ch, pos, nrZ, mode);
+		pos += nrZ * 4L;
+		predicateStarts = new IntArray(ch, pos, nrPredicates + 2L, mode);
+		pos += (nrPredicates + 2L) * 4;
+		predicateY = new IntArray(ch, pos, nrY, mode);
+		pos += nrY * 4L;
+		predicateCount = new IntArray(ch, pos, nrPredicates + 1L, mode);
+	}
+
+	/**
+	 * Open the index file, or build it if it does not exist or does not match the HDT file
+	 *
+	 * @param indexFile    index file
+	 * @param hdtFile      HDT file
+	 * @param nrObjects    number of objects in the dictionary
+	 * @param nrPredicates number of predicates in the dictionary
+	 * @param section      triples
+	 * @return index
+	 * @throws IOException
+	 */
+	protected static HDTIndex open(File indexFile, File hdtFile, int nrObjects, int nrPredicates,
+			HDTTriplesSectionBitmap section) throws IOException {
+		int nrZ = section.getArrayZ().size();
+		int nrY = section.getArrayY().size();
+		ByteBuffer header = header(hdtFile, nrObjects, nrPredicates, nrZ, nrY);
+
+		if (indexFile.exists()) {
+			try (FileChannel ch = FileChannel.open(indexFile.toPath(), StandardOpenOption.READ)) {
+				ByteBuffer existing = ByteBuffer.allocate(HEADER_SIZE);
+				ch.read(existing, 0);
+				existing.flip();
+				if (existing.equals(header)) {
+					return new HDTIndex(ch, nrObjects, nrPredicates, nrZ, nrY, FileChannel.MapMode.READ_ONLY);
+				}
+			}
+		}
+
+		File tmp = new File(indexFile.getPath() + ".tmp");
+		try {
+			try (FileChannel ch = FileChannel.open(tmp.toPath(), StandardOpenOption.CREATE,
+					StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.READ, StandardOpenOption.WRITE)) {
+				HDTIndex index = new HDTIndex(ch, nrObjects, nrPredicates, nrZ, nrY, FileChannel.MapMode.READ_WRITE);
+				index.build(section);
+				index.force();
+				// the header is written last, so an incomplete file is never used
+				ch.write(header.duplicate(), 0);
+				ch.force(true);
+			}
+			try {
+				Files.move(tmp.toPath(), indexFile.toPath(), StandardCopyOption.REPLACE_EXISTING,
+						StandardCopyOption.ATOMIC_MOVE);
+			} catch (AtomicMoveNotSupportedException e) {
+				Files.move(tmp.toPath(), indexFile.toPath(), StandardCopyOption.REPLACE_EXISTING);
+			}
+		} finally {
+			Files.deleteIfExists(tmp.toPath());
+		}
+
+		try (FileChannel ch = FileChannel.open(indexFile.toPath(), StandardOpenOption.READ)) {
+			return new HDTIndex(ch, nrObjects, nrPredicates, nrZ, nrY, FileChannel.MapMode.READ_ONLY);
+		}
+	}
+
+	private static ByteBuffer header(File hdtFile, int nrObjects, int nrPredicates, int nrZ, int nrY) {
+		ByteBuffer header = ByteBuffer.allocate(HEADER_SIZE).order(ByteOrder.LITTLE_ENDIAN);
+		header.put(MAGIC);
+		header.putInt(VERSION);
+		header.putLong(hdtFile.length());
+		header.putLong(hdtFile.lastModified());
+		header.putInt(nrObjects);
+		header.putInt(nrPredicates);
+		header.putInt(nrZ);
+		header.putInt(nrY);
+		header.putInt(0); // reserved
+		header.flip();
+		return header;
+	}
+
+	/**
+	 * Get the number of triples with an object
+	 *
+	 * @param o object ID
+	 * @return number of triples
+	 */
+	protected int getObjectCount(int o) {
+		return objectStarts.get(o + 1) - objectStarts.get(o);
+	}
+
+	/**
+	 * Get the position of the first Z-level entry of an object
+	 *
+	 * @param o object ID
+	 * @return start in the object list
+	 */
+	protected int getObjectStart(int o) {
+		return objectStarts.get(o);
+	}
+
+	/**
+	 * Get a Z-level position from the object list
+	 *
+	 * @param i position in the object list
+	 * @return zero-based Z-level position
+	 */
+	protected int getObjectZ(int i) {
+		return objectZ.get(i);
+	}
+
+	/**
+	 * Get the number of subject-predicate pairs with a predicate
+	 *
+	 * @param p predicate ID
+	 * @return number of Y-level entries
+	 */
+	protected int getPredicatePairCount(int p) {
+		return predicateStarts.get(p + 1) - predicateStarts.get(p);
+	}
+
+	/**
+	 * Get the position of the first Y-level entry of a predicate
+	 *
+	 * @param p predicate ID
+	 * @return start in the predicate list
+	 */
+	protected int getPredicateStart(int p) {
+		return predicateStarts.get(p);
+	}
+
+	/**
+	 * Get a Y-level position from the predicate list
+	 *
+	 * @param i position in the predicate list
+	 * @return zero-based Y-level position
+	 */
+	protected int getPredicateY(int i) {
+		return predicateY.get(i);
+	}
+
+	/**
+	 * Get the number of triples with a predicate
+	 *
+	 * @param p predicate ID
+	 * @return number of triples
+	 */
+	protected int getPredicateCount(int p) {
+		return predicateCount.get(p);
+	}
+
+	private void build(HDTTriplesSectionBitmap section) {
+		HDTBitmap bitmapZ = section.getBitmapZ();
+		HDTArray arrY = section.getArrayY();
+		HDTArray arrZ = section.getArrayZ();
+		int nrZ = arrZ.size();
+		int nrY = arrY.size();
+
+		// count the occurrences, shifted by one position
+		int y = 0;
+		for (int z = 0; z < nrZ; z++) {
+			int o = arrZ.get(z);
+			objectStarts.put(o + 1, objectStarts.get(o + 1) + 1);
+			int p = arrY.get(y);
+			predicateCount.put(p, predicateCount.get(p) + 1);
+			if (bitmapZ.get(z) == 1) {
+				y++;
+			}
+		}
+		for (y = 0; y < nrY; y++) {
+			int p = arrY.get(y);
+			predicateStarts.put(p + 1, predicateStarts.get(p + 1) + 1);
+		}
+
+		// start positions of the lists
+		objectStarts.prefixSum();
+		predicateStarts.prefixSum();
+
+		// fill the lists, using the start positions as cursors
+		for (int z = 0; z < nrZ; z++) {
+			int o = arrZ.get(z);
+			int i = objectStarts.get(o);
+			objectZ.put(i, z);
+			objectStarts.put(o, i + 1);
+		}
+		for (y = 0; y < nrY; y++) {
+			int p = arrY.get(y);
+			int i = predicateStarts.get(p);
+			predicateY.put(i, y);
+			predicateStarts.put(p, i + 1);
+		}
+
+		// each cursor now points to the start of the next list
+		objectStarts.shift();
+		predicateStarts.shift();
+	}
+
+	private void force() {
+		objectStarts.force();
+		objectZ.force();
+		predicateStarts.force();
+		predicateY.force();
+		predicateCount.force();
+	}
+
+	/**
+	 * Memory-mapped array of little-endian integers, mapped in chunks so it can be larger than 2 GB
+	 */
+	private static class IntArray {
+		private final static int CHUNK_BITS = 28;
+		private final static int CHUNK_MASK = (1 << CHUNK_BITS) - 1;
+
+		private final MappedByteBuffer[] chunks;
+		private final IntBuffer[] ints;
+		private final long length;
+
+		IntArray(FileChannel ch, long pos, long length, FileChannel.MapMode mode) throws IOException {
+			this.length = length;
+			int nrchunks = (int) ((length + CHUNK_MASK) >>> CHUNK_BITS);
+			chunks = new MappedByteBuffer[nrchunks];
+			ints = new IntBuffer[nrchunks];
+			for (int i = 0; i < nrchunks; i++) {
+				long start = (long) i << CHUNK_BITS;
+				long len = Math.min(1L << CHUNK_BITS, length - start);
+				chunks[i] = ch.map(mode, pos + start * 4, len * 4);
+				ints[i] = chunks[i].order(ByteOrder.LITTLE_ENDIAN).asIntBuffer();
+			}
+		}
+
+		int get(long i) {
+			return ints[(int) (i >>> CHUNK_BITS)].get((int) (i & CHUNK_MASK));
+		}
+
+		void put(long i, int val) {
+			ints[(int) (i >>> CHUNK_BITS)].put((int) (i & CHUNK_MASK), val);
+		}
+
+		void prefixSum() {
+			int sum = 0;
+			for (long i = 0; i < length; i++) {
+				sum += get(i);
+				put(i, sum);
+			}
+		}
+
+		void shift() {
+			for (long i = length - 1; i > 0; i--) {
+				put(i, get(i - 1));
+			}
+			if (length > 0) {
+				put(0, 0);
+			}
+		}
+
+		void force() {
+			for (MappedByteBuffer chunk : chunks) {
+				chunk.force();
+			}
+		}
+	}
+}
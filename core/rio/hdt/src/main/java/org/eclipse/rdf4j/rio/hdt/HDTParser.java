@@ -14,17 +14,13 @@ import java.io.FileInputStream;
 import java.io.IOException;
 import java.io.InputStream;
 import java.io.Reader;
-import java.nio.charset.StandardCharsets;
 import java.util.Collection;
 import java.util.HashSet;
 import java.util.Map;
 import java.util.Set;
 
 import org.apache.commons.io.input.CountingInputStream;
-import org.eclipse.rdf4j.model.IRI;
-import org.eclipse.rdf4j.model.Resource;
 import org.eclipse.rdf4j.model.Statement;
-import org.eclipse.rdf4j.model.Value;
 import org.eclipse.rdf4j.model.ValueFactory;
 import org.eclipse.rdf4j.model.impl.SimpleValueFactory;
 import org.eclipse.rdf4j.rio.RDFFormat;
@@ -173,7 +169,8 @@ public class HDTParser extends AbstractRDFParser {
 			byte[] s = getSO(t[0], size, shared, subjects);
 			byte[] p = predicates.get(t[1]);
 			byte[] o = getSO(t[2], size, shared, objects);
-			Statement stmt = valueFactory.createStatement(createSubject(s), createPredicate(p), createObject(o));
+			Statement stmt = valueFactory.createStatement(HDTValues.createSubject(s, valueFactory),
+					HDTValues.createPredicate(p, valueFactory), HDTValues.createObject(o, valueFactory));
 
 			if (rdfHandler != null) {
 				rdfHandler.handleStatement(stmt);
@@ -207,55 +204,4 @@ public class HDTParser extends AbstractRDFParser {
 			throws IOException {
 		return (pos <= size) ? shared.get(pos) : other.get(pos - size);
 	}
-
-	private boolean isBNodeID(byte[] b) {
-		// HDT-It generates "genid" for blank nodes in RDF/XML
-		return (b[0] == '_' || (b.length > 5 && b[0] == 'g' && b[1] == 'e'));
-	}
-
-	/**
-	 * Create subject IRI or blank node
-	 *
-	 * @param b byte buffer
-	 * @return IRI or blank node
-	 */
-	private Resource createSubject(byte[] b) {
-		String str = new String(b, StandardCharsets.UTF_8);
-		return isBNodeID(b) ? valueFactory.createBNode(str) : valueFactory.createIRI(str);
-	}
-
-	/**
-	 * Create predicate IRI
-	 *
-	 * @param b byte buffer
-	 * @return IRI
-	 */
-	private IRI createPredicate(byte[] b) {
-		return valueFactory.createIRI(new String(b, StandardCharsets.UTF_8));
-	}
-
-	/**
-	 * Create object (typed) literal, IRI or blank node
-	 *
-	 * @param b byte buffer
-	 * @return literal, IRI or blank node
-	 */
-	private Value createObject(byte[] b) {
-		if (b[0] == '"') {
-			int i = b.length - 1;
-			for (; i > 1 && b[i] != '"'; i--) {
-				if (b[i] == '@') {
-					String lang = new String(b, i + 1, b.length - i - 1, StandardCharsets.US_ASCII);
-					return valueFactory.createLiteral(new String(b, 1, i - 2, StandardCharsets.UTF_8), lang);
-				} else if (b[i] == '^') {
-					IRI datatype = valueFactory
-							.createIRI(new String(b, i + 2, b.length - i - 3, StandardCharsets.US_ASCII));
-					return valueFactory.createLiteral(new String(b, 1, i - 3, StandardCharsets.UTF_8), datatype);
-				}
-			}
-			return valueFactory.createLiteral(new String(b, 1, i - 1, StandardCharsets.UTF_8));
-		}
-		String str = new String(b, StandardCharsets.UTF_8);
-		return isBNodeID(b) ? valueFactory.createBNode(str) : valueFactory.createIRI(str);
-	}
 }
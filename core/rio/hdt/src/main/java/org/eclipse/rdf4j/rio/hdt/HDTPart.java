@@ -12,11 +12,14 @@ package org.eclipse.rdf4j.rio.hdt;
 
 import java.io.IOException;
 import java.io.InputStream;
+import java.io.OutputStream;
 import java.nio.charset.StandardCharsets;
 import java.util.Arrays;
 import java.util.HashMap;
 import java.util.Map;
 import java.util.zip.CheckedInputStream;
+import java.util.zip.CheckedOutputStream;
+import java.util.zip.Checksum;
 
 /**
  * Helper class for different HDT parts.
@@ -270,4 +273,46 @@ abstract class HDTPart {
 					Long.toHexString(calc) + " instead of " + Long.toHexString(expect));
 		}
 	}
+
+	/**
+	 * Write the start of a part: <code>$HDT</code>, the byte indicating the type, the <code>null</code> terminated
+	 * format and properties, and the 16-bit CRC.
+	 *
+	 * @param os     output stream
+	 * @param ctype  control type
+	 * @param format format string
+	 * @param props  properties, encoded as <code>key=value;</code>
+	 * @throws IOException
+	 */
+	protected static void writeControl(OutputStream os, HDTPart.Type ctype, byte[] format, Map<String, String> props)
+			throws IOException {
+		CheckedOutputStream cos = new CheckedOutputStream(os, new CRC16());
+		cos.write(COOKIE);
+		cos.write(ctype.getValue());
+		cos.write(format);
+		cos.write(0b00);
+		StringBuilder sb = new StringBuilder();
+		for (Map.Entry<String, String> prop : props.entrySet()) {
+			sb.append(prop.getKey()).append('=').append(prop.getValue()).append(';');
+		}
+		cos.write(sb.toString().getBytes(StandardCharsets.US_ASCII));
+		cos.write(0b00);
+
+		writeCRC(cos.getChecksum(), os, 2);
+	}
+
+	/**
+	 * Write the calculated checksum, little-endian.
+	 *
+	 * @param checksum checksum
+	 * @param os       (unchecked) output stream
+	 * @param len      number of bytes of the checksum
+	 * @throws IOException
+	 */
+	protected static void writeCRC(Checksum checksum, OutputStream os, int len) throws IOException {
+		long calc = checksum.getValue();
+		for (int i = 0; i < len; i++) {
+			os.write((int) (calc >>> (8 * i)) & 0xFF);
+		}
+	}
 }
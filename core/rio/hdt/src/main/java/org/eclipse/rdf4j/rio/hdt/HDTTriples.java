@@ -12,7 +12,9 @@ package org.eclipse.rdf4j.rio.hdt;
 
 import java.io.IOException;
 import java.io.InputStream;
+import java.io.OutputStream;
 import java.nio.charset.StandardCharsets;
+import java.util.Map;
 import java.util.zip.CheckedInputStream;
 
 import org.eclipse.rdf4j.common.io.UncloseableInputStream;
@@ -102,4 +104,15 @@ class HDTTriples extends HDTPart {
 			checkCRC(cis, is, 2);
 		}
 	}
+
+	/**
+	 * Write the triples part, using SPO order. The bitmap triples section must be written separately.
+	 *
+	 * @param os output stream
+	 * @throws IOException
+	 */
+	protected static void write(OutputStream os) throws IOException {
+		writeControl(os, HDTPart.Type.TRIPLES, FORMAT_BITMAP,
+				Map.of(ORDER, Integer.toString(Order.SPO.getValue())));
+	}
 }
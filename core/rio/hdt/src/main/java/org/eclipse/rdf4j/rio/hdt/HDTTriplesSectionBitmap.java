@@ -78,6 +78,42 @@ class HDTTriplesSectionBitmap extends HDTTriplesSection {
 		return new int[] { x, y, z };
 	}
 
+	/**
+	 * Get the bitmap marking the last predicate of each subject
+	 *
+	 * @return bitmap
+	 */
+	protected HDTBitmap getBitmapY() {
+		return bitmapY;
+	}
+
+	/**
+	 * Get the bitmap marking the last object of each subject-predicate pair
+	 *
+	 * @return bitmap
+	 */
+	protected HDTBitmap getBitmapZ() {
+		return bitmapZ;
+	}
+
+	/**
+	 * Get the predicates
+	 *
+	 * @return array
+	 */
+	protected HDTArray getArrayY() {
+		return arrY;
+	}
+
+	/**
+	 * Get the objects
+	 *
+	 * @return array
+	 */
+	protected HDTArray getArrayZ() {
+		return arrZ;
+	}
+
 	@Override
 	protected void parse(InputStream is) throws IOException {
 		parse(is, HDTTriples.Order.SPO);
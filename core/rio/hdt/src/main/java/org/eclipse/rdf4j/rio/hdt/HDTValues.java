@@ -0,0 +1,135 @@
+/*******************************************************************************
+ * Copyright (c) 2023 Eclipse RDF4J contributors.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Distribution License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/org/documents/edl-v10.php.
+ *
+ * SPDX-License-Identifier: BSD-3-Clause
+ *******************************************************************************/
+package org.eclipse.rdf4j.rio.hdt;
+
+import java.nio.charset.StandardCharsets;
+
+import org.eclipse.rdf4j.model.BNode;
+import org.eclipse.rdf4j.model.IRI;
+import org.eclipse.rdf4j.model.Literal;
+import org.eclipse.rdf4j.model.Resource;
+import org.eclipse.rdf4j.model.Value;
+import org.eclipse.rdf4j.model.ValueFactory;
+import org.eclipse.rdf4j.model.vocabulary.XSD;
+
+/**
+ * Conversion between RDF values and the byte strings in the HDT dictionary.
+ * <p>
+ * IRIs and blank nodes are stored as is, literals are stored in N-Triples syntax without escaping:
+ * <code>"label"</code>, <code>"label"@lang</code> or <code>"label"^^&lt;datatype&gt;</code>.
+ */
+class HDTValues {
+	private HDTValues() {
+	}
+
+	private static boolean isBNodeID(byte[] b) {
+		// HDT-It generates "genid" for blank nodes in RDF/XML
+		return (b[0] == '_' || (b.length > 5 && b[0] == 'g' && b[1] == 'e'));
+	}
+
+	/**
+	 * Create subject IRI or blank node
+	 *
+	 * @param b  byte buffer
+	 * @param vf value factory
+	 * @return IRI or blank node
+	 */
+	protected static Resource createSubject(byte[] b, ValueFactory vf) {
+		String str = new String(b, StandardCharsets.UTF_8);
+		return isBNodeID(b) ? vf.createBNode(str) : vf.createIRI(str);
+	}
+
+	/**
+	 * Create predicate IRI
+	 *
+	 * @param b  byte buffer
+	 * @param vf value factory
+	 * @return IRI
+	 */
+	protected static IRI createPredicate(byte[] b, ValueFactory vf) {
+		return vf.createIRI(new String(b, StandardCharsets.UTF_8));
+	}
+
+	/**
+	 * Create object (typed) literal, IRI or blank node
+	 *
+	 * @param b  byte buffer
+	 * @param vf value factory
+	 * @return literal, IRI or blank node
+	 */
+	protected static Value createObject(byte[] b, ValueFactory vf) {
+		if (b[0] == '"') {
+			int i = b.length - 1;
+			for (; i > 1 && b[i] != '"'; i--) {
+				if (b[i] == '@') {
+					String lang = new String(b, i + 1, b.length - i - 1, StandardCharsets.US_ASCII);
+					return vf.createLiteral(new String(b, 1, i - 2, StandardCharsets.UTF_8), lang);
+				} else if (b[i] == '^') {
+					IRI datatype = vf.createIRI(new String(b, i + 2, b.length - i - 3, StandardCharsets.US_ASCII));
+					return vf.createLiteral(new String(b, 1, i - 3, StandardCharsets.UTF_8), datatype);
+				}
+			}
+			return vf.createLiteral(new String(b, 1, i - 1, StandardCharsets.UTF_8));
+		}
+		return createSubject(b, vf);
+	}
+
+	/**
+	 * Get the byte string of a value, as it would be stored in the dictionary
+	 *
+	 * @param v IRI, blank node or literal
+	 * @return byte string, or null for other values (e.g. triples)
+	 */
+	protected static byte[] toBytes(Value v) {
+		if (v instanceof IRI) {
+			return v.stringValue().getBytes(StandardCharsets.UTF_8);
+		}
+		if (v instanceof BNode) {
+			byte[] b = ((BNode) v).getID().getBytes(StandardCharsets.UTF_8);
+			if (b.length > 0 && isBNodeID(b)) {
+				return b;
+			}
+			// prefix identifiers that would not be recognized as blank nodes
+			byte[] prefixed = new byte[b.length + 2];
+			prefixed[0] = '_';
+			prefixed[1] = ':';
+			System.arraycopy(b, 0, prefixed, 2, b.length);
+			return prefixed;
+		}
+		if (v instanceof Literal) {
+			Literal l = (Literal) v;
+			StringBuilder sb = new StringBuilder(l.getLabel().length() + 2);
+			sb.append('"').append(l.getLabel()).append('"');
+			if (l.getLanguage().isPresent()) {
+				sb.append('@').append(l.getLanguage().get());
+			} else if (!XSD.STRING.equals(l.getDatatype())) {
+				sb.append("^^<").append(l.getDatatype().stringValue()).append('>');
+			}
+			return sb.toString().getBytes(StandardCharsets.UTF_8);
+		}
+		return null;
+	}
+
+	/**
+	 * Get the byte string of a literal with an explicit xsd:string datatype, which some HDT files use for simple
+	 * literals
+	 *
+	 * @param v value
+	 * @return byte string, or null if the value is not a simple literal
+	 */
+	protected static byte[] toTypedStringBytes(Value v) {
+		if (v instanceof Literal && XSD.STRING.equals(((Literal) v).getDatatype())) {
+			String str = '"' + ((Literal) v).getLabel() + "\"^^<" + XSD.STRING.stringValue() + '>';
+			return str.getBytes(StandardCharsets.UTF_8);
+		}
+		return null;
+	}
+}
@@ -0,0 +1,321 @@
+/*******************************************************************************
+ * Copyright (c) 2023 Eclipse RDF4J contributors.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Distribution License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/org/documents/edl-v10.php.
+ *
+ * SPDX-License-Identifier: BSD-3-Clause
+ *******************************************************************************/
+package org.eclipse.rdf4j.rio.hdt;
+
+import java.io.BufferedOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.eclipse.rdf4j.common.annotation.Experimental;
+import org.eclipse.rdf4j.common.io.ByteSink;
+import org.eclipse.rdf4j.model.Statement;
+import org.eclipse.rdf4j.model.Value;
+import org.eclipse.rdf4j.rio.RDFFormat;
+import org.eclipse.rdf4j.rio.RDFHandlerException;
+import org.eclipse.rdf4j.rio.helpers.AbstractRDFWriter;
+
+/**
+ * RDF writer for HDT v1.0 files, using a four section dictionary with plain front coding, and bitmap triples in SPO
+ * order. The output can be read by the {@link HDTParser}, the {@link HDTFile} and HDT-It.
+ * <p>
+ * HDT requires the dictionary and the triples to be sorted, so this writer keeps all distinct values and (numeric)
+ * triples in memory until {@link #endRDF()} is called, and only then writes the file.
+ * <p>
+ * HDT does not support named graphs: the statements of all contexts are merged into one graph, and duplicate triples
+ * are written only once. Namespaces are ignored.
+ */
+@Experimental
+public class HDTWriter extends AbstractRDFWriter implements ByteSink {
+	// number of strings per block of front coded strings, same as HDT-It
+	private final static int STRINGS_BLOCK = 16;
+
+	private final static String VOID = "http://rdfs.org/ns/void#";
+
+	private final static int SUBJECT = 1;
+	private final static int OBJECT = 2;
+
+	private final OutputStream out;
+
+	// distinct subjects and objects, with their roles, and distinct predicates
+	private final Map<Term, Term> terms = new HashMap<>();
+	private final List<Term> termList = new ArrayList<>();
+	private final Map<Term, Term> predicates = new HashMap<>();
+	private final List<Term> predicateList = new ArrayList<>();
+
+	// subject, predicate, object for each triple, as positions in the term lists
+	private int[] triples = new int[3 * 1024];
+	private int nrtriples = 0;
+
+	/**
+	 * Creates a new HDTWriter that will write to the supplied OutputStream.
+	 *
+	 * @param out The OutputStream to write the HDT file to.
+	 */
+	public HDTWriter(OutputStream out) {
+		this.out = new BufferedOutputStream(out);
+	}
+
+	@Override
+	public RDFFormat getRDFFormat() {
+		return RDFFormat.HDT;
+	}
+
+	@Override
+	public OutputStream getOutputStream() {
+		return out;
+	}
+
+	@Override
+	public void startRDF() throws RDFHandlerException {
+		super.startRDF();
+		terms.clear();
+		termList.clear();
+		predicates.clear();
+		predicateList.clear();
+		nrtriples = 0;
+	}
+
+	@Override
+	protected void consumeStatement(Statement st) throws RDFHandlerException {
+		if (nrtriples == Integer.MAX_VALUE / 3) {
+			throw new RDFHandlerException("Maximum number of triples exceeded: " + nrtriples);
+		}
+		if (triples.length < (nrtriples + 1) * 3) {
+			triples = Arrays.copyOf(triples, (int) Math.min(Integer.MAX_VALUE - 2L, triples.length * 2L + 3));
+		}
+		int i = nrtriples * 3;
+		triples[i] = addTerm(terms, termList, st.getSubject(), SUBJECT);
+		triples[i + 1] = addTerm(predicates, predicateList, st.getPredicate(), 0);
+		triples[i + 2] = addTerm(terms, termList, st.getObject(), OBJECT);
+		nrtriples++;
+	}
+
+	@Override
+	public void handleComment(String comment) throws RDFHandlerException {
+		// comments are not supported
+	}
+
+	@Override
+	public void endRDF() throws RDFHandlerException {
+		checkWritingStarted();
+		try {
+			writeHDT();
+			out.flush();
+		} catch (IOException e) {
+			throw new RDFHandlerException(e);
+		} finally {
+			terms.clear();
+			termList.clear();
+			predicates.clear();
+			predicateList.clear();
+			triples = new int[0];
+		}
+	}
+
+	/**
+	 * Add a value to the terms, unless it is already present
+	 *
+	 * @param map  map of known terms
+	 * @param list list of known terms
+	 * @param v    value
+	 * @param role role of the value in the triple
+	 * @return position in the list of terms
+	 */
+	private static int addTerm(Map<Term, Term> map, List<Term> list, Value v, int role) {
+		byte[] b = HDTValues.toBytes(v);
+		if (b == null) {
+			throw new RDFHandlerException("HDT does not support RDF-star triples: " + v);
+		}
+		for (byte c : b) {
+			if (c == 0b00) {
+				throw new RDFHandlerException("HDT does not support values containing a null character: " + v);
+			}
+		}
+		Term term = new Term(b);
+		Term known = map.putIfAbsent(term, term);
+		if (known == null) {
+			term.pos = list.size();
+			list.add(term);
+			known = term;
+		}
+		known.roles |= role;
+		return known.pos;
+	}
+
+	private void writeHDT() throws IOException {
+		// dictionary: shared subjects and objects, subjects only, predicates and objects only, each sorted
+		List<byte[]> shared = new ArrayList<>();
+		List<byte[]> subjects = new ArrayList<>();
+		List<byte[]> objects = new ArrayList<>();
+		List<Term> sorted = new ArrayList<>(termList);
+		sorted.sort(null);
+		for (Term term : sorted) {
+			if (term.roles == (SUBJECT | OBJECT)) {
+				shared.add(term.bytes);
+				term.id = shared.size();
+			}
+		}
+		for (Term term : sorted) {
+			if (term.roles == SUBJECT) {
+				subjects.add(term.bytes);
+				term.id = shared.size() + subjects.size();
+			} else if (term.roles == OBJECT) {
+				objects.add(term.bytes);
+				term.id = shared.size() + objects.size();
+			}
+		}
+		sorted = null;
+
+		List<byte[]> preds = new ArrayList<>();
+		List<Term> sortedPreds = new ArrayList<>(predicateList);
+		sortedPreds.sort(null);
+		for (Term term : sortedPreds) {
+			preds.add(term.bytes);
+			term.id = preds.size();
+		}
+
+		int nrsubjects = shared.size() + subjects.size();
+		int nrobjects = shared.size() + objects.size();
+
+		// sort the triples by subject, then by predicate and object, and remove duplicates
+		int[] starts = new int[nrsubjects + 2];
+		for (int i = 0; i < nrtriples; i++) {
+			starts[termList.get(triples[i * 3]).id + 1]++;
+		}
+		for (int s = 1; s < starts.length; s++) {
+			starts[s] += starts[s - 1];
+		}
+		int[] next = Arrays.copyOf(starts, starts.length);
+		long[] po = new long[nrtriples];
+		for (int i = 0; i < nrtriples; i++) {
+			int s = termList.get(triples[i * 3]).id;
+			int p = predicateList.get(triples[i * 3 + 1]).id;
+			int o = termList.get(triples[i * 3 + 2]).id;
+			po[next[s]++] = ((long) p << 32) | o;
+		}
+		triples = new int[0];
+		next = null;
+
+		long[] bitmapY = new long[(nrtriples + 63) / 64];
+		long[] bitmapZ = new long[(nrtriples + 63) / 64];
+		int[] arrY = new int[nrtriples];
+		int[] arrZ = new int[nrtriples];
+		int sizeY = 0;
+		int sizeZ = 0;
+
+		for (int s = 1; s <= nrsubjects; s++) {
+			Arrays.sort(po, starts[s], starts[s + 1]);
+			long last = -1;
+			for (int i = starts[s]; i < starts[s + 1]; i++) {
+				if (po[i] == last) {
+					continue;
+				}
+				int p = (int) (po[i] >>> 32);
+				if (i == starts[s] || p != (int) (last >>> 32)) {
+					if (sizeZ > 0) {
+						// previous object was the last of its subject-predicate pair
+						setBit(bitmapZ, sizeZ - 1);
+					}
+					if (i == starts[s] && sizeY > 0) {
+						// previous predicate was the last of its subject
+						setBit(bitmapY, sizeY - 1);
+					}
+					arrY[sizeY++] = p;
+				}
+				arrZ[sizeZ++] = (int) po[i];
+				last = po[i];
+			}
+		}
+		if (sizeY > 0) {
+			setBit(bitmapY, sizeY - 1);
+			setBit(bitmapZ, sizeZ - 1);
+		}
+		po = null;
+
+		HDTGlobal.write(out);
+		HDTHeader.write(out, headerData(sizeZ, preds.size(), nrsubjects, nrobjects));
+		HDTDictionary.write(out, (long) shared.size() + subjects.size() + preds.size() + objects.size());
+		HDTDictionarySectionPFC.write(out, shared, STRINGS_BLOCK);
+		HDTDictionarySectionPFC.write(out, subjects, STRINGS_BLOCK);
+		HDTDictionarySectionPFC.write(out, preds, STRINGS_BLOCK);
+		HDTDictionarySectionPFC.write(out, objects, STRINGS_BLOCK);
+
+		HDTTriples.write(out);
+		HDTBitmap.write(out, bitmapY, sizeY);
+		HDTBitmap.write(out, bitmapZ, sizeZ);
+		HDTArrayLog64.write(out, sizeY, HDTArrayLog64.nrBits(preds.size()), i -> arrY[i]);
+		HDTArrayLog64.write(out, sizeZ, HDTArrayLog64.nrBits(nrobjects), i -> arrZ[i]);
+	}
+
+	private static void setBit(long[] words, int i) {
+		words[i / 64] |= 1L << (i % 64);
+	}
+
+	/**
+	 * Get some basic statistics about the dataset, in NTriples format
+	 *
+	 * @param nrtriples    number of triples
+	 * @param nrpredicates number of distinct predicates
+	 * @param nrsubjects   number of distinct subjects
+	 * @param nrobjects    number of distinct objects
+	 * @return byte array
+	 */
+	private static byte[] headerData(int nrtriples, int nrpredicates, int nrsubjects, int nrobjects) {
+		StringBuilder sb = new StringBuilder();
+		sb.append("_:dataset <http://www.w3.org/1999/02/22-rdf-syntax-ns#type> <").append(VOID).append("Dataset> .\n");
+		appendStatistic(sb, VOID + "triples", nrtriples);
+		appendStatistic(sb, VOID + "properties", nrpredicates);
+		appendStatistic(sb, VOID + "distinctSubjects", nrsubjects);
+		appendStatistic(sb, VOID + "distinctObjects", nrobjects);
+		return sb.toString().getBytes(StandardCharsets.UTF_8);
+	}
+
+	private static void appendStatistic(StringBuilder sb, String predicate, int value) {
+		sb.append("_:dataset <").append(predicate).append("> \"").append(value).append("\" .\n");
+	}
+
+	/**
+	 * A distinct value in the dictionary, ordered by the unsigned bytes of its string
+	 */
+	private static final class Term implements Comparable<Term> {
+		private final byte[] bytes;
+		private final int hash;
+		private int pos;
+		private int roles;
+		private int id;
+
+		Term(byte[] bytes) {
+			this.bytes = bytes;
+			this.hash = Arrays.hashCode(bytes);
+		}
+
+		@Override
+		public boolean equals(Object o) {
+			return o instanceof Term && Arrays.equals(bytes, ((Term) o).bytes);
+		}
+
+		@Override
+		public int hashCode() {
+			return hash;
+		}
+
+		@Override
+		public int compareTo(Term o) {
+			return Arrays.compareUnsigned(bytes, o.bytes);
+		}
+	}
+}
@@ -12,6 +12,7 @@ package org.eclipse.rdf4j.rio.hdt;
 
 import java.io.IOException;
 import java.io.InputStream;
+import java.io.OutputStream;
 
 /**
  * Variable byte encoding for numbers.
@@ -94,6 +95,21 @@ public class VByte {
 		return decode(buffer, i);
 	}
 
+	/**
+	 * Encode a (positive) value to the output stream.
+	 *
+	 * @param os    output stream
+	 * @param value numeric value
+	 * @throws IOException
+	 */
+	public static void encode(OutputStream os, long value) throws IOException {
+		while (value >= 128) {
+			os.write((int) (value & 0x7F));
+			value >>>= 7;
+		}
+		os.write((int) (value | 0x80));
+	}
+
 	/**
 	 * Calculate the number of bytes needed for encoding a value
 	 *
@@ -101,7 +117,7 @@ public class VByte {
 	 * @return number of bytes
 	 */
 	public static int encodedLength(long value) {
-		if (value < 127) {
+		if (value < 128) {
 			return 1;
 		}
 		if (value < 16_384) {
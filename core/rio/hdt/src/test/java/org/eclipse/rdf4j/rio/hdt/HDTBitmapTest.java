@@ -0,0 +1,92 @@
+/*******************************************************************************
+ * Copyright (c) 2023 Eclipse RDF4J contributors.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Distribution License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/org/documents/edl-v10.php.
+ *
+ * SPDX-License-Identifier: BSD-3-Clause
+ *******************************************************************************/
+package org.eclipse.rdf4j.rio.hdt;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.util.Random;
+import java.util.zip.Checksum;
+
+import org.junit.jupiter.api.Test;
+
+public class HDTBitmapTest {
+
+	@Test
+	public void testRankSelect() throws Exception {
+		for (int bits : new int[] { 1, 63, 64, 511, 512, 513, 10_000 }) {
+			testRankSelect(bits);
+		}
+	}
+
+	private void testRankSelect(int bits) throws Exception {
+		Random random = new Random(bits);
+		boolean[] expected = new boolean[bits];
+		for (int i = 0; i < bits; i++) {
+			expected[i] = random.nextInt(3) == 0;
+		}
+
+		HDTBitmap bitmap = new HDTBitmap();
+		bitmap.parse(new ByteArrayInputStream(encode(expected)));
+		bitmap.buildIndex();
+
+		int ones = 0;
+		for (int i = 0; i < bits; i++) {
+			assertThat(bitmap.rank1(i)).isEqualTo(ones);
+			assertThat(bitmap.get(i)).isEqualTo(expected[i] ? 1 : 0);
+			if (expected[i]) {
+				ones++;
+				assertThat(bitmap.select1(ones)).isEqualTo(i);
+			}
+		}
+		assertThat(bitmap.rank1(bits)).isEqualTo(ones);
+		assertThat(bitmap.countOnes()).isEqualTo(ones);
+		assertThat(bitmap.select1(ones + 1)).isEqualTo(-1);
+	}
+
+	private static byte[] encode(boolean[] bits) {
+		ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+		// type, VByte-encoded number of bits and CRC8
+		byte[] header = new byte[6];
+		int len = 0;
+		header[len++] = HDTBitmap.BITMAP1;
+		long val = bits.length;
+		while (val >= 128) {
+			header[len++] = (byte) (val & 0x7F);
+			val >>>= 7;
+		}
+		header[len++] = (byte) (val | 0x80);
+		out.write(header, 0, len);
+		writeCRC(out, new CRC8(), header, len, 1);
+
+		// bits (with some garbage after the last bit) and CRC32
+		byte[] data = new byte[(bits.length + 7) / 8];
+		for (int i = 0; i < data.length * 8; i++) {
+			if (i >= bits.length || bits[i]) {
+				data[i / 8] |= 1 << (i % 8);
+			}
+		}
+		out.write(data, 0, data.length);
+		writeCRC(out, new CRC32(), data, data.length, 4);
+
+		return out.toByteArray();
+	}
+
+	private static void writeCRC(ByteArrayOutputStream out, Checksum crc, byte[] b, int len, int size) {
+		crc.update(b, 0, len);
+		long val = crc.getValue();
+		for (int i = 0; i < size; i++) {
+			out.write((int) (val >>> (8 * i)) & 0xFF);
+		}
+	}
+}
@@ -0,0 +1,163 @@
+/*******************************************************************************
+ * Copyright (c) 2023 Eclipse RDF4J contributors.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Distribution License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/org/documents/edl-v10.php.
+ *
+ * SPDX-License-Identifier: BSD-3-Clause
+ *******************************************************************************/
+package org.eclipse.rdf4j.rio.hdt;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+import org.eclipse.rdf4j.model.Model;
+import org.eclipse.rdf4j.model.Statement;
+import org.eclipse.rdf4j.model.Value;
+import org.eclipse.rdf4j.model.ValueFactory;
+import org.eclipse.rdf4j.model.impl.SimpleValueFactory;
+import org.eclipse.rdf4j.model.vocabulary.RDF;
+import org.eclipse.rdf4j.rio.RDFFormat;
+import org.eclipse.rdf4j.rio.Rio;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+public class HDTFileTest {
+	private static final ValueFactory vf = SimpleValueFactory.getInstance();
+
+	@TempDir
+	File tmpDir;
+
+	private File file;
+
+	private HDTFile hdt;
+
+	private Model orig;
+
+	@BeforeEach
+	public void setUp() throws Exception {
+		file = new File(tmpDir, "test.hdt");
+		try (InputStream is = HDTFileTest.class.getResourceAsStream("/test.hdt")) {
+			Files.copy(is, file.toPath());
+		}
+		try (InputStream is = HDTFileTest.class.getResourceAsStream("/test-orig.nt")) {
+			orig = Rio.parse(is, "", RDFFormat.NTRIPLES);
+		}
+		hdt = HDTFile.open(file);
+	}
+
+	@AfterEach
+	public void tearDown() {
+		hdt.close();
+	}
+
+	@Test
+	public void testScan() throws Exception {
+		assertThat(hdt.getTripleCount()).isEqualTo(43);
+		assertThat(search(0, 0, 0)).isEqualTo(new HashSet<>(orig));
+		assertThat(hdt.estimateCardinality(0, 0, 0)).isEqualTo(43);
+	}
+
+	@Test
+	public void testPatterns() throws Exception {
+		for (Statement st : orig) {
+			int s = hdt.getSubjectID(st.getSubject());
+			int p = hdt.getPredicateID(st.getPredicate());
+			int o = hdt.getObjectID(st.getObject());
+			assertThat(s).isPositive();
+			assertThat(p).isPositive();
+			assertThat(o).isPositive();
+			assertThat(hdt.getSubject(s, vf)).isEqualTo(st.getSubject());
+			assertThat(hdt.getPredicate(p, vf)).isEqualTo(st.getPredicate());
+			assertThat(hdt.getObject(o, vf)).isEqualTo(st.getObject());
+
+			for (int mask = 0; mask < 8; mask++) {
+				Value subj = (mask & 1) != 0 ? st.getSubject() : null;
+				Value pred = (mask & 2) != 0 ? st.getPredicate() : null;
+				Value obj = (mask & 4) != 0 ? st.getObject() : null;
+				Set<Statement> expected = orig.stream()
+						.filter(e -> subj == null || subj.equals(e.getSubject()))
+						.filter(e -> pred == null || pred.equals(e.getPredicate()))
+						.filter(e -> obj == null || obj.equals(e.getObject()))
+						.collect(Collectors.toSet());
+
+				int ss = (subj != null) ? s : 0;
+				int pp = (pred != null) ? p : 0;
+				int oo = (obj != null) ? o : 0;
+				assertThat(search(ss, pp, oo)).isEqualTo(expected);
+
+				long cardinality = hdt.estimateCardinality(ss, pp, oo);
+				if (obj != null && (subj != null ^ pred != null)) {
+					assertThat(cardinality).isGreaterThanOrEqualTo(expected.size());
+				} else {
+					assertThat(cardinality).isEqualTo(expected.size());
+				}
+			}
+		}
+	}
+
+	@Test
+	public void testUnknownValues() throws Exception {
+		assertThat(hdt.getSubjectID(vf.createIRI("http://example.org/unknown"))).isZero();
+		assertThat(hdt.getPredicateID(vf.createIRI("http://example.org/unknown"))).isZero();
+		assertThat(hdt.getObjectID(vf.createLiteral("unknown"))).isZero();
+		assertThat(hdt.getSubjectID(vf.createLiteral("literal"))).isZero();
+		// objects that are never subjects
+		assertThat(hdt.getSubjectID(vf.createIRI("http://www.w3.org/ns/dcat#Dataset"))).isZero();
+		assertThat(hdt.getObjectID(RDF.TYPE)).isZero();
+	}
+
+	@Test
+	public void testIndexFile() throws Exception {
+		File indexFile = new File(tmpDir, "test.hdt.rdf4j.idx");
+		assertThat(indexFile).doesNotExist();
+
+		int o = hdt.getObjectID(vf.createIRI("http://www.w3.org/ns/dcat#Dataset"));
+		assertThat(search(0, 0, o)).isNotEmpty();
+		assertThat(indexFile).exists();
+		long modified = indexFile.lastModified();
+
+		// the index is reused
+		hdt.close();
+		hdt = HDTFile.open(file);
+		assertThat(search(0, 0, o)).isNotEmpty();
+		assertThat(indexFile.lastModified()).isEqualTo(modified);
+
+		// a different HDT file is detected
+		hdt.close();
+		assertThat(file.setLastModified(file.lastModified() - 10_000)).isTrue();
+		hdt = HDTFile.open(file);
+		assertThat(search(0, 0, o))
+				.isEqualTo(orig.filter(null, null, vf.createIRI("http://www.w3.org/ns/dcat#Dataset")));
+	}
+
+	@Test
+	public void testClosed() {
+		hdt.close();
+		assertThatThrownBy(() -> hdt.search(0, 0, 0)).isInstanceOf(IllegalStateException.class);
+	}
+
+	private Set<Statement> search(int s, int p, int o) throws IOException {
+		Set<Statement> result = new HashSet<>();
+		Iterator<int[]> iter = hdt.search(s, p, o);
+		while (iter.hasNext()) {
+			int[] t = iter.next();
+			result.add(vf.createStatement(hdt.getSubject(t[0], vf), hdt.getPredicate(t[1], vf),
+					hdt.getObject(t[2], vf)));
+		}
+		return result;
+	}
+}
@@ -0,0 +1,197 @@
+/*******************************************************************************
+ * Copyright (c) 2023 Eclipse RDF4J contributors.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Distribution License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/org/documents/edl-v10.php.
+ *
+ * SPDX-License-Identifier: BSD-3-Clause
+ *******************************************************************************/
+package org.eclipse.rdf4j.rio.hdt;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.util.Arrays;
+import java.util.Iterator;
+
+import org.eclipse.rdf4j.model.BNode;
+import org.eclipse.rdf4j.model.IRI;
+import org.eclipse.rdf4j.model.Model;
+import org.eclipse.rdf4j.model.ValueFactory;
+import org.eclipse.rdf4j.model.impl.LinkedHashModel;
+import org.eclipse.rdf4j.model.impl.SimpleValueFactory;
+import org.eclipse.rdf4j.model.util.Models;
+import org.eclipse.rdf4j.model.vocabulary.RDF;
+import org.eclipse.rdf4j.model.vocabulary.XSD;
+import org.eclipse.rdf4j.rio.RDFFormat;
+import org.eclipse.rdf4j.rio.RDFHandlerException;
+import org.eclipse.rdf4j.rio.RDFWriter;
+import org.eclipse.rdf4j.rio.Rio;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+public class HDTWriterTest {
+	private static final ValueFactory vf = SimpleValueFactory.getInstance();
+
+	@TempDir
+	File tmpDir;
+
+	@Test
+	public void testRoundtrip() throws Exception {
+		Model orig;
+		try (InputStream is = HDTWriterTest.class.getResourceAsStream("/test-orig.nt")) {
+			orig = Rio.parse(is, "", RDFFormat.NTRIPLES);
+		}
+		Model m = roundtrip(orig);
+		assertThat(m).hasSize(43);
+		assertThat(Models.isomorphic(orig, m)).isTrue();
+	}
+
+	@Test
+	public void testSameAsHDTIt() throws Exception {
+		Model orig;
+		try (InputStream is = HDTWriterTest.class.getResourceAsStream("/test-orig.nt")) {
+			orig = Rio.parse(is, "", RDFFormat.NTRIPLES);
+		}
+		byte[] expected;
+		try (InputStream is = HDTWriterTest.class.getResourceAsStream("/test.hdt")) {
+			expected = is.readAllBytes();
+		}
+		byte[] written = write(orig);
+
+		// the global part and header differ, HDT-It also leaves some unused bits set in the array of one of the
+		// dictionary sections, but the sections must decode to the same strings and the triples must be identical
+		assertThat(Arrays.copyOfRange(written, indexOf(written, HDTPart.Type.TRIPLES), written.length))
+				.isEqualTo(Arrays.copyOfRange(expected, indexOf(expected, HDTPart.Type.TRIPLES), expected.length));
+
+		String[] names = { "S+O", "S", "P", "O" };
+		int expectedPos = skipControl(expected, indexOf(expected, HDTPart.Type.DICTIONARY));
+		int writtenPos = skipControl(written, indexOf(written, HDTPart.Type.DICTIONARY));
+		try (InputStream ex = new ByteArrayInputStream(expected, expectedPos, expected.length);
+				InputStream wr = new ByteArrayInputStream(written, writtenPos, written.length)) {
+			for (String name : names) {
+				HDTDictionarySection exSection = HDTDictionarySectionFactory.parse(ex, name, 0);
+				exSection.parse(ex);
+				HDTDictionarySection wrSection = HDTDictionarySectionFactory.parse(wr, name, 0);
+				wrSection.parse(wr);
+				assertThat(wrSection.size()).isEqualTo(exSection.size());
+				for (int i = 1; i <= exSection.size(); i++) {
+					assertThat(wrSection.get(i)).isEqualTo(exSection.get(i));
+				}
+			}
+		}
+	}
+
+	@Test
+	public void testValues() throws Exception {
+		Model orig = new LinkedHashModel();
+		IRI p = vf.createIRI("http://example.org/p");
+		BNode b1 = vf.createBNode("b1");
+		BNode b2 = vf.createBNode("node2");
+		StringBuilder longPrefix = new StringBuilder("http://example.org/");
+		for (int i = 0; i < 200; i++) {
+			longPrefix.append('x');
+		}
+		for (int i = 0; i < 1000; i++) {
+			IRI s = vf.createIRI(longPrefix.toString() + i);
+			orig.add(s, p, vf.createLiteral(i));
+			orig.add(s, RDF.TYPE, vf.createIRI("http://example.org/Class" + (i % 7)));
+			orig.add(s, p, vf.createIRI(longPrefix.toString() + (i + 1)));
+		}
+		orig.add(b1, p, b2);
+		orig.add(b2, p, vf.createLiteral("café \"quoted\"", "fr"));
+		orig.add(b2, p, vf.createLiteral("typed", XSD.STRING));
+		orig.add(b2, p, vf.createLiteral("😀"));
+		// predicate that is also a subject and an object
+		orig.add(p, RDF.TYPE, RDF.PROPERTY);
+		orig.add(b1, RDF.VALUE, p);
+
+		assertThat(Models.isomorphic(orig, roundtrip(orig))).isTrue();
+	}
+
+	@Test
+	public void testContextsMerged() throws Exception {
+		Model orig = new LinkedHashModel();
+		IRI s = vf.createIRI("http://example.org/s");
+		IRI p = vf.createIRI("http://example.org/p");
+		orig.add(s, p, vf.createLiteral("o"));
+		orig.add(s, p, vf.createLiteral("o"), vf.createIRI("http://example.org/g1"));
+		orig.add(s, p, vf.createLiteral("o2"), vf.createIRI("http://example.org/g2"));
+
+		Model m = roundtrip(orig);
+		assertThat(m).hasSize(2);
+		assertThat(m.contexts()).containsExactly((IRI) null);
+	}
+
+	@Test
+	public void testEmpty() throws Exception {
+		assertThat(roundtrip(new LinkedHashModel())).isEmpty();
+	}
+
+	@Test
+	public void testNullCharacter() {
+		Model orig = new LinkedHashModel();
+		orig.add(vf.createIRI("http://example.org/s"), RDF.VALUE, vf.createLiteral("a\u0000b"));
+		assertThatThrownBy(() -> write(orig)).isInstanceOf(RDFHandlerException.class);
+	}
+
+	@Test
+	public void testHDTFile() throws Exception {
+		Model orig;
+		try (InputStream is = HDTWriterTest.class.getResourceAsStream("/test-orig.nt")) {
+			orig = Rio.parse(is, "", RDFFormat.NTRIPLES);
+		}
+		File f = new File(tmpDir, "written.hdt");
+		try (OutputStream os = new FileOutputStream(f)) {
+			Rio.write(orig, os, RDFFormat.HDT);
+		}
+
+		try (HDTFile hdt = HDTFile.open(f)) {
+			assertThat(hdt.getTripleCount()).isEqualTo(orig.size());
+			int count = 0;
+			for (Iterator<int[]> it = hdt.search(0, hdt.getPredicateID(RDF.TYPE), 0); it.hasNext(); it.next()) {
+				count++;
+			}
+			assertThat(count).isEqualTo(orig.filter(null, RDF.TYPE, null).size());
+		}
+	}
+
+	private static byte[] write(Model model) {
+		ByteArrayOutputStream bos = new ByteArrayOutputStream();
+		RDFWriter writer = Rio.createWriter(RDFFormat.HDT, bos);
+		Rio.write(model, writer);
+		return bos.toByteArray();
+	}
+
+	private static Model roundtrip(Model model) throws Exception {
+		return Rio.parse(new ByteArrayInputStream(write(model)), "", RDFFormat.HDT);
+	}
+
+	private static int indexOf(byte[] b, HDTPart.Type type) {
+		byte[] control = new byte[] { '$', 'H', 'D', 'T', type.getValue() };
+		for (int i = 0; i <= b.length - control.length; i++) {
+			if (Arrays.equals(b, i, i + control.length, control, 0, control.length)) {
+				return i;
+			}
+		}
+		throw new AssertionError("Part not found: " + type);
+	}
+
+	private static int skipControl(byte[] b, int start) {
+		// skip $HDT, type, null-terminated format and properties, and the CRC16
+		int pos = start + 5;
+		while (b[pos++] != 0) {
+		}
+		while (b[pos++] != 0) {
+		}
+		return pos + 2;
+	}
+}
@@ -10,10 +10,12 @@
  *******************************************************************************/
 package org.eclipse.rdf4j.rio.hdt;
 
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.fail;
 
 import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
 import java.io.IOException;
 
 import org.junit.jupiter.api.Test;
@@ -42,4 +44,26 @@ public class VByteTest {
 			fail(ioe.getMessage());
 		}
 	}
+
+	@Test
+	public void testEncodedLength() {
+		assertEquals(1, VByte.encodedLength(127), "127 is encoded in 1 byte");
+		assertEquals(2, VByte.encodedLength(128), "128 is encoded in 2 bytes");
+		assertEquals(2, VByte.encodedLength(16_383), "16383 is encoded in 2 bytes");
+		assertEquals(3, VByte.encodedLength(16_384), "16384 is encoded in 3 bytes");
+	}
+
+	@Test
+	public void testEncode() throws IOException {
+		ByteArrayOutputStream bos = new ByteArrayOutputStream();
+		VByte.encode(bos, 128);
+		assertArrayEquals(new byte[] { (byte) 0x00, (byte) 0x81 }, bos.toByteArray(), "128 not correctly encoded");
+
+		for (long val : new long[] { 0, 127, 16_383, 16_384, 2_097_152, Integer.MAX_VALUE }) {
+			bos.reset();
+			VByte.encode(bos, val);
+			assertEquals(VByte.encodedLength(val), bos.size(), "Incorrect length for " + val);
+			assertEquals(val, VByte.decode(new ByteArrayInputStream(bos.toByteArray())), val + " not roundtripped");
+		}
+	}
 }
@@ -640,9 +640,29 @@ public abstract class AbstractNQuadsParserUnitTest {
 		}
 	}
 
+	@Test
+	public void testParallel() throws Exception {
+		StringBuilder document = new StringBuilder();
+		for (int i = 0; i < 5000; i++) {
+			document.append("<http://example.org/s").append(i).append("> <http://example.org/p> \"").append(i);
+			document.append(i % 2 == 0 ? "\" <http://example.org/g> .\n" : "\" .\n");
+		}
+		parser.set(org.eclipse.rdf4j.rio.ntriples.NTriplesParserSettings.PARSER_THREADS, 4L);
+		parser.parse(new ByteArrayInputStream(document.toString().getBytes("UTF-8")), "http://example.org/");
+
+		rdfHandler.assertHandler(5000);
+		int i = 0;
+		for (Statement st : rdfHandler.getStatements()) {
+			assertEquals("http://example.org/s" + i, st.getSubject().stringValue());
+			assertEquals(i % 2 == 0 ? "http://example.org/g" : null,
+					st.getContext() == null ? null : st.getContext().stringValue());
+			i++;
+		}
+	}
+
 	@Test
 	public void testSupportedSettings() throws Exception {
-		assertThat(parser.getSupportedSettings()).hasSize(14);
+		assertThat(parser.getSupportedSettings()).hasSize(16);
 	}
 
 	protected abstract RDFParser createRDFParser();
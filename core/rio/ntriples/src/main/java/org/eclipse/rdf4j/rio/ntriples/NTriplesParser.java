@@ -16,23 +16,39 @@ import java.io.BufferedReader;
 import java.io.IOException;
 import java.io.InputStream;
 import java.io.InputStreamReader;
+import java.io.InterruptedIOException;
 import java.io.Reader;
 import java.io.UnsupportedEncodingException;
 import java.nio.charset.StandardCharsets;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
 import java.util.Collection;
+import java.util.Deque;
 import java.util.HashSet;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.CompletionService;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorCompletionService;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
 
 import org.apache.commons.io.input.BOMInputStream;
 import org.eclipse.rdf4j.common.text.ASCIIUtil;
 import org.eclipse.rdf4j.model.IRI;
 import org.eclipse.rdf4j.model.Resource;
+import org.eclipse.rdf4j.model.Statement;
 import org.eclipse.rdf4j.model.Value;
 import org.eclipse.rdf4j.model.ValueFactory;
 import org.eclipse.rdf4j.model.impl.SimpleValueFactory;
+import org.eclipse.rdf4j.rio.ParseErrorListener;
 import org.eclipse.rdf4j.rio.RDFFormat;
 import org.eclipse.rdf4j.rio.RDFHandlerException;
 import org.eclipse.rdf4j.rio.RDFParseException;
 import org.eclipse.rdf4j.rio.RioSetting;
+import org.eclipse.rdf4j.rio.helpers.AbstractRDFHandler;
 import org.eclipse.rdf4j.rio.helpers.AbstractRDFParser;
 import org.eclipse.rdf4j.rio.helpers.BasicParserSettings;
 import org.eclipse.rdf4j.rio.helpers.NTriplesUtil;
@@ -46,6 +62,11 @@ import org.eclipse.rdf4j.rio.helpers.NTriplesUtil;
  */
 public class NTriplesParser extends AbstractRDFParser {
 
+	/**
+	 * The number of lines that are parsed as one task if the document is parsed by multiple threads.
+	 */
+	private static final int CHUNK_SIZE = 1024;
+
 	protected BufferedReader reader;
 	protected char[] lineChars;
 	protected int currentIndex;
@@ -54,6 +75,13 @@ public class NTriplesParser extends AbstractRDFParser {
 	protected IRI predicate;
 	protected Value object;
 
+	/**
+	 * The parser of the document if this parser parses chunks of lines for it, see {@link #createChunkParser()}.
+	 */
+	private NTriplesParser documentParser;
+
+	private final Object bnodeLock = new Object();
+
 	/**
 	 * Creates a new NTriplesParser that will use a {@link SimpleValueFactory} to create object for resources, bNodes
 	 * and literals.
@@ -115,8 +143,13 @@ public class NTriplesParser extends AbstractRDFParser {
 
 			reportLocation(lineNo, 1);
 
-			while (readLine()) {
-				parseStatement();
+			long threads = getParserConfig().get(NTriplesParserSettings.PARSER_THREADS);
+			if (threads > 1) {
+				parseInParallel((int) Math.min(threads, Runtime.getRuntime().availableProcessors() * 4L));
+			} else {
+				while (readLine()) {
+					parseStatement();
+				}
 			}
 		} finally {
 			clear();
@@ -127,6 +160,140 @@ public class NTriplesParser extends AbstractRDFParser {
 		}
 	}
 
+	/**
+	 * Creates a parser that parses chunks of lines of the document on behalf of this parser, if the document is parsed
+	 * by multiple threads (see {@link NTriplesParserSettings#PARSER_THREADS}). Subclasses that parse lines differently
+	 * should override this method.
+	 */
+	protected NTriplesParser createChunkParser() {
+		return new NTriplesParser();
+	}
+
+	/**
+	 * Reads the document in chunks of lines that are parsed by a pool of threads. The statements of the chunks are
+	 * reported by the calling thread, either in the order of the document or in the order in which the chunks were
+	 * parsed.
+	 */
+	private void parseInParallel(int threads) throws IOException {
+		boolean preserveOrder = getParserConfig().get(NTriplesParserSettings.PRESERVE_STATEMENT_ORDER);
+		ParseErrorListener errorListener = getParseErrorListener() == null ? null
+				: new SynchronizedParseErrorListener(getParseErrorListener());
+		Queue<NTriplesParser> chunkParsers = new ConcurrentLinkedQueue<>();
+
+		ExecutorService executor = Executors.newFixedThreadPool(threads, r -> {
+			Thread t = Executors.defaultThreadFactory().newThread(r);
+			t.setDaemon(true);
+			t.setName("N-Triples parser thread " + t.getId());
+			return t;
+		});
+		CompletionService<Chunk> completionService = preserveOrder ? null
+				: new ExecutorCompletionService<>(executor);
+		Deque<Future<Chunk>> pending = new ArrayDeque<>();
+
+		try {
+			Chunk chunk;
+			while ((chunk = readChunk()) != null) {
+				Chunk toParse = chunk;
+				Future<Chunk> future;
+				if (preserveOrder) {
+					future = executor.submit(() -> parseChunk(toParse, chunkParsers, errorListener));
+				} else {
+					future = completionService.submit(() -> parseChunk(toParse, chunkParsers, errorListener));
+				}
+				pending.add(future);
+
+				// limits the number of chunks that are kept in memory
+				if (pending.size() >= threads * 2) {
+					handleChunk(nextChunk(pending, completionService));
+				}
+			}
+			while (!pending.isEmpty()) {
+				handleChunk(nextChunk(pending, completionService));
+			}
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+			throw new InterruptedIOException("Interrupted while parsing");
+		} finally {
+			executor.shutdownNow();
+		}
+	}
+
+	private Chunk readChunk() throws IOException {
+		Chunk chunk = null;
+		String line;
+		while ((chunk == null || chunk.size < CHUNK_SIZE) && (line = reader.readLine()) != null) {
+			if (chunk == null) {
+				chunk = new Chunk(lineNo + 1);
+			}
+			chunk.lines[chunk.size++] = line;
+			lineNo++;
+		}
+		return chunk;
+	}
+
+	private Chunk parseChunk(Chunk chunk, Queue<NTriplesParser> chunkParsers, ParseErrorListener errorListener) {
+		NTriplesParser parser = chunkParsers.poll();
+		if (parser == null) {
+			parser = createChunkParser();
+			parser.documentParser = this;
+			parser.setParserConfig(getParserConfig());
+			parser.setParseErrorListener(errorListener);
+			// the value factory of this parser may decode RDF-star values
+			parser.valueFactory = valueFactory;
+		}
+
+		parser.rdfHandler = chunk;
+		try {
+			for (int i = 0; i < chunk.size; i++) {
+				parser.lineChars = chunk.lines[i].toCharArray();
+				parser.currentIndex = 0;
+				parser.lineNo = chunk.firstLineNo + i;
+				parser.parseStatement();
+			}
+		} finally {
+			parser.rdfHandler = null;
+			chunkParsers.add(parser);
+		}
+		chunk.lines = null;
+		return chunk;
+	}
+
+	private static Future<Chunk> nextChunk(Deque<Future<Chunk>> pending, CompletionService<Chunk> completionService)
+			throws InterruptedException {
+		if (completionService == null) {
+			return pending.poll();
+		}
+		Future<Chunk> future = completionService.take();
+		pending.remove(future);
+		return future;
+	}
+
+	private void handleChunk(Future<Chunk> future) throws InterruptedException {
+		Chunk chunk;
+		try {
+			chunk = future.get();
+		} catch (ExecutionException e) {
+			Throwable cause = e.getCause();
+			if (cause instanceof RuntimeException) {
+				throw (RuntimeException) cause;
+			} else if (cause instanceof Error) {
+				throw (Error) cause;
+			}
+			throw new RDFParseException(cause);
+		}
+
+		if (rdfHandler != null) {
+			for (Object parsed : chunk.parsed) {
+				if (parsed instanceof Statement) {
+					rdfHandler.handleStatement((Statement) parsed);
+				} else {
+					rdfHandler.handleComment((String) parsed);
+				}
+			}
+		}
+		reportLocation(chunk.firstLineNo + chunk.size - 1, 1);
+	}
+
 	protected void parseStatement() throws RDFParseException, RDFHandlerException {
 		boolean ignoredAnError = false;
 		try {
@@ -421,6 +588,17 @@ public class NTriplesParser extends AbstractRDFParser {
 		return false;
 	}
 
+	@Override
+	protected Resource createNode(String nodeID) throws RDFParseException {
+		if (documentParser != null && !preserveBNodeIDs()) {
+			// the blank node identifiers must be mapped consistently for the whole document
+			synchronized (documentParser.bnodeLock) {
+				return documentParser.createNode(nodeID);
+			}
+		}
+		return super.createNode(nodeID);
+	}
+
 	@Override
 	protected IRI createURI(String uri) throws RDFParseException {
 		try {
@@ -487,7 +665,64 @@ public class NTriplesParser extends AbstractRDFParser {
 		Collection<RioSetting<?>> result = new HashSet<>(super.getSupportedSettings());
 
 		result.add(NTriplesParserSettings.FAIL_ON_INVALID_LINES);
+		result.add(NTriplesParserSettings.PARSER_THREADS);
+		result.add(NTriplesParserSettings.PRESERVE_STATEMENT_ORDER);
 
 		return result;
 	}
+
+	/**
+	 * A chunk of lines of the document, that collects the statements and comments that were parsed from it.
+	 */
+	private static final class Chunk extends AbstractRDFHandler {
+
+		private final long firstLineNo;
+
+		private String[] lines = new String[CHUNK_SIZE];
+
+		private int size;
+
+		private final List<Object> parsed = new ArrayList<>();
+
+		private Chunk(long firstLineNo) {
+			this.firstLineNo = firstLineNo;
+		}
+
+		@Override
+		public void handleStatement(Statement st) throws RDFHandlerException {
+			parsed.add(st);
+		}
+
+		@Override
+		public void handleComment(String comment) throws RDFHandlerException {
+			parsed.add(comment);
+		}
+	}
+
+	/**
+	 * Reports the errors of the threads that parse the chunks to the error listener of the parser.
+	 */
+	private static final class SynchronizedParseErrorListener implements ParseErrorListener {
+
+		private final ParseErrorListener delegate;
+
+		private SynchronizedParseErrorListener(ParseErrorListener delegate) {
+			this.delegate = delegate;
+		}
+
+		@Override
+		public synchronized void warning(String msg, long lineNo, long colNo) {
+			delegate.warning(msg, lineNo, colNo);
+		}
+
+		@Override
+		public synchronized void error(String msg, long lineNo, long colNo) {
+			delegate.error(msg, lineNo, colNo);
+		}
+
+		@Override
+		public synchronized void fatalError(String msg, long lineNo, long colNo) {
+			delegate.fatalError(msg, lineNo, colNo);
+		}
+	}
 }
@@ -12,6 +12,7 @@ package org.eclipse.rdf4j.rio.ntriples;
 
 import org.eclipse.rdf4j.rio.RioSetting;
 import org.eclipse.rdf4j.rio.helpers.BooleanRioSetting;
+import org.eclipse.rdf4j.rio.helpers.LongRioSetting;
 
 /**
  * ParserSettings for the N-Triples parser features.
@@ -35,6 +36,32 @@ public class NTriplesParserSettings {
 	public static final RioSetting<Boolean> FAIL_ON_INVALID_LINES = new BooleanRioSetting(
 			"org.eclipse.rdf4j.rio.ntriples.fail_on_invalid_lines", "Fail on N-Triples invalid lines", Boolean.TRUE);
 
+	/**
+	 * Setting for the number of threads that parse N-Triples and N-Quads documents. If larger than 1, the document is
+	 * split into chunks of lines that are parsed in parallel. The statements are still reported to the
+	 * {@link org.eclipse.rdf4j.rio.RDFHandler} by the thread that called the parser, and the
+	 * {@link org.eclipse.rdf4j.model.ValueFactory} of the parser must be thread-safe.
+	 * <p>
+	 * Defaults to 1.
+	 * <p>
+	 * Can be overridden by setting system property {@code org.eclipse.rdf4j.rio.ntriples.parser_threads}
+	 */
+	public static final RioSetting<Long> PARSER_THREADS = new LongRioSetting(
+			"org.eclipse.rdf4j.rio.ntriples.parser_threads", "Number of threads parsing N-Triples", 1L);
+
+	/**
+	 * Boolean setting for parser to determine whether statements that are parsed by multiple threads (see
+	 * {@link #PARSER_THREADS}) are reported in the order of the document. If disabled, the statements of a chunk of
+	 * lines are reported as soon as the chunk is parsed, so that a slow chunk does not hold back the others.
+	 * <p>
+	 * Defaults to true.
+	 * <p>
+	 * Can be overridden by setting system property {@code org.eclipse.rdf4j.rio.ntriples.preserve_statement_order}
+	 */
+	public static final RioSetting<Boolean> PRESERVE_STATEMENT_ORDER = new BooleanRioSetting(
+			"org.eclipse.rdf4j.rio.ntriples.preserve_statement_order", "Preserve order of parsed N-Triples statements",
+			Boolean.TRUE);
+
 	/**
 	 * Private constructor
 	 */
@@ -0,0 +1,170 @@
+/*******************************************************************************
+ * Copyright (c) 2023 Eclipse RDF4J contributors.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Distribution License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/org/documents/edl-v10.php.
+ *
+ * SPDX-License-Identifier: BSD-3-Clause
+ *******************************************************************************/
+package org.eclipse.rdf4j.rio.ntriples;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.io.IOException;
+import java.io.StringReader;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.eclipse.rdf4j.model.BNode;
+import org.eclipse.rdf4j.model.Statement;
+import org.eclipse.rdf4j.rio.RDFParseException;
+import org.eclipse.rdf4j.rio.RDFParser;
+import org.eclipse.rdf4j.rio.helpers.BasicParserSettings;
+import org.eclipse.rdf4j.rio.helpers.ParseErrorCollector;
+import org.eclipse.rdf4j.rio.helpers.StatementCollector;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Tests parsing N-Triples documents with multiple threads.
+ */
+public class NTriplesParserParallelTest {
+
+	private static final int LINES = 10_000;
+
+	@Test
+	public void testPreserveOrder() throws IOException {
+		String document = createDocument(-1);
+
+		RDFParser sequential = new NTriplesParser();
+		sequential.set(BasicParserSettings.PRESERVE_BNODE_IDS, true);
+		CommentCollector expected = new CommentCollector();
+		sequential.setRDFHandler(expected);
+		sequential.parse(new StringReader(document), "");
+
+		RDFParser parallel = createParallelParser();
+		parallel.set(BasicParserSettings.PRESERVE_BNODE_IDS, true);
+		CommentCollector actual = new CommentCollector();
+		parallel.setRDFHandler(actual);
+		parallel.parse(new StringReader(document), "");
+
+		assertThat(actual.getStatements()).hasSize(LINES).containsExactlyElementsOf(expected.getStatements());
+		assertThat(actual.comments).hasSize(5).containsExactlyElementsOf(expected.comments);
+	}
+
+	@Test
+	public void testUnordered() throws IOException {
+		String document = createDocument(-1);
+
+		StatementCollector expected = new StatementCollector();
+		RDFParser sequential = new NTriplesParser();
+		sequential.set(BasicParserSettings.PRESERVE_BNODE_IDS, true);
+		sequential.setRDFHandler(expected);
+		sequential.parse(new StringReader(document), "");
+
+		RDFParser parallel = createParallelParser();
+		parallel.set(BasicParserSettings.PRESERVE_BNODE_IDS, true);
+		parallel.set(NTriplesParserSettings.PRESERVE_STATEMENT_ORDER, false);
+		StatementCollector actual = new StatementCollector();
+		parallel.setRDFHandler(actual);
+		parallel.parse(new StringReader(document), "");
+
+		assertThat(actual.getStatements()).hasSize(LINES)
+				.containsExactlyInAnyOrderElementsOf(expected.getStatements());
+	}
+
+	@Test
+	public void testBlankNodesAcrossChunks() throws IOException {
+		StringBuilder document = new StringBuilder();
+		for (int i = 0; i < LINES; i++) {
+			document.append("_:shared <http://example.org/p> \"").append(i).append("\" .\n");
+		}
+
+		RDFParser parallel = createParallelParser();
+		StatementCollector collector = new StatementCollector();
+		parallel.setRDFHandler(collector);
+		parallel.parse(new StringReader(document.toString()), "");
+
+		assertThat(collector.getStatements()).hasSize(LINES)
+				.extracting(Statement::getSubject)
+				.allMatch(subject -> subject instanceof BNode)
+				.containsOnly(collector.getStatements().iterator().next().getSubject());
+	}
+
+	@Test
+	public void testInvalidLine() {
+		String document = createDocument(5000);
+
+		RDFParser parallel = createParallelParser();
+		List<Statement> statements = new ArrayList<>();
+		parallel.setRDFHandler(new StatementCollector(statements));
+
+		assertThatThrownBy(() -> parallel.parse(new StringReader(document), ""))
+				.isInstanceOf(RDFParseException.class)
+				.extracting(e -> ((RDFParseException) e).getLineNumber())
+				.isEqualTo(5000L);
+		// the statements before the chunk with the invalid line are reported
+		assertThat(statements).hasSizeLessThan(5000);
+	}
+
+	@Test
+	public void testIgnoreInvalidLine() throws IOException {
+		String document = createDocument(5000);
+
+		RDFParser parallel = createParallelParser();
+		parallel.getParserConfig().addNonFatalError(NTriplesParserSettings.FAIL_ON_INVALID_LINES);
+		ParseErrorCollector errors = new ParseErrorCollector();
+		parallel.setParseErrorListener(errors);
+		StatementCollector collector = new StatementCollector();
+		parallel.setRDFHandler(collector);
+		parallel.parse(new StringReader(document), "");
+
+		assertThat(collector.getStatements()).hasSize(LINES - 1);
+		assertThat(errors.getErrors()).hasSize(1).allMatch(error -> error.contains("(5000, "));
+	}
+
+	private static RDFParser createParallelParser() {
+		RDFParser parser = new NTriplesParser();
+		parser.set(NTriplesParserSettings.PARSER_THREADS, 4L);
+		return parser;
+	}
+
+	/**
+	 * @param invalidLine the number of a line that is not valid, or -1
+	 */
+	private static String createDocument(int invalidLine) {
+		StringBuilder document = new StringBuilder("# a comment\n");
+		int lineNo = 1;
+		for (int i = 0; i < LINES; i++) {
+			lineNo++;
+			if (lineNo == invalidLine) {
+				document.append("<http://example.org/s").append(i).append("> \"invalid\" .\n");
+			} else if (i % 3 == 0) {
+				document.append("_:b").append(i % 100).append(" <http://example.org/p> _:b").append(i).append(" .\n");
+			} else {
+				document.append("<http://example.org/s")
+						.append(i)
+						.append("> <http://example.org/p> \"value ")
+						.append(i)
+						.append("\"@en .\n");
+			}
+			if (i % 2500 == 2499) {
+				document.append("# comment ").append(i).append('\n');
+				lineNo++;
+			}
+		}
+		return document.toString();
+	}
+
+	private static class CommentCollector extends StatementCollector {
+
+		private final List<String> comments = new ArrayList<>();
+
+		@Override
+		public void handleComment(String comment) {
+			comments.add(comment);
+		}
+	}
+}
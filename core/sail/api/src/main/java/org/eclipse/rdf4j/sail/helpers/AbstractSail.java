@@ -20,9 +20,11 @@ import java.util.Map;
 import java.util.Objects;
 import java.util.concurrent.locks.ReentrantReadWriteLock;
 
+import org.eclipse.rdf4j.common.annotation.Experimental;
 import org.eclipse.rdf4j.common.transaction.IsolationLevel;
 import org.eclipse.rdf4j.common.transaction.IsolationLevels;
 import org.eclipse.rdf4j.common.transaction.QueryEvaluationMode;
+import org.eclipse.rdf4j.common.transaction.QueryEvaluationParallelism;
 import org.eclipse.rdf4j.sail.Sail;
 import org.eclipse.rdf4j.sail.SailConnection;
 import org.eclipse.rdf4j.sail.SailException;
@@ -54,6 +56,11 @@ public abstract class AbstractSail implements Sail {
 	 */
 	private QueryEvaluationMode defaultQueryEvaluationMode = QueryEvaluationMode.STRICT;
 
+	/**
+	 * default SPARQL query evaluation parallelism, set to {@link QueryEvaluationParallelism#SEQUENTIAL}
+	 */
+	private QueryEvaluationParallelism defaultQueryEvaluationParallelism = QueryEvaluationParallelism.SEQUENTIAL;
+
 	/**
 	 * list of supported isolation levels. By default set to include {@link IsolationLevels#READ_UNCOMMITTED} and
 	 * {@link IsolationLevels#SERIALIZABLE}. Specific store implementations are expected to alter this list according to
@@ -114,6 +121,10 @@ public abstract class AbstractSail implements Sail {
 	// track the results size that each node in the query plan produces during execution
 	private boolean trackResultSize;
 
+	private volatile QueryPlanCache queryPlanCache;
+
+	private volatile QueryResultCache queryResultCache;
+
 	/**
 	 * Map used to track active connections and where these were acquired. The Throwable value may be null in case
 	 * debugging was disable at the time the connection was acquired.
@@ -246,6 +257,15 @@ public abstract class AbstractSail implements Sail {
 				activeConnections.clear();
 			}
 
+			QueryPlanCache planCache = queryPlanCache;
+			if (planCache != null) {
+				planCache.clear();
+			}
+			QueryResultCache resultCache = queryResultCache;
+			if (resultCache != null) {
+				resultCache.clear();
+			}
+
 			shutDownInternal();
 		} finally {
 			initialized = false;
@@ -419,4 +439,103 @@ public abstract class AbstractSail implements Sail {
 	public void setDefaultQueryEvaluationMode(QueryEvaluationMode defaultQueryEvaluationMode) {
 		this.defaultQueryEvaluationMode = Objects.requireNonNull(defaultQueryEvaluationMode);
 	}
+
+	/**
+	 * @return the defaultQueryEvaluationParallelism
+	 */
+	@Experimental
+	public QueryEvaluationParallelism getDefaultQueryEvaluationParallelism() {
+		return defaultQueryEvaluationParallelism;
+	}
+
+	/**
+	 * @param defaultQueryEvaluationParallelism the defaultQueryEvaluationParallelism to set
+	 */
+	@Experimental
+	public void setDefaultQueryEvaluationParallelism(QueryEvaluationParallelism defaultQueryEvaluationParallelism) {
+		this.defaultQueryEvaluationParallelism = Objects.requireNonNull(defaultQueryEvaluationParallelism);
+	}
+
+	/**
+	 * Sets the maximum number of optimized query plans that are kept in memory, so that repeated evaluations of the
+	 * same query without bindings skip the query optimizer. The default is 0, which disables the cache. Changing the
+	 * size discards all cached plans. Only connections that support it, like those of stores based on a
+	 * {@code SailStore}, make use of the cache.
+	 *
+	 * @param queryPlanCacheSize the maximum number of cached plans, or 0 to disable the cache
+	 */
+	@Experimental
+	public void setQueryPlanCacheSize(int queryPlanCacheSize) {
+		if (queryPlanCacheSize < 0) {
+			throw new IllegalArgumentException("Cache size must not be negative: " + queryPlanCacheSize);
+		}
+		this.queryPlanCache = queryPlanCacheSize > 0 ? new QueryPlanCache(queryPlanCacheSize) : null;
+	}
+
+	/**
+	 * @return the maximum number of cached query plans, 0 if the cache is disabled
+	 * @see #setQueryPlanCacheSize(int)
+	 */
+	@Experimental
+	public int getQueryPlanCacheSize() {
+		QueryPlanCache planCache = queryPlanCache;
+		return planCache != null ? planCache.getMaxSize() : 0;
+	}
+
+	/**
+	 * @return the cache of optimized query plans, or null if it is disabled
+	 */
+	@Experimental
+	public QueryPlanCache getQueryPlanCache() {
+		return queryPlanCache;
+	}
+
+	/**
+	 * Sets the maximum estimated memory size of the query results that are kept in memory, so that repeated evaluations
+	 * of the same query outside of a transaction are answered without evaluating the query again. Cached results are
+	 * discarded when a transaction changes statements that match a statement pattern of the query. The default is 0,
+	 * which disables the cache. Changing the size discards all cached results. Only connections that support it, like
+	 * those of stores based on a {@code SailStore}, make use of the cache.
+	 *
+	 * @param queryResultCacheSize the maximum size of the cached results in bytes, or 0 to disable the cache
+	 */
+	@Experimental
+	public void setQueryResultCacheSize(long queryResultCacheSize) {
+		if (queryResultCacheSize < 0) {
+			throw new IllegalArgumentException("Cache size must not be negative: " + queryResultCacheSize);
+		}
+		this.queryResultCache = queryResultCacheSize > 0 ? new QueryResultCache(queryResultCacheSize) : null;
+	}
+
+	/**
+	 * @return the maximum size of the cached query results in bytes, 0 if the cache is disabled
+	 * @see #setQueryResultCacheSize(long)
+	 */
+	@Experimental
+	public long getQueryResultCacheSize() {
+		QueryResultCache resultCache = queryResultCache;
+		return resultCache != null ? resultCache.getMaxSize() : 0;
+	}
+
+	/**
+	 * @return the cache of query results, or null if it is disabled
+	 */
+	@Experimental
+	public QueryResultCache getQueryResultCache() {
+		return queryResultCache;
+	}
+
+	/**
+	 * Discards all cached query results. Must be called by stores that change statements without a transaction of a
+	 * connection, e.g. with a bulk load.
+	 *
+	 * @see #setQueryResultCacheSize(long)
+	 */
+	@Experimental
+	public void invalidateQueryResults() {
+		QueryResultCache resultCache = queryResultCache;
+		if (resultCache != null) {
+			resultCache.invalidate(List.of(QueryResultCache.Pattern.ANY));
+		}
+	}
 }
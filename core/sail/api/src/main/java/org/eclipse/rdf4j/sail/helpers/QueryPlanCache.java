@@ -0,0 +1,206 @@
+/*******************************************************************************
+ * Copyright (c) 2023 Eclipse RDF4J contributors.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Distribution License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/org/documents/edl-v10.php.
+ *
+ * SPDX-License-Identifier: BSD-3-Clause
+ *******************************************************************************/
+package org.eclipse.rdf4j.sail.helpers;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Objects;
+
+import org.eclipse.rdf4j.common.annotation.Experimental;
+import org.eclipse.rdf4j.common.transaction.QueryEvaluationMode;
+import org.eclipse.rdf4j.common.transaction.QueryEvaluationParallelism;
+import org.eclipse.rdf4j.query.Dataset;
+import org.eclipse.rdf4j.query.algebra.FunctionCall;
+import org.eclipse.rdf4j.query.algebra.TupleExpr;
+import org.eclipse.rdf4j.query.algebra.helpers.AbstractQueryModelVisitor;
+
+/**
+ * A least recently used cache of optimized query plans, keyed by the (unoptimized) query model, the dataset and the
+ * evaluation settings. Query models are compared structurally, so queries that were parsed from the same query string
+ * share a plan as long as the parser produces the same variable names.
+ * <p>
+ * A plan is only valid for the data it was optimized for: each plan records the number of statements in the store at
+ * the time of the optimization, and is discarded when the number of statements has changed by more than
+ * {@link #MAX_DRIFT}.
+ * <p>
+ * Plans are never handed out, every lookup returns a clone that can be evaluated (and modified) by the caller.
+ */
+@Experimental
+public class QueryPlanCache {
+
+	/**
+	 * The maximum relative change of the number of statements before a cached plan is re-optimized.
+	 */
+	public static final double MAX_DRIFT = 0.1;
+
+	private final int maxSize;
+
+	private final Map<Key, Plan> plans;
+
+	/**
+	 * @param maxSize the maximum number of plans to keep
+	 */
+	public QueryPlanCache(int maxSize) {
+		this.maxSize = maxSize;
+		this.plans = new LinkedHashMap<>(16, 0.75f, true) {
+			private static final long serialVersionUID = 1L;
+
+			@Override
+			protected boolean removeEldestEntry(Map.Entry<Key, Plan> eldest) {
+				return size() > QueryPlanCache.this.maxSize;
+			}
+		};
+	}
+
+	/**
+	 * @return the maximum number of plans to keep
+	 */
+	public int getMaxSize() {
+		return maxSize;
+	}
+
+	/**
+	 * @return the current number of plans
+	 */
+	public synchronized int size() {
+		return plans.size();
+	}
+
+	/**
+	 * Discards all plans.
+	 */
+	public synchronized void clear() {
+		plans.clear();
+	}
+
+	/**
+	 * Determines if the plan of a query may be cached. Queries with calls to functions without arguments (like NOW())
+	 * are never cached, since such calls may be replaced by their value during optimization.
+	 *
+	 * @param query the unoptimized query model
+	 * @return true if the plan of the query may be cached
+	 */
+	public static boolean isCacheable(TupleExpr query) {
+		boolean[] cacheable = { true };
+		query.visit(new AbstractQueryModelVisitor<RuntimeException>() {
+			@Override
+			public void meet(FunctionCall node) {
+				if (node.getArgs().isEmpty()) {
+					cacheable[0] = false;
+				} else {
+					super.meet(node);
+				}
+			}
+		});
+		return cacheable[0];
+	}
+
+	/**
+	 * Returns a clone of the cached plan for a query.
+	 *
+	 * @param key            the key of the query
+	 * @param statementCount the current (estimated) number of statements in the store
+	 * @return a clone of the optimized plan, or null if there is no (valid) plan
+	 */
+	public TupleExpr get(Key key, long statementCount) {
+		Plan plan;
+		synchronized (this) {
+			plan = plans.get(key);
+			if (plan == null) {
+				return null;
+			}
+			if (Math.abs(statementCount - plan.statementCount) > plan.statementCount * MAX_DRIFT) {
+				plans.remove(key);
+				return null;
+			}
+		}
+		return plan.tupleExpr.clone();
+	}
+
+	/**
+	 * Caches the optimized plan of a query. The key and the plan are cloned, so both can still be modified by the
+	 * caller.
+	 *
+	 * @param key            the key of the query
+	 * @param tupleExpr      the optimized plan
+	 * @param statementCount the (estimated) number of statements in the store the plan was optimized for
+	 */
+	public void put(Key key, TupleExpr tupleExpr, long statementCount) {
+		Key copy = new Key(key.query.clone(), key.dataset, key.includeInferred, key.mode, key.parallelism);
+		Plan plan = new Plan(tupleExpr.clone(), statementCount);
+		synchronized (this) {
+			plans.put(copy, plan);
+		}
+	}
+
+	/**
+	 * Identifies a query together with the settings that influence its optimization.
+	 */
+	public static final class Key {
+
+		private final TupleExpr query;
+
+		private final Dataset dataset;
+
+		private final boolean includeInferred;
+
+		private final QueryEvaluationMode mode;
+
+		private final QueryEvaluationParallelism parallelism;
+
+		private final int hashCode;
+
+		/**
+		 * @param query           the unoptimized query model
+		 * @param dataset         the dataset of the query, may be null
+		 * @param includeInferred whether inferred statements are included
+		 * @param mode            the query evaluation mode
+		 * @param parallelism     the query evaluation parallelism
+		 */
+		public Key(TupleExpr query, Dataset dataset, boolean includeInferred, QueryEvaluationMode mode,
+				QueryEvaluationParallelism parallelism) {
+			this.query = query;
+			this.dataset = dataset;
+			this.includeInferred = includeInferred;
+			this.mode = mode;
+			this.parallelism = parallelism;
+			this.hashCode = Objects.hash(query, dataset, includeInferred, mode, parallelism);
+		}
+
+		@Override
+		public boolean equals(Object o) {
+			if (!(o instanceof Key)) {
+				return false;
+			}
+			Key other = (Key) o;
+			return hashCode == other.hashCode && includeInferred == other.includeInferred && mode == other.mode
+					&& Objects.equals(parallelism, other.parallelism) && Objects.equals(dataset, other.dataset)
+					&& query.equals(other.query);
+		}
+
+		@Override
+		public int hashCode() {
+			return hashCode;
+		}
+	}
+
+	private static final class Plan {
+
+		private final TupleExpr tupleExpr;
+
+		private final long statementCount;
+
+		Plan(TupleExpr tupleExpr, long statementCount) {
+			this.tupleExpr = tupleExpr;
+			this.statementCount = statementCount;
+		}
+	}
+}
@@ -0,0 +1,435 @@
+/*******************************************************************************
+ * Copyright (c) 2023 Eclipse RDF4J contributors.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Distribution License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/org/documents/edl-v10.php.
+ *
+ * SPDX-License-Identifier: BSD-3-Clause
+ *******************************************************************************/
+package org.eclipse.rdf4j.sail.helpers;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+
+import org.eclipse.rdf4j.common.annotation.Experimental;
+import org.eclipse.rdf4j.common.iteration.CloseableIteration;
+import org.eclipse.rdf4j.common.iteration.CloseableIteratorIteration;
+import org.eclipse.rdf4j.common.iteration.IterationWrapper;
+import org.eclipse.rdf4j.common.transaction.QueryEvaluationMode;
+import org.eclipse.rdf4j.model.Resource;
+import org.eclipse.rdf4j.model.Value;
+import org.eclipse.rdf4j.query.Binding;
+import org.eclipse.rdf4j.query.BindingSet;
+import org.eclipse.rdf4j.query.Dataset;
+import org.eclipse.rdf4j.query.algebra.BNodeGenerator;
+import org.eclipse.rdf4j.query.algebra.QueryModelNode;
+import org.eclipse.rdf4j.query.algebra.Service;
+import org.eclipse.rdf4j.query.algebra.StatementPattern;
+import org.eclipse.rdf4j.query.algebra.TripleRef;
+import org.eclipse.rdf4j.query.algebra.TupleExpr;
+import org.eclipse.rdf4j.query.algebra.TupleFunctionCall;
+import org.eclipse.rdf4j.query.algebra.Var;
+import org.eclipse.rdf4j.query.algebra.helpers.AbstractQueryModelVisitor;
+import org.eclipse.rdf4j.query.impl.MapBindingSet;
+
+/**
+ * A least recently used cache of query results, limited by the estimated memory size of the results.
+ * <p>
+ * Each cached result records the statement patterns that were read to compute it, taken from the optimized query plan.
+ * Connections report the patterns of the statements that they added or removed when a transaction ends, and only the
+ * results that observed a matching pattern are discarded.
+ * <p>
+ * Results are only cached after they have been read completely, and only if no changes were reported while the query
+ * was evaluated. Results that are larger than a tenth of the memory budget are never cached.
+ */
+@Experimental
+public class QueryResultCache {
+
+	// rough estimates of the memory used by a binding set, a binding, and a value excluding its string
+	private static final int BINDING_SET_SIZE = 48;
+
+	private static final int BINDING_SIZE = 32;
+
+	private static final int VALUE_SIZE = 48;
+
+	private final long maxSize;
+
+	private final Map<Key, Entry> entries = new LinkedHashMap<>(16, 0.75f, true);
+
+	private long size;
+
+	private long version;
+
+	/**
+	 * @param maxSize the maximum estimated size of all cached results, in bytes
+	 */
+	public QueryResultCache(long maxSize) {
+		this.maxSize = maxSize;
+	}
+
+	/**
+	 * @return the maximum estimated size of all cached results, in bytes
+	 */
+	public long getMaxSize() {
+		return maxSize;
+	}
+
+	/**
+	 * @return the current number of cached results
+	 */
+	public synchronized int size() {
+		return entries.size();
+	}
+
+	/**
+	 * Discards all results.
+	 */
+	public synchronized void clear() {
+		version++;
+		entries.clear();
+		size = 0;
+	}
+
+	/**
+	 * Determines if the results of a query may be cached. Queries with calls to functions without arguments (like NOW()
+	 * or RAND()), that generate blank nodes, or that call remote services are never cached.
+	 *
+	 * @param query the query model
+	 * @return true if the results of the query may be cached
+	 */
+	public static boolean isCacheable(TupleExpr query) {
+		if (!QueryPlanCache.isCacheable(query)) {
+			return false;
+		}
+		boolean[] cacheable = { true };
+		query.visit(new AbstractQueryModelVisitor<RuntimeException>() {
+			@Override
+			public void meet(Service node) {
+				cacheable[0] = false;
+			}
+
+			@Override
+			public void meet(BNodeGenerator node) {
+				cacheable[0] = false;
+			}
+		});
+		return cacheable[0];
+	}
+
+	/**
+	 * Returns the cached results of a query.
+	 *
+	 * @param key the key of the query
+	 * @return an iteration over the results, or null if they are not cached
+	 */
+	public <X extends Exception> CloseableIteration<BindingSet, X> get(Key key) {
+		List<BindingSet> results;
+		synchronized (this) {
+			Entry entry = entries.get(key);
+			if (entry == null) {
+				return null;
+			}
+			results = entry.results;
+		}
+		return new CloseableIteratorIteration<>(Collections.unmodifiableList(results).iterator());
+	}
+
+	/**
+	 * Returns a version number that changes whenever results are invalidated. It must be retrieved before the
+	 * evaluation of a query starts, and passed to {@link #record}.
+	 *
+	 * @return the current version
+	 */
+	public synchronized long getVersion() {
+		return version;
+	}
+
+	/**
+	 * Wraps the results of a query, so that they are added to the cache once they have been read completely.
+	 *
+	 * @param key     the key of the query
+	 * @param plan    the optimized plan of the query, used to determine the statement patterns that are read
+	 * @param results the results of the query
+	 * @param version the version of the cache before the evaluation of the query started
+	 * @return an iteration over the same results
+	 */
+	public <X extends Exception> CloseableIteration<BindingSet, X> record(Key key, TupleExpr plan,
+			CloseableIteration<BindingSet, X> results, long version) {
+		return new RecordingIteration<>(results, key.copy(), observedPatterns(plan), version);
+	}
+
+	/**
+	 * Discards the results that observed a statement pattern that matches one of the changed patterns.
+	 *
+	 * @param changes the patterns of the added and removed statements
+	 */
+	public synchronized void invalidate(Collection<Pattern> changes) {
+		version++;
+		Iterator<Entry> iter = entries.values().iterator();
+		while (iter.hasNext()) {
+			Entry entry = iter.next();
+			if (entry.matches(changes)) {
+				iter.remove();
+				size -= entry.size;
+			}
+		}
+	}
+
+	private synchronized void put(Key key, Entry entry, long startVersion) {
+		if (startVersion != version) {
+			// the results may already be outdated
+			return;
+		}
+		Entry old = entries.put(key, entry);
+		if (old != null) {
+			size -= old.size;
+		}
+		size += entry.size;
+		Iterator<Entry> iter = entries.values().iterator();
+		while (size > maxSize && iter.hasNext()) {
+			size -= iter.next().size;
+			iter.remove();
+		}
+	}
+
+	private static List<Pattern> observedPatterns(TupleExpr plan) {
+		List<Pattern> patterns = new ArrayList<>();
+		plan.visit(new AbstractQueryModelVisitor<RuntimeException>() {
+			@Override
+			public void meet(StatementPattern node) {
+				Value ctx = valueOf(node.getContextVar());
+				boolean anyContext = !(ctx instanceof Resource);
+				patterns.add(new Pattern(valueOf(node.getSubjectVar()), valueOf(node.getPredicateVar()),
+						valueOf(node.getObjectVar()), anyContext ? null : (Resource) ctx, anyContext));
+			}
+
+			@Override
+			public void meet(TripleRef node) {
+				// triples can be read from any statement
+				patterns.add(Pattern.ANY);
+			}
+
+			@Override
+			public void meetOther(QueryModelNode node) {
+				if (node instanceof TupleFunctionCall) {
+					// tuple functions may read any statement
+					patterns.add(Pattern.ANY);
+				}
+				super.meetOther(node);
+			}
+		});
+		return patterns;
+	}
+
+	private static Value valueOf(Var var) {
+		return var != null ? var.getValue() : null;
+	}
+
+	private static long estimateSize(BindingSet bindings) {
+		long size = BINDING_SET_SIZE;
+		for (Binding binding : bindings) {
+			size += BINDING_SIZE + VALUE_SIZE + 2L * binding.getValue().stringValue().length();
+		}
+		return size;
+	}
+
+	/**
+	 * A statement pattern, where null values match any value. A pattern either matches a single context, where null is
+	 * the default graph, or any context.
+	 */
+	public static final class Pattern {
+
+		/**
+		 * A pattern that matches all statements.
+		 */
+		public static final Pattern ANY = new Pattern(null, null, null, null, true);
+
+		private final Value subj;
+
+		private final Value pred;
+
+		private final Value obj;
+
+		private final Resource context;
+
+		private final boolean anyContext;
+
+		/**
+		 * @param subj       the subject, or null for any subject
+		 * @param pred       the predicate, or null for any predicate
+		 * @param obj        the object, or null for any object
+		 * @param context    the context, or null for the default graph
+		 * @param anyContext true if the pattern matches any context, in which case context is ignored
+		 */
+		public Pattern(Value subj, Value pred, Value obj, Resource context, boolean anyContext) {
+			this.subj = subj;
+			this.pred = pred;
+			this.obj = obj;
+			this.context = context;
+			this.anyContext = anyContext;
+		}
+
+		/**
+		 * @return true if there is a statement that matches both patterns
+		 */
+		boolean overlaps(Pattern other) {
+			return overlaps(subj, other.subj) && overlaps(pred, other.pred) && overlaps(obj, other.obj)
+					&& (anyContext || other.anyContext || Objects.equals(context, other.context));
+		}
+
+		private static boolean overlaps(Value v1, Value v2) {
+			return v1 == null || v2 == null || v1.equals(v2);
+		}
+	}
+
+	/**
+	 * Identifies a query together with the bindings and settings that influence its results.
+	 */
+	public static final class Key {
+
+		private final TupleExpr query;
+
+		private final Dataset dataset;
+
+		private final BindingSet bindings;
+
+		private final boolean includeInferred;
+
+		private final QueryEvaluationMode mode;
+
+		private final int hashCode;
+
+		/**
+		 * @param query           the unoptimized query model
+		 * @param dataset         the dataset of the query, may be null
+		 * @param bindings        the bindings of the query
+		 * @param includeInferred whether inferred statements are included
+		 * @param mode            the query evaluation mode
+		 */
+		public Key(TupleExpr query, Dataset dataset, BindingSet bindings, boolean includeInferred,
+				QueryEvaluationMode mode) {
+			this.query = query;
+			this.dataset = dataset;
+			this.bindings = bindings;
+			this.includeInferred = includeInferred;
+			this.mode = mode;
+			this.hashCode = Objects.hash(query, dataset, bindings, includeInferred, mode);
+		}
+
+		Key copy() {
+			MapBindingSet bindingsCopy = new MapBindingSet(bindings.size());
+			for (Binding binding : bindings) {
+				bindingsCopy.addBinding(binding);
+			}
+			return new Key(query.clone(), dataset, bindingsCopy, includeInferred, mode);
+		}
+
+		@Override
+		public boolean equals(Object o) {
+			if (!(o instanceof Key)) {
+				return false;
+			}
+			Key other = (Key) o;
+			return hashCode == other.hashCode && includeInferred == other.includeInferred && mode == other.mode
+					&& Objects.equals(dataset, other.dataset) && Objects.equals(bindings, other.bindings)
+					&& query.equals(other.query);
+		}
+
+		@Override
+		public int hashCode() {
+			return hashCode;
+		}
+	}
+
+	private static final class Entry {
+
+		private final List<BindingSet> results;
+
+		private final List<Pattern> patterns;
+
+		private final long size;
+
+		Entry(List<BindingSet> results, List<Pattern> patterns, long size) {
+			this.results = results;
+			this.patterns = patterns;
+			this.size = size;
+		}
+
+		boolean matches(Collection<Pattern> changes) {
+			for (Pattern change : changes) {
+				for (Pattern pattern : patterns) {
+					if (pattern.overlaps(change)) {
+						return true;
+					}
+				}
+			}
+			return false;
+		}
+	}
+
+	private final class RecordingIteration<X extends Exception> extends IterationWrapper<BindingSet, X> {
+
+		private final Key key;
+
+		private final List<Pattern> patterns;
+
+		private final long startVersion;
+
+		private List<BindingSet> results = new ArrayList<>();
+
+		private long resultsSize;
+
+		private boolean completed;
+
+		RecordingIteration(CloseableIteration<BindingSet, X> iter, Key key, List<Pattern> patterns,
+				long startVersion) {
+			super(iter);
+			this.key = key;
+			this.patterns = patterns;
+			this.startVersion = startVersion;
+		}
+
+		@Override
+		public boolean hasNext() throws X {
+			if (!isClosed() && results != null && !wrappedIter.hasNext()) {
+				completed = true;
+			}
+			return super.hasNext();
+		}
+
+		@Override
+		public BindingSet next() throws X {
+			BindingSet next = super.next();
+			if (results != null) {
+				resultsSize += estimateSize(next);
+				if (resultsSize > maxSize / 10) {
+					// too large to cache, stop recording
+					results = null;
+				} else {
+					results.add(next);
+				}
+			}
+			return next;
+		}
+
+		@Override
+		protected void handleClose() throws X {
+			try {
+				super.handleClose();
+			} finally {
+				if (completed && results != null) {
+					put(key, new Entry(results, patterns, resultsSize), startVersion);
+				}
+				results = null;
+			}
+		}
+	}
+}
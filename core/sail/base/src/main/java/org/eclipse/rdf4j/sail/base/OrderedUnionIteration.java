@@ -0,0 +1,97 @@
+/*******************************************************************************
+ * Copyright (c) 2023 Eclipse RDF4J contributors.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Distribution License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/org/documents/edl-v10.php.
+ *
+ * SPDX-License-Identifier: BSD-3-Clause
+ *******************************************************************************/
+package org.eclipse.rdf4j.sail.base;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+
+import org.eclipse.rdf4j.common.annotation.InternalUseOnly;
+import org.eclipse.rdf4j.common.iteration.CloseableIteration;
+import org.eclipse.rdf4j.common.iteration.LookAheadIteration;
+
+/**
+ * An Iteration that returns the bag union of the results of a number of Iterations that are each ordered by the same
+ * comparator, in that order. Elements that are equal according to the comparator are returned in the order of the
+ * iterations they come from.
+ */
+@InternalUseOnly
+public class OrderedUnionIteration<E, X extends Exception> extends LookAheadIteration<E, X> {
+
+	private final Comparator<? super E> comparator;
+
+	private final List<CloseableIteration<? extends E, X>> iterations;
+
+	// the next element of each iteration, or null if the iteration is exhausted
+	private final List<E> heads;
+
+	private boolean initialized;
+
+	/**
+	 * @param comparator the comparator that all iterations are ordered by
+	 * @param iterations the ordered iterations
+	 */
+	public OrderedUnionIteration(Comparator<? super E> comparator,
+			List<? extends CloseableIteration<? extends E, X>> iterations) {
+		this.comparator = comparator;
+		this.iterations = new ArrayList<>(iterations);
+		this.heads = new ArrayList<>(iterations.size());
+	}
+
+	@Override
+	protected E getNextElement() throws X {
+		if (isClosed()) {
+			return null;
+		}
+		if (!initialized) {
+			for (CloseableIteration<? extends E, X> iteration : iterations) {
+				heads.add(iteration.hasNext() ? iteration.next() : null);
+			}
+			initialized = true;
+		}
+
+		// the number of iterations is small, a linear search is cheaper than a heap
+		int min = -1;
+		for (int i = 0; i < heads.size(); i++) {
+			E head = heads.get(i);
+			if (head != null && (min < 0 || comparator.compare(head, heads.get(min)) < 0)) {
+				min = i;
+			}
+		}
+		if (min < 0) {
+			return null;
+		}
+
+		E result = heads.get(min);
+		CloseableIteration<? extends E, X> iteration = iterations.get(min);
+		heads.set(min, iteration.hasNext() ? iteration.next() : null);
+		return result;
+	}
+
+	@Override
+	protected void handleClose() throws X {
+		try {
+			super.handleClose();
+		} finally {
+			closeAll(0);
+		}
+	}
+
+	private void closeAll(int from) throws X {
+		if (from < iterations.size()) {
+			try {
+				iterations.get(from).close();
+			} finally {
+				closeAll(from + 1);
+			}
+		}
+	}
+}
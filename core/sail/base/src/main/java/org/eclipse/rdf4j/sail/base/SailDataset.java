@@ -10,6 +10,11 @@
  *******************************************************************************/
 package org.eclipse.rdf4j.sail.base;
 
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.Set;
+
+import org.eclipse.rdf4j.common.annotation.Experimental;
 import org.eclipse.rdf4j.common.iteration.CloseableIteration;
 import org.eclipse.rdf4j.common.transaction.IsolationLevels;
 import org.eclipse.rdf4j.model.IRI;
@@ -18,6 +23,7 @@ import org.eclipse.rdf4j.model.Resource;
 import org.eclipse.rdf4j.model.Statement;
 import org.eclipse.rdf4j.model.Triple;
 import org.eclipse.rdf4j.model.Value;
+import org.eclipse.rdf4j.query.algebra.evaluation.StatementOrder;
 import org.eclipse.rdf4j.sail.SailException;
 
 /**
@@ -94,4 +100,49 @@ public interface SailDataset extends SailClosable {
 		throw new SailException("RDF-star triple retrieval not supported by this store");
 	}
 
+	/**
+	 * Gets the orders in which the statements that match a pattern can be returned by
+	 * {@link #getOrderedStatements(StatementOrder, Resource, IRI, Value, Resource...)}, without being more expensive
+	 * than unordered statements.
+	 *
+	 * @param subj     A Resource specifying the subject, or <var>null</var> for a wildcard.
+	 * @param pred     A IRI specifying the predicate, or <var>null</var> for a wildcard.
+	 * @param obj      A Value specifying the object, or <var>null</var> for a wildcard.
+	 * @param contexts The context(s) to get the statements from.
+	 * @return the supported orders, by default none
+	 */
+	@Experimental
+	default Set<StatementOrder> getSupportedOrders(Resource subj, IRI pred, Value obj, Resource... contexts) {
+		return Collections.emptySet();
+	}
+
+	/**
+	 * Gets all statements that match a pattern, ordered by one of their components according to
+	 * {@link #getComparator()}.
+	 *
+	 * @param order    the component to order the statements by
+	 * @param subj     A Resource specifying the subject, or <var>null</var> for a wildcard.
+	 * @param pred     A IRI specifying the predicate, or <var>null</var> for a wildcard.
+	 * @param obj      A Value specifying the object, or <var>null</var> for a wildcard.
+	 * @param contexts The context(s) to get the statements from.
+	 * @return An iterator over the relevant statements, in the given order.
+	 * @throws SailException If the statements could not be returned in the given order.
+	 */
+	@Experimental
+	default CloseableIteration<? extends Statement, SailException> getOrderedStatements(StatementOrder order,
+			Resource subj, IRI pred, Value obj, Resource... contexts) throws SailException {
+		throw new SailException("Ordered statements are not supported by this store");
+	}
+
+	/**
+	 * Gets the comparator that ordered statements are ordered by. Values that are equal according to the comparator are
+	 * equal values.
+	 *
+	 * @return the comparator, or <var>null</var> if ordered statements are not supported
+	 */
+	@Experimental
+	default Comparator<Value> getComparator() {
+		return null;
+	}
+
 }
@@ -12,6 +12,8 @@ package org.eclipse.rdf4j.sail.base;
 
 import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.Collections;
+import java.util.Comparator;
 import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
@@ -27,6 +29,7 @@ import org.eclipse.rdf4j.common.iteration.DistinctIteration;
 import org.eclipse.rdf4j.common.iteration.DualUnionIteration;
 import org.eclipse.rdf4j.common.iteration.EmptyIteration;
 import org.eclipse.rdf4j.common.iteration.FilterIteration;
+import org.eclipse.rdf4j.common.iteration.Iterations;
 import org.eclipse.rdf4j.model.IRI;
 import org.eclipse.rdf4j.model.Namespace;
 import org.eclipse.rdf4j.model.Resource;
@@ -34,6 +37,7 @@ import org.eclipse.rdf4j.model.Statement;
 import org.eclipse.rdf4j.model.Triple;
 import org.eclipse.rdf4j.model.Value;
 import org.eclipse.rdf4j.model.impl.SimpleNamespace;
+import org.eclipse.rdf4j.query.algebra.evaluation.StatementOrder;
 import org.eclipse.rdf4j.sail.SailException;
 
 /**
@@ -297,6 +301,53 @@ class SailDatasetImpl implements SailDataset {
 		}
 	}
 
+	@Override
+	public Set<StatementOrder> getSupportedOrders(Resource subj, IRI pred, Value obj, Resource... contexts) {
+		if (!isOrderPreserved()) {
+			return Collections.emptySet();
+		}
+		return derivedFrom.getSupportedOrders(subj, pred, obj, contexts);
+	}
+
+	@Override
+	public CloseableIteration<? extends Statement, SailException> getOrderedStatements(StatementOrder order,
+			Resource subj, IRI pred, Value obj, Resource... contexts) throws SailException {
+		if (!isOrderPreserved()) {
+			// changes were made after the order was chosen, sort the statements instead
+			List<? extends Statement> statements;
+			try (CloseableIteration<? extends Statement, SailException> iter = getStatements(subj, pred, obj,
+					contexts)) {
+				statements = Iterations.asList(iter);
+			}
+			Comparator<Value> comparator = getComparator();
+			statements.sort((st1, st2) -> comparator.compare(order.getValue(st1), order.getValue(st2)));
+			return new CloseableIteratorIteration<>(statements.iterator());
+		}
+
+		CloseableIteration<? extends Statement, SailException> iter = derivedFrom.getOrderedStatements(order, subj,
+				pred, obj,
+				contexts);
+		if (changes.hasDeprecated()) {
+			// removing statements keeps the order
+			iter = difference(iter, changes::hasDeprecated);
+		}
+		return iter;
+	}
+
+	@Override
+	public Comparator<Value> getComparator() {
+		return derivedFrom.getComparator();
+	}
+
+	/**
+	 * @return true if the ordered statements of the backing dataset are ordered with the changes applied
+	 */
+	private boolean isOrderPreserved() {
+		Set<Resource> deprecatedContexts = changes.getDeprecatedContexts();
+		return !changes.hasApproved() && !changes.isStatementCleared()
+				&& (deprecatedContexts == null || deprecatedContexts.isEmpty());
+	}
+
 	@Override
 	public CloseableIteration<? extends Triple, SailException> getTriples(Resource subj, IRI pred, Value obj)
 			throws SailException {
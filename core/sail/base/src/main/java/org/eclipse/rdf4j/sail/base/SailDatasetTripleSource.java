@@ -10,6 +10,9 @@
  *******************************************************************************/
 package org.eclipse.rdf4j.sail.base;
 
+import java.util.Comparator;
+import java.util.Set;
+
 import org.eclipse.rdf4j.common.annotation.InternalUseOnly;
 import org.eclipse.rdf4j.common.iteration.CloseableIteration;
 import org.eclipse.rdf4j.common.iteration.DistinctIteration;
@@ -21,6 +24,7 @@ import org.eclipse.rdf4j.model.Value;
 import org.eclipse.rdf4j.model.ValueFactory;
 import org.eclipse.rdf4j.query.QueryEvaluationException;
 import org.eclipse.rdf4j.query.algebra.evaluation.RDFStarTripleSource;
+import org.eclipse.rdf4j.query.algebra.evaluation.StatementOrder;
 import org.eclipse.rdf4j.sail.SailException;
 import org.eclipse.rdf4j.sail.TripleSourceIterationWrapper;
 
@@ -62,6 +66,38 @@ public class SailDatasetTripleSource implements RDFStarTripleSource {
 		}
 	}
 
+	@Override
+	public Set<StatementOrder> getSupportedOrders(Resource subj, IRI pred, Value obj, Resource... contexts) {
+		try {
+			return dataset.getSupportedOrders(subj, pred, obj, contexts);
+		} catch (SailException e) {
+			throw new QueryEvaluationException(e);
+		}
+	}
+
+	@Override
+	public CloseableIteration<? extends Statement, QueryEvaluationException> getOrderedStatements(StatementOrder order,
+			Resource subj, IRI pred, Value obj, Resource... contexts) throws QueryEvaluationException {
+		CloseableIteration<? extends Statement, SailException> statements = null;
+		try {
+			statements = dataset.getOrderedStatements(order, subj, pred, obj, contexts);
+			return new TripleSourceIterationWrapper<>(statements);
+		} catch (Throwable t) {
+			if (statements != null) {
+				statements.close();
+			}
+			if (t instanceof SailException) {
+				throw new QueryEvaluationException(t);
+			}
+			throw t;
+		}
+	}
+
+	@Override
+	public Comparator<Value> getComparator() {
+		return dataset.getComparator();
+	}
+
 	@Override
 	public ValueFactory getValueFactory() {
 		return vf;
@@ -10,7 +10,9 @@
  *******************************************************************************/
 package org.eclipse.rdf4j.sail.base;
 
+import java.util.ArrayList;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicBoolean;
@@ -20,6 +22,7 @@ import org.eclipse.rdf4j.common.iteration.CloseableIteration;
 import org.eclipse.rdf4j.common.transaction.IsolationLevel;
 import org.eclipse.rdf4j.common.transaction.IsolationLevels;
 import org.eclipse.rdf4j.common.transaction.QueryEvaluationMode;
+import org.eclipse.rdf4j.common.transaction.QueryEvaluationParallelism;
 import org.eclipse.rdf4j.common.transaction.TransactionSetting;
 import org.eclipse.rdf4j.model.IRI;
 import org.eclipse.rdf4j.model.Namespace;
@@ -31,7 +34,9 @@ import org.eclipse.rdf4j.query.BindingSet;
 import org.eclipse.rdf4j.query.Dataset;
 import org.eclipse.rdf4j.query.QueryEvaluationException;
 import org.eclipse.rdf4j.query.algebra.QueryRoot;
+import org.eclipse.rdf4j.query.algebra.StatementPattern;
 import org.eclipse.rdf4j.query.algebra.TupleExpr;
+import org.eclipse.rdf4j.query.algebra.Var;
 import org.eclipse.rdf4j.query.algebra.evaluation.EvaluationStrategy;
 import org.eclipse.rdf4j.query.algebra.evaluation.EvaluationStrategyFactory;
 import org.eclipse.rdf4j.query.algebra.evaluation.QueryEvaluationStep;
@@ -51,6 +56,8 @@ import org.eclipse.rdf4j.sail.UnknownSailTransactionStateException;
 import org.eclipse.rdf4j.sail.UpdateContext;
 import org.eclipse.rdf4j.sail.helpers.AbstractNotifyingSailConnection;
 import org.eclipse.rdf4j.sail.helpers.AbstractSail;
+import org.eclipse.rdf4j.sail.helpers.QueryPlanCache;
+import org.eclipse.rdf4j.sail.helpers.QueryResultCache;
 import org.eclipse.rdf4j.sail.inferencer.InferencerConnection;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -150,6 +157,18 @@ public abstract class SailSourceConnection extends AbstractNotifyingSailConnecti
 	// current query evaluation mode
 	private QueryEvaluationMode queryEvaluationMode;
 
+	// current query evaluation parallelism
+	private QueryEvaluationParallelism queryEvaluationParallelism;
+
+	// patterns of the statements changed by the current transaction, used to invalidate cached query results
+	private final List<QueryResultCache.Pattern> changedPatterns = new ArrayList<>();
+
+	// the number of changed patterns after which all cached query results are invalidated instead
+	private static final int MAX_CHANGED_PATTERNS = 1024;
+
+	// true if all cached query results must be invalidated, guarded by changedPatterns
+	private boolean changedAll;
+
 	/**
 	 * Creates a new {@link SailConnection}, using the given {@link SailStore} to manage the state.
 	 *
@@ -181,6 +200,7 @@ public abstract class SailSourceConnection extends AbstractNotifyingSailConnecti
 				? ((FederatedServiceResolverClient) evalStratFactory).getFederatedServiceResolver()
 				: null;
 		this.queryEvaluationMode = getSailBase().getDefaultQueryEvaluationMode();
+		this.queryEvaluationParallelism = getSailBase().getDefaultQueryEvaluationParallelism();
 		this.evalStratFactory.setCollectionFactory(sail.getCollectionFactory());
 	}
 
@@ -210,6 +230,7 @@ public abstract class SailSourceConnection extends AbstractNotifyingSailConnecti
 			((FederatedServiceResolverClient) evalStrat).setFederatedServiceResolver(federatedServiceResolver);
 		}
 		evalStrat.setQueryEvaluationMode(queryEvaluationMode);
+		evalStrat.setQueryEvaluationParallelism(queryEvaluationParallelism);
 		return evalStrat;
 	}
 
@@ -218,15 +239,51 @@ public abstract class SailSourceConnection extends AbstractNotifyingSailConnecti
 			Dataset dataset, BindingSet bindings, boolean includeInferred) throws SailException {
 		logger.trace("Incoming query model:\n{}", tupleExpr);
 
-		if (cloneTupleExpression) {
-			// Clone the tuple expression to allow for more aggressive optimizations
-			tupleExpr = tupleExpr.clone();
+		// results are only cached outside of transactions, which may see their own uncommitted changes
+		QueryResultCache resultCache = null;
+		QueryResultCache.Key resultKey = null;
+		long resultVersion = 0;
+		if (cloneTupleExpression && !trackResultSize && !trackTime && !isActive()) {
+			resultCache = getSailBase().getQueryResultCache();
+			if (resultCache != null && QueryResultCache.isCacheable(tupleExpr)) {
+				resultKey = new QueryResultCache.Key(tupleExpr, dataset, bindings, includeInferred,
+						queryEvaluationMode);
+				CloseableIteration<BindingSet, QueryEvaluationException> cached = resultCache.get(resultKey);
+				if (cached != null) {
+					return cached;
+				}
+				resultVersion = resultCache.getVersion();
+			}
 		}
 
-		if (!(tupleExpr instanceof QueryRoot)) {
-			// Add a dummy root node to the tuple expressions to allow the
-			// optimizers to modify the actual root node
-			tupleExpr = new QueryRoot(tupleExpr);
+		// plans are only reused when evaluating without bindings, since bindings are inlined by the optimizers
+		QueryPlanCache planCache = null;
+		QueryPlanCache.Key planKey = null;
+		long statementCount = 0;
+		TupleExpr cachedPlan = null;
+		if (cloneTupleExpression && !trackResultSize && !trackTime && bindings.isEmpty()) {
+			planCache = getSailBase().getQueryPlanCache();
+			if (planCache != null && QueryPlanCache.isCacheable(tupleExpr)) {
+				planKey = new QueryPlanCache.Key(tupleExpr, dataset, includeInferred, queryEvaluationMode,
+						queryEvaluationParallelism);
+				statementCount = getStatementCountEstimate();
+				cachedPlan = planCache.get(planKey, statementCount);
+			}
+		}
+
+		if (cachedPlan != null) {
+			tupleExpr = cachedPlan;
+		} else {
+			if (cloneTupleExpression) {
+				// Clone the tuple expression to allow for more aggressive optimizations
+				tupleExpr = tupleExpr.clone();
+			}
+
+			if (!(tupleExpr instanceof QueryRoot)) {
+				// Add a dummy root node to the tuple expressions to allow the
+				// optimizers to modify the actual root node
+				tupleExpr = new QueryRoot(tupleExpr);
+			}
 		}
 
 		SailSource branch = null;
@@ -247,12 +304,20 @@ public abstract class SailSourceConnection extends AbstractNotifyingSailConnecti
 				strategy.setTrackTime(trackTime);
 			}
 
-			tupleExpr = strategy.optimize(tupleExpr, store.getEvaluationStatistics(), bindings);
+			if (cachedPlan == null) {
+				tupleExpr = strategy.optimize(tupleExpr, store.getEvaluationStatistics(), bindings);
+				if (planKey != null) {
+					planCache.put(planKey, tupleExpr, statementCount);
+				}
+			}
 
 			logger.trace("Optimized query model:\n{}", tupleExpr);
 			QueryEvaluationStep qes = strategy.precompile(tupleExpr);
 			iteration = qes.evaluate(EmptyBindingSet.getInstance());
 			iteration = interlock(iteration, rdfDataset, branch);
+			if (resultKey != null) {
+				iteration = resultCache.record(resultKey, tupleExpr, iteration, resultVersion);
+			}
 			allGood = true;
 			return iteration;
 		} catch (QueryEvaluationException e) {
@@ -279,6 +344,14 @@ public abstract class SailSourceConnection extends AbstractNotifyingSailConnecti
 		}
 	}
 
+	/**
+	 * Estimates the number of statements in the store, used to detect when cached query plans are outdated.
+	 */
+	private long getStatementCountEstimate() {
+		StatementPattern all = new StatementPattern(new Var("s"), new Var("p"), new Var("o"));
+		return (long) store.getEvaluationStatistics().getCardinality(all);
+	}
+
 	@Override
 	public Explanation explain(Explanation.Level level, TupleExpr tupleExpr, Dataset dataset,
 			BindingSet bindings, boolean includeInferred, int timeoutSeconds) {
@@ -443,9 +516,12 @@ public abstract class SailSourceConnection extends AbstractNotifyingSailConnecti
 	@Override
 	public void setTransactionSettings(TransactionSetting... settings) {
 		this.queryEvaluationMode = getSailBase().getDefaultQueryEvaluationMode();
+		this.queryEvaluationParallelism = getSailBase().getDefaultQueryEvaluationParallelism();
 		for (TransactionSetting setting : settings) {
 			if (setting instanceof QueryEvaluationMode) {
 				this.queryEvaluationMode = ((QueryEvaluationMode) setting);
+			} else if (setting instanceof QueryEvaluationParallelism) {
+				this.queryEvaluationParallelism = ((QueryEvaluationParallelism) setting);
 			}
 		}
 		super.setTransactionSettings(settings);
@@ -476,24 +552,44 @@ public abstract class SailSourceConnection extends AbstractNotifyingSailConnecti
 	@Override
 	protected void commitInternal() throws SailException {
 		SailSource toCloseInferredBranch = includeInferredBranch;
+		SailSource toFlushExplicitBranch = explicitOnlyBranch;
 		explicitOnlyBranch = null;
 		inferredOnlyBranch = null;
 		includeInferredBranch = null;
 
 		queryEvaluationMode = getSailBase().getDefaultQueryEvaluationMode();
+		queryEvaluationParallelism = getSailBase().getDefaultQueryEvaluationParallelism();
 		try {
+			if (toFlushExplicitBranch != null) {
+				// explicit statements are removed before inferred statements are added, otherwise a statement that
+				// was removed explicitly and added as inferred in the same transaction would be lost
+				toFlushExplicitBranch.flush();
+			}
 			if (toCloseInferredBranch != null) {
 				toCloseInferredBranch.flush();
 			}
 		} finally {
-			if (toCloseInferredBranch != null) {
-				toCloseInferredBranch.close();
+			try {
+				if (toCloseInferredBranch != null) {
+					toCloseInferredBranch.close();
+				}
+			} finally {
+				invalidateQueryResults();
 			}
 		}
 	}
 
 	@Override
 	protected void rollbackInternal() throws SailException {
+		if (includeInferredBranch == null) {
+			// without isolation, the changes are already visible in the store
+			invalidateQueryResults();
+		} else {
+			synchronized (changedPatterns) {
+				changedPatterns.clear();
+				changedAll = false;
+			}
+		}
 		synchronized (datasets) {
 			SailDataset toCloseDataset = null;
 			SailSink toCloseExplicitSink = null;
@@ -509,6 +605,7 @@ public abstract class SailSourceConnection extends AbstractNotifyingSailConnecti
 			inferredOnlyBranch = null;
 
 			queryEvaluationMode = getSailBase().getDefaultQueryEvaluationMode();
+			queryEvaluationParallelism = getSailBase().getDefaultQueryEvaluationParallelism();
 
 			try {
 				if (datasets.containsKey(null)) {
@@ -597,6 +694,7 @@ public abstract class SailSourceConnection extends AbstractNotifyingSailConnecti
 			assert explicitSinks.containsKey(op);
 			add(subj, pred, obj, datasets.get(op), explicitSinks.get(op), contexts);
 		}
+		recordChange(subj, pred, obj, false, contexts);
 		addStatementInternal(subj, pred, obj, contexts);
 	}
 
@@ -614,6 +712,7 @@ public abstract class SailSourceConnection extends AbstractNotifyingSailConnecti
 			assert explicitSinks.containsKey(op);
 			remove(subj, pred, obj, datasets.get(op), explicitSinks.get(op), contexts);
 		}
+		recordChange(subj, pred, obj, true, contexts);
 		removeStatementsInternal(subj, pred, obj, contexts);
 	}
 
@@ -693,6 +792,7 @@ public abstract class SailSourceConnection extends AbstractNotifyingSailConnecti
 				inferredOnlySink = branch.sink(level);
 				explicitOnlyDataset = branch(IncludeInferred.explicitOnly).dataset(level);
 			}
+			recordChange(subj, pred, obj, false, contexts);
 			boolean modified = false;
 			if (contexts.length == 0 || contexts.length == 1 && contexts[0] == null) {
 				if (!hasStatement(explicitOnlyDataset, subj, pred, obj, NULL_CTX)) {
@@ -787,6 +887,7 @@ public abstract class SailSourceConnection extends AbstractNotifyingSailConnecti
 				explicitOnlyDataset = branch(IncludeInferred.explicitOnly).dataset(level);
 			}
 			removeStatementsInternal(subj, pred, obj, contexts);
+			recordChange(subj, pred, obj, true, contexts);
 			boolean removed = remove(subj, pred, obj, inferredOnlyDataset, inferredOnlySink, contexts);
 			if (removed) {
 				setStatementsRemoved();
@@ -834,6 +935,7 @@ public abstract class SailSourceConnection extends AbstractNotifyingSailConnecti
 			}
 			explicitSinks.get(null).clear(contexts);
 		}
+		recordChange(null, null, null, true, contexts);
 	}
 
 	@Override
@@ -854,6 +956,46 @@ public abstract class SailSourceConnection extends AbstractNotifyingSailConnecti
 			inferredOnlySink.clear(contexts);
 			setStatementsRemoved();
 		}
+		recordChange(null, null, null, true, contexts);
+	}
+
+	/**
+	 * Records the pattern of added or removed statements, so that the cached query results that may depend on them are
+	 * invalidated when the transaction ends.
+	 */
+	private void recordChange(Resource subj, IRI pred, Value obj, boolean removed, Resource... contexts) {
+		if (getSailBase().getQueryResultCache() == null) {
+			return;
+		}
+		synchronized (changedPatterns) {
+			if (changedAll) {
+				return;
+			}
+			if (contexts.length == 0) {
+				// statements are added to the default graph, but removed from all contexts
+				changedPatterns.add(new QueryResultCache.Pattern(subj, pred, obj, null, removed));
+			} else {
+				for (Resource ctx : contexts) {
+					changedPatterns.add(new QueryResultCache.Pattern(subj, pred, obj, ctx, false));
+				}
+			}
+			if (changedPatterns.size() > MAX_CHANGED_PATTERNS) {
+				changedPatterns.clear();
+				changedPatterns.add(QueryResultCache.Pattern.ANY);
+				changedAll = true;
+			}
+		}
+	}
+
+	private void invalidateQueryResults() {
+		synchronized (changedPatterns) {
+			QueryResultCache resultCache = getSailBase().getQueryResultCache();
+			if (resultCache != null && !changedPatterns.isEmpty()) {
+				resultCache.invalidate(changedPatterns);
+			}
+			changedPatterns.clear();
+			changedAll = false;
+		}
 	}
 
 	@Override
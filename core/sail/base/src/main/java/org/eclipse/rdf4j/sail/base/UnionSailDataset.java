@@ -11,6 +11,12 @@
 
 package org.eclipse.rdf4j.sail.base;
 
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Set;
+
 import org.eclipse.rdf4j.common.iteration.CloseableIteration;
 import org.eclipse.rdf4j.common.iteration.DualUnionIteration;
 import org.eclipse.rdf4j.model.IRI;
@@ -19,6 +25,7 @@ import org.eclipse.rdf4j.model.Resource;
 import org.eclipse.rdf4j.model.Statement;
 import org.eclipse.rdf4j.model.Triple;
 import org.eclipse.rdf4j.model.Value;
+import org.eclipse.rdf4j.query.algebra.evaluation.StatementOrder;
 import org.eclipse.rdf4j.sail.SailException;
 
 /**
@@ -140,6 +147,51 @@ class UnionSailDataset implements SailDataset {
 
 	}
 
+	@Override
+	public Set<StatementOrder> getSupportedOrders(Resource subj, IRI pred, Value obj, Resource... contexts) {
+		Set<StatementOrder> orders = dataset1.getSupportedOrders(subj, pred, obj, contexts);
+		if (orders.isEmpty() || getComparator() == null) {
+			return Collections.emptySet();
+		}
+		Set<StatementOrder> supportedOrders = EnumSet.noneOf(StatementOrder.class);
+		supportedOrders.addAll(orders);
+		supportedOrders.retainAll(dataset2.getSupportedOrders(subj, pred, obj, contexts));
+		return supportedOrders;
+	}
+
+	@Override
+	public CloseableIteration<? extends Statement, SailException> getOrderedStatements(StatementOrder order,
+			Resource subj, IRI pred, Value obj, Resource... contexts) throws SailException {
+		CloseableIteration<? extends Statement, SailException> iteration1 = null;
+		CloseableIteration<? extends Statement, SailException> iteration2 = null;
+		try {
+			iteration1 = dataset1.getOrderedStatements(order, subj, pred, obj, contexts);
+			iteration2 = dataset2.getOrderedStatements(order, subj, pred, obj, contexts);
+			Comparator<Value> comparator = getComparator();
+			return new OrderedUnionIteration<Statement, SailException>(
+					(st1, st2) -> comparator.compare(order.getValue(st1), order.getValue(st2)),
+					List.of(iteration1, iteration2));
+		} catch (Throwable t) {
+			try {
+				if (iteration1 != null) {
+					iteration1.close();
+				}
+			} finally {
+				if (iteration2 != null) {
+					iteration2.close();
+				}
+			}
+			throw t;
+		}
+	}
+
+	@Override
+	public Comparator<Value> getComparator() {
+		Comparator<Value> comparator = dataset1.getComparator();
+		// both datasets must be ordered the same way
+		return comparator != null && comparator.equals(dataset2.getComparator()) ? comparator : null;
+	}
+
 	@Override
 	public CloseableIteration<? extends Triple, SailException> getTriples(Resource subj, IRI pred, Value obj)
 			throws SailException {
@@ -16,11 +16,14 @@ import static org.eclipse.rdf4j.sail.base.config.BaseSailSchema.EVALUATION_STRAT
 
 import java.util.Optional;
 
+import org.eclipse.rdf4j.common.annotation.Experimental;
 import org.eclipse.rdf4j.common.transaction.QueryEvaluationMode;
+import org.eclipse.rdf4j.common.transaction.QueryEvaluationParallelism;
 import org.eclipse.rdf4j.model.Model;
 import org.eclipse.rdf4j.model.Resource;
 import org.eclipse.rdf4j.model.util.Configurations;
 import org.eclipse.rdf4j.model.util.ModelException;
+import org.eclipse.rdf4j.model.util.Models;
 import org.eclipse.rdf4j.model.vocabulary.CONFIG;
 import org.eclipse.rdf4j.query.algebra.evaluation.EvaluationStrategyFactory;
 import org.eclipse.rdf4j.sail.config.AbstractSailImplConfig;
@@ -35,6 +38,8 @@ public abstract class BaseSailConfig extends AbstractSailImplConfig {
 
 	private QueryEvaluationMode defaultQueryEvaluationMode;
 
+	private QueryEvaluationParallelism defaultQueryEvaluationParallelism;
+
 	protected BaseSailConfig(String type) {
 		super(type);
 	}
@@ -82,6 +87,9 @@ public abstract class BaseSailConfig extends AbstractSailImplConfig {
 				graph.add(implNode, DEFAULT_QUERY_EVALUATION_MODE, literal(mode.getValue()));
 			}
 		});
+		// a new property without a legacy equivalent
+		getDefaultQueryEvaluationParallelism().ifPresent(parallelism -> graph.add(implNode,
+				CONFIG.Sail.defaultQueryEvaluationParallelism, literal(parallelism.getParallelism())));
 
 		return implNode;
 	}
@@ -96,6 +104,10 @@ public abstract class BaseSailConfig extends AbstractSailImplConfig {
 					.ifPresent(qem -> setDefaultQueryEvaluationMode(
 							QueryEvaluationMode.valueOf(qem.stringValue())));
 
+			Models.objectLiteral(graph.getStatements(implNode, CONFIG.Sail.defaultQueryEvaluationParallelism, null))
+					.ifPresent(parallelism -> setDefaultQueryEvaluationParallelism(
+							QueryEvaluationParallelism.of(parallelism.intValue())));
+
 			Configurations.getLiteralValue(graph, implNode, CONFIG.Sail.evaluationStrategyFactory,
 					EVALUATION_STRATEGY_FACTORY)
 					.ifPresent(factoryClassName -> {
@@ -119,4 +131,20 @@ public abstract class BaseSailConfig extends AbstractSailImplConfig {
 	public void setDefaultQueryEvaluationMode(QueryEvaluationMode defaultQueryEvaluationMode) {
 		this.defaultQueryEvaluationMode = defaultQueryEvaluationMode;
 	}
+
+	/**
+	 * @return the defaultQueryEvaluationParallelism
+	 */
+	@Experimental
+	public Optional<QueryEvaluationParallelism> getDefaultQueryEvaluationParallelism() {
+		return Optional.ofNullable(defaultQueryEvaluationParallelism);
+	}
+
+	/**
+	 * @param defaultQueryEvaluationParallelism the defaultQueryEvaluationParallelism to set
+	 */
+	@Experimental
+	public void setDefaultQueryEvaluationParallelism(QueryEvaluationParallelism defaultQueryEvaluationParallelism) {
+		this.defaultQueryEvaluationParallelism = defaultQueryEvaluationParallelism;
+	}
 }
@@ -16,7 +16,9 @@ import static org.eclipse.rdf4j.model.util.Values.bnode;
 import static org.eclipse.rdf4j.model.util.Values.literal;
 
 import org.eclipse.rdf4j.common.transaction.QueryEvaluationMode;
+import org.eclipse.rdf4j.common.transaction.QueryEvaluationParallelism;
 import org.eclipse.rdf4j.model.util.ModelBuilder;
+import org.eclipse.rdf4j.model.vocabulary.CONFIG;
 import org.eclipse.rdf4j.sail.config.SailConfigException;
 import org.junit.jupiter.api.Test;
 
@@ -60,4 +62,58 @@ public class BaseSailConfigTest {
 			assertThat(config.getDefaultQueryEvaluationMode()).isEmpty();
 		}
 	}
+
+	@Test
+	public void testParseQueryEvaluationParallelism() throws Exception {
+		var implNode = bnode();
+
+		{
+			var config = new BaseSailConfig("stub") {
+			};
+			var model = new ModelBuilder()
+					.add(implNode, CONFIG.Sail.defaultQueryEvaluationParallelism, literal(0))
+					.build();
+
+			assertThatExceptionOfType(SailConfigException.class).isThrownBy(() -> config.parse(model, implNode));
+		}
+
+		{
+			var config = new BaseSailConfig("stub") {
+			};
+			var model = new ModelBuilder()
+					.add(implNode, CONFIG.Sail.defaultQueryEvaluationParallelism, literal(4))
+					.build();
+
+			config.parse(model, implNode);
+			assertThat(config.getDefaultQueryEvaluationParallelism()).hasValue(QueryEvaluationParallelism.of(4));
+
+			var exported = new ModelBuilder().build();
+			var exportedNode = config.export(exported);
+			var roundTripped = new BaseSailConfig("stub") {
+			};
+			roundTripped.parse(exported, exportedNode);
+			assertThat(roundTripped.getDefaultQueryEvaluationParallelism()).hasValue(QueryEvaluationParallelism.of(4));
+		}
+
+		{
+			var config = new BaseSailConfig("stub") {
+			};
+			config.setDefaultQueryEvaluationParallelism(QueryEvaluationParallelism.of(2));
+
+			// there is no legacy property, so the setting is always exported with the config vocabulary
+			var exported = new ModelBuilder().build();
+			var exportedNode = config.export(exported);
+			assertThat(exported.filter(exportedNode, CONFIG.Sail.defaultQueryEvaluationParallelism, literal(2)))
+					.hasSize(1);
+		}
+
+		{
+			var config = new BaseSailConfig("stub") {
+			};
+			var model = new ModelBuilder().build();
+
+			config.parse(model, implNode);
+			assertThat(config.getDefaultQueryEvaluationParallelism()).isEmpty();
+		}
+	}
 }
@@ -0,0 +1,99 @@
+/*******************************************************************************
+ * Copyright (c) 2023 Eclipse RDF4J contributors.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Distribution License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/org/documents/edl-v10.php.
+ *
+ * SPDX-License-Identifier: BSD-3-Clause
+ *******************************************************************************/
+package org.eclipse.rdf4j.sail.hdt;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+
+import org.eclipse.rdf4j.model.IRI;
+import org.eclipse.rdf4j.model.Resource;
+import org.eclipse.rdf4j.model.Value;
+import org.eclipse.rdf4j.query.algebra.StatementPattern;
+import org.eclipse.rdf4j.query.algebra.Var;
+import org.eclipse.rdf4j.query.algebra.evaluation.impl.EvaluationStatistics;
+import org.eclipse.rdf4j.rio.hdt.HDTFile;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Estimates the cardinality of statement patterns with the number of matching triples in the HDT file, which is exact
+ * for most patterns.
+ */
+class HDTEvaluationStatistics extends EvaluationStatistics {
+
+	private static final Logger log = LoggerFactory.getLogger(HDTEvaluationStatistics.class);
+
+	private final HDTFile hdt;
+
+	public HDTEvaluationStatistics(HDTFile hdt) {
+		this.hdt = hdt;
+	}
+
+	@Override
+	protected CardinalityCalculator createCardinalityCalculator() {
+		return new HDTCardinalityCalculator();
+	}
+
+	protected class HDTCardinalityCalculator extends CardinalityCalculator {
+
+		@Override
+		protected double getCardinality(StatementPattern sp) {
+			try {
+				Value subj = getConstantValue(sp.getSubjectVar());
+				Value pred = getConstantValue(sp.getPredicateVar());
+				Value obj = getConstantValue(sp.getObjectVar());
+				Value context = getConstantValue(sp.getContextVar());
+				return cardinality(subj, pred, obj, context);
+			} catch (IOException | UncheckedIOException e) {
+				log.error("Failed to estimate statement pattern cardinality, falling back to generic implementation",
+						e);
+				return super.getCardinality(sp);
+			}
+		}
+
+		protected Value getConstantValue(Var var) {
+			return (var != null) ? var.getValue() : null;
+		}
+	}
+
+	private double cardinality(Value subj, Value pred, Value obj, Value context) throws IOException {
+		if (context != null) {
+			// all statements are in the default graph
+			return 0;
+		}
+
+		int subjID = 0;
+		if (subj != null) {
+			subjID = (subj instanceof Resource) ? hdt.getSubjectID(subj) : 0;
+			if (subjID == 0) {
+				return 0;
+			}
+		}
+
+		int predID = 0;
+		if (pred != null) {
+			predID = (pred instanceof IRI) ? hdt.getPredicateID(pred) : 0;
+			if (predID == 0) {
+				return 0;
+			}
+		}
+
+		int objID = 0;
+		if (obj != null) {
+			objID = hdt.getObjectID(obj);
+			if (objID == 0) {
+				return 0;
+			}
+		}
+
+		return hdt.estimateCardinality(subjID, predID, objID);
+	}
+}
@@ -0,0 +1,291 @@
+/*******************************************************************************
+ * Copyright (c) 2023 Eclipse RDF4J contributors.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Distribution License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/org/documents/edl-v10.php.
+ *
+ * SPDX-License-Identifier: BSD-3-Clause
+ *******************************************************************************/
+package org.eclipse.rdf4j.sail.hdt;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.Iterator;
+
+import org.eclipse.rdf4j.common.iteration.CloseableIteration;
+import org.eclipse.rdf4j.common.iteration.EmptyIteration;
+import org.eclipse.rdf4j.common.iteration.LookAheadIteration;
+import org.eclipse.rdf4j.common.transaction.IsolationLevel;
+import org.eclipse.rdf4j.model.IRI;
+import org.eclipse.rdf4j.model.Namespace;
+import org.eclipse.rdf4j.model.Resource;
+import org.eclipse.rdf4j.model.Statement;
+import org.eclipse.rdf4j.model.Triple;
+import org.eclipse.rdf4j.model.Value;
+import org.eclipse.rdf4j.model.ValueFactory;
+import org.eclipse.rdf4j.model.impl.SimpleValueFactory;
+import org.eclipse.rdf4j.query.algebra.evaluation.impl.EvaluationStatistics;
+import org.eclipse.rdf4j.rio.hdt.HDTFile;
+import org.eclipse.rdf4j.sail.SailException;
+import org.eclipse.rdf4j.sail.SailReadOnlyException;
+import org.eclipse.rdf4j.sail.base.BackingSailSource;
+import org.eclipse.rdf4j.sail.base.SailDataset;
+import org.eclipse.rdf4j.sail.base.SailSink;
+import org.eclipse.rdf4j.sail.base.SailSource;
+import org.eclipse.rdf4j.sail.base.SailStore;
+
+/**
+ * A {@link SailStore} for the triples of an {@link HDTFile}. The explicit statements are the triples of the file in the
+ * default graph, there are no inferred statements.
+ */
+class HDTSailStore implements SailStore {
+
+	static final ValueFactory VALUE_FACTORY = SimpleValueFactory.getInstance();
+
+	private final HDTFile hdt;
+
+	private final HDTEvaluationStatistics statistics;
+
+	private final SailSource explicit = new HDTSailSource(true);
+
+	private final SailSource inferred = new HDTSailSource(false);
+
+	HDTSailStore(HDTFile hdt) {
+		this.hdt = hdt;
+		this.statistics = new HDTEvaluationStatistics(hdt);
+	}
+
+	@Override
+	public ValueFactory getValueFactory() {
+		return VALUE_FACTORY;
+	}
+
+	@Override
+	public EvaluationStatistics getEvaluationStatistics() {
+		return statistics;
+	}
+
+	@Override
+	public SailSource getExplicitSailSource() {
+		return explicit;
+	}
+
+	@Override
+	public SailSource getInferredSailSource() {
+		return inferred;
+	}
+
+	@Override
+	public void close() throws SailException {
+		hdt.close();
+	}
+
+	/**
+	 * Creates an iteration over the triples of the HDT file that match a pattern.
+	 */
+	CloseableIteration<? extends Statement, SailException> createStatementIterator(Resource subj, IRI pred,
+			Value obj, Resource... contexts) throws SailException {
+		if (contexts.length > 0 && !containsDefaultGraph(contexts)) {
+			return new EmptyIteration<>();
+		}
+		try {
+			int subjID = 0;
+			if (subj != null) {
+				subjID = hdt.getSubjectID(subj);
+				if (subjID == 0) {
+					return new EmptyIteration<>();
+				}
+			}
+			int predID = 0;
+			if (pred != null) {
+				predID = hdt.getPredicateID(pred);
+				if (predID == 0) {
+					return new EmptyIteration<>();
+				}
+			}
+			int objID = 0;
+			if (obj != null) {
+				objID = hdt.getObjectID(obj);
+				if (objID == 0) {
+					return new EmptyIteration<>();
+				}
+			}
+			return new HDTStatementIterator(hdt.search(subjID, predID, objID));
+		} catch (IOException | UncheckedIOException e) {
+			throw new SailException("Unable to get statements", e);
+		}
+	}
+
+	private static boolean containsDefaultGraph(Resource... contexts) {
+		for (Resource context : contexts) {
+			if (context == null) {
+				return true;
+			}
+		}
+		return false;
+	}
+
+	/**
+	 * Converts the IDs of the triples into statements. Triples with the same subject or predicate are returned
+	 * consecutively, so the last values are reused.
+	 */
+	private final class HDTStatementIterator extends LookAheadIteration<Statement, SailException> {
+
+		private final Iterator<int[]> triples;
+
+		private int subjID;
+
+		private Resource subj;
+
+		private int predID;
+
+		private IRI pred;
+
+		HDTStatementIterator(Iterator<int[]> triples) {
+			this.triples = triples;
+		}
+
+		@Override
+		protected Statement getNextElement() throws SailException {
+			try {
+				if (!triples.hasNext()) {
+					return null;
+				}
+				int[] t = triples.next();
+				if (t[0] != subjID) {
+					subjID = t[0];
+					subj = hdt.getSubject(subjID, VALUE_FACTORY);
+				}
+				if (t[1] != predID) {
+					predID = t[1];
+					pred = hdt.getPredicate(predID, VALUE_FACTORY);
+				}
+				return VALUE_FACTORY.createStatement(subj, pred, hdt.getObject(t[2], VALUE_FACTORY));
+			} catch (IOException | UncheckedIOException | IllegalStateException e) {
+				throw new SailException("Unable to read statements", e);
+			}
+		}
+	}
+
+	private final class HDTSailSource extends BackingSailSource {
+
+		private final boolean explicit;
+
+		HDTSailSource(boolean explicit) {
+			this.explicit = explicit;
+		}
+
+		@Override
+		public SailSink sink(IsolationLevel level) throws SailException {
+			return new HDTSailSink();
+		}
+
+		@Override
+		public SailDataset dataset(IsolationLevel level) throws SailException {
+			return new HDTSailDataset(explicit);
+		}
+	}
+
+	/**
+	 * Rejects all changes, since HDT files are read-only.
+	 */
+	private static final class HDTSailSink implements SailSink {
+
+		@Override
+		public void close() {
+			// no-op
+		}
+
+		@Override
+		public void prepare() throws SailException {
+			// no-op
+		}
+
+		@Override
+		public void flush() throws SailException {
+			// no-op
+		}
+
+		@Override
+		public void setNamespace(String prefix, String name) throws SailException {
+			throw new SailReadOnlyException("HDT files are read-only");
+		}
+
+		@Override
+		public void removeNamespace(String prefix) throws SailException {
+			throw new SailReadOnlyException("HDT files are read-only");
+		}
+
+		@Override
+		public void clearNamespaces() throws SailException {
+			throw new SailReadOnlyException("HDT files are read-only");
+		}
+
+		@Override
+		public void clear(Resource... contexts) throws SailException {
+			throw new SailReadOnlyException("HDT files are read-only");
+		}
+
+		@Override
+		public void observe(Resource subj, IRI pred, Value obj, Resource... contexts) throws SailException {
+			// serializable is not supported at this level
+		}
+
+		@Override
+		public void approve(Resource subj, IRI pred, Value obj, Resource ctx) throws SailException {
+			throw new SailReadOnlyException("HDT files are read-only");
+		}
+
+		@Override
+		public void deprecate(Statement statement) throws SailException {
+			throw new SailReadOnlyException("HDT files are read-only");
+		}
+	}
+
+	private final class HDTSailDataset implements SailDataset {
+
+		private final boolean explicit;
+
+		HDTSailDataset(boolean explicit) {
+			this.explicit = explicit;
+		}
+
+		@Override
+		public void close() {
+			// no-op
+		}
+
+		@Override
+		public CloseableIteration<? extends Namespace, SailException> getNamespaces() {
+			return new EmptyIteration<>();
+		}
+
+		@Override
+		public String getNamespace(String prefix) throws SailException {
+			return null;
+		}
+
+		@Override
+		public CloseableIteration<? extends Resource, SailException> getContextIDs() throws SailException {
+			return new EmptyIteration<>();
+		}
+
+		@Override
+		public CloseableIteration<? extends Statement, SailException> getStatements(Resource subj, IRI pred, Value obj,
+				Resource... contexts) throws SailException {
+			if (!explicit) {
+				return new EmptyIteration<>();
+			}
+			return createStatementIterator(subj, pred, obj, contexts);
+		}
+
+		@Override
+		public CloseableIteration<? extends Triple, SailException> getTriples(Resource subj, IRI pred, Value obj)
+				throws SailException {
+			// HDT files do not contain RDF-star triples
+			return new EmptyIteration<>();
+		}
+	}
+}
@@ -0,0 +1,195 @@
+/*******************************************************************************
+ * Copyright (c) 2023 Eclipse RDF4J contributors.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Distribution License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/org/documents/edl-v10.php.
+ *
+ * SPDX-License-Identifier: BSD-3-Clause
+ *******************************************************************************/
+package org.eclipse.rdf4j.sail.hdt;
+
+import java.io.File;
+import java.io.IOException;
+
+import org.eclipse.rdf4j.common.annotation.Experimental;
+import org.eclipse.rdf4j.common.transaction.IsolationLevels;
+import org.eclipse.rdf4j.model.ValueFactory;
+import org.eclipse.rdf4j.query.algebra.evaluation.EvaluationStrategyFactory;
+import org.eclipse.rdf4j.query.algebra.evaluation.federation.FederatedServiceResolver;
+import org.eclipse.rdf4j.query.algebra.evaluation.federation.FederatedServiceResolverClient;
+import org.eclipse.rdf4j.query.algebra.evaluation.impl.StrictEvaluationStrategyFactory;
+import org.eclipse.rdf4j.repository.sparql.federation.SPARQLServiceResolver;
+import org.eclipse.rdf4j.rio.hdt.HDTFile;
+import org.eclipse.rdf4j.sail.NotifyingSailConnection;
+import org.eclipse.rdf4j.sail.SailException;
+import org.eclipse.rdf4j.sail.hdt.config.HDTStoreConfig;
+import org.eclipse.rdf4j.sail.helpers.AbstractNotifyingSail;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * A read-only store that answers queries directly from an HDT file, without loading it.
+ * <p>
+ * The dictionary and the bitmap triples of the HDT file are memory-mapped (see {@link HDTFile}), so the store starts
+ * almost immediately and uses little heap, regardless of the size of the file. Triples are looked up by subject using
+ * the SPO order of the file. Lookups by object or predicate use an additional index, which is built once and stored
+ * next to the HDT file. The evaluation statistics use the exact or estimated number of triples of each statement
+ * pattern.
+ * <p>
+ * All statements are in the default graph. The store does not support namespaces and cannot be modified: starting a
+ * transaction throws a {@link org.eclipse.rdf4j.sail.SailReadOnlyException}.
+ */
+@Experimental
+public class HDTStore extends AbstractNotifyingSail implements FederatedServiceResolverClient {
+
+	private static final Logger logger = LoggerFactory.getLogger(HDTStore.class);
+
+	private final HDTStoreConfig config;
+
+	private HDTSailStore store;
+
+	private EvaluationStrategyFactory evalStratFactory;
+
+	private FederatedServiceResolver serviceResolver;
+
+	private SPARQLServiceResolver dependentServiceResolver;
+
+	/*--------------*
+	 * Constructors *
+	 *--------------*/
+
+	public HDTStore(HDTStoreConfig config) {
+		super();
+		this.config = config;
+		setSupportedIsolationLevels(IsolationLevels.NONE, IsolationLevels.READ_COMMITTED, IsolationLevels.SNAPSHOT_READ,
+				IsolationLevels.SNAPSHOT, IsolationLevels.SERIALIZABLE);
+		setDefaultIsolationLevel(IsolationLevels.SNAPSHOT_READ);
+		config.getDefaultQueryEvaluationMode().ifPresent(this::setDefaultQueryEvaluationMode);
+		config.getDefaultQueryEvaluationParallelism().ifPresent(this::setDefaultQueryEvaluationParallelism);
+		EvaluationStrategyFactory evalStrategyFactory = config.getEvaluationStrategyFactory();
+		if (evalStrategyFactory != null) {
+			setEvaluationStrategyFactory(evalStrategyFactory);
+		}
+	}
+
+	/**
+	 * Creates a store for an HDT file.
+	 *
+	 * @param hdtFile The HDT file.
+	 */
+	public HDTStore(File hdtFile) {
+		this(new HDTStoreConfig(hdtFile.getPath()));
+	}
+
+	/*---------*
+	 * Methods *
+	 *---------*/
+
+	public synchronized EvaluationStrategyFactory getEvaluationStrategyFactory() {
+		if (evalStratFactory == null) {
+			evalStratFactory = new StrictEvaluationStrategyFactory(getFederatedServiceResolver());
+		}
+		evalStratFactory.setQuerySolutionCacheThreshold(getIterationCacheSyncThreshold());
+		evalStratFactory.setTrackResultSize(isTrackResultSize());
+		evalStratFactory.setCollectionFactory(getCollectionFactory());
+		return evalStratFactory;
+	}
+
+	public synchronized void setEvaluationStrategyFactory(EvaluationStrategyFactory factory) {
+		evalStratFactory = factory;
+	}
+
+	public synchronized FederatedServiceResolver getFederatedServiceResolver() {
+		if (serviceResolver == null) {
+			if (dependentServiceResolver == null) {
+				dependentServiceResolver = new SPARQLServiceResolver();
+			}
+			setFederatedServiceResolver(dependentServiceResolver);
+		}
+		return serviceResolver;
+	}
+
+	@Override
+	public synchronized void setFederatedServiceResolver(FederatedServiceResolver resolver) {
+		this.serviceResolver = resolver;
+		if (resolver != null && evalStratFactory instanceof FederatedServiceResolverClient) {
+			((FederatedServiceResolverClient) evalStratFactory).setFederatedServiceResolver(resolver);
+		}
+	}
+
+	/**
+	 * Gets the HDT file of this store. A relative path in the configuration is resolved against the data directory, if
+	 * one has been set.
+	 *
+	 * @return The HDT file.
+	 */
+	public File getHDTFile() {
+		String path = config.getHDTFile();
+		if (path == null) {
+			return null;
+		}
+		File file = new File(path);
+		if (!file.isAbsolute() && getDataDir() != null) {
+			file = new File(getDataDir(), path);
+		}
+		return file;
+	}
+
+	@Override
+	protected void initializeInternal() throws SailException {
+		logger.debug("Initializing HDTStore...");
+
+		File file = getHDTFile();
+		if (file == null) {
+			throw new SailException("No HDT file has been configured");
+		} else if (!file.isFile()) {
+			throw new SailException("The specified path does not denote a file: " + file);
+		} else if (!file.canRead()) {
+			throw new SailException("Not allowed to read from the specified file: " + file);
+		}
+
+		try {
+			store = new HDTSailStore(HDTFile.open(file));
+		} catch (IOException | UnsupportedOperationException e) {
+			throw new SailException("Could not open HDT file " + file, e);
+		}
+
+		logger.debug("HDTStore initialized");
+	}
+
+	@Override
+	protected void shutDownInternal() throws SailException {
+		logger.debug("Shutting down HDTStore...");
+
+		try {
+			store.close();
+		} finally {
+			if (dependentServiceResolver != null) {
+				dependentServiceResolver.shutDown();
+			}
+		}
+
+		logger.debug("HDTStore shut down");
+	}
+
+	@Override
+	public boolean isWritable() {
+		return false;
+	}
+
+	@Override
+	protected NotifyingSailConnection getConnectionInternal() throws SailException {
+		return new HDTStoreConnection(this);
+	}
+
+	@Override
+	public ValueFactory getValueFactory() {
+		return HDTSailStore.VALUE_FACTORY;
+	}
+
+	HDTSailStore getSailStore() {
+		return store;
+	}
+}
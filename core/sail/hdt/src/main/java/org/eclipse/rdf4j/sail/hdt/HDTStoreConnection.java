@@ -0,0 +1,45 @@
+/*******************************************************************************
+ * Copyright (c) 2023 Eclipse RDF4J contributors.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Distribution License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/org/documents/edl-v10.php.
+ *
+ * SPDX-License-Identifier: BSD-3-Clause
+ *******************************************************************************/
+package org.eclipse.rdf4j.sail.hdt;
+
+import org.eclipse.rdf4j.model.IRI;
+import org.eclipse.rdf4j.model.Resource;
+import org.eclipse.rdf4j.model.Value;
+import org.eclipse.rdf4j.sail.SailException;
+import org.eclipse.rdf4j.sail.SailReadOnlyException;
+import org.eclipse.rdf4j.sail.base.SailSourceConnection;
+
+/**
+ * Connection to an {@link HDTStore}, which only supports read operations.
+ */
+public class HDTStoreConnection extends SailSourceConnection {
+
+	protected HDTStoreConnection(HDTStore sail) {
+		super(sail, sail.getSailStore(), sail.getEvaluationStrategyFactory());
+		useConnectionLock = false;
+	}
+
+	@Override
+	protected void startTransactionInternal() throws SailException {
+		throw new SailReadOnlyException("Unable to start transaction: HDT files are read-only");
+	}
+
+	@Override
+	protected void addStatementInternal(Resource subj, IRI pred, Value obj, Resource... contexts) throws SailException {
+		throw new SailReadOnlyException("HDT files are read-only");
+	}
+
+	@Override
+	protected void removeStatementsInternal(Resource subj, IRI pred, Value obj, Resource... contexts)
+			throws SailException {
+		throw new SailReadOnlyException("HDT files are read-only");
+	}
+}
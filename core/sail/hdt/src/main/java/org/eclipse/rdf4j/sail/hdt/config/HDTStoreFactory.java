@@ -0,0 +1,55 @@
+/*******************************************************************************
+ * Copyright (c) 2023 Eclipse RDF4J contributors.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Distribution License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/org/documents/edl-v10.php.
+ *
+ * SPDX-License-Identifier: BSD-3-Clause
+ *******************************************************************************/
+package org.eclipse.rdf4j.sail.hdt.config;
+
+import org.eclipse.rdf4j.sail.Sail;
+import org.eclipse.rdf4j.sail.config.SailConfigException;
+import org.eclipse.rdf4j.sail.config.SailFactory;
+import org.eclipse.rdf4j.sail.config.SailImplConfig;
+import org.eclipse.rdf4j.sail.hdt.HDTStore;
+
+/**
+ * A {@link SailFactory} that creates {@link HDTStore}s based on RDF configuration data.
+ */
+public class HDTStoreFactory implements SailFactory {
+
+	/**
+	 * The type of repositories that are created by this factory.
+	 *
+	 * @see SailFactory#getSailType()
+	 */
+	public static final String SAIL_TYPE = "rdf4j:HDTStore";
+
+	/**
+	 * Returns the Sail's type: <tt>rdf4j:HDTStore</tt>.
+	 */
+	@Override
+	public String getSailType() {
+		return SAIL_TYPE;
+	}
+
+	@Override
+	public SailImplConfig getConfig() {
+		return new HDTStoreConfig();
+	}
+
+	@Override
+	public Sail getSail(SailImplConfig config) throws SailConfigException {
+		if (!SAIL_TYPE.equals(config.getType())) {
+			throw new SailConfigException("Invalid Sail type: " + config.getType());
+		}
+		if (!(config instanceof HDTStoreConfig)) {
+			throw new SailConfigException("Config is instance of " + config.getClass().getName()
+					+ ", but HDTStoreConfig is required");
+		}
+		return new HDTStore((HDTStoreConfig) config);
+	}
+}
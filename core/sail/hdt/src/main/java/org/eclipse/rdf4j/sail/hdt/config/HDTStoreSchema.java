@@ -0,0 +1,37 @@
+/*******************************************************************************
+ * Copyright (c) 2023 Eclipse RDF4J contributors.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Distribution License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/org/documents/edl-v10.php.
+ *
+ * SPDX-License-Identifier: BSD-3-Clause
+ *******************************************************************************/
+package org.eclipse.rdf4j.sail.hdt.config;
+
+import org.eclipse.rdf4j.model.IRI;
+import org.eclipse.rdf4j.model.ValueFactory;
+import org.eclipse.rdf4j.model.impl.SimpleValueFactory;
+import org.eclipse.rdf4j.sail.hdt.HDTStore;
+
+/**
+ * Defines constants for the HDTStore schema which is used by {@link HDTStoreFactory}s to initialize {@link HDTStore}s.
+ */
+public class HDTStoreSchema {
+
+	/**
+	 * The HDTStore schema namespace (<tt>http://rdf4j.org/config/sail/hdt#</tt>).
+	 */
+	public static final String NAMESPACE = "http://rdf4j.org/config/sail/hdt#";
+
+	/**
+	 * <tt>http://rdf4j.org/config/sail/hdt#hdtFile</tt>
+	 */
+	public final static IRI HDT_FILE;
+
+	static {
+		ValueFactory factory = SimpleValueFactory.getInstance();
+		HDT_FILE = factory.createIRI(NAMESPACE, "hdtFile");
+	}
+}
@@ -0,0 +1,161 @@
+/*******************************************************************************
+ * Copyright (c) 2023 Eclipse RDF4J contributors.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Distribution License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/org/documents/edl-v10.php.
+ *
+ * SPDX-License-Identifier: BSD-3-Clause
+ *******************************************************************************/
+package org.eclipse.rdf4j.sail.hdt;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.io.File;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+import org.eclipse.rdf4j.common.iteration.Iterations;
+import org.eclipse.rdf4j.model.IRI;
+import org.eclipse.rdf4j.model.Model;
+import org.eclipse.rdf4j.model.Statement;
+import org.eclipse.rdf4j.model.Value;
+import org.eclipse.rdf4j.model.ValueFactory;
+import org.eclipse.rdf4j.model.impl.SimpleValueFactory;
+import org.eclipse.rdf4j.model.vocabulary.RDF;
+import org.eclipse.rdf4j.query.BindingSet;
+import org.eclipse.rdf4j.query.QueryResults;
+import org.eclipse.rdf4j.repository.RepositoryConnection;
+import org.eclipse.rdf4j.repository.RepositoryException;
+import org.eclipse.rdf4j.repository.sail.SailRepository;
+import org.eclipse.rdf4j.rio.RDFFormat;
+import org.eclipse.rdf4j.rio.Rio;
+import org.eclipse.rdf4j.sail.SailReadOnlyException;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+public class HDTStoreTest {
+
+	private static final ValueFactory vf = SimpleValueFactory.getInstance();
+
+	private static final IRI DATASET = vf.createIRI("http://www.w3.org/ns/dcat#Dataset");
+
+	@TempDir
+	File dataDir;
+
+	private Model expected;
+
+	private SailRepository repo;
+
+	@BeforeEach
+	public void setUp() throws Exception {
+		try (InputStream in = HDTStoreTest.class.getResourceAsStream("/test.hdt")) {
+			Files.copy(in, new File(dataDir, "test.hdt").toPath());
+		}
+		try (InputStream in = HDTStoreTest.class.getResourceAsStream("/test-orig.nt")) {
+			expected = Rio.parse(in, "", RDFFormat.NTRIPLES);
+		}
+
+		HDTStore sail = new HDTStore(new File(dataDir, "test.hdt"));
+		repo = new SailRepository(sail);
+		repo.init();
+	}
+
+	@AfterEach
+	public void tearDown() {
+		repo.shutDown();
+	}
+
+	@Test
+	public void testGetStatements() {
+		try (RepositoryConnection conn = repo.getConnection()) {
+			assertThat(conn.size()).isEqualTo(expected.size());
+			assertThat(Iterations.asSet(conn.getStatements(null, null, null))).isEqualTo(new HashSet<>(expected));
+
+			for (Statement st : expected) {
+				assertThat(Iterations.asSet(conn.getStatements(null, st.getPredicate(), st.getObject())))
+						.isEqualTo(filter(null, st.getPredicate(), st.getObject()));
+				assertThat(Iterations.asSet(conn.getStatements(st.getSubject(), null, st.getObject())))
+						.isEqualTo(filter(st.getSubject(), null, st.getObject()));
+				assertThat(conn.hasStatement(st, false)).isTrue();
+			}
+
+			// unknown values and named graphs
+			assertThat(conn.hasStatement(vf.createIRI("http://example.org/unknown"), null, null, false)).isFalse();
+			assertThat(conn.hasStatement(null, null, vf.createLiteral("unknown"), false)).isFalse();
+			assertThat(conn.hasStatement(null, null, null, false, vf.createIRI("http://example.org/graph")))
+					.isFalse();
+			assertThat(conn.size((IRI) null)).isEqualTo(expected.size());
+			assertThat(Iterations.asList(conn.getContextIDs())).isEmpty();
+		}
+	}
+
+	@Test
+	public void testQuery() {
+		try (RepositoryConnection conn = repo.getConnection()) {
+			List<BindingSet> result = QueryResults.asList(conn
+					.prepareTupleQuery("SELECT ?dataset ?title WHERE { ?dataset a <" + DATASET + "> ; "
+							+ "<http://purl.org/dc/terms/title> ?title }")
+					.evaluate());
+
+			Set<Value> datasets = expected.filter(null, RDF.TYPE, DATASET)
+					.subjects()
+					.stream()
+					.collect(Collectors.toSet());
+			assertThat(result).isNotEmpty();
+			assertThat(result).allMatch(bs -> datasets.contains(bs.getValue("dataset")));
+			assertThat(result).hasSize(expected.stream()
+					.filter(st -> datasets.contains(st.getSubject()))
+					.filter(st -> st.getPredicate().stringValue().equals("http://purl.org/dc/terms/title"))
+					.mapToInt(st -> 1)
+					.sum());
+		}
+	}
+
+	@Test
+	public void testReadOnly() {
+		assertThat(repo.isWritable()).isFalse();
+		try (RepositoryConnection conn = repo.getConnection()) {
+			assertThatThrownBy(() -> conn.add(vf.createIRI("http://example.org/s"), RDF.TYPE, DATASET))
+					.isInstanceOf(RepositoryException.class)
+					.hasCauseInstanceOf(SailReadOnlyException.class);
+			assertThatThrownBy(() -> conn.prepareUpdate("INSERT DATA { <http://example.org/s> a <" + DATASET + "> }")
+					.execute()).hasRootCauseInstanceOf(SailReadOnlyException.class);
+			assertThat(conn.size()).isEqualTo(expected.size());
+		}
+	}
+
+	@Test
+	public void testIndexIsPersisted() {
+		try (RepositoryConnection conn = repo.getConnection()) {
+			assertThat(conn.hasStatement(null, null, DATASET, false)).isTrue();
+		}
+		File indexFile = new File(dataDir, "test.hdt.rdf4j.idx");
+		assertThat(indexFile).exists();
+		long modified = indexFile.lastModified();
+
+		repo.shutDown();
+		repo.init();
+		try (RepositoryConnection conn = repo.getConnection()) {
+			assertThat(Iterations.asSet(conn.getStatements(null, null, DATASET)))
+					.isEqualTo(filter(null, null, DATASET));
+		}
+		assertThat(indexFile.lastModified()).isEqualTo(modified);
+	}
+
+	private Set<Statement> filter(Value subj, Value pred, Value obj) {
+		return expected.stream()
+				.filter(st -> subj == null || subj.equals(st.getSubject()))
+				.filter(st -> pred == null || pred.equals(st.getPredicate()))
+				.filter(st -> obj == null || obj.equals(st.getObject()))
+				.collect(Collectors.toSet());
+	}
+}
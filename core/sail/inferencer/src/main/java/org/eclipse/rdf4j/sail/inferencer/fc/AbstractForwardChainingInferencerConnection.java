@@ -10,10 +10,19 @@
  *******************************************************************************/
 package org.eclipse.rdf4j.sail.inferencer.fc;
 
+import java.util.HashSet;
+import java.util.Set;
+
+import org.eclipse.rdf4j.common.iteration.CloseableIteration;
+import org.eclipse.rdf4j.common.iteration.CloseableIteratorIteration;
+import org.eclipse.rdf4j.common.iteration.UnionIteration;
 import org.eclipse.rdf4j.common.transaction.IsolationLevel;
 import org.eclipse.rdf4j.common.transaction.IsolationLevels;
+import org.eclipse.rdf4j.model.IRI;
 import org.eclipse.rdf4j.model.Model;
+import org.eclipse.rdf4j.model.Resource;
 import org.eclipse.rdf4j.model.Statement;
+import org.eclipse.rdf4j.model.Value;
 import org.eclipse.rdf4j.sail.Sail;
 import org.eclipse.rdf4j.sail.SailConnectionListener;
 import org.eclipse.rdf4j.sail.SailException;
@@ -33,6 +42,11 @@ public abstract class AbstractForwardChainingInferencerConnection extends Infere
 
 	static private final Logger logger = LoggerFactory.getLogger(AbstractForwardChainingInferencerConnection.class);
 
+	/**
+	 * The maximum number of removed statements in a single flush whose inferred statements are retracted incrementally.
+	 */
+	static private final int MAX_INCREMENTALLY_REMOVED_STATEMENTS = 100_000;
+
 	/*-----------*
 	 * Variables *
 	 *-----------*/
@@ -49,6 +63,35 @@ public abstract class AbstractForwardChainingInferencerConnection extends Infere
 	 */
 	private Model newStatements;
 
+	/**
+	 * Contains the statements that have been reported by the base Sail as removed, if their inferred statements are
+	 * retracted incrementally.
+	 */
+	private Model removedStatements;
+
+	/**
+	 * The axiom statements, which are never retracted.
+	 */
+	private Model axioms;
+
+	private boolean collectingAxioms;
+
+	/**
+	 * The statements that are retracted because they might have been inferred from removed statements. Only set while
+	 * these are being collected.
+	 */
+	private Model retracted;
+
+	/**
+	 * The removed statements, which are still used as premises while retracted statements are being collected.
+	 */
+	private Model removedPremises;
+
+	/**
+	 * true while retracted statements are being removed from the base Sail.
+	 */
+	private boolean retracting;
+
 	protected int totalInferred;
 
 	/*--------------*
@@ -84,11 +127,24 @@ public abstract class AbstractForwardChainingInferencerConnection extends Infere
 	// Called by base sail
 	@Override
 	public void statementRemoved(Statement st) {
+		if (retracting || statementsRemoved) {
+			return;
+		}
+
 		boolean removed = (newStatements != null) ? newStatements.remove(st) : false;
 		if (!removed) {
-			// trigger full rebuild
-			statementsRemoved = true;
-			newStatements = null;
+			if (isIncrementalRemovalSupported()
+					&& (removedStatements == null || removedStatements.size() < MAX_INCREMENTALLY_REMOVED_STATEMENTS)) {
+				if (removedStatements == null) {
+					removedStatements = createModel();
+				}
+				removedStatements.add(st);
+			} else {
+				// trigger full rebuild
+				statementsRemoved = true;
+				newStatements = null;
+				removedStatements = null;
+			}
 		}
 	}
 
@@ -106,6 +162,10 @@ public abstract class AbstractForwardChainingInferencerConnection extends Infere
 			statementsRemoved = false;
 		} else {
 			super.flushUpdates();
+
+			if (removedStatements != null) {
+				retractInferredStatements();
+			}
 		}
 
 		if (hasNewStatements()) {
@@ -115,6 +175,116 @@ public abstract class AbstractForwardChainingInferencerConnection extends Infere
 		newStatements = null;
 	}
 
+	/**
+	 * Delete and rederive: retracts the inferred statements that might have been inferred from the removed statements,
+	 * by applying the rules to the removed statements, and then applies the rules to the remaining statements that the
+	 * retracted statements might still be inferred from.
+	 */
+	private void retractInferredStatements() throws SailException {
+		Model removed = removedStatements;
+		removedStatements = null;
+		Model added = newStatements;
+
+		logger.debug("retracting the inferred statements of {} removed statements", removed.size());
+		if (axioms == null) {
+			axioms = createModel();
+			collectingAxioms = true;
+			try {
+				addAxiomStatements();
+			} finally {
+				collectingAxioms = false;
+			}
+		}
+
+		retracted = createModel();
+		removedPremises = removed;
+		newStatements = createModel();
+		newStatements.addAll(removed);
+		try {
+			doInferencing();
+		} finally {
+			newStatements = null;
+			removedPremises = null;
+		}
+		Model retracted = this.retracted;
+		this.retracted = null;
+
+		retracting = true;
+		try {
+			for (Statement st : retracted) {
+				super.removeInferredStatement(st.getSubject(), st.getPredicate(), st.getObject(), st.getContext());
+			}
+		} finally {
+			retracting = false;
+		}
+		super.flushUpdates();
+
+		// every rule infers statements about one of the resources of one of its premises
+		Set<Resource> resources = new HashSet<>();
+		retracted.forEach(st -> resources.add(st.getSubject()));
+		removed.forEach(st -> resources.add(st.getSubject()));
+		newStatements = added != null ? added : createModel();
+		for (Resource resource : resources) {
+			addPremises(resource, null, null);
+			addPremises(null, null, resource);
+			if (resource.isIRI()) {
+				addPremises(null, (IRI) resource, null);
+			}
+		}
+		if (newStatements.isEmpty()) {
+			newStatements = null;
+		}
+		logger.debug("retracted {} inferred statements", retracted.size());
+	}
+
+	private void addPremises(Resource subj, IRI pred, Value obj) throws SailException {
+		try (CloseableIteration<? extends Statement, SailException> statements = getWrappedConnection()
+				.getStatements(subj, pred, obj, true)) {
+			while (statements.hasNext()) {
+				newStatements.add(statements.next());
+			}
+		}
+	}
+
+	@Override
+	public boolean addInferredStatement(Resource subj, IRI pred, Value obj, Resource... contexts) throws SailException {
+		if (collectingAxioms) {
+			axioms.add(subj, pred, obj, contexts);
+			return false;
+		}
+		if (retracted == null) {
+			return super.addInferredStatement(subj, pred, obj, contexts);
+		}
+
+		// only statements that are inferred, and not axioms, are retracted
+		if (axioms.contains(subj, pred, obj, contexts) || retracted.contains(subj, pred, obj, contexts)
+				|| getWrappedConnection().hasStatement(subj, pred, obj, false, contexts)
+				|| !getWrappedConnection().hasStatement(subj, pred, obj, true, contexts)) {
+			return false;
+		}
+		retracted.add(subj, pred, obj, contexts);
+		if (newStatements == null) {
+			newStatements = createModel();
+		}
+		newStatements.add(subj, pred, obj, contexts);
+		return true;
+	}
+
+	/**
+	 * Returns the statements that the rules are applied to, in addition to the new statements of an iteration. While
+	 * inferred statements of removed statements are retracted, these include the removed statements.
+	 */
+	protected CloseableIteration<? extends Statement, SailException> getPremises(Resource subj, IRI pred, Value obj)
+			throws SailException {
+		CloseableIteration<? extends Statement, SailException> statements = getWrappedConnection().getStatements(subj,
+				pred, obj, true);
+		if (retracted == null) {
+			return statements;
+		}
+		return new UnionIteration<>(statements,
+				new CloseableIteratorIteration<>(removedPremises.getStatements(subj, pred, obj).iterator()));
+	}
+
 	@Override
 	public void begin() throws SailException {
 		this.begin(sail.getDefaultIsolationLevel());
@@ -138,6 +308,7 @@ public abstract class AbstractForwardChainingInferencerConnection extends Infere
 
 		statementsRemoved = false;
 		newStatements = null;
+		removedStatements = null;
 	}
 
 	/**
@@ -186,4 +357,14 @@ public abstract class AbstractForwardChainingInferencerConnection extends Infere
 	protected boolean needsFullRecomputation() {
 		return statementsRemoved;
 	}
+
+	/**
+	 * Indicates if the inferred statements of removed statements can be retracted incrementally, instead of recomputing
+	 * the deductive closure. This requires that the rules only read statements of the base Sail using
+	 * {@link #getPremises(Resource, IRI, Value)}, and only add statements using
+	 * {@link #addInferredStatement(Resource, IRI, Value, Resource...)}.
+	 */
+	protected boolean isIncrementalRemovalSupported() {
+		return false;
+	}
 }
@@ -79,6 +79,11 @@ class ForwardChainingRDFSInferencerConnection extends AbstractForwardChainingInf
 		return new DynamicModelFactory().createEmptyModel();
 	}
 
+	@Override
+	protected boolean isIncrementalRemovalSupported() {
+		return true;
+	}
+
 	/**
 	 * Adds all basic set of axiom statements from which the complete set can be inferred to the underlying Sail.
 	 */
@@ -337,7 +342,7 @@ class ForwardChainingRDFSInferencerConnection extends AbstractForwardChainingInf
 			IRI aaa = nt.getPredicate();
 
 			CloseableIteration<? extends Statement, SailException> t1Iter;
-			t1Iter = getWrappedConnection().getStatements(aaa, RDFS.DOMAIN, null, true);
+			t1Iter = getPremises(aaa, RDFS.DOMAIN, null);
 
 			while (t1Iter.hasNext()) {
 				Statement t1 = t1Iter.next();
@@ -368,7 +373,7 @@ class ForwardChainingRDFSInferencerConnection extends AbstractForwardChainingInf
 
 			if (aaa instanceof IRI && zzz instanceof Resource) {
 				CloseableIteration<? extends Statement, SailException> t1Iter;
-				t1Iter = getWrappedConnection().getStatements(null, (IRI) aaa, null, true);
+				t1Iter = getPremises(null, (IRI) aaa, null);
 
 				while (t1Iter.hasNext()) {
 					Statement t1 = t1Iter.next();
@@ -398,7 +403,7 @@ class ForwardChainingRDFSInferencerConnection extends AbstractForwardChainingInf
 
 			if (uuu instanceof Resource) {
 				CloseableIteration<? extends Statement, SailException> t1Iter;
-				t1Iter = getWrappedConnection().getStatements(aaa, RDFS.RANGE, null, true);
+				t1Iter = getPremises(aaa, RDFS.RANGE, null);
 
 				while (t1Iter.hasNext()) {
 					Statement t1 = t1Iter.next();
@@ -429,7 +434,7 @@ class ForwardChainingRDFSInferencerConnection extends AbstractForwardChainingInf
 
 			if (aaa instanceof IRI && zzz instanceof Resource) {
 				CloseableIteration<? extends Statement, SailException> t1Iter;
-				t1Iter = getWrappedConnection().getStatements(null, (IRI) aaa, null, true);
+				t1Iter = getPremises(null, (IRI) aaa, null);
 
 				while (t1Iter.hasNext()) {
 					Statement t1 = t1Iter.next();
@@ -498,7 +503,7 @@ class ForwardChainingRDFSInferencerConnection extends AbstractForwardChainingInf
 
 			if (bbb instanceof Resource) {
 				CloseableIteration<? extends Statement, SailException> t1Iter;
-				t1Iter = getWrappedConnection().getStatements((Resource) bbb, RDFS.SUBPROPERTYOF, null, true);
+				t1Iter = getPremises((Resource) bbb, RDFS.SUBPROPERTYOF, null);
 
 				while (t1Iter.hasNext()) {
 					Statement t1 = t1Iter.next();
@@ -532,7 +537,7 @@ class ForwardChainingRDFSInferencerConnection extends AbstractForwardChainingInf
 
 			if (ccc instanceof Resource) {
 				CloseableIteration<? extends Statement, SailException> t1Iter;
-				t1Iter = getWrappedConnection().getStatements(null, RDFS.SUBPROPERTYOF, bbb, true);
+				t1Iter = getPremises(null, RDFS.SUBPROPERTYOF, bbb);
 
 				while (t1Iter.hasNext()) {
 					Statement t1 = t1Iter.next();
@@ -579,7 +584,7 @@ class ForwardChainingRDFSInferencerConnection extends AbstractForwardChainingInf
 			Value yyy = nt.getObject();
 
 			CloseableIteration<? extends Statement, SailException> t1Iter;
-			t1Iter = getWrappedConnection().getStatements(aaa, RDFS.SUBPROPERTYOF, null, true);
+			t1Iter = getPremises(aaa, RDFS.SUBPROPERTYOF, null);
 
 			while (t1Iter.hasNext()) {
 				Statement t1 = t1Iter.next();
@@ -610,7 +615,7 @@ class ForwardChainingRDFSInferencerConnection extends AbstractForwardChainingInf
 
 			if (aaa instanceof IRI && bbb instanceof IRI) {
 				CloseableIteration<? extends Statement, SailException> t1Iter;
-				t1Iter = getWrappedConnection().getStatements(null, (IRI) aaa, null, true);
+				t1Iter = getPremises(null, (IRI) aaa, null);
 
 				while (t1Iter.hasNext()) {
 					Statement t1 = t1Iter.next();
@@ -660,7 +665,7 @@ class ForwardChainingRDFSInferencerConnection extends AbstractForwardChainingInf
 
 			if (yyy instanceof Resource) {
 				CloseableIteration<? extends Statement, SailException> t1Iter;
-				t1Iter = getWrappedConnection().getStatements(null, RDF.TYPE, xxx, true);
+				t1Iter = getPremises(null, RDF.TYPE, xxx);
 
 				while (t1Iter.hasNext()) {
 					Statement t1 = t1Iter.next();
@@ -691,7 +696,7 @@ class ForwardChainingRDFSInferencerConnection extends AbstractForwardChainingInf
 
 			if (xxx instanceof Resource) {
 				CloseableIteration<? extends Statement, SailException> t1Iter;
-				t1Iter = getWrappedConnection().getStatements((Resource) xxx, RDFS.SUBCLASSOF, null, true);
+				t1Iter = getPremises((Resource) xxx, RDFS.SUBCLASSOF, null);
 
 				while (t1Iter.hasNext()) {
 					Statement t1 = t1Iter.next();
@@ -743,7 +748,7 @@ class ForwardChainingRDFSInferencerConnection extends AbstractForwardChainingInf
 
 			if (yyy instanceof Resource) {
 				CloseableIteration<? extends Statement, SailException> t1Iter;
-				t1Iter = getWrappedConnection().getStatements((Resource) yyy, RDFS.SUBCLASSOF, null, true);
+				t1Iter = getPremises((Resource) yyy, RDFS.SUBCLASSOF, null);
 
 				while (t1Iter.hasNext()) {
 					Statement t1 = t1Iter.next();
@@ -777,7 +782,7 @@ class ForwardChainingRDFSInferencerConnection extends AbstractForwardChainingInf
 
 			if (zzz instanceof Resource) {
 				CloseableIteration<? extends Statement, SailException> t1Iter;
-				t1Iter = getWrappedConnection().getStatements(null, RDFS.SUBCLASSOF, yyy, true);
+				t1Iter = getPremises(null, RDFS.SUBCLASSOF, yyy);
 
 				while (t1Iter.hasNext()) {
 					Statement t1 = t1Iter.next();
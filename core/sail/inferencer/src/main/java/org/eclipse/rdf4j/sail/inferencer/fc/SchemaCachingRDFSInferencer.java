@@ -526,6 +526,20 @@ public class SchemaCachingRDFSInferencer extends NotifyingSailWrapper {
 		return calculatedDomain.getOrDefault(predicate, Collections.emptySet());
 	}
 
+	/**
+	 * @return the properties that have a (calculated) range, grouped by the types in their range
+	 */
+	Map<Resource, Set<IRI>> resolvePropertiesByRangeType() {
+		Map<Resource, Set<IRI>> propertiesByRangeType = new HashMap<>();
+		calculatedRange.forEach((property, types) -> {
+			if (property.isIRI()) {
+				types.forEach(type -> propertiesByRangeType.computeIfAbsent(type, k -> new HashSet<>())
+						.add((IRI) property));
+			}
+		});
+		return propertiesByRangeType;
+	}
+
 	private void calculateSubClassOf(Collection<Statement> subClassOfStatements) {
 		logger.debug("Calculate rdfs:subClassOf inference map.");
 
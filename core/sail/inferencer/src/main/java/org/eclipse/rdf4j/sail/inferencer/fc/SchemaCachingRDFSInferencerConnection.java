@@ -12,7 +12,11 @@
 package org.eclipse.rdf4j.sail.inferencer.fc;
 
 import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
 
 import org.eclipse.rdf4j.common.iteration.CloseableIteration;
 import org.eclipse.rdf4j.common.transaction.IsolationLevel;
@@ -44,6 +48,12 @@ public class SchemaCachingRDFSInferencerConnection extends InferencerConnectionW
 	private static final Logger logger = LoggerFactory.getLogger(SchemaCachingRDFSInferencerConnection.class);
 	private static final Resource[] DEFAULT_CONTEXT = { null };
 
+	/**
+	 * The maximum number of removed statements in a single flush whose inferred statements are retracted incrementally.
+	 * Beyond this, recomputing all inferred statements is expected to be cheaper.
+	 */
+	private static final int MAX_INCREMENTALLY_REMOVED_STATEMENTS = 100_000;
+
 	private final SchemaCachingRDFSInferencer sail;
 
 	private final NotifyingSailConnection connection;
@@ -62,7 +72,24 @@ public class SchemaCachingRDFSInferencerConnection extends InferencerConnectionW
 	 * Predicates that determine if a statement changes the schema cache
 	 */
 	private final List<IRI> schemaPredicates = Arrays.asList(RDFS.SUBCLASSOF, RDFS.SUBPROPERTYOF, RDFS.RANGE,
-			RDFS.DOMAIN, RDF.TYPE);
+			RDFS.DOMAIN);
+
+	/**
+	 * Types that determine if an rdf:type statement changes the schema cache
+	 */
+	private final List<IRI> schemaTypes = Arrays.asList(RDF.PROPERTY, RDFS.CLASS, RDFS.DATATYPE,
+			RDFS.CONTAINERMEMBERSHIPPROPERTY);
+
+	/**
+	 * The statements that were removed since the last flush, or null if the inferred statements need to be recomputed
+	 * from scratch.
+	 */
+	private Set<Statement> removedStatements;
+
+	/**
+	 * true while inferred statements of removed statements are being retracted.
+	 */
+	private boolean retracting;
 
 	/**
 	 * true iff the schema was changed as part of the transaction.
@@ -144,6 +171,7 @@ public class SchemaCachingRDFSInferencerConnection extends InferencerConnectionW
 		statementsRemoved = false;
 		statementsAdded = false;
 		schemaChange = false;
+		removedStatements = null;
 
 		sail.releaseExclusiveWriteLock();
 	}
@@ -243,92 +271,101 @@ public class SchemaCachingRDFSInferencerConnection extends InferencerConnectionW
 				processForSchemaCache(sail.getValueFactory().createStatement(subject, predicate, object));
 			}
 
-			if (sail.useAllRdfsRules) {
-				addInferredStatementInternal(subject, RDF.TYPE, RDFS.RESOURCE, inferredContext);
+			inferStatements(subject, predicate, object, inferredContext, this::addInferredStatementInternal);
+		}
 
-				if (object instanceof Resource) {
-					addInferredStatementInternal((Resource) object, RDF.TYPE, RDFS.RESOURCE, inferredContext);
-				}
-			}
+		if (actuallyAdd) {
+			connection.addStatement(subject, predicate, object, context);
+		}
+	}
 
-			if (predicate.getNamespace().equals(RDF.NAMESPACE) && predicate.getLocalName().charAt(0) == '_') {
+	/**
+	 * Passes the statements that are inferred from the given statement, using the rules and the cached schema, to the
+	 * consumer.
+	 */
+	private void inferStatements(Resource subject, IRI predicate, Value object, Resource[] inferredContext,
+			InferredStatementConsumer consumer) throws SailException {
 
-				try {
-					int i = Integer.parseInt(predicate.getLocalName().substring(1));
-					if (i >= 1) {
-						addInferredStatementInternal(subject, RDFS.MEMBER, object, inferredContext);
-						addInferredStatementInternal(predicate, RDF.TYPE, RDFS.RESOURCE, inferredContext);
-						addInferredStatementInternal(predicate, RDF.TYPE, RDFS.CONTAINERMEMBERSHIPPROPERTY,
-								inferredContext);
-						addInferredStatementInternal(predicate, RDF.TYPE, RDF.PROPERTY, inferredContext);
-						addInferredStatementInternal(predicate, RDFS.SUBPROPERTYOF, predicate, inferredContext);
-						addInferredStatementInternal(predicate, RDFS.SUBPROPERTYOF, RDFS.MEMBER, inferredContext);
+		if (sail.useAllRdfsRules) {
+			consumer.accept(subject, RDF.TYPE, RDFS.RESOURCE, inferredContext);
 
-					}
-				} catch (NumberFormatException e) {
-					// Ignore exception.
+			if (object instanceof Resource) {
+				consumer.accept((Resource) object, RDF.TYPE, RDFS.RESOURCE, inferredContext);
+			}
+		}
 
-					// Means that the predicate started with rdf:_ but does not
-					// comply with the container membership format of rdf:_nnn
-					// and we can safely ignore this exception since it just means
-					// that we didn't need to infer anything about container membership
-				}
+		if (predicate.getNamespace().equals(RDF.NAMESPACE) && predicate.getLocalName().charAt(0) == '_') {
 
-			}
+			try {
+				int i = Integer.parseInt(predicate.getLocalName().substring(1));
+				if (i >= 1) {
+					consumer.accept(subject, RDFS.MEMBER, object, inferredContext);
+					consumer.accept(predicate, RDF.TYPE, RDFS.RESOURCE, inferredContext);
+					consumer.accept(predicate, RDF.TYPE, RDFS.CONTAINERMEMBERSHIPPROPERTY,
+							inferredContext);
+					consumer.accept(predicate, RDF.TYPE, RDF.PROPERTY, inferredContext);
+					consumer.accept(predicate, RDFS.SUBPROPERTYOF, predicate, inferredContext);
+					consumer.accept(predicate, RDFS.SUBPROPERTYOF, RDFS.MEMBER, inferredContext);
 
-			if (predicate.equals(RDF.TYPE)) {
-				if (!(object instanceof Resource)) {
-					throw new SailException("Expected object to a a Resource: " + object.toString());
 				}
+			} catch (NumberFormatException e) {
+				// Ignore exception.
 
-				sail.resolveTypes((Resource) object)
-						.stream()
-						.peek(inferredType -> {
-							if (sail.useAllRdfsRules && inferredType.equals(RDFS.CLASS)) {
-								addInferredStatementInternal(subject, RDFS.SUBCLASSOF, RDFS.RESOURCE, inferredContext);
-							}
-						})
-						.filter(inferredType -> !inferredType.equals(object))
-						.forEach(inferredType -> addInferredStatementInternal(subject, RDF.TYPE, inferredType,
-								inferredContext));
+				// Means that the predicate started with rdf:_ but does not
+				// comply with the container membership format of rdf:_nnn
+				// and we can safely ignore this exception since it just means
+				// that we didn't need to infer anything about container membership
 			}
 
-			sail.resolveProperties(predicate)
-					.stream()
-					.filter(inferredProperty -> !inferredProperty.equals(predicate))
-					.filter(inferredPropery -> inferredPropery instanceof IRI)
-					.map(inferredPropery -> ((IRI) inferredPropery))
-					.forEach(inferredProperty -> addInferredStatementInternal(subject, inferredProperty, object,
-							inferredContext));
+		}
 
-			if (object instanceof Resource) {
-				sail.resolveRangeTypes(predicate)
-						.stream()
-						.peek(inferredType -> {
-							if (sail.useAllRdfsRules && inferredType.equals(RDFS.CLASS)) {
-								addInferredStatementInternal(((Resource) object), RDFS.SUBCLASSOF, RDFS.RESOURCE,
-										inferredContext);
-							}
-						})
-						.forEach(inferredType -> addInferredStatementInternal(((Resource) object), RDF.TYPE,
-								inferredType, inferredContext));
+		if (predicate.equals(RDF.TYPE)) {
+			if (!(object instanceof Resource)) {
+				throw new SailException("Expected object to a a Resource: " + object.toString());
 			}
 
-			sail.resolveDomainTypes(predicate)
+			sail.resolveTypes((Resource) object)
 					.stream()
 					.peek(inferredType -> {
 						if (sail.useAllRdfsRules && inferredType.equals(RDFS.CLASS)) {
-							addInferredStatementInternal(subject, RDFS.SUBCLASSOF, RDFS.RESOURCE, inferredContext);
+							consumer.accept(subject, RDFS.SUBCLASSOF, RDFS.RESOURCE, inferredContext);
 						}
 					})
-					.forEach(inferredType -> addInferredStatementInternal((subject), RDF.TYPE, inferredType,
+					.filter(inferredType -> !inferredType.equals(object))
+					.forEach(inferredType -> consumer.accept(subject, RDF.TYPE, inferredType,
 							inferredContext));
-
 		}
 
-		if (actuallyAdd) {
-			connection.addStatement(subject, predicate, object, context);
+		sail.resolveProperties(predicate)
+				.stream()
+				.filter(inferredProperty -> !inferredProperty.equals(predicate))
+				.filter(inferredPropery -> inferredPropery instanceof IRI)
+				.map(inferredPropery -> ((IRI) inferredPropery))
+				.forEach(inferredProperty -> consumer.accept(subject, inferredProperty, object,
+						inferredContext));
+
+		if (object instanceof Resource) {
+			sail.resolveRangeTypes(predicate)
+					.stream()
+					.peek(inferredType -> {
+						if (sail.useAllRdfsRules && inferredType.equals(RDFS.CLASS)) {
+							consumer.accept(((Resource) object), RDFS.SUBCLASSOF, RDFS.RESOURCE,
+									inferredContext);
+						}
+					})
+					.forEach(inferredType -> consumer.accept(((Resource) object), RDF.TYPE,
+							inferredType, inferredContext));
 		}
+
+		sail.resolveDomainTypes(predicate)
+				.stream()
+				.peek(inferredType -> {
+					if (sail.useAllRdfsRules && inferredType.equals(RDFS.CLASS)) {
+						consumer.accept(subject, RDFS.SUBCLASSOF, RDFS.RESOURCE, inferredContext);
+					}
+				})
+				.forEach(inferredType -> consumer.accept((subject), RDF.TYPE, inferredType,
+						inferredContext));
 	}
 
 	void addAxiomStatements() {
@@ -921,6 +958,7 @@ public class SchemaCachingRDFSInferencerConnection extends InferencerConnectionW
 		statementsRemoved = false;
 		statementsAdded = false;
 		schemaChange = false;
+		removedStatements = null;
 
 		sail.releaseExclusiveWriteLock();
 	}
@@ -951,8 +989,15 @@ public class SchemaCachingRDFSInferencerConnection extends InferencerConnectionW
 	@Override
 	public void flushUpdates() throws SailException {
 		logger.debug("Flush updates");
-		if (statementsRemoved) {
+		if (statementsRemoved && removedStatements != null && canRetractIncrementally()) {
+			logger.debug("retracting the inferred statements of {} removed statements", removedStatements.size());
+			retractInferredStatements(removedStatements);
+			super.flushUpdates();
+			doInferencing();
+		} else if (statementsRemoved) {
 			logger.debug("full recomputation needed, starting inferencing from scratch");
+
+			removedStatements = null;
 			clearInferred();
 			super.flushUpdates();
 
@@ -969,6 +1014,180 @@ public class SchemaCachingRDFSInferencerConnection extends InferencerConnectionW
 
 		statementsAdded = false;
 		statementsRemoved = false;
+		removedStatements = null;
+	}
+
+	/**
+	 * Removed statements can be handled incrementally as long as the schema cache does not change. Besides removed
+	 * schema statements, this is the case if a removed statement was the last one to use a predicate or type, since
+	 * these are part of the schema cache too.
+	 */
+	private boolean canRetractIncrementally() throws SailException {
+		if (schemaChange || sail.useInferredToCreateSchema) {
+			return false;
+		}
+		super.flushUpdates();
+		if (sail.usesPredefinedSchema()) {
+			return true;
+		}
+
+		Set<IRI> predicates = new HashSet<>();
+		Set<Value> types = new HashSet<>();
+		for (Statement st : removedStatements) {
+			if (predicates.add(st.getPredicate())
+					&& !connection.hasStatement(null, st.getPredicate(), null, false)) {
+				return false;
+			}
+			if (st.getPredicate().equals(RDF.TYPE) && types.add(st.getObject())
+					&& !connection.hasStatement(null, RDF.TYPE, st.getObject(), false)) {
+				return false;
+			}
+		}
+		return true;
+	}
+
+	/**
+	 * Delete and rederive: the statements that were inferred from the removed statements are retracted, unless they can
+	 * still be inferred from the remaining explicit statements. Inferred statements are never used to infer other
+	 * statements, since the cached schema is already closed, so a single step suffices.
+	 */
+	private void retractInferredStatements(Set<Statement> removed) throws SailException {
+		ValueFactory vf = sail.getValueFactory();
+		Set<Statement> candidates = new HashSet<>();
+		for (Statement st : removed) {
+			inferStatements(st.getSubject(), st.getPredicate(), st.getObject(), getInferredContext(st.getContext()),
+					(subj, pred, obj, contexts) -> {
+						for (Resource context : contexts.length == 0 ? DEFAULT_CONTEXT : contexts) {
+							candidates.add(vf.createStatement(subj, pred, obj, context));
+						}
+					});
+		}
+
+		Map<Resource, Set<IRI>> propertiesByRangeType = sail.resolvePropertiesByRangeType();
+		boolean axiomsRetracted = false;
+		retracting = true;
+		try {
+			for (Statement candidate : candidates) {
+				if (!removed.contains(candidate) && !isInferable(candidate, propertiesByRangeType)) {
+					super.removeInferredStatement(candidate.getSubject(), candidate.getPredicate(),
+							candidate.getObject(), candidate.getContext());
+					axiomsRetracted |= candidate.getContext() == null && isVocabulary(candidate.getSubject());
+				}
+			}
+		} finally {
+			retracting = false;
+		}
+
+		// removed statements might still be inferable themselves
+		for (Statement st : removed) {
+			if (isInferable(st, propertiesByRangeType)) {
+				addInferredStatementInternal(st.getSubject(), st.getPredicate(), st.getObject(), st.getContext());
+			}
+		}
+
+		if (axiomsRetracted) {
+			// the axioms are already part of the schema cache
+			boolean schemaChange = this.schemaChange;
+			addAxiomStatements();
+			this.schemaChange = schemaChange;
+		}
+	}
+
+	/**
+	 * Checks if the statement can be inferred from the current explicit statements, or is part of the schema cache.
+	 * This mirrors the rules in {@link #inferStatements(Resource, IRI, Value, Resource[], InferredStatementConsumer)}.
+	 */
+	private boolean isInferable(Statement statement, Map<Resource, Set<IRI>> propertiesByRangeType)
+			throws SailException {
+		Resource subject = statement.getSubject();
+		IRI predicate = statement.getPredicate();
+		Value object = statement.getObject();
+		Resource[] contexts;
+		if (sail.isAddInferredStatementsToDefaultContext()) {
+			if (statement.getContext() != null) {
+				return false;
+			}
+			contexts = new Resource[0];
+		} else {
+			contexts = new Resource[] { statement.getContext() };
+		}
+
+		// statements that are added when the schema cache is calculated
+		if (statement.getContext() == null) {
+			if (predicate.equals(RDFS.SUBCLASSOF) && sail.resolveTypes(subject).contains(object)
+					|| predicate.equals(RDFS.SUBPROPERTYOF) && sail.resolveProperties(subject).contains(object)
+					|| predicate.equals(RDF.TYPE) && object.equals(RDF.PROPERTY) && sail.hasProperty(subject)) {
+				return true;
+			}
+		}
+
+		// statements inferred about the subject of an explicit statement
+		try (CloseableIteration<? extends Statement, SailException> statements = connection.getStatements(subject,
+				null, null, false, contexts)) {
+			while (statements.hasNext()) {
+				if (infers(statements.next(), statement)) {
+					return true;
+				}
+			}
+		}
+
+		// statements inferred about the object of an explicit statement
+		if (sail.useAllRdfsRules && predicate.equals(RDF.TYPE) && object.equals(RDFS.RESOURCE)
+				&& connection.hasStatement(null, null, subject, false, contexts)) {
+			return true;
+		}
+		Resource rangeType;
+		if (predicate.equals(RDF.TYPE) && object.isResource()) {
+			rangeType = (Resource) object;
+		} else if (sail.useAllRdfsRules && predicate.equals(RDFS.SUBCLASSOF) && object.equals(RDFS.RESOURCE)) {
+			rangeType = RDFS.CLASS;
+		} else {
+			rangeType = null;
+		}
+		if (rangeType != null) {
+			for (IRI property : propertiesByRangeType.getOrDefault(rangeType, Collections.emptySet())) {
+				if (connection.hasStatement(null, property, subject, false, contexts)) {
+					return true;
+				}
+			}
+		}
+
+		// statements inferred about a container membership property
+		if (subject.isIRI() && ((IRI) subject).getNamespace().equals(RDF.NAMESPACE)) {
+			try (CloseableIteration<? extends Statement, SailException> statements = connection.getStatements(null,
+					(IRI) subject, null, false, contexts)) {
+				if (statements.hasNext() && infers(statements.next(), statement)) {
+					return true;
+				}
+			}
+		}
+
+		return false;
+	}
+
+	private boolean infers(Statement premise, Statement statement) throws SailException {
+		boolean[] inferred = { false };
+		inferStatements(premise.getSubject(), premise.getPredicate(), premise.getObject(),
+				getInferredContext(premise.getContext()), (subj, pred, obj, contexts) -> {
+					if (!inferred[0] && subj.equals(statement.getSubject()) && pred.equals(statement.getPredicate())
+							&& obj.equals(statement.getObject())) {
+						inferred[0] = contexts.length == 0 ? statement.getContext() == null
+								: Arrays.asList(contexts).contains(statement.getContext());
+					}
+				});
+		return inferred[0];
+	}
+
+	private Resource[] getInferredContext(Resource context) {
+		if (sail.isAddInferredStatementsToDefaultContext() || context == null) {
+			return DEFAULT_CONTEXT;
+		}
+		return new Resource[] { context };
+	}
+
+	private static boolean isVocabulary(Resource resource) {
+		return resource.isIRI() && (((IRI) resource).getNamespace().equals(RDF.NAMESPACE)
+				|| ((IRI) resource).getNamespace().equals(RDFS.NAMESPACE));
 	}
 
 	// Called by base sail
@@ -980,14 +1199,32 @@ public class SchemaCachingRDFSInferencerConnection extends InferencerConnectionW
 	// Called by base sail
 	@Override
 	public void statementRemoved(Statement st) {
-		statementsRemoved = true;
+		if (retracting) {
+			return;
+		}
+		if (!statementsRemoved) {
+			statementsRemoved = true;
+			removedStatements = new HashSet<>();
+		}
 		if (!schemaChange && isSchemaStatement(st)) {
 			schemaChange = true;
 		}
+		if (removedStatements != null) {
+			if (schemaChange || removedStatements.size() >= MAX_INCREMENTALLY_REMOVED_STATEMENTS) {
+				// starting from scratch anyway
+				removedStatements = null;
+			} else {
+				removedStatements.add(st);
+			}
+		}
 	}
 
 	private boolean isSchemaStatement(Statement st) {
 		final IRI predicate = st.getPredicate();
+		if (predicate.equals(RDF.TYPE)) {
+			// other types are only part of the schema cache as long as they are used, see canRetractIncrementally()
+			return schemaTypes.contains(st.getObject());
+		}
 		return schemaPredicates.contains(predicate);
 	}
 
@@ -998,4 +1235,9 @@ public class SchemaCachingRDFSInferencerConnection extends InferencerConnectionW
 		addStatement(false, subj, pred, obj, contexts);
 		super.addStatement(modify, subj, pred, obj, contexts);
 	}
+
+	@FunctionalInterface
+	private interface InferredStatementConsumer {
+		void accept(Resource subj, IRI pred, Value obj, Resource... contexts) throws SailException;
+	}
 }
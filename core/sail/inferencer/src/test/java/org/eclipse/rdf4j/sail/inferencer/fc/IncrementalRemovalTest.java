@@ -0,0 +1,216 @@
+/*******************************************************************************
+ * Copyright (c) 2023 Eclipse RDF4J contributors.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Distribution License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/org/documents/edl-v10.php.
+ *
+ * SPDX-License-Identifier: BSD-3-Clause
+ *******************************************************************************/
+package org.eclipse.rdf4j.sail.inferencer.fc;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+import java.util.function.Supplier;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import org.eclipse.rdf4j.model.IRI;
+import org.eclipse.rdf4j.model.Resource;
+import org.eclipse.rdf4j.model.Statement;
+import org.eclipse.rdf4j.model.ValueFactory;
+import org.eclipse.rdf4j.model.impl.SimpleValueFactory;
+import org.eclipse.rdf4j.model.vocabulary.RDF;
+import org.eclipse.rdf4j.model.vocabulary.RDFS;
+import org.eclipse.rdf4j.sail.NotifyingSail;
+import org.eclipse.rdf4j.sail.SailConnection;
+import org.eclipse.rdf4j.sail.memory.MemoryStore;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.Arguments;
+import org.junit.jupiter.params.provider.MethodSource;
+
+/**
+ * Tests that the inferred statements after removing statements are the same as the inferred statements of a new store
+ * with the remaining statements.
+ */
+public class IncrementalRemovalTest {
+
+	private static final String NS = "http://example.org/";
+
+	private static final ValueFactory vf = SimpleValueFactory.getInstance();
+
+	@SuppressWarnings("deprecation")
+	static Stream<Arguments> inferencers() {
+		Supplier<NotifyingSail> schemaCaching = () -> new SchemaCachingRDFSInferencer(new MemoryStore());
+		Supplier<NotifyingSail> defaultContext = () -> {
+			SchemaCachingRDFSInferencer sail = new SchemaCachingRDFSInferencer(new MemoryStore());
+			sail.setAddInferredStatementsToDefaultContext(true);
+			return sail;
+		};
+		Supplier<NotifyingSail> fewerRules = () -> new SchemaCachingRDFSInferencer(new MemoryStore(), false);
+		Supplier<NotifyingSail> forwardChaining = () -> new ForwardChainingRDFSInferencer(new MemoryStore());
+		return Stream.of(Arguments.of("SchemaCachingRDFSInferencer", schemaCaching),
+				Arguments.of("SchemaCachingRDFSInferencer with inferred statements in the default context",
+						defaultContext),
+				Arguments.of("SchemaCachingRDFSInferencer without all RDFS rules", fewerRules),
+				Arguments.of("ForwardChainingRDFSInferencer", forwardChaining));
+	}
+
+	@ParameterizedTest(name = "{0}")
+	@MethodSource("inferencers")
+	public void testRemoveInstanceStatements(String name, Supplier<NotifyingSail> sailFactory) {
+		List<Statement> statements = createStatements();
+		NotifyingSail sail = createSail(sailFactory);
+		try (SailConnection connection = sail.getConnection()) {
+			connection.begin();
+			statements.forEach(st -> connection.addStatement(st.getSubject(), st.getPredicate(), st.getObject(),
+					st.getContext()));
+			connection.commit();
+
+			Random random = new Random(42);
+			for (int i = 0; i < 10; i++) {
+				connection.begin();
+				for (int j = 0; j < 5; j++) {
+					Statement st = statements.remove(random.nextInt(statements.size()));
+					connection.removeStatements(st.getSubject(), st.getPredicate(), st.getObject(), st.getContext());
+				}
+				if (i % 3 == 0) {
+					// the same statement in another context
+					Statement st = statements.get(random.nextInt(statements.size()));
+					Statement copy = vf.createStatement(st.getSubject(), st.getPredicate(), st.getObject(),
+							vf.createIRI(NS, "otherGraph"));
+					connection.addStatement(copy.getSubject(), copy.getPredicate(), copy.getObject(),
+							copy.getContext());
+					statements.add(copy);
+				}
+				connection.commit();
+
+				assertThat(getStatements(connection)).as("after removal " + i)
+						.containsExactlyInAnyOrderElementsOf(getExpectedStatements(sailFactory, statements));
+			}
+		} finally {
+			sail.shutDown();
+		}
+	}
+
+	@ParameterizedTest(name = "{0}")
+	@MethodSource("inferencers")
+	public void testRemoveAndAddInTransaction(String name, Supplier<NotifyingSail> sailFactory) {
+		List<Statement> statements = createStatements();
+		NotifyingSail sail = createSail(sailFactory);
+		try (SailConnection connection = sail.getConnection()) {
+			connection.begin();
+			statements.forEach(st -> connection.addStatement(st.getSubject(), st.getPredicate(), st.getObject(),
+					st.getContext()));
+			connection.commit();
+
+			connection.begin();
+			Statement removed = statements.remove(statements.size() - 1);
+			connection.removeStatements(removed.getSubject(), removed.getPredicate(), removed.getObject(),
+					removed.getContext());
+			IRI person = vf.createIRI(NS, "newPerson");
+			connection.addStatement(person, vf.createIRI(NS, "knows"), vf.createIRI(NS, "person1"));
+			statements.add(vf.createStatement(person, vf.createIRI(NS, "knows"), vf.createIRI(NS, "person1")));
+			// read the inferred statements within the transaction
+			assertThat(connection.hasStatement(person, RDF.TYPE, vf.createIRI(NS, "Agent"), true)).isTrue();
+			Statement another = statements.remove(statements.size() - 3);
+			connection.removeStatements(another.getSubject(), another.getPredicate(), another.getObject(),
+					another.getContext());
+			connection.commit();
+
+			assertThat(getStatements(connection))
+					.containsExactlyInAnyOrderElementsOf(getExpectedStatements(sailFactory, statements));
+		} finally {
+			sail.shutDown();
+		}
+	}
+
+	@ParameterizedTest(name = "{0}")
+	@MethodSource("inferencers")
+	public void testRemoveSchemaStatement(String name, Supplier<NotifyingSail> sailFactory) {
+		List<Statement> statements = createStatements();
+		NotifyingSail sail = createSail(sailFactory);
+		try (SailConnection connection = sail.getConnection()) {
+			connection.begin();
+			statements.forEach(st -> connection.addStatement(st.getSubject(), st.getPredicate(), st.getObject(),
+					st.getContext()));
+			connection.commit();
+
+			Statement subClassOf = vf.createStatement(vf.createIRI(NS, "Person"), RDFS.SUBCLASSOF,
+					vf.createIRI(NS, "Agent"));
+			statements.remove(subClassOf);
+			connection.begin();
+			connection.removeStatements(subClassOf.getSubject(), subClassOf.getPredicate(), subClassOf.getObject());
+			connection.commit();
+
+			assertThat(getStatements(connection))
+					.containsExactlyInAnyOrderElementsOf(getExpectedStatements(sailFactory, statements));
+		} finally {
+			sail.shutDown();
+		}
+	}
+
+	private static NotifyingSail createSail(Supplier<NotifyingSail> sailFactory) {
+		NotifyingSail sail = sailFactory.get();
+		sail.init();
+		return sail;
+	}
+
+	private static List<Statement> createStatements() {
+		List<Statement> statements = new ArrayList<>();
+		IRI person = vf.createIRI(NS, "Person");
+		IRI agent = vf.createIRI(NS, "Agent");
+		IRI document = vf.createIRI(NS, "Document");
+		IRI knows = vf.createIRI(NS, "knows");
+		IRI related = vf.createIRI(NS, "related");
+		IRI author = vf.createIRI(NS, "author");
+		IRI name = vf.createIRI(NS, "name");
+		statements.add(vf.createStatement(person, RDFS.SUBCLASSOF, agent));
+		statements.add(vf.createStatement(knows, RDFS.SUBPROPERTYOF, related));
+		statements.add(vf.createStatement(knows, RDFS.DOMAIN, person));
+		statements.add(vf.createStatement(knows, RDFS.RANGE, agent));
+		statements.add(vf.createStatement(author, RDFS.RANGE, person));
+		statements.add(vf.createStatement(author, RDFS.DOMAIN, document));
+
+		for (int i = 0; i < 20; i++) {
+			IRI subject = vf.createIRI(NS, "person" + i);
+			Resource context = i % 4 == 0 ? null : vf.createIRI(NS, "graph" + i % 3);
+			statements.add(vf.createStatement(subject, RDF.TYPE, i % 5 == 0 ? agent : person, context));
+			statements.add(vf.createStatement(subject, knows, vf.createIRI(NS, "person" + (i * 7) % 20), context));
+			statements.add(vf.createStatement(subject, name, vf.createLiteral("name " + i), context));
+			if (i % 3 == 0) {
+				IRI doc = vf.createIRI(NS, "document" + i);
+				statements.add(vf.createStatement(doc, author, subject, context));
+				statements.add(vf.createStatement(doc, RDF.TYPE, vf.createIRI(NS, "Doc" + i % 2), context));
+				statements.add(vf.createStatement(doc, vf.createIRI(RDF.NAMESPACE, "_" + (i % 2 + 1)), subject,
+						context));
+			}
+		}
+		return statements;
+	}
+
+	private static Set<Statement> getStatements(SailConnection connection) {
+		try (Stream<? extends Statement> stream = connection.getStatements(null, null, null, true).stream()) {
+			return stream.collect(Collectors.toSet());
+		}
+	}
+
+	private static Set<Statement> getExpectedStatements(Supplier<NotifyingSail> sailFactory,
+			List<Statement> statements) {
+		NotifyingSail sail = createSail(sailFactory);
+		try (SailConnection connection = sail.getConnection()) {
+			connection.begin();
+			statements.forEach(st -> connection.addStatement(st.getSubject(), st.getPredicate(), st.getObject(),
+					st.getContext()));
+			connection.commit();
+			return getStatements(connection);
+		} finally {
+			sail.shutDown();
+		}
+	}
+}
@@ -13,10 +13,15 @@ package org.eclipse.rdf4j.sail.lmdb;
 import java.io.File;
 import java.io.IOException;
 import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.EnumSet;
+import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Map.Entry;
 import java.util.Objects;
+import java.util.Set;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Executors;
 import java.util.concurrent.atomic.AtomicBoolean;
@@ -35,9 +40,11 @@ import org.eclipse.rdf4j.model.Resource;
 import org.eclipse.rdf4j.model.Statement;
 import org.eclipse.rdf4j.model.Value;
 import org.eclipse.rdf4j.model.ValueFactory;
+import org.eclipse.rdf4j.query.algebra.evaluation.StatementOrder;
 import org.eclipse.rdf4j.query.algebra.evaluation.impl.EvaluationStatistics;
 import org.eclipse.rdf4j.sail.SailException;
 import org.eclipse.rdf4j.sail.base.BackingSailSource;
+import org.eclipse.rdf4j.sail.base.OrderedUnionIteration;
 import org.eclipse.rdf4j.sail.base.SailDataset;
 import org.eclipse.rdf4j.sail.base.SailSink;
 import org.eclipse.rdf4j.sail.base.SailSource;
@@ -59,6 +66,11 @@ class LmdbSailStore implements SailStore {
 
 	private final ValueStore valueStore;
 
+	/**
+	 * Compares values by their IDs, which is the order of the statements of the ordered statement iterators.
+	 */
+	private final Comparator<Value> comparator = Comparator.nullsFirst(Comparator.comparingLong(this::getOrderID));
+
 	private final ExecutorService tripleStoreExecutor = Executors.newCachedThreadPool();
 	private final CircularBuffer<Operation> opQueue = new CircularBuffer<>(1024);
 	private volatile Throwable tripleStoreException;
@@ -304,6 +316,85 @@ class LmdbSailStore implements SailStore {
 		};
 	}
 
+	/**
+	 * Starts a bulk load of explicit statements, see {@link TripleStore.BulkLoad}.
+	 */
+	TripleStore.BulkLoad startBulkLoad(int maxStatementsInMemory) {
+		return tripleStore.startBulkLoad(maxStatementsInMemory);
+	}
+
+	/**
+	 * Stores the values of a batch of statements in a single value store transaction and adds the statements to the
+	 * bulk load. Each distinct value of the batch is only looked up once. Must not be called while a transaction is
+	 * active.
+	 */
+	void addBulkLoadStatements(TripleStore.BulkLoad bulkLoad, List<Statement> statements) throws SailException {
+		sinkStoreAccessLock.lock();
+		try {
+			if (storeTxnStarted.get()) {
+				throw new SailException("Bulk load can not add statements while a transaction is active");
+			}
+
+			Map<Value, Long> ids = new HashMap<>();
+			valueStore.startTransaction();
+			boolean committed = false;
+			try {
+				for (Statement st : statements) {
+					ids.computeIfAbsent(st.getSubject(), k -> -1L);
+					ids.computeIfAbsent(st.getPredicate(), k -> -1L);
+					ids.computeIfAbsent(st.getObject(), k -> -1L);
+					if (st.getContext() != null) {
+						ids.computeIfAbsent(st.getContext(), k -> -1L);
+					}
+				}
+				for (Entry<Value, Long> entry : ids.entrySet()) {
+					entry.setValue(valueStore.storeValue(entry.getKey()));
+				}
+				valueStore.commit();
+				committed = true;
+			} finally {
+				if (!committed) {
+					valueStore.rollback();
+				}
+			}
+
+			for (Statement st : statements) {
+				long contextID = st.getContext() == null ? 0 : ids.get(st.getContext());
+				bulkLoad.add(ids.get(st.getSubject()), ids.get(st.getPredicate()), ids.get(st.getObject()),
+						contextID);
+			}
+		} catch (IOException e) {
+			throw new SailException(e);
+		} finally {
+			sinkStoreAccessLock.unlock();
+		}
+	}
+
+	/**
+	 * Commits a bulk load and adds the new statements to the context index. Must not be called while a transaction is
+	 * active.
+	 */
+	void commitBulkLoad(TripleStore.BulkLoad bulkLoad) throws SailException {
+		sinkStoreAccessLock.lock();
+		try {
+			if (storeTxnStarted.get()) {
+				throw new SailException("Bulk load can not be committed while a transaction is active");
+			}
+
+			Map<Long, Long> perContextCounts = bulkLoad.commit();
+			for (Entry<Long, Long> entry : perContextCounts.entrySet()) {
+				if (entry.getKey() > 0) {
+					contextStore.incrementBy((Resource) valueStore.getValue(entry.getKey()), entry.getValue());
+				}
+			}
+			contextStore.sync();
+		} catch (IOException e) {
+			throw new SailException(e);
+		} finally {
+			sinkStoreAccessLock.unlock();
+		}
+	}
+
 	/**
 	 * Creates a statement iterator based on the supplied pattern.
 	 *
@@ -316,6 +407,18 @@ class LmdbSailStore implements SailStore {
 	 */
 	CloseableIteration<? extends Statement, SailException> createStatementIterator(
 			Txn txn, Resource subj, IRI pred, Value obj, boolean explicit, Resource... contexts) throws IOException {
+		return createStatementIterator(txn, null, subj, pred, obj, explicit, contexts);
+	}
+
+	/**
+	 * Creates a statement iterator based on the supplied pattern, that returns the statements in the specified order of
+	 * the IDs of their values.
+	 *
+	 * @param order The order of the statements, or <tt>null</tt> if the statements are not ordered.
+	 */
+	private CloseableIteration<? extends Statement, SailException> createStatementIterator(Txn txn,
+			StatementOrder order, Resource subj, IRI pred, Value obj, boolean explicit, Resource... contexts)
+			throws IOException {
 		long subjID = LmdbValue.UNKNOWN_ID;
 		if (subj != null) {
 			subjID = valueStore.getId(subj);
@@ -361,14 +464,94 @@ class LmdbSailStore implements SailStore {
 		ArrayList<LmdbStatementIterator> perContextIterList = new ArrayList<>(contextIDList.size());
 
 		for (long contextID : contextIDList) {
-			RecordIterator records = tripleStore.getTriples(txn, subjID, predID, objID, contextID, explicit);
+			RecordIterator records;
+			if (order == null) {
+				records = tripleStore.getTriples(txn, subjID, predID, objID, contextID, explicit);
+			} else {
+				records = tripleStore.getTriples(txn, subjID, predID, objID, contextID, explicit, getField(order));
+			}
 			perContextIterList.add(new LmdbStatementIterator(records, valueStore));
 		}
 
 		if (perContextIterList.size() == 1) {
 			return perContextIterList.get(0);
-		} else {
+		} else if (order == null) {
 			return new UnionIteration<>(perContextIterList);
+		} else {
+			return new OrderedUnionIteration<Statement, SailException>(
+					(st1, st2) -> comparator.compare(order.getValue(st1), order.getValue(st2)), perContextIterList);
+		}
+	}
+
+	/**
+	 * Returns the orders in which the statements that match the supplied pattern can be returned by
+	 * {@link #createStatementIterator(Txn, StatementOrder, Resource, IRI, Value, boolean, Resource...)}.
+	 */
+	Set<StatementOrder> getSupportedOrders(Resource subj, IRI pred, Value obj, Resource... contexts)
+			throws IOException {
+		long subjID = subj == null ? LmdbValue.UNKNOWN_ID : valueStore.getId(subj);
+		long predID = pred == null ? LmdbValue.UNKNOWN_ID : valueStore.getId(pred);
+		long objID = obj == null ? LmdbValue.UNKNOWN_ID : valueStore.getId(obj);
+		if (subj != null && subjID == LmdbValue.UNKNOWN_ID || pred != null && predID == LmdbValue.UNKNOWN_ID
+				|| obj != null && objID == LmdbValue.UNKNOWN_ID) {
+			// no statements match the pattern
+			return Collections.emptySet();
+		}
+
+		List<Long> contextIDList = new ArrayList<>(contexts.length);
+		if (contexts.length == 0) {
+			contextIDList.add(LmdbValue.UNKNOWN_ID);
+		} else {
+			for (Resource context : contexts) {
+				if (context == null) {
+					contextIDList.add(0L);
+				} else if (!context.isTriple()) {
+					long contextID = valueStore.getId(context);
+					if (contextID != LmdbValue.UNKNOWN_ID) {
+						contextIDList.add(contextID);
+					}
+				}
+			}
+		}
+
+		Set<StatementOrder> orders = EnumSet.noneOf(StatementOrder.class);
+		for (StatementOrder order : StatementOrder.values()) {
+			boolean supported = true;
+			for (long contextID : contextIDList) {
+				supported &= tripleStore.isOrderSupported(subjID, predID, objID, contextID, getField(order));
+			}
+			if (supported) {
+				orders.add(order);
+			}
+		}
+		return orders;
+	}
+
+	private static char getField(StatementOrder order) {
+		switch (order) {
+		case S:
+			return 's';
+		case P:
+			return 'p';
+		case O:
+			return 'o';
+		case C:
+			return 'c';
+		default:
+			throw new IllegalArgumentException("Unknown order: " + order);
+		}
+	}
+
+	/**
+	 * @return the ID of the value, or {@link Long#MAX_VALUE} for values that are not in the store, which are never
+	 *         returned by ordered statement iterators
+	 */
+	private long getOrderID(Value value) {
+		try {
+			long id = valueStore.getId(value);
+			return id == LmdbValue.UNKNOWN_ID ? Long.MAX_VALUE : id;
+		} catch (IOException e) {
+			throw new SailException(e);
 		}
 	}
 
@@ -808,6 +991,30 @@ class LmdbSailStore implements SailStore {
 				throw new SailException("Unable to get statements", e);
 			}
 		}
+
+		@Override
+		public Set<StatementOrder> getSupportedOrders(Resource subj, IRI pred, Value obj, Resource... contexts) {
+			try {
+				return LmdbSailStore.this.getSupportedOrders(subj, pred, obj, contexts);
+			} catch (IOException e) {
+				throw new SailException("Unable to get supported orders", e);
+			}
+		}
+
+		@Override
+		public CloseableIteration<? extends Statement, SailException> getOrderedStatements(StatementOrder order,
+				Resource subj, IRI pred, Value obj, Resource... contexts) throws SailException {
+			try {
+				return createStatementIterator(txn, order, subj, pred, obj, explicit, contexts);
+			} catch (IOException e) {
+				throw new SailException("Unable to get statements", e);
+			}
+		}
+
+		@Override
+		public Comparator<Value> getComparator() {
+			return comparator;
+		}
 	}
 
 }
@@ -22,6 +22,7 @@ import java.util.function.Supplier;
 import org.apache.commons.io.FileUtils;
 import org.eclipse.rdf4j.collection.factory.api.CollectionFactory;
 import org.eclipse.rdf4j.collection.factory.mapdb.MapDbCollectionFactory;
+import org.eclipse.rdf4j.collection.factory.offheap.OffHeapCollectionFactory;
 import org.eclipse.rdf4j.common.annotation.Experimental;
 import org.eclipse.rdf4j.common.concurrent.locks.Lock;
 import org.eclipse.rdf4j.common.concurrent.locks.LockManager;
@@ -57,6 +58,14 @@ public class LmdbStore extends AbstractNotifyingSail implements FederatedService
 
 	private static final Logger logger = LoggerFactory.getLogger(LmdbStore.class);
 
+	/**
+	 * The name of the system property that makes queries keep the values of the store in collections by their IDs in
+	 * off-heap memory, instead of on the heap. See {@link OffHeapCollectionFactory}. It is read when the store is
+	 * initialized.
+	 */
+	@Experimental
+	public static final String OFF_HEAP_COLLECTIONS_PROPERTY = "org.eclipse.rdf4j.sail.lmdb.LmdbStore.offHeapCollections";
+
 	/*-----------*
 	 * Variables *
 	 *-----------*/
@@ -72,6 +81,9 @@ public class LmdbStore extends AbstractNotifyingSail implements FederatedService
 
 	private LmdbSailStore backingStore;
 
+	// the value of OFF_HEAP_COLLECTIONS_PROPERTY when the store was initialized
+	private volatile boolean offHeapCollections;
+
 	// used to decide if store is writable, is true if the store was writable during initialization
 	private boolean isWritable;
 
@@ -131,6 +143,7 @@ public class LmdbStore extends AbstractNotifyingSail implements FederatedService
 				IsolationLevels.SNAPSHOT, IsolationLevels.SERIALIZABLE);
 		setDefaultIsolationLevel(IsolationLevels.SNAPSHOT_READ);
 		config.getDefaultQueryEvaluationMode().ifPresent(this::setDefaultQueryEvaluationMode);
+		config.getDefaultQueryEvaluationParallelism().ifPresent(this::setDefaultQueryEvaluationParallelism);
 		EvaluationStrategyFactory evalStrategyFactory = config.getEvaluationStrategyFactory();
 		if (evalStrategyFactory != null) {
 			setEvaluationStrategyFactory(evalStrategyFactory);
@@ -242,6 +255,8 @@ public class LmdbStore extends AbstractNotifyingSail implements FederatedService
 
 		logger.debug("Data dir is " + dataDir);
 
+		offHeapCollections = Boolean.getBoolean(OFF_HEAP_COLLECTIONS_PROPERTY);
+
 		try {
 			File versionFile = new File(dataDir, "lmdbrdf.ver");
 			String version = versionFile.exists() ? FileUtils.readFileToString(versionFile, StandardCharsets.UTF_8)
@@ -397,6 +412,53 @@ public class LmdbStore extends AbstractNotifyingSail implements FederatedService
 		return backingStore;
 	}
 
+	/**
+	 * Creates a loader that adds a large number of statements to this store with less work than transactions do, by
+	 * inserting the statements into each triple index in sorted order. The store must have been initialized.
+	 *
+	 * @return a new bulk loader that must be closed after use.
+	 * @see LmdbBulkLoader
+	 */
+	@Experimental
+	public LmdbBulkLoader createBulkLoader() throws SailException {
+		return createBulkLoader(LmdbBulkLoader.DEFAULT_MAX_STATEMENTS_IN_MEMORY);
+	}
+
+	/**
+	 * Creates a loader that adds a large number of statements to this store, see {@link #createBulkLoader()}.
+	 *
+	 * @param maxStatementsInMemory the maximum number of statements that the loader sorts in memory before writing them
+	 *                              to temporary files.
+	 * @return a new bulk loader that must be closed after use.
+	 */
+	@Experimental
+	public LmdbBulkLoader createBulkLoader(int maxStatementsInMemory) throws SailException {
+		if (!isInitialized()) {
+			throw new IllegalStateException("LmdbStore has not been initialized");
+		}
+		if (!isWritable()) {
+			throw new SailException("LmdbStore is not writable");
+		}
+		return new LmdbBulkLoader(this, backingStore, maxStatementsInMemory);
+	}
+
+	/**
+	 * Waits until no transactions are active and runs the supplied action while new transactions are blocked.
+	 */
+	void runWithoutTransactions(Runnable action) throws SailException {
+		txnLockManager.lock();
+		try {
+			isolatedLockManager.waitForActiveLocks();
+			disabledIsolationLockManager.waitForActiveLocks();
+			action.run();
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+			throw new SailException(e);
+		} finally {
+			txnLockManager.unlock();
+		}
+	}
+
 	private boolean upgradeStore(File dataDir, String version) throws IOException, SailException {
 		// nothing to do, just update version number
 		return true;
@@ -404,6 +466,11 @@ public class LmdbStore extends AbstractNotifyingSail implements FederatedService
 
 	@Override
 	public Supplier<CollectionFactory> getCollectionFactory() {
+		if (offHeapCollections) {
+			LmdbValueIdResolver resolver = new LmdbValueIdResolver((ValueStore) getValueFactory());
+			return () -> new OffHeapCollectionFactory(resolver,
+					new MapDbCollectionFactory(getIterationCacheSyncThreshold()));
+		}
 		return () -> new MapDbCollectionFactory(getIterationCacheSyncThreshold());
 	}
 }
@@ -0,0 +1,49 @@
+/*******************************************************************************
+ * Copyright (c) 2023 Eclipse RDF4J contributors.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Distribution License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/org/documents/edl-v10.php.
+ *
+ * SPDX-License-Identifier: BSD-3-Clause
+ *******************************************************************************/
+package org.eclipse.rdf4j.sail.lmdb;
+
+import java.io.IOException;
+
+import org.eclipse.rdf4j.collection.factory.offheap.ValueIdResolver;
+import org.eclipse.rdf4j.model.Value;
+import org.eclipse.rdf4j.sail.SailException;
+import org.eclipse.rdf4j.sail.lmdb.model.LmdbValue;
+
+/**
+ * Resolves values to the IDs of the {@link ValueStore} of a {@link LmdbStore}.
+ */
+class LmdbValueIdResolver implements ValueIdResolver {
+
+	private final ValueStore valueStore;
+
+	LmdbValueIdResolver(ValueStore valueStore) {
+		this.valueStore = valueStore;
+	}
+
+	@Override
+	public long getId(Value value) {
+		try {
+			long id = valueStore.getId(value);
+			return id == LmdbValue.UNKNOWN_ID ? NO_ID : id;
+		} catch (IOException e) {
+			throw new SailException(e);
+		}
+	}
+
+	@Override
+	public Value getValue(long id) {
+		try {
+			return valueStore.getValue(id);
+		} catch (IOException e) {
+			throw new SailException(e);
+		}
+	}
+}
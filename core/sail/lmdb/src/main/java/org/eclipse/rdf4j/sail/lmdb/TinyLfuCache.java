@@ -0,0 +1,508 @@
+/*******************************************************************************
+ * Copyright (c) 2023 Eclipse RDF4J contributors.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Distribution License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/org/documents/edl-v10.php.
+ *
+ * SPDX-License-Identifier: BSD-3-Clause
+ *******************************************************************************/
+package org.eclipse.rdf4j.sail.lmdb;
+
+import java.util.HashMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.BiFunction;
+import java.util.function.Consumer;
+
+/**
+ * Limited-size concurrent cache that decides which entries to keep based on how frequently they were used, following
+ * the W-TinyLFU policy. New entries are added to a small LRU window. Entries that drop out of the window only replace
+ * an entry of the main segmented LRU (split in a probation and a protected segment) if they were requested more often
+ * according to a {@link FrequencySketch}, so that a scan over many values that are used only once does not flush the
+ * values that are used over and over again.
+ * <p>
+ * The values are stored in a {@link ConcurrentHashMap} and can be read without locking. The order of the entries is
+ * maintained under a lock, which readers only try to acquire: if the lock is held by another thread the access is not
+ * reflected in the order of the entries, but it is still counted in the frequency sketch. Subclasses can prevent
+ * entries from being evicted by overriding {@link #onEntryRemoval(Object, Object)}.
+ */
+public class TinyLfuCache<K, V> {
+
+	private static final float LOAD_FACTOR = 0.75f;
+
+	/**
+	 * The percentage of the capacity used for the window.
+	 */
+	private static final int WINDOW_PERCENTAGE = 1;
+
+	/**
+	 * The percentage of the main segment used for the protected segment.
+	 */
+	private static final int PROTECTED_PERCENTAGE = 80;
+
+	private static final byte WINDOW = 0;
+
+	private static final byte PROBATION = 1;
+
+	private static final byte PROTECTED = 2;
+
+	private final int capacity;
+
+	private final int maxWindow;
+
+	private final int maxProtected;
+
+	private final ConcurrentHashMap<K, V> cache;
+
+	private final FrequencySketch sketch;
+
+	private final ReentrantLock evictionLock = new ReentrantLock();
+
+	// all fields below are guarded by evictionLock
+
+	private final HashMap<K, Entry<K>> entries;
+
+	private final AccessQueue<K> window = new AccessQueue<>();
+
+	private final AccessQueue<K> probation = new AccessQueue<>();
+
+	private final AccessQueue<K> protectedQueue = new AccessQueue<>();
+
+	private boolean removalRefused;
+
+	private final LongAdder hitCount = new LongAdder();
+
+	private final LongAdder missCount = new LongAdder();
+
+	private final LongAdder evictionCount = new LongAdder();
+
+	public TinyLfuCache(int capacity) {
+		this.capacity = capacity;
+		this.maxWindow = Math.max(1, capacity * WINDOW_PERCENTAGE / 100);
+		this.maxProtected = (int) ((long) Math.max(0, capacity - maxWindow) * PROTECTED_PERCENTAGE / 100);
+		this.cache = new ConcurrentHashMap<>((int) (capacity / LOAD_FACTOR), LOAD_FACTOR);
+		this.entries = new HashMap<>((int) (capacity / LOAD_FACTOR), LOAD_FACTOR);
+		this.sketch = new FrequencySketch(capacity);
+	}
+
+	public V get(Object key) {
+		V value = cache.get(key);
+		sketch.increment(key);
+		if (value == null) {
+			missCount.increment();
+		} else {
+			hitCount.increment();
+			afterRead(key);
+		}
+		return value;
+	}
+
+	public V put(K key, V value) {
+		V previous = cache.put(key, value);
+		if (previous == null) {
+			afterWrite(key);
+		}
+		return previous;
+	}
+
+	/**
+	 * Atomically computes the value for a key, see {@link ConcurrentHashMap#compute(Object, BiFunction)}. The lookup
+	 * counts as a hit if the key was present and as a miss otherwise.
+	 */
+	public V compute(K key, BiFunction<? super K, ? super V, ? extends V> remappingFunction) {
+		// the entry is present if the remapping function gets a value, a failed read of the map would be racy
+		boolean[] present = new boolean[1];
+		V value = cache.compute(key, (k, v) -> {
+			present[0] = v != null;
+			return remappingFunction.apply(k, v);
+		});
+		sketch.increment(key);
+
+		if (present[0]) {
+			hitCount.increment();
+		} else {
+			missCount.increment();
+		}
+
+		if (value == null) {
+			if (present[0]) {
+				afterRemoval(key);
+			}
+		} else if (present[0]) {
+			afterRead(key);
+		} else {
+			afterWrite(key);
+		}
+		return value;
+	}
+
+	/**
+	 * Atomically computes a new value for a key that is present, see
+	 * {@link ConcurrentHashMap#computeIfPresent(Object, BiFunction)}. This is not counted as an access of the key.
+	 */
+	public V computeIfPresent(K key, BiFunction<? super K, ? super V, ? extends V> remappingFunction) {
+		V value = cache.computeIfPresent(key, remappingFunction);
+		if (value == null) {
+			afterRemoval(key);
+		}
+		return value;
+	}
+
+	public void forEachValue(Consumer<? super V> action) {
+		cache.forEachValue(Long.MAX_VALUE, action);
+	}
+
+	public int size() {
+		return cache.size();
+	}
+
+	public void clear() {
+		evictionLock.lock();
+		try {
+			cache.clear();
+			entries.clear();
+			window.clear();
+			probation.clear();
+			protectedQueue.clear();
+			sketch.clear();
+		} finally {
+			evictionLock.unlock();
+		}
+	}
+
+	/**
+	 * @return the number of lookups that found a value
+	 */
+	public long getHitCount() {
+		return hitCount.sum();
+	}
+
+	/**
+	 * @return the number of lookups that did not find a value
+	 */
+	public long getMissCount() {
+		return missCount.sum();
+	}
+
+	/**
+	 * @return the number of entries that were removed to keep the size of the cache limited
+	 */
+	public long getEvictionCount() {
+		return evictionCount.sum();
+	}
+
+	/**
+	 * Hook that is called before an entry is evicted, while the entry can not be modified by other threads.
+	 *
+	 * @param key   the key of the entry to test for removal and do finalization on
+	 * @param value the value of the entry
+	 * @return true if removal is approved
+	 */
+	protected boolean onEntryRemoval(K key, V value) {
+		// Hook method, doing nothing by default
+		return true;
+	}
+
+	/**
+	 * Evicts entries if the cache holds more entries than its capacity, for example after entries that could not be
+	 * evicted before are no longer in use. Does nothing if another thread is currently maintaining the cache.
+	 */
+	protected void cleanUp() {
+		if (cache.size() > capacity && evictionLock.tryLock()) {
+			try {
+				evict();
+			} finally {
+				evictionLock.unlock();
+			}
+		}
+	}
+
+	private void afterRead(Object key) {
+		if (evictionLock.tryLock()) {
+			try {
+				Entry<K> entry = entries.get(key);
+				if (entry != null) {
+					onAccess(entry);
+				}
+			} finally {
+				evictionLock.unlock();
+			}
+		}
+	}
+
+	private void afterWrite(K key) {
+		evictionLock.lock();
+		try {
+			// the entry may have been removed by another thread in the meantime
+			if (!cache.containsKey(key)) {
+				return;
+			}
+			Entry<K> entry = entries.get(key);
+			if (entry != null) {
+				onAccess(entry);
+				return;
+			}
+
+			entry = new Entry<>(key);
+			entries.put(key, entry);
+			window.addLast(entry);
+			while (window.size() > maxWindow) {
+				Entry<K> candidate = window.first();
+				window.remove(candidate);
+				candidate.queue = PROBATION;
+				probation.addLast(candidate);
+			}
+			evict();
+		} finally {
+			evictionLock.unlock();
+		}
+	}
+
+	private void afterRemoval(K key) {
+		evictionLock.lock();
+		try {
+			// the entry may have been added again by another thread in the meantime
+			if (!cache.containsKey(key)) {
+				Entry<K> entry = entries.remove(key);
+				if (entry != null) {
+					queueOf(entry).remove(entry);
+				}
+			}
+		} finally {
+			evictionLock.unlock();
+		}
+	}
+
+	private void onAccess(Entry<K> entry) {
+		switch (entry.queue) {
+		case WINDOW:
+			window.moveToLast(entry);
+			break;
+		case PROBATION:
+			probation.remove(entry);
+			entry.queue = PROTECTED;
+			protectedQueue.addLast(entry);
+			while (protectedQueue.size() > maxProtected) {
+				Entry<K> demoted = protectedQueue.first();
+				protectedQueue.remove(demoted);
+				demoted.queue = PROBATION;
+				probation.addLast(demoted);
+			}
+			break;
+		default:
+			protectedQueue.moveToLast(entry);
+		}
+	}
+
+	private void evict() {
+		// entries that can't be removed are skipped, give up once all entries were tried
+		for (int attempts = entries.size(); entries.size() > capacity && attempts > 0; attempts--) {
+			AccessQueue<K> queue = !probation.isEmpty() ? probation
+					: !protectedQueue.isEmpty() ? protectedQueue : window;
+			Entry<K> victim = queue.first();
+			Entry<K> candidate = queue.last();
+			if (queue == probation && candidate != victim
+					&& sketch.frequency(candidate.key) <= sketch.frequency(victim.key)) {
+				// the candidate that was most recently added to the main segment is not admitted
+				victim = candidate;
+				candidate = queue.first();
+			}
+
+			if (!tryRemove(victim) && (candidate == victim || !tryRemove(candidate))) {
+				queue.moveToLast(queue.first());
+			}
+		}
+	}
+
+	private boolean tryRemove(Entry<K> entry) {
+		removalRefused = false;
+		cache.computeIfPresent(entry.key, (k, v) -> {
+			if (onEntryRemoval(k, v)) {
+				return null;
+			}
+			removalRefused = true;
+			return v;
+		});
+		if (removalRefused) {
+			return false;
+		}
+
+		entries.remove(entry.key);
+		queueOf(entry).remove(entry);
+		evictionCount.increment();
+		return true;
+	}
+
+	private AccessQueue<K> queueOf(Entry<K> entry) {
+		switch (entry.queue) {
+		case WINDOW:
+			return window;
+		case PROBATION:
+			return probation;
+		default:
+			return protectedQueue;
+		}
+	}
+
+	private static final class Entry<K> {
+
+		final K key;
+
+		byte queue = WINDOW;
+
+		Entry<K> previous;
+
+		Entry<K> next;
+
+		Entry(K key) {
+			this.key = key;
+		}
+	}
+
+	/**
+	 * A doubly linked list of entries, ordered from least to most recently used.
+	 */
+	private static final class AccessQueue<K> {
+
+		private final Entry<K> head = new Entry<>(null);
+
+		private int size;
+
+		AccessQueue() {
+			head.previous = head;
+			head.next = head;
+		}
+
+		boolean isEmpty() {
+			return size == 0;
+		}
+
+		int size() {
+			return size;
+		}
+
+		Entry<K> first() {
+			return head.next;
+		}
+
+		Entry<K> last() {
+			return head.previous;
+		}
+
+		void addLast(Entry<K> entry) {
+			entry.previous = head.previous;
+			entry.next = head;
+			head.previous.next = entry;
+			head.previous = entry;
+			size++;
+		}
+
+		void remove(Entry<K> entry) {
+			entry.previous.next = entry.next;
+			entry.next.previous = entry.previous;
+			entry.previous = null;
+			entry.next = null;
+			size--;
+		}
+
+		void moveToLast(Entry<K> entry) {
+			if (entry != head.previous) {
+				remove(entry);
+				addLast(entry);
+			}
+		}
+
+		void clear() {
+			head.previous = head;
+			head.next = head;
+			size = 0;
+		}
+	}
+
+	/**
+	 * A count-min sketch with 4-bit counters that estimates how often a key was requested. The counters are halved
+	 * periodically so that keys that were popular a long time ago are forgotten. The sketch is updated without
+	 * synchronization: concurrent updates may get lost, which only makes the estimates slightly less accurate.
+	 */
+	static final class FrequencySketch {
+
+		private static final long[] SEEDS = { 0xc3a5c85c97cb3127L, 0xb492b66fbe98f273L, 0x9ae16a3b2f90404fL,
+				0xcbf29ce484222325L };
+
+		private static final long RESET_MASK = 0x7777777777777777L;
+
+		private final long[] table;
+
+		private final int tableMask;
+
+		private final int sampleSize;
+
+		private int additions;
+
+		FrequencySketch(int capacity) {
+			int length = Integer.highestOneBit(Math.max(2, Math.min(capacity, 1 << 30)) - 1) << 1;
+			this.table = new long[length];
+			this.tableMask = length - 1;
+			this.sampleSize = (int) Math.min(10L * Math.max(1, capacity), Integer.MAX_VALUE);
+		}
+
+		int frequency(Object key) {
+			int hash = spread(key.hashCode());
+			int start = (hash & 3) << 2;
+			int frequency = Integer.MAX_VALUE;
+			for (int i = 0; i < 4; i++) {
+				int offset = (start + i) << 2;
+				int count = (int) ((table[indexOf(hash, i)] >>> offset) & 0xfL);
+				frequency = Math.min(frequency, count);
+			}
+			return frequency;
+		}
+
+		void increment(Object key) {
+			int hash = spread(key.hashCode());
+			int start = (hash & 3) << 2;
+			boolean added = false;
+			for (int i = 0; i < 4; i++) {
+				int index = indexOf(hash, i);
+				int offset = (start + i) << 2;
+				long mask = 0xfL << offset;
+				if ((table[index] & mask) != mask) {
+					table[index] += 1L << offset;
+					added = true;
+				}
+			}
+			if (added && ++additions >= sampleSize) {
+				reset();
+			}
+		}
+
+		void clear() {
+			for (int i = 0; i < table.length; i++) {
+				table[i] = 0;
+			}
+			additions = 0;
+		}
+
+		private void reset() {
+			for (int i = 0; i < table.length; i++) {
+				table[i] = (table[i] >>> 1) & RESET_MASK;
+			}
+			additions = additions >>> 1;
+		}
+
+		private int indexOf(int hash, int i) {
+			long h = (hash + SEEDS[i]) * SEEDS[i];
+			h += h >>> 32;
+			return ((int) h) & tableMask;
+		}
+
+		private static int spread(int x) {
+			x = ((x >>> 16) ^ x) * 0x45d9f3b;
+			x = ((x >>> 16) ^ x) * 0x45d9f3b;
+			return (x >>> 16) ^ x;
+		}
+	}
+}
@@ -18,11 +18,15 @@ import static org.eclipse.rdf4j.sail.lmdb.Varint.readListUnsigned;
 import static org.eclipse.rdf4j.sail.lmdb.Varint.writeListUnsigned;
 import static org.lwjgl.system.MemoryStack.stackPush;
 import static org.lwjgl.system.MemoryUtil.NULL;
+import static org.lwjgl.util.lmdb.LMDB.MDB_APPEND;
 import static org.lwjgl.util.lmdb.LMDB.MDB_CREATE;
+import static org.lwjgl.util.lmdb.LMDB.MDB_KEYEXIST;
 import static org.lwjgl.util.lmdb.LMDB.MDB_LAST;
 import static org.lwjgl.util.lmdb.LMDB.MDB_NEXT;
 import static org.lwjgl.util.lmdb.LMDB.MDB_NOMETASYNC;
+import static org.lwjgl.util.lmdb.LMDB.MDB_NOOVERWRITE;
 import static org.lwjgl.util.lmdb.LMDB.MDB_NOSYNC;
+import static org.lwjgl.util.lmdb.LMDB.MDB_NOTFOUND;
 import static org.lwjgl.util.lmdb.LMDB.MDB_NOTLS;
 import static org.lwjgl.util.lmdb.LMDB.MDB_PREV;
 import static org.lwjgl.util.lmdb.LMDB.MDB_SET_RANGE;
@@ -47,6 +51,8 @@ import static org.lwjgl.util.lmdb.LMDB.mdb_txn_begin;
 import static org.lwjgl.util.lmdb.LMDB.mdb_txn_commit;
 import static org.lwjgl.util.lmdb.LMDB.nmdb_env_set_maxreaders;
 
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
 import java.io.Closeable;
 import java.io.File;
 import java.io.FileInputStream;
@@ -62,6 +68,7 @@ import java.util.HashMap;
 import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
+import java.util.PriorityQueue;
 import java.util.Properties;
 import java.util.Set;
 import java.util.StringTokenizer;
@@ -477,6 +484,62 @@ class TripleStore implements Closeable {
 		return getTriplesUsingIndex(txn, subj, pred, obj, context, explicit, index, doRangeSearch);
 	}
 
+	/**
+	 * Returns the triples that match the pattern in ascending order of the IDs in the specified field, which must be
+	 * {@link #isOrderSupported(long, long, long, long, char) supported} for the pattern.
+	 *
+	 * @param orderField one of 's', 'p', 'o' or 'c'
+	 */
+	public RecordIterator getTriples(Txn txn, long subj, long pred, long obj, long context, boolean explicit,
+			char orderField) throws IOException {
+		TripleIndex index = getOrderedIndex(subj, pred, obj, context, orderField);
+		if (index == null) {
+			throw new IllegalArgumentException("No index for the order: " + orderField);
+		}
+		boolean doRangeSearch = index.getPatternScore(subj, pred, obj, context) > 0;
+		return getTriplesUsingIndex(txn, subj, pred, obj, context, explicit, index, doRangeSearch);
+	}
+
+	/**
+	 * Checks if there is an index that returns the triples that match the pattern in ascending order of the IDs in the
+	 * specified field, without scanning more triples than the best index for the pattern.
+	 *
+	 * @param orderField one of 's', 'p', 'o' or 'c'
+	 */
+	public boolean isOrderSupported(long subj, long pred, long obj, long context, char orderField) {
+		return getOrderedIndex(subj, pred, obj, context, orderField) != null;
+	}
+
+	private TripleIndex getOrderedIndex(long subj, long pred, long obj, long context, char orderField) {
+		int boundFields = (subj >= 0 ? 1 : 0) + (pred >= 0 ? 1 : 0) + (obj >= 0 ? 1 : 0) + (context >= 0 ? 1 : 0);
+		for (TripleIndex index : indexes) {
+			if (index.getPatternScore(subj, pred, obj, context) == boundFields) {
+				char[] fieldSeq = index.getFieldSeq();
+				// the bound fields are the prefix of the index, the next field is ordered within the range
+				if (boundFields == fieldSeq.length || isBound(orderField, subj, pred, obj, context)
+						|| fieldSeq[boundFields] == orderField) {
+					return index;
+				}
+			}
+		}
+		return null;
+	}
+
+	private static boolean isBound(char field, long subj, long pred, long obj, long context) {
+		switch (field) {
+		case 's':
+			return subj >= 0;
+		case 'p':
+			return pred >= 0;
+		case 'o':
+			return obj >= 0;
+		case 'c':
+			return context >= 0;
+		default:
+			throw new IllegalArgumentException("invalid field: " + field);
+		}
+	}
+
 	private RecordIterator getTriplesUsingIndex(Txn txn, long subj, long pred, long obj, long context,
 			boolean explicit, TripleIndex index, boolean rangeSearch) throws IOException {
 		return new LmdbRecordIterator(pool, index, rangeSearch, subj, pred, obj, context, explicit, txn);
@@ -919,6 +982,490 @@ class TripleStore implements Closeable {
 		}
 	}
 
+	/**
+	 * Starts a bulk load of explicit triples, see {@link BulkLoad}.
+	 *
+	 * @param maxTriplesInMemory the maximum number of triples that are sorted in memory.
+	 */
+	BulkLoad startBulkLoad(int maxTriplesInMemory) {
+		return new BulkLoad(maxTriplesInMemory);
+	}
+
+	/**
+	 * Adds a large number of explicit triples to the indexes. The triples are collected in memory and written to
+	 * temporary files as runs of keys that are sorted in the order of each index whenever the maximum number of triples
+	 * in memory is reached. {@link #commit()} merges the runs of each index and inserts the keys in ascending order in
+	 * a single write transaction. The keys of an index that is still empty are appended with <code>MDB_APPEND</code>,
+	 * which fills the pages sequentially without searching the tree or splitting pages. Keys that are inserted into an
+	 * index that already contains triples still benefit from the sort order as consecutive inserts touch the same
+	 * pages.
+	 */
+	class BulkLoad implements Closeable {
+
+		private static final String RUN_FILE_PREFIX = "bulkload";
+
+		private static final String RUN_FILE_SUFFIX = ".dat";
+
+		private static final int IO_BUFFER_SIZE = 1 << 16;
+
+		/**
+		 * The estimated number of bytes that LMDB needs for each key in addition to the key itself.
+		 */
+		private static final int KEY_OVERHEAD = 16;
+
+		private final long[] quads;
+
+		private int quadCount;
+
+		/**
+		 * The sorted runs of each index, in the order of {@link TripleStore#indexes}.
+		 */
+		private final List<List<File>> runFiles = new ArrayList<>();
+
+		private long totalCount;
+
+		private long totalKeyLength;
+
+		BulkLoad(int maxTriplesInMemory) {
+			if (maxTriplesInMemory <= 0) {
+				throw new IllegalArgumentException("maxTriplesInMemory must be larger than 0");
+			}
+			quads = new long[maxTriplesInMemory * 4];
+			for (int i = 0; i < indexes.size(); i++) {
+				runFiles.add(new ArrayList<>());
+			}
+		}
+
+		/**
+		 * Adds an explicit triple. Triples that are already in the store or that are added multiple times are only
+		 * stored once.
+		 */
+		void add(long subj, long pred, long obj, long context) throws IOException {
+			if (quadCount * 4 == quads.length) {
+				writeRuns();
+			}
+			int offset = quadCount * 4;
+			quads[offset + SUBJ_IDX] = subj;
+			quads[offset + PRED_IDX] = pred;
+			quads[offset + OBJ_IDX] = obj;
+			quads[offset + CONTEXT_IDX] = context;
+			quadCount++;
+			totalCount++;
+			totalKeyLength += Varint.calcListLengthUnsigned(subj, pred, obj, context);
+		}
+
+		/**
+		 * Inserts the added triples into the indexes in a single write transaction. Must not be called while a write
+		 * transaction is active.
+		 *
+		 * @return A mapping of each context to the number of triples that were added to it.
+		 */
+		Map<Long, Long> commit() throws IOException {
+			// leave room for partially filled pages and for the copies of modified pages
+			long requiredSize = 2 * indexes.size() * (totalKeyLength + totalCount * KEY_OVERHEAD);
+			Map<Long, Long> perContextCounts;
+			while ((perContextCounts = write(requiredSize)) == null) {
+				// the estimate was too low, the next attempt at least doubles the map size
+				requiredSize = mapSize;
+			}
+			return perContextCounts;
+		}
+
+		/**
+		 * Deletes the temporary files.
+		 */
+		@Override
+		public void close() {
+			for (List<File> runs : runFiles) {
+				for (File runFile : runs) {
+					runFile.delete();
+				}
+				runs.clear();
+			}
+			quadCount = 0;
+		}
+
+		/**
+		 * Writes the triples in memory to a sorted run for each index.
+		 */
+		private void writeRuns() throws IOException {
+			for (int i = 0; i < indexes.size(); i++) {
+				File runFile = File.createTempFile(RUN_FILE_PREFIX, RUN_FILE_SUFFIX, dir);
+				runFiles.get(i).add(runFile);
+				try (KeyIterator keys = sortInMemory(indexes.get(i));
+						OutputStream out = new BufferedOutputStream(new FileOutputStream(runFile), IO_BUFFER_SIZE)) {
+					byte[] key;
+					while ((key = keys.next()) != null) {
+						out.write(key.length);
+						out.write(key);
+					}
+				}
+			}
+			quadCount = 0;
+		}
+
+		/**
+		 * Inserts all keys in a new write transaction, after growing the map if it does not have the required free
+		 * space.
+		 *
+		 * @return A mapping of each context to the number of triples that were added to it, or <var>null</var> if the
+		 *         map is full and has to be resized.
+		 */
+		private Map<Long, Long> write(long requiredSize) throws IOException {
+			try (MemoryStack stack = stackPush()) {
+				PointerBuffer pp = stack.mallocPointer(1);
+				E(mdb_txn_begin(env, NULL, 0, pp));
+				long txn = pp.get(0);
+				if (autoGrow && LmdbUtil.requiresResize(mapSize, pageSize, txn, requiredSize)) {
+					mdb_txn_abort(txn);
+					growMapSize(mapSize + requiredSize);
+					E(mdb_txn_begin(env, NULL, 0, pp));
+					txn = pp.get(0);
+				}
+
+				boolean committed = false;
+				try {
+					Map<Long, Long> perContextCounts = new HashMap<>();
+					for (int i = 0; i < indexes.size(); i++) {
+						// the main index determines which triples are new
+						if (!writeIndex(stack, txn, i, i == 0 ? perContextCounts : null)) {
+							return null;
+						}
+					}
+					committed = true;
+					E(mdb_txn_commit(txn));
+					// invalidate open read transactions so that they are not re-used
+					txnManager.reset();
+					return perContextCounts;
+				} finally {
+					if (!committed) {
+						mdb_txn_abort(txn);
+					}
+				}
+			}
+		}
+
+		/**
+		 * Inserts the merged keys of an index and deletes inferred triples that become explicit.
+		 *
+		 * @return <var>false</var> if the map is full
+		 */
+		private boolean writeIndex(MemoryStack stack, long txn, int indexNo, Map<Long, Long> perContextCounts)
+				throws IOException {
+			TripleIndex index = indexes.get(indexNo);
+			int dbiExplicit = index.getDB(true);
+			int dbiInferred = index.getDB(false);
+
+			MDBStat stat = MDBStat.malloc(stack);
+			E(mdb_stat(txn, dbiExplicit, stat));
+			boolean append = stat.ms_entries() == 0;
+			E(mdb_stat(txn, dbiInferred, stat));
+			boolean hasInferred = stat.ms_entries() > 0;
+			int flags = append ? MDB_APPEND : MDB_NOOVERWRITE;
+
+			MDBVal keyVal = MDBVal.malloc(stack);
+			// use calloc to get an empty data value
+			MDBVal dataVal = MDBVal.calloc(stack);
+			ByteBuffer keyBuf = stack.malloc(MAX_KEY_LENGTH);
+			long[] quad = new long[4];
+
+			try (KeyIterator keys = merge(indexNo)) {
+				byte[] key;
+				while ((key = keys.next()) != null) {
+					if (autoGrow && LmdbUtil.requiresResize(mapSize, pageSize, txn, 0)) {
+						return false;
+					}
+
+					keyBuf.clear();
+					keyBuf.put(key);
+					keyBuf.flip();
+					keyVal.mv_data(keyBuf);
+
+					int rc = mdb_put(txn, dbiExplicit, keyVal, dataVal, flags);
+					if (rc == MDB_KEYEXIST) {
+						// the triple is already explicit
+						continue;
+					}
+					E(rc);
+
+					if (hasInferred) {
+						rc = mdb_del(txn, dbiInferred, keyVal, null);
+						if (rc != MDB_NOTFOUND) {
+							E(rc);
+						}
+					}
+					if (perContextCounts != null) {
+						index.keyToQuad(ByteBuffer.wrap(key), quad);
+						perContextCounts.merge(quad[CONTEXT_IDX], 1L, Long::sum);
+					}
+				}
+			}
+			return true;
+		}
+
+		private void growMapSize(long requiredSize) throws IOException {
+			StampedLock lock = txnManager.lock();
+			long stamp = lock.writeLock();
+			try {
+				txnManager.deactivate();
+				mapSize = LmdbUtil.autoGrowMapSize(mapSize, pageSize, requiredSize);
+				E(mdb_env_set_mapsize(env, mapSize));
+			} finally {
+				try {
+					txnManager.activate();
+				} finally {
+					lock.unlockWrite(stamp);
+				}
+			}
+		}
+
+		/**
+		 * Returns the distinct keys of the runs and of the triples in memory in the order of an index.
+		 */
+		private KeyIterator merge(int indexNo) throws IOException {
+			List<KeyIterator> inputs = new ArrayList<>();
+			try {
+				for (File runFile : runFiles.get(indexNo)) {
+					inputs.add(new RunIterator(runFile));
+				}
+				inputs.add(sortInMemory(indexes.get(indexNo)));
+			} catch (IOException e) {
+				for (KeyIterator input : inputs) {
+					input.close();
+				}
+				throw e;
+			}
+			return inputs.size() == 1 ? inputs.get(0) : new MergingIterator(inputs);
+		}
+
+		/**
+		 * Returns the distinct keys of the triples in memory in the order of an index. The triples are sorted by their
+		 * IDs in the order of the fields of the index, which is the byte order of the keys.
+		 */
+		private KeyIterator sortInMemory(TripleIndex index) {
+			int[] fields = index.indexMap;
+			sort(fields, 0, quadCount);
+
+			return new KeyIterator() {
+
+				final ByteBuffer keyBuf = ByteBuffer.allocate(MAX_KEY_LENGTH);
+
+				int pos = 0;
+
+				@Override
+				public byte[] next() {
+					while (pos < quadCount) {
+						int i = pos++;
+						if (i == 0 || compare(fields, i - 1, i) != 0) {
+							int offset = i * 4;
+							keyBuf.clear();
+							index.toKey(keyBuf, quads[offset + SUBJ_IDX], quads[offset + PRED_IDX],
+									quads[offset + OBJ_IDX], quads[offset + CONTEXT_IDX]);
+							return Arrays.copyOf(keyBuf.array(), keyBuf.position());
+						}
+					}
+					return null;
+				}
+
+				@Override
+				public void close() {
+				}
+			};
+		}
+
+		/**
+		 * Sorts the triples in the range <var>from</var> (inclusive) to <var>to</var> (exclusive) with a quicksort that
+		 * swaps the IDs in place.
+		 */
+		private void sort(int[] fields, int from, int to) {
+			long[] pivot = new long[4];
+			while (to - from > 16) {
+				// use the median of the first, middle and last triple as pivot
+				int mid = (from + to) >>> 1;
+				if (compare(fields, mid, from) < 0) {
+					swap(mid, from);
+				}
+				if (compare(fields, to - 1, mid) < 0) {
+					swap(to - 1, mid);
+					if (compare(fields, mid, from) < 0) {
+						swap(mid, from);
+					}
+				}
+				System.arraycopy(quads, mid * 4, pivot, 0, 4);
+
+				int i = from;
+				int j = to - 1;
+				while (i <= j) {
+					while (compare(fields, i, pivot) < 0) {
+						i++;
+					}
+					while (compare(fields, j, pivot) > 0) {
+						j--;
+					}
+					if (i <= j) {
+						swap(i++, j--);
+					}
+				}
+
+				// recurse into the smaller part to limit the depth of the stack
+				if (j - from < to - i) {
+					sort(fields, from, j + 1);
+					from = i;
+				} else {
+					sort(fields, i, to);
+					to = j + 1;
+				}
+			}
+
+			for (int i = from + 1; i < to; i++) {
+				for (int j = i; j > from && compare(fields, j, j - 1) < 0; j--) {
+					swap(j, j - 1);
+				}
+			}
+		}
+
+		private int compare(int[] fields, int a, int b) {
+			for (int field : fields) {
+				int diff = Long.compare(quads[a * 4 + field], quads[b * 4 + field]);
+				if (diff != 0) {
+					return diff;
+				}
+			}
+			return 0;
+		}
+
+		private int compare(int[] fields, int a, long[] quad) {
+			for (int field : fields) {
+				int diff = Long.compare(quads[a * 4 + field], quad[field]);
+				if (diff != 0) {
+					return diff;
+				}
+			}
+			return 0;
+		}
+
+		private void swap(int a, int b) {
+			for (int i = 0; i < 4; i++) {
+				long tmp = quads[a * 4 + i];
+				quads[a * 4 + i] = quads[b * 4 + i];
+				quads[b * 4 + i] = tmp;
+			}
+		}
+	}
+
+	/**
+	 * Iterates over keys in ascending order.
+	 */
+	private interface KeyIterator extends Closeable {
+
+		/**
+		 * @return The next key, or <var>null</var> if there are no more keys.
+		 */
+		byte[] next() throws IOException;
+	}
+
+	/**
+	 * Iterates over the keys of a sorted run file, each key is prefixed by its length.
+	 */
+	private static class RunIterator implements KeyIterator {
+
+		private final InputStream in;
+
+		RunIterator(File runFile) throws IOException {
+			in = new BufferedInputStream(new FileInputStream(runFile), BulkLoad.IO_BUFFER_SIZE);
+		}
+
+		@Override
+		public byte[] next() throws IOException {
+			int length = in.read();
+			if (length == -1) {
+				return null;
+			}
+			byte[] key = in.readNBytes(length);
+			if (key.length < length) {
+				throw new IOException("incomplete key in sorted run");
+			}
+			return key;
+		}
+
+		@Override
+		public void close() throws IOException {
+			in.close();
+		}
+	}
+
+	/**
+	 * Merges iterators over distinct keys into one iterator over distinct keys.
+	 */
+	private static class MergingIterator implements KeyIterator {
+
+		private final List<KeyIterator> inputs;
+
+		private final PriorityQueue<Head> heads;
+
+		private byte[] last;
+
+		MergingIterator(List<KeyIterator> inputs) throws IOException {
+			this.inputs = inputs;
+			heads = new PriorityQueue<>(inputs.size());
+			for (KeyIterator input : inputs) {
+				Head head = new Head(input);
+				if (head.key != null) {
+					heads.add(head);
+				}
+			}
+		}
+
+		@Override
+		public byte[] next() throws IOException {
+			Head head;
+			while ((head = heads.poll()) != null) {
+				byte[] key = head.key;
+				head.key = head.input.next();
+				if (head.key != null) {
+					heads.add(head);
+				}
+				if (last == null || !Arrays.equals(key, last)) {
+					last = key;
+					return key;
+				}
+			}
+			return null;
+		}
+
+		@Override
+		public void close() throws IOException {
+			IOException exception = null;
+			for (KeyIterator input : inputs) {
+				try {
+					input.close();
+				} catch (IOException e) {
+					exception = e;
+				}
+			}
+			if (exception != null) {
+				throw exception;
+			}
+		}
+
+		private static class Head implements Comparable<Head> {
+
+			private final KeyIterator input;
+
+			private byte[] key;
+
+			Head(KeyIterator input) throws IOException {
+				this.input = input;
+				this.key = input.next();
+			}
+
+			@Override
+			public int compareTo(Head other) {
+				return Arrays.compareUnsigned(key, other.key);
+			}
+		}
+	}
+
 	class TripleIndex {
 
 		private final char[] fieldSeq;
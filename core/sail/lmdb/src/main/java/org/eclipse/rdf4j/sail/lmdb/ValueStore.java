@@ -103,18 +103,17 @@ class ValueStore extends AbstractValueFactory {
 	 */
 	private final LmdbValue[] valueCache;
 	/**
-	 * A simple cache containing the [ID_CACHE_SIZE] most-recently used value-IDs stored by their value.
+	 * A cache containing the [ID_CACHE_SIZE] most frequently used value-IDs stored by their value.
 	 */
-	private final ConcurrentCache<LmdbValue, Long> valueIDCache;
+	private final TinyLfuCache<LmdbValue, Long> valueIDCache;
 	/**
-	 * A simple cache containing the [NAMESPACE_CACHE_SIZE] most-recently used namespaces stored by their ID.
+	 * A cache containing the [NAMESPACE_CACHE_SIZE] most frequently used namespaces stored by their ID.
 	 */
-	private final ConcurrentCache<Long, String> namespaceCache;
+	private final TinyLfuCache<Long, String> namespaceCache;
 	/**
-	 * A simple cache containing the [NAMESPACE_ID_CACHE_SIZE] most-recently used namespace-IDs stored by their
-	 * namespace.
+	 * A cache containing the [NAMESPACE_ID_CACHE_SIZE] most frequently used namespace-IDs stored by their namespace.
 	 */
-	private final ConcurrentCache<String, Long> namespaceIDCache;
+	private final TinyLfuCache<String, Long> namespaceIDCache;
 	/**
 	 * Used to do the actual storage of values, once they're translated to byte arrays.
 	 */
@@ -148,9 +147,9 @@ class ValueStore extends AbstractValueFactory {
 		open();
 
 		valueCache = new LmdbValue[config.getValueCacheSize()];
-		valueIDCache = new ConcurrentCache<>(config.getValueIDCacheSize());
-		namespaceCache = new ConcurrentCache<>(config.getNamespaceCacheSize());
-		namespaceIDCache = new ConcurrentCache<>(config.getNamespaceIDCacheSize());
+		valueIDCache = new TinyLfuCache<>(config.getValueIDCacheSize());
+		namespaceCache = new TinyLfuCache<>(config.getNamespaceCacheSize());
+		namespaceIDCache = new TinyLfuCache<>(config.getNamespaceIDCacheSize());
 
 		setNewRevision();
 
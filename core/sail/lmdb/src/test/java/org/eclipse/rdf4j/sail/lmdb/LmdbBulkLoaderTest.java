@@ -0,0 +1,240 @@
+/*******************************************************************************
+ * Copyright (c) 2023 Eclipse RDF4J contributors.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Distribution License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/org/documents/edl-v10.php.
+ *
+ * SPDX-License-Identifier: BSD-3-Clause
+ *******************************************************************************/
+package org.eclipse.rdf4j.sail.lmdb;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.io.File;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+import org.eclipse.rdf4j.common.iteration.CloseableIteration;
+import org.eclipse.rdf4j.common.iteration.Iterations;
+import org.eclipse.rdf4j.model.IRI;
+import org.eclipse.rdf4j.model.Resource;
+import org.eclipse.rdf4j.model.Statement;
+import org.eclipse.rdf4j.model.ValueFactory;
+import org.eclipse.rdf4j.model.impl.SimpleValueFactory;
+import org.eclipse.rdf4j.model.vocabulary.RDF;
+import org.eclipse.rdf4j.model.vocabulary.RDFS;
+import org.eclipse.rdf4j.query.QueryResults;
+import org.eclipse.rdf4j.repository.RepositoryConnection;
+import org.eclipse.rdf4j.repository.sail.SailRepository;
+import org.eclipse.rdf4j.sail.SailException;
+import org.eclipse.rdf4j.sail.lmdb.config.LmdbStoreConfig;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+public class LmdbBulkLoaderTest {
+
+	private static final ValueFactory vf = SimpleValueFactory.getInstance();
+
+	private static final String NS = "http://example.org/";
+
+	@TempDir
+	File dataDir;
+
+	private LmdbStore sail;
+
+	private SailRepository repo;
+
+	private void init(LmdbStoreConfig config) {
+		sail = new LmdbStore(dataDir, config);
+		repo = new SailRepository(sail);
+		repo.init();
+	}
+
+	@AfterEach
+	public void tearDown() {
+		repo.shutDown();
+	}
+
+	@Test
+	public void testBulkLoad() throws Exception {
+		init(new LmdbStoreConfig("spoc,posc,cosp"));
+
+		List<Statement> existing = createStatements(0, 1000);
+		try (RepositoryConnection conn = repo.getConnection()) {
+			conn.add(existing);
+		}
+
+		// overlaps with the existing statements and contains duplicates
+		List<Statement> loaded = createStatements(500, 5000);
+		loaded.addAll(createStatements(4000, 4500));
+
+		try (LmdbBulkLoader loader = sail.createBulkLoader(100)) {
+			for (Statement st : loaded) {
+				loader.add(st);
+			}
+			loader.add(vf.createIRI(NS, "s"), RDFS.LABEL, vf.createLiteral("label"), vf.createIRI(NS, "c1"),
+					vf.createIRI(NS, "c2"));
+
+			try (RepositoryConnection conn = repo.getConnection()) {
+				// not visible before commit
+				assertThat(conn.size()).isEqualTo(existing.size());
+			}
+
+			loader.commit();
+		}
+
+		Set<Statement> expected = new HashSet<>(existing);
+		expected.addAll(loaded);
+		expected.add(vf.createStatement(vf.createIRI(NS, "s"), RDFS.LABEL, vf.createLiteral("label"),
+				vf.createIRI(NS, "c1")));
+		expected.add(vf.createStatement(vf.createIRI(NS, "s"), RDFS.LABEL, vf.createLiteral("label"),
+				vf.createIRI(NS, "c2")));
+		assertContents(expected);
+
+		// the indexes can still be modified with transactions
+		try (RepositoryConnection conn = repo.getConnection()) {
+			conn.remove(existing);
+			conn.add(vf.createIRI(NS, "new"), RDF.TYPE, RDFS.RESOURCE);
+		}
+		expected.removeAll(existing);
+		expected.add(vf.createStatement(vf.createIRI(NS, "new"), RDF.TYPE, RDFS.RESOURCE));
+		assertContents(expected);
+
+		// the statements and the context sizes are persisted
+		repo.shutDown();
+		repo.init();
+		assertContents(expected);
+
+		assertThat(new File(dataDir, "triples").list((dir, name) -> name.startsWith("bulkload"))).isEmpty();
+	}
+
+	@Test
+	public void testBulkLoadIntoEmptyStoreGrowsMap() throws Exception {
+		// the map is much smaller than the statements
+		init(new LmdbStoreConfig("spoc,posc,cosp").setTripleDBSize(32 * 4096));
+
+		List<Statement> loaded = createStatements(0, 50_000);
+		try (LmdbBulkLoader loader = sail.createBulkLoader(10_000)) {
+			for (Statement st : loaded) {
+				loader.add(st);
+			}
+			loader.commit();
+		}
+
+		assertContents(new HashSet<>(loaded));
+	}
+
+	@Test
+	public void testInferredStatementsBecomeExplicit() throws Exception {
+		init(new LmdbStoreConfig("spoc,posc"));
+
+		Statement st1 = vf.createStatement(vf.createIRI(NS, "s1"), RDF.TYPE, RDFS.RESOURCE);
+		Statement st2 = vf.createStatement(vf.createIRI(NS, "s2"), RDF.TYPE, RDFS.RESOURCE);
+		try (LmdbStoreConnection conn = (LmdbStoreConnection) sail.getConnection()) {
+			conn.begin();
+			conn.addInferredStatement(st1.getSubject(), st1.getPredicate(), st1.getObject());
+			conn.addInferredStatement(st2.getSubject(), st2.getPredicate(), st2.getObject());
+			conn.commit();
+		}
+
+		try (LmdbBulkLoader loader = sail.createBulkLoader()) {
+			loader.add(st1);
+			loader.commit();
+		}
+
+		try (LmdbStoreConnection conn = (LmdbStoreConnection) sail.getConnection()) {
+			assertThat(getStatements(conn, false)).containsExactly(st1);
+			assertThat(getStatements(conn, true)).containsExactlyInAnyOrder(st1, st2);
+		}
+	}
+
+	@Test
+	public void testQueryResultCacheInvalidated() throws Exception {
+		init(new LmdbStoreConfig("spoc,posc"));
+		sail.setQueryResultCacheSize(1 << 20);
+		String query = "SELECT * WHERE { ?s ?p ?o }";
+		try (RepositoryConnection conn = repo.getConnection()) {
+			conn.add(createStatements(0, 10));
+			assertThat(QueryResults.asList(conn.prepareTupleQuery(query).evaluate())).hasSize(10);
+			assertThat(sail.getQueryResultCache().size()).isEqualTo(1);
+		}
+
+		try (LmdbBulkLoader loader = sail.createBulkLoader(100)) {
+			for (Statement st : createStatements(10, 20)) {
+				loader.add(st);
+			}
+			loader.commit();
+		}
+
+		try (RepositoryConnection conn = repo.getConnection()) {
+			assertThat(QueryResults.asList(conn.prepareTupleQuery(query).evaluate())).hasSize(20);
+		}
+	}
+
+	@Test
+	public void testClose() throws Exception {
+		init(new LmdbStoreConfig("spoc,posc"));
+
+		try (LmdbBulkLoader loader = sail.createBulkLoader(100)) {
+			for (Statement st : createStatements(0, 1000)) {
+				loader.add(st);
+			}
+		}
+
+		try (RepositoryConnection conn = repo.getConnection()) {
+			assertThat(conn.isEmpty()).isTrue();
+		}
+		assertThat(new File(dataDir, "triples").list((dir, name) -> name.startsWith("bulkload"))).isEmpty();
+	}
+
+	private void assertContents(Set<Statement> expected) {
+		try (RepositoryConnection conn = repo.getConnection()) {
+			assertThat(conn.size()).isEqualTo(expected.size());
+			assertThat(Iterations.asSet(conn.getStatements(null, null, null))).isEqualTo(expected);
+
+			// uses the other indexes
+			IRI pred = vf.createIRI(NS, "p3");
+			assertThat(Iterations.asSet(conn.getStatements(null, pred, null)))
+					.isEqualTo(expected.stream()
+							.filter(st -> st.getPredicate().equals(pred))
+							.collect(Collectors.toSet()));
+			Set<Resource> contexts = new HashSet<>();
+			expected.stream().map(Statement::getContext).filter(c -> c != null).forEach(contexts::add);
+			assertThat(Iterations.asSet(conn.getContextIDs())).isEqualTo(contexts);
+		}
+	}
+
+	private static List<Statement> getStatements(LmdbStoreConnection conn, boolean includeInferred)
+			throws SailException {
+		List<Statement> statements = new ArrayList<>();
+		try (CloseableIteration<? extends Statement, SailException> iter = conn.getStatements(null, null, null,
+				includeInferred)) {
+			while (iter.hasNext()) {
+				Statement st = iter.next();
+				statements.add(vf.createStatement(st.getSubject(), st.getPredicate(), st.getObject()));
+			}
+		}
+		return statements;
+	}
+
+	private static List<Statement> createStatements(int from, int to) {
+		List<Statement> statements = new ArrayList<>();
+		for (int i = from; i < to; i++) {
+			IRI subj = vf.createIRI(NS, "s" + (i % 97));
+			IRI pred = vf.createIRI(NS, "p" + (i % 5));
+			if (i % 3 == 0) {
+				statements.add(vf.createStatement(subj, pred, vf.createLiteral(i)));
+			} else {
+				statements
+						.add(vf.createStatement(subj, pred, vf.createIRI(NS, "o" + i), vf.createIRI(NS, "c" + i % 7)));
+			}
+		}
+		return statements;
+	}
+}
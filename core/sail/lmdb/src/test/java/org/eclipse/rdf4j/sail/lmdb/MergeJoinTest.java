@@ -0,0 +1,143 @@
+/*******************************************************************************
+ * Copyright (c) 2023 Eclipse RDF4J contributors.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Distribution License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/org/documents/edl-v10.php.
+ *
+ * SPDX-License-Identifier: BSD-3-Clause
+ *******************************************************************************/
+package org.eclipse.rdf4j.sail.lmdb;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.io.File;
+import java.util.List;
+
+import org.eclipse.rdf4j.model.IRI;
+import org.eclipse.rdf4j.model.ValueFactory;
+import org.eclipse.rdf4j.model.impl.SimpleValueFactory;
+import org.eclipse.rdf4j.model.vocabulary.RDF;
+import org.eclipse.rdf4j.query.BindingSet;
+import org.eclipse.rdf4j.query.QueryResults;
+import org.eclipse.rdf4j.query.TupleQuery;
+import org.eclipse.rdf4j.query.algebra.evaluation.optimizer.MergeJoinOptimizer;
+import org.eclipse.rdf4j.query.explanation.Explanation;
+import org.eclipse.rdf4j.repository.RepositoryConnection;
+import org.eclipse.rdf4j.repository.sail.SailRepository;
+import org.eclipse.rdf4j.sail.lmdb.config.LmdbStoreConfig;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+/**
+ * Tests that merge joins over ordered statements of the {@link LmdbStore} return the same results as other joins.
+ */
+public class MergeJoinTest {
+
+	private static final String NS = "http://example.org/";
+
+	private static final ValueFactory vf = SimpleValueFactory.getInstance();
+
+	@TempDir
+	File dataDir;
+
+	private SailRepository repository;
+
+	@BeforeEach
+	public void setUp() {
+		repository = new SailRepository(new LmdbStore(dataDir, new LmdbStoreConfig("spoc,posc,psoc")));
+		try (RepositoryConnection connection = repository.getConnection()) {
+			IRI name = vf.createIRI(NS, "name");
+			IRI age = vf.createIRI(NS, "age");
+			IRI knows = vf.createIRI(NS, "knows");
+			for (int i = 0; i < 500; i++) {
+				IRI person = vf.createIRI(NS, "person" + i);
+				connection.add(person, RDF.TYPE, vf.createIRI(NS, "Person"));
+				if (i % 3 == 0) {
+					connection.add(person, name, vf.createLiteral("name" + i));
+				}
+				if (i % 2 == 0) {
+					connection.add(person, age, vf.createLiteral(i % 70));
+				}
+				connection.add(person, knows, vf.createIRI(NS, "person" + (i % 100)));
+			}
+		}
+	}
+
+	@AfterEach
+	public void tearDown() {
+		System.clearProperty(MergeJoinOptimizer.ENABLED_PROPERTY);
+		repository.shutDown();
+	}
+
+	@Test
+	public void testSubjectJoin() {
+		String query = "PREFIX ex: <" + NS + ">\n"
+				+ "SELECT * WHERE { ?s a ex:Person ; ex:name ?name ; ex:age ?age }";
+
+		assertSameResults(query, 84);
+	}
+
+	@Test
+	public void testObjectJoin() {
+		String query = "PREFIX ex: <" + NS + ">\n"
+				+ "SELECT * WHERE { ?s ex:knows ?o . ?x ex:knows ?o . FILTER(?x != ?s) }";
+
+		assertSameResults(query, 2000);
+	}
+
+	@Test
+	public void testFilteredArgument() {
+		String query = "PREFIX ex: <" + NS + ">\n"
+				+ "SELECT * WHERE { ?s ex:age ?a FILTER(?a > 10) ?s ex:name ?n }";
+
+		assertSameResults(query, 68);
+
+		// the filtered argument is the left argument of the merge join
+		query = "PREFIX ex: <" + NS + ">\n"
+				+ "SELECT * WHERE { ?s ex:age ?a FILTER(?a > 10) ?s ex:knows ?o }";
+
+		assertSameResults(query, 203);
+	}
+
+	@Test
+	public void testTransaction() {
+		String query = "PREFIX ex: <" + NS + ">\n"
+				+ "SELECT * WHERE { ?s a ex:Person ; ex:name ?name ; ex:age ?age }";
+
+		System.setProperty(MergeJoinOptimizer.ENABLED_PROPERTY, "true");
+		try (RepositoryConnection connection = repository.getConnection()) {
+			connection.begin();
+			connection.add(vf.createIRI(NS, "person1"), vf.createIRI(NS, "name"), vf.createLiteral("added"));
+			connection.add(vf.createIRI(NS, "person1"), vf.createIRI(NS, "age"), vf.createLiteral(1));
+			connection.remove(vf.createIRI(NS, "person0"), vf.createIRI(NS, "name"), null);
+
+			List<BindingSet> result = QueryResults.asList(connection.prepareTupleQuery(query).evaluate());
+			assertThat(result).hasSize(84);
+			connection.commit();
+		}
+	}
+
+	private void assertSameResults(String query, int expectedSize) {
+		List<BindingSet> expected = evaluate(query, false);
+		assertThat(expected).hasSize(expectedSize);
+		assertThat(evaluate(query, true)).containsExactlyInAnyOrderElementsOf(expected);
+	}
+
+	private List<BindingSet> evaluate(String query, boolean mergeJoin) {
+		if (mergeJoin) {
+			System.setProperty(MergeJoinOptimizer.ENABLED_PROPERTY, "true");
+		} else {
+			System.clearProperty(MergeJoinOptimizer.ENABLED_PROPERTY);
+		}
+		try (RepositoryConnection connection = repository.getConnection()) {
+			TupleQuery tupleQuery = connection.prepareTupleQuery(query);
+			String plan = tupleQuery.explain(Explanation.Level.Optimized).toString();
+			assertThat(plan.contains("MergeJoin")).isEqualTo(mergeJoin);
+			return QueryResults.asList(tupleQuery.evaluate());
+		}
+	}
+}
@@ -455,7 +455,29 @@ public abstract class AbstractSearchIndex implements SearchIndex {
 	 */
 	@Override
 	public final synchronized void addDocuments(Resource subject, List<Statement> statements) throws IOException {
+		BulkUpdater batch = newBulkUpdate();
+		addDocuments(subject, statements, batch);
+		batch.end();
+	}
 
+	/**
+	 * Add complete Lucene Documents for many resources with a single bulk update. Unlike
+	 * {@link #addDocuments(Resource, List)} this method does not lock the index, so that it can be called concurrently
+	 * by a parallel reindex.
+	 *
+	 * @param statementsBySubject the statements that make up each resource
+	 * @throws IOException
+	 */
+	@Override
+	public final void addDocuments(Map<Resource, List<Statement>> statementsBySubject) throws IOException {
+		BulkUpdater batch = newBulkUpdate();
+		for (Entry<Resource, List<Statement>> entry : statementsBySubject.entrySet()) {
+			addDocuments(entry.getKey(), entry.getValue(), batch);
+		}
+		batch.end();
+	}
+
+	private void addDocuments(Resource subject, List<Statement> statements, BulkUpdater batch) throws IOException {
 		String resourceId = SearchFields.getResourceID(subject);
 
 		SetMultimap<String, Statement> stmtsByContextId = HashMultimap.create();
@@ -467,7 +489,6 @@ public abstract class AbstractSearchIndex implements SearchIndex {
 			stmtsByContextId.put(contextId, statement);
 		}
 
-		BulkUpdater batch = newBulkUpdate();
 		for (Entry<String, Collection<Statement>> entry : stmtsByContextId.asMap().entrySet()) {
 			// create a new document
 			String id = SearchFields.formIdString(resourceId, entry.getKey());
@@ -480,7 +501,6 @@ public abstract class AbstractSearchIndex implements SearchIndex {
 			// add it to the index
 			batch.add(document);
 		}
-		batch.end();
 	}
 
 	/**
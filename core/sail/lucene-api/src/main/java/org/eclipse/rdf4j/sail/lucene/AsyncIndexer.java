@@ -0,0 +1,306 @@
+/*******************************************************************************
+ * Copyright (c) 2023 Eclipse RDF4J contributors.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Distribution License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/org/documents/edl-v10.php.
+ *
+ * SPDX-License-Identifier: BSD-3-Clause
+ *******************************************************************************/
+package org.eclipse.rdf4j.sail.lucene;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.eclipse.rdf4j.common.annotation.Experimental;
+import org.eclipse.rdf4j.sail.SailException;
+import org.eclipse.rdf4j.sail.lucene.LuceneSailBuffer.AddRemoveOperation;
+import org.eclipse.rdf4j.sail.lucene.LuceneSailBuffer.ClearContextOperation;
+import org.eclipse.rdf4j.sail.lucene.LuceneSailBuffer.ClearOperation;
+import org.eclipse.rdf4j.sail.lucene.LuceneSailBuffer.Operation;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Applies the index operations of committed transactions to a {@link SearchIndex} in a background thread.
+ * <p>
+ * All transactions that are waiting when the indexer becomes idle are applied as a single batch. The changes of a batch
+ * are made visible to searches with {@link SearchIndex#refresh()}, and are only committed (made durable) when the
+ * commit interval has passed since the last commit. Changes that were refreshed but not committed are lost when the
+ * indexing of a later batch fails, or when the JVM stops before the next commit.
+ * <p>
+ * The indexing lag is the time since the oldest transaction that is not yet visible was submitted. Use
+ * {@link #awaitIndexing(long)} to bound the lag observed by a search.
+ *
+ * @see LuceneSail#ASYNC_INDEXING_KEY
+ */
+@Experimental
+public class AsyncIndexer {
+
+	private static final Logger logger = LoggerFactory.getLogger(AsyncIndexer.class);
+
+	private final SearchIndex index;
+
+	private final long commitIntervalNanos;
+
+	/**
+	 * The submitted transactions that are not yet visible, oldest first.
+	 */
+	private final Deque<Transaction> pending = new ArrayDeque<>();
+
+	private long indexedTransactions;
+
+	private long indexedBatches;
+
+	private long failedBatches;
+
+	private boolean closed;
+
+	private Thread thread;
+
+	// only accessed by the indexer thread
+	private boolean uncommitted;
+
+	private long lastCommit;
+
+	/**
+	 * @param index          the index to apply the operations to
+	 * @param commitInterval the minimum time between two commits of the index, in milliseconds
+	 */
+	public AsyncIndexer(SearchIndex index, long commitInterval) {
+		this.index = index;
+		this.commitIntervalNanos = TimeUnit.MILLISECONDS.toNanos(commitInterval);
+	}
+
+	/**
+	 * Starts the indexer thread.
+	 */
+	public synchronized void start() {
+		if (thread != null) {
+			return;
+		}
+		lastCommit = System.nanoTime();
+		thread = new Thread(this::run, "LuceneSail indexer");
+		thread.setDaemon(true);
+		thread.start();
+	}
+
+	/**
+	 * Applies all submitted transactions, commits the index and stops the indexer thread.
+	 */
+	public void shutDown() throws SailException {
+		Thread toJoinThread;
+		synchronized (this) {
+			closed = true;
+			notifyAll();
+			toJoinThread = thread;
+		}
+		if (toJoinThread != null) {
+			try {
+				toJoinThread.join();
+			} catch (InterruptedException e) {
+				Thread.currentThread().interrupt();
+				throw new SailException(e);
+			}
+		}
+	}
+
+	/**
+	 * Hands the operations of a committed transaction to the indexer.
+	 *
+	 * @param operations the (optimized) operations of the transaction
+	 */
+	public synchronized void submit(List<Operation> operations) throws SailException {
+		if (closed) {
+			throw new SailException("Indexer has been shut down");
+		}
+		pending.addLast(new Transaction(new ArrayList<>(operations), System.nanoTime()));
+		notifyAll();
+	}
+
+	/**
+	 * Waits until all transactions that were submitted more than the given time ago are visible to searches.
+	 *
+	 * @param maxStaleness the maximum age of a transaction that is not yet visible, in milliseconds
+	 */
+	public void awaitIndexing(long maxStaleness) throws SailException {
+		long cutoff = System.nanoTime() - TimeUnit.MILLISECONDS.toNanos(maxStaleness);
+		synchronized (this) {
+			try {
+				while (!pending.isEmpty() && pending.peekFirst().submitted - cutoff <= 0) {
+					if (thread == null || !thread.isAlive()) {
+						throw new SailException("Indexer is not running");
+					}
+					wait();
+				}
+			} catch (InterruptedException e) {
+				Thread.currentThread().interrupt();
+				throw new SailException(e);
+			}
+		}
+	}
+
+	/**
+	 * @return the number of submitted transactions that are not yet visible to searches
+	 */
+	public synchronized int getPendingTransactions() {
+		return pending.size();
+	}
+
+	/**
+	 * @return the time since the oldest transaction that is not yet visible was submitted, in milliseconds, or 0 if all
+	 *         transactions are visible
+	 */
+	public synchronized long getIndexingLag() {
+		Transaction oldest = pending.peekFirst();
+		return oldest == null ? 0 : TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - oldest.submitted);
+	}
+
+	/**
+	 * @return the number of transactions that were indexed, including the transactions of failed batches
+	 */
+	public synchronized long getIndexedTransactions() {
+		return indexedTransactions;
+	}
+
+	/**
+	 * @return the number of batches that were indexed
+	 */
+	public synchronized long getIndexedBatches() {
+		return indexedBatches;
+	}
+
+	/**
+	 * @return the number of batches whose operations were discarded because of an exception
+	 */
+	public synchronized long getFailedBatches() {
+		return failedBatches;
+	}
+
+	private void run() {
+		while (true) {
+			List<Transaction> batch;
+			boolean stop;
+			synchronized (this) {
+				try {
+					while (pending.isEmpty() && !closed && !(uncommitted && commitDue())) {
+						if (uncommitted) {
+							long remaining = lastCommit + commitIntervalNanos - System.nanoTime();
+							wait(Math.max(1, TimeUnit.NANOSECONDS.toMillis(remaining)));
+						} else {
+							wait();
+						}
+					}
+				} catch (InterruptedException e) {
+					logger.warn("Indexer interrupted, {} transactions are not indexed", pending.size());
+					Thread.currentThread().interrupt();
+					return;
+				}
+				batch = new ArrayList<>(pending);
+				stop = closed && pending.isEmpty();
+			}
+
+			if (!batch.isEmpty()) {
+				index(batch);
+			} else if (uncommitted) {
+				try {
+					commit();
+				} catch (Exception e) {
+					logger.error("Committing lucenesail index, encountered exception " + e, e);
+				}
+			}
+			if (stop) {
+				return;
+			}
+		}
+	}
+
+	private void index(List<Transaction> batch) {
+		boolean failed = false;
+		try {
+			index.begin();
+			int operations = 0;
+			for (Transaction transaction : batch) {
+				for (Operation op : transaction.operations) {
+					apply(op);
+					operations++;
+				}
+			}
+			logger.debug("Indexed {} transactions with {} operations.", batch.size(), operations);
+			uncommitted = true;
+			if (commitDue()) {
+				commit();
+			} else {
+				index.refresh();
+			}
+		} catch (Exception e) {
+			failed = true;
+			logger.error("Indexing " + batch.size() + " transactions in lucenesail, encountered exception " + e
+					+ ". The operations since the last commit are discarded. Lucene Index is now corrupt.", e);
+			rollback();
+		} finally {
+			synchronized (this) {
+				for (int i = 0; i < batch.size(); i++) {
+					pending.removeFirst();
+				}
+				indexedTransactions += batch.size();
+				indexedBatches++;
+				if (failed) {
+					failedBatches++;
+				}
+				notifyAll();
+			}
+		}
+	}
+
+	private void apply(Operation op) throws Exception {
+		if (op instanceof AddRemoveOperation) {
+			AddRemoveOperation addremove = (AddRemoveOperation) op;
+			index.addRemoveStatements(addremove.getAdded(), addremove.getRemoved());
+		} else if (op instanceof ClearContextOperation) {
+			index.clearContexts(((ClearContextOperation) op).getContexts());
+		} else if (op instanceof ClearOperation) {
+			logger.debug("clearing index...");
+			index.clear();
+		} else {
+			throw new SailException("Cannot interpret operation " + op + " of type " + op.getClass().getName());
+		}
+	}
+
+	private boolean commitDue() {
+		return System.nanoTime() - lastCommit >= commitIntervalNanos;
+	}
+
+	private void commit() throws Exception {
+		index.commit();
+		uncommitted = false;
+		lastCommit = System.nanoTime();
+	}
+
+	private void rollback() {
+		uncommitted = false;
+		try {
+			index.rollback();
+			// searches must not see the discarded changes
+			index.refresh();
+		} catch (Exception e) {
+			logger.error("Rolling back lucenesail index, encountered exception " + e, e);
+		}
+	}
+
+	private static final class Transaction {
+
+		private final List<Operation> operations;
+
+		private final long submitted;
+
+		Transaction(List<Operation> operations, long submitted) {
+			this.operations = operations;
+			this.submitted = submitted;
+		}
+	}
+}
@@ -14,6 +14,8 @@ import java.io.File;
 import java.io.IOException;
 import java.io.Reader;
 import java.io.StringReader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.Paths;
 import java.util.ArrayList;
@@ -21,14 +23,21 @@ import java.util.Arrays;
 import java.util.Collection;
 import java.util.HashMap;
 import java.util.HashSet;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Objects;
 import java.util.Properties;
 import java.util.Set;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicBoolean;
 
 import org.apache.commons.lang3.math.NumberUtils;
+import org.eclipse.rdf4j.common.annotation.Experimental;
 import org.eclipse.rdf4j.model.IRI;
 import org.eclipse.rdf4j.model.Resource;
 import org.eclipse.rdf4j.model.Statement;
@@ -43,6 +52,7 @@ import org.eclipse.rdf4j.query.algebra.evaluation.function.TupleFunctionRegistry
 import org.eclipse.rdf4j.repository.sail.SailRepository;
 import org.eclipse.rdf4j.repository.sail.SailRepositoryConnection;
 import org.eclipse.rdf4j.repository.sparql.federation.SPARQLServiceResolver;
+import org.eclipse.rdf4j.rio.helpers.NTriplesUtil;
 import org.eclipse.rdf4j.sail.NotifyingSailConnection;
 import org.eclipse.rdf4j.sail.SailException;
 import org.eclipse.rdf4j.sail.evaluation.TupleFunctionEvaluationMode;
@@ -249,6 +259,35 @@ public class LuceneSail extends NotifyingSailWrapper {
 	 */
 	public static final String REINDEX_QUERY_KEY = "reindexQuery";
 
+	/**
+	 * Set the parameter "reindexThreads=&lt;n&gt;" to configure the number of threads that add the resources returned
+	 * by the reindex query to the index. The default is 1.
+	 */
+	@Experimental
+	public static final String REINDEX_THREADS_KEY = "reindexThreads";
+
+	/**
+	 * Set the parameter "reindexCheckpoint=&lt;path&gt;" to make a reindex resumable. The index is committed every
+	 * {@value #REINDEX_CHECKPOINT_INTERVAL} resources, and the number of committed resources and the last committed
+	 * resource are written to this file. A reindex that finds the file skips that number of resources instead of
+	 * clearing the index, which requires the reindex query to return the resources in the same order on every
+	 * evaluation (e.g. ordered by ?s, without changes to the data). If the resource at the checkpoint position differs,
+	 * the reindex fails. The file is deleted when the reindex completes.
+	 */
+	@Experimental
+	public static final String REINDEX_CHECKPOINT_KEY = "reindexCheckpoint";
+
+	/**
+	 * The number of resources after which the progress of a reindex is logged, and a checkpoint is written.
+	 */
+	@Experimental
+	public static final int REINDEX_CHECKPOINT_INTERVAL = 100_000;
+
+	/**
+	 * The number of resources that are added to the index as one batch during a reindex.
+	 */
+	private static final int REINDEX_BATCH_SIZE = 100;
+
 	/**
 	 * Set the parameter "indexedfields=..." to configure a selection of fields to index, and projections of properties.
 	 * Only the configured fields will be indexed. A property P projected to Q will cause the index to contain Q instead
@@ -350,6 +389,29 @@ public class LuceneSail extends NotifyingSailWrapper {
 	 */
 	public static final String FUZZY_PREFIX_LENGTH_KEY = "fuzzyPrefixLength";
 
+	/**
+	 * Set the key "asyncIndexing=true" as sail parameter to index the changes of committed transactions in a background
+	 * thread, instead of in the commit of each transaction. See {@link AsyncIndexer}.
+	 */
+	@Experimental
+	public static final String ASYNC_INDEXING_KEY = "asyncIndexing";
+
+	/**
+	 * Set the key "maxIndexingStaleness=&lt;ms&gt;" as sail parameter to configure the maximum time before the changes
+	 * of a committed transaction are visible to searches when {@link #ASYNC_INDEXING_KEY asynchronous indexing} is
+	 * enabled. Searches and commits wait for the indexer when it lags behind more than this. The default is 1000 ms.
+	 */
+	@Experimental
+	public static final String MAX_INDEXING_STALENESS_KEY = "maxIndexingStaleness";
+
+	/**
+	 * Set the key "indexCommitInterval=&lt;ms&gt;" as sail parameter to configure the minimum time between two commits
+	 * of the index when {@link #ASYNC_INDEXING_KEY asynchronous indexing} is enabled. Changes are visible to searches
+	 * before they are committed. The default is 1000 ms.
+	 */
+	@Experimental
+	public static final String INDEX_COMMIT_INTERVAL_KEY = "indexCommitInterval";
+
 	/**
 	 * The LuceneIndex holding the indexed literals.
 	 */
@@ -365,6 +427,10 @@ public class LuceneSail extends NotifyingSailWrapper {
 
 	private volatile TypeBacktraceMode indexBacktraceMode = TypeBacktraceMode.DEFAULT_TYPE_BACKTRACE_MODE;
 
+	private volatile long maxIndexingStaleness = 1000;
+
+	private volatile AsyncIndexer asyncIndexer;
+
 	private TupleFunctionRegistry tupleFunctionRegistry = TupleFunctionRegistry.getInstance();
 
 	private FederatedServiceResolver serviceResolver = new SPARQLServiceResolver();
@@ -401,17 +467,25 @@ public class LuceneSail extends NotifyingSailWrapper {
 		if (closed.compareAndSet(false, true)) {
 			logger.debug("LuceneSail shutdown");
 			try {
-				SearchIndex toShutDownLuceneIndex = luceneIndex;
-				luceneIndex = null;
-				if (toShutDownLuceneIndex != null) {
-					toShutDownLuceneIndex.shutDown();
+				AsyncIndexer toShutDownAsyncIndexer = asyncIndexer;
+				asyncIndexer = null;
+				if (toShutDownAsyncIndexer != null) {
+					toShutDownAsyncIndexer.shutDown();
 				}
-			} catch (IOException e) {
-				throw new SailException(e);
 			} finally {
-				// ensure that super is also invoked when the LuceneIndex causes an
-				// IOException
-				super.shutDown();
+				try {
+					SearchIndex toShutDownLuceneIndex = luceneIndex;
+					luceneIndex = null;
+					if (toShutDownLuceneIndex != null) {
+						toShutDownLuceneIndex.shutDown();
+					}
+				} catch (IOException e) {
+					throw new SailException(e);
+				} finally {
+					// ensure that super is also invoked when the LuceneIndex causes an
+					// IOException
+					super.shutDown();
+				}
 			}
 		}
 	}
@@ -468,9 +542,18 @@ public class LuceneSail extends NotifyingSailWrapper {
 			if (parameters.containsKey(FUZZY_PREFIX_LENGTH_KEY)) {
 				setFuzzyPrefixLength(NumberUtils.toInt(parameters.getProperty(FUZZY_PREFIX_LENGTH_KEY), 0));
 			}
+			if (parameters.containsKey(MAX_INDEXING_STALENESS_KEY)) {
+				setMaxIndexingStaleness(Long.parseLong(parameters.getProperty(MAX_INDEXING_STALENESS_KEY)));
+			}
 			if (luceneIndex == null) {
 				initializeLuceneIndex();
 			}
+			if (Boolean.parseBoolean(parameters.getProperty(ASYNC_INDEXING_KEY))) {
+				AsyncIndexer indexer = new AsyncIndexer(luceneIndex,
+						NumberUtils.toLong(parameters.getProperty(INDEX_COMMIT_INTERVAL_KEY), 1000));
+				indexer.start();
+				asyncIndexer = indexer;
+			}
 		} catch (Exception e) {
 			throw new SailException("Could not initialize LuceneSail: " + e.getMessage(), e);
 		}
@@ -578,6 +661,50 @@ public class LuceneSail extends NotifyingSailWrapper {
 		setParameter(FUZZY_PREFIX_LENGTH_KEY, String.valueOf(fuzzyPrefixLength));
 	}
 
+	/**
+	 * See {@link #ASYNC_INDEXING_KEY} parameter. Must be set before the sail is initialized.
+	 */
+	@Experimental
+	public void setAsyncIndexing(boolean asyncIndexing) {
+		setParameter(ASYNC_INDEXING_KEY, String.valueOf(asyncIndexing));
+	}
+
+	/**
+	 * See {@link #MAX_INDEXING_STALENESS_KEY} parameter.
+	 */
+	@Experimental
+	public long getMaxIndexingStaleness() {
+		return maxIndexingStaleness;
+	}
+
+	/**
+	 * See {@link #MAX_INDEXING_STALENESS_KEY} parameter.
+	 */
+	@Experimental
+	public void setMaxIndexingStaleness(long maxIndexingStaleness) {
+		if (maxIndexingStaleness < 0) {
+			throw new IllegalArgumentException("maxIndexingStaleness must not be negative");
+		}
+		setParameter(MAX_INDEXING_STALENESS_KEY, String.valueOf(maxIndexingStaleness));
+		this.maxIndexingStaleness = maxIndexingStaleness;
+	}
+
+	/**
+	 * See {@link #INDEX_COMMIT_INTERVAL_KEY} parameter. Must be set before the sail is initialized.
+	 */
+	@Experimental
+	public void setIndexCommitInterval(long indexCommitInterval) {
+		setParameter(INDEX_COMMIT_INTERVAL_KEY, String.valueOf(indexCommitInterval));
+	}
+
+	/**
+	 * @return the asynchronous indexer, which exposes the indexing lag, or null if asynchronous indexing is not enabled
+	 */
+	@Experimental
+	public AsyncIndexer getAsyncIndexer() {
+		return asyncIndexer;
+	}
+
 	public TupleFunctionRegistry getTupleFunctionRegistry() {
 		return tupleFunctionRegistry;
 	}
@@ -599,16 +726,42 @@ public class LuceneSail extends NotifyingSailWrapper {
 	/**
 	 * Starts a reindexation process of the whole sail. Basically, this will delete and add all data again, a
 	 * long-lasting process.
+	 * <p>
+	 * The resources returned by the {@link #REINDEX_QUERY_KEY reindex query} are indexed in batches, on
+	 * {@link #REINDEX_THREADS_KEY multiple threads} if configured. If a {@link #REINDEX_CHECKPOINT_KEY checkpoint file}
+	 * is configured, the index is committed periodically and an interrupted reindex resumes after the last committed
+	 * resource.
 	 *
 	 * @throws SailException If the Sail could not be reindex
 	 */
 	public void reindex() throws SailException {
 		try {
-			// clear
-			logger.info("Reindexing sail: clearing...");
-			luceneIndex.clear();
+			AsyncIndexer indexer = asyncIndexer;
+			if (indexer != null) {
+				// the index must not be changed by the indexer while reindexing
+				indexer.awaitIndexing(0);
+			}
+			Path checkpointFile = parameters.containsKey(REINDEX_CHECKPOINT_KEY)
+					? Paths.get(parameters.getProperty(REINDEX_CHECKPOINT_KEY))
+					: null;
+			ReindexCheckpoint checkpoint = readReindexCheckpoint(checkpointFile);
+			if (checkpoint == null) {
+				// clear
+				logger.info("Reindexing sail: clearing...");
+				luceneIndex.clear();
+			} else {
+				logger.info("Reindexing sail: resuming after {} resources ({})...", checkpoint.resources,
+						checkpoint.resource);
+			}
 			logger.info("Reindexing sail: adding...");
 
+			int threads = NumberUtils.toInt(parameters.getProperty(REINDEX_THREADS_KEY), 1);
+			ExecutorService executor = threads > 1 ? Executors.newFixedThreadPool(threads, r -> {
+				Thread t = Executors.defaultThreadFactory().newThread(r);
+				t.setName("LuceneSail reindex " + t.getName());
+				t.setDaemon(true);
+				return t;
+			}) : null;
 			try {
 				luceneIndex.begin();
 				// iterate
@@ -628,12 +781,33 @@ public class LuceneSail extends NotifyingSailWrapper {
 				try (SailRepositoryConnection connection = repo.getConnection()) {
 					TupleQuery query = connection.prepareTupleQuery(QueryLanguage.SPARQL, reindexQuery);
 					try (TupleQueryResult res = query.evaluate()) {
+						ReindexBatches batches = new ReindexBatches(executor, threads, checkpointFile,
+								checkpoint == null ? 0 : checkpoint.resources);
+						long skip = checkpoint == null ? 0 : checkpoint.resources;
+						long skipped = 0;
+						Resource lastSkipped = null;
 						Resource current = null;
 						ValueFactory vf = getValueFactory();
 						List<Statement> statements = new ArrayList<>();
 						while (res.hasNext()) {
 							BindingSet set = res.next();
 							Resource r = (Resource) set.getValue("s");
+							if (skipped < skip || r.equals(lastSkipped)) {
+								// skip the resources that were indexed before the checkpoint
+								if (!r.equals(lastSkipped)) {
+									lastSkipped = r;
+									skipped++;
+								}
+								continue;
+							}
+							if (checkpoint != null) {
+								if (!checkpoint.resource.equals(lastSkipped)) {
+									throw new SailException("Reindex query returned " + lastSkipped
+											+ " at the checkpoint instead of " + checkpoint.resource
+											+ ", the order of the resources has changed");
+								}
+								checkpoint = null;
+							}
 							IRI p = (IRI) set.getValue("p");
 							Value o = set.getValue("o");
 							Resource c = (Resource) set.getValue("c");
@@ -643,12 +817,11 @@ public class LuceneSail extends NotifyingSailWrapper {
 								if (logger.isDebugEnabled()) {
 									logger.debug("reindexing resource " + current);
 								}
-								// commit
-								luceneIndex.addDocuments(current, statements);
+								batches.add(current, statements);
 
 								// re-init
 								current = r;
-								statements.clear();
+								statements = new ArrayList<>();
 							}
 							statements.add(vf.createStatement(r, p, o, c));
 						}
@@ -658,27 +831,159 @@ public class LuceneSail extends NotifyingSailWrapper {
 							if (logger.isDebugEnabled()) {
 								logger.debug("reindexing resource " + current);
 							}
-							// commit
-							luceneIndex.addDocuments(current, statements);
+							batches.add(current, statements);
 						}
+						batches.end();
 					}
 				} finally {
 					repo.shutDown();
 				}
 				// commit the changes
 				luceneIndex.commit();
+				if (checkpointFile != null) {
+					Files.deleteIfExists(checkpointFile);
+				}
 
 				logger.info("Reindexing sail: done.");
 			} catch (Exception e) {
+				if (executor != null) {
+					// the batches that are still running must not be added after the rollback
+					executor.shutdown();
+					executor.awaitTermination(1, TimeUnit.MINUTES);
+				}
 				logger.error("Rolling back", e);
 				luceneIndex.rollback();
 				throw e;
+			} finally {
+				if (executor != null) {
+					executor.shutdown();
+				}
 			}
 		} catch (Exception e) {
 			throw new SailException("Could not reindex LuceneSail: " + e.getMessage(), e);
 		}
 	}
 
+	private ReindexCheckpoint readReindexCheckpoint(Path checkpointFile) throws IOException {
+		if (checkpointFile == null || !Files.exists(checkpointFile)) {
+			return null;
+		}
+		String checkpoint = new String(Files.readAllBytes(checkpointFile), StandardCharsets.UTF_8).trim();
+		if (checkpoint.isEmpty()) {
+			return null;
+		}
+		int separator = checkpoint.indexOf(' ');
+		if (separator < 0) {
+			throw new SailException("Invalid reindex checkpoint: " + checkpoint);
+		}
+		return new ReindexCheckpoint(Long.parseLong(checkpoint.substring(0, separator)),
+				NTriplesUtil.parseResource(checkpoint.substring(separator + 1), getValueFactory()));
+	}
+
+	/**
+	 * The number of resources that were committed by an interrupted reindex, and the last of these resources.
+	 */
+	private static class ReindexCheckpoint {
+
+		private final long resources;
+
+		private final Resource resource;
+
+		ReindexCheckpoint(long resources, Resource resource) {
+			this.resources = resources;
+			this.resource = resource;
+		}
+	}
+
+	/**
+	 * Collects the resources of a reindex in batches, and adds them to the index on the calling thread or on the
+	 * threads of an executor.
+	 */
+	private class ReindexBatches {
+
+		private final ExecutorService executor;
+
+		private final int maxRunning;
+
+		private final Path checkpointFile;
+
+		private final List<Future<?>> running = new ArrayList<>();
+
+		private Map<Resource, List<Statement>> batch = new LinkedHashMap<>();
+
+		private long resources;
+
+		ReindexBatches(ExecutorService executor, int threads, Path checkpointFile, long resources) {
+			this.executor = executor;
+			// keep the threads busy, but bound the number of batches in memory
+			this.maxRunning = 2 * threads;
+			this.checkpointFile = checkpointFile;
+			this.resources = resources;
+		}
+
+		void add(Resource subject, List<Statement> statements) throws Exception {
+			batch.put(subject, statements);
+			resources++;
+			if (batch.size() >= REINDEX_BATCH_SIZE) {
+				flush();
+			}
+			if (resources % REINDEX_CHECKPOINT_INTERVAL == 0) {
+				if (checkpointFile != null) {
+					flush();
+					awaitRunning();
+					luceneIndex.commit();
+					Files.write(checkpointFile, (resources + " " + NTriplesUtil.toNTriplesString(subject))
+							.getBytes(StandardCharsets.UTF_8));
+					luceneIndex.begin();
+				}
+				logger.info("Reindexing sail: {} resources indexed", resources);
+			}
+		}
+
+		void end() throws Exception {
+			flush();
+			awaitRunning();
+			logger.info("Reindexing sail: {} resources indexed", resources);
+		}
+
+		private void flush() throws Exception {
+			if (batch.isEmpty()) {
+				return;
+			}
+			Map<Resource, List<Statement>> toIndex = batch;
+			batch = new LinkedHashMap<>();
+			if (executor == null) {
+				luceneIndex.addDocuments(toIndex);
+				return;
+			}
+			if (running.size() >= maxRunning) {
+				await(running.remove(0));
+			}
+			running.add(executor.submit(() -> {
+				luceneIndex.addDocuments(toIndex);
+				return null;
+			}));
+		}
+
+		private void awaitRunning() throws Exception {
+			while (!running.isEmpty()) {
+				await(running.remove(0));
+			}
+		}
+
+		private void await(Future<?> future) throws Exception {
+			try {
+				future.get();
+			} catch (ExecutionException e) {
+				Throwable cause = e.getCause();
+				if (cause instanceof Exception) {
+					throw (Exception) cause;
+				}
+				throw new SailException(cause);
+			}
+		}
+	}
+
 	/**
 	 * Sets a filter which determines whether a statement should be considered for indexing when performing complete
 	 * reindexing.
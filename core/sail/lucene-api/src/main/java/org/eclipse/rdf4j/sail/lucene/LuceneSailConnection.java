@@ -96,6 +96,11 @@ public class LuceneSailConnection extends NotifyingSailConnectionWrapper {
 
 	private final LuceneSail sail;
 
+	/**
+	 * the indexer that the operations are handed to on commit, null if operations are indexed synchronously
+	 */
+	private final AsyncIndexer asyncIndexer;
+
 	/**
 	 * the buffer that collects operations
 	 */
@@ -154,6 +159,7 @@ public class LuceneSailConnection extends NotifyingSailConnectionWrapper {
 		super(wrappedConnection);
 		this.luceneIndex = luceneIndex;
 		this.sail = sail;
+		this.asyncIndexer = sail.getAsyncIndexer();
 		this.buffer = new LuceneSailBuffer(luceneIndex.isTypeFilteringEnabled());
 
 		if (sail.getEvaluationMode() == TupleFunctionEvaluationMode.SERVICE) {
@@ -208,6 +214,10 @@ public class LuceneSailConnection extends NotifyingSailConnectionWrapper {
 	public void begin() throws SailException {
 		super.begin();
 		buffer.reset();
+		if (asyncIndexer != null) {
+			// the index is only changed by the indexer
+			return;
+		}
 		try {
 			luceneIndex.begin();
 		} catch (IOException e) {
@@ -219,6 +229,11 @@ public class LuceneSailConnection extends NotifyingSailConnectionWrapper {
 	public void commit() throws SailException {
 		super.commit();
 
+		if (asyncIndexer != null) {
+			commitAsync();
+			return;
+		}
+
 		logger.debug("Committing Lucene transaction with {} operations.", buffer.operations().size());
 		try {
 			// preprocess buffer
@@ -252,6 +267,30 @@ public class LuceneSailConnection extends NotifyingSailConnectionWrapper {
 		}
 	}
 
+	/**
+	 * Hands the operations of the transaction to the asynchronous indexer. Operations that depend on the data of the
+	 * underlying sail are completed before, as the indexer has no access to it.
+	 */
+	private void commitAsync() throws SailException {
+		try {
+			if (buffer.operations().isEmpty()) {
+				return;
+			}
+			logger.debug("Submitting Lucene transaction with {} operations.", buffer.operations().size());
+			buffer.optimize();
+			for (Operation op : buffer.operations()) {
+				if (op instanceof AddRemoveOperation) {
+					completeAddRemoveOperationWithType((AddRemoveOperation) op);
+				}
+			}
+			// bound the lag of the indexer
+			asyncIndexer.awaitIndexing(sail.getMaxIndexingStaleness());
+			asyncIndexer.submit(buffer.operations());
+		} finally {
+			buffer.reset();
+		}
+	}
+
 	private void addRemoveStatements(AddRemoveOperation op) throws IOException, SailException {
 		luceneIndex.begin();
 		try {
@@ -397,6 +436,11 @@ public class LuceneSailConnection extends NotifyingSailConnectionWrapper {
 	@Override
 	public synchronized CloseableIteration<? extends BindingSet, QueryEvaluationException> evaluate(TupleExpr tupleExpr,
 			Dataset dataset, BindingSet bindings, boolean includeInferred) throws SailException {
+		if (asyncIndexer != null) {
+			// bound the staleness of the index
+			asyncIndexer.awaitIndexing(sail.getMaxIndexingStaleness());
+		}
+
 		QueryContext qctx = new QueryContext();
 		SearchIndexQueryContextInitializer.init(qctx, luceneIndex);
 
@@ -518,6 +562,9 @@ public class LuceneSailConnection extends NotifyingSailConnectionWrapper {
 	public void rollback() throws SailException {
 		super.rollback();
 		buffer.reset();
+		if (asyncIndexer != null) {
+			return;
+		}
 		try {
 			luceneIndex.rollback();
 		} catch (IOException e) {
@@ -17,6 +17,7 @@ import java.util.Map;
 import java.util.Properties;
 import java.util.Set;
 
+import org.eclipse.rdf4j.common.annotation.Experimental;
 import org.eclipse.rdf4j.model.IRI;
 import org.eclipse.rdf4j.model.Literal;
 import org.eclipse.rdf4j.model.Resource;
@@ -101,6 +102,18 @@ public interface SearchIndex {
 	 */
 	void commit() throws IOException;
 
+	/**
+	 * Makes the changes done since the last commit visible to searches, without necessarily making them durable. Used
+	 * by the asynchronous indexer of the {@link LuceneSail} to publish changes between (less frequent) commits. The
+	 * default implementation commits.
+	 *
+	 * @throws IOException
+	 */
+	@Experimental
+	default void refresh() throws IOException {
+		commit();
+	}
+
 	void rollback() throws IOException;
 
 	/**
@@ -151,6 +164,22 @@ public interface SearchIndex {
 	 */
 	void addDocuments(Resource subject, List<Statement> statements) throws IOException;
 
+	/**
+	 * Add complete Lucene Documents for many resources, see {@link #addDocuments(Resource, List)}. This may be called
+	 * concurrently from multiple threads within the same begin-commit-rollback block.
+	 *
+	 * @param statementsBySubject the statements that make up each resource
+	 * @throws IOException
+	 */
+	@Experimental
+	default void addDocuments(Map<Resource, List<Statement>> statementsBySubject) throws IOException {
+		synchronized (this) {
+			for (Map.Entry<Resource, List<Statement>> entry : statementsBySubject.entrySet()) {
+				addDocuments(entry.getKey(), entry.getValue());
+			}
+		}
+	}
+
 	/**
 	 * Clears the indexes.
 	 *
@@ -431,7 +431,8 @@ public class LuceneIndex extends AbstractLuceneIndex {
 	}
 
 	@Override
-	protected synchronized void addDocument(SearchDocument doc) throws IOException {
+	protected void addDocument(SearchDocument doc) throws IOException {
+		// the IndexWriter is thread-safe, documents are analyzed concurrently by a parallel reindex
 		getIndexWriter().addDocument(((LuceneDocument) doc).getDocument());
 	}
 
@@ -712,6 +713,18 @@ public class LuceneIndex extends AbstractLuceneIndex {
 		invalidateReaders();
 	}
 
+	/**
+	 * Makes the changes done since the last commit visible to searches by opening a near-real-time reader on the
+	 * {@link IndexWriter}, without committing them.
+	 */
+	@Override
+	public synchronized void refresh() throws IOException {
+		IndexWriter writer = getIndexWriter();
+		// the old IndexReaders/Searchers are outdated
+		invalidateReaders();
+		currentMonitor = new ReaderMonitor(this, writer);
+	}
+
 	@Override
 	public synchronized void rollback() throws IOException {
 		getIndexWriter().rollback();
@@ -14,6 +14,7 @@ import java.io.IOException;
 
 import org.apache.lucene.index.DirectoryReader;
 import org.apache.lucene.index.IndexReader;
+import org.apache.lucene.index.IndexWriter;
 import org.apache.lucene.search.IndexSearcher;
 import org.apache.lucene.store.Directory;
 import org.eclipse.rdf4j.sail.lucene.AbstractReaderMonitor;
@@ -49,6 +50,23 @@ public class ReaderMonitor extends AbstractReaderMonitor {
 		}
 	}
 
+	/**
+	 * Creates a monitor on a near-real-time reader, which includes the uncommitted changes of the supplied
+	 * {@link IndexWriter}. If an exception occurs when creating the reader it will be thrown on getIndexSearcher.
+	 *
+	 * @param index
+	 * @param writer the IndexWriter to open the reader on
+	 */
+	public ReaderMonitor(final LuceneIndex index, IndexWriter writer) {
+		super(index);
+		try {
+			IndexReader indexReader = DirectoryReader.open(writer);
+			indexSearcher = new IndexSearcher(indexReader);
+		} catch (IOException e) {
+			indexSearcherCreateException = e;
+		}
+	}
+
 	/**
 	 * @throws IOException
 	 */
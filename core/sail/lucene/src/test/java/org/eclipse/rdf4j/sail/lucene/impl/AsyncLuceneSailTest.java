@@ -0,0 +1,59 @@
+/*******************************************************************************
+ * Copyright (c) 2023 Eclipse RDF4J contributors.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Distribution License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/org/documents/edl-v10.php.
+ *
+ * SPDX-License-Identifier: BSD-3-Clause
+ *******************************************************************************/
+package org.eclipse.rdf4j.sail.lucene.impl;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.IOException;
+
+import org.apache.lucene.analysis.standard.StandardAnalyzer;
+import org.apache.lucene.store.RAMDirectory;
+import org.eclipse.rdf4j.sail.lucene.AsyncIndexer;
+import org.eclipse.rdf4j.sail.lucene.LuceneSail;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Runs the generic tests with asynchronous indexing. The maximum staleness is 0, so every search waits for the changes
+ * of all transactions committed before.
+ */
+public class AsyncLuceneSailTest extends AbstractGenericLuceneTest {
+
+	@Override
+	protected void configure(LuceneSail sail) throws IOException {
+		sail.setLuceneIndex(new LuceneIndex(new RAMDirectory(), new StandardAnalyzer()));
+		sail.setAsyncIndexing(true);
+		sail.setMaxIndexingStaleness(0);
+		sail.setIndexCommitInterval(100);
+	}
+
+	@Test
+	public void testIndexingLag() throws Exception {
+		AsyncIndexer indexer = sail.getAsyncIndexer();
+		assertNotNull(indexer);
+
+		for (int i = 0; i < 10; i++) {
+			connection.begin();
+			connection.add(SUBJECT_4, PREDICATE_1, vf.createLiteral("sfourpone" + i));
+			connection.commit();
+		}
+		indexer.awaitIndexing(0);
+
+		assertEquals(0, indexer.getPendingTransactions());
+		assertEquals(0, indexer.getIndexingLag());
+		assertEquals(0, indexer.getFailedBatches());
+		// the transaction of the setup and the transactions above
+		assertEquals(11, indexer.getIndexedTransactions());
+		assertTrue(indexer.getIndexedBatches() <= indexer.getIndexedTransactions());
+		assertQueryResult("sfourpone9", PREDICATE_1, SUBJECT_4);
+	}
+}
@@ -0,0 +1,127 @@
+/*******************************************************************************
+ * Copyright (c) 2023 Eclipse RDF4J contributors.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Distribution License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/org/documents/edl-v10.php.
+ *
+ * SPDX-License-Identifier: BSD-3-Clause
+ *******************************************************************************/
+package org.eclipse.rdf4j.sail.lucene.impl;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import org.apache.lucene.analysis.standard.StandardAnalyzer;
+import org.apache.lucene.store.RAMDirectory;
+import org.eclipse.rdf4j.model.ValueFactory;
+import org.eclipse.rdf4j.model.impl.SimpleValueFactory;
+import org.eclipse.rdf4j.model.vocabulary.RDFS;
+import org.eclipse.rdf4j.repository.sail.SailRepository;
+import org.eclipse.rdf4j.repository.sail.SailRepositoryConnection;
+import org.eclipse.rdf4j.sail.SailException;
+import org.eclipse.rdf4j.sail.lucene.LuceneSail;
+import org.eclipse.rdf4j.sail.memory.MemoryStore;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+public class LuceneSailReindexTest {
+
+	private static final ValueFactory vf = SimpleValueFactory.getInstance();
+
+	private static final int RESOURCES = 500;
+
+	@TempDir
+	Path tempDir;
+
+	private LuceneIndex index;
+
+	private LuceneSail sail;
+
+	private SailRepository repository;
+
+	@BeforeEach
+	public void setUp() throws Exception {
+		index = new LuceneIndex(new RAMDirectory(), new StandardAnalyzer());
+		sail = new LuceneSail();
+		sail.setLuceneIndex(index);
+		sail.setBaseSail(new MemoryStore());
+		repository = new SailRepository(sail);
+		try (SailRepositoryConnection connection = repository.getConnection()) {
+			connection.begin();
+			for (int i = 0; i < RESOURCES; i++) {
+				connection.add(vf.createIRI(String.format("urn:subject%03d", i)), RDFS.LABEL,
+						vf.createLiteral("label " + i));
+				connection.add(vf.createIRI(String.format("urn:subject%03d", i)), RDFS.COMMENT,
+						vf.createLiteral("comment " + i));
+			}
+			connection.commit();
+		}
+	}
+
+	@AfterEach
+	public void tearDown() {
+		repository.shutDown();
+	}
+
+	@Test
+	public void testParallelReindex() throws Exception {
+		assertEquals(RESOURCES, index.getIndexReader().numDocs());
+		sail.setParameter(LuceneSail.REINDEX_THREADS_KEY, "4");
+		sail.reindex();
+		assertEquals(RESOURCES, index.getIndexReader().numDocs());
+	}
+
+	@Test
+	public void testResumeFromCheckpoint() throws Exception {
+		Path checkpoint = tempDir.resolve("reindex.checkpoint");
+		Files.write(checkpoint, "250 <urn:subject249>".getBytes(StandardCharsets.UTF_8));
+		index.clear();
+		sail.setParameter(LuceneSail.REINDEX_THREADS_KEY, "2");
+		sail.setParameter(LuceneSail.REINDEX_CHECKPOINT_KEY, checkpoint.toString());
+
+		// the resources up to the checkpoint are not indexed again
+		sail.reindex();
+		assertEquals(250, index.getIndexReader().numDocs());
+		assertFalse(Files.exists(checkpoint));
+
+		// without a checkpoint, the index is rebuilt completely
+		sail.reindex();
+		assertEquals(RESOURCES, index.getIndexReader().numDocs());
+	}
+
+	@Test
+	public void testResumeFromCheckpointWithCustomOrder() throws Exception {
+		Path checkpoint = tempDir.resolve("reindex.checkpoint");
+		Files.write(checkpoint, "100 <urn:subject400>".getBytes(StandardCharsets.UTF_8));
+		index.clear();
+		sail.setReindexQuery("SELECT ?s ?p ?o ?c WHERE { ?s ?p ?o } ORDER BY DESC(?s)");
+		sail.setParameter(LuceneSail.REINDEX_CHECKPOINT_KEY, checkpoint.toString());
+
+		// the resources are skipped by their position in the result of the reindex query
+		sail.reindex();
+		assertEquals(400, index.getIndexReader().numDocs());
+		assertTrue(index.getDocuments(vf.createIRI("urn:subject000")).size() > 0);
+		assertTrue(index.getDocuments(vf.createIRI("urn:subject450")).isEmpty());
+	}
+
+	@Test
+	public void testResumeFromCheckpointWithChangedOrder() throws Exception {
+		Path checkpoint = tempDir.resolve("reindex.checkpoint");
+		Files.write(checkpoint, "100 <urn:subject400>".getBytes(StandardCharsets.UTF_8));
+		sail.setParameter(LuceneSail.REINDEX_CHECKPOINT_KEY, checkpoint.toString());
+
+		// the 100th resource in subject order is urn:subject099
+		assertThrows(SailException.class, () -> sail.reindex());
+		assertTrue(Files.exists(checkpoint));
+	}
+}
@@ -0,0 +1,398 @@
+/*******************************************************************************
+ * Copyright (c) 2023 Eclipse RDF4J contributors.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Distribution License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/org/documents/edl-v10.php.
+ *
+ * SPDX-License-Identifier: BSD-3-Clause
+ *******************************************************************************/
+package org.eclipse.rdf4j.sail.memory;
+
+import java.io.BufferedInputStream;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.EOFException;
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+import java.util.zip.CRC32;
+
+import org.eclipse.rdf4j.model.Statement;
+import org.eclipse.rdf4j.model.ValueFactory;
+import org.eclipse.rdf4j.sail.SailException;
+import org.eclipse.rdf4j.sail.base.SailSink;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * An append-only log of the changes that were made to a {@link MemoryStore} since its data file was last written. Each
+ * flushed {@link SailSink} appends one entry with the statements it actually added and removed, so that replaying the
+ * entries on top of the data file restores the store. Entries are framed by their length and a checksum, an incomplete
+ * entry at the end of the log is ignored.
+ * <p>
+ * On a checkpoint the log is moved aside to a checkpoint file and a new log is started, the checkpoint file is deleted
+ * once the data file has been written. Because the entries record the effect of the changes instead of the operations,
+ * replaying the checkpoint file on a data file that already contains its changes gives the same result.
+ */
+class ChangeLog {
+
+	private static final Logger logger = LoggerFactory.getLogger(ChangeLog.class);
+
+	static final String LOG_FILE_NAME = "memorystore.log";
+
+	static final String CHECKPOINT_FILE_NAME = "memorystore.log.checkpoint";
+
+	/**
+	 * Magic number for Binary Memory Store Logs
+	 */
+	private static final byte[] MAGIC_NUMBER = new byte[] { 'B', 'M', 'S', 'L' };
+
+	private static final int VERSION = 1;
+
+	private static final int HEADER_SIZE = MAGIC_NUMBER.length + 1;
+
+	/**
+	 * The minimum size of the log before a checkpoint is made.
+	 */
+	private static final long MIN_CHECKPOINT_SIZE = 4 * 1024 * 1024;
+
+	/**
+	 * The log is checkpointed when it is larger than this factor times the size of the (compressed) data file, so that
+	 * the cost of writing the data file is amortized over the changes that were logged.
+	 */
+	private static final int CHECKPOINT_FACTOR = 8;
+
+	private final File logFile;
+
+	private final File checkpointFile;
+
+	private final ValueFactory vf;
+
+	private FileChannel channel;
+
+	private boolean forced = true;
+
+	private IOException failure;
+
+	ChangeLog(File dataDir, ValueFactory vf) {
+		this.logFile = new File(dataDir, LOG_FILE_NAME);
+		this.checkpointFile = new File(dataDir, CHECKPOINT_FILE_NAME);
+		this.vf = vf;
+	}
+
+	/**
+	 * @return <var>true</var> if the directory contains a change log that was not checkpointed yet
+	 */
+	static boolean exists(File dataDir) {
+		return new File(dataDir, LOG_FILE_NAME).exists() || new File(dataDir, CHECKPOINT_FILE_NAME).exists();
+	}
+
+	/**
+	 * Applies the logged changes to the sinks.
+	 *
+	 * @param writable whether the log is opened for appending afterwards, otherwise the files are not modified
+	 */
+	synchronized void open(SailSink explicit, SailSink inferred, boolean writable) throws IOException, SailException {
+		if (checkpointFile.exists()) {
+			replay(checkpointFile, explicit, inferred, writable);
+		}
+		if (logFile.exists()) {
+			replay(logFile, explicit, inferred, writable);
+		}
+		if (writable) {
+			channel = openLog(logFile);
+		}
+	}
+
+	/**
+	 * Creates a new entry to record the changes of a sink in.
+	 */
+	Entry newEntry() {
+		return new Entry(new FileIO(vf));
+	}
+
+	/**
+	 * Appends the entry to the log, without forcing it to disk. If the entry can't be written, the log is marked as
+	 * failed and all further entries are ignored until the next checkpoint.
+	 */
+	synchronized void append(Entry entry) {
+		if (failure != null) {
+			return;
+		}
+		try {
+			byte[] payload = entry.toByteArray();
+			CRC32 crc = new CRC32();
+			crc.update(payload);
+
+			ByteBuffer buffer = ByteBuffer.allocate(8 + payload.length);
+			buffer.putInt(payload.length);
+			buffer.putInt((int) crc.getValue());
+			buffer.put(payload);
+			buffer.flip();
+			while (buffer.hasRemaining()) {
+				channel.write(buffer);
+			}
+			forced = false;
+		} catch (IOException e) {
+			logger.error("Failed to append to change log", e);
+			failure = e;
+		}
+	}
+
+	/**
+	 * @return <var>true</var> if entries could not be written since the last checkpoint
+	 */
+	synchronized boolean hasFailed() {
+		return failure != null;
+	}
+
+	/**
+	 * Forces the appended entries to disk.
+	 */
+	synchronized void force() throws IOException {
+		if (failure != null) {
+			throw failure;
+		}
+		if (!forced) {
+			channel.force(false);
+			forced = true;
+		}
+	}
+
+	/**
+	 * @return the size of the log and of the checkpoint file
+	 */
+	synchronized long size() {
+		return Math.max(0, logFile.length() - HEADER_SIZE) + Math.max(0, checkpointFile.length() - HEADER_SIZE);
+	}
+
+	/**
+	 * @return <var>true</var> if the log is large enough, relative to the data file, to be checkpointed
+	 */
+	synchronized boolean needsCheckpoint(File dataFile) {
+		long size = size();
+		return size > MIN_CHECKPOINT_SIZE && size > CHECKPOINT_FACTOR * dataFile.length();
+	}
+
+	/**
+	 * Moves the current log to the checkpoint file and starts a new log. Must be called while holding the lock on this
+	 * log, at the same point in time as the snapshot of the store that will be written to the data file is taken.
+	 */
+	synchronized void startCheckpoint() throws IOException {
+		if (channel != null) {
+			channel.force(false);
+			channel.close();
+			channel = null;
+		}
+
+		if (checkpointFile.exists()) {
+			// a previous checkpoint failed, keep its entries
+			appendToCheckpoint();
+		} else if (logFile.exists()) {
+			Files.move(logFile.toPath(), checkpointFile.toPath());
+		}
+
+		channel = openLog(logFile);
+		forced = true;
+		failure = null;
+	}
+
+	private void appendToCheckpoint() throws IOException {
+		if (logFile.exists()) {
+			try (FileChannel checkpoint = FileChannel.open(checkpointFile.toPath(), StandardOpenOption.WRITE,
+					StandardOpenOption.APPEND);
+					FileChannel log = FileChannel.open(logFile.toPath(), StandardOpenOption.READ)) {
+				long position = HEADER_SIZE;
+				long size = log.size();
+				while (position < size) {
+					position += log.transferTo(position, size - position, checkpoint);
+				}
+				checkpoint.force(false);
+			}
+			Files.delete(logFile.toPath());
+		}
+	}
+
+	/**
+	 * Deletes the checkpoint file after the data file was written.
+	 */
+	synchronized void finishCheckpoint() throws IOException {
+		Files.deleteIfExists(checkpointFile.toPath());
+	}
+
+	/**
+	 * Marks the log as failed after the data file could not be written, so that the next checkpoint is not skipped.
+	 */
+	synchronized void failCheckpoint(IOException e) {
+		failure = e;
+	}
+
+	synchronized void close() throws IOException {
+		if (channel != null) {
+			try {
+				if (failure == null) {
+					channel.force(false);
+				}
+			} finally {
+				channel.close();
+				channel = null;
+			}
+		}
+	}
+
+	/**
+	 * Closes the log and deletes its files.
+	 */
+	synchronized void delete() throws IOException {
+		close();
+		Files.deleteIfExists(logFile.toPath());
+		Files.deleteIfExists(checkpointFile.toPath());
+	}
+
+	private void replay(File file, SailSink explicit, SailSink inferred, boolean writable)
+			throws IOException, SailException {
+		logger.debug("Replaying change log {}...", file);
+		long position = 0;
+		int entries = 0;
+		// an incomplete header means that the log is empty
+		if (file.length() >= HEADER_SIZE) {
+			try (InputStream in = new BufferedInputStream(Files.newInputStream(file.toPath()));
+					DataInputStream dataIn = new DataInputStream(in)) {
+				byte[] magicNumber = dataIn.readNBytes(MAGIC_NUMBER.length);
+				if (!Arrays.equals(magicNumber, MAGIC_NUMBER)) {
+					throw new IOException("File is not a binary MemoryStore log file: " + file);
+				}
+				int version = dataIn.read();
+				if (version != VERSION) {
+					throw new IOException("Incompatible change log version: " + version);
+				}
+				position = HEADER_SIZE;
+
+				while (true) {
+					byte[] payload;
+					try {
+						int length = dataIn.readInt();
+						int checksum = dataIn.readInt();
+						if (length < 0) {
+							break;
+						}
+						payload = dataIn.readNBytes(length);
+						if (payload.length < length) {
+							break;
+						}
+						CRC32 crc = new CRC32();
+						crc.update(payload);
+						if ((int) crc.getValue() != checksum) {
+							break;
+						}
+					} catch (EOFException e) {
+						break;
+					}
+
+					new FileIO(vf).readChanges(new DataInputStream(new ByteArrayInputStream(payload)), explicit,
+							inferred);
+					position += 8 + payload.length;
+					entries++;
+				}
+			}
+		}
+
+		if (writable && position < file.length()) {
+			// an entry was not written completely, it was never committed
+			logger.warn("Ignoring incomplete entry at the end of change log {}", file);
+			try (FileChannel truncate = FileChannel.open(file.toPath(), StandardOpenOption.WRITE)) {
+				truncate.truncate(position);
+				truncate.force(false);
+			}
+		}
+		logger.debug("Replayed {} entries of change log {}", entries, file);
+	}
+
+	private static FileChannel openLog(File file) throws IOException {
+		FileChannel channel = FileChannel.open(file.toPath(), StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+				StandardOpenOption.APPEND);
+		if (channel.size() == 0) {
+			ByteBuffer header = ByteBuffer.allocate(HEADER_SIZE);
+			header.put(MAGIC_NUMBER);
+			header.put((byte) VERSION);
+			header.flip();
+			while (header.hasRemaining()) {
+				channel.write(header);
+			}
+			channel.force(false);
+		}
+		return channel;
+	}
+
+	/**
+	 * The changes of a single flushed {@link SailSink}.
+	 */
+	static class Entry {
+
+		private final FileIO fileIO;
+
+		private final ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+
+		private final DataOutputStream dataOut = new DataOutputStream(bytes);
+
+		private Entry(FileIO fileIO) {
+			this.fileIO = fileIO;
+		}
+
+		void statementAdded(Statement st, boolean explicit) {
+			try {
+				fileIO.writeStatementAdded(st, explicit, dataOut);
+			} catch (IOException e) {
+				throw new UncheckedIOException(e);
+			}
+		}
+
+		void statementRemoved(Statement st, boolean explicit) {
+			try {
+				fileIO.writeStatementRemoved(st, explicit, dataOut);
+			} catch (IOException e) {
+				throw new UncheckedIOException(e);
+			}
+		}
+
+		void namespaceSet(String prefix, String name) {
+			try {
+				fileIO.writeNamespace(prefix, name, dataOut);
+			} catch (IOException e) {
+				throw new UncheckedIOException(e);
+			}
+		}
+
+		void namespaceRemoved(String prefix) {
+			try {
+				fileIO.writeNamespaceRemoved(prefix, dataOut);
+			} catch (IOException e) {
+				throw new UncheckedIOException(e);
+			}
+		}
+
+		void namespacesCleared() {
+			try {
+				fileIO.writeNamespacesCleared(dataOut);
+			} catch (IOException e) {
+				throw new UncheckedIOException(e);
+			}
+		}
+
+		private byte[] toByteArray() throws IOException {
+			dataOut.writeByte(FileIO.EOF_MARKER);
+			dataOut.flush();
+			return bytes.toByteArray();
+		}
+	}
+}
@@ -42,9 +42,6 @@ import org.eclipse.rdf4j.rio.helpers.RDFStarUtil;
 import org.eclipse.rdf4j.sail.SailException;
 import org.eclipse.rdf4j.sail.base.SailDataset;
 import org.eclipse.rdf4j.sail.base.SailSink;
-import org.eclipse.rdf4j.sail.memory.model.MemIRI;
-import org.eclipse.rdf4j.sail.memory.model.MemResource;
-import org.eclipse.rdf4j.sail.memory.model.MemValue;
 
 /**
  * Functionality to read and write MemoryStore to/from a file.
@@ -94,6 +91,19 @@ class FileIO {
 
 	public static final int RDFSTAR_TRIPLE_MARKER = 11;
 
+	/* RECORD TYPES OF THE CHANGE LOG */
+	public static final int NAMESPACE_REMOVED_MARKER = 12;
+
+	public static final int NAMESPACES_CLEARED_MARKER = 13;
+
+	public static final int EXPL_TRIPLE_REMOVED_MARKER = 14;
+
+	public static final int EXPL_QUAD_REMOVED_MARKER = 15;
+
+	public static final int INF_TRIPLE_REMOVED_MARKER = 16;
+
+	public static final int INF_QUAD_REMOVED_MARKER = 17;
+
 	public static final int EOF_MARKER = 127;
 
 	/*-----------*
@@ -199,6 +209,96 @@ class FileIO {
 		}
 	}
 
+	/**
+	 * Reads the change records of a {@link ChangeLog} entry up to the {@link #EOF_MARKER} and applies them to the
+	 * sinks.
+	 */
+	public synchronized void readChanges(DataInputStream dataIn, SailSink explicit, SailSink inferred)
+			throws IOException, SailException {
+		formatVersion = BMSF_VERSION;
+
+		int recordTypeMarker;
+		while ((recordTypeMarker = dataIn.readByte()) != EOF_MARKER) {
+			switch (recordTypeMarker) {
+			case NAMESPACE_MARKER:
+				readNamespace(dataIn, explicit);
+				break;
+			case NAMESPACE_REMOVED_MARKER:
+				explicit.removeNamespace(readString(dataIn));
+				break;
+			case NAMESPACES_CLEARED_MARKER:
+				explicit.clearNamespaces();
+				break;
+			case EXPL_TRIPLE_MARKER:
+				readStatement(false, true, dataIn, explicit, inferred);
+				break;
+			case EXPL_QUAD_MARKER:
+				readStatement(true, true, dataIn, explicit, inferred);
+				break;
+			case INF_TRIPLE_MARKER:
+				readStatement(false, false, dataIn, explicit, inferred);
+				break;
+			case INF_QUAD_MARKER:
+				readStatement(true, false, dataIn, explicit, inferred);
+				break;
+			case EXPL_TRIPLE_REMOVED_MARKER:
+				readRemovedStatement(false, dataIn, explicit);
+				break;
+			case EXPL_QUAD_REMOVED_MARKER:
+				readRemovedStatement(true, dataIn, explicit);
+				break;
+			case INF_TRIPLE_REMOVED_MARKER:
+				readRemovedStatement(false, dataIn, inferred);
+				break;
+			case INF_QUAD_REMOVED_MARKER:
+				readRemovedStatement(true, dataIn, inferred);
+				break;
+			default:
+				throw new IOException("Invalid record type marker: " + recordTypeMarker);
+			}
+		}
+	}
+
+	/**
+	 * Writes a change record for a statement that was added to the store.
+	 */
+	public synchronized void writeStatementAdded(Statement st, boolean explicit, DataOutputStream dataOut)
+			throws IOException {
+		if (explicit) {
+			writeStatement(st, EXPL_TRIPLE_MARKER, EXPL_QUAD_MARKER, dataOut);
+		} else {
+			writeStatement(st, INF_TRIPLE_MARKER, INF_QUAD_MARKER, dataOut);
+		}
+	}
+
+	/**
+	 * Writes a change record for a statement that was removed from the store.
+	 */
+	public synchronized void writeStatementRemoved(Statement st, boolean explicit, DataOutputStream dataOut)
+			throws IOException {
+		if (explicit) {
+			writeStatement(st, EXPL_TRIPLE_REMOVED_MARKER, EXPL_QUAD_REMOVED_MARKER, dataOut);
+		} else {
+			writeStatement(st, INF_TRIPLE_REMOVED_MARKER, INF_QUAD_REMOVED_MARKER, dataOut);
+		}
+	}
+
+	public synchronized void writeNamespace(String prefix, String name, DataOutputStream dataOut)
+			throws IOException {
+		dataOut.writeByte(NAMESPACE_MARKER);
+		writeString(prefix, dataOut);
+		writeString(name, dataOut);
+	}
+
+	public synchronized void writeNamespaceRemoved(String prefix, DataOutputStream dataOut) throws IOException {
+		dataOut.writeByte(NAMESPACE_REMOVED_MARKER);
+		writeString(prefix, dataOut);
+	}
+
+	public synchronized void writeNamespacesCleared(DataOutputStream dataOut) throws IOException {
+		dataOut.writeByte(NAMESPACES_CLEARED_MARKER);
+	}
+
 	private void writeNamespaces(SailDataset store, DataOutputStream dataOut) throws IOException, SailException {
 		try (CloseableIteration<? extends Namespace, SailException> iter = store.getNamespaces()) {
 			while (iter.hasNext()) {
@@ -234,40 +334,58 @@ class FileIO {
 			int quadMarker, DataOutputStream dataOut) throws IOException, SailException {
 		try (stIter) {
 			while (stIter.hasNext()) {
-				Statement st = stIter.next();
-				Resource context = st.getContext();
-				if (context == null) {
-					dataOut.writeByte(tripleMarker);
-				} else {
-					dataOut.writeByte(quadMarker);
-				}
-				writeValue(st.getSubject(), dataOut);
-				writeValue(st.getPredicate(), dataOut);
-				writeValue(st.getObject(), dataOut);
-				if (context != null) {
-					writeValue(context, dataOut);
-				}
+				writeStatement(stIter.next(), tripleMarker, quadMarker, dataOut);
 			}
 		}
 	}
 
+	private void writeStatement(Statement st, int tripleMarker, int quadMarker, DataOutputStream dataOut)
+			throws IOException {
+		Resource context = st.getContext();
+		if (context == null) {
+			dataOut.writeByte(tripleMarker);
+		} else {
+			dataOut.writeByte(quadMarker);
+		}
+		writeValue(st.getSubject(), dataOut);
+		writeValue(st.getPredicate(), dataOut);
+		writeValue(st.getObject(), dataOut);
+		if (context != null) {
+			writeValue(context, dataOut);
+		}
+	}
+
 	private void readStatement(boolean hasContext, boolean isExplicit, DataInputStream dataIn, SailSink explicit,
 			SailSink inferred) throws IOException, ClassCastException, SailException {
-		MemResource memSubj = (MemResource) readValue(dataIn);
-		MemIRI memPred = (MemIRI) readValue(dataIn);
-		MemValue memObj = (MemValue) readValue(dataIn);
-		MemResource memContext = null;
+		// RDF-star triples are not created by the MemValueFactory, the sink converts them
+		Resource subj = (Resource) readValue(dataIn);
+		IRI pred = (IRI) readValue(dataIn);
+		Value obj = readValue(dataIn);
+		Resource context = null;
 		if (hasContext) {
-			memContext = (MemResource) readValue(dataIn);
+			context = (Resource) readValue(dataIn);
 		}
 
 		if (isExplicit) {
-			explicit.approve(memSubj, memPred, memObj, memContext);
+			explicit.approve(subj, pred, obj, context);
 		} else {
-			inferred.approve(memSubj, memPred, memObj, memContext);
+			inferred.approve(subj, pred, obj, context);
 		}
 	}
 
+	private void readRemovedStatement(boolean hasContext, DataInputStream dataIn, SailSink sink)
+			throws IOException, ClassCastException, SailException {
+		Resource subj = (Resource) readValue(dataIn);
+		IRI pred = (IRI) readValue(dataIn);
+		Value obj = readValue(dataIn);
+		Resource context = null;
+		if (hasContext) {
+			context = (Resource) readValue(dataIn);
+		}
+
+		sink.deprecate(vf.createStatement(subj, pred, obj, context));
+	}
+
 	private void writeValue(Value value, DataOutputStream dataOut) throws IOException {
 		if (value.isIRI()) {
 			dataOut.writeByte(URI_MARKER);
@@ -147,6 +147,11 @@ class MemorySailStore implements SailStore {
 	 */
 	private final Object snapshotCleanupThreadLockObject = new Object();
 
+	/**
+	 * The log that the changes of flushed sinks are appended to, or null if changes are not logged.
+	 */
+	private volatile ChangeLog changeLog;
+
 	public MemorySailStore(boolean debug) {
 		snapshotMonitor = new SnapshotMonitor(debug);
 	}
@@ -170,6 +175,14 @@ class MemorySailStore implements SailStore {
 		invalidateCache();
 	}
 
+	/**
+	 * Sets the log that the changes of sinks that are created from now on are appended to when they are flushed. The
+	 * changes are appended while holding the lock on the log, before they become visible to new datasets.
+	 */
+	void setChangeLog(ChangeLog changeLog) {
+		this.changeLog = changeLog;
+	}
+
 	private void invalidateCache() {
 		iteratorCache.invalidateCache();
 	}
@@ -573,8 +586,13 @@ class MemorySailStore implements SailStore {
 
 		private boolean requireCleanup;
 
+		private final ChangeLog changeLog;
+
+		private ChangeLog.Entry changes;
+
 		public MemorySailSink(boolean explicit, boolean serializable) throws SailException {
 			this.explicit = explicit;
+			this.changeLog = MemorySailStore.this.changeLog;
 			if (serializable) {
 				this.serializable = currentSnapshot;
 				reservedSnapshot = snapshotMonitor.reserve(this.serializable, this);
@@ -636,14 +654,26 @@ class MemorySailStore implements SailStore {
 		@Override
 		public synchronized void flush() throws SailException {
 			if (txnLock) {
-				invalidateCache();
-				currentSnapshot = Math.max(currentSnapshot, nextSnapshot);
+				if (changes != null) {
+					synchronized (changeLog) {
+						changeLog.append(changes);
+						changes = null;
+						publishSnapshot();
+					}
+				} else {
+					publishSnapshot();
+				}
 				if (requireCleanup) {
 					scheduleSnapshotCleanup();
 				}
 			}
 		}
 
+		private void publishSnapshot() {
+			invalidateCache();
+			currentSnapshot = Math.max(currentSnapshot, nextSnapshot);
+		}
+
 		@Override
 		public void close() {
 			if (!closed) {
@@ -659,6 +689,7 @@ class MemorySailStore implements SailStore {
 						txnLockManager.unlock();
 					}
 					observations = null;
+					changes = null;
 				}
 
 			}
@@ -668,18 +699,27 @@ class MemorySailStore implements SailStore {
 		public synchronized void setNamespace(String prefix, String name) {
 			acquireExclusiveTransactionLock();
 			namespaceStore.setNamespace(prefix, name);
+			if (changeLog != null) {
+				changes().namespaceSet(prefix, name);
+			}
 		}
 
 		@Override
 		public synchronized void removeNamespace(String prefix) {
 			acquireExclusiveTransactionLock();
 			namespaceStore.removeNamespace(prefix);
+			if (changeLog != null) {
+				changes().namespaceRemoved(prefix);
+			}
 		}
 
 		@Override
 		public synchronized void clearNamespaces() {
 			acquireExclusiveTransactionLock();
 			namespaceStore.clear();
+			if (changeLog != null) {
+				changes().namespacesCleared();
+			}
 		}
 
 		@Override
@@ -710,7 +750,7 @@ class MemorySailStore implements SailStore {
 					explicit, nextSnapshot, contexts)) {
 				while (iter.hasNext()) {
 					MemStatement st = iter.next();
-					st.setTillSnapshot(nextSnapshot);
+					deprecateStatement(st, nextSnapshot);
 				}
 			} catch (InterruptedException e) {
 				throw convertToSailException(e);
@@ -766,7 +806,7 @@ class MemorySailStore implements SailStore {
 				MemStatement toDeprecate = (MemStatement) statement;
 				if ((nextSnapshot < 0 || toDeprecate.isInSnapshot(nextSnapshot))
 						&& toDeprecate.isExplicit() == explicit) {
-					toDeprecate.setTillSnapshot(nextSnapshot);
+					deprecateStatement(toDeprecate, nextSnapshot);
 				}
 			} else if (statement instanceof LinkedHashModel.ModelStatement
 					&& ((LinkedHashModel.ModelStatement) statement).getStatement() instanceof MemStatement) {
@@ -775,7 +815,7 @@ class MemorySailStore implements SailStore {
 				MemStatement toDeprecate = (MemStatement) ((LinkedHashModel.ModelStatement) statement).getStatement();
 				if ((nextSnapshot < 0 || toDeprecate.isInSnapshot(nextSnapshot))
 						&& toDeprecate.isExplicit() == explicit) {
-					toDeprecate.setTillSnapshot(nextSnapshot);
+					deprecateStatement(toDeprecate, nextSnapshot);
 				}
 			} else {
 				try (CloseableIteration<MemStatement, SailException> iter = createStatementIterator(
@@ -783,7 +823,7 @@ class MemorySailStore implements SailStore {
 						statement.getContext())) {
 					while (iter.hasNext()) {
 						MemStatement st = iter.next();
-						st.setTillSnapshot(nextSnapshot);
+						deprecateStatement(st, nextSnapshot);
 					}
 				} catch (InterruptedException e) {
 					throw convertToSailException(e);
@@ -791,6 +831,20 @@ class MemorySailStore implements SailStore {
 			}
 		}
 
+		private void deprecateStatement(MemStatement st, int nextSnapshot) {
+			st.setTillSnapshot(nextSnapshot);
+			if (changeLog != null) {
+				changes().statementRemoved(st, st.isExplicit());
+			}
+		}
+
+		private ChangeLog.Entry changes() {
+			if (changes == null) {
+				changes = changeLog.newEntry();
+			}
+			return changes;
+		}
+
 		private void acquireExclusiveTransactionLock() throws SailException {
 			if (!txnLock) {
 				synchronized (this) {
@@ -831,6 +885,9 @@ class MemorySailStore implements SailStore {
 			statements.add(st);
 			st.addToComponentLists();
 			invalidateCache();
+			if (changeLog != null) {
+				changes().statementAdded(st, explicit);
+			}
 			return st;
 		}
 
@@ -844,7 +901,7 @@ class MemorySailStore implements SailStore {
 			if (memStatement != null) {
 				if (!memStatement.isExplicit() && explicit) {
 					// Implicit statement is now added explicitly
-					memStatement.setTillSnapshot(this.nextSnapshot);
+					deprecateStatement(memStatement, this.nextSnapshot);
 				} else {
 					// statement already exists
 					return true;
@@ -894,7 +951,7 @@ class MemorySailStore implements SailStore {
 				while (iter.hasNext()) {
 					deprecated = true;
 					MemStatement st = iter.next();
-					st.setTillSnapshot(nextSnapshot);
+					deprecateStatement(st, nextSnapshot);
 				}
 			} catch (InterruptedException e) {
 				throw convertToSailException(e);
@@ -15,6 +15,7 @@ import java.io.IOException;
 import java.util.Timer;
 import java.util.TimerTask;
 
+import org.eclipse.rdf4j.common.annotation.Experimental;
 import org.eclipse.rdf4j.common.concurrent.locks.Lock;
 import org.eclipse.rdf4j.common.transaction.IsolationLevels;
 import org.eclipse.rdf4j.model.ValueFactory;
@@ -61,6 +62,15 @@ public class MemoryStore extends AbstractNotifyingSail implements FederatedServi
 
 	protected static final String SYNC_FILE_NAME = "memorystore.sync";
 
+	/**
+	 * The name of the system property that makes a persistent store append the changes of each transaction to a log,
+	 * instead of rewriting its data file on every sync. The data file is rewritten in the background once the log has
+	 * grown large enough, and the log is replayed when the store is initialized. It is read when the store is
+	 * initialized.
+	 */
+	@Experimental
+	public static final String WRITE_AHEAD_LOG_PROPERTY = "org.eclipse.rdf4j.sail.memory.MemoryStore.writeAheadLog";
+
 	/*-----------*
 	 * Variables *
 	 *-----------*/
@@ -119,6 +129,26 @@ public class MemoryStore extends AbstractNotifyingSail implements FederatedServi
 	 */
 	private final Object syncTimerSemaphore = new Object();
 
+	/**
+	 * The log that the changes are appended to, null if the data file is rewritten on every sync.
+	 */
+	private volatile ChangeLog changeLog;
+
+	/**
+	 * Semaphore used to prevent concurrent checkpoints of the {@link #changeLog}.
+	 */
+	private final Object checkpointSemaphore = new Object();
+
+	/**
+	 * The thread that checkpoints the {@link #changeLog} in the background, if any.
+	 */
+	private volatile Thread checkpointThread;
+
+	/**
+	 * Semaphore used to synchronize concurrent access to {@link #checkpointThread}.
+	 */
+	private final Object checkpointThreadSemaphore = new Object();
+
 	private EvaluationStrategyFactory evalStratFactory;
 
 	/**
@@ -257,7 +287,8 @@ public class MemoryStore extends AbstractNotifyingSail implements FederatedServi
 	protected void initializeInternal() throws SailException {
 		logger.debug("Initializing MemoryStore...");
 
-		this.store = new MemorySailStore(debugEnabled());
+		MemorySailStore memorySailStore = new MemorySailStore(debugEnabled());
+		this.store = memorySailStore;
 
 		if (persist) {
 			File dataDir = getDataDir();
@@ -325,6 +356,10 @@ public class MemoryStore extends AbstractNotifyingSail implements FederatedServi
 					throw new SailException("Failed to initialize data file " + dataFile, e);
 				}
 			}
+
+			if (Boolean.getBoolean(WRITE_AHEAD_LOG_PROPERTY) || ChangeLog.exists(dataDir)) {
+				initChangeLog(memorySailStore, dataDir);
+			}
 		}
 
 		contentsChanged = false;
@@ -332,11 +367,60 @@ public class MemoryStore extends AbstractNotifyingSail implements FederatedServi
 		logger.debug("MemoryStore initialized");
 	}
 
+	/**
+	 * Replays the change log of the data directory. If the write-ahead log is disabled, the replayed changes are
+	 * written to the data file and the log is deleted.
+	 */
+	private void initChangeLog(MemorySailStore memorySailStore, File dataDir) throws SailException {
+		ChangeLog log = new ChangeLog(dataDir, memorySailStore.getValueFactory());
+		SailSink explicit = memorySailStore.getExplicitSailSource().sink(IsolationLevels.NONE);
+		SailSink inferred = memorySailStore.getInferredSailSource().sink(IsolationLevels.NONE);
+		try {
+			log.open(explicit, inferred, isWritable());
+			logger.debug("Change log replayed successfully");
+		} catch (IOException e) {
+			logger.error("Failed to replay change log", e);
+			throw new SailException(e);
+		} finally {
+			explicit.prepare();
+			explicit.flush();
+			explicit.close();
+			inferred.prepare();
+			inferred.flush();
+			inferred.close();
+		}
+
+		if (!isWritable()) {
+			return;
+		}
+
+		if (Boolean.getBoolean(WRITE_AHEAD_LOG_PROPERTY)) {
+			memorySailStore.setChangeLog(log);
+			changeLog = log;
+			if (log.needsCheckpoint(dataFile)) {
+				scheduleCheckpoint();
+			}
+		} else {
+			try {
+				try (SailDataset explicitDataset = store.getExplicitSailSource().dataset(IsolationLevels.SNAPSHOT);
+						SailDataset inferredDataset = store.getInferredSailSource()
+								.dataset(IsolationLevels.SNAPSHOT)) {
+					new FileIO(store.getValueFactory()).write(explicitDataset, inferredDataset, syncFile, dataFile);
+				}
+				log.delete();
+			} catch (IOException e) {
+				logger.error("Failed to write replayed change log to data file", e);
+				throw new SailException(e);
+			}
+		}
+	}
+
 	@Override
 	protected void shutDownInternal() throws SailException {
 		try {
 			cancelSyncTimer();
 			sync();
+			closeChangeLog();
 
 			store.close();
 			dataFile = null;
@@ -441,12 +525,30 @@ public class MemoryStore extends AbstractNotifyingSail implements FederatedServi
 
 	/**
 	 * Synchronizes the contents of this repository with the data that is stored on disk. Data will only be written when
-	 * the contents of the repository and data in the file are out of sync.
+	 * the contents of the repository and data in the file are out of sync. If the write-ahead log is enabled, only the
+	 * log is forced to disk.
 	 */
 	public void sync() throws SailException {
 		// syncSemaphore prevents concurrent file synchronizations
 		synchronized (syncSemaphore) {
-			if (persist && contentsChanged) {
+			ChangeLog changeLog = this.changeLog;
+			if (persist && changeLog != null) {
+				try {
+					if (changeLog.hasFailed()) {
+						// the log misses changes, the data file is written instead
+						checkpoint();
+					} else {
+						changeLog.force();
+						if (changeLog.needsCheckpoint(dataFile)) {
+							scheduleCheckpoint();
+						}
+					}
+					contentsChanged = false;
+				} catch (IOException e) {
+					logger.error("Failed to sync change log", e);
+					throw new SailException(e);
+				}
+			} else if (persist && contentsChanged) {
 				logger.debug("syncing data to file...");
 				try {
 					IsolationLevels level = IsolationLevels.SNAPSHOT;
@@ -464,6 +566,88 @@ public class MemoryStore extends AbstractNotifyingSail implements FederatedServi
 		}
 	}
 
+	/**
+	 * Writes the data file and truncates the change log. The snapshot that is written is taken at the same time as the
+	 * log is moved aside, so that the new log contains exactly the changes that are not in the data file.
+	 */
+	private void checkpoint() throws IOException {
+		synchronized (checkpointSemaphore) {
+			ChangeLog changeLog = this.changeLog;
+			if (changeLog == null) {
+				return;
+			}
+
+			logger.debug("Checkpointing change log...");
+			SailDataset explicit = null;
+			SailDataset inferred = null;
+			try {
+				synchronized (changeLog) {
+					explicit = store.getExplicitSailSource().dataset(IsolationLevels.SNAPSHOT);
+					inferred = store.getInferredSailSource().dataset(IsolationLevels.SNAPSHOT);
+					changeLog.startCheckpoint();
+				}
+				new FileIO(store.getValueFactory()).write(explicit, inferred, syncFile, dataFile);
+				changeLog.finishCheckpoint();
+				logger.debug("Change log checkpointed");
+			} catch (IOException e) {
+				changeLog.failCheckpoint(e);
+				throw e;
+			} finally {
+				try {
+					if (explicit != null) {
+						explicit.close();
+					}
+				} finally {
+					if (inferred != null) {
+						inferred.close();
+					}
+				}
+			}
+		}
+	}
+
+	private void scheduleCheckpoint() {
+		synchronized (checkpointThreadSemaphore) {
+			if (checkpointThread != null && checkpointThread.isAlive()) {
+				return;
+			}
+
+			checkpointThread = new Thread(() -> {
+				try {
+					checkpoint();
+				} catch (IOException | SailException e) {
+					logger.warn("Unable to checkpoint change log", e);
+				}
+			}, "MemoryStore checkpoint");
+			checkpointThread.setDaemon(true);
+			checkpointThread.start();
+		}
+	}
+
+	private void closeChangeLog() throws SailException {
+		ChangeLog changeLog = this.changeLog;
+		if (changeLog == null) {
+			return;
+		}
+
+		try {
+			Thread toJoinCheckpointThread = checkpointThread;
+			if (toJoinCheckpointThread != null) {
+				toJoinCheckpointThread.join();
+			}
+			changeLog.close();
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+			throw new SailException(e);
+		} catch (IOException e) {
+			logger.error("Failed to close change log", e);
+			throw new SailException(e);
+		} finally {
+			this.changeLog = null;
+			checkpointThread = null;
+		}
+	}
+
 	SailStore getSailStore() {
 		return store;
 	}
@@ -56,6 +56,8 @@ public class MemoryStoreFactory implements SailFactory {
 			MemoryStoreConfig memConfig = (MemoryStoreConfig) config;
 
 			memConfig.getDefaultQueryEvaluationMode().ifPresent(memoryStore::setDefaultQueryEvaluationMode);
+			memConfig.getDefaultQueryEvaluationParallelism()
+					.ifPresent(memoryStore::setDefaultQueryEvaluationParallelism);
 			memoryStore.setPersist(memConfig.getPersist());
 			memoryStore.setSyncDelay(memConfig.getSyncDelay());
 
@@ -0,0 +1,158 @@
+/*******************************************************************************
+ * Copyright (c) 2023 Eclipse RDF4J contributors.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Distribution License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/org/documents/edl-v10.php.
+ *
+ * SPDX-License-Identifier: BSD-3-Clause
+ *******************************************************************************/
+package org.eclipse.rdf4j.sail.memory;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.List;
+
+import org.eclipse.rdf4j.common.transaction.QueryEvaluationMode;
+import org.eclipse.rdf4j.common.transaction.QueryEvaluationParallelism;
+import org.eclipse.rdf4j.model.IRI;
+import org.eclipse.rdf4j.model.ValueFactory;
+import org.eclipse.rdf4j.model.impl.SimpleValueFactory;
+import org.eclipse.rdf4j.model.vocabulary.FOAF;
+import org.eclipse.rdf4j.model.vocabulary.RDF;
+import org.eclipse.rdf4j.query.BindingSet;
+import org.eclipse.rdf4j.query.QueryResults;
+import org.eclipse.rdf4j.query.TupleQuery;
+import org.eclipse.rdf4j.query.algebra.StatementPattern;
+import org.eclipse.rdf4j.query.algebra.TupleExpr;
+import org.eclipse.rdf4j.query.algebra.Var;
+import org.eclipse.rdf4j.repository.sail.SailRepository;
+import org.eclipse.rdf4j.repository.sail.SailRepositoryConnection;
+import org.eclipse.rdf4j.repository.sail.SailTupleQuery;
+import org.eclipse.rdf4j.sail.helpers.QueryPlanCache;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+public class QueryPlanCacheTest {
+
+	private static final ValueFactory vf = SimpleValueFactory.getInstance();
+
+	private static final String QUERY = "PREFIX foaf: <" + FOAF.NAMESPACE + ">\n"
+			+ "SELECT ?name WHERE { ?p a foaf:Person ; foaf:name ?name ; foaf:knows [ foaf:name ?friend ] }";
+
+	private MemoryStore sail;
+
+	private SailRepository repo;
+
+	@BeforeEach
+	public void setUp() {
+		sail = new MemoryStore();
+		sail.setQueryPlanCacheSize(10);
+		repo = new SailRepository(sail);
+		repo.setParsedQueryCacheSize(10);
+		repo.init();
+		try (SailRepositoryConnection conn = repo.getConnection()) {
+			addPeople(conn, 0, 20);
+		}
+	}
+
+	@AfterEach
+	public void tearDown() {
+		repo.shutDown();
+	}
+
+	@Test
+	public void testParsedQueryIsCopied() {
+		try (SailRepositoryConnection conn = repo.getConnection()) {
+			SailTupleQuery q1 = (SailTupleQuery) conn.prepareTupleQuery(QUERY);
+			SailTupleQuery q2 = (SailTupleQuery) conn.prepareTupleQuery(QUERY);
+			assertThat(q2.getParsedQuery()).isNotSameAs(q1.getParsedQuery());
+			assertThat(q2.getParsedQuery().getTupleExpr()).isNotSameAs(q1.getParsedQuery().getTupleExpr());
+			// anonymous variables get a new name on every parse, so equal models must come from the cache
+			assertThat(q2.getParsedQuery().getTupleExpr()).isEqualTo(q1.getParsedQuery().getTupleExpr());
+			assertThat(conn.prepareQuery(QUERY)).isInstanceOf(TupleQuery.class);
+		}
+	}
+
+	@Test
+	public void testPlanIsReused() {
+		QueryPlanCache cache = sail.getQueryPlanCache();
+		try (SailRepositoryConnection conn = repo.getConnection()) {
+			List<BindingSet> first = QueryResults.asList(conn.prepareTupleQuery(QUERY).evaluate());
+			assertThat(first).hasSize(19);
+			assertThat(cache.size()).isEqualTo(1);
+
+			List<BindingSet> second = QueryResults.asList(conn.prepareTupleQuery(QUERY).evaluate());
+			assertThat(second).containsExactlyInAnyOrderElementsOf(first);
+			assertThat(cache.size()).isEqualTo(1);
+
+			// the plan of a larger store is re-optimized, and the results include the new data
+			addPeople(conn, 20, 40);
+			assertThat(QueryResults.asList(conn.prepareTupleQuery(QUERY).evaluate())).hasSize(38);
+			assertThat(cache.size()).isEqualTo(1);
+		}
+	}
+
+	@Test
+	public void testPlanIsReusedWithParallelism() {
+		QueryPlanCache cache = sail.getQueryPlanCache();
+		TupleExpr query = new StatementPattern(new Var("s"), new Var("p"), new Var("o"));
+		cache.put(new QueryPlanCache.Key(query, null, true, QueryEvaluationMode.STANDARD,
+				QueryEvaluationParallelism.of(4)), query, 100);
+
+		// equal settings are different instances
+		assertThat(cache.get(new QueryPlanCache.Key(query.clone(), null, true, QueryEvaluationMode.STANDARD,
+				QueryEvaluationParallelism.of(4)), 100)).isEqualTo(query);
+		assertThat(cache.get(new QueryPlanCache.Key(query.clone(), null, true, QueryEvaluationMode.STANDARD,
+				QueryEvaluationParallelism.of(2)), 100)).isNull();
+
+		sail.setDefaultQueryEvaluationParallelism(QueryEvaluationParallelism.of(4));
+		cache.clear();
+		try (SailRepositoryConnection conn = repo.getConnection()) {
+			List<BindingSet> first = QueryResults.asList(conn.prepareTupleQuery(QUERY).evaluate());
+			assertThat(first).hasSize(19);
+			assertThat(QueryResults.asList(conn.prepareTupleQuery(QUERY).evaluate()))
+					.containsExactlyInAnyOrderElementsOf(first);
+			assertThat(cache.size()).isEqualTo(1);
+		}
+	}
+
+	@Test
+	public void testPlanNotCached() {
+		QueryPlanCache cache = sail.getQueryPlanCache();
+		try (SailRepositoryConnection conn = repo.getConnection()) {
+			TupleQuery query = conn.prepareTupleQuery(QUERY);
+			query.setBinding("name", vf.createLiteral("person 3"));
+			assertThat(QueryResults.asList(query.evaluate())).hasSize(1);
+			assertThat(cache.size()).isEqualTo(0);
+
+			String now = "SELECT ?p ?now WHERE { ?p a <" + FOAF.PERSON + "> BIND(NOW() AS ?now) }";
+			assertThat(QueryResults.asList(conn.prepareTupleQuery(now).evaluate())).hasSize(20);
+			assertThat(cache.size()).isEqualTo(0);
+		}
+	}
+
+	@Test
+	public void testCacheDisabled() {
+		sail.setQueryPlanCacheSize(0);
+		repo.setParsedQueryCacheSize(0);
+		assertThat(sail.getQueryPlanCache()).isNull();
+		assertThat(repo.getParsedQueryCacheSize()).isEqualTo(0);
+		try (SailRepositoryConnection conn = repo.getConnection()) {
+			assertThat(QueryResults.asList(conn.prepareTupleQuery(QUERY).evaluate())).hasSize(19);
+		}
+	}
+
+	private static void addPeople(SailRepositoryConnection conn, int from, int to) {
+		for (int i = from; i < to; i++) {
+			IRI person = vf.createIRI("http://example.org/person" + i);
+			conn.add(person, RDF.TYPE, FOAF.PERSON);
+			conn.add(person, FOAF.NAME, vf.createLiteral("person " + i));
+			if (i > from) {
+				conn.add(person, FOAF.KNOWS, vf.createIRI("http://example.org/person" + (i - 1)));
+			}
+		}
+	}
+}
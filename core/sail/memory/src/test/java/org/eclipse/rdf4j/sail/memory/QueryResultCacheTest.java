@@ -0,0 +1,166 @@
+/*******************************************************************************
+ * Copyright (c) 2023 Eclipse RDF4J contributors.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Distribution License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/org/documents/edl-v10.php.
+ *
+ * SPDX-License-Identifier: BSD-3-Clause
+ *******************************************************************************/
+package org.eclipse.rdf4j.sail.memory;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import org.eclipse.rdf4j.model.IRI;
+import org.eclipse.rdf4j.model.ValueFactory;
+import org.eclipse.rdf4j.model.impl.SimpleValueFactory;
+import org.eclipse.rdf4j.model.vocabulary.FOAF;
+import org.eclipse.rdf4j.model.vocabulary.RDF;
+import org.eclipse.rdf4j.model.vocabulary.RDFS;
+import org.eclipse.rdf4j.query.QueryResults;
+import org.eclipse.rdf4j.query.TupleQuery;
+import org.eclipse.rdf4j.query.TupleQueryResult;
+import org.eclipse.rdf4j.repository.sail.SailRepository;
+import org.eclipse.rdf4j.repository.sail.SailRepositoryConnection;
+import org.eclipse.rdf4j.sail.helpers.QueryResultCache;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+public class QueryResultCacheTest {
+
+	private static final ValueFactory vf = SimpleValueFactory.getInstance();
+
+	private static final String QUERY = "SELECT ?p ?name WHERE { ?p a <" + FOAF.PERSON + "> ; <" + FOAF.NAME
+			+ "> ?name }";
+
+	private static final IRI GRAPH = vf.createIRI("http://example.org/graph");
+
+	private MemoryStore sail;
+
+	private SailRepository repo;
+
+	private QueryResultCache cache;
+
+	@BeforeEach
+	public void setUp() {
+		sail = new MemoryStore();
+		sail.setQueryResultCacheSize(1024 * 1024);
+		cache = sail.getQueryResultCache();
+		repo = new SailRepository(sail);
+		repo.init();
+		try (SailRepositoryConnection conn = repo.getConnection()) {
+			for (int i = 0; i < 10; i++) {
+				addPerson(conn, i);
+			}
+		}
+	}
+
+	@AfterEach
+	public void tearDown() {
+		repo.shutDown();
+	}
+
+	@Test
+	public void testCachedResults() {
+		try (SailRepositoryConnection conn = repo.getConnection()) {
+			assertThat(count(conn)).isEqualTo(10);
+			assertThat(cache.size()).isEqualTo(1);
+			assertThat(count(conn)).isEqualTo(10);
+			assertThat(cache.size()).isEqualTo(1);
+
+			// different bindings are cached separately
+			TupleQuery query = conn.prepareTupleQuery(QUERY);
+			query.setBinding("name", vf.createLiteral("person 1"));
+			assertThat(QueryResults.asList(query.evaluate())).hasSize(1);
+			assertThat(cache.size()).isEqualTo(2);
+		}
+	}
+
+	@Test
+	public void testInvalidation() {
+		try (SailRepositoryConnection conn = repo.getConnection()) {
+			assertThat(count(conn)).isEqualTo(10);
+
+			// a change that does not match any pattern of the query
+			conn.add(vf.createIRI("http://example.org/person1"), RDFS.COMMENT, vf.createLiteral("comment"));
+			assertThat(cache.size()).isEqualTo(1);
+
+			addPerson(conn, 10);
+			assertThat(cache.size()).isEqualTo(0);
+			assertThat(count(conn)).isEqualTo(11);
+
+			conn.remove(vf.createIRI("http://example.org/person3"), null, null);
+			assertThat(cache.size()).isEqualTo(0);
+			assertThat(count(conn)).isEqualTo(10);
+
+			conn.clear(GRAPH);
+			assertThat(cache.size()).isEqualTo(0);
+			assertThat(count(conn)).isEqualTo(10);
+		}
+	}
+
+	@Test
+	public void testNamedGraph() {
+		String query = "SELECT ?p WHERE { GRAPH <" + GRAPH + "> { ?p a <" + FOAF.PERSON + "> } }";
+		try (SailRepositoryConnection conn = repo.getConnection()) {
+			assertThat(QueryResults.asList(conn.prepareTupleQuery(query).evaluate())).isEmpty();
+			assertThat(cache.size()).isEqualTo(1);
+
+			// the default graph is not observed by the query
+			addPerson(conn, 10);
+			assertThat(cache.size()).isEqualTo(1);
+
+			conn.add(vf.createIRI("http://example.org/person1"), RDF.TYPE, FOAF.PERSON, GRAPH);
+			assertThat(cache.size()).isEqualTo(0);
+			assertThat(QueryResults.asList(conn.prepareTupleQuery(query).evaluate())).hasSize(1);
+		}
+	}
+
+	@Test
+	public void testNotCached() {
+		try (SailRepositoryConnection conn = repo.getConnection()) {
+			// results that are not read completely
+			try (TupleQueryResult result = conn.prepareTupleQuery(QUERY).evaluate()) {
+				result.next();
+			}
+			assertThat(cache.size()).isEqualTo(0);
+
+			// results in a transaction
+			conn.begin();
+			assertThat(count(conn)).isEqualTo(10);
+			addPerson(conn, 10);
+			assertThat(count(conn)).isEqualTo(11);
+			conn.rollback();
+			assertThat(cache.size()).isEqualTo(0);
+
+			// non-deterministic results
+			String rand = "SELECT ?p (RAND() AS ?r) WHERE { ?p a <" + FOAF.PERSON + "> }";
+			assertThat(QueryResults.asList(conn.prepareTupleQuery(rand).evaluate())).hasSize(10);
+			assertThat(cache.size()).isEqualTo(0);
+		}
+	}
+
+	@Test
+	public void testRollback() {
+		try (SailRepositoryConnection conn = repo.getConnection()) {
+			assertThat(count(conn)).isEqualTo(10);
+			conn.begin();
+			addPerson(conn, 10);
+			conn.rollback();
+			assertThat(cache.size()).isEqualTo(1);
+			assertThat(count(conn)).isEqualTo(10);
+		}
+	}
+
+	private static int count(SailRepositoryConnection conn) {
+		return QueryResults.asList(conn.prepareTupleQuery(QUERY).evaluate()).size();
+	}
+
+	private static void addPerson(SailRepositoryConnection conn, int i) {
+		IRI person = vf.createIRI("http://example.org/person" + i);
+		conn.add(person, RDF.TYPE, FOAF.PERSON);
+		conn.add(person, FOAF.NAME, vf.createLiteral("person " + i));
+	}
+}
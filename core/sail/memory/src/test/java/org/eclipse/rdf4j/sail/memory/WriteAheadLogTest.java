@@ -0,0 +1,272 @@
+/*******************************************************************************
+ * Copyright (c) 2023 Eclipse RDF4J contributors.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Distribution License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/org/documents/edl-v10.php.
+ *
+ * SPDX-License-Identifier: BSD-3-Clause
+ *******************************************************************************/
+package org.eclipse.rdf4j.sail.memory;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.StandardOpenOption;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import org.eclipse.rdf4j.model.IRI;
+import org.eclipse.rdf4j.model.Namespace;
+import org.eclipse.rdf4j.model.Statement;
+import org.eclipse.rdf4j.model.ValueFactory;
+import org.eclipse.rdf4j.model.impl.SimpleValueFactory;
+import org.eclipse.rdf4j.model.vocabulary.RDF;
+import org.eclipse.rdf4j.model.vocabulary.RDFS;
+import org.eclipse.rdf4j.sail.SailConnection;
+import org.eclipse.rdf4j.sail.inferencer.InferencerConnection;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+/**
+ * Tests that a {@link MemoryStore} with a write-ahead log restores its contents from the data file and the log.
+ */
+public class WriteAheadLogTest {
+
+	private static final String NS = "http://example.org/";
+
+	private static final ValueFactory vf = SimpleValueFactory.getInstance();
+
+	@TempDir
+	File dataDir;
+
+	@BeforeEach
+	public void setUp() {
+		System.setProperty(MemoryStore.WRITE_AHEAD_LOG_PROPERTY, "true");
+	}
+
+	@AfterEach
+	public void tearDown() {
+		System.clearProperty(MemoryStore.WRITE_AHEAD_LOG_PROPERTY);
+	}
+
+	@Test
+	public void testReplay() {
+		MemoryStore store = createStore();
+		Contents expected;
+		try (SailConnection connection = store.getConnection()) {
+			addChanges(connection);
+			expected = new Contents(connection);
+		} finally {
+			store.shutDown();
+		}
+
+		assertThat(new File(dataDir, ChangeLog.LOG_FILE_NAME)).isNotEmpty();
+
+		store = createStore();
+		try (SailConnection connection = store.getConnection()) {
+			assertThat(new Contents(connection)).isEqualTo(expected);
+
+			// changes after the replay are appended to the same log
+			connection.begin();
+			connection.addStatement(vf.createIRI(NS, "after"), RDF.TYPE, RDFS.RESOURCE);
+			connection.commit();
+			expected = new Contents(connection);
+		} finally {
+			store.shutDown();
+		}
+
+		store = createStore();
+		try (SailConnection connection = store.getConnection()) {
+			assertThat(new Contents(connection)).isEqualTo(expected);
+		} finally {
+			store.shutDown();
+		}
+	}
+
+	@Test
+	public void testIncompleteEntry() throws IOException {
+		MemoryStore store = createStore();
+		Contents expected;
+		try (SailConnection connection = store.getConnection()) {
+			addChanges(connection);
+			expected = new Contents(connection);
+		} finally {
+			store.shutDown();
+		}
+
+		// an entry that was only written partially before a crash
+		File logFile = new File(dataDir, ChangeLog.LOG_FILE_NAME);
+		long length = logFile.length();
+		Files.write(logFile.toPath(), new byte[] { 0, 0, 1, 0, 42, 42 }, StandardOpenOption.APPEND);
+
+		store = createStore();
+		try (SailConnection connection = store.getConnection()) {
+			assertThat(new Contents(connection)).isEqualTo(expected);
+		} finally {
+			store.shutDown();
+		}
+		assertThat(logFile).hasSize(length);
+	}
+
+	@Test
+	public void testCheckpoint() {
+		MemoryStore store = createStore();
+		Contents expected;
+		try (SailConnection connection = store.getConnection()) {
+			addChanges(connection);
+			// enough data for the log to be checkpointed
+			String label = "x".repeat(1000);
+			connection.begin();
+			for (int i = 0; i < 5000; i++) {
+				connection.addStatement(vf.createIRI(NS, "large" + i), RDFS.LABEL, vf.createLiteral(label + i));
+			}
+			connection.commit();
+			connection.begin();
+			connection.removeStatements(vf.createIRI(NS, "large1"), null, null);
+			connection.commit();
+			expected = new Contents(connection);
+		} finally {
+			store.shutDown();
+		}
+
+		assertThat(new File(dataDir, ChangeLog.CHECKPOINT_FILE_NAME)).doesNotExist();
+		// only the transaction after the checkpoint is left in the log
+		assertThat(new File(dataDir, ChangeLog.LOG_FILE_NAME).length()).isLessThan(4096);
+
+		store = createStore();
+		try (SailConnection connection = store.getConnection()) {
+			assertThat(new Contents(connection)).isEqualTo(expected);
+		} finally {
+			store.shutDown();
+		}
+	}
+
+	@Test
+	public void testReplayCheckpointAgain() throws IOException {
+		MemoryStore store = createStore();
+		Contents expected;
+		try (SailConnection connection = store.getConnection()) {
+			addChanges(connection);
+			expected = new Contents(connection);
+		} finally {
+			store.shutDown();
+		}
+		byte[] log = Files.readAllBytes(new File(dataDir, ChangeLog.LOG_FILE_NAME).toPath());
+
+		// without the write-ahead log the changes are written to the data file
+		System.clearProperty(MemoryStore.WRITE_AHEAD_LOG_PROPERTY);
+		store = createStore();
+		try (SailConnection connection = store.getConnection()) {
+			assertThat(new Contents(connection)).isEqualTo(expected);
+		} finally {
+			store.shutDown();
+		}
+		assertThat(ChangeLog.exists(dataDir)).isFalse();
+
+		// a crash after the data file was written, but before the checkpoint file was deleted
+		Files.write(new File(dataDir, ChangeLog.CHECKPOINT_FILE_NAME).toPath(), log);
+		System.setProperty(MemoryStore.WRITE_AHEAD_LOG_PROPERTY, "true");
+		store = createStore();
+		try (SailConnection connection = store.getConnection()) {
+			assertThat(new Contents(connection)).isEqualTo(expected);
+		} finally {
+			store.shutDown();
+		}
+	}
+
+	private MemoryStore createStore() {
+		MemoryStore store = new MemoryStore(dataDir);
+		store.init();
+		return store;
+	}
+
+	private static void addChanges(SailConnection connection) {
+		IRI graph = vf.createIRI(NS, "graph");
+		connection.begin();
+		connection.setNamespace("ex", NS);
+		connection.setNamespace("old", "http://example.org/old/");
+		for (int i = 0; i < 100; i++) {
+			IRI subject = vf.createIRI(NS, "s" + i);
+			connection.addStatement(subject, RDF.TYPE, vf.createIRI(NS, "Type" + i % 3));
+			connection.addStatement(subject, RDFS.LABEL, vf.createLiteral("label " + i, "en"), graph);
+			connection.addStatement(subject, RDF.VALUE, vf.createLiteral(i));
+			connection.addStatement(subject, RDF.VALUE, vf.createTriple(subject, RDF.VALUE, vf.createLiteral(i)));
+			((InferencerConnection) connection).addInferredStatement(subject, RDF.TYPE, RDFS.RESOURCE);
+		}
+		connection.commit();
+
+		connection.begin();
+		connection.removeNamespace("old");
+		connection.removeStatements(null, RDF.VALUE, vf.createLiteral(3));
+		connection.removeStatements(vf.createIRI(NS, "s4"), null, null);
+		((InferencerConnection) connection).removeInferredStatement(vf.createIRI(NS, "s5"), RDF.TYPE, RDFS.RESOURCE);
+		// an inferred statement that becomes explicit
+		connection.addStatement(vf.createIRI(NS, "s6"), RDF.TYPE, RDFS.RESOURCE);
+		connection.commit();
+
+		connection.begin();
+		connection.clear(graph);
+		connection.addStatement(vf.createIRI(NS, "s4"), RDF.TYPE, vf.createIRI(NS, "Type4"));
+		connection.commit();
+
+		// a transaction that is rolled back is not logged
+		connection.begin();
+		connection.addStatement(vf.createIRI(NS, "rolledBack"), RDF.TYPE, RDFS.RESOURCE);
+		connection.rollback();
+	}
+
+	private static class Contents {
+
+		private final Set<Statement> explicit;
+
+		private final Set<Statement> inferred;
+
+		private final Map<String, String> namespaces;
+
+		Contents(SailConnection connection) {
+			explicit = getStatements(connection, false);
+			Set<Statement> all = getStatements(connection, true);
+			all.removeAll(explicit);
+			inferred = all;
+			try (Stream<? extends Namespace> stream = connection.getNamespaces().stream()) {
+				namespaces = stream.collect(Collectors.toMap(Namespace::getPrefix, Namespace::getName));
+			}
+		}
+
+		private static Set<Statement> getStatements(SailConnection connection, boolean includeInferred) {
+			try (Stream<? extends Statement> stream = connection.getStatements(null, null, null, includeInferred)
+					.stream()) {
+				return stream.map(st -> vf.createStatement(st.getSubject(), st.getPredicate(), st.getObject(),
+						st.getContext())).collect(Collectors.toSet());
+			}
+		}
+
+		@Override
+		public boolean equals(Object o) {
+			if (!(o instanceof Contents)) {
+				return false;
+			}
+			Contents other = (Contents) o;
+			return explicit.equals(other.explicit) && inferred.equals(other.inferred)
+					&& namespaces.equals(other.namespaces);
+		}
+
+		@Override
+		public int hashCode() {
+			return explicit.hashCode();
+		}
+
+		@Override
+		public String toString() {
+			return explicit.size() + " explicit, " + inferred.size() + " inferred, " + namespaces;
+		}
+	}
+}
@@ -20,6 +20,7 @@ import java.io.FileInputStream;
 import java.io.FileNotFoundException;
 import java.io.FileOutputStream;
 import java.io.IOException;
+import java.nio.file.Files;
 import java.util.Arrays;
 import java.util.HashMap;
 import java.util.Iterator;
@@ -127,6 +128,18 @@ class ContextStore implements Iterable<Resource> {
 		contentsChanged = true;
 	}
 
+	/**
+	 * Increase the size of the context by the given amount. If the context was not yet known, it is created with the
+	 * given size.
+	 *
+	 * @param context the context identifier.
+	 * @param amount  the number by which to increase the size
+	 */
+	void incrementBy(Resource context, long amount) {
+		contextInfoMap.merge(context, amount, Long::sum);
+		contentsChanged = true;
+	}
+
 	/**
 	 * Decrease the size of the context by the given amount. If the size reaches zero, the context is removed.
 	 *
@@ -150,6 +163,17 @@ class ContextStore implements Iterable<Resource> {
 		}
 	}
 
+	/**
+	 * Deletes the context index file, so that the index is reconstructed from the store when it is opened again without
+	 * having been synced.
+	 */
+	void invalidate() throws IOException {
+		synchronized (file) {
+			Files.deleteIfExists(file.toPath());
+		}
+		contentsChanged = true;
+	}
+
 	void close() {
 	}
 
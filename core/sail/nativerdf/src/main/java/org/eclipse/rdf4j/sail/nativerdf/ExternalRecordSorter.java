@@ -0,0 +1,328 @@
+/*******************************************************************************
+ * Copyright (c) 2023 Eclipse RDF4J contributors.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Distribution License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/org/documents/edl-v10.php.
+ *
+ * SPDX-License-Identifier: BSD-3-Clause
+ *******************************************************************************/
+package org.eclipse.rdf4j.sail.nativerdf;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.Closeable;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.PriorityQueue;
+import java.util.function.BinaryOperator;
+
+import org.eclipse.rdf4j.sail.nativerdf.btree.RecordComparator;
+import org.eclipse.rdf4j.sail.nativerdf.btree.RecordIterator;
+
+/**
+ * Sorts fixed-size records that do not necessarily fit in memory. Records are collected in memory and written to a
+ * temporary file as a sorted run whenever the maximum number of records in memory is reached. {@link #sort} merges the
+ * runs into a single sorted file that can be iterated over any number of times.
+ */
+final class ExternalRecordSorter implements Closeable {
+
+	private static final String RUN_FILE_PREFIX = "sortrun";
+
+	private static final String RUN_FILE_SUFFIX = ".dat";
+
+	private static final int IO_BUFFER_SIZE = 1 << 16;
+
+	private final File tmpDir;
+
+	private final int recordSize;
+
+	private final Comparator<byte[]> order;
+
+	/**
+	 * Combines records that are equal according to the comparator, or <var>null</var> if duplicates are kept.
+	 */
+	private final BinaryOperator<byte[]> duplicateMerger;
+
+	private final byte[][] buffer;
+
+	private int bufferCount;
+
+	private final List<File> runFiles = new ArrayList<>();
+
+	private File sortedFile;
+
+	private long recordCount;
+
+	/**
+	 * @param tmpDir          The directory for the temporary files.
+	 * @param recordSize      The size of the records.
+	 * @param comparator      The order of the records.
+	 * @param maxRecords      The maximum number of records that are kept in memory.
+	 * @param duplicateMerger Combines records that are equal according to the comparator into one record, or
+	 *                        <var>null</var> to keep duplicates.
+	 */
+	public ExternalRecordSorter(File tmpDir, int recordSize, RecordComparator comparator, int maxRecords,
+			BinaryOperator<byte[]> duplicateMerger) {
+		if (maxRecords <= 0) {
+			throw new IllegalArgumentException("maxRecords must be larger than 0");
+		}
+		this.tmpDir = tmpDir;
+		this.recordSize = recordSize;
+		this.order = (a, b) -> comparator.compareBTreeValues(a, b, 0, recordSize);
+		this.duplicateMerger = duplicateMerger;
+		this.buffer = new byte[maxRecords][];
+	}
+
+	/**
+	 * Adds a record. The sorter takes ownership of the array.
+	 */
+	public void add(byte[] record) throws IOException {
+		if (sortedFile != null) {
+			throw new IllegalStateException("records have already been sorted");
+		}
+		if (bufferCount == buffer.length) {
+			writeRun();
+		}
+		buffer[bufferCount++] = record;
+	}
+
+	/**
+	 * Sorts the added records and merges them with the records of the supplied iterators, which must already be sorted
+	 * in the order of this sorter. The iterators are closed when they are exhausted.
+	 *
+	 * @return The number of sorted records.
+	 */
+	public long sort(RecordIterator... sortedRecords) throws IOException {
+		if (sortedFile != null) {
+			throw new IllegalStateException("records have already been sorted");
+		}
+		if (bufferCount > 0 || runFiles.isEmpty()) {
+			writeRun();
+		}
+
+		if (runFiles.size() == 1 && sortedRecords.length == 0) {
+			// the records of a single run are already sorted and merged
+			sortedFile = runFiles.get(0);
+			return recordCount;
+		}
+
+		List<RecordIterator> inputs = new ArrayList<>(runFiles.size() + sortedRecords.length);
+		try {
+			for (File runFile : runFiles) {
+				inputs.add(new RunIterator(runFile));
+			}
+			inputs.addAll(Arrays.asList(sortedRecords));
+
+			sortedFile = createRunFile();
+			runFiles.add(sortedFile);
+			recordCount = write(new MergingIterator(inputs), sortedFile);
+		} finally {
+			for (RecordIterator input : inputs) {
+				input.close();
+			}
+		}
+
+		// the runs are no longer needed
+		for (File runFile : runFiles) {
+			if (runFile != sortedFile) {
+				runFile.delete();
+			}
+		}
+		runFiles.removeIf(runFile -> runFile != sortedFile);
+
+		return recordCount;
+	}
+
+	/**
+	 * Returns the sorted records, {@link #sort} must have been called first.
+	 */
+	public RecordIterator getRecords() throws IOException {
+		if (sortedFile == null) {
+			throw new IllegalStateException("records have not been sorted yet");
+		}
+		return new RunIterator(sortedFile);
+	}
+
+	public long getRecordCount() {
+		return recordCount;
+	}
+
+	/**
+	 * Deletes the temporary files.
+	 */
+	@Override
+	public void close() {
+		for (File runFile : runFiles) {
+			runFile.delete();
+		}
+		runFiles.clear();
+		Arrays.fill(buffer, 0, bufferCount, null);
+		bufferCount = 0;
+		sortedFile = null;
+	}
+
+	private void writeRun() throws IOException {
+		Arrays.sort(buffer, 0, bufferCount, order);
+
+		File runFile = createRunFile();
+		runFiles.add(runFile);
+		recordCount = write(new RecordIterator() {
+
+			int index = 0;
+
+			@Override
+			public byte[] next() {
+				return index < bufferCount ? buffer[index++] : null;
+			}
+
+			@Override
+			public void set(byte[] record) {
+				throw new UnsupportedOperationException();
+			}
+
+			@Override
+			public void close() {
+			}
+		}, runFile);
+
+		Arrays.fill(buffer, 0, bufferCount, null);
+		bufferCount = 0;
+	}
+
+	private File createRunFile() throws IOException {
+		return File.createTempFile(RUN_FILE_PREFIX, RUN_FILE_SUFFIX, tmpDir);
+	}
+
+	/**
+	 * Writes the sorted records to a file, merging duplicates.
+	 *
+	 * @return The number of records that were written.
+	 */
+	private long write(RecordIterator records, File file) throws IOException {
+		long count = 0;
+		try (OutputStream out = new BufferedOutputStream(new FileOutputStream(file), IO_BUFFER_SIZE)) {
+			byte[] pending = records.next();
+			if (pending != null) {
+				byte[] record;
+				while ((record = records.next()) != null) {
+					if (duplicateMerger != null && order.compare(pending, record) == 0) {
+						pending = duplicateMerger.apply(pending, record);
+					} else {
+						out.write(pending);
+						count++;
+						pending = record;
+					}
+				}
+				out.write(pending);
+				count++;
+			}
+		}
+		return count;
+	}
+
+	/**
+	 * Iterates over the records of a run file.
+	 */
+	private class RunIterator implements RecordIterator {
+
+		private final InputStream in;
+
+		RunIterator(File runFile) throws IOException {
+			in = new BufferedInputStream(new FileInputStream(runFile), IO_BUFFER_SIZE);
+		}
+
+		@Override
+		public byte[] next() throws IOException {
+			byte[] record = in.readNBytes(recordSize);
+			if (record.length == 0) {
+				return null;
+			} else if (record.length < recordSize) {
+				throw new IOException("incomplete record in sorted run");
+			}
+			return record;
+		}
+
+		@Override
+		public void set(byte[] record) {
+			throw new UnsupportedOperationException();
+		}
+
+		@Override
+		public void close() throws IOException {
+			in.close();
+		}
+	}
+
+	/**
+	 * Merges sorted iterators into one sorted iterator. Equal records of different iterators are returned in the order
+	 * of the iterators.
+	 */
+	private class MergingIterator implements RecordIterator {
+
+		private final PriorityQueue<Head> heads;
+
+		MergingIterator(List<RecordIterator> inputs) throws IOException {
+			heads = new PriorityQueue<>(Math.max(1, inputs.size()));
+			for (int i = 0; i < inputs.size(); i++) {
+				Head head = new Head(i, inputs.get(i));
+				if (head.record != null) {
+					heads.add(head);
+				}
+			}
+		}
+
+		@Override
+		public byte[] next() throws IOException {
+			Head head = heads.poll();
+			if (head == null) {
+				return null;
+			}
+			byte[] record = head.record;
+			head.record = head.input.next();
+			if (head.record != null) {
+				heads.add(head);
+			}
+			return record;
+		}
+
+		@Override
+		public void set(byte[] record) {
+			throw new UnsupportedOperationException();
+		}
+
+		@Override
+		public void close() {
+		}
+
+		private class Head implements Comparable<Head> {
+
+			private final int index;
+
+			private final RecordIterator input;
+
+			private byte[] record;
+
+			Head(int index, RecordIterator input) throws IOException {
+				this.index = index;
+				this.input = input;
+				this.record = input.next();
+			}
+
+			@Override
+			public int compareTo(Head other) {
+				int diff = order.compare(record, other.record);
+				return diff != 0 ? diff : Integer.compare(index, other.index);
+			}
+		}
+	}
+}
@@ -0,0 +1,144 @@
+/*******************************************************************************
+ * Copyright (c) 2023 Eclipse RDF4J contributors.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Distribution License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/org/documents/edl-v10.php.
+ *
+ * SPDX-License-Identifier: BSD-3-Clause
+ *******************************************************************************/
+package org.eclipse.rdf4j.sail.nativerdf;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+
+import org.eclipse.rdf4j.common.annotation.Experimental;
+import org.eclipse.rdf4j.model.IRI;
+import org.eclipse.rdf4j.model.Resource;
+import org.eclipse.rdf4j.model.Statement;
+import org.eclipse.rdf4j.model.Value;
+import org.eclipse.rdf4j.model.ValueFactory;
+import org.eclipse.rdf4j.sail.SailException;
+
+/**
+ * Adds a large number of explicit statements to a {@link NativeStore}. Adding statements in a transaction inserts each
+ * statement into every triple index, which causes random I/O once the indexes no longer fit in memory. The bulk loader
+ * instead stores the values of the statements in batches and sorts the statements in temporary files. On
+ * {@link #commit()}, a new B-Tree is written sequentially for each triple index from the statements of the store and
+ * the added statements in the order of that index, and the new indexes replace the current ones.
+ * <p>
+ * The added statements are not visible before they are committed. The commit waits until no transactions are active and
+ * blocks new transactions until it is done. Connections can read from the store while the new indexes are built. The
+ * indexes are then replaced once all open iterations over the store are closed, and new iterations wait until the
+ * replacement is done. The thread that commits must therefore not keep iterations over the store open. If the store
+ * crashes during the commit, either all or none of the statements are in the store after it has been restarted.
+ * <p>
+ * Example:
+ *
+ * <pre>
+ * try (NativeBulkLoader loader = nativeStore.createBulkLoader()) {
+ * 	for (Statement st : statements) {
+ * 		loader.add(st);
+ * 	}
+ * 	loader.commit();
+ * }
+ * </pre>
+ *
+ * @see NativeStore#createBulkLoader()
+ */
+@Experimental
+public class NativeBulkLoader implements AutoCloseable {
+
+	/**
+	 * The default maximum number of statements that are sorted in memory.
+	 */
+	public static final int DEFAULT_MAX_STATEMENTS_IN_MEMORY = 1_000_000;
+
+	/**
+	 * The number of statements whose values are stored in the value store at once.
+	 */
+	private static final int BATCH_SIZE = 1024;
+
+	private final NativeStore store;
+
+	private final NativeSailStore sailStore;
+
+	private final TripleStore.BulkLoad bulkLoad;
+
+	private final List<Statement> batch = new ArrayList<>(BATCH_SIZE);
+
+	private boolean done;
+
+	NativeBulkLoader(NativeStore store, NativeSailStore sailStore, int maxStatementsInMemory) {
+		this.store = store;
+		this.sailStore = sailStore;
+		this.bulkLoad = sailStore.startBulkLoad(maxStatementsInMemory);
+	}
+
+	/**
+	 * Adds a statement. The statement is added to the default graph if it has no context.
+	 */
+	public void add(Statement st) throws SailException {
+		if (done) {
+			throw new IllegalStateException("bulk loader has already been committed or closed");
+		}
+		batch.add(st);
+		if (batch.size() == BATCH_SIZE) {
+			flush();
+		}
+	}
+
+	/**
+	 * Adds a statement to each of the specified contexts, or to the default graph if no contexts are specified.
+	 */
+	public void add(Resource subj, IRI pred, Value obj, Resource... contexts) throws SailException {
+		Objects.requireNonNull(contexts,
+				"contexts argument may not be null; either the value should be cast to Resource or an empty array should be supplied");
+		ValueFactory vf = store.getValueFactory();
+		if (contexts.length == 0) {
+			add(vf.createStatement(subj, pred, obj));
+		} else {
+			for (Resource context : contexts) {
+				add(vf.createStatement(subj, pred, obj, context));
+			}
+		}
+	}
+
+	/**
+	 * Adds the statements to the store by replacing its triple indexes.
+	 */
+	public void commit() throws SailException {
+		if (done) {
+			throw new IllegalStateException("bulk loader has already been committed or closed");
+		}
+		flush();
+		done = true;
+		try {
+			store.runWithoutTransactions(() -> {
+				sailStore.commitBulkLoad(bulkLoad);
+				store.invalidateQueryResults();
+			});
+		} finally {
+			bulkLoad.close();
+		}
+	}
+
+	/**
+	 * Discards the statements that have not been committed and deletes the temporary files.
+	 */
+	@Override
+	public void close() {
+		done = true;
+		batch.clear();
+		bulkLoad.close();
+	}
+
+	private void flush() throws SailException {
+		if (!batch.isEmpty()) {
+			sailStore.addBulkLoadStatements(bulkLoad, batch);
+			batch.clear();
+		}
+	}
+}
@@ -11,11 +11,17 @@
 package org.eclipse.rdf4j.sail.nativerdf;
 
 import java.io.IOException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
 
 import org.eclipse.rdf4j.model.IRI;
 import org.eclipse.rdf4j.model.Resource;
 import org.eclipse.rdf4j.model.Value;
+import org.eclipse.rdf4j.query.algebra.Join;
 import org.eclipse.rdf4j.query.algebra.StatementPattern;
+import org.eclipse.rdf4j.query.algebra.TupleExpr;
 import org.eclipse.rdf4j.query.algebra.Var;
 import org.eclipse.rdf4j.query.algebra.evaluation.impl.EvaluationStatistics;
 import org.eclipse.rdf4j.sail.nativerdf.model.NativeValue;
@@ -23,6 +29,10 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 /**
+ * Estimates cardinalities from the {@link TripleStatistics statistics} of the triple store where possible, and from the
+ * size of the matching ranges of the indexes otherwise. Joins of statement patterns on the same subject are estimated
+ * from the characteristic sets of the subjects.
+ *
  * @author Arjohn Kampman
  * @author Enrico Minack
  */
@@ -39,6 +49,38 @@ class NativeEvaluationStatistics extends EvaluationStatistics {
 		this.tripleStore = tripleStore;
 	}
 
+	/**
+	 * Estimates the number of distinct subjects or objects of a statement pattern with a constant predicate from the
+	 * {@link TripleStatistics statistics} of the triple store, and uses the generic estimate otherwise.
+	 */
+	@Override
+	public double getDistinctValueCount(TupleExpr expr, String varName) {
+		if (expr instanceof StatementPattern) {
+			StatementPattern sp = (StatementPattern) expr;
+			Var subjVar = sp.getSubjectVar();
+			Var objVar = sp.getObjectVar();
+			boolean subject = !subjVar.hasValue() && subjVar.getName().equals(varName);
+			boolean object = !objVar.hasValue() && objVar.getName().equals(varName);
+			Value pred = sp.getPredicateVar().getValue();
+			if (subject != object && pred instanceof IRI && sp.getContextVar() == null) {
+				try {
+					int predID = valueStore.getID(pred);
+					if (predID == NativeValue.UNKNOWN_ID) {
+						return 1;
+					}
+					double distinctValueCount = tripleStore.getStatistics().getDistinctValueCount(predID, subject);
+					if (distinctValueCount >= 0) {
+						// a constant subject or object can reduce the number of distinct values of the other
+						return Math.max(1, Math.min(distinctValueCount, getCardinality(expr)));
+					}
+				} catch (IOException e) {
+					log.error("Failed to estimate distinct value count, falling back to generic implementation", e);
+				}
+			}
+		}
+		return super.getDistinctValueCount(expr, varName);
+	}
+
 	@Override
 	protected CardinalityCalculator createCardinalityCalculator() {
 		return new NativeCardinalityCalculator();
@@ -78,6 +120,77 @@ class NativeEvaluationStatistics extends EvaluationStatistics {
 		protected Value getConstantValue(Var var) {
 			return (var != null) ? var.getValue() : null;
 		}
+
+		@Override
+		public void meet(Join node) {
+			List<TupleExpr> args = new ArrayList<>();
+			getJoinArgs(node, args);
+
+			// group the patterns that can be estimated from the characteristic sets by their subject
+			Map<String, List<StatementPattern>> stars = new HashMap<>();
+			List<TupleExpr> otherArgs = new ArrayList<>();
+			for (TupleExpr arg : args) {
+				if (isStarPattern(arg)) {
+					StatementPattern sp = (StatementPattern) arg;
+					stars.computeIfAbsent(sp.getSubjectVar().getName(), k -> new ArrayList<>()).add(sp);
+				} else {
+					otherArgs.add(arg);
+				}
+			}
+
+			double result = 1;
+			for (List<StatementPattern> star : stars.values()) {
+				double starCardinality = star.size() > 1 ? starCardinality(star) : -1;
+				if (starCardinality >= 0) {
+					result *= starCardinality;
+				} else {
+					otherArgs.addAll(star);
+				}
+			}
+			for (TupleExpr arg : otherArgs) {
+				arg.visit(this);
+				result *= cardinality;
+			}
+			cardinality = result;
+		}
+
+		private void getJoinArgs(TupleExpr expr, List<TupleExpr> args) {
+			if (expr instanceof Join) {
+				getJoinArgs(((Join) expr).getLeftArg(), args);
+				getJoinArgs(((Join) expr).getRightArg(), args);
+			} else {
+				args.add(expr);
+			}
+		}
+
+		/**
+		 * @return whether the pattern has a variable subject and object, a constant predicate and any context
+		 */
+		private boolean isStarPattern(TupleExpr expr) {
+			if (!(expr instanceof StatementPattern)) {
+				return false;
+			}
+			StatementPattern sp = (StatementPattern) expr;
+			return !sp.getSubjectVar().hasValue() && getConstantValue(sp.getPredicateVar()) instanceof IRI
+					&& !sp.getObjectVar().hasValue() && getConstantValue(sp.getContextVar()) == null
+					&& !sp.getObjectVar().getName().equals(sp.getSubjectVar().getName());
+		}
+
+		private double starCardinality(List<StatementPattern> star) {
+			try {
+				int[] preds = new int[star.size()];
+				for (int i = 0; i < preds.length; i++) {
+					preds[i] = valueStore.getID(star.get(i).getPredicateVar().getValue());
+					if (preds[i] == NativeValue.UNKNOWN_ID) {
+						return 0;
+					}
+				}
+				return tripleStore.getStatistics().getStarCardinality(preds);
+			} catch (IOException e) {
+				log.error("Failed to estimate star join cardinality, falling back to the statement patterns", e);
+				return -1;
+			}
+		}
 	}
 
 	private double cardinality(Resource subj, IRI pred, Value obj, Resource context) throws IOException {
@@ -113,6 +226,15 @@ class NativeEvaluationStatistics extends EvaluationStatistics {
 			}
 		}
 
+		if (predID != NativeValue.UNKNOWN_ID && contextID == NativeValue.UNKNOWN_ID
+				&& (subjID == NativeValue.UNKNOWN_ID || objID == NativeValue.UNKNOWN_ID)) {
+			double cardinality = tripleStore.getStatistics()
+					.getCardinality(predID, subjID != NativeValue.UNKNOWN_ID, objID != NativeValue.UNKNOWN_ID);
+			if (cardinality >= 0) {
+				return cardinality;
+			}
+		}
+
 		return tripleStore.cardinality(subjID, predID, objID, contextID);
 	}
 }
@@ -14,6 +14,9 @@ import java.io.File;
 import java.io.IOException;
 import java.util.ArrayList;
 import java.util.Collections;
+import java.util.Comparator;
+import java.util.EnumSet;
+import java.util.HashMap;
 import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Map;
@@ -23,6 +26,8 @@ import java.util.Set;
 import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.concurrent.locks.ReentrantLock;
 
+import org.eclipse.rdf4j.common.annotation.Experimental;
+import org.eclipse.rdf4j.common.io.ByteArrayUtil;
 import org.eclipse.rdf4j.common.iteration.CloseableIteration;
 import org.eclipse.rdf4j.common.iteration.CloseableIteratorIteration;
 import org.eclipse.rdf4j.common.iteration.ConvertingIteration;
@@ -36,10 +41,12 @@ import org.eclipse.rdf4j.model.Resource;
 import org.eclipse.rdf4j.model.Statement;
 import org.eclipse.rdf4j.model.Value;
 import org.eclipse.rdf4j.model.ValueFactory;
+import org.eclipse.rdf4j.query.algebra.evaluation.StatementOrder;
 import org.eclipse.rdf4j.query.algebra.evaluation.impl.EvaluationStatistics;
 import org.eclipse.rdf4j.sail.SailException;
 import org.eclipse.rdf4j.sail.base.BackingSailSource;
 import org.eclipse.rdf4j.sail.base.Changeset;
+import org.eclipse.rdf4j.sail.base.OrderedUnionIteration;
 import org.eclipse.rdf4j.sail.base.SailDataset;
 import org.eclipse.rdf4j.sail.base.SailSink;
 import org.eclipse.rdf4j.sail.base.SailSource;
@@ -62,6 +69,16 @@ class NativeSailStore implements SailStore {
 
 	private final ValueStore valueStore;
 
+	/**
+	 * Compares values by their IDs, which is the order of the statements of the ordered statement iterators.
+	 */
+	private final Comparator<Value> comparator = Comparator.nullsFirst(Comparator.comparingInt(this::getOrderID));
+
+	/**
+	 * Whether statement iterators return values that only read their data when it is needed.
+	 */
+	private final boolean lazyValues;
+
 	private final NamespaceStore namespaceStore;
 
 	private final ContextStore contextStore;
@@ -91,6 +108,21 @@ class NativeSailStore implements SailStore {
 	 */
 	public NativeSailStore(File dataDir, String tripleIndexes, boolean forceSync, int valueCacheSize,
 			int valueIDCacheSize, int namespaceCacheSize, int namespaceIDCacheSize) throws IOException, SailException {
+		this(dataDir, tripleIndexes, forceSync, valueCacheSize, valueIDCacheSize, namespaceCacheSize,
+				namespaceIDCacheSize, false);
+	}
+
+	/**
+	 * Creates a new {@link NativeSailStore}.
+	 *
+	 * @param lazyValues whether statement iterators return values that only read their data when it is needed, see
+	 *                   {@link NativeStore#LAZY_VALUES_PROPERTY}
+	 */
+	@Experimental
+	public NativeSailStore(File dataDir, String tripleIndexes, boolean forceSync, int valueCacheSize,
+			int valueIDCacheSize, int namespaceCacheSize, int namespaceIDCacheSize, boolean lazyValues)
+			throws IOException, SailException {
+		this.lazyValues = lazyValues;
 		boolean initialized = false;
 		try {
 			namespaceStore = new NamespaceStore(dataDir);
@@ -206,6 +238,83 @@ class NativeSailStore implements SailStore {
 		};
 	}
 
+	/**
+	 * Starts a bulk load of explicit statements, see {@link TripleStore.BulkLoad}.
+	 */
+	TripleStore.BulkLoad startBulkLoad(int maxStatementsInMemory) {
+		return tripleStore.startBulkLoad(maxStatementsInMemory);
+	}
+
+	/**
+	 * Stores the values of a batch of statements in the value store and adds the statements to the bulk load. Each
+	 * distinct value of the batch is only looked up once.
+	 */
+	void addBulkLoadStatements(TripleStore.BulkLoad bulkLoad, List<Statement> statements) throws SailException {
+		sinkStoreAccessLock.lock();
+		try {
+			Map<Value, Integer> ids = new HashMap<>();
+			for (Statement st : statements) {
+				int subjID = storeBulkLoadValue(ids, st.getSubject());
+				int predID = storeBulkLoadValue(ids, st.getPredicate());
+				int objID = storeBulkLoadValue(ids, st.getObject());
+				int contextID = st.getContext() == null ? 0 : storeBulkLoadValue(ids, st.getContext());
+				bulkLoad.add(subjID, predID, objID, contextID);
+			}
+		} catch (IOException e) {
+			throw new SailException(e);
+		} finally {
+			sinkStoreAccessLock.unlock();
+		}
+	}
+
+	private int storeBulkLoadValue(Map<Value, Integer> ids, Value value) throws IOException {
+		Integer id = ids.get(value);
+		if (id == null) {
+			id = valueStore.storeValue(value);
+			ids.put(value, id);
+		}
+		return id;
+	}
+
+	/**
+	 * Commits a bulk load and updates the context index with the explicit statements in the new indexes. Must not be
+	 * called while a transaction is active.
+	 */
+	void commitBulkLoad(TripleStore.BulkLoad bulkLoad) throws SailException {
+		sinkStoreAccessLock.lock();
+		try {
+			if (storeTxnStarted.get()) {
+				throw new SailException("Bulk load can not be committed while a transaction is active");
+			}
+
+			// the triples must not refer to values that are lost in a crash
+			valueStore.sync();
+			contextStore.invalidate();
+
+			bulkLoad.commit();
+
+			Map<Integer, Long> contextSizes = new HashMap<>();
+			try (RecordIterator iter = tripleStore.getTriples(-1, -1, -1, -1, true, false)) {
+				byte[] data;
+				while ((data = iter.next()) != null) {
+					int contextID = ByteArrayUtil.getInt(data, TripleStore.CONTEXT_IDX);
+					if (contextID != 0) {
+						contextSizes.merge(contextID, 1L, Long::sum);
+					}
+				}
+			}
+			contextStore.clear();
+			for (Entry<Integer, Long> entry : contextSizes.entrySet()) {
+				contextStore.incrementBy((Resource) valueStore.getValue(entry.getKey()), entry.getValue());
+			}
+			contextStore.sync();
+		} catch (IOException e) {
+			throw new SailException(e);
+		} finally {
+			sinkStoreAccessLock.unlock();
+		}
+	}
+
 	/**
 	 * Creates a statement iterator based on the supplied pattern.
 	 *
@@ -218,6 +327,17 @@ class NativeSailStore implements SailStore {
 	 */
 	CloseableIteration<? extends Statement, SailException> createStatementIterator(Resource subj, IRI pred, Value obj,
 			boolean explicit, Resource... contexts) throws IOException {
+		return createStatementIterator(null, subj, pred, obj, explicit, contexts);
+	}
+
+	/**
+	 * Creates a statement iterator based on the supplied pattern, that returns the statements in the specified order of
+	 * the IDs of their values.
+	 *
+	 * @param order The order of the statements, or <var>null</var> if the statements are not ordered.
+	 */
+	private CloseableIteration<? extends Statement, SailException> createStatementIterator(StatementOrder order,
+			Resource subj, IRI pred, Value obj, boolean explicit, Resource... contexts) throws IOException {
 		int subjID = NativeValue.UNKNOWN_ID;
 		if (subj != null) {
 			subjID = valueStore.getID(subj);
@@ -263,15 +383,81 @@ class NativeSailStore implements SailStore {
 		ArrayList<NativeStatementIterator> perContextIterList = new ArrayList<>(contextIDList.size());
 
 		for (int contextID : contextIDList) {
-			RecordIterator btreeIter = tripleStore.getTriples(subjID, predID, objID, contextID, explicit, false);
+			RecordIterator btreeIter;
+			if (order == null) {
+				btreeIter = tripleStore.getTriples(subjID, predID, objID, contextID, explicit, false);
+			} else {
+				btreeIter = tripleStore.getTriples(subjID, predID, objID, contextID, explicit, false, getField(order));
+			}
 
-			perContextIterList.add(new NativeStatementIterator(btreeIter, valueStore));
+			perContextIterList.add(new NativeStatementIterator(btreeIter, valueStore, lazyValues));
 		}
 
 		if (perContextIterList.size() == 1) {
 			return perContextIterList.get(0);
-		} else {
+		} else if (order == null) {
 			return new UnionIteration<>(perContextIterList);
+		} else {
+			return new OrderedUnionIteration<Statement, SailException>(
+					(st1, st2) -> comparator.compare(order.getValue(st1), order.getValue(st2)), perContextIterList);
+		}
+	}
+
+	/**
+	 * Returns the orders in which the statements that match the supplied pattern can be returned by
+	 * {@link #createStatementIterator(StatementOrder, Resource, IRI, Value, boolean, Resource...)}.
+	 */
+	Set<StatementOrder> getSupportedOrders(Resource subj, IRI pred, Value obj, Resource... contexts)
+			throws IOException {
+		int subjID = subj == null ? NativeValue.UNKNOWN_ID : valueStore.getID(subj);
+		int predID = pred == null ? NativeValue.UNKNOWN_ID : valueStore.getID(pred);
+		int objID = obj == null ? NativeValue.UNKNOWN_ID : valueStore.getID(obj);
+		if (subj != null && subjID == NativeValue.UNKNOWN_ID || pred != null && predID == NativeValue.UNKNOWN_ID
+				|| obj != null && objID == NativeValue.UNKNOWN_ID) {
+			// no statements match the pattern
+			return Collections.emptySet();
+		}
+
+		List<Integer> contextIDList = contexts.length == 0 ? List.of(NativeValue.UNKNOWN_ID)
+				: getContextIDs(contexts);
+		Set<StatementOrder> orders = EnumSet.noneOf(StatementOrder.class);
+		for (StatementOrder order : StatementOrder.values()) {
+			boolean supported = true;
+			for (int contextID : contextIDList) {
+				supported &= tripleStore.isOrderSupported(subjID, predID, objID, contextID, getField(order));
+			}
+			if (supported) {
+				orders.add(order);
+			}
+		}
+		return orders;
+	}
+
+	private static char getField(StatementOrder order) {
+		switch (order) {
+		case S:
+			return 's';
+		case P:
+			return 'p';
+		case O:
+			return 'o';
+		case C:
+			return 'c';
+		default:
+			throw new IllegalArgumentException("Unknown order: " + order);
+		}
+	}
+
+	/**
+	 * @return the ID of the value, or {@link Integer#MAX_VALUE} for values that are not in the store, which are never
+	 *         returned by ordered statement iterators
+	 */
+	private int getOrderID(Value value) {
+		try {
+			int id = valueStore.getID(value);
+			return id == NativeValue.UNKNOWN_ID ? Integer.MAX_VALUE : id;
+		} catch (IOException e) {
+			throw new SailException(e);
 		}
 	}
 
@@ -624,6 +810,30 @@ class NativeSailStore implements SailStore {
 				throw new SailException("Unable to get statements", e);
 			}
 		}
+
+		@Override
+		public Set<StatementOrder> getSupportedOrders(Resource subj, IRI pred, Value obj, Resource... contexts) {
+			try {
+				return NativeSailStore.this.getSupportedOrders(subj, pred, obj, contexts);
+			} catch (IOException e) {
+				throw new SailException("Unable to get supported orders", e);
+			}
+		}
+
+		@Override
+		public CloseableIteration<? extends Statement, SailException> getOrderedStatements(StatementOrder order,
+				Resource subj, IRI pred, Value obj, Resource... contexts) throws SailException {
+			try {
+				return createStatementIterator(order, subj, pred, obj, explicit, contexts);
+			} catch (IOException e) {
+				throw new SailException("Unable to get statements", e);
+			}
+		}
+
+		@Override
+		public Comparator<Value> getComparator() {
+			return comparator;
+		}
 	}
 
 }
@@ -24,6 +24,8 @@ import java.util.function.Supplier;
 import org.apache.commons.io.FileUtils;
 import org.eclipse.rdf4j.collection.factory.api.CollectionFactory;
 import org.eclipse.rdf4j.collection.factory.mapdb.MapDbCollectionFactory;
+import org.eclipse.rdf4j.collection.factory.offheap.OffHeapCollectionFactory;
+import org.eclipse.rdf4j.common.annotation.Experimental;
 import org.eclipse.rdf4j.common.concurrent.locks.Lock;
 import org.eclipse.rdf4j.common.concurrent.locks.LockManager;
 import org.eclipse.rdf4j.common.io.MavenUtil;
@@ -60,6 +62,22 @@ public class NativeStore extends AbstractNotifyingSail implements FederatedServi
 
 	private static final Logger logger = LoggerFactory.getLogger(NativeStore.class);
 
+	/**
+	 * The name of the system property that makes queries keep the values of the store in collections by their IDs in
+	 * off-heap memory, instead of on the heap. See {@link OffHeapCollectionFactory}. It is read when the store is
+	 * initialized.
+	 */
+	@Experimental
+	public static final String OFF_HEAP_COLLECTIONS_PROPERTY = "org.eclipse.rdf4j.sail.nativerdf.NativeStore.offHeapCollections";
+
+	/**
+	 * The name of the system property that makes the store return values that only read their data from the value store
+	 * when it is needed, so that values that are only joined, compared to other values of the store or counted are
+	 * never read. It is read when the store is initialized.
+	 */
+	@Experimental
+	public static final String LAZY_VALUES_PROPERTY = "org.eclipse.rdf4j.sail.nativerdf.NativeStore.lazyValues";
+
 	private static final String VERSION = MavenUtil.loadVersion("org.eclipse.rdf4j", "rdf4j-sail-nativerdf", "devel");
 
 	private static final Cleaner REMOVE_STORES_USED_FOR_MEMORY_OVERFLOW = Cleaner.create();
@@ -128,8 +146,18 @@ public class NativeStore extends AbstractNotifyingSail implements FederatedServi
 
 	private volatile int namespaceIDCacheSize = ValueStore.NAMESPACE_ID_CACHE_SIZE;
 
+	// the values of OFF_HEAP_COLLECTIONS_PROPERTY and LAZY_VALUES_PROPERTY when the store was initialized
+	private volatile boolean offHeapCollections;
+
+	private volatile boolean lazyValues;
+
 	private SailStore store;
 
+	/**
+	 * The store that keeps the committed statements, without isolation.
+	 */
+	private NativeSailStore nativeSailStore;
+
 	// used to decide if store is writable, is true if the store was writable during initialization
 	private boolean isWritable;
 
@@ -330,6 +358,9 @@ public class NativeStore extends AbstractNotifyingSail implements FederatedServi
 
 		logger.debug("Data dir is " + dataDir);
 
+		offHeapCollections = Boolean.getBoolean(OFF_HEAP_COLLECTIONS_PROPERTY);
+		lazyValues = Boolean.getBoolean(LAZY_VALUES_PROPERTY);
+
 		try {
 			Path versionPath = new File(dataDir, "nativerdf.ver").toPath();
 			String version = versionPath.toFile().exists() ? Files.readString(versionPath, StandardCharsets.UTF_8)
@@ -340,7 +371,8 @@ public class NativeStore extends AbstractNotifyingSail implements FederatedServi
 						StandardOpenOption.CREATE, StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING);
 			}
 			final NativeSailStore mainStore = new NativeSailStore(dataDir, tripleIndexes, forceSync, valueCacheSize,
-					valueIDCacheSize, namespaceCacheSize, namespaceIDCacheSize);
+					valueIDCacheSize, namespaceCacheSize, namespaceIDCacheSize, lazyValues);
+			this.nativeSailStore = mainStore;
 			this.store = new SnapshotSailStore(mainStore, () -> new MemoryOverflowIntoNativeStore()) {
 
 				@Override
@@ -478,6 +510,53 @@ public class NativeStore extends AbstractNotifyingSail implements FederatedServi
 		return store;
 	}
 
+	/**
+	 * Creates a loader that adds a large number of statements to this store with less I/O than transactions do, by
+	 * building the triple indexes from sorted runs of the statements. The store must have been initialized.
+	 *
+	 * @return a new bulk loader that must be closed after use.
+	 * @see NativeBulkLoader
+	 */
+	@Experimental
+	public NativeBulkLoader createBulkLoader() throws SailException {
+		return createBulkLoader(NativeBulkLoader.DEFAULT_MAX_STATEMENTS_IN_MEMORY);
+	}
+
+	/**
+	 * Creates a loader that adds a large number of statements to this store, see {@link #createBulkLoader()}.
+	 *
+	 * @param maxStatementsInMemory the maximum number of statements that the loader sorts in memory before writing them
+	 *                              to a temporary file.
+	 * @return a new bulk loader that must be closed after use.
+	 */
+	@Experimental
+	public NativeBulkLoader createBulkLoader(int maxStatementsInMemory) throws SailException {
+		if (!isInitialized()) {
+			throw new IllegalStateException("NativeStore has not been initialized");
+		}
+		if (!isWritable()) {
+			throw new SailException("NativeStore is not writable");
+		}
+		return new NativeBulkLoader(this, nativeSailStore, maxStatementsInMemory);
+	}
+
+	/**
+	 * Waits until no transactions are active and runs the supplied action while new transactions are blocked.
+	 */
+	void runWithoutTransactions(Runnable action) throws SailException {
+		txnLockManager.lock();
+		try {
+			isolatedLockManager.waitForActiveLocks();
+			disabledIsolationLockManager.waitForActiveLocks();
+			action.run();
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+			throw new SailException(e);
+		} finally {
+			txnLockManager.unlock();
+		}
+	}
+
 	private boolean upgradeStore(File dataDir, String version) throws IOException, SailException {
 		if (version == null) {
 			// either a new store or a pre-2.8.2 store
@@ -504,6 +583,11 @@ public class NativeStore extends AbstractNotifyingSail implements FederatedServi
 
 	@Override
 	public Supplier<CollectionFactory> getCollectionFactory() {
+		if (offHeapCollections) {
+			NativeValueIdResolver resolver = new NativeValueIdResolver((ValueStore) getValueFactory(), lazyValues);
+			return () -> new OffHeapCollectionFactory(resolver,
+					new MapDbCollectionFactory(getIterationCacheSyncThreshold()));
+		}
 		return () -> new MapDbCollectionFactory(getIterationCacheSyncThreshold());
 	}
 }
@@ -0,0 +1,52 @@
+/*******************************************************************************
+ * Copyright (c) 2023 Eclipse RDF4J contributors.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Distribution License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/org/documents/edl-v10.php.
+ *
+ * SPDX-License-Identifier: BSD-3-Clause
+ *******************************************************************************/
+package org.eclipse.rdf4j.sail.nativerdf;
+
+import java.io.IOException;
+
+import org.eclipse.rdf4j.collection.factory.offheap.ValueIdResolver;
+import org.eclipse.rdf4j.model.Value;
+import org.eclipse.rdf4j.sail.SailException;
+import org.eclipse.rdf4j.sail.nativerdf.model.NativeValue;
+
+/**
+ * Resolves values to the IDs of the {@link ValueStore} of a {@link NativeStore}.
+ */
+class NativeValueIdResolver implements ValueIdResolver {
+
+	private final ValueStore valueStore;
+
+	private final boolean lazyValues;
+
+	NativeValueIdResolver(ValueStore valueStore, boolean lazyValues) {
+		this.valueStore = valueStore;
+		this.lazyValues = lazyValues;
+	}
+
+	@Override
+	public long getId(Value value) {
+		try {
+			int id = valueStore.getID(value);
+			return id == NativeValue.UNKNOWN_ID ? NO_ID : id;
+		} catch (IOException e) {
+			throw new SailException(e);
+		}
+	}
+
+	@Override
+	public Value getValue(long id) {
+		try {
+			return lazyValues ? valueStore.getLazyValue((int) id) : valueStore.getValue((int) id);
+		} catch (IOException e) {
+			throw new SailException(e);
+		}
+	}
+}
@@ -0,0 +1,450 @@
+/*******************************************************************************
+ * Copyright (c) 2023 Eclipse RDF4J contributors.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Distribution License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/org/documents/edl-v10.php.
+ *
+ * SPDX-License-Identifier: BSD-3-Clause
+ *******************************************************************************/
+package org.eclipse.rdf4j.sail.nativerdf;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileNotFoundException;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+
+import org.eclipse.rdf4j.common.io.IOUtil;
+
+/**
+ * Statistics about the statements in a {@link TripleStore} that are used to estimate the cardinality of statement
+ * patterns without accessing the indexes. For every predicate the number of statements, distinct subjects and distinct
+ * objects is kept. Additionally the characteristic sets of the subjects are kept: the characteristic set of a subject
+ * is the set of predicates it is used with, and for every characteristic set the number of subjects and the number of
+ * statements per predicate is counted. These allow accurate estimates for star-shaped joins on a subject, see Neumann
+ * and Moerkotte, "Characteristic sets: Accurate cardinality estimation for RDF queries with multiple joins", ICDE 2011.
+ * <p>
+ * The number of distinct subjects and the characteristic sets can only be maintained if the triple store has an index
+ * that starts with the subject, and the number of distinct objects if it has an index that starts with the predicate
+ * and the object. The statistics reflect the committed state of the triple store. They are stored in a file that is
+ * removed while a transaction is active, so that they are rebuilt from the indexes after a crash.
+ * <p>
+ * The statistics file has a 6-byte header consisting of:
+ *
+ * <pre>
+ *  byte 1-3         : the magic number marker
+ *  byte 4           : the file format version
+ *  byte 5           : whether the number of distinct subjects per predicate is known
+ *  byte 6           : whether the number of distinct objects per predicate is known
+ * </pre>
+ * <p>
+ * followed by the number of predicates as an int, a record per predicate with its ID as an int and the number of
+ * statements, distinct subjects and distinct objects as longs, the number of characteristic sets as an int, and a
+ * record per characteristic set with the number of subjects as a long, the number of predicates as an int, and the ID
+ * and number of statements of each predicate as an int and a long.
+ */
+class TripleStatistics {
+
+	private static final String FILE_NAME = "triples-stats.dat";
+
+	/**
+	 * Magic number "Native Statistics File" to detect whether the file is actually a statistics file.
+	 */
+	private static final byte[] MAGIC_NUMBER = new byte[] { 'n', 's', 'f' };
+
+	private static final byte FILE_FORMAT_VERSION = 1;
+
+	/**
+	 * The maximum number of characteristic sets that is kept. Datasets with a less regular structure than this are not
+	 * well described by their characteristic sets, these are dropped when the limit is exceeded.
+	 */
+	static final int MAX_CHARACTERISTIC_SETS = 10_000;
+
+	private final File file;
+
+	private final Map<Integer, PredicateStatistics> predicates = new HashMap<>();
+
+	private final Map<PredicateSet, CharacteristicSet> characteristicSets = new HashMap<>();
+
+	private boolean subjectsKnown;
+
+	private boolean objectsKnown;
+
+	private boolean characteristicSetsKnown;
+
+	TripleStatistics(File dataDir) {
+		this.file = new File(dataDir, FILE_NAME);
+	}
+
+	/**
+	 * Removes all statistics.
+	 *
+	 * @param subjectsKnown whether the distinct subjects and characteristic sets will be maintained
+	 * @param objectsKnown  whether the distinct objects will be maintained
+	 */
+	synchronized void clear(boolean subjectsKnown, boolean objectsKnown) {
+		predicates.clear();
+		characteristicSets.clear();
+		this.subjectsKnown = subjectsKnown;
+		this.objectsKnown = objectsKnown;
+		this.characteristicSetsKnown = subjectsKnown;
+	}
+
+	synchronized boolean isSubjectsKnown() {
+		return subjectsKnown;
+	}
+
+	synchronized boolean isObjectsKnown() {
+		return objectsKnown;
+	}
+
+	/**
+	 * Records a change in the number of statements with a predicate, for use when the subjects are not known.
+	 */
+	synchronized void updateCount(int pred, long delta) {
+		if (delta != 0) {
+			getPredicate(pred).count += delta;
+			removeIfEmpty(pred);
+		}
+	}
+
+	/**
+	 * Records a change of the statements of a subject.
+	 *
+	 * @param before the number of statements per predicate of the subject before the change
+	 * @param after  the number of statements per predicate of the subject after the change
+	 */
+	synchronized void updateSubject(Map<Integer, Long> before, Map<Integer, Long> after) {
+		if (before.equals(after)) {
+			return;
+		}
+
+		Set<Integer> changed = new HashSet<>(before.keySet());
+		changed.addAll(after.keySet());
+		for (Integer pred : changed) {
+			long countBefore = before.getOrDefault(pred, 0L);
+			long countAfter = after.getOrDefault(pred, 0L);
+			PredicateStatistics predicate = getPredicate(pred);
+			predicate.count += countAfter - countBefore;
+			if (countBefore == 0) {
+				predicate.subjects++;
+			} else if (countAfter == 0) {
+				predicate.subjects--;
+			}
+			removeIfEmpty(pred);
+		}
+
+		if (characteristicSetsKnown) {
+			if (!before.isEmpty()) {
+				PredicateSet key = new PredicateSet(before);
+				CharacteristicSet set = characteristicSets.get(key);
+				if (set != null && set.add(before, -1) == 0) {
+					characteristicSets.remove(key);
+				}
+			}
+			if (!after.isEmpty()) {
+				PredicateSet key = new PredicateSet(after);
+				characteristicSets.computeIfAbsent(key, CharacteristicSet::new).add(after, 1);
+				if (characteristicSets.size() > MAX_CHARACTERISTIC_SETS) {
+					characteristicSets.clear();
+					characteristicSetsKnown = false;
+				}
+			}
+		}
+	}
+
+	/**
+	 * Records a change of the statements with a predicate and object.
+	 */
+	synchronized void updateObject(int pred, boolean existedBefore, boolean existsAfter) {
+		if (existedBefore != existsAfter) {
+			getPredicate(pred).objects += existsAfter ? 1 : -1;
+			removeIfEmpty(pred);
+		}
+	}
+
+	private PredicateStatistics getPredicate(int pred) {
+		return predicates.computeIfAbsent(pred, p -> new PredicateStatistics());
+	}
+
+	private void removeIfEmpty(int pred) {
+		PredicateStatistics predicate = predicates.get(pred);
+		if (predicate != null && predicate.count == 0 && predicate.subjects == 0 && predicate.objects == 0) {
+			predicates.remove(pred);
+		}
+	}
+
+	/**
+	 * Estimates the number of statements with a predicate.
+	 *
+	 * @param pred         the ID of the predicate
+	 * @param subjectBound whether the subject of the statements is given
+	 * @param objectBound  whether the object of the statements is given
+	 * @return the estimated number of statements, or a negative number if it cannot be estimated from the statistics.
+	 */
+	synchronized double getCardinality(int pred, boolean subjectBound, boolean objectBound) {
+		PredicateStatistics predicate = predicates.get(pred);
+		if (predicate == null || predicate.count <= 0) {
+			return -1;
+		}
+
+		double cardinality = predicate.count;
+		if (subjectBound) {
+			if (!subjectsKnown || predicate.subjects <= 0) {
+				return -1;
+			}
+			cardinality /= predicate.subjects;
+		}
+		if (objectBound) {
+			if (!objectsKnown || predicate.objects <= 0) {
+				return -1;
+			}
+			cardinality /= predicate.objects;
+		}
+		return cardinality;
+	}
+
+	/**
+	 * Returns the number of distinct subjects or objects of the statements with a predicate.
+	 *
+	 * @param pred    the ID of the predicate
+	 * @param subject whether the distinct subjects or the distinct objects are requested
+	 * @return the number of distinct values, or a negative number if it is not known from the statistics.
+	 */
+	synchronized double getDistinctValueCount(int pred, boolean subject) {
+		PredicateStatistics predicate = predicates.get(pred);
+		if (predicate == null) {
+			return -1;
+		}
+		if (subject) {
+			return subjectsKnown && predicate.subjects > 0 ? predicate.subjects : -1;
+		}
+		return objectsKnown && predicate.objects > 0 ? predicate.objects : -1;
+	}
+
+	/**
+	 * Estimates the number of solutions of a star-shaped join of statement patterns on the same subject, from the
+	 * characteristic sets that contain all the predicates.
+	 *
+	 * @param preds the IDs of the predicates of the statement patterns, a predicate occurs several times if it is used
+	 *              by several patterns
+	 * @return the estimated number of solutions, or a negative number if it cannot be estimated from the statistics.
+	 */
+	synchronized double getStarCardinality(int[] preds) {
+		if (!characteristicSetsKnown) {
+			return -1;
+		}
+
+		double cardinality = 0;
+		for (CharacteristicSet set : characteristicSets.values()) {
+			double solutions = set.subjects;
+			for (int pred : preds) {
+				long count = set.getCount(pred);
+				if (count == 0) {
+					solutions = 0;
+					break;
+				}
+				// the average number of statements with this predicate per subject
+				solutions *= (double) count / set.subjects;
+			}
+			cardinality += solutions;
+		}
+		return cardinality;
+	}
+
+	/**
+	 * Reads the statistics from their file.
+	 *
+	 * @param subjectsKnown whether the distinct subjects and characteristic sets should be known
+	 * @param objectsKnown  whether the distinct objects should be known
+	 * @throws FileNotFoundException if there are no statistics stored for the triple store
+	 * @throws IOException           if the statistics could not be read, or are of different kind than requested
+	 */
+	synchronized void load(boolean subjectsKnown, boolean objectsKnown) throws IOException {
+		if (!file.exists()) {
+			throw new FileNotFoundException("statistics file " + file + " does not exist");
+		}
+
+		clear(subjectsKnown, objectsKnown);
+		try (DataInputStream in = new DataInputStream(new BufferedInputStream(new FileInputStream(file)))) {
+			byte[] magicNumber = IOUtil.readBytes(in, MAGIC_NUMBER.length);
+			if (!Arrays.equals(magicNumber, MAGIC_NUMBER)) {
+				throw new IOException("File doesn't contain compatible statistics data");
+			}
+
+			byte version = in.readByte();
+			if (version != FILE_FORMAT_VERSION) {
+				throw new IOException("Unable to read statistics file; invalid file format version: " + version);
+			}
+
+			if (in.readBoolean() != subjectsKnown || in.readBoolean() != objectsKnown) {
+				throw new IOException("Statistics file does not match the indexes of the triple store");
+			}
+
+			int predicateCount = in.readInt();
+			for (int i = 0; i < predicateCount; i++) {
+				PredicateStatistics predicate = new PredicateStatistics();
+				int pred = in.readInt();
+				predicate.count = in.readLong();
+				predicate.subjects = in.readLong();
+				predicate.objects = in.readLong();
+				predicates.put(pred, predicate);
+			}
+
+			int characteristicSetCount = in.readInt();
+			characteristicSetsKnown = characteristicSetCount >= 0;
+			for (int i = 0; i < characteristicSetCount; i++) {
+				long subjects = in.readLong();
+				int size = in.readInt();
+				int[] preds = new int[size];
+				long[] counts = new long[size];
+				for (int j = 0; j < size; j++) {
+					preds[j] = in.readInt();
+					counts[j] = in.readLong();
+				}
+				CharacteristicSet set = new CharacteristicSet(new PredicateSet(preds));
+				set.subjects = subjects;
+				set.counts = counts;
+				characteristicSets.put(set.predicates, set);
+			}
+
+			if (in.read() != -1) {
+				throw new IOException("Unable to read statistics file; unexpected data at end of file");
+			}
+		} catch (IOException e) {
+			clear(subjectsKnown, objectsKnown);
+			throw e;
+		}
+	}
+
+	/**
+	 * Writes the statistics to their file.
+	 */
+	synchronized void store() throws IOException {
+		File tmpFile = new File(file.getParentFile(), FILE_NAME + ".tmp");
+		try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(new FileOutputStream(tmpFile)))) {
+			out.write(MAGIC_NUMBER);
+			out.writeByte(FILE_FORMAT_VERSION);
+			out.writeBoolean(subjectsKnown);
+			out.writeBoolean(objectsKnown);
+
+			out.writeInt(predicates.size());
+			for (Map.Entry<Integer, PredicateStatistics> entry : predicates.entrySet()) {
+				out.writeInt(entry.getKey());
+				out.writeLong(entry.getValue().count);
+				out.writeLong(entry.getValue().subjects);
+				out.writeLong(entry.getValue().objects);
+			}
+
+			out.writeInt(characteristicSetsKnown ? characteristicSets.size() : -1);
+			for (CharacteristicSet set : characteristicSets.values()) {
+				out.writeLong(set.subjects);
+				out.writeInt(set.predicates.preds.length);
+				for (int i = 0; i < set.predicates.preds.length; i++) {
+					out.writeInt(set.predicates.preds[i]);
+					out.writeLong(set.counts[i]);
+				}
+			}
+		}
+		try {
+			Files.move(tmpFile.toPath(), file.toPath(), StandardCopyOption.REPLACE_EXISTING,
+					StandardCopyOption.ATOMIC_MOVE);
+		} catch (AtomicMoveNotSupportedException e) {
+			Files.move(tmpFile.toPath(), file.toPath(), StandardCopyOption.REPLACE_EXISTING);
+		}
+	}
+
+	/**
+	 * Removes the file of the statistics, so that they are rebuilt if the triple store is not closed properly.
+	 */
+	synchronized void invalidate() throws IOException {
+		Files.deleteIfExists(file.toPath());
+	}
+
+	private static class PredicateStatistics {
+
+		long count;
+
+		long subjects;
+
+		long objects;
+	}
+
+	/**
+	 * The sorted IDs of the predicates of a characteristic set.
+	 */
+	private static final class PredicateSet {
+
+		private final int[] preds;
+
+		private final int hashCode;
+
+		PredicateSet(Map<Integer, Long> counts) {
+			this(counts.keySet().stream().mapToInt(Integer::intValue).sorted().toArray());
+		}
+
+		PredicateSet(int[] preds) {
+			this.preds = preds;
+			this.hashCode = Arrays.hashCode(preds);
+		}
+
+		int indexOf(int pred) {
+			return Arrays.binarySearch(preds, pred);
+		}
+
+		@Override
+		public boolean equals(Object o) {
+			return o instanceof PredicateSet && Arrays.equals(preds, ((PredicateSet) o).preds);
+		}
+
+		@Override
+		public int hashCode() {
+			return hashCode;
+		}
+	}
+
+	private static class CharacteristicSet {
+
+		final PredicateSet predicates;
+
+		long subjects;
+
+		// the number of statements per predicate, in the order of the predicates
+		long[] counts;
+
+		CharacteristicSet(PredicateSet predicates) {
+			this.predicates = predicates;
+			this.counts = new long[predicates.preds.length];
+		}
+
+		/**
+		 * @return the number of subjects after adding or removing the subject
+		 */
+		long add(Map<Integer, Long> subjectCounts, int sign) {
+			subjects += sign;
+			for (int i = 0; i < predicates.preds.length; i++) {
+				counts[i] += sign * subjectCounts.get(predicates.preds[i]);
+			}
+			return subjects;
+		}
+
+		long getCount(int pred) {
+			int index = predicates.indexOf(pred);
+			return index < 0 ? 0 : counts[index];
+		}
+	}
+}
@@ -13,25 +13,34 @@ package org.eclipse.rdf4j.sail.nativerdf;
 import java.io.Closeable;
 import java.io.File;
 import java.io.FileInputStream;
+import java.io.FileNotFoundException;
 import java.io.FileOutputStream;
 import java.io.IOException;
 import java.io.InputStream;
 import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collections;
 import java.util.HashMap;
 import java.util.HashSet;
+import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Properties;
 import java.util.Set;
 import java.util.StringTokenizer;
 
+import org.eclipse.rdf4j.common.concurrent.locks.Lock;
+import org.eclipse.rdf4j.common.concurrent.locks.ReadPrefReadWriteLockManager;
+import org.eclipse.rdf4j.common.concurrent.locks.ReadWriteLockManager;
 import org.eclipse.rdf4j.common.io.ByteArrayUtil;
 import org.eclipse.rdf4j.sail.SailException;
 import org.eclipse.rdf4j.sail.nativerdf.TxnStatusFile.TxnStatus;
 import org.eclipse.rdf4j.sail.nativerdf.btree.BTree;
+import org.eclipse.rdf4j.sail.nativerdf.btree.BTreeBuilder;
 import org.eclipse.rdf4j.sail.nativerdf.btree.RecordComparator;
 import org.eclipse.rdf4j.sail.nativerdf.btree.RecordIterator;
 import org.slf4j.Logger;
@@ -76,6 +85,26 @@ class TripleStore implements Closeable {
 	 */
 	private static final String INDEXES_KEY = "triple-indexes";
 
+	/**
+	 * The block size of the index B-Trees.
+	 */
+	private static final int INDEX_BLOCK_SIZE = 2048;
+
+	/**
+	 * The file name prefix for the files of the indexes that are built by a bulk load.
+	 */
+	private static final String BULK_LOAD_PREFIX = "bulkload-";
+
+	/**
+	 * The file that marks that the indexes that are built by a bulk load are complete and replace the current indexes.
+	 */
+	private static final String BULK_LOAD_FILE = "bulkload.complete";
+
+	/**
+	 * The suffixes of the files of a B-Tree.
+	 */
+	private static final String[] BTREE_FILE_SUFFIXES = { ".dat", ".alloc" };
+
 	/**
 	 * The version number for the current triple store.
 	 * <ul>
@@ -153,6 +182,14 @@ class TripleStore implements Closeable {
 
 	private volatile SortedRecordCache updatedTriplesCache;
 
+	private final TripleStatistics statistics;
+
+	/**
+	 * Prevents the indexes from being replaced by a bulk load while they are read. Each open iterator holds a read
+	 * lock. Readers are preferred, so that a thread that opens nested iterators is not blocked by a waiting bulk load.
+	 */
+	private final ReadWriteLockManager indexLockManager = new ReadPrefReadWriteLockManager();
+
 	/*--------------*
 	 * Constructors *
 	 *--------------*/
@@ -165,6 +202,7 @@ class TripleStore implements Closeable {
 		this.dir = dir;
 		this.forceSync = forceSync;
 		this.txnStatusFile = new TxnStatusFile(dir);
+		this.statistics = new TripleStatistics(dir);
 
 		File propFile = new File(dir, PROPERTIES_FILE);
 
@@ -188,6 +226,7 @@ class TripleStore implements Closeable {
 
 			// Initialize existing indexes
 			Set<String> indexSpecs = getIndexSpecs();
+			completeBulkLoad(indexSpecs);
 			initIndexes(indexSpecs);
 
 			// Check transaction status
@@ -217,6 +256,8 @@ class TripleStore implements Closeable {
 			properties.setProperty(INDEXES_KEY, indexSpecStr);
 			storeProperties(propFile);
 		}
+
+		initStatistics();
 	}
 
 	/*---------*
@@ -293,6 +334,218 @@ class TripleStore implements Closeable {
 		}
 	}
 
+	/**
+	 * Replaces the files of the indexes with the files that were built by a bulk load if these are complete, or deletes
+	 * the files of an incomplete bulk load.
+	 */
+	private void completeBulkLoad(Set<String> indexSpecs) throws IOException {
+		Path bulkLoadFile = new File(dir, BULK_LOAD_FILE).toPath();
+		boolean complete = Files.exists(bulkLoadFile);
+
+		for (String fieldSeq : indexSpecs) {
+			for (String suffix : BTREE_FILE_SUFFIXES) {
+				Path file = new File(dir, BULK_LOAD_PREFIX + getFilenamePrefix(fieldSeq) + suffix).toPath();
+				if (!complete) {
+					Files.deleteIfExists(file);
+				} else if (Files.exists(file)) {
+					Path target = new File(dir, getFilenamePrefix(fieldSeq) + suffix).toPath();
+					Files.move(file, target, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+				}
+			}
+		}
+
+		Files.deleteIfExists(bulkLoadFile);
+	}
+
+	private static String getFilenamePrefix(String fieldSeq) {
+		return "triples-" + fieldSeq;
+	}
+
+	private void initStatistics() throws IOException {
+		try {
+			statistics.load(getSubjectIndex() != null, getObjectIndex() != null);
+		} catch (FileNotFoundException e) {
+			logger.debug("triple statistics have not been created yet: {}", e.getMessage());
+			rebuildStatistics();
+		} catch (IOException e) {
+			logger.info("could not read triple statistics: {}", e.getMessage());
+			rebuildStatistics();
+		}
+	}
+
+	/**
+	 * Computes the statistics from scratch from the committed triples in the indexes and stores them.
+	 */
+	private void rebuildStatistics() throws IOException {
+		logger.debug("building triple statistics (this may take a while)");
+		TripleIndex subjectIndex = getSubjectIndex();
+		TripleIndex objectIndex = getObjectIndex();
+		statistics.clear(subjectIndex != null, objectIndex != null);
+
+		if (subjectIndex != null) {
+			// the triples of each subject are adjacent in the index
+			try (RecordIterator iter = subjectIndex.getBTree().iterateAll()) {
+				int subject = -1;
+				Map<Integer, Long> counts = new HashMap<>();
+				byte[] data;
+				while ((data = iter.next()) != null) {
+					int subj = ByteArrayUtil.getInt(data, SUBJ_IDX);
+					if (subj != subject && !counts.isEmpty()) {
+						statistics.updateSubject(Collections.emptyMap(), counts);
+						counts = new HashMap<>();
+					}
+					subject = subj;
+					counts.merge(ByteArrayUtil.getInt(data, PRED_IDX), 1L, Long::sum);
+				}
+				if (!counts.isEmpty()) {
+					statistics.updateSubject(Collections.emptyMap(), counts);
+				}
+			}
+		} else {
+			Map<Integer, Long> counts = new HashMap<>();
+			try (RecordIterator iter = indexes.get(0).getBTree().iterateAll()) {
+				byte[] data;
+				while ((data = iter.next()) != null) {
+					counts.merge(ByteArrayUtil.getInt(data, PRED_IDX), 1L, Long::sum);
+				}
+			}
+			counts.forEach(statistics::updateCount);
+		}
+
+		if (objectIndex != null) {
+			// the triples of each predicate and object are adjacent in the index
+			try (RecordIterator iter = objectIndex.getBTree().iterateAll()) {
+				int predicate = -1;
+				int object = -1;
+				byte[] data;
+				while ((data = iter.next()) != null) {
+					int pred = ByteArrayUtil.getInt(data, PRED_IDX);
+					int obj = ByteArrayUtil.getInt(data, OBJ_IDX);
+					if (pred != predicate || obj != object) {
+						statistics.updateObject(pred, false, true);
+						predicate = pred;
+						object = obj;
+					}
+				}
+			}
+		}
+
+		statistics.store();
+		logger.debug("triple statistics built");
+	}
+
+	/**
+	 * Updates the statistics with the triples that are changed by the current transaction, before it is committed.
+	 */
+	private void updateStatistics() throws IOException {
+		TripleIndex subjectIndex = getSubjectIndex();
+		TripleIndex objectIndex = getObjectIndex();
+
+		Map<Integer, Long> counts = subjectIndex == null ? new HashMap<>() : null;
+		Set<Long> objects = objectIndex == null ? null : new HashSet<>();
+		try (RecordIterator iter = updatedTriplesCache.getRecords()) {
+			// the cache is sorted by subject
+			int subject = -1;
+			byte[] data;
+			while ((data = iter.next()) != null) {
+				int subj = ByteArrayUtil.getInt(data, SUBJ_IDX);
+				int pred = ByteArrayUtil.getInt(data, PRED_IDX);
+				if (subjectIndex != null) {
+					if (subj != subject) {
+						updateSubjectStatistics(subjectIndex, subj);
+						subject = subj;
+					}
+				} else {
+					byte flags = data[FLAG_IDX];
+					boolean existedBefore = (flags & ADDED_FLAG) == 0;
+					boolean existsAfter = (flags & REMOVED_FLAG) == 0;
+					if (existedBefore != existsAfter) {
+						counts.merge(pred, existsAfter ? 1L : -1L, Long::sum);
+					}
+				}
+				if (objects != null) {
+					objects.add((long) pred << 32 | ByteArrayUtil.getInt(data, OBJ_IDX) & 0xffffffffL);
+				}
+			}
+		}
+
+		if (counts != null) {
+			counts.forEach(statistics::updateCount);
+		}
+
+		if (objects != null) {
+			for (long predObj : objects) {
+				updateObjectStatistics(objectIndex, (int) (predObj >>> 32), (int) predObj);
+			}
+		}
+	}
+
+	private void updateSubjectStatistics(TripleIndex subjectIndex, int subj) throws IOException {
+		Map<Integer, Long> before = new HashMap<>();
+		Map<Integer, Long> after = new HashMap<>();
+		try (RecordIterator iter = getTriplesUsingIndex(subj, -1, -1, -1, 0, 0, subjectIndex, true)) {
+			byte[] data;
+			while ((data = iter.next()) != null) {
+				int pred = ByteArrayUtil.getInt(data, PRED_IDX);
+				byte flags = data[FLAG_IDX];
+				if ((flags & ADDED_FLAG) == 0) {
+					before.merge(pred, 1L, Long::sum);
+				}
+				if ((flags & REMOVED_FLAG) == 0) {
+					after.merge(pred, 1L, Long::sum);
+				}
+			}
+		}
+		statistics.updateSubject(before, after);
+	}
+
+	private void updateObjectStatistics(TripleIndex objectIndex, int pred, int obj) throws IOException {
+		boolean existedBefore = false;
+		boolean existsAfter = false;
+		try (RecordIterator iter = getTriplesUsingIndex(-1, pred, obj, -1, 0, 0, objectIndex, true)) {
+			byte[] data;
+			// stop as soon as both are known, a triple that is not changed by the transaction settles both
+			while (!(existedBefore && existsAfter) && (data = iter.next()) != null) {
+				byte flags = data[FLAG_IDX];
+				existedBefore |= (flags & ADDED_FLAG) == 0;
+				existsAfter |= (flags & REMOVED_FLAG) == 0;
+			}
+		}
+		statistics.updateObject(pred, existedBefore, existsAfter);
+	}
+
+	/**
+	 * @return an index that starts with the subject, or null if there is none.
+	 */
+	private TripleIndex getSubjectIndex() {
+		for (TripleIndex index : indexes) {
+			if (index.getFieldSeq()[0] == 's') {
+				return index;
+			}
+		}
+		return null;
+	}
+
+	/**
+	 * @return an index that starts with the predicate and object, or null if there is none.
+	 */
+	private TripleIndex getObjectIndex() {
+		for (TripleIndex index : indexes) {
+			char[] fieldSeq = index.getFieldSeq();
+			if (fieldSeq[0] == 'p' && fieldSeq[1] == 'o' || fieldSeq[0] == 'o' && fieldSeq[1] == 'p') {
+				return index;
+			}
+		}
+		return null;
+	}
+
+	/**
+	 * @return the statistics of the committed triples.
+	 */
+	TripleStatistics getStatistics() {
+		return statistics;
+	}
+
 	private void processUncompletedTransaction(TxnStatus txnStatus) throws IOException {
 		switch (txnStatus) {
 		case COMMITTING:
@@ -480,6 +733,90 @@ class TripleStore implements Closeable {
 
 	public RecordIterator getTriples(int subj, int pred, int obj, int context, boolean explicit,
 			boolean readTransaction) throws IOException {
+		Lock readLock = getIndexReadLock();
+		try {
+			return new LockedRecordIterator(getTriples(subj, pred, obj, context, explicit, readTransaction,
+					getBestIndex(subj, pred, obj, context)), readLock);
+		} catch (Throwable e) {
+			readLock.release();
+			throw e;
+		}
+	}
+
+	/**
+	 * Returns the triples that match the pattern in ascending order of the IDs in the specified field, which must be
+	 * {@link #isOrderSupported(int, int, int, int, char) supported} for the pattern.
+	 *
+	 * @param orderField one of 's', 'p', 'o' or 'c'
+	 */
+	public RecordIterator getTriples(int subj, int pred, int obj, int context, boolean explicit,
+			boolean readTransaction, char orderField) throws IOException {
+		Lock readLock = getIndexReadLock();
+		try {
+			TripleIndex index = getOrderedIndex(subj, pred, obj, context, orderField);
+			if (index == null) {
+				throw new IllegalArgumentException("No index for the order: " + orderField);
+			}
+			return new LockedRecordIterator(getTriples(subj, pred, obj, context, explicit, readTransaction, index),
+					readLock);
+		} catch (Throwable e) {
+			readLock.release();
+			throw e;
+		}
+	}
+
+	/**
+	 * Checks if there is an index that returns the triples that match the pattern in ascending order of the IDs in the
+	 * specified field, without scanning more triples than the best index for the pattern.
+	 *
+	 * @param orderField one of 's', 'p', 'o' or 'c'
+	 */
+	public boolean isOrderSupported(int subj, int pred, int obj, int context, char orderField) {
+		Lock readLock;
+		try {
+			readLock = getIndexReadLock();
+		} catch (IOException e) {
+			return false;
+		}
+		try {
+			return getOrderedIndex(subj, pred, obj, context, orderField) != null;
+		} finally {
+			readLock.release();
+		}
+	}
+
+	private TripleIndex getOrderedIndex(int subj, int pred, int obj, int context, char orderField) {
+		int boundFields = (subj >= 0 ? 1 : 0) + (pred >= 0 ? 1 : 0) + (obj >= 0 ? 1 : 0) + (context >= 0 ? 1 : 0);
+		for (TripleIndex index : indexes) {
+			if (index.getPatternScore(subj, pred, obj, context) == boundFields) {
+				char[] fieldSeq = index.getFieldSeq();
+				// the bound fields are the prefix of the index, the next field is ordered within the range
+				if (boundFields == fieldSeq.length || isBound(orderField, subj, pred, obj, context)
+						|| fieldSeq[boundFields] == orderField) {
+					return index;
+				}
+			}
+		}
+		return null;
+	}
+
+	private static boolean isBound(char field, int subj, int pred, int obj, int context) {
+		switch (field) {
+		case 's':
+			return subj >= 0;
+		case 'p':
+			return pred >= 0;
+		case 'o':
+			return obj >= 0;
+		case 'c':
+			return context >= 0;
+		default:
+			throw new IllegalArgumentException("invalid field: " + field);
+		}
+	}
+
+	private RecordIterator getTriples(int subj, int pred, int obj, int context, boolean explicit,
+			boolean readTransaction, TripleIndex index) throws IOException {
 		int flags = 0;
 		int flagsMask = 0;
 
@@ -495,7 +832,9 @@ class TripleStore implements Closeable {
 			}
 		}
 
-		RecordIterator btreeIter = getTriples(subj, pred, obj, context, flags, flagsMask);
+		boolean doRangeSearch = index.getPatternScore(subj, pred, obj, context) > 0;
+		RecordIterator btreeIter = getTriplesUsingIndex(subj, pred, obj, context, flags, flagsMask, index,
+				doRangeSearch);
 
 		if (readTransaction && explicit) {
 			// Filter implicit statements from the result
@@ -588,22 +927,82 @@ class TripleStore implements Closeable {
 
 	private RecordIterator getTriples(int subj, int pred, int obj, int context, int flags, int flagsMask)
 			throws IOException {
-		TripleIndex index = getBestIndex(subj, pred, obj, context);
-		boolean doRangeSearch = index.getPatternScore(subj, pred, obj, context) > 0;
-		return getTriplesUsingIndex(subj, pred, obj, context, flags, flagsMask, index, doRangeSearch);
+		Lock readLock = getIndexReadLock();
+		try {
+			TripleIndex index = getBestIndex(subj, pred, obj, context);
+			boolean doRangeSearch = index.getPatternScore(subj, pred, obj, context) > 0;
+			return new LockedRecordIterator(
+					getTriplesUsingIndex(subj, pred, obj, context, flags, flagsMask, index, doRangeSearch), readLock);
+		} catch (Throwable e) {
+			readLock.release();
+			throw e;
+		}
 	}
 
 	private RecordIterator getAllTriplesSortedByContext(int flags, int flagsMask) throws IOException {
-		for (TripleIndex index : indexes) {
-			if (index.getFieldSeq()[0] == 'c') {
-				// found a context-first index
-				return getTriplesUsingIndex(-1, -1, -1, -1, flags, flagsMask, index, false);
+		Lock readLock = getIndexReadLock();
+		try {
+			for (TripleIndex index : indexes) {
+				if (index.getFieldSeq()[0] == 'c') {
+					// found a context-first index
+					return new LockedRecordIterator(
+							getTriplesUsingIndex(-1, -1, -1, -1, flags, flagsMask, index, false), readLock);
+				}
 			}
+		} catch (Throwable e) {
+			readLock.release();
+			throw e;
 		}
 
+		readLock.release();
 		return null;
 	}
 
+	private Lock getIndexReadLock() throws IOException {
+		try {
+			return indexLockManager.getReadLock();
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+			throw new IOException("Failed to acquire read lock", e);
+		}
+	}
+
+	/**
+	 * Releases the read lock on the indexes when the wrapped iterator is closed.
+	 */
+	private static class LockedRecordIterator implements RecordIterator {
+
+		private final RecordIterator wrappedIter;
+
+		private final Lock readLock;
+
+		public LockedRecordIterator(RecordIterator wrappedIter, Lock readLock) {
+			this.wrappedIter = wrappedIter;
+			this.readLock = readLock;
+		}
+
+		@Override
+		public byte[] next() throws IOException {
+			return wrappedIter.next();
+		}
+
+		@Override
+		public void set(byte[] value) throws IOException {
+			wrappedIter.set(value);
+		}
+
+		@Override
+		public void close() throws IOException {
+			try {
+				wrappedIter.close();
+			} finally {
+				if (readLock.isActive()) {
+					readLock.release();
+				}
+			}
+		}
+	}
+
 	private RecordIterator getTriplesUsingIndex(int subj, int pred, int obj, int context, int flags, int flagsMask,
 			TripleIndex index, boolean rangeSearch) {
 		byte[] searchKey = getSearchKey(subj, pred, obj, context, flags);
@@ -622,20 +1021,25 @@ class TripleStore implements Closeable {
 	}
 
 	protected double cardinality(int subj, int pred, int obj, int context) throws IOException {
-		TripleIndex index = getBestIndex(subj, pred, obj, context);
-		BTree btree = index.btree;
+		Lock readLock = getIndexReadLock();
+		try {
+			TripleIndex index = getBestIndex(subj, pred, obj, context);
+			BTree btree = index.btree;
 
-		double rangeSize;
+			double rangeSize;
 
-		if (index.getPatternScore(subj, pred, obj, context) == 0) {
-			rangeSize = btree.getValueCountEstimate();
-		} else {
-			byte[] minValue = getMinValue(subj, pred, obj, context);
-			byte[] maxValue = getMaxValue(subj, pred, obj, context);
-			rangeSize = btree.getValueCountEstimate(minValue, maxValue);
-		}
+			if (index.getPatternScore(subj, pred, obj, context) == 0) {
+				rangeSize = btree.getValueCountEstimate();
+			} else {
+				byte[] minValue = getMinValue(subj, pred, obj, context);
+				byte[] maxValue = getMaxValue(subj, pred, obj, context);
+				rangeSize = btree.getValueCountEstimate(minValue, maxValue);
+			}
 
-		return rangeSize;
+			return rangeSize;
+		} finally {
+			readLock.release();
+		}
 	}
 
 	protected TripleIndex getBestIndex(int subj, int pred, int obj, int context) {
@@ -657,6 +1061,17 @@ class TripleStore implements Closeable {
 		for (TripleIndex index : indexes) {
 			index.getBTree().clear();
 		}
+		statistics.clear(getSubjectIndex() != null, getObjectIndex() != null);
+		statistics.store();
+	}
+
+	/**
+	 * Starts a bulk load of explicit triples, see {@link BulkLoad}.
+	 *
+	 * @param maxRecords The maximum number of triples that is sorted in memory.
+	 */
+	BulkLoad startBulkLoad(int maxRecords) {
+		return new BulkLoad(maxRecords);
 	}
 
 	public boolean storeTriple(int subj, int pred, int obj, int context) throws IOException {
@@ -875,6 +1290,9 @@ class TripleStore implements Closeable {
 	public void startTransaction() throws IOException {
 		txnStatusFile.setTxnStatus(TxnStatus.ACTIVE);
 
+		// the stored statistics become invalid if the transaction is not completed
+		statistics.invalidate();
+
 		// Create a record cache for storing updated triples with a maximum of
 		// some 10% of the number of triples
 		long maxRecords = indexes.get(0).getBTree().getValueCountEstimate() / 10L;
@@ -893,6 +1311,10 @@ class TripleStore implements Closeable {
 		// updatedTriplesCache will be null when recovering from a crashed commit
 		boolean validCache = updatedTriplesCache != null && updatedTriplesCache.isValid();
 
+		if (validCache) {
+			updateStatistics();
+		}
+
 		for (TripleIndex index : indexes) {
 			BTree btree = index.getBTree();
 
@@ -943,6 +1365,12 @@ class TripleStore implements Closeable {
 
 		sync();
 
+		if (validCache) {
+			statistics.store();
+		} else {
+			rebuildStatistics();
+		}
+
 		txnStatusFile.setTxnStatus(TxnStatus.NONE);
 		// checkAllCommitted();
 	}
@@ -1020,6 +1448,13 @@ class TripleStore implements Closeable {
 
 		sync();
 
+		if (validCache) {
+			// the committed triples are unchanged
+			statistics.store();
+		} else {
+			rebuildStatistics();
+		}
+
 		txnStatusFile.setTxnStatus(TxnStatus.NONE);
 	}
 
@@ -1111,6 +1546,122 @@ class TripleStore implements Closeable {
 		}
 	}
 
+	/*----------------------*
+	 * Inner class BulkLoad *
+	 *----------------------*/
+
+	/**
+	 * Adds a large number of explicit triples without inserting them into the indexes one by one. The triples are
+	 * written to sorted runs in temporary files. On {@link #commit()}, the runs are merged with the triples in the
+	 * store, and a new B-Tree is written bottom-up and sequentially for each index from the triples in the order of
+	 * that index. The new B-Trees replace the current ones when they are all complete. Triples that are already in the
+	 * store are not duplicated, and inferred triples that are added become explicit.
+	 * <p>
+	 * A bulk load must not be committed while a transaction is active or while the indexes are being read.
+	 */
+	class BulkLoad implements Closeable {
+
+		private final int maxRecords;
+
+		private final ExternalRecordSorter sorter;
+
+		private BulkLoad(int maxRecords) {
+			this.maxRecords = maxRecords;
+			this.sorter = new ExternalRecordSorter(dir, RECORD_LENGTH, indexes.get(0).tripleComparator, maxRecords,
+					(data, other) -> {
+						data[FLAG_IDX] |= other[FLAG_IDX];
+						return data;
+					});
+		}
+
+		public void add(int subj, int pred, int obj, int context) throws IOException {
+			sorter.add(getData(subj, pred, obj, context, EXPLICIT_FLAG));
+		}
+
+		/**
+		 * Replaces the indexes with indexes that contain both the triples in the store and the added triples.
+		 */
+		public void commit() throws IOException {
+			if (txnStatusFile.getTxnStatus() != TxnStatus.NONE) {
+				throw new IllegalStateException("Bulk load can not be committed while a transaction is active");
+			}
+
+			// the stored statistics become invalid if the bulk load is not completed
+			statistics.invalidate();
+
+			Set<String> indexSpecs = new LinkedHashSet<>();
+			for (TripleIndex index : indexes) {
+				indexSpecs.add(new String(index.getFieldSeq()));
+			}
+
+			boolean built = false;
+			try {
+				logger.debug("Sorting triples for bulk load...");
+				long tripleCount = sorter.sort(indexes.get(0).getBTree().iterateAll());
+
+				for (TripleIndex index : indexes) {
+					logger.debug("Building '{}' index of {} triples...", new String(index.getFieldSeq()), tripleCount);
+					if (index == indexes.get(0)) {
+						index.build(sorter, tripleCount);
+					} else {
+						try (ExternalRecordSorter indexSorter = new ExternalRecordSorter(dir, RECORD_LENGTH,
+								index.tripleComparator, maxRecords, null)) {
+							try (RecordIterator iter = sorter.getRecords()) {
+								byte[] data;
+								while ((data = iter.next()) != null) {
+									indexSorter.add(data);
+								}
+							}
+							indexSorter.sort();
+							index.build(indexSorter, tripleCount);
+						}
+					}
+				}
+
+				// from here on the new indexes replace the current ones, also when recovering from a crash
+				Files.createFile(new File(dir, BULK_LOAD_FILE).toPath());
+				built = true;
+			} finally {
+				sorter.close();
+				if (!built) {
+					completeBulkLoad(indexSpecs);
+				}
+			}
+
+			// wait until the iterators over the current indexes are closed, and block new ones during the swap
+			Lock writeLock;
+			try {
+				writeLock = indexLockManager.getWriteLock();
+			} catch (InterruptedException e) {
+				Thread.currentThread().interrupt();
+				// the new indexes are installed when the store is restarted
+				throw new IOException("Failed to acquire write lock", e);
+			}
+			try {
+				for (TripleIndex index : indexes) {
+					index.getBTree().close();
+				}
+				indexes.clear();
+
+				completeBulkLoad(indexSpecs);
+				initIndexes(indexSpecs);
+			} finally {
+				writeLock.release();
+			}
+
+			rebuildStatistics();
+			logger.debug("Bulk load completed");
+		}
+
+		/**
+		 * Discards the triples that have not been committed.
+		 */
+		@Override
+		public void close() {
+			sorter.close();
+		}
+	}
+
 	/*-------------------------*
 	 * Inner class TripleIndex *
 	 *-------------------------*/
@@ -1123,11 +1674,20 @@ class TripleStore implements Closeable {
 
 		public TripleIndex(String fieldSeq) throws IOException {
 			tripleComparator = new TripleComparator(fieldSeq);
-			btree = new BTree(dir, getFilenamePrefix(fieldSeq), 2048, RECORD_LENGTH, tripleComparator, forceSync);
+			btree = new BTree(dir, getFilenamePrefix(fieldSeq), INDEX_BLOCK_SIZE, RECORD_LENGTH, tripleComparator,
+					forceSync);
 		}
 
-		private String getFilenamePrefix(String fieldSeq) {
-			return "triples-" + fieldSeq;
+		/**
+		 * Writes the B-Tree files for a bulk load of this index from the sorted triples.
+		 */
+		private void build(ExternalRecordSorter sortedTriples, long tripleCount) throws IOException {
+			String fieldSeq = new String(getFieldSeq());
+			BTreeBuilder builder = new BTreeBuilder(dir, BULK_LOAD_PREFIX + getFilenamePrefix(fieldSeq),
+					INDEX_BLOCK_SIZE, RECORD_LENGTH, tripleComparator, forceSync);
+			try (RecordIterator iter = sortedTriples.getRecords()) {
+				builder.build(iter, tripleCount);
+			}
 		}
 
 		public char[] getFieldSeq() {
@@ -102,25 +102,29 @@ public class ValueStore extends SimpleValueFactory {
 	private volatile ValueStoreRevision revision;
 
 	/**
-	 * A simple cache containing the [VALUE_CACHE_SIZE] most-recently used values stored by their ID.
+	 * A cache containing the [VALUE_CACHE_SIZE] most frequently used values stored by their ID.
 	 */
-	private final ConcurrentCache<Integer, NativeValue> valueCache;
+	private final TinyLfuCache<Integer, NativeValue> valueCache;
 
 	/**
-	 * A simple cache containing the [ID_CACHE_SIZE] most-recently used value-IDs stored by their value.
+	 * A cache containing the [ID_CACHE_SIZE] most frequently used value-IDs stored by their value.
 	 */
-	private final ConcurrentCache<NativeValue, Integer> valueIDCache;
+	private final TinyLfuCache<NativeValue, Integer> valueIDCache;
 
 	/**
-	 * A simple cache containing the [NAMESPACE_CACHE_SIZE] most-recently used namespaces stored by their ID.
+	 * A cache containing the [NAMESPACE_CACHE_SIZE] most frequently used namespaces stored by their ID.
 	 */
-	private final ConcurrentCache<Integer, String> namespaceCache;
+	private final TinyLfuCache<Integer, String> namespaceCache;
 
 	/**
-	 * A simple cache containing the [NAMESPACE_ID_CACHE_SIZE] most-recently used namespace-IDs stored by their
-	 * namespace.
+	 * A cache containing the [NAMESPACE_ID_CACHE_SIZE] most frequently used namespace-IDs stored by their namespace.
 	 */
-	private final ConcurrentCache<String, Integer> namespaceIDCache;
+	private final TinyLfuCache<String, Integer> namespaceIDCache;
+
+	/**
+	 * The types of the values that were read or stored, by their ID.
+	 */
+	private final ValueTypeIndex valueTypes = new ValueTypeIndex();
 
 	/*--------------*
 	 * Constructors *
@@ -139,10 +143,10 @@ public class ValueStore extends SimpleValueFactory {
 		super();
 		dataStore = new DataStore(dataDir, FILENAME_PREFIX, forceSync);
 
-		valueCache = new ConcurrentCache<>(valueCacheSize);
-		valueIDCache = new ConcurrentCache<>(valueIDCacheSize);
-		namespaceCache = new ConcurrentCache<>(namespaceCacheSize);
-		namespaceIDCache = new ConcurrentCache<>(namespaceIDCacheSize);
+		valueCache = new TinyLfuCache<>(valueCacheSize);
+		valueIDCache = new TinyLfuCache<>(valueIDCacheSize);
+		namespaceCache = new TinyLfuCache<>(namespaceCacheSize);
+		namespaceIDCache = new TinyLfuCache<>(namespaceIDCacheSize);
 
 		setNewRevision();
 	}
@@ -189,6 +193,7 @@ public class ValueStore extends SimpleValueFactory {
 
 			if (data != null) {
 				resultValue = data2value(id, data);
+				valueTypes.setType(id, data[0]);
 
 				// Store value in cache
 				valueCache.put(cacheID, resultValue);
@@ -198,6 +203,55 @@ public class ValueStore extends SimpleValueFactory {
 		return resultValue;
 	}
 
+	/**
+	 * Gets the value for the specified ID without reading its data if its type is known. The data of such a value is
+	 * only read when the value is inspected, which is not necessary to compare it to other values of this store or to
+	 * get its ID.
+	 *
+	 * @param id A value ID.
+	 * @return The value for the ID, or <var>null</var> no such value could be found.
+	 * @throws IOException If an I/O error occurred.
+	 */
+	public NativeValue getLazyValue(int id) throws IOException {
+		NativeValue resultValue = valueCache.get(id);
+		if (resultValue != null) {
+			return resultValue;
+		}
+
+		switch (valueTypes.getType(id)) {
+		case URI_VALUE:
+			return new NativeIRI(revision, id);
+		case BNODE_VALUE:
+			return new NativeBNode(revision, id);
+		case LITERAL_VALUE:
+			return new NativeLiteral(revision, id);
+		default:
+			return getValue(id);
+		}
+	}
+
+	/**
+	 * Reads the data of a value that was created by {@link #getLazyValue(int)}.
+	 *
+	 * @param id       The ID of the value.
+	 * @param revision The revision of this value store that created the value.
+	 * @return The value for the ID.
+	 */
+	NativeValue resolveValue(int id, ValueStoreRevision revision) {
+		if (!this.revision.equals(revision)) {
+			throw new SailException("Value " + id + " was removed from the value store");
+		}
+		try {
+			NativeValue value = getValue(id);
+			if (value == null) {
+				throw new SailException("Unknown value ID: " + id);
+			}
+			return value;
+		} catch (IOException e) {
+			throw new SailException(e);
+		}
+	}
+
 	/**
 	 * Gets the ID for the specified value.
 	 *
@@ -250,6 +304,7 @@ public class ValueStore extends SimpleValueFactory {
 			}
 
 			if (id != NativeValue.UNKNOWN_ID) {
+				valueTypes.setType(id, data[0]);
 				if (isOwnValue) {
 					// Store id in value for fast access in any consecutive calls
 					((NativeValue) value).setInternalID(id, revision);
@@ -311,6 +366,7 @@ public class ValueStore extends SimpleValueFactory {
 		byte[] valueData = value2data(value, true);
 
 		int id = dataStore.storeData(valueData);
+		valueTypes.setType(id, valueData[0]);
 
 		NativeValue nv = isOwnValue ? (NativeValue) value : getNativeValue(value);
 
@@ -338,6 +394,7 @@ public class ValueStore extends SimpleValueFactory {
 				valueIDCache.clear();
 				namespaceCache.clear();
 				namespaceIDCache.clear();
+				valueTypes.clear();
 
 				setNewRevision();
 			} finally {
@@ -10,9 +10,12 @@
  *******************************************************************************/
 package org.eclipse.rdf4j.sail.nativerdf;
 
+import java.io.IOException;
 import java.io.Serializable;
 
 import org.eclipse.rdf4j.common.annotation.InternalUseOnly;
+import org.eclipse.rdf4j.model.Value;
+import org.eclipse.rdf4j.sail.SailException;
 import org.eclipse.rdf4j.sail.nativerdf.model.NativeValue;
 
 /**
@@ -54,4 +57,30 @@ public class ValueStoreRevision implements Serializable {
 	public ValueStore getValueStore() {
 		return valueStore;
 	}
+
+	/**
+	 * Reads the value with the supplied ID from the value store, for values that were created from their ID only.
+	 *
+	 * @throws org.eclipse.rdf4j.sail.SailException if the value is not in this revision of the value store
+	 */
+	public NativeValue resolveValue(int id) {
+		return valueStore.resolveValue(id, this);
+	}
+
+	/**
+	 * Gets the ID of the supplied value in this revision of the value store.
+	 *
+	 * @return The ID of the value, or {@link NativeValue#UNKNOWN_ID} if the value is not in the value store or this
+	 *         revision is no longer current.
+	 */
+	public int getID(Value value) {
+		if (!equals(valueStore.getRevision())) {
+			return NativeValue.UNKNOWN_ID;
+		}
+		try {
+			return valueStore.getID(value);
+		} catch (IOException e) {
+			throw new SailException(e);
+		}
+	}
 }
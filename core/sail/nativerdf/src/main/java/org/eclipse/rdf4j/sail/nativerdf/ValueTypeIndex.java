@@ -0,0 +1,90 @@
+/*******************************************************************************
+ * Copyright (c) 2023 Eclipse RDF4J contributors.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Distribution License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/org/documents/edl-v10.php.
+ *
+ * SPDX-License-Identifier: BSD-3-Clause
+ *******************************************************************************/
+package org.eclipse.rdf4j.sail.nativerdf;
+
+import java.util.Arrays;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Keeps the types of the values of a {@link ValueStore} in memory, using two bits per value ID, so that values can be
+ * created from their IDs without reading their data. Types are only known for values that were read or stored since the
+ * value store was opened.
+ */
+class ValueTypeIndex {
+
+	/**
+	 * The type of values that were not read or stored yet.
+	 */
+	static final byte UNKNOWN_TYPE = 0;
+
+	private static final int SEGMENT_SHIFT = 20;
+
+	private static final int IDS_PER_SEGMENT = 1 << SEGMENT_SHIFT;
+
+	// 32 types per long
+	private volatile AtomicLongArray[] segments = new AtomicLongArray[0];
+
+	/**
+	 * @return the type of the value with the ID, or {@link #UNKNOWN_TYPE}
+	 */
+	byte getType(int id) {
+		AtomicLongArray[] segments = this.segments;
+		int segment = id >>> SEGMENT_SHIFT;
+		if (segment >= segments.length || segments[segment] == null) {
+			return UNKNOWN_TYPE;
+		}
+		int index = id & (IDS_PER_SEGMENT - 1);
+		long word = segments[segment].get(index >>> 5);
+		return (byte) ((word >>> ((index & 31) << 1)) & 0x3);
+	}
+
+	/**
+	 * @param type a type between 1 and 3
+	 */
+	void setType(int id, byte type) {
+		assert type > UNKNOWN_TYPE && type <= 0x3 : "invalid type: " + type;
+		AtomicLongArray segment = getSegment(id >>> SEGMENT_SHIFT);
+		int index = id & (IDS_PER_SEGMENT - 1);
+		long bits = (long) type << ((index & 31) << 1);
+		// the type of a value ID never changes until the index is cleared, so bits are only ever set
+		long word;
+		do {
+			word = segment.get(index >>> 5);
+			if ((word & bits) == bits) {
+				return;
+			}
+		} while (!segment.compareAndSet(index >>> 5, word, word | bits));
+	}
+
+	private AtomicLongArray getSegment(int segment) {
+		AtomicLongArray[] segments = this.segments;
+		if (segment < segments.length && segments[segment] != null) {
+			return segments[segment];
+		}
+		synchronized (this) {
+			segments = this.segments;
+			if (segment >= segments.length) {
+				segments = Arrays.copyOf(segments, segment + 1);
+			} else if (segments[segment] != null) {
+				return segments[segment];
+			} else {
+				segments = segments.clone();
+			}
+			segments[segment] = new AtomicLongArray(IDS_PER_SEGMENT >>> 5);
+			this.segments = segments;
+			return segments[segment];
+		}
+	}
+
+	synchronized void clear() {
+		segments = new AtomicLongArray[0];
+	}
+}
@@ -142,19 +142,40 @@ class AllocatedNodesList implements Closeable {
 				bitSet = allocatedNodes.get(0, bitSetLength);
 			}
 
-			byte[] data = ByteArrayUtil.toByteArray(bitSet);
+			write(nioFile, bitSet, forceSync);
 
-			// Write bit set to file
-			nioFile.truncate(HEADER_LENGTH + data.length);
-			nioFile.writeBytes(MAGIC_NUMBER, 0);
-			nioFile.writeByte(FILE_FORMAT_VERSION, MAGIC_NUMBER.length);
-			nioFile.writeBytes(data, HEADER_LENGTH);
+			needsSync = false;
+		}
+	}
 
-			if (forceSync) {
-				nioFile.force(false);
-			}
+	/**
+	 * Writes an allocated nodes file for a B-Tree that uses all node IDs from <var>1</var> up to and including
+	 * <var>maxNodeID</var>, replacing the file if it already exists.
+	 *
+	 * @param allocNodesFile The file to write.
+	 * @param maxNodeID      The highest allocated node ID, or <var>0</var> if no nodes are allocated.
+	 * @param forceSync      Whether the file should be forced to disk.
+	 */
+	static void write(File allocNodesFile, int maxNodeID, boolean forceSync) throws IOException {
+		BitSet allocatedNodes = new BitSet(maxNodeID + 1);
+		allocatedNodes.set(1, maxNodeID + 1);
 
-			needsSync = false;
+		try (NioFile nioFile = new NioFile(allocNodesFile)) {
+			write(nioFile, allocatedNodes, forceSync);
+		}
+	}
+
+	private static void write(NioFile nioFile, BitSet allocatedNodes, boolean forceSync) throws IOException {
+		byte[] data = ByteArrayUtil.toByteArray(allocatedNodes);
+
+		// Write bit set to file
+		nioFile.truncate(HEADER_LENGTH + data.length);
+		nioFile.writeBytes(MAGIC_NUMBER, 0);
+		nioFile.writeByte(FILE_FORMAT_VERSION, MAGIC_NUMBER.length);
+		nioFile.writeBytes(data, HEADER_LENGTH);
+
+		if (forceSync) {
+			nioFile.force(false);
 		}
 	}
 
@@ -0,0 +1,241 @@
+/*******************************************************************************
+ * Copyright (c) 2023 Eclipse RDF4J contributors.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Distribution License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/org/documents/edl-v10.php.
+ *
+ * SPDX-License-Identifier: BSD-3-Clause
+ *******************************************************************************/
+package org.eclipse.rdf4j.sail.nativerdf.btree;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.StandardOpenOption;
+
+import org.eclipse.rdf4j.common.io.ByteArrayUtil;
+
+/**
+ * Writes the files of a {@link BTree} bottom-up from values that are supplied in ascending order. The nodes are filled
+ * as far as the number of values allows, instead of being half full after being split, and each node is written exactly
+ * once in the order of the node IDs, so the file is written sequentially.
+ * <p>
+ * The resulting files have the same format as the files that are written by {@link BTree} itself and can be opened with
+ * a {@link BTree} that uses the same block size, value size and comparator.
+ */
+public class BTreeBuilder {
+
+	/**
+	 * The number of blocks that are written to the file at once.
+	 */
+	private static final int WRITE_BLOCKS = 64;
+
+	private final File dataFile;
+
+	private final File allocFile;
+
+	private final int blockSize;
+
+	private final int valueSize;
+
+	private final RecordComparator comparator;
+
+	private final boolean forceSync;
+
+	private final int slotSize;
+
+	private final int maxValueCount;
+
+	private final int nodeSize;
+
+	/**
+	 * The unused bytes at the end of a block.
+	 */
+	private final byte[] padding;
+
+	private FileChannel channel;
+
+	private ByteBuffer writeBuffer;
+
+	private int nodeCount;
+
+	private byte[] previousValue;
+
+	/**
+	 * Creates a builder for the B-Tree with the specified file name prefix in the specified directory. The parameters
+	 * have the same meaning as those of {@link BTree#BTree(File, String, int, int, RecordComparator, boolean)}.
+	 */
+	public BTreeBuilder(File dataDir, String filenamePrefix, int blockSize, int valueSize,
+			RecordComparator comparator, boolean forceSync) {
+		if (blockSize < BTree.HEADER_LENGTH) {
+			throw new IllegalArgumentException("block size must be at least " + BTree.HEADER_LENGTH + " bytes");
+		}
+		if (valueSize <= 0) {
+			throw new IllegalArgumentException("value size must be larger than 0");
+		}
+		if (blockSize < 3 * valueSize + 20) {
+			throw new IllegalArgumentException("block size to small; must at least be able to store three values");
+		}
+
+		this.dataFile = new File(dataDir, filenamePrefix + ".dat");
+		this.allocFile = new File(dataDir, filenamePrefix + ".alloc");
+		this.blockSize = blockSize;
+		this.valueSize = valueSize;
+		this.comparator = comparator;
+		this.forceSync = forceSync;
+
+		// Same derived properties as in BTree
+		slotSize = 4 + valueSize;
+		maxValueCount = (blockSize - 8) / slotSize;
+		nodeSize = 8 + maxValueCount * slotSize;
+		padding = new byte[blockSize - nodeSize];
+	}
+
+	/**
+	 * Writes a B-Tree that contains the supplied values, replacing the files of an existing B-Tree.
+	 *
+	 * @param values     The values, in ascending order and without duplicates.
+	 * @param valueCount The exact number of values that <var>values</var> returns.
+	 * @throws IOException              If an I/O error occurred.
+	 * @throws IllegalArgumentException If the values are not in ascending order or if there are fewer values than
+	 *                                  specified.
+	 */
+	public void build(RecordIterator values, long valueCount) throws IOException {
+		nodeCount = 0;
+		previousValue = null;
+
+		try (FileChannel fileChannel = FileChannel.open(dataFile.toPath(), StandardOpenOption.CREATE,
+				StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING)) {
+			channel = fileChannel;
+			writeBuffer = ByteBuffer.allocate(WRITE_BLOCKS * blockSize);
+
+			// reserve the first block for the file header
+			writeBuffer.position(blockSize);
+
+			int rootNodeID = 0;
+			if (valueCount > 0) {
+				rootNodeID = writeSubtree(getHeight(valueCount), valueCount, values);
+			}
+			flush();
+
+			writeFileHeader(rootNodeID);
+
+			if (forceSync) {
+				channel.force(false);
+			}
+		} finally {
+			channel = null;
+			writeBuffer = null;
+			previousValue = null;
+		}
+
+		AllocatedNodesList.write(allocFile, nodeCount, forceSync);
+	}
+
+	/**
+	 * Determines the height of the smallest B-Tree that can contain the specified number of values.
+	 */
+	private int getHeight(long valueCount) {
+		int height = 1;
+		while (getCapacity(height) < valueCount) {
+			height++;
+		}
+		return height;
+	}
+
+	/**
+	 * Determines the maximum number of values in a subtree of the specified height.
+	 */
+	private long getCapacity(int height) {
+		long capacity = maxValueCount;
+		for (int i = 1; i < height && capacity < Long.MAX_VALUE / (maxValueCount + 2); i++) {
+			capacity = maxValueCount + (maxValueCount + 1) * capacity;
+		}
+		return capacity;
+	}
+
+	/**
+	 * Writes a subtree with the specified number of values, writing the children of a node before the node itself, and
+	 * returns the ID of its root node. The values of an inner node are spread evenly over the smallest number of child
+	 * nodes that can hold them, so that all nodes, except perhaps the root, are at least half full.
+	 */
+	private int writeSubtree(int height, long valueCount, RecordIterator values) throws IOException {
+		byte[] data = new byte[nodeSize];
+		int nodeValueCount;
+
+		if (height == 1) {
+			nodeValueCount = (int) valueCount;
+			for (int i = 0; i < nodeValueCount; i++) {
+				putValue(data, i, nextValue(values));
+			}
+		} else {
+			long childCapacity = getCapacity(height - 1);
+			int childCount = (int) Math.max(2, (valueCount + childCapacity + 1) / (childCapacity + 1));
+			nodeValueCount = childCount - 1;
+
+			long childValueCount = valueCount - nodeValueCount;
+			for (int i = 0; i < childCount; i++) {
+				long count = childValueCount / childCount + (i < childValueCount % childCount ? 1 : 0);
+				ByteArrayUtil.putInt(writeSubtree(height - 1, count, values), data, 4 + i * slotSize);
+				if (i < nodeValueCount) {
+					putValue(data, i, nextValue(values));
+				}
+			}
+		}
+
+		ByteArrayUtil.putInt(nodeValueCount, data, 0);
+		return writeNode(data);
+	}
+
+	private byte[] nextValue(RecordIterator values) throws IOException {
+		byte[] value = values.next();
+		if (value == null) {
+			throw new IllegalArgumentException("fewer values than expected for " + dataFile);
+		}
+		if (previousValue != null
+				&& comparator.compareBTreeValues(previousValue, value, 0, valueSize) >= 0) {
+			throw new IllegalArgumentException("values are not in ascending order for " + dataFile);
+		}
+		previousValue = value;
+		return value;
+	}
+
+	private void putValue(byte[] data, int valueIdx, byte[] value) {
+		System.arraycopy(value, 0, data, 8 + valueIdx * slotSize, valueSize);
+	}
+
+	private int writeNode(byte[] data) throws IOException {
+		if (!writeBuffer.hasRemaining()) {
+			flush();
+		}
+		// nodes are stored at the start of their block
+		writeBuffer.put(data);
+		writeBuffer.put(padding);
+
+		return ++nodeCount;
+	}
+
+	private void flush() throws IOException {
+		writeBuffer.flip();
+		while (writeBuffer.hasRemaining()) {
+			channel.write(writeBuffer);
+		}
+		writeBuffer.clear();
+	}
+
+	private void writeFileHeader(int rootNodeID) throws IOException {
+		ByteBuffer buf = ByteBuffer.allocate(BTree.HEADER_LENGTH);
+		buf.put(BTree.MAGIC_NUMBER);
+		buf.put(BTree.FILE_FORMAT_VERSION);
+		buf.putInt(blockSize);
+		buf.putInt(valueSize);
+		buf.putInt(rootNodeID);
+
+		buf.rewind();
+
+		channel.write(buf, 0L);
+	}
+}
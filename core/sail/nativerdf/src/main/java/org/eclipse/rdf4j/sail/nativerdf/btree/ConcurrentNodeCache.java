@@ -15,9 +15,15 @@ import java.util.function.Consumer;
 import java.util.function.Function;
 
 import org.eclipse.rdf4j.sail.SailException;
-import org.eclipse.rdf4j.sail.nativerdf.ConcurrentCache;
+import org.eclipse.rdf4j.sail.nativerdf.TinyLfuCache;
 
-class ConcurrentNodeCache extends ConcurrentCache<Integer, Node> {
+class ConcurrentNodeCache extends TinyLfuCache<Integer, Node> {
+
+	/**
+	 * The number of nodes that are kept in the cache while they are not in use, nodes that are in use are never
+	 * evicted.
+	 */
+	private static final int CAPACITY = 512;
 
 	private final Function<Integer, Node> reader;
 
@@ -32,21 +38,20 @@ class ConcurrentNodeCache extends ConcurrentCache<Integer, Node> {
 	};
 
 	public ConcurrentNodeCache(Function<Integer, Node> reader) {
-		super(0); // cleanUp, when actually run, will try to completely purge the cache (but retain currently used
-		// nodes)
+		super(CAPACITY);
 		this.reader = reader;
 	}
 
 	public void flush() {
-		cache.forEachValue(Long.MAX_VALUE, writeNode);
+		forEachValue(writeNode);
 	}
 
 	public void put(Node node) throws IOException {
-		cache.put(node.getID(), node);
+		put(node.getID(), node);
 	}
 
 	public Node readAndUse(int id) {
-		return cache.compute(id, (k, v) -> {
+		return compute(id, (k, v) -> {
 			Node node = v == null ? reader.apply(k) : v;
 			node.use();
 			return node;
@@ -55,7 +60,7 @@ class ConcurrentNodeCache extends ConcurrentCache<Integer, Node> {
 
 	public boolean discardEmptyUnused(int nodeId) {
 
-		Node nn = cache.computeIfPresent(nodeId, (k, v) -> {
+		Node nn = computeIfPresent(nodeId, (k, v) -> {
 
 			if (v.getUsageCount() == 0 && v.isEmpty() && v.isLeaf()) {
 				writeNode.accept(v);
@@ -75,13 +80,7 @@ class ConcurrentNodeCache extends ConcurrentCache<Integer, Node> {
 	}
 
 	@Override
-	protected boolean onEntryRemoval(Integer key) {
-		Node node = cache.get(key);
-
-		if (node == null) {
-			return true;
-		}
-
+	protected boolean onEntryRemoval(Integer key, Node node) {
 		if (node.getUsageCount() > 0) {
 			return false;
 		}
@@ -56,6 +56,8 @@ public class NativeStoreFactory implements SailFactory {
 			NativeStoreConfig nativeConfig = (NativeStoreConfig) config;
 
 			nativeConfig.getDefaultQueryEvaluationMode().ifPresent(nativeStore::setDefaultQueryEvaluationMode);
+			nativeConfig.getDefaultQueryEvaluationParallelism()
+					.ifPresent(nativeStore::setDefaultQueryEvaluationParallelism);
 			nativeStore.setTripleIndexes(nativeConfig.getTripleIndexes());
 			nativeStore.setForceSync(nativeConfig.getForceSync());
 
@@ -10,6 +10,8 @@
  *******************************************************************************/
 package org.eclipse.rdf4j.sail.nativerdf.model;
 
+import org.eclipse.rdf4j.model.BNode;
+import org.eclipse.rdf4j.model.Value;
 import org.eclipse.rdf4j.model.impl.SimpleBNode;
 import org.eclipse.rdf4j.sail.nativerdf.ValueStoreRevision;
 
@@ -29,13 +31,21 @@ public class NativeBNode extends SimpleBNode implements NativeResource {
 
 	private volatile int internalID;
 
+	// false until the node ID of a value that was created from its ID is read
+	private volatile boolean initialized = true;
+
 	/*--------------*
 	 * Constructors *
 	 *--------------*/
 
-	protected NativeBNode(ValueStoreRevision revision, int internalID) {
+	/**
+	 * Creates a blank node for the value with the supplied ID, of which the node ID is read from the value store when
+	 * it is first needed.
+	 */
+	public NativeBNode(ValueStoreRevision revision, int internalID) {
 		super();
 		setInternalID(internalID, revision);
+		initialized = false;
 	}
 
 	public NativeBNode(ValueStoreRevision revision, String nodeID) {
@@ -67,6 +77,24 @@ public class NativeBNode extends SimpleBNode implements NativeResource {
 		return internalID;
 	}
 
+	private void init() {
+		if (!initialized) {
+			setID(((NativeBNode) revision.resolveValue(internalID)).getID());
+			initialized = true;
+		}
+	}
+
+	@Override
+	public String getID() {
+		init();
+		return super.getID();
+	}
+
+	private Object writeReplace() {
+		init();
+		return this;
+	}
+
 	@Override
 	public boolean equals(Object o) {
 		if (this == o) {
@@ -83,6 +111,14 @@ public class NativeBNode extends SimpleBNode implements NativeResource {
 			}
 		}
 
+		if (!initialized && o instanceof BNode) {
+			// compare by ID instead of reading the data of this value
+			int otherID = revision.getID((Value) o);
+			if (otherID != NativeValue.UNKNOWN_ID) {
+				return internalID == otherID;
+			}
+		}
+
 		return super.equals(o);
 	}
 
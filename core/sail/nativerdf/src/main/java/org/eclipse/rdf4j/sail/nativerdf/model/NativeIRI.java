@@ -10,6 +10,8 @@
  *******************************************************************************/
 package org.eclipse.rdf4j.sail.nativerdf.model;
 
+import org.eclipse.rdf4j.model.IRI;
+import org.eclipse.rdf4j.model.Value;
 import org.eclipse.rdf4j.model.impl.SimpleIRI;
 import org.eclipse.rdf4j.sail.nativerdf.ValueStoreRevision;
 
@@ -25,13 +27,21 @@ public class NativeIRI extends SimpleIRI implements NativeResource {
 
 	private volatile int internalID;
 
+	// false until the IRI string of a value that was created from its ID is read
+	private volatile boolean initialized = true;
+
 	/*--------------*
 	 * Constructors *
 	 *--------------*/
 
-	protected NativeIRI(ValueStoreRevision revision, int internalID) {
+	/**
+	 * Creates an IRI for the value with the supplied ID, of which the IRI string is read from the value store when it
+	 * is first needed.
+	 */
+	public NativeIRI(ValueStoreRevision revision, int internalID) {
 		super();
 		setInternalID(internalID, revision);
+		initialized = false;
 	}
 
 	public NativeIRI(ValueStoreRevision revision, String uri) {
@@ -71,6 +81,36 @@ public class NativeIRI extends SimpleIRI implements NativeResource {
 		return internalID;
 	}
 
+	private void init() {
+		if (!initialized) {
+			setIRIString(revision.resolveValue(internalID).stringValue());
+			initialized = true;
+		}
+	}
+
+	@Override
+	public String stringValue() {
+		init();
+		return super.stringValue();
+	}
+
+	@Override
+	public String getNamespace() {
+		init();
+		return super.getNamespace();
+	}
+
+	@Override
+	public String getLocalName() {
+		init();
+		return super.getLocalName();
+	}
+
+	private Object writeReplace() {
+		init();
+		return this;
+	}
+
 	@Override
 	public boolean equals(Object o) {
 		if (this == o) {
@@ -87,6 +127,14 @@ public class NativeIRI extends SimpleIRI implements NativeResource {
 			}
 		}
 
+		if (!initialized && o instanceof IRI) {
+			// compare by ID instead of reading the data of this value
+			int otherID = revision.getID((Value) o);
+			if (otherID != NativeValue.UNKNOWN_ID) {
+				return internalID == otherID;
+			}
+		}
+
 		return super.equals(o);
 	}
 }
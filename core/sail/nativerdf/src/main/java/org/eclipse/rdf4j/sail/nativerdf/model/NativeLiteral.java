@@ -10,7 +10,16 @@
  *******************************************************************************/
 package org.eclipse.rdf4j.sail.nativerdf.model;
 
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.util.Optional;
+
+import javax.xml.datatype.XMLGregorianCalendar;
+
 import org.eclipse.rdf4j.model.IRI;
+import org.eclipse.rdf4j.model.Literal;
+import org.eclipse.rdf4j.model.Value;
+import org.eclipse.rdf4j.model.base.CoreDatatype;
 import org.eclipse.rdf4j.model.impl.SimpleLiteral;
 import org.eclipse.rdf4j.sail.nativerdf.ValueStoreRevision;
 
@@ -30,13 +39,21 @@ public class NativeLiteral extends SimpleLiteral implements NativeValue {
 
 	private volatile int internalID;
 
+	// false until the label, language and datatype of a value that was created from its ID are read
+	private volatile boolean initialized = true;
+
 	/*--------------*
 	 * Constructors *
 	 *--------------*/
 
-	protected NativeLiteral(ValueStoreRevision revision, int internalID) {
+	/**
+	 * Creates a literal for the value with the supplied ID, of which the label, language and datatype are read from the
+	 * value store when they are first needed.
+	 */
+	public NativeLiteral(ValueStoreRevision revision, int internalID) {
 		super();
 		setInternalID(internalID, revision);
+		initialized = false;
 	}
 
 	public NativeLiteral(ValueStoreRevision revision, String label) {
@@ -86,6 +103,125 @@ public class NativeLiteral extends SimpleLiteral implements NativeValue {
 		return internalID;
 	}
 
+	private void init() {
+		if (!initialized) {
+			Literal literal = (Literal) revision.resolveValue(internalID);
+			setLabel(literal.getLabel());
+			literal.getLanguage().ifPresent(this::setLanguage);
+			if (literal.getDatatype() != null) {
+				setDatatype(literal.getDatatype());
+			}
+			initialized = true;
+		}
+	}
+
+	@Override
+	public String getLabel() {
+		init();
+		return super.getLabel();
+	}
+
+	@Override
+	public Optional<String> getLanguage() {
+		init();
+		return super.getLanguage();
+	}
+
+	@Override
+	public IRI getDatatype() {
+		init();
+		return super.getDatatype();
+	}
+
+	@Override
+	public CoreDatatype getCoreDatatype() {
+		init();
+		return super.getCoreDatatype();
+	}
+
+	@Override
+	public String stringValue() {
+		init();
+		return super.stringValue();
+	}
+
+	@Override
+	public boolean booleanValue() {
+		init();
+		return super.booleanValue();
+	}
+
+	@Override
+	public byte byteValue() {
+		init();
+		return super.byteValue();
+	}
+
+	@Override
+	public short shortValue() {
+		init();
+		return super.shortValue();
+	}
+
+	@Override
+	public int intValue() {
+		init();
+		return super.intValue();
+	}
+
+	@Override
+	public long longValue() {
+		init();
+		return super.longValue();
+	}
+
+	@Override
+	public float floatValue() {
+		init();
+		return super.floatValue();
+	}
+
+	@Override
+	public double doubleValue() {
+		init();
+		return super.doubleValue();
+	}
+
+	@Override
+	public BigInteger integerValue() {
+		init();
+		return super.integerValue();
+	}
+
+	@Override
+	public BigDecimal decimalValue() {
+		init();
+		return super.decimalValue();
+	}
+
+	@Override
+	public XMLGregorianCalendar calendarValue() {
+		init();
+		return super.calendarValue();
+	}
+
+	@Override
+	public int hashCode() {
+		init();
+		return super.hashCode();
+	}
+
+	@Override
+	public String toString() {
+		init();
+		return super.toString();
+	}
+
+	private Object writeReplace() {
+		init();
+		return this;
+	}
+
 	@Override
 	public boolean equals(Object o) {
 		if (this == o) {
@@ -103,6 +239,15 @@ public class NativeLiteral extends SimpleLiteral implements NativeValue {
 			}
 		}
 
+		if (!initialized && o instanceof Literal && ((Literal) o).getLanguage().isEmpty()) {
+			// compare by ID instead of reading the data of this value
+			int otherID = revision.getID((Value) o);
+			if (otherID != NativeValue.UNKNOWN_ID) {
+				return internalID == otherID;
+			}
+		}
+
+		init();
 		return super.equals(o);
 	}
 }
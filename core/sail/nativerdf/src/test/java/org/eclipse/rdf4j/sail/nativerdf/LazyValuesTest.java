@@ -0,0 +1,151 @@
+/*******************************************************************************
+ * Copyright (c) 2023 Eclipse RDF4J contributors.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Distribution License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/org/documents/edl-v10.php.
+ *
+ * SPDX-License-Identifier: BSD-3-Clause
+ *******************************************************************************/
+package org.eclipse.rdf4j.sail.nativerdf;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.io.File;
+import java.util.List;
+
+import org.eclipse.rdf4j.model.BNode;
+import org.eclipse.rdf4j.model.IRI;
+import org.eclipse.rdf4j.model.Literal;
+import org.eclipse.rdf4j.model.ValueFactory;
+import org.eclipse.rdf4j.model.impl.SimpleValueFactory;
+import org.eclipse.rdf4j.model.vocabulary.RDF;
+import org.eclipse.rdf4j.model.vocabulary.XSD;
+import org.eclipse.rdf4j.query.BindingSet;
+import org.eclipse.rdf4j.query.QueryResults;
+import org.eclipse.rdf4j.repository.RepositoryConnection;
+import org.eclipse.rdf4j.repository.sail.SailRepository;
+import org.eclipse.rdf4j.sail.nativerdf.model.NativeBNode;
+import org.eclipse.rdf4j.sail.nativerdf.model.NativeIRI;
+import org.eclipse.rdf4j.sail.nativerdf.model.NativeLiteral;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+/**
+ * Tests that values of the {@link NativeStore} that only read their data when it is needed behave like other values.
+ */
+public class LazyValuesTest {
+
+	private static final String NS = "http://example.org/";
+
+	private static final ValueFactory vf = SimpleValueFactory.getInstance();
+
+	@TempDir
+	File dataDir;
+
+	@AfterEach
+	public void clearProperty() {
+		System.clearProperty(NativeStore.LAZY_VALUES_PROPERTY);
+	}
+
+	@Test
+	public void testLazyValues() throws Exception {
+		IRI iri = vf.createIRI(NS, "iri");
+		Literal typed = vf.createLiteral("12", XSD.INT);
+		int iriID;
+		int typedID;
+		ValueStore valueStore = new ValueStore(dataDir);
+		try {
+			BNode bnode = vf.createBNode("node");
+			Literal literal = vf.createLiteral("label", "en");
+			iriID = valueStore.storeValue(iri);
+			int bnodeID = valueStore.storeValue(bnode);
+			int literalID = valueStore.storeValue(literal);
+			typedID = valueStore.storeValue(typed);
+
+			assertThat(valueStore.getLazyValue(iriID)).isInstanceOf(NativeIRI.class)
+					.isEqualTo(valueStore.getLazyValue(iriID))
+					.isEqualTo(iri)
+					.hasSameHashCodeAs(iri)
+					.hasToString(iri.toString());
+			assertThat(((IRI) valueStore.getLazyValue(iriID)).getLocalName()).isEqualTo("iri");
+			assertThat(valueStore.getLazyValue(bnodeID)).isInstanceOf(NativeBNode.class)
+					.isEqualTo(bnode)
+					.hasSameHashCodeAs(bnode);
+			assertThat(valueStore.getLazyValue(literalID)).isInstanceOf(NativeLiteral.class)
+					.isEqualTo(literal)
+					.hasSameHashCodeAs(literal)
+					.isNotEqualTo(vf.createLiteral("label"));
+			assertThat(((Literal) valueStore.getLazyValue(literalID)).getLanguage()).contains("en");
+			assertThat(((Literal) valueStore.getLazyValue(typedID)).intValue()).isEqualTo(12);
+			assertThat(((Literal) valueStore.getLazyValue(typedID)).getDatatype()).isEqualTo(XSD.INT);
+
+			// compared by ID
+			assertThat(valueStore.getLazyValue(iriID)).isNotEqualTo(vf.createIRI(NS, "other"));
+			assertThat(valueStore.getLazyValue(typedID)).isNotEqualTo(literal);
+			valueStore.sync();
+		} finally {
+			valueStore.close();
+		}
+
+		// types are not known after the value store was reopened, the values are read instead
+		valueStore = new ValueStore(dataDir);
+		try {
+			assertThat(valueStore.getLazyValue(iriID)).isEqualTo(iri);
+			assertThat(valueStore.getLazyValue(typedID)).isEqualTo(typed);
+		} finally {
+			valueStore.close();
+		}
+	}
+
+	@Test
+	public void testQueries() {
+		String[] queries = {
+				"SELECT * WHERE { ?s a ?type ; ex:value ?v ; ex:knows ?o . ?o ex:value ?ov }",
+				"SELECT (COUNT(*) AS ?count) WHERE { ?s ex:knows ?o . ?o ex:knows ?x }",
+				"SELECT DISTINCT ?type ?o WHERE { ?s a ?type ; ex:knows ?o }",
+				"SELECT ?s WHERE { ?s ex:knows ?o FILTER(sameTerm(?o, ex:s3)) }",
+				"SELECT ?s ?v WHERE { ?s ex:value ?v FILTER(sameTerm(?v, \"label 3\"@en) || ?v = 7) }",
+				"SELECT ?type (SUM(?v) AS ?sum) WHERE { ?s a ?type ; ex:value ?v FILTER(isNumeric(?v)) } GROUP BY ?type" };
+
+		for (String query : queries) {
+			List<BindingSet> expected = evaluate(query, false);
+			assertThat(expected).isNotEmpty();
+			assertThat(evaluate(query, true)).containsExactlyInAnyOrderElementsOf(expected);
+		}
+	}
+
+	private List<BindingSet> evaluate(String query, boolean lazyValues) {
+		if (lazyValues) {
+			System.setProperty(NativeStore.LAZY_VALUES_PROPERTY, "true");
+		} else {
+			System.clearProperty(NativeStore.LAZY_VALUES_PROPERTY);
+		}
+		SailRepository repository = new SailRepository(new NativeStore(dataDir));
+		try (RepositoryConnection connection = repository.getConnection()) {
+			if (connection.isEmpty()) {
+				addData(connection);
+			}
+			// read the values once, so that their types are known
+			QueryResults.asList(connection.getStatements(null, null, null));
+			return QueryResults.asList(connection.prepareTupleQuery("PREFIX ex: <" + NS + ">\n" + query).evaluate());
+		} finally {
+			repository.shutDown();
+		}
+	}
+
+	private static void addData(RepositoryConnection connection) {
+		IRI value = vf.createIRI(NS, "value");
+		IRI knows = vf.createIRI(NS, "knows");
+		for (int i = 0; i < 100; i++) {
+			IRI subject = vf.createIRI(NS, "s" + i);
+			connection.add(subject, RDF.TYPE, vf.createIRI(NS, "Type" + i % 3));
+			connection.add(subject, value,
+					i % 2 == 0 ? vf.createLiteral(i % 10) : vf.createLiteral("label " + i, "en"));
+			connection.add(subject, knows, i % 5 == 0 ? vf.createBNode("b" + i % 7) : vf.createIRI(NS, "s" + i % 7));
+			connection.add(vf.createBNode("b" + i % 7), knows, subject);
+		}
+	}
+}
@@ -0,0 +1,247 @@
+/*******************************************************************************
+ * Copyright (c) 2023 Eclipse RDF4J contributors.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Distribution License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/org/documents/edl-v10.php.
+ *
+ * SPDX-License-Identifier: BSD-3-Clause
+ *******************************************************************************/
+package org.eclipse.rdf4j.sail.nativerdf;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.io.File;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.stream.Collectors;
+
+import org.eclipse.rdf4j.common.iteration.Iterations;
+import org.eclipse.rdf4j.model.IRI;
+import org.eclipse.rdf4j.model.Resource;
+import org.eclipse.rdf4j.model.Statement;
+import org.eclipse.rdf4j.model.ValueFactory;
+import org.eclipse.rdf4j.model.impl.SimpleValueFactory;
+import org.eclipse.rdf4j.model.vocabulary.RDF;
+import org.eclipse.rdf4j.model.vocabulary.RDFS;
+import org.eclipse.rdf4j.query.QueryResults;
+import org.eclipse.rdf4j.repository.RepositoryConnection;
+import org.eclipse.rdf4j.repository.RepositoryResult;
+import org.eclipse.rdf4j.repository.sail.SailRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+public class NativeBulkLoaderTest {
+
+	private static final ValueFactory vf = SimpleValueFactory.getInstance();
+
+	private static final String NS = "http://example.org/";
+
+	@TempDir
+	File dataDir;
+
+	private NativeStore sail;
+
+	private SailRepository repo;
+
+	@BeforeEach
+	public void setUp() {
+		sail = new NativeStore(dataDir, "spoc,posc,cosp");
+		repo = new SailRepository(sail);
+		repo.init();
+	}
+
+	@AfterEach
+	public void tearDown() {
+		repo.shutDown();
+	}
+
+	@Test
+	public void testBulkLoad() throws Exception {
+		List<Statement> existing = createStatements(0, 1000);
+		try (RepositoryConnection conn = repo.getConnection()) {
+			conn.add(existing);
+		}
+
+		// overlaps with the existing statements and contains duplicates
+		List<Statement> loaded = createStatements(500, 5000);
+		loaded.addAll(createStatements(4000, 4500));
+
+		try (NativeBulkLoader loader = sail.createBulkLoader(100)) {
+			for (Statement st : loaded) {
+				loader.add(st);
+			}
+			loader.add(vf.createIRI(NS, "s"), RDFS.LABEL, vf.createLiteral("label"), vf.createIRI(NS, "c1"),
+					vf.createIRI(NS, "c2"));
+
+			try (RepositoryConnection conn = repo.getConnection()) {
+				// not visible before commit
+				assertThat(conn.size()).isEqualTo(existing.size());
+			}
+
+			loader.commit();
+		}
+
+		Set<Statement> expected = new HashSet<>(existing);
+		expected.addAll(loaded);
+		expected.add(vf.createStatement(vf.createIRI(NS, "s"), RDFS.LABEL, vf.createLiteral("label"),
+				vf.createIRI(NS, "c1")));
+		expected.add(vf.createStatement(vf.createIRI(NS, "s"), RDFS.LABEL, vf.createLiteral("label"),
+				vf.createIRI(NS, "c2")));
+		assertContents(expected);
+
+		// the indexes can still be modified with transactions
+		try (RepositoryConnection conn = repo.getConnection()) {
+			conn.remove(existing);
+			conn.add(vf.createIRI(NS, "new"), RDF.TYPE, RDFS.RESOURCE);
+		}
+		expected.removeAll(existing);
+		expected.add(vf.createStatement(vf.createIRI(NS, "new"), RDF.TYPE, RDFS.RESOURCE));
+		assertContents(expected);
+
+		// the statements are persisted
+		repo.shutDown();
+		repo.init();
+		assertContents(expected);
+
+		assertThat(dataDir.list((dir, name) -> name.startsWith("sortrun") || name.startsWith("bulkload"))).isEmpty();
+	}
+
+	@Test
+	public void testQueryResultCacheInvalidated() throws Exception {
+		sail.setQueryResultCacheSize(1 << 20);
+		String query = "SELECT * WHERE { ?s ?p ?o }";
+		try (RepositoryConnection conn = repo.getConnection()) {
+			conn.add(createStatements(0, 10));
+			assertThat(QueryResults.asList(conn.prepareTupleQuery(query).evaluate())).hasSize(10);
+			assertThat(sail.getQueryResultCache().size()).isEqualTo(1);
+		}
+
+		try (NativeBulkLoader loader = sail.createBulkLoader(100)) {
+			for (Statement st : createStatements(10, 20)) {
+				loader.add(st);
+			}
+			loader.commit();
+		}
+
+		try (RepositoryConnection conn = repo.getConnection()) {
+			assertThat(QueryResults.asList(conn.prepareTupleQuery(query).evaluate())).hasSize(20);
+		}
+	}
+
+	@Test
+	public void testCommitWaitsForOpenIterations() throws Exception {
+		List<Statement> existing = createStatements(0, 1000);
+		try (RepositoryConnection conn = repo.getConnection()) {
+			conn.add(existing);
+		}
+
+		try (NativeBulkLoader loader = sail.createBulkLoader(100)) {
+			for (Statement st : createStatements(1000, 2000)) {
+				loader.add(st);
+			}
+
+			ExecutorService executor = Executors.newSingleThreadExecutor();
+			try (RepositoryConnection conn = repo.getConnection()) {
+				Set<Statement> read = new HashSet<>();
+				Future<?> commit;
+				try (RepositoryResult<Statement> statements = conn.getStatements(null, null, null)) {
+					read.add(statements.next());
+
+					commit = executor.submit(loader::commit);
+					assertThatThrownBy(() -> commit.get(500, TimeUnit.MILLISECONDS))
+							.isInstanceOf(TimeoutException.class);
+
+					// the iteration is not affected by the commit
+					while (statements.hasNext()) {
+						read.add(statements.next());
+					}
+				}
+				assertThat(read).isEqualTo(new HashSet<>(existing));
+
+				commit.get(10, TimeUnit.SECONDS);
+			} finally {
+				executor.shutdownNow();
+			}
+		}
+
+		Set<Statement> expected = new HashSet<>(existing);
+		expected.addAll(createStatements(1000, 2000));
+		assertContents(expected);
+	}
+
+	@Test
+	public void testClose() throws Exception {
+		try (NativeBulkLoader loader = sail.createBulkLoader(100)) {
+			for (Statement st : createStatements(0, 1000)) {
+				loader.add(st);
+			}
+		}
+
+		try (RepositoryConnection conn = repo.getConnection()) {
+			assertThat(conn.isEmpty()).isTrue();
+		}
+		assertThat(dataDir.list((dir, name) -> name.startsWith("sortrun"))).isEmpty();
+	}
+
+	@Test
+	public void testIncompleteBulkLoadIsDiscarded() throws Exception {
+		try (RepositoryConnection conn = repo.getConnection()) {
+			conn.add(createStatements(0, 100));
+		}
+		repo.shutDown();
+
+		// files of a bulk load that did not complete
+		File bulkLoadFile = new File(dataDir, "bulkload-triples-spoc.dat");
+		assertThat(bulkLoadFile.createNewFile()).isTrue();
+
+		repo.init();
+		assertThat(bulkLoadFile).doesNotExist();
+		try (RepositoryConnection conn = repo.getConnection()) {
+			assertThat(conn.size()).isEqualTo(100);
+		}
+	}
+
+	private void assertContents(Set<Statement> expected) {
+		try (RepositoryConnection conn = repo.getConnection()) {
+			assertThat(conn.size()).isEqualTo(expected.size());
+			assertThat(Iterations.asSet(conn.getStatements(null, null, null))).isEqualTo(expected);
+
+			// uses the other indexes
+			IRI pred = vf.createIRI(NS, "p3");
+			assertThat(Iterations.asSet(conn.getStatements(null, pred, null)))
+					.isEqualTo(expected.stream()
+							.filter(st -> st.getPredicate().equals(pred))
+							.collect(Collectors.toSet()));
+			Set<Resource> contexts = new HashSet<>();
+			expected.stream().map(Statement::getContext).filter(c -> c != null).forEach(contexts::add);
+			assertThat(Iterations.asSet(conn.getContextIDs())).isEqualTo(contexts);
+		}
+	}
+
+	private static List<Statement> createStatements(int from, int to) {
+		List<Statement> statements = new ArrayList<>();
+		for (int i = from; i < to; i++) {
+			IRI subj = vf.createIRI(NS, "s" + (i % 97));
+			IRI pred = vf.createIRI(NS, "p" + (i % 5));
+			if (i % 3 == 0) {
+				statements.add(vf.createStatement(subj, pred, vf.createLiteral(i)));
+			} else {
+				statements
+						.add(vf.createStatement(subj, pred, vf.createIRI(NS, "o" + i), vf.createIRI(NS, "c" + i % 7)));
+			}
+		}
+		return statements;
+	}
+}
@@ -0,0 +1,267 @@
+/*******************************************************************************
+ * Copyright (c) 2023 Eclipse RDF4J contributors.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Distribution License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/org/documents/edl-v10.php.
+ *
+ * SPDX-License-Identifier: BSD-3-Clause
+ *******************************************************************************/
+package org.eclipse.rdf4j.sail.nativerdf;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.io.File;
+import java.lang.management.BufferPoolMXBean;
+import java.lang.management.ManagementFactory;
+import java.util.List;
+import java.util.Set;
+
+import org.eclipse.rdf4j.collection.factory.api.CollectionFactory;
+import org.eclipse.rdf4j.collection.factory.offheap.OffHeapCollectionFactory;
+import org.eclipse.rdf4j.model.IRI;
+import org.eclipse.rdf4j.model.Value;
+import org.eclipse.rdf4j.model.ValueFactory;
+import org.eclipse.rdf4j.model.impl.SimpleValueFactory;
+import org.eclipse.rdf4j.query.BindingSet;
+import org.eclipse.rdf4j.query.QueryResults;
+import org.eclipse.rdf4j.query.impl.MapBindingSet;
+import org.eclipse.rdf4j.repository.RepositoryConnection;
+import org.eclipse.rdf4j.repository.sail.SailRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+/**
+ * Tests that queries keep their results when the {@link NativeStore} keeps values in off-heap collections.
+ */
+public class OffHeapCollectionsTest {
+
+	private static final String NS = "http://example.org/";
+
+	private static final ValueFactory vf = SimpleValueFactory.getInstance();
+
+	@TempDir
+	File dataDir;
+
+	@AfterEach
+	public void clearProperty() {
+		System.clearProperty(NativeStore.OFF_HEAP_COLLECTIONS_PROPERTY);
+		System.clearProperty(OffHeapCollectionFactory.MAX_DIRECT_MEMORY_PROPERTY);
+	}
+
+	@Test
+	public void testGroupBy() {
+		String query = "PREFIX ex: <" + NS + ">\n"
+				+ "SELECT ?type ?n (COUNT(*) AS ?count) (SUM(?v) AS ?sum) (COUNT(DISTINCT ?v) AS ?values)\n"
+				+ "WHERE { ?s a ?type ; ex:value ?v BIND(?v > 5 AS ?n) } GROUP BY ?type ?n";
+
+		List<BindingSet> expected = evaluate(query, false);
+		assertThat(expected).hasSize(6);
+		assertThat(evaluate(query, true)).containsExactlyInAnyOrderElementsOf(expected);
+	}
+
+	@Test
+	public void testGroupByStoredValues() {
+		String query = "PREFIX ex: <" + NS + ">\n"
+				+ "SELECT ?type ?v (COUNT(*) AS ?count) (MAX(?s) AS ?max)\n"
+				+ "WHERE { ?s a ?type ; ex:value ?v } GROUP BY ?type ?v";
+
+		List<BindingSet> expected = evaluate(query, false);
+		assertThat(expected).hasSize(30);
+		assertThat(evaluate(query, true)).containsExactlyInAnyOrderElementsOf(expected);
+	}
+
+	@Test
+	public void testDistinct() {
+		String query = "PREFIX ex: <" + NS + ">\n"
+				+ "SELECT DISTINCT ?type ?v (?v * 2 AS ?double) WHERE { ?s a ?type ; ex:value ?v }";
+
+		List<BindingSet> expected = evaluate(query, false);
+		assertThat(expected).hasSize(30);
+		assertThat(evaluate(query, true)).containsExactlyInAnyOrderElementsOf(expected);
+	}
+
+	@Test
+	public void testMinus() {
+		String query = "PREFIX ex: <" + NS + ">\n"
+				+ "SELECT * WHERE { ?s ex:value ?v MINUS { ?s a ex:Type0 } MINUS { ?s a ex:Type1 } }";
+
+		List<BindingSet> expected = evaluate(query, false);
+		assertThat(expected).hasSize(100);
+		assertThat(evaluate(query, true)).containsExactlyInAnyOrderElementsOf(expected);
+	}
+
+	@Test
+	public void testHashJoin() {
+		String query = "PREFIX ex: <" + NS + ">\n"
+				+ "SELECT * WHERE { ?s a ?type { SELECT ?s ?v WHERE { ?s ex:value ?v FILTER(?v > 3) } } "
+				+ "OPTIONAL { { SELECT ?s (1 AS ?one) WHERE { ?s a ex:Type1 } } } }";
+
+		List<BindingSet> expected = evaluate(query, false);
+		assertThat(expected).hasSize(180);
+		assertThat(evaluate(query, true)).containsExactlyInAnyOrderElementsOf(expected);
+	}
+
+	@Test
+	public void testSpillToDisk() {
+		String query = "PREFIX ex: <" + NS + ">\n"
+				+ "SELECT DISTINCT ?type ?v WHERE { ?s a ?type { SELECT ?s ?v WHERE { ?s ex:value ?v } } "
+				+ "MINUS { ?s a ex:Type1 } }";
+
+		List<BindingSet> expected = evaluate(query, false);
+		assertThat(expected).hasSize(20);
+
+		NativeStore store = new NativeStore(dataDir);
+		store.setIterationCacheSyncThreshold(10);
+		SailRepository repository = new SailRepository(store);
+		try (RepositoryConnection connection = repository.getConnection()) {
+			assertThat(QueryResults.asList(connection.prepareTupleQuery(query).evaluate()))
+					.containsExactlyInAnyOrderElementsOf(expected);
+		} finally {
+			repository.shutDown();
+		}
+	}
+
+	@Test
+	public void testDirectMemoryLimit() {
+		String distinct = "PREFIX ex: <" + NS + ">\n"
+				+ "SELECT DISTINCT ?s ?type ?v WHERE { ?s a ?type ; ex:value ?v }";
+		String minus = "PREFIX ex: <" + NS + ">\n"
+				+ "SELECT * WHERE { ?s ex:value ?v MINUS { ?s a ?type FILTER(?type != ex:Type2) } }";
+		String groupBy = "PREFIX ex: <" + NS + ">\n"
+				+ "SELECT ?v (COUNT(DISTINCT ?s) AS ?count) WHERE { ?s a ?type ; ex:value ?v } GROUP BY ?v";
+
+		List<BindingSet> expectedDistinct = evaluate(distinct, false);
+		List<BindingSet> expectedMinus = evaluate(minus, false);
+		List<BindingSet> expectedGroupBy = evaluate(groupBy, false);
+		assertThat(expectedDistinct).hasSize(300);
+		assertThat(expectedMinus).hasSize(100);
+		assertThat(expectedGroupBy).hasSize(10);
+
+		// room for the first buffers of a set, the sets keep the rest of their elements on the heap
+		System.setProperty(OffHeapCollectionFactory.MAX_DIRECT_MEMORY_PROPERTY, "24576");
+		assertThat(evaluate(distinct, true)).containsExactlyInAnyOrderElementsOf(expectedDistinct);
+		assertThat(evaluate(minus, true)).containsExactlyInAnyOrderElementsOf(expectedMinus);
+		assertThat(evaluate(groupBy, true)).containsExactlyInAnyOrderElementsOf(expectedGroupBy);
+
+		// no room at all
+		System.setProperty(OffHeapCollectionFactory.MAX_DIRECT_MEMORY_PROPERTY, "0");
+		assertThat(evaluate(distinct, true)).containsExactlyInAnyOrderElementsOf(expectedDistinct);
+		assertThat(evaluate(minus, true)).containsExactlyInAnyOrderElementsOf(expectedMinus);
+	}
+
+	@Test
+	public void testDirectMemoryIsFreedOnClose() {
+		BufferPoolMXBean directPool = ManagementFactory.getPlatformMXBeans(BufferPoolMXBean.class)
+				.stream()
+				.filter(pool -> pool.getName().equals("direct"))
+				.findFirst()
+				.orElseThrow();
+
+		NativeStore store = new NativeStore(dataDir);
+		System.setProperty(NativeStore.OFF_HEAP_COLLECTIONS_PROPERTY, "true");
+		SailRepository repository = new SailRepository(store);
+		try (RepositoryConnection connection = repository.getConnection()) {
+			addData(connection);
+			long before = directPool.getMemoryUsed();
+			CollectionFactory factory = store.getCollectionFactory().get();
+			Set<Value> values = factory.createValueSet();
+			for (int i = 0; i < 300; i++) {
+				values.add(store.getValueFactory().createIRI(NS, "s" + i));
+			}
+			assertThat(directPool.getMemoryUsed()).isGreaterThan(before);
+
+			factory.close();
+			assertThat(directPool.getMemoryUsed()).isLessThanOrEqualTo(before);
+		} finally {
+			repository.shutDown();
+		}
+	}
+
+	@Test
+	public void testValueSet() {
+		System.setProperty(NativeStore.OFF_HEAP_COLLECTIONS_PROPERTY, "true");
+		NativeStore store = new NativeStore(dataDir);
+		SailRepository repository = new SailRepository(store);
+		try (RepositoryConnection connection = repository.getConnection()) {
+			addData(connection);
+			try (CollectionFactory factory = store.getCollectionFactory().get()) {
+				assertThat(factory).isInstanceOf(OffHeapCollectionFactory.class);
+
+				Set<Value> values = factory.createValueSet();
+				assertThat(values.add(vf.createIRI(NS, "s1"))).isTrue();
+				assertThat(values.add(store.getValueFactory().createIRI(NS, "s1"))).isFalse();
+				// not in the store
+				assertThat(values.add(vf.createIRI(NS, "other"))).isTrue();
+				assertThat(values.add(vf.createIRI(NS, "other"))).isFalse();
+				assertThat(values).hasSize(2)
+						.containsExactlyInAnyOrder(vf.createIRI(NS, "s1"), vf.createIRI(NS, "other"));
+
+				Set<BindingSet> bindingSets = factory.createSetOfBindingSets();
+				assertThat(bindingSets.add(bindingSet("a", vf.createIRI(NS, "s1"), "b", vf.createLiteral(1))))
+						.isTrue();
+				// binding order does not matter
+				assertThat(bindingSets.add(bindingSet("b", vf.createLiteral(1), "a", vf.createIRI(NS, "s1"))))
+						.isFalse();
+				assertThat(bindingSets.add(bindingSet("a", vf.createIRI(NS, "s1"), "b", vf.createLiteral(2))))
+						.isTrue();
+				assertThat(bindingSets.add(bindingSet("a", vf.createIRI(NS, "other"), "b", vf.createLiteral(1))))
+						.isTrue();
+				assertThat(bindingSets).hasSize(3)
+						.contains(bindingSet("a", vf.createIRI(NS, "s1"), "b", vf.createLiteral(2)));
+			}
+		} finally {
+			repository.shutDown();
+		}
+	}
+
+	@Test
+	public void testPropertyIsReadOnInitialization() {
+		NativeStore store = new NativeStore(dataDir);
+		SailRepository repository = new SailRepository(store);
+		try (RepositoryConnection connection = repository.getConnection()) {
+			System.setProperty(NativeStore.OFF_HEAP_COLLECTIONS_PROPERTY, "true");
+			try (CollectionFactory factory = store.getCollectionFactory().get()) {
+				assertThat(factory).isNotInstanceOf(OffHeapCollectionFactory.class);
+			}
+		} finally {
+			repository.shutDown();
+		}
+	}
+
+	private List<BindingSet> evaluate(String query, boolean offHeap) {
+		if (offHeap) {
+			System.setProperty(NativeStore.OFF_HEAP_COLLECTIONS_PROPERTY, "true");
+		} else {
+			System.clearProperty(NativeStore.OFF_HEAP_COLLECTIONS_PROPERTY);
+		}
+		SailRepository repository = new SailRepository(new NativeStore(dataDir));
+		try (RepositoryConnection connection = repository.getConnection()) {
+			if (connection.isEmpty()) {
+				addData(connection);
+			}
+			return QueryResults.asList(connection.prepareTupleQuery(query).evaluate());
+		} finally {
+			repository.shutDown();
+		}
+	}
+
+	private static void addData(RepositoryConnection connection) {
+		IRI value = vf.createIRI(NS, "value");
+		for (int i = 0; i < 300; i++) {
+			IRI subject = vf.createIRI(NS, "s" + i);
+			connection.add(subject, vf.createIRI("http://www.w3.org/1999/02/22-rdf-syntax-ns#type"),
+					vf.createIRI(NS, "Type" + i % 3));
+			connection.add(subject, value, vf.createLiteral(i % 10));
+		}
+	}
+
+	private static BindingSet bindingSet(String name1, Value value1, String name2, Value value2) {
+		MapBindingSet bindingSet = new MapBindingSet();
+		bindingSet.addBinding(name1, value1);
+		bindingSet.addBinding(name2, value2);
+		return bindingSet;
+	}
+}
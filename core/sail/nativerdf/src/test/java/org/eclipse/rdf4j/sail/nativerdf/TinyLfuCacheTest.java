@@ -0,0 +1,164 @@
+/*******************************************************************************
+ * Copyright (c) 2023 Eclipse RDF4J contributors.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Distribution License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/org/documents/edl-v10.php.
+ *
+ * SPDX-License-Identifier: BSD-3-Clause
+ *******************************************************************************/
+package org.eclipse.rdf4j.sail.nativerdf;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import org.junit.jupiter.api.Test;
+
+public class TinyLfuCacheTest {
+
+	@Test
+	public void testSizeIsLimited() {
+		TinyLfuCache<Integer, String> cache = new TinyLfuCache<>(100);
+		for (int i = 0; i < 1000; i++) {
+			cache.put(i, "value" + i);
+		}
+
+		assertThat(cache.size()).isEqualTo(100);
+		assertThat(cache.getEvictionCount()).isEqualTo(900);
+	}
+
+	@Test
+	public void testCounters() {
+		TinyLfuCache<Integer, String> cache = new TinyLfuCache<>(100);
+		cache.put(1, "one");
+
+		assertThat(cache.get(1)).isEqualTo("one");
+		assertThat(cache.get(2)).isNull();
+		assertThat(cache.compute(2, (k, v) -> "two")).isEqualTo("two");
+		assertThat(cache.compute(2, (k, v) -> v + "!")).isEqualTo("two!");
+
+		assertThat(cache.getHitCount()).isEqualTo(2);
+		assertThat(cache.getMissCount()).isEqualTo(2);
+		assertThat(cache.getEvictionCount()).isZero();
+	}
+
+	@Test
+	public void testFrequentlyUsedEntriesSurviveScan() {
+		TinyLfuCache<Integer, String> cache = new TinyLfuCache<>(100);
+		for (int round = 0; round < 5; round++) {
+			for (int i = 0; i < 50; i++) {
+				if (cache.get(i) == null) {
+					cache.put(i, "hot" + i);
+				}
+			}
+		}
+
+		// a scan over many keys that are only used once, while the hot entries are still being used
+		for (int i = 1000; i < 10000; i++) {
+			if (cache.get(i) == null) {
+				cache.put(i, "cold" + i);
+			}
+			assertThat(cache.get(i % 50)).isNotNull();
+		}
+
+		for (int i = 0; i < 50; i++) {
+			assertThat(cache.get(i)).as("hot entry " + i).isEqualTo("hot" + i);
+		}
+		assertThat(cache.size()).isEqualTo(100);
+	}
+
+	@Test
+	public void testRefusedEntriesAreKept() {
+		Set<Integer> pinned = new HashSet<>();
+		TinyLfuCache<Integer, String> cache = new TinyLfuCache<>(10) {
+			@Override
+			protected boolean onEntryRemoval(Integer key, String value) {
+				return !pinned.contains(key);
+			}
+		};
+
+		for (int i = 0; i < 20; i++) {
+			pinned.add(i);
+			cache.put(i, "value" + i);
+		}
+		assertThat(cache.size()).isEqualTo(20);
+
+		pinned.clear();
+		cache.cleanUp();
+		assertThat(cache.size()).isEqualTo(10);
+
+		// removed entries make room for new entries
+		for (int i = 0, removed = 0; removed < 2; i++) {
+			if (cache.get(i) != null) {
+				cache.computeIfPresent(i, (k, v) -> null);
+				removed++;
+			}
+		}
+		assertThat(cache.size()).isEqualTo(8);
+		for (int i = 100; i < 102; i++) {
+			cache.put(i, "value" + i);
+		}
+		assertThat(cache.size()).isEqualTo(10);
+		assertThat(cache.getEvictionCount()).isEqualTo(10);
+	}
+
+	@Test
+	public void testClear() {
+		TinyLfuCache<Integer, String> cache = new TinyLfuCache<>(10);
+		for (int i = 0; i < 10; i++) {
+			cache.put(i, "value" + i);
+		}
+		cache.clear();
+		assertThat(cache.size()).isZero();
+
+		for (int i = 0; i < 20; i++) {
+			cache.put(i, "value" + i);
+		}
+		assertThat(cache.size()).isEqualTo(10);
+	}
+
+	@Test
+	public void testConcurrentAccess() throws Exception {
+		TinyLfuCache<Integer, Integer> cache = new TinyLfuCache<>(1000);
+		ExecutorService executor = Executors.newFixedThreadPool(4);
+		try {
+			List<Future<?>> futures = new ArrayList<>();
+			for (int t = 0; t < 4; t++) {
+				int seed = t;
+				futures.add(executor.submit(() -> {
+					Random random = new Random(seed);
+					for (int i = 0; i < 100_000; i++) {
+						// a skewed distribution of keys
+						int key = (int) Math.pow(random.nextInt(1 << 15), 2) >>> 10;
+						Integer value = cache.get(key);
+						if (value == null) {
+							cache.put(key, key);
+						} else {
+							assertThat(value).isEqualTo(key);
+						}
+						if (i % 1000 == 0) {
+							cache.computeIfPresent(key, (k, v) -> null);
+						}
+					}
+				}));
+			}
+			for (Future<?> future : futures) {
+				future.get();
+			}
+		} finally {
+			executor.shutdown();
+		}
+
+		assertThat(cache.size()).isLessThanOrEqualTo(1000);
+		assertThat(cache.getHitCount() + cache.getMissCount()).isEqualTo(400_000);
+	}
+}
@@ -0,0 +1,210 @@
+/*******************************************************************************
+ * Copyright (c) 2023 Eclipse RDF4J contributors.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Distribution License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/org/documents/edl-v10.php.
+ *
+ * SPDX-License-Identifier: BSD-3-Clause
+ *******************************************************************************/
+package org.eclipse.rdf4j.sail.nativerdf;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.io.File;
+import java.io.IOException;
+
+import org.eclipse.rdf4j.model.IRI;
+import org.eclipse.rdf4j.model.ValueFactory;
+import org.eclipse.rdf4j.model.impl.SimpleValueFactory;
+import org.eclipse.rdf4j.query.QueryLanguage;
+import org.eclipse.rdf4j.query.algebra.Projection;
+import org.eclipse.rdf4j.query.algebra.QueryRoot;
+import org.eclipse.rdf4j.query.algebra.TupleExpr;
+import org.eclipse.rdf4j.query.parser.QueryParserUtil;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+/**
+ * Tests that the {@link TripleStatistics} of a {@link TripleStore} are maintained and persisted.
+ */
+public class TripleStatisticsTest {
+
+	private static final int TYPE = 1;
+	private static final int NAME = 2;
+	private static final int KNOWS = 3;
+	private static final int PERSON = 4;
+	private static final int DOCUMENT = 5;
+
+	@TempDir
+	File dataDir;
+
+	@Test
+	public void testCountsAreMaintained() throws Exception {
+		try (TripleStore tripleStore = new TripleStore(dataDir, "spoc,posc")) {
+			addPeople(tripleStore, 1000);
+			TripleStatistics statistics = tripleStore.getStatistics();
+
+			assertThat(statistics.getCardinality(TYPE, false, false)).isEqualTo(1000);
+			assertThat(statistics.getCardinality(NAME, false, false)).isEqualTo(1000);
+			// every person knows two others
+			assertThat(statistics.getCardinality(KNOWS, false, false)).isEqualTo(2000);
+			assertThat(statistics.getCardinality(KNOWS, true, false)).isEqualTo(2);
+			// all people have the same type
+			assertThat(statistics.getCardinality(TYPE, false, true)).isEqualTo(1000);
+			assertThat(statistics.getCardinality(NAME, false, true)).isEqualTo(1);
+
+			// a small transaction updates the statistics incrementally
+			tripleStore.startTransaction();
+			for (int i = 0; i < 20; i++) {
+				tripleStore.removeTriplesByContext(person(i), -1, -1, -1);
+			}
+			tripleStore.storeTriple(person(0), NAME, name(0), 0);
+			tripleStore.commit();
+
+			assertThat(statistics.getCardinality(TYPE, false, false)).isEqualTo(980);
+			assertThat(statistics.getCardinality(NAME, false, false)).isEqualTo(981);
+			assertThat(statistics.getCardinality(KNOWS, false, false)).isEqualTo(1960);
+			assertThat(statistics.getCardinality(KNOWS, true, false)).isEqualTo(2);
+			assertThat(statistics.getCardinality(TYPE, false, true)).isEqualTo(980);
+			assertThat(statistics.getStarCardinality(new int[] { NAME })).isEqualTo(981);
+			assertThat(statistics.getStarCardinality(new int[] { TYPE, NAME })).isEqualTo(980);
+
+			// a large one rebuilds them
+			tripleStore.startTransaction();
+			tripleStore.removeTriplesByContext(-1, TYPE, -1, -1);
+			tripleStore.commit();
+			assertThat(statistics.getCardinality(TYPE, false, false)).isNegative();
+			assertThat(statistics.getCardinality(NAME, false, false)).isEqualTo(981);
+		}
+	}
+
+	@Test
+	public void testCharacteristicSets() throws Exception {
+		try (TripleStore tripleStore = new TripleStore(dataDir, "spoc,posc")) {
+			addPeople(tripleStore, 1000);
+			tripleStore.startTransaction();
+			for (int i = 0; i < 10; i++) {
+				tripleStore.storeTriple(document(i), TYPE, DOCUMENT, 0);
+				tripleStore.storeTriple(document(i), NAME, name(1000 + i), 0);
+			}
+			tripleStore.commit();
+			TripleStatistics statistics = tripleStore.getStatistics();
+
+			// only people know others
+			assertThat(statistics.getStarCardinality(new int[] { TYPE, NAME, KNOWS })).isEqualTo(2000);
+			assertThat(statistics.getStarCardinality(new int[] { TYPE, NAME })).isEqualTo(1010);
+			assertThat(statistics.getStarCardinality(new int[] { KNOWS, KNOWS })).isEqualTo(4000);
+		}
+	}
+
+	@Test
+	public void testStatisticsArePersisted() throws Exception {
+		try (TripleStore tripleStore = new TripleStore(dataDir, "spoc,posc")) {
+			addPeople(tripleStore, 100);
+		}
+		try (TripleStore tripleStore = new TripleStore(dataDir, "spoc,posc")) {
+			assertPeopleStatistics(tripleStore.getStatistics(), 100);
+		}
+
+		// rebuilt from the indexes if the file is missing
+		assertThat(new File(dataDir, "triples-stats.dat").delete()).isTrue();
+		try (TripleStore tripleStore = new TripleStore(dataDir, "spoc,posc")) {
+			assertPeopleStatistics(tripleStore.getStatistics(), 100);
+		}
+	}
+
+	@Test
+	public void testStatisticsAreRebuiltAfterUncompletedTransaction() throws Exception {
+		try (TripleStore tripleStore = new TripleStore(dataDir, "spoc,posc")) {
+			addPeople(tripleStore, 100);
+			tripleStore.startTransaction();
+			tripleStore.removeTriplesByContext(-1, KNOWS, -1, -1);
+			// forget to commit or rollback
+		}
+
+		try (TripleStore tripleStore = new TripleStore(dataDir, "spoc,posc")) {
+			assertPeopleStatistics(tripleStore.getStatistics(), 100);
+		}
+	}
+
+	@Test
+	public void testStatisticsDependOnIndexes() throws Exception {
+		try (TripleStore tripleStore = new TripleStore(dataDir, "psoc")) {
+			addPeople(tripleStore, 100);
+			TripleStatistics statistics = tripleStore.getStatistics();
+			assertThat(statistics.getCardinality(KNOWS, false, false)).isEqualTo(200);
+			assertThat(statistics.getCardinality(KNOWS, true, false)).isNegative();
+			assertThat(statistics.getCardinality(KNOWS, false, true)).isNegative();
+			assertThat(statistics.getStarCardinality(new int[] { TYPE, NAME })).isNegative();
+		}
+
+		// adding indexes makes more statistics available
+		try (TripleStore tripleStore = new TripleStore(dataDir, "spoc,opsc")) {
+			assertPeopleStatistics(tripleStore.getStatistics(), 100);
+		}
+	}
+
+	@Test
+	public void testStarJoinEstimate() throws Exception {
+		ValueFactory vf = SimpleValueFactory.getInstance();
+		IRI[] predicates = { vf.createIRI("urn:type"), vf.createIRI("urn:name"), vf.createIRI("urn:knows") };
+		ValueStore valueStore = new ValueStore(dataDir);
+		try (TripleStore tripleStore = new TripleStore(dataDir, "spoc,posc")) {
+			addPeople(tripleStore, 100, valueStore.storeValue(predicates[0]), valueStore.storeValue(predicates[1]),
+					valueStore.storeValue(predicates[2]));
+
+			NativeEvaluationStatistics statistics = new NativeEvaluationStatistics(valueStore, tripleStore);
+			assertThat(statistics.getCardinality(parse("SELECT * WHERE { ?s <urn:knows> ?o }"))).isEqualTo(200);
+			assertThat(statistics.getCardinality(
+					parse("SELECT * WHERE { ?s <urn:type> ?t ; <urn:name> ?n ; <urn:knows> ?o }"))).isEqualTo(200);
+			// not a star, estimated from the individual patterns
+			assertThat(statistics.getCardinality(
+					parse("SELECT * WHERE { ?s <urn:type> ?t . ?x <urn:name> ?n }"))).isEqualTo(10000);
+		} finally {
+			valueStore.close();
+		}
+	}
+
+	private static TupleExpr parse(String query) {
+		TupleExpr tupleExpr = QueryParserUtil.parseQuery(QueryLanguage.SPARQL, query, null).getTupleExpr();
+		return ((Projection) ((QueryRoot) tupleExpr).getArg()).getArg();
+	}
+
+	private static void assertPeopleStatistics(TripleStatistics statistics, int people) {
+		assertThat(statistics.getCardinality(TYPE, false, false)).isEqualTo(people);
+		assertThat(statistics.getCardinality(KNOWS, false, false)).isEqualTo(2 * people);
+		assertThat(statistics.getCardinality(KNOWS, true, false)).isEqualTo(2);
+		assertThat(statistics.getCardinality(TYPE, false, true)).isEqualTo(people);
+		assertThat(statistics.getStarCardinality(new int[] { TYPE, NAME, KNOWS })).isEqualTo(2 * people);
+	}
+
+	private static void addPeople(TripleStore tripleStore, int people) throws IOException {
+		addPeople(tripleStore, people, TYPE, NAME, KNOWS);
+	}
+
+	private static void addPeople(TripleStore tripleStore, int people, int type, int name, int knows)
+			throws IOException {
+		tripleStore.startTransaction();
+		for (int i = 0; i < people; i++) {
+			tripleStore.storeTriple(person(i), type, PERSON, 0);
+			tripleStore.storeTriple(person(i), name, name(i), 0);
+			tripleStore.storeTriple(person(i), knows, person((i + 1) % people), 0);
+			tripleStore.storeTriple(person(i), knows, person((i + 2) % people), 0);
+		}
+		tripleStore.commit();
+	}
+
+	private static int person(int i) {
+		return 100 + i;
+	}
+
+	private static int document(int i) {
+		return 5000 + i;
+	}
+
+	private static int name(int i) {
+		return 10000 + i;
+	}
+}
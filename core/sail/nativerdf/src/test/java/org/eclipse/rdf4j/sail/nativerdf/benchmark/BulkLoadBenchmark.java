@@ -0,0 +1,126 @@
+/*******************************************************************************
+ * Copyright (c) 2023 Eclipse RDF4J contributors.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Distribution License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/org/documents/edl-v10.php.
+ *
+ * SPDX-License-Identifier: BSD-3-Clause
+ *******************************************************************************/
+
+package org.eclipse.rdf4j.sail.nativerdf.benchmark;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.apache.commons.io.FileUtils;
+import org.assertj.core.util.Files;
+import org.eclipse.rdf4j.common.transaction.IsolationLevels;
+import org.eclipse.rdf4j.model.Statement;
+import org.eclipse.rdf4j.model.ValueFactory;
+import org.eclipse.rdf4j.model.impl.SimpleValueFactory;
+import org.eclipse.rdf4j.repository.sail.SailRepository;
+import org.eclipse.rdf4j.repository.sail.SailRepositoryConnection;
+import org.eclipse.rdf4j.sail.nativerdf.NativeBulkLoader;
+import org.eclipse.rdf4j.sail.nativerdf.NativeStore;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+/**
+ * Compares loading statements with a {@link NativeBulkLoader} to adding them in a transaction, as in
+ * {@link TransactionsPerSecondBenchmark}, with the same triple indexes.
+ */
+@State(Scope.Benchmark)
+@Warmup(iterations = 2)
+@BenchmarkMode({ Mode.SingleShotTime })
+@Fork(value = 1, jvmArgs = { "-Xms2G", "-Xmx2G", "-XX:+UseG1GC" })
+@Measurement(iterations = 5)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+public class BulkLoadBenchmark {
+
+	@Param({ "100000", "1000000" })
+	public int statementCount;
+
+	private List<Statement> statements;
+
+	private File file;
+
+	private NativeStore sail;
+
+	private SailRepository repository;
+
+	public static void main(String[] args) throws RunnerException {
+		Options opt = new OptionsBuilder()
+				.include("BulkLoadBenchmark") // adapt to control which benchmark tests to run
+				.forks(1)
+				.build();
+
+		new Runner(opt).run();
+	}
+
+	@Setup(Level.Trial)
+	public void createStatements() {
+		ValueFactory vf = SimpleValueFactory.getInstance();
+		statements = new ArrayList<>(statementCount);
+		for (int i = 0; i < statementCount; i++) {
+			// statements in random order with some shared values
+			int n = (int) ((i * 2654435761L) % statementCount);
+			statements.add(vf.createStatement(vf.createIRI("http://example.org/s" + n / 10),
+					vf.createIRI("http://example.org/p" + n % 20), vf.createLiteral(n)));
+		}
+	}
+
+	@Setup(Level.Invocation)
+	public void createStore() {
+		file = Files.newTemporaryFolder();
+
+		sail = new NativeStore(file, "spoc,ospc,psoc");
+		sail.setForceSync(false);
+		repository = new SailRepository(sail);
+		repository.init();
+	}
+
+	@TearDown(Level.Invocation)
+	public void deleteStore() throws IOException {
+		repository.shutDown();
+		FileUtils.deleteDirectory(file);
+	}
+
+	@Benchmark
+	public void transaction() {
+		try (SailRepositoryConnection connection = repository.getConnection()) {
+			connection.begin(IsolationLevels.NONE);
+			connection.add(statements);
+			connection.commit();
+		}
+	}
+
+	@Benchmark
+	public void bulkLoad() {
+		try (NativeBulkLoader loader = sail.createBulkLoader()) {
+			for (Statement st : statements) {
+				loader.add(st);
+			}
+			loader.commit();
+		}
+	}
+}
@@ -0,0 +1,139 @@
+/*******************************************************************************
+ * Copyright (c) 2023 Eclipse RDF4J contributors.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Distribution License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/org/documents/edl-v10.php.
+ *
+ * SPDX-License-Identifier: BSD-3-Clause
+ *******************************************************************************/
+
+package org.eclipse.rdf4j.sail.nativerdf.benchmark;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+import java.util.function.BiFunction;
+import java.util.function.Function;
+
+import org.eclipse.rdf4j.sail.nativerdf.ConcurrentCache;
+import org.eclipse.rdf4j.sail.nativerdf.TinyLfuCache;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+/**
+ * Compares the {@link TinyLfuCache} with the {@link ConcurrentCache} it replaces in the value store. A miss costs some
+ * CPU time to simulate reading the value from disk.
+ */
+@State(Scope.Benchmark)
+@Warmup(iterations = 5)
+@BenchmarkMode({ Mode.AverageTime })
+@Fork(value = 1, jvmArgs = { "-Xms256M", "-Xmx256M", "-XX:+UseG1GC" })
+@Measurement(iterations = 10)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+public class CacheBenchmark {
+
+	private static final int CAPACITY = 512;
+
+	private static final int KEYS = 100_000;
+
+	private static final int LOOKUPS = 100_000;
+
+	/**
+	 * The CPU time that is consumed on a miss, see {@link Blackhole#consumeCPU(long)}.
+	 */
+	private static final int MISS_PENALTY = 500;
+
+	@Param({ "ConcurrentCache", "TinyLfuCache" })
+	public String cacheType;
+
+	private int[] skewed;
+
+	private int[] skewedWithScans;
+
+	private Function<Integer, Integer> get;
+
+	private BiFunction<Integer, Integer, Integer> put;
+
+	public static void main(String[] args) throws RunnerException {
+		Options opt = new OptionsBuilder()
+				.include("CacheBenchmark") // adapt to run other benchmark tests
+				.forks(1)
+				.build();
+
+		new Runner(opt).run();
+	}
+
+	@Setup(Level.Trial)
+	public void setUp() {
+		Random random = new Random(524826405);
+		skewed = new int[LOOKUPS];
+		skewedWithScans = new int[LOOKUPS];
+		int scanKey = KEYS;
+		for (int i = 0; i < LOOKUPS; i++) {
+			// roughly a Zipf distribution over the keys
+			skewed[i] = (int) Math.floor(Math.pow(KEYS + 1, random.nextDouble())) - 1;
+			// a quarter of the lookups is part of a scan over keys that are used only once
+			skewedWithScans[i] = i % 4096 < 1024 ? scanKey++ : skewed[i];
+		}
+	}
+
+	@Setup(Level.Iteration)
+	public void createCache() {
+		if (cacheType.equals("ConcurrentCache")) {
+			ConcurrentCache<Integer, Integer> cache = new ConcurrentCache<>(CAPACITY);
+			get = cache::get;
+			put = cache::put;
+		} else {
+			TinyLfuCache<Integer, Integer> cache = new TinyLfuCache<>(CAPACITY);
+			get = cache::get;
+			put = cache::put;
+		}
+	}
+
+	@Benchmark
+	public int skewed() {
+		return lookup(skewed);
+	}
+
+	@Benchmark
+	public int skewedWithScans() {
+		return lookup(skewedWithScans);
+	}
+
+	@Benchmark
+	@Threads(4)
+	public int skewedConcurrent() {
+		return lookup(skewed);
+	}
+
+	private int lookup(int[] keys) {
+		int hits = 0;
+		for (int key : keys) {
+			Integer value = get.apply(key);
+			if (value == null) {
+				Blackhole.consumeCPU(MISS_PENALTY);
+				put.apply(key, key);
+			} else {
+				hits++;
+			}
+		}
+		return hits;
+	}
+}
@@ -0,0 +1,164 @@
+/*******************************************************************************
+ * Copyright (c) 2023 Eclipse RDF4J contributors.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Distribution License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/org/documents/edl-v10.php.
+ *
+ * SPDX-License-Identifier: BSD-3-Clause
+ *******************************************************************************/
+package org.eclipse.rdf4j.sail.nativerdf.btree;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Random;
+import java.util.stream.Stream;
+
+import org.eclipse.rdf4j.common.io.ByteArrayUtil;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+public class BTreeBuilderTest {
+
+	private static final int BLOCK_SIZE = 128;
+
+	private static final int VALUE_SIZE = 4;
+
+	@TempDir
+	File tmpDir;
+
+	@ParameterizedTest
+	@ValueSource(ints = { 0, 1, 14, 15, 16, 254, 255, 256, 1000, 100_000 })
+	public void testBuild(int count) throws IOException {
+		build(values(0, count), count);
+
+		try (BTree btree = openBTree()) {
+			assertContents(btree, values(0, count));
+			for (int i = 0; i < count; i += 7) {
+				assertThat(btree.get(value(i))).isEqualTo(value(i));
+			}
+			assertThat(btree.get(value(count))).isNull();
+		}
+	}
+
+	@Test
+	public void testModifyAfterBuild() throws IOException {
+		int count = 10_000;
+		build(values(0, 2 * count).stream().filter(v -> ByteArrayUtil.getInt(v, 0) % 2 == 0), count);
+
+		List<Integer> odd = new ArrayList<>();
+		List<Integer> even = new ArrayList<>();
+		for (int i = 0; i < 2 * count; i += 2) {
+			even.add(i);
+			odd.add(i + 1);
+		}
+		Collections.shuffle(odd, new Random(42));
+		Collections.shuffle(even, new Random(43));
+
+		try (BTree btree = openBTree()) {
+			for (int i : odd) {
+				btree.insert(value(i));
+			}
+			assertContents(btree, values(0, 2 * count));
+
+			for (int i : even) {
+				btree.remove(value(i));
+			}
+			for (int i : odd.subList(0, count / 2)) {
+				btree.remove(value(i));
+			}
+			List<byte[]> expected = new ArrayList<>();
+			odd.subList(count / 2, count).stream().sorted().forEach(i -> expected.add(value(i)));
+			assertContents(btree, expected);
+		}
+
+		// the allocated nodes are still known after reopening
+		try (BTree btree = openBTree()) {
+			assertThat(readAll(btree)).hasSize(count / 2);
+			btree.insert(value(0));
+			assertThat(btree.get(value(0))).isEqualTo(value(0));
+		}
+	}
+
+	@Test
+	public void testUnsortedValues() {
+		List<byte[]> values = values(0, 100);
+		Collections.swap(values, 50, 51);
+
+		assertThatThrownBy(() -> build(values, values.size())).isInstanceOf(IllegalArgumentException.class);
+	}
+
+	@Test
+	public void testMissingValues() {
+		assertThatThrownBy(() -> build(values(0, 100), 101)).isInstanceOf(IllegalArgumentException.class);
+	}
+
+	private void build(List<byte[]> values, long count) throws IOException {
+		build(values.stream(), count);
+	}
+
+	private void build(Stream<byte[]> values, long count) throws IOException {
+		Iterator<byte[]> iter = values.iterator();
+		new BTreeBuilder(tmpDir, "test", BLOCK_SIZE, VALUE_SIZE, new DefaultRecordComparator(), false)
+				.build(new RecordIterator() {
+
+					@Override
+					public byte[] next() {
+						return iter.hasNext() ? iter.next() : null;
+					}
+
+					@Override
+					public void set(byte[] record) {
+						throw new UnsupportedOperationException();
+					}
+
+					@Override
+					public void close() {
+					}
+				}, count);
+	}
+
+	private BTree openBTree() throws IOException {
+		return new BTree(tmpDir, "test", BLOCK_SIZE, VALUE_SIZE);
+	}
+
+	private static void assertContents(BTree btree, List<byte[]> expected) throws IOException {
+		assertThat(readAll(btree)).usingElementComparator(Arrays::compare).containsExactlyElementsOf(expected);
+	}
+
+	private static List<byte[]> readAll(BTree btree) throws IOException {
+		List<byte[]> values = new ArrayList<>();
+		try (RecordIterator iter = btree.iterateAll()) {
+			byte[] value;
+			while ((value = iter.next()) != null) {
+				values.add(value);
+			}
+		}
+		return values;
+	}
+
+	private static List<byte[]> values(int from, int to) {
+		List<byte[]> values = new ArrayList<>();
+		for (int i = from; i < to; i++) {
+			values.add(value(i));
+		}
+		return values;
+	}
+
+	private static byte[] value(int i) {
+		byte[] value = new byte[VALUE_SIZE];
+		ByteArrayUtil.putInt(i, value, 0);
+		return value;
+	}
+}
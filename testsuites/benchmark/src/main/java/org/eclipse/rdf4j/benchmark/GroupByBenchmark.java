@@ -0,0 +1,154 @@
+/*******************************************************************************
+ * Copyright (c) 2023 Eclipse RDF4J contributors.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Distribution License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/org/documents/edl-v10.php.
+ *
+ * SPDX-License-Identifier: BSD-3-Clause
+ *******************************************************************************/
+package org.eclipse.rdf4j.benchmark;
+
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.concurrent.TimeUnit;
+
+import org.eclipse.rdf4j.common.iteration.CloseableIteration;
+import org.eclipse.rdf4j.common.iteration.CloseableIteratorIteration;
+import org.eclipse.rdf4j.model.IRI;
+import org.eclipse.rdf4j.model.Resource;
+import org.eclipse.rdf4j.model.Statement;
+import org.eclipse.rdf4j.model.Value;
+import org.eclipse.rdf4j.model.ValueFactory;
+import org.eclipse.rdf4j.model.impl.SimpleValueFactory;
+import org.eclipse.rdf4j.query.BindingSet;
+import org.eclipse.rdf4j.query.QueryEvaluationException;
+import org.eclipse.rdf4j.query.QueryLanguage;
+import org.eclipse.rdf4j.query.algebra.QueryRoot;
+import org.eclipse.rdf4j.query.algebra.evaluation.QueryEvaluationStep;
+import org.eclipse.rdf4j.query.algebra.evaluation.TripleSource;
+import org.eclipse.rdf4j.query.algebra.evaluation.impl.DefaultEvaluationStrategy;
+import org.eclipse.rdf4j.query.algebra.evaluation.iterator.GroupIterator;
+import org.eclipse.rdf4j.query.impl.EmptyBindingSet;
+import org.eclipse.rdf4j.query.parser.QueryParserUtil;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+/**
+ * Groups generated statements by subject, with every subject in a group of its own, to compare aggregating all groups
+ * in memory with spilling them to disk. The statements are generated while they are read, so that the heap is only used
+ * by the aggregation. A spill threshold of 0 keeps all groups in memory, which runs out of heap for a million subjects,
+ * while spilling completes in the same heap for any number of subjects.
+ */
+@Fork(value = 1, jvmArgs = { "-Xms1G", "-Xmx1G" })
+@State(Scope.Benchmark)
+@Warmup(iterations = 2)
+@Measurement(iterations = 3)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+public class GroupByBenchmark {
+
+	private static final String QUERY = "PREFIX ex: <http://example.org/>\n"
+			+ "SELECT ?s (COUNT(*) AS ?count) (SUM(?v) AS ?sum) (AVG(?v) AS ?avg) (MIN(?v) AS ?min) (MAX(?v) AS ?max)\n"
+			+ "WHERE { ?s ex:value ?v } GROUP BY ?s";
+
+	private static final ValueFactory vf = SimpleValueFactory.getInstance();
+
+	private static final IRI VALUE = vf.createIRI("http://example.org/value");
+
+	@Param({ "200000", "1000000" })
+	public int subjects;
+
+	@Param({ "0", "100000" })
+	public String spillThreshold;
+
+	private QueryEvaluationStep query;
+
+	public static void main(String[] args) throws RunnerException {
+		new Runner(new OptionsBuilder().include("GroupByBenchmark").build()).run();
+	}
+
+	@Setup
+	public void setUp() {
+		System.setProperty(GroupIterator.SPILL_THRESHOLD_PROPERTY, spillThreshold);
+		DefaultEvaluationStrategy strategy = new DefaultEvaluationStrategy(new GeneratedTripleSource(subjects), null);
+		QueryRoot root = new QueryRoot(
+				QueryParserUtil.parseQuery(QueryLanguage.SPARQL, QUERY, null).getTupleExpr().clone());
+		query = strategy.precompile(root);
+	}
+
+	@TearDown
+	public void tearDown() {
+		System.clearProperty(GroupIterator.SPILL_THRESHOLD_PROPERTY);
+	}
+
+	@Benchmark
+	public long groupBySubject() {
+		long count = 0;
+		try (CloseableIteration<BindingSet, QueryEvaluationException> result = query
+				.evaluate(EmptyBindingSet.getInstance())) {
+			while (result.hasNext()) {
+				result.next();
+				count++;
+			}
+		}
+		return count;
+	}
+
+	/**
+	 * Generates ten statements with a numeric value for every subject, in the order of the subjects.
+	 */
+	private static class GeneratedTripleSource implements TripleSource {
+
+		private final int subjects;
+
+		public GeneratedTripleSource(int subjects) {
+			this.subjects = subjects;
+		}
+
+		@Override
+		public CloseableIteration<? extends Statement, QueryEvaluationException> getStatements(Resource subj,
+				IRI pred, Value obj, Resource... contexts) throws QueryEvaluationException {
+			if (subj != null || obj != null || pred != null && !VALUE.equals(pred)) {
+				return TripleSource.EMPTY_ITERATION;
+			}
+			return new CloseableIteratorIteration<>(new Iterator<Statement>() {
+				private long next;
+
+				@Override
+				public boolean hasNext() {
+					return next < subjects * 10L;
+				}
+
+				@Override
+				public Statement next() {
+					if (!hasNext()) {
+						throw new NoSuchElementException();
+					}
+					long i = next++;
+					IRI subject = vf.createIRI("http://example.org/subject/", Long.toString(i / 10));
+					return vf.createStatement(subject, VALUE, vf.createLiteral(i % 97));
+				}
+			});
+		}
+
+		@Override
+		public ValueFactory getValueFactory() {
+			return vf;
+		}
+	}
+}
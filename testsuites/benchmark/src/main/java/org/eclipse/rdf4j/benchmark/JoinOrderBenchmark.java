@@ -0,0 +1,259 @@
+/*******************************************************************************
+ * Copyright (c) 2023 Eclipse RDF4J contributors.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Distribution License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/org/documents/edl-v10.php.
+ *
+ * SPDX-License-Identifier: BSD-3-Clause
+ *******************************************************************************/
+package org.eclipse.rdf4j.benchmark;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import org.eclipse.rdf4j.model.IRI;
+import org.eclipse.rdf4j.model.Model;
+import org.eclipse.rdf4j.model.ValueFactory;
+import org.eclipse.rdf4j.model.impl.LinkedHashModel;
+import org.eclipse.rdf4j.model.vocabulary.RDF;
+import org.eclipse.rdf4j.model.vocabulary.RDFS;
+import org.eclipse.rdf4j.query.TupleQueryResult;
+import org.eclipse.rdf4j.query.algebra.evaluation.optimizer.QueryJoinOptimizer;
+import org.eclipse.rdf4j.repository.RepositoryConnection;
+import org.eclipse.rdf4j.repository.sail.SailRepository;
+import org.eclipse.rdf4j.sail.memory.MemoryStore;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+/**
+ * Compares greedy join ordering with dynamic programming join ordering on data and queries shaped after the LUBM
+ * (university) and BSBM (e-commerce) benchmarks. A threshold of 0 orders all joins greedily.
+ */
+@Fork(1)
+@State(Scope.Benchmark)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+public class JoinOrderBenchmark {
+
+	private static final String UB = "http://swat.cse.lehigh.edu/onto/univ-bench.owl#";
+
+	private static final String BSBM = "http://www4.wiwiss.fu-berlin.de/bizer/bsbm/v01/vocabulary/";
+
+	private static final String PREFIXES = "PREFIX ub: <" + UB + ">\n" + "PREFIX bsbm: <" + BSBM + ">\n"
+			+ "PREFIX rdfs: <" + RDFS.NAMESPACE + ">\n";
+
+	/**
+	 * LUBM query 9: students taking a course taught by their advisor, a triangle over three types.
+	 */
+	private static final String LUBM_Q9 = PREFIXES + "SELECT ?x ?y ?z WHERE {\n" + "  ?x a ub:GraduateStudent .\n"
+			+ "  ?y a ub:FullProfessor .\n" + "  ?z a ub:GraduateCourse .\n" + "  ?x ub:advisor ?y .\n"
+			+ "  ?y ub:teacherOf ?z .\n" + "  ?x ub:takesCourse ?z .\n" + "}";
+
+	/**
+	 * LUBM query 2: students that are members of a department of the university they graduated from.
+	 */
+	private static final String LUBM_Q2 = PREFIXES + "SELECT ?x ?y ?z WHERE {\n" + "  ?x a ub:GraduateStudent .\n"
+			+ "  ?y a ub:University .\n" + "  ?z a ub:Department .\n" + "  ?x ub:memberOf ?z .\n"
+			+ "  ?z ub:subOrganizationOf ?y .\n" + "  ?x ub:undergraduateDegreeFrom ?y .\n" + "}";
+
+	/**
+	 * A chain through advisors, courses and departments with a selective pattern at the end.
+	 */
+	private static final String LUBM_CHAIN = PREFIXES + "SELECT * WHERE {\n" + "  ?x ub:takesCourse ?c .\n"
+			+ "  ?p ub:teacherOf ?c .\n" + "  ?p ub:worksFor ?d .\n" + "  ?d ub:subOrganizationOf ?u .\n"
+			+ "  ?u ub:name \"University0\" .\n" + "  ?x ub:advisor ?p .\n" + "  ?x ub:name ?name .\n"
+			+ "  ?p ub:name ?pname .\n" + "}";
+
+	/**
+	 * BSBM explore query 2 shaped star over a single product with its producer and features.
+	 */
+	private static final String BSBM_STAR = PREFIXES + "SELECT * WHERE {\n" + "  ?product rdfs:label ?label .\n"
+			+ "  ?product a bsbm:Product .\n" + "  ?product bsbm:producer ?producer .\n"
+			+ "  ?producer rdfs:label ?producerLabel .\n" + "  ?product bsbm:productFeature bsbm:ProductFeature7 .\n"
+			+ "  ?product bsbm:productPropertyNumeric1 ?p1 .\n" + "  ?product bsbm:productPropertyNumeric2 ?p2 .\n"
+			+ "  ?product bsbm:productPropertyNumeric3 ?p3 .\n" + "}";
+
+	/**
+	 * BSBM business intelligence shaped query: reviews of products offered by vendors from one country.
+	 */
+	private static final String BSBM_OFFERS = PREFIXES + "SELECT * WHERE {\n" + "  ?offer bsbm:product ?product .\n"
+			+ "  ?offer bsbm:vendor ?vendor .\n" + "  ?vendor bsbm:country \"DE\" .\n"
+			+ "  ?offer bsbm:price ?price .\n" + "  ?review bsbm:reviewFor ?product .\n"
+			+ "  ?review bsbm:rating1 ?rating .\n" + "  ?product bsbm:producer ?producer .\n"
+			+ "  ?producer bsbm:country \"US\" .\n" + "}";
+
+	@Param({ "0", "10" })
+	public int dynamicProgrammingThreshold;
+
+	private final Random random = new Random(4711);
+
+	private SailRepository repository;
+
+	@Setup
+	public void setup() {
+		System.setProperty(QueryJoinOptimizer.DYNAMIC_PROGRAMMING_THRESHOLD_PROPERTY,
+				Integer.toString(dynamicProgrammingThreshold));
+
+		repository = new SailRepository(new MemoryStore());
+		try (RepositoryConnection connection = repository.getConnection()) {
+			connection.begin();
+			connection.add(createUniversities(connection.getValueFactory(), 5));
+			connection.add(createProducts(connection.getValueFactory(), 5000));
+			connection.commit();
+		}
+	}
+
+	@TearDown
+	public void tearDown() {
+		repository.shutDown();
+		System.clearProperty(QueryJoinOptimizer.DYNAMIC_PROGRAMMING_THRESHOLD_PROPERTY);
+	}
+
+	private Model createUniversities(ValueFactory vf, int universities) {
+		Model model = new LinkedHashModel();
+		for (int u = 0; u < universities; u++) {
+			IRI university = vf.createIRI("http://www.University" + u + ".edu");
+			model.add(university, RDF.TYPE, vf.createIRI(UB, "University"));
+			model.add(university, vf.createIRI(UB, "name"), vf.createLiteral("University" + u));
+
+			for (int d = 0; d < 15; d++) {
+				String base = "http://www.Department" + d + ".University" + u + ".edu/";
+				IRI department = vf.createIRI(base);
+				model.add(department, RDF.TYPE, vf.createIRI(UB, "Department"));
+				model.add(department, vf.createIRI(UB, "subOrganizationOf"), university);
+
+				IRI[] professors = new IRI[10];
+				IRI[] courses = new IRI[20];
+				for (int c = 0; c < courses.length; c++) {
+					courses[c] = vf.createIRI(base + "GraduateCourse" + c);
+					model.add(courses[c], RDF.TYPE, vf.createIRI(UB, "GraduateCourse"));
+				}
+				for (int p = 0; p < professors.length; p++) {
+					professors[p] = vf.createIRI(base + "FullProfessor" + p);
+					model.add(professors[p], RDF.TYPE, vf.createIRI(UB, "FullProfessor"));
+					model.add(professors[p], vf.createIRI(UB, "name"), vf.createLiteral("FullProfessor" + p));
+					model.add(professors[p], vf.createIRI(UB, "worksFor"), department);
+					model.add(professors[p], vf.createIRI(UB, "teacherOf"), courses[2 * p]);
+					model.add(professors[p], vf.createIRI(UB, "teacherOf"), courses[2 * p + 1]);
+				}
+				for (int s = 0; s < 100; s++) {
+					IRI student = vf.createIRI(base + "GraduateStudent" + s);
+					model.add(student, RDF.TYPE, vf.createIRI(UB, "GraduateStudent"));
+					model.add(student, vf.createIRI(UB, "name"), vf.createLiteral("GraduateStudent" + s));
+					model.add(student, vf.createIRI(UB, "memberOf"), department);
+					model.add(student, vf.createIRI(UB, "advisor"), professors[random.nextInt(professors.length)]);
+					model.add(student, vf.createIRI(UB, "undergraduateDegreeFrom"),
+							vf.createIRI("http://www.University" + random.nextInt(universities) + ".edu"));
+					for (int c = 0; c < 3; c++) {
+						model.add(student, vf.createIRI(UB, "takesCourse"), courses[random.nextInt(courses.length)]);
+					}
+				}
+			}
+		}
+		return model;
+	}
+
+	private Model createProducts(ValueFactory vf, int products) {
+		Model model = new LinkedHashModel();
+		String[] countries = { "US", "DE", "GB", "JP", "CN", "FR" };
+		IRI country = vf.createIRI(BSBM, "country");
+
+		IRI[] producers = new IRI[products / 50];
+		for (int i = 0; i < producers.length; i++) {
+			producers[i] = vf.createIRI(BSBM + "instances/Producer" + i);
+			model.add(producers[i], RDFS.LABEL, vf.createLiteral("Producer " + i));
+			model.add(producers[i], country, vf.createLiteral(countries[random.nextInt(countries.length)]));
+		}
+		IRI[] vendors = new IRI[products / 100];
+		for (int i = 0; i < vendors.length; i++) {
+			vendors[i] = vf.createIRI(BSBM + "instances/Vendor" + i);
+			model.add(vendors[i], country, vf.createLiteral(countries[random.nextInt(countries.length)]));
+		}
+
+		for (int i = 0; i < products; i++) {
+			IRI product = vf.createIRI(BSBM + "instances/Product" + i);
+			model.add(product, RDF.TYPE, vf.createIRI(BSBM, "Product"));
+			model.add(product, RDFS.LABEL, vf.createLiteral("Product " + i));
+			model.add(product, vf.createIRI(BSBM, "producer"), producers[random.nextInt(producers.length)]);
+			for (int f = 0; f < 5; f++) {
+				model.add(product, vf.createIRI(BSBM, "productFeature"),
+						vf.createIRI(BSBM, "ProductFeature" + random.nextInt(500)));
+			}
+			for (int n = 1; n <= 3; n++) {
+				model.add(product, vf.createIRI(BSBM, "productPropertyNumeric" + n),
+						vf.createLiteral(random.nextInt(2000)));
+			}
+			for (int o = 0; o < 4; o++) {
+				IRI offer = vf.createIRI(BSBM + "instances/Offer" + i + "_" + o);
+				model.add(offer, vf.createIRI(BSBM, "product"), product);
+				model.add(offer, vf.createIRI(BSBM, "vendor"), vendors[random.nextInt(vendors.length)]);
+				model.add(offer, vf.createIRI(BSBM, "price"), vf.createLiteral(random.nextInt(10000) / 100.0));
+			}
+			for (int r = 0; r < 2; r++) {
+				IRI review = vf.createIRI(BSBM + "instances/Review" + i + "_" + r);
+				model.add(review, vf.createIRI(BSBM, "reviewFor"), product);
+				model.add(review, vf.createIRI(BSBM, "rating1"), vf.createLiteral(random.nextInt(10) + 1));
+			}
+		}
+		return model;
+	}
+
+	private long count(String query) {
+		try (RepositoryConnection connection = repository.getConnection();
+				TupleQueryResult result = connection.prepareTupleQuery(query).evaluate()) {
+			long count = 0;
+			while (result.hasNext()) {
+				result.next();
+				count++;
+			}
+			return count;
+		}
+	}
+
+	@Benchmark
+	public long lubmQuery9() {
+		return count(LUBM_Q9);
+	}
+
+	@Benchmark
+	public long lubmQuery2() {
+		return count(LUBM_Q2);
+	}
+
+	@Benchmark
+	public long lubmChain() {
+		return count(LUBM_CHAIN);
+	}
+
+	@Benchmark
+	public long bsbmStar() {
+		return count(BSBM_STAR);
+	}
+
+	@Benchmark
+	public long bsbmOffers() {
+		return count(BSBM_OFFERS);
+	}
+
+	public static void main(String[] args) throws RunnerException {
+		String regexp = ".*" + JoinOrderBenchmark.class.getSimpleName() + ".*";
+		new Runner(new OptionsBuilder().include(regexp).build()).run();
+	}
+}
@@ -15,9 +15,12 @@ import java.io.ByteArrayInputStream;
 import java.io.IOException;
 import java.io.InputStream;
 import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
 import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
 import java.util.stream.Stream;
 
 import org.apache.commons.io.IOUtils;
@@ -29,18 +32,24 @@ import org.eclipse.rdf4j.query.TupleQueryResult;
 import org.eclipse.rdf4j.repository.sail.SailRepository;
 import org.eclipse.rdf4j.repository.sail.SailRepositoryConnection;
 import org.eclipse.rdf4j.rio.RDFFormat;
+import org.eclipse.rdf4j.sail.NotifyingSail;
+import org.eclipse.rdf4j.sail.inferencer.fc.ForwardChainingRDFSInferencer;
 import org.eclipse.rdf4j.sail.inferencer.fc.SchemaCachingRDFSInferencer;
 import org.eclipse.rdf4j.sail.memory.MemoryStore;
 import org.openjdk.jmh.annotations.Benchmark;
 import org.openjdk.jmh.annotations.BenchmarkMode;
 import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
 import org.openjdk.jmh.annotations.Measurement;
 import org.openjdk.jmh.annotations.Mode;
 import org.openjdk.jmh.annotations.OutputTimeUnit;
 import org.openjdk.jmh.annotations.Param;
 import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
 import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
 import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.BenchmarkParams;
 
 /**
  * @author Håvard Mikkelsen Ottestad
@@ -59,6 +68,54 @@ public class ReasoningUpdateBenchmark {
 
 	static private final IRI schemaGraph = SimpleValueFactory.getInstance().createIRI("http://example.org/schemaGraph");
 
+	private SailRepository deleteSail;
+
+	private List<Statement> deleteStatements;
+
+	@Setup(Level.Invocation)
+	public void setUp(BenchmarkParams params) throws IOException {
+		if (!params.getBenchmark().endsWith("Delete")) {
+			return;
+		}
+		NotifyingSail inferencer;
+		if (params.getBenchmark().endsWith("forwardChainingRDFSInferencerDelete")) {
+			inferencer = createForwardChainingRDFSInferencer();
+		} else {
+			inferencer = new SchemaCachingRDFSInferencer(new MemoryStore());
+		}
+		deleteSail = new SailRepository(inferencer);
+
+		try (SailRepositoryConnection connection = deleteSail.getConnection()) {
+			connection.begin();
+			connection.add(resourceAsStream("schema.ttl"), "", RDFFormat.TURTLE, schemaGraph);
+			connection.commit();
+
+			connection.begin();
+			for (int i = 0; i <= 9; i++) {
+				connection.add(resourceAsStream("data" + i + ".ttl"), "", RDFFormat.TURTLE);
+			}
+			connection.commit();
+
+			// every 10th explicit data statement is deleted by the benchmark
+			try (Stream<Statement> stream = connection.getStatements(null, null, null).stream()) {
+				List<Statement> statements = stream.filter(st -> !schemaGraph.equals(st.getContext()))
+						.collect(Collectors.toList());
+				deleteStatements = new ArrayList<>();
+				for (int i = 0; i < statements.size(); i += 10) {
+					deleteStatements.add(statements.get(i));
+				}
+			}
+		}
+	}
+
+	@TearDown(Level.Invocation)
+	public void tearDown() {
+		if (deleteSail != null) {
+			deleteSail.shutDown();
+			deleteSail = null;
+		}
+	}
+
 	@Benchmark
 	@BenchmarkMode(Mode.AverageTime)
 	@OutputTimeUnit(TimeUnit.MILLISECONDS)
@@ -77,6 +134,36 @@ public class ReasoningUpdateBenchmark {
 		checkSize(sail);
 	}
 
+	@Benchmark
+	@BenchmarkMode(Mode.AverageTime)
+	@OutputTimeUnit(TimeUnit.MILLISECONDS)
+	public void forwardChainingSchemaCachingRDFSInferencerDelete() {
+		deleteInMultipleTransactions();
+	}
+
+	@Benchmark
+	@BenchmarkMode(Mode.AverageTime)
+	@OutputTimeUnit(TimeUnit.MILLISECONDS)
+	public void forwardChainingRDFSInferencerDelete() {
+		deleteInMultipleTransactions();
+	}
+
+	private void deleteInMultipleTransactions() {
+		try (SailRepositoryConnection connection = deleteSail.getConnection()) {
+			int batchSize = Math.max(1, deleteStatements.size() / 10);
+			for (int i = 0; i < deleteStatements.size(); i += batchSize) {
+				connection.begin();
+				connection.remove(deleteStatements.subList(i, Math.min(i + batchSize, deleteStatements.size())));
+				connection.commit();
+			}
+		}
+	}
+
+	@SuppressWarnings("deprecation")
+	private static NotifyingSail createForwardChainingRDFSInferencer() {
+		return new ForwardChainingRDFSInferencer(new MemoryStore());
+	}
+
 	private void checkSize(SailRepository sail) {
 
 		assert getSize(sail) == expectedCount : "Was " + getSize(sail) + " but expected " + expectedCount;
@@ -14,6 +14,8 @@ package org.eclipse.rdf4j.benchmark.rio.impl;
 import org.eclipse.rdf4j.benchmark.rio.ParserBenchmark;
 import org.eclipse.rdf4j.rio.RDFParser;
 import org.eclipse.rdf4j.rio.ntriples.NTriplesParser;
+import org.eclipse.rdf4j.rio.ntriples.NTriplesParserSettings;
+import org.openjdk.jmh.annotations.Param;
 import org.openjdk.jmh.runner.Runner;
 import org.openjdk.jmh.runner.RunnerException;
 import org.openjdk.jmh.runner.options.Options;
@@ -24,9 +26,20 @@ import org.openjdk.jmh.runner.options.OptionsBuilder;
  */
 public class NTriplesParserBenchmark extends ParserBenchmark {
 
+	/**
+	 * Parse on a single thread, or on 4 threads with the statements reported in order or as soon as they are parsed.
+	 */
+	@Param({ "sequential", "parallel", "parallelUnordered" })
+	public String mode;
+
 	@Override
 	public RDFParser getParser() {
-		return new NTriplesParser();
+		RDFParser parser = new NTriplesParser();
+		if (!mode.equals("sequential")) {
+			parser.set(NTriplesParserSettings.PARSER_THREADS, 4L);
+			parser.set(NTriplesParserSettings.PRESERVE_STATEMENT_ORDER, mode.equals("parallel"));
+		}
+		return parser;
 	}
 
 	public static void main(String[] args) throws RunnerException {
@@ -11,7 +11,7 @@
 package org.eclipse.rdf4j.console.command;
 
 import java.io.BufferedInputStream;
-import java.io.BufferedWriter;
+import java.io.BufferedOutputStream;
 import java.io.IOException;
 import java.nio.file.Files;
 import java.nio.file.Path;
@@ -132,8 +132,8 @@ public class Convert extends ConsoleCommand {
 		String baseURI = pathFrom.toUri().toString();
 
 		try (BufferedInputStream r = new BufferedInputStream(Files.newInputStream(pathFrom));
-				BufferedWriter w = Files.newBufferedWriter(pathTo)) {
-			RDFWriter writer = Rio.createWriter(fmtTo.get(), w);
+				BufferedOutputStream os = new BufferedOutputStream(Files.newOutputStream(pathTo))) {
+			RDFWriter writer = Rio.createWriter(fmtTo.get(), os);
 			parser.setRDFHandler(writer);
 
 			long startTime = System.nanoTime();
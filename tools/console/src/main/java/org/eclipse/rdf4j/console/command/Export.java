@@ -10,9 +10,9 @@
  *******************************************************************************/
 package org.eclipse.rdf4j.console.command;
 
+import java.io.BufferedOutputStream;
 import java.io.IOException;
-import java.io.Writer;
-import java.nio.charset.StandardCharsets;
+import java.io.OutputStream;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.StandardOpenOption;
@@ -127,12 +127,13 @@ public class Export extends ConsoleCommand {
 		}
 
 		try (RepositoryConnection conn = repository.getConnection();
-				Writer w = Files.newBufferedWriter(path, StandardCharsets.UTF_8, StandardOpenOption.CREATE,
-						StandardOpenOption.TRUNCATE_EXISTING)) {
+				OutputStream os = new BufferedOutputStream(Files.newOutputStream(path, StandardOpenOption.CREATE,
+						StandardOpenOption.TRUNCATE_EXISTING))) {
 
 			RDFFormat fmt = Rio.getWriterFormatForFileName(fileName)
 					.orElseThrow(() -> new UnsupportedRDFormatException("No RDF parser for " + fileName));
-			RDFWriter writer = Rio.createWriter(fmt, w);
+			// use an output stream, so binary formats like HDT can be written as well
+			RDFWriter writer = Rio.createWriter(fmt, os);
 
 			long startTime = System.nanoTime();
 			writeln("Exporting data...");
@@ -16,7 +16,9 @@ import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.mockito.Mockito.when;
 
 import java.io.File;
+import java.io.FileInputStream;
 import java.io.IOException;
+import java.io.InputStream;
 import java.io.Reader;
 import java.nio.charset.StandardCharsets;
 
@@ -96,4 +98,19 @@ public class ExportTest extends AbstractCommandTest {
 		assertEquals(2, exp.contexts().size(), "Number of contexts incorrect");
 		assertEquals(4, exp.size(), "Number of triples incorrect");
 	}
+
+	@Test
+	public final void testExportHDT() throws RepositoryException, IOException {
+		File hdt = new File(locationFile, "all.hdt");
+		cmd.execute("export", hdt.getAbsolutePath());
+		Model exp;
+		try (InputStream is = new FileInputStream(hdt)) {
+			exp = Rio.parse(is, "http://example.com", RDFFormat.HDT);
+		}
+		assertNotNull(exp);
+		assertTrue(hdt.length() > 0, "File is empty");
+		assertEquals(1, exp.contexts().size(), "HDT does not support contexts");
+
+		hdt.delete();
+	}
 }
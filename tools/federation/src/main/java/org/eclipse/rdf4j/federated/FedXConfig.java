@@ -12,7 +12,9 @@ package org.eclipse.rdf4j.federated;
 
 import java.util.Optional;
 
+import org.eclipse.rdf4j.common.annotation.Experimental;
 import org.eclipse.rdf4j.federated.cache.SourceSelectionCache;
+import org.eclipse.rdf4j.federated.cache.SourceSelectionCacheFactory;
 import org.eclipse.rdf4j.federated.cache.SourceSelectionMemoryCache;
 import org.eclipse.rdf4j.federated.evaluation.concurrent.ControlledWorkerScheduler;
 import org.eclipse.rdf4j.federated.evaluation.concurrent.TaskWrapper;
@@ -57,6 +59,24 @@ public class FedXConfig {
 
 	private String sourceSelectionCacheSpec = null;
 
+	private SourceSelectionCacheFactory sourceSelectionCacheFactory = null;
+
+	private int sourceSelectionBatchSize = 1;
+
+	private boolean enableEndpointStatistics = false;
+
+	private int endpointStatisticsRefreshInterval = 3600;
+
+	private int endpointStatisticsMaxQueryTime = 60;
+
+	private boolean enableAdaptiveBoundJoinBlockSize = false;
+
+	private int boundJoinMinBlockSize = 5;
+
+	private int boundJoinMaxBlockSize = 200;
+
+	private long boundJoinTargetRequestTime = 1000;
+
 	private TaskWrapper taskWrapper = null;
 
 	private String prefixDeclarations = null;
@@ -251,6 +271,140 @@ public class FedXConfig {
 		return this;
 	}
 
+	/**
+	 * The factory for the {@link SourceSelectionCache}, e.g. to use a
+	 * {@link org.eclipse.rdf4j.federated.cache.SourceSelectionPersistentCache}. If not set explicitly, a
+	 * {@link SourceSelectionMemoryCache} with the {@link #getSourceSelectionCacheSpec()} is used.
+	 *
+	 * <p>
+	 * Can only be set before federation initialization.
+	 * </p>
+	 *
+	 * @param factory the {@link SourceSelectionCacheFactory}
+	 * @return the current config
+	 */
+	@Experimental
+	public FedXConfig withSourceSelectionCacheFactory(SourceSelectionCacheFactory factory) {
+		this.sourceSelectionCacheFactory = factory;
+		return this;
+	}
+
+	/**
+	 * The maximum number of statement patterns that are checked at a SPARQL endpoint with a single request during
+	 * source selection. See {@link #getSourceSelectionBatchSize()}.
+	 *
+	 * <p>
+	 * Can be set after federation construction and initialize.
+	 * </p>
+	 *
+	 * @param sourceSelectionBatchSize the batch size, 1 to check each statement pattern with an ASK query
+	 * @return the current config
+	 */
+	@Experimental
+	public FedXConfig withSourceSelectionBatchSize(int sourceSelectionBatchSize) {
+		this.sourceSelectionBatchSize = sourceSelectionBatchSize;
+		return this;
+	}
+
+	/**
+	 * Set whether the join order is optimized using statistics of the federation members. See
+	 * {@link #isEnableEndpointStatistics()}.
+	 *
+	 * <p>
+	 * Can be set after federation construction and initialize.
+	 * </p>
+	 *
+	 * @param flag
+	 * @return the current config
+	 */
+	@Experimental
+	public FedXConfig withEnableEndpointStatistics(boolean flag) {
+		this.enableEndpointStatistics = flag;
+		return this;
+	}
+
+	/**
+	 * Set the interval after which the statistics of a federation member are refreshed. See
+	 * {@link #getEndpointStatisticsRefreshInterval()}.
+	 *
+	 * @param endpointStatisticsRefreshInterval time in seconds
+	 * @return the current config
+	 */
+	@Experimental
+	public FedXConfig withEndpointStatisticsRefreshInterval(int endpointStatisticsRefreshInterval) {
+		this.endpointStatisticsRefreshInterval = endpointStatisticsRefreshInterval;
+		return this;
+	}
+
+	/**
+	 * Set the maximum execution time of the queries collecting the statistics of a federation member. See
+	 * {@link #getEndpointStatisticsMaxQueryTime()}.
+	 *
+	 * @param endpointStatisticsMaxQueryTime time in seconds, 0 to disable
+	 * @return the current config
+	 */
+	@Experimental
+	public FedXConfig withEndpointStatisticsMaxQueryTime(int endpointStatisticsMaxQueryTime) {
+		this.endpointStatisticsMaxQueryTime = endpointStatisticsMaxQueryTime;
+		return this;
+	}
+
+	/**
+	 * Set whether the bound join block size is adapted per federation member at runtime. See
+	 * {@link #isEnableAdaptiveBoundJoinBlockSize()}.
+	 *
+	 * <p>
+	 * Can be set after federation construction and initialize.
+	 * </p>
+	 *
+	 * @param flag
+	 * @return the current config
+	 */
+	@Experimental
+	public FedXConfig withEnableAdaptiveBoundJoinBlockSize(boolean flag) {
+		this.enableAdaptiveBoundJoinBlockSize = flag;
+		return this;
+	}
+
+	/**
+	 * Set the minimum bound join block size if adaptive block sizes are enabled. See
+	 * {@link #getBoundJoinMinBlockSize()}.
+	 *
+	 * @param boundJoinMinBlockSize
+	 * @return the current config
+	 */
+	@Experimental
+	public FedXConfig withBoundJoinMinBlockSize(int boundJoinMinBlockSize) {
+		this.boundJoinMinBlockSize = boundJoinMinBlockSize;
+		return this;
+	}
+
+	/**
+	 * Set the maximum bound join block size if adaptive block sizes are enabled. See
+	 * {@link #getBoundJoinMaxBlockSize()}.
+	 *
+	 * @param boundJoinMaxBlockSize
+	 * @return the current config
+	 */
+	@Experimental
+	public FedXConfig withBoundJoinMaxBlockSize(int boundJoinMaxBlockSize) {
+		this.boundJoinMaxBlockSize = boundJoinMaxBlockSize;
+		return this;
+	}
+
+	/**
+	 * Set the targeted response time of a bound join request if adaptive block sizes are enabled. See
+	 * {@link #getBoundJoinTargetRequestTime()}.
+	 *
+	 * @param boundJoinTargetRequestTime time in milliseconds
+	 * @return the current config
+	 */
+	@Experimental
+	public FedXConfig withBoundJoinTargetRequestTime(long boundJoinTargetRequestTime) {
+		this.boundJoinTargetRequestTime = boundJoinTargetRequestTime;
+		return this;
+	}
+
 	/**
 	 * Sets a {@link TaskWrapper} which may be used for wrapping any background {@link Runnable}s. If no such wrapper is
 	 * explicitly configured, the unmodified task is returned. See {@link TaskWrapper} for more information.
@@ -404,6 +558,142 @@ public class FedXConfig {
 		return this.sourceSelectionCacheSpec;
 	}
 
+	/**
+	 * Returns the configured {@link SourceSelectionCacheFactory} (if any). If not defined, a
+	 * {@link SourceSelectionMemoryCache} is used.
+	 *
+	 * @return the {@link SourceSelectionCacheFactory} or <code>null</code>
+	 */
+	@Experimental
+	public SourceSelectionCacheFactory getSourceSelectionCacheFactory() {
+		return this.sourceSelectionCacheFactory;
+	}
+
+	/**
+	 * The maximum number of statement patterns that are checked at a SPARQL endpoint with a single request during
+	 * source selection. Instead of an ASK query per statement pattern, the patterns are sent as a VALUES clause of a
+	 * single SELECT query. Statement patterns with a context variable are always checked individually.
+	 *
+	 * <p>
+	 * Default 1, i.e. batching is disabled.
+	 * </p>
+	 *
+	 * @return the source selection batch size
+	 */
+	@Experimental
+	public int getSourceSelectionBatchSize() {
+		return this.sourceSelectionBatchSize;
+	}
+
+	/**
+	 * Whether the join order is optimized using statistics of the federation members, i.e. the cardinalities of
+	 * predicates and classes read from VoID descriptions or computed with COUNT queries. The statistics are loaded in
+	 * the background, as long as they are not available the heuristics of the
+	 * {@link org.eclipse.rdf4j.federated.optimizer.DefaultFedXCostModel} are approximated. Based on the statistics,
+	 * small join arguments may be evaluated with a hash join instead of a bound join.
+	 *
+	 * <p>
+	 * Default false
+	 * </p>
+	 *
+	 * @return whether endpoint statistics are used
+	 * @see org.eclipse.rdf4j.federated.statistics.EndpointStatisticsManager
+	 */
+	@Experimental
+	public boolean isEnableEndpointStatistics() {
+		return this.enableEndpointStatistics;
+	}
+
+	/**
+	 * The interval after which the statistics of a federation member are refreshed in the background.
+	 *
+	 * <p>
+	 * Default 3600 seconds
+	 * </p>
+	 *
+	 * @return the refresh interval in seconds
+	 */
+	@Experimental
+	public int getEndpointStatisticsRefreshInterval() {
+		return this.endpointStatisticsRefreshInterval;
+	}
+
+	/**
+	 * The maximum execution time of the queries collecting the statistics of a federation member.
+	 *
+	 * <p>
+	 * Default 60 seconds
+	 * </p>
+	 *
+	 * @return the maximum query time in seconds, 0 if disabled
+	 */
+	@Experimental
+	public int getEndpointStatisticsMaxQueryTime() {
+		return this.endpointStatisticsMaxQueryTime;
+	}
+
+	/**
+	 * Flag indicating whether the bound join block size is adapted per federation member at runtime, starting from the
+	 * {@link #getBoundJoinBlockSize()}. The block size is increased for endpoints which answer fast and decreased for
+	 * slow endpoints or large results, within the bounds of {@link #getBoundJoinMinBlockSize()} and
+	 * {@link #getBoundJoinMaxBlockSize()}.
+	 *
+	 * <p>
+	 * Default false
+	 * </p>
+	 *
+	 * @return whether adaptive bound join block sizes are used
+	 * @see org.eclipse.rdf4j.federated.evaluation.join.BoundJoinBlockSizeController
+	 */
+	@Experimental
+	public boolean isEnableAdaptiveBoundJoinBlockSize() {
+		return this.enableAdaptiveBoundJoinBlockSize;
+	}
+
+	/**
+	 * The minimum bound join block size if adaptive block sizes are enabled.
+	 *
+	 * <p>
+	 * Default 5
+	 * </p>
+	 *
+	 * @return the minimum bound join block size
+	 */
+	@Experimental
+	public int getBoundJoinMinBlockSize() {
+		return this.boundJoinMinBlockSize;
+	}
+
+	/**
+	 * The maximum bound join block size if adaptive block sizes are enabled.
+	 *
+	 * <p>
+	 * Default 200
+	 * </p>
+	 *
+	 * @return the maximum bound join block size
+	 */
+	@Experimental
+	public int getBoundJoinMaxBlockSize() {
+		return this.boundJoinMaxBlockSize;
+	}
+
+	/**
+	 * The targeted response time of a bound join request if adaptive block sizes are enabled. The block size of an
+	 * endpoint is decreased if a request takes longer, and increased if a full block is answered in less than half of
+	 * this time.
+	 *
+	 * <p>
+	 * Default 1000 milliseconds
+	 * </p>
+	 *
+	 * @return the target request time in milliseconds
+	 */
+	@Experimental
+	public long getBoundJoinTargetRequestTime() {
+		return this.boundJoinTargetRequestTime;
+	}
+
 	/**
 	 * The debug mode for query plan. If enabled, the query execution plan is printed to stdout
 	 *
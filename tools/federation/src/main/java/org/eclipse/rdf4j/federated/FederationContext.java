@@ -14,7 +14,9 @@ import org.eclipse.rdf4j.federated.cache.SourceSelectionCache;
 import org.eclipse.rdf4j.federated.cache.SourceSelectionMemoryCache;
 import org.eclipse.rdf4j.federated.evaluation.DelegateFederatedServiceResolver;
 import org.eclipse.rdf4j.federated.evaluation.FederationEvalStrategy;
+import org.eclipse.rdf4j.federated.evaluation.join.BoundJoinBlockSizeController;
 import org.eclipse.rdf4j.federated.monitoring.Monitoring;
+import org.eclipse.rdf4j.federated.statistics.EndpointStatisticsManager;
 import org.eclipse.rdf4j.query.Dataset;
 import org.eclipse.rdf4j.query.algebra.evaluation.TripleSource;
 import org.eclipse.rdf4j.query.algebra.evaluation.impl.EvaluationStatistics;
@@ -41,6 +43,10 @@ public class FederationContext {
 
 	private final SourceSelectionCache sourceSelectionCache;
 
+	private final EndpointStatisticsManager endpointStatisticsManager;
+
+	private final BoundJoinBlockSizeController boundJoinBlockSizeController;
+
 	public FederationContext(FederationManager manager, EndpointManager endpointManager, QueryManager queryManager,
 			DelegateFederatedServiceResolver federatedServiceResolver,
 			Monitoring monitoring, FedXConfig fedXConfig) {
@@ -52,6 +58,8 @@ public class FederationContext {
 		this.monitoring = monitoring;
 		this.fedXConfig = fedXConfig;
 		this.sourceSelectionCache = createSourceSelectionCache();
+		this.endpointStatisticsManager = new EndpointStatisticsManager(fedXConfig);
+		this.boundJoinBlockSizeController = new BoundJoinBlockSizeController(this);
 	}
 
 	public FedX getFederation() {
@@ -86,6 +94,14 @@ public class FederationContext {
 		return this.sourceSelectionCache;
 	}
 
+	public EndpointStatisticsManager getEndpointStatisticsManager() {
+		return this.endpointStatisticsManager;
+	}
+
+	public BoundJoinBlockSizeController getBoundJoinBlockSizeController() {
+		return this.boundJoinBlockSizeController;
+	}
+
 	/**
 	 * Create a fresh {@link FederationEvalStrategy} using information from this federation context.
 	 */
@@ -101,8 +117,12 @@ public class FederationContext {
 	 *
 	 * @return the {@link SourceSelectionCache}
 	 * @see FedXConfig#getSourceSelectionCacheSpec()
+	 * @see FedXConfig#getSourceSelectionCacheFactory()
 	 */
 	private SourceSelectionCache createSourceSelectionCache() {
+		if (getConfig().getSourceSelectionCacheFactory() != null) {
+			return getConfig().getSourceSelectionCacheFactory().create(getConfig());
+		}
 		String cacheSpec = getConfig().getSourceSelectionCacheSpec();
 		return new SourceSelectionMemoryCache(cacheSpec);
 	}
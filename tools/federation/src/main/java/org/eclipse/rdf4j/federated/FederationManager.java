@@ -18,6 +18,7 @@ import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Executors;
 import java.util.concurrent.TimeUnit;
 
+import org.eclipse.rdf4j.federated.cache.SourceSelectionCache;
 import org.eclipse.rdf4j.federated.endpoint.Endpoint;
 import org.eclipse.rdf4j.federated.endpoint.EndpointClassification;
 import org.eclipse.rdf4j.federated.evaluation.FederationEvaluationStrategyFactory;
@@ -258,6 +259,7 @@ public class FederationManager {
 		for (Endpoint e : new ArrayList<>(federation.getMembers())) {
 			removeEndpoint(e, false);
 		}
+		federationContext.getBoundJoinBlockSizeController().clear();
 
 		updateFederationType();
 	}
@@ -321,7 +323,15 @@ public class FederationManager {
 							leftJoinScheduler.abort();
 						}
 					} finally {
-						federationContext.getFederatedServiceResolver().shutDown();
+						try {
+							federationContext.getFederatedServiceResolver().shutDown();
+						} finally {
+							try {
+								closeSourceSelectionCache();
+							} finally {
+								federationContext.getEndpointStatisticsManager().shutDown();
+							}
+						}
 					}
 
 				}
@@ -332,6 +342,18 @@ public class FederationManager {
 
 	}
 
+	private void closeSourceSelectionCache() {
+		SourceSelectionCache cache = federationContext.getSourceSelectionCache();
+		if (cache instanceof AutoCloseable) {
+			try {
+				((AutoCloseable) cache).close();
+			} catch (Exception e) {
+				log.warn("Failed to close source selection cache: " + e.getMessage());
+				log.debug("Details: ", e);
+			}
+		}
+	}
+
 	/**
 	 * Create an appropriate worker union for this federation, i.e. a synchronous worker union for local federations and
 	 * a multithreaded worker union for remote & hybrid federations.
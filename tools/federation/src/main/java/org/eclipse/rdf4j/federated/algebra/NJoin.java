@@ -10,10 +10,12 @@
  *******************************************************************************/
 package org.eclipse.rdf4j.federated.algebra;
 
+import java.util.BitSet;
 import java.util.HashSet;
 import java.util.List;
 import java.util.Set;
 
+import org.eclipse.rdf4j.common.annotation.Experimental;
 import org.eclipse.rdf4j.federated.structures.QueryInfo;
 import org.eclipse.rdf4j.federated.util.QueryAlgebraUtil;
 import org.eclipse.rdf4j.query.algebra.QueryModelVisitor;
@@ -29,6 +31,8 @@ public class NJoin extends NTuple {
 
 	private static final long serialVersionUID = -8646701006458860154L;
 
+	private BitSet hashJoins = new BitSet();
+
 	/**
 	 * Construct an nary-tuple. Note that the parentNode of all arguments is set to this instance.
 	 *
@@ -46,7 +50,33 @@ public class NJoin extends NTuple {
 
 	@Override
 	public NJoin clone() {
-		return (NJoin) super.clone();
+		NJoin clone = (NJoin) super.clone();
+		clone.hashJoins = (BitSet) hashJoins.clone();
+		return clone;
+	}
+
+	/**
+	 * Set whether the join with the given index is evaluated as a hash join, i.e. the right argument is evaluated once
+	 * and joined with all bindings of the left argument, instead of a bound join.
+	 *
+	 * @param joinIndex the join index, starting with 1
+	 * @param flag
+	 */
+	@Experimental
+	public void setHashJoin(int joinIndex, boolean flag) {
+		hashJoins.set(joinIndex, flag);
+	}
+
+	/**
+	 * Returns whether the join with the given index is evaluated as a hash join.
+	 *
+	 * @param joinIndex the join index, starting with 1
+	 * @return whether a hash join is used
+	 * @see #setHashJoin(int, boolean)
+	 */
+	@Experimental
+	public boolean isHashJoin(int joinIndex) {
+		return hashJoins.get(joinIndex);
 	}
 
 	/**
@@ -0,0 +1,36 @@
+/*******************************************************************************
+ * Copyright (c) 2023 Eclipse RDF4J contributors.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Distribution License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/org/documents/edl-v10.php.
+ *
+ * SPDX-License-Identifier: BSD-3-Clause
+ *******************************************************************************/
+package org.eclipse.rdf4j.federated.cache;
+
+import org.eclipse.rdf4j.common.annotation.Experimental;
+import org.eclipse.rdf4j.federated.FedXConfig;
+
+/**
+ * Factory for the {@link SourceSelectionCache} of a federation, see
+ * {@link FedXConfig#withSourceSelectionCacheFactory(SourceSelectionCacheFactory)}.
+ * <p>
+ * If the created cache implements {@link AutoCloseable}, it is closed when the federation is shut down.
+ * </p>
+ *
+ * @see SourceSelectionPersistentCache
+ */
+@Experimental
+@FunctionalInterface
+public interface SourceSelectionCacheFactory {
+
+	/**
+	 * Create the {@link SourceSelectionCache}
+	 *
+	 * @param config the configuration of the federation
+	 * @return the {@link SourceSelectionCache}
+	 */
+	SourceSelectionCache create(FedXConfig config);
+}
@@ -78,22 +78,33 @@ public class SourceSelectionMemoryCache implements SourceSelectionCache {
 
 	@Override
 	public void updateInformation(SubQuery subQuery, Endpoint endpoint, boolean hasStatements) {
+		updateInformation(subQuery, endpoint.getId(), hasStatements);
+	}
+
+	/**
+	 * Update the information for a given {@link SubQuery} and the {@link Endpoint} with the given id.
+	 *
+	 * @param subQuery
+	 * @param endpointId
+	 * @param hasStatements
+	 */
+	protected void updateInformation(SubQuery subQuery, String endpointId, boolean hasStatements) {
 
-		updateCacheEntry(subQuery, endpoint, hasStatements);
-		updateInferredInformation(subQuery, endpoint, hasStatements);
+		updateCacheEntry(subQuery, endpointId, hasStatements);
+		updateInferredInformation(subQuery, endpointId, hasStatements);
 	}
 
-	private void updateCacheEntry(SubQuery subQuery, Endpoint endpoint, boolean hasStatements) {
+	private void updateCacheEntry(SubQuery subQuery, String endpointId, boolean hasStatements) {
 		Entry entry;
 		try {
 			entry = cache.get(subQuery, () -> new Entry());
-			entry.setEndpointInfo(endpoint, hasStatements);
+			entry.setEndpointInfo(endpointId, hasStatements);
 		} catch (ExecutionException e) {
 			throw new FedXRuntimeException(e);
 		}
 	}
 
-	private void updateInferredInformation(SubQuery subQuery, Endpoint endpoint, boolean hasStatements) {
+	private void updateInferredInformation(SubQuery subQuery, String endpointId, boolean hasStatements) {
 
 		if (!hasStatements) {
 			return; // we cannot say for sure in this case
@@ -101,7 +112,8 @@ public class SourceSelectionMemoryCache implements SourceSelectionCache {
 		if (subQuery.object() != null) {
 
 			if (subQuery.predicate() != null) {
-				updateCacheEntry(new SubQuery(subQuery.subject(), subQuery.predicate(), null), endpoint, hasStatements);
+				updateCacheEntry(new SubQuery(subQuery.subject(), subQuery.predicate(), null), endpointId,
+						hasStatements);
 			}
 		}
 	}
@@ -115,8 +127,8 @@ public class SourceSelectionMemoryCache implements SourceSelectionCache {
 	private static class Entry {
 		final Map<String, StatementSourceAssurance> endpointToInformation = Maps.newConcurrentMap();
 
-		public void setEndpointInfo(Endpoint e, boolean hasStatements) {
-			endpointToInformation.put(e.getId(),
+		public void setEndpointInfo(String endpointId, boolean hasStatements) {
+			endpointToInformation.put(endpointId,
 					hasStatements ? StatementSourceAssurance.HAS_REMOTE_STATEMENTS : StatementSourceAssurance.NONE);
 		}
 
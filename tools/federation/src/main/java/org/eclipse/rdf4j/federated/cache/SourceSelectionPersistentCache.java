@@ -0,0 +1,192 @@
+/*******************************************************************************
+ * Copyright (c) 2023 Eclipse RDF4J contributors.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Distribution License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/org/documents/edl-v10.php.
+ *
+ * SPDX-License-Identifier: BSD-3-Clause
+ *******************************************************************************/
+package org.eclipse.rdf4j.federated.cache;
+
+import java.io.BufferedWriter;
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.eclipse.rdf4j.common.annotation.Experimental;
+import org.eclipse.rdf4j.federated.endpoint.Endpoint;
+import org.eclipse.rdf4j.federated.exception.FedXRuntimeException;
+import org.eclipse.rdf4j.federated.structures.SubQuery;
+import org.eclipse.rdf4j.model.IRI;
+import org.eclipse.rdf4j.model.Resource;
+import org.eclipse.rdf4j.model.Value;
+import org.eclipse.rdf4j.model.ValueFactory;
+import org.eclipse.rdf4j.model.impl.SimpleValueFactory;
+import org.eclipse.rdf4j.rio.helpers.NTriplesUtil;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * A {@link SourceSelectionMemoryCache} which additionally writes all updates to a journal file, such that the
+ * information survives a restart of the federation.
+ * <p>
+ * Each line of the journal describes one update as tab separated fields: the time of the update, the endpoint id,
+ * subject, predicate and object of the {@link SubQuery} (in N-Triples syntax, empty if unbound), whether the endpoint
+ * has statements and the contexts of the {@link SubQuery}. On construction the journal is replayed into the cache,
+ * updates older than the maximum age are dropped and the journal is compacted.
+ * </p>
+ *
+ * @see SourceSelectionCacheFactory
+ */
+@Experimental
+public class SourceSelectionPersistentCache extends SourceSelectionMemoryCache implements Closeable {
+
+	private static final Logger log = LoggerFactory.getLogger(SourceSelectionPersistentCache.class);
+
+	/**
+	 * The default maximum age of the information in the journal, corresponding to the expiry of the
+	 * {@link SourceSelectionMemoryCache#DEFAULT_CACHE_SPEC}.
+	 */
+	public static final Duration DEFAULT_MAX_AGE = Duration.ofHours(6);
+
+	private static final ValueFactory vf = SimpleValueFactory.getInstance();
+
+	private final Path file;
+
+	private final Writer journal;
+
+	/**
+	 * @param file the journal file, created if it does not exist
+	 * @throws IOException if the journal cannot be read or written
+	 */
+	public SourceSelectionPersistentCache(Path file) throws IOException {
+		this(file, null, DEFAULT_MAX_AGE);
+	}
+
+	/**
+	 * @param file      the journal file, created if it does not exist
+	 * @param cacheSpec a Guava compatible cache spec for the in memory cache, if <code>null</code> the
+	 *                  {@link #DEFAULT_CACHE_SPEC} is used
+	 * @param maxAge    the maximum age of updates that are restored from the journal
+	 * @throws IOException if the journal cannot be read or written
+	 */
+	public SourceSelectionPersistentCache(Path file, String cacheSpec, Duration maxAge) throws IOException {
+		super(cacheSpec);
+		this.file = file;
+		restore(maxAge.toMillis());
+		this.journal = Files.newBufferedWriter(file, StandardCharsets.UTF_8, StandardOpenOption.CREATE,
+				StandardOpenOption.APPEND);
+	}
+
+	@Override
+	public void updateInformation(SubQuery subQuery, Endpoint endpoint, boolean hasStatements) {
+		super.updateInformation(subQuery, endpoint, hasStatements);
+
+		// for patterns with three variables the information is never used
+		if (subQuery.isUnbound()) {
+			return;
+		}
+		String line = toLine(System.currentTimeMillis(), endpoint.getId(), subQuery, hasStatements);
+		synchronized (journal) {
+			try {
+				journal.write(line);
+				journal.write('\n');
+				journal.flush();
+			} catch (IOException e) {
+				throw new FedXRuntimeException("Failed to write source selection cache journal " + file, e);
+			}
+		}
+	}
+
+	@Override
+	public void close() throws IOException {
+		synchronized (journal) {
+			journal.close();
+		}
+	}
+
+	/**
+	 * Replays the journal into the cache, and rewrites it with the latest update of each sub query and endpoint.
+	 */
+	private void restore(long maxAge) throws IOException {
+		if (!Files.exists(file)) {
+			return;
+		}
+		long minTime = System.currentTimeMillis() - maxAge;
+		Map<String, String> latest = new LinkedHashMap<>();
+		List<String> lines = Files.readAllLines(file, StandardCharsets.UTF_8);
+		for (String line : lines) {
+			if (line.isEmpty()) {
+				continue;
+			}
+			String[] fields = line.split("\t", -1);
+			try {
+				if (Long.parseLong(fields[0]) < minTime) {
+					continue;
+				}
+				SubQuery subQuery = toSubQuery(fields);
+				super.updateInformation(subQuery, fields[1], Boolean.parseBoolean(fields[5]));
+
+				// the key of the update is everything except time and result
+				fields[0] = "";
+				fields[5] = "";
+				String key = String.join("\t", fields);
+				latest.remove(key);
+				latest.put(key, line);
+			} catch (RuntimeException e) {
+				log.warn("Ignoring invalid line in source selection cache journal {}: {}", file, line);
+				log.debug("Details:", e);
+			}
+		}
+
+		Path tmp = file.resolveSibling(file.getFileName() + ".tmp");
+		try (BufferedWriter writer = Files.newBufferedWriter(tmp, StandardCharsets.UTF_8)) {
+			for (String line : latest.values()) {
+				writer.write(line);
+				writer.write('\n');
+			}
+		}
+		Files.move(tmp, file, StandardCopyOption.REPLACE_EXISTING);
+	}
+
+	private static String toLine(long time, String endpointId, SubQuery subQuery, boolean hasStatements) {
+		StringBuilder sb = new StringBuilder();
+		sb.append(time).append('\t').append(endpointId);
+		sb.append('\t').append(toString(subQuery.subject()));
+		sb.append('\t').append(toString(subQuery.predicate()));
+		sb.append('\t').append(toString(subQuery.object()));
+		sb.append('\t').append(hasStatements);
+		for (Resource context : subQuery.contexts()) {
+			sb.append('\t').append(toString(context));
+		}
+		return sb.toString();
+	}
+
+	private static SubQuery toSubQuery(String[] fields) {
+		Resource[] contexts = new Resource[fields.length - 6];
+		for (int i = 0; i < contexts.length; i++) {
+			contexts[i] = (Resource) toValue(fields[6 + i]);
+		}
+		return new SubQuery((Resource) toValue(fields[2]), (IRI) toValue(fields[3]),
+				toValue(fields[4]), contexts);
+	}
+
+	private static String toString(Value value) {
+		return value == null ? "" : NTriplesUtil.toNTriplesString(value);
+	}
+
+	private static Value toValue(String value) {
+		return value.isEmpty() ? null : NTriplesUtil.parseValue(value, vf);
+	}
+}
@@ -49,6 +49,7 @@ import org.eclipse.rdf4j.federated.evaluation.iterator.SingleBindingSetIteration
 import org.eclipse.rdf4j.federated.evaluation.join.ControlledWorkerBoundJoin;
 import org.eclipse.rdf4j.federated.evaluation.join.ControlledWorkerJoin;
 import org.eclipse.rdf4j.federated.evaluation.join.ControlledWorkerLeftJoin;
+import org.eclipse.rdf4j.federated.evaluation.join.HashJoin;
 import org.eclipse.rdf4j.federated.evaluation.join.SynchronousBoundJoin;
 import org.eclipse.rdf4j.federated.evaluation.join.SynchronousJoin;
 import org.eclipse.rdf4j.federated.evaluation.union.ControlledWorkerUnion;
@@ -61,7 +62,9 @@ import org.eclipse.rdf4j.federated.evaluation.union.WorkerUnionBase;
 import org.eclipse.rdf4j.federated.exception.FedXRuntimeException;
 import org.eclipse.rdf4j.federated.exception.IllegalQueryException;
 import org.eclipse.rdf4j.federated.optimizer.DefaultFedXCostModel;
+import org.eclipse.rdf4j.federated.optimizer.EndpointStatisticsCostModel;
 import org.eclipse.rdf4j.federated.optimizer.ExclusiveTupleExprOptimizer;
+import org.eclipse.rdf4j.federated.optimizer.FedXCostModel;
 import org.eclipse.rdf4j.federated.optimizer.FilterOptimizer;
 import org.eclipse.rdf4j.federated.optimizer.GenericInfoOptimizer;
 import org.eclipse.rdf4j.federated.optimizer.LimitOptimizer;
@@ -280,7 +283,11 @@ public abstract class FederationEvalStrategy extends StrictEvaluationStrategy {
 
 	protected void optimizeJoinOrder(TupleExpr query, QueryInfo queryInfo, GenericInfoOptimizer info) {
 		// optimize statement groups and join order
-		new StatementGroupAndJoinOptimizer(queryInfo, DefaultFedXCostModel.INSTANCE).optimize(query);
+		FedXCostModel costModel = DefaultFedXCostModel.INSTANCE;
+		if (federationContext.getConfig().isEnableEndpointStatistics()) {
+			costModel = new EndpointStatisticsCostModel(federationContext);
+		}
+		new StatementGroupAndJoinOptimizer(queryInfo, costModel).optimize(query);
 	}
 
 	/**
@@ -505,6 +512,14 @@ public abstract class FederationEvalStrategy extends StrictEvaluationStrategy {
 
 		QueryEvaluationStep resultProvider = precompile(join.getArg(0), context);
 
+		// the right arguments of hash joins are evaluated independently of the left arguments
+		QueryEvaluationStep[] hashJoinArgs = new QueryEvaluationStep[join.getNumberOfArguments()];
+		for (int i = 1, n = join.getNumberOfArguments(); i < n; i++) {
+			if (join.isHashJoin(i)) {
+				hashJoinArgs[i] = precompile(join.getArg(i), context);
+			}
+		}
+
 		ControlledWorkerScheduler<BindingSet> joinScheduler = federationContext.getManager().getJoinScheduler();
 
 		return bindings -> {
@@ -514,6 +529,11 @@ public abstract class FederationEvalStrategy extends StrictEvaluationStrategy {
 				result = resultProvider.evaluate(bindings);
 
 				for (int i = 1, n = join.getNumberOfArguments(); i < n; i++) {
+					if (hashJoinArgs[i] != null) {
+						result = executeHashJoin(result, join.getArg(i), hashJoinArgs[i], join.getJoinVariables(i),
+								bindings, join.getQueryInfo());
+						continue;
+					}
 					result = executeJoin(joinScheduler, result, join.getArg(i), join.getJoinVariables(i), bindings,
 							join.getQueryInfo());
 				}
@@ -671,6 +691,30 @@ public abstract class FederationEvalStrategy extends StrictEvaluationStrategy {
 			CloseableIteration<BindingSet, QueryEvaluationException> leftIter, TupleExpr rightArg,
 			Set<String> joinVariables, BindingSet bindings, QueryInfo queryInfo) throws QueryEvaluationException;
 
+	/**
+	 * Execute a {@link HashJoin} in a separate thread, i.e. evaluate the right argument once (independent of the left
+	 * bindings) and join it with the results of the left argument.
+	 *
+	 * @param leftIter
+	 * @param rightArg
+	 * @param rightPrepared the prepared right argument
+	 * @param joinVariables
+	 * @param bindings
+	 * @param queryInfo
+	 * @return the result
+	 * @throws QueryEvaluationException
+	 * @see NJoin#isHashJoin(int)
+	 */
+	protected CloseableIteration<BindingSet, QueryEvaluationException> executeHashJoin(
+			CloseableIteration<BindingSet, QueryEvaluationException> leftIter, TupleExpr rightArg,
+			QueryEvaluationStep rightPrepared, Set<String> joinVariables, BindingSet bindings, QueryInfo queryInfo)
+			throws QueryEvaluationException {
+
+		HashJoin join = new HashJoin(this, leftIter, rightArg, rightPrepared, joinVariables, bindings, queryInfo);
+		executor.execute(join);
+		return join;
+	}
+
 	public abstract CloseableIteration<BindingSet, QueryEvaluationException> evaluateExclusiveGroup(
 			ExclusiveGroup group, BindingSet bindings)
 			throws RepositoryException, MalformedQueryException, QueryEvaluationException;
@@ -10,6 +10,8 @@
  *******************************************************************************/
 package org.eclipse.rdf4j.federated.evaluation;
 
+import java.util.List;
+
 import org.eclipse.rdf4j.common.iteration.CloseableIteration;
 import org.eclipse.rdf4j.common.iteration.ExceptionConvertingIteration;
 import org.eclipse.rdf4j.federated.FederationContext;
@@ -134,6 +136,34 @@ public class SparqlTripleSource extends TripleSourceBase {
 
 	}
 
+	@Override
+	public boolean[] hasStatements(List<StatementPattern> stmts, QueryInfo queryInfo, Dataset dataset)
+			throws RepositoryException, MalformedQueryException, QueryEvaluationException {
+
+		/* remote select query with the statements as VALUES */
+		boolean[] res = new boolean[stmts.size()];
+		String queryString = QueryStringUtil.selectQueryStringSourceSelectionVALUES(stmts, dataset);
+		try (RepositoryConnection conn = endpoint.getConnection()) {
+			TupleQuery query = conn.prepareTupleQuery(QueryLanguage.SPARQL, queryString);
+			configureInference(query, queryInfo);
+			applyMaxExecutionTimeUpperBound(query);
+
+			monitorRemoteRequest();
+			try (TupleQueryResult qRes = query.evaluate()) {
+				while (qRes.hasNext()) {
+					Value index = qRes.next().getValue(QueryStringUtil.SOURCE_SELECTION_INDEX_BINDING_NAME);
+					if (index != null) {
+						res[Integer.parseInt(index.stringValue())] = true;
+					}
+				}
+			} catch (Throwable ex) {
+				// convert into QueryEvaluationException with additional info
+				throw ExceptionUtil.traceExceptionSourceAndRepair(endpoint, ex, "Subquery: " + queryString);
+			}
+		}
+		return res;
+	}
+
 	@Override
 	public boolean hasStatements(ExclusiveTupleExpr expr,
 			BindingSet bindings)
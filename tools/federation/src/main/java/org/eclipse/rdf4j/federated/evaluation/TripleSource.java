@@ -10,6 +10,9 @@
  *******************************************************************************/
 package org.eclipse.rdf4j.federated.evaluation;
 
+import java.util.List;
+
+import org.eclipse.rdf4j.common.annotation.Experimental;
 import org.eclipse.rdf4j.common.iteration.CloseableIteration;
 import org.eclipse.rdf4j.federated.algebra.ExclusiveGroup;
 import org.eclipse.rdf4j.federated.algebra.ExclusiveTupleExpr;
@@ -163,6 +166,29 @@ public interface TripleSource {
 	boolean hasStatements(StatementPattern stmt, BindingSet bindings, QueryInfo queryInfo, Dataset dataset)
 			throws RepositoryException, MalformedQueryException, QueryEvaluationException;
 
+	/**
+	 * Check for each of the provided statements if it can return results. Implementations may check all statements with
+	 * a single request, the default implementation checks them one by one.
+	 *
+	 * @param stmts     the statements without any context variable
+	 * @param queryInfo
+	 * @param dataset
+	 *
+	 * @return for each statement whether the source can return results
+	 * @throws RepositoryException
+	 * @throws MalformedQueryException
+	 * @throws QueryEvaluationException
+	 */
+	@Experimental
+	default boolean[] hasStatements(List<StatementPattern> stmts, QueryInfo queryInfo, Dataset dataset)
+			throws RepositoryException, MalformedQueryException, QueryEvaluationException {
+		boolean[] res = new boolean[stmts.size()];
+		for (int i = 0; i < res.length; i++) {
+			res[i] = hasStatements(stmts.get(i), EmptyBindingSet.getInstance(), queryInfo, dataset);
+		}
+		return res;
+	}
+
 	/**
 	 * Check if the repository can return results for the given triple pattern represented by subj, pred and obj
 	 *
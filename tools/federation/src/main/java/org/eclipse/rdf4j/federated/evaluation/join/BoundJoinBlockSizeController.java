@@ -0,0 +1,227 @@
+/*******************************************************************************
+ * Copyright (c) 2023 Eclipse RDF4J contributors.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Distribution License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/org/documents/edl-v10.php.
+ *
+ * SPDX-License-Identifier: BSD-3-Clause
+ *******************************************************************************/
+package org.eclipse.rdf4j.federated.evaluation.join;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.eclipse.rdf4j.common.annotation.Experimental;
+import org.eclipse.rdf4j.common.iteration.CloseableIteration;
+import org.eclipse.rdf4j.common.iteration.IterationWrapper;
+import org.eclipse.rdf4j.federated.FedXConfig;
+import org.eclipse.rdf4j.federated.FederationContext;
+import org.eclipse.rdf4j.federated.algebra.StatementSource;
+import org.eclipse.rdf4j.federated.algebra.StatementTupleExpr;
+import org.eclipse.rdf4j.federated.endpoint.Endpoint;
+import org.eclipse.rdf4j.query.BindingSet;
+import org.eclipse.rdf4j.query.QueryEvaluationException;
+import org.eclipse.rdf4j.query.algebra.TupleExpr;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Maintains the bound join block size per federation member, i.e. the number of bindings that are grouped into a single
+ * bound join request.
+ * <p>
+ * If {@link FedXConfig#isEnableAdaptiveBoundJoinBlockSize()} is set, the response time and the number of results of
+ * each bound join request are measured. The block size of an endpoint starts at the
+ * {@link FedXConfig#getBoundJoinBlockSize()} and is
+ * </p>
+ *
+ * <ul>
+ * <li>halved if a request takes longer than the {@link FedXConfig#getBoundJoinTargetRequestTime()} or produces more
+ * than {@link #MAX_RESULTS_PER_REQUEST} results</li>
+ * <li>doubled if a full block is answered in less than half of the target time and with less than half of the maximum
+ * number of results</li>
+ * </ul>
+ *
+ * <p>
+ * within the bounds of {@link FedXConfig#getBoundJoinMinBlockSize()} and {@link FedXConfig#getBoundJoinMaxBlockSize()}.
+ * The response time of a request is the time until the result of the endpoint is available, i.e. it does not include
+ * the time needed by the consumer to process the results. A request to several endpoints (i.e. a statement with
+ * multiple sources) counts for each of them, and uses the smallest block size of its sources.
+ * </p>
+ *
+ * <p>
+ * Changes of the block size are reported to {@link org.eclipse.rdf4j.federated.monitoring.Monitoring}.
+ * </p>
+ */
+@Experimental
+public class BoundJoinBlockSizeController {
+
+	private static final Logger log = LoggerFactory.getLogger(BoundJoinBlockSizeController.class);
+
+	/**
+	 * The maximum number of results of a single bound join request
+	 */
+	public static final long MAX_RESULTS_PER_REQUEST = 10000;
+
+	private final FederationContext federationContext;
+
+	private final Map<String, BlockSize> blockSizes = new ConcurrentHashMap<>();
+
+	public BoundJoinBlockSizeController(FederationContext federationContext) {
+		this.federationContext = federationContext;
+	}
+
+	/**
+	 * Returns the block size for bound join requests of the given join argument.
+	 *
+	 * @param expr the right join argument
+	 * @return the block size
+	 */
+	public int getBlockSize(TupleExpr expr) {
+		FedXConfig config = federationContext.getConfig();
+		if (!config.isEnableAdaptiveBoundJoinBlockSize() || !(expr instanceof StatementTupleExpr)) {
+			return config.getBoundJoinBlockSize();
+		}
+		List<StatementSource> sources = ((StatementTupleExpr) expr).getStatementSources();
+		if (sources.isEmpty()) {
+			return config.getBoundJoinBlockSize();
+		}
+		int res = Integer.MAX_VALUE;
+		for (StatementSource source : sources) {
+			res = Math.min(res, getBlockSize(source.getEndpointID()));
+		}
+		return res;
+	}
+
+	/**
+	 * Returns the block size for bound join requests to the given endpoint.
+	 *
+	 * @param endpointId
+	 * @return the block size
+	 */
+	public int getBlockSize(String endpointId) {
+		if (!federationContext.getConfig().isEnableAdaptiveBoundJoinBlockSize()) {
+			return federationContext.getConfig().getBoundJoinBlockSize();
+		}
+		BlockSize blockSize = blockSizes.get(endpointId);
+		return blockSize == null ? initialBlockSize() : blockSize.size;
+	}
+
+	/**
+	 * Measure the bound join request of the given join argument: the number of results are counted while the returned
+	 * iteration is consumed, and the block size of the sources is updated when it is closed.
+	 *
+	 * @param expr     the right join argument
+	 * @param bindings the number of bindings of the request
+	 * @param duration the time in milliseconds until the result of the request was available
+	 * @param result   the result of the request
+	 * @return the result iteration
+	 */
+	public CloseableIteration<BindingSet, QueryEvaluationException> measure(StatementTupleExpr expr, int bindings,
+			long duration, CloseableIteration<BindingSet, QueryEvaluationException> result) {
+		if (!federationContext.getConfig().isEnableAdaptiveBoundJoinBlockSize()) {
+			return result;
+		}
+		return new IterationWrapper<>(result) {
+
+			private long results = 0;
+
+			@Override
+			public BindingSet next() throws QueryEvaluationException {
+				BindingSet next = super.next();
+				results++;
+				return next;
+			}
+
+			@Override
+			protected void handleClose() throws QueryEvaluationException {
+				try {
+					super.handleClose();
+				} finally {
+					for (StatementSource source : expr.getStatementSources()) {
+						update(source.getEndpointID(), bindings, duration, results);
+					}
+				}
+			}
+		};
+	}
+
+	/**
+	 * Update the block size of the given endpoint with the measurements of a bound join request.
+	 *
+	 * @param endpointId
+	 * @param bindings   the number of bindings of the request
+	 * @param duration   the response time in milliseconds
+	 * @param results    the number of results
+	 */
+	public void update(String endpointId, int bindings, long duration, long results) {
+		FedXConfig config = federationContext.getConfig();
+		if (!config.isEnableAdaptiveBoundJoinBlockSize() || bindings <= 0) {
+			return;
+		}
+		int newSize = blockSizes.computeIfAbsent(endpointId, id -> new BlockSize(initialBlockSize()))
+				.update(bindings, duration, results, config);
+		if (newSize < 0) {
+			return;
+		}
+
+		if (log.isDebugEnabled()) {
+			log.debug("Bound join block size of endpoint " + endpointId + " changed to " + newSize + " (" + bindings
+					+ " bindings, " + duration + "ms, " + results + " results)");
+		}
+		Endpoint endpoint = federationContext.getEndpointManager().getEndpoint(endpointId);
+		if (endpoint != null) {
+			federationContext.getMonitoringService().monitorBoundJoinBlockSize(endpoint, newSize);
+		}
+	}
+
+	/**
+	 * Reset the block sizes of all endpoints, e.g. if the federation members have changed.
+	 */
+	public void clear() {
+		blockSizes.clear();
+	}
+
+	private int initialBlockSize() {
+		FedXConfig config = federationContext.getConfig();
+		return clamp(config.getBoundJoinBlockSize(), config);
+	}
+
+	private static int clamp(int blockSize, FedXConfig config) {
+		int min = Math.max(1, config.getBoundJoinMinBlockSize());
+		int max = Math.max(min, config.getBoundJoinMaxBlockSize());
+		return Math.max(min, Math.min(max, blockSize));
+	}
+
+	private static class BlockSize {
+
+		private volatile int size;
+
+		BlockSize(int size) {
+			this.size = size;
+		}
+
+		/**
+		 * @return the new block size, -1 if unchanged
+		 */
+		synchronized int update(int bindings, long duration, long results, FedXConfig config) {
+			long target = config.getBoundJoinTargetRequestTime();
+			int newSize = size;
+			if (duration > target || results > MAX_RESULTS_PER_REQUEST) {
+				// blocks larger than the current size were created before the last decrease
+				if (bindings <= size) {
+					newSize = clamp(bindings / 2, config);
+				}
+			} else if (bindings >= size && duration * 2 < target && results * 2 <= MAX_RESULTS_PER_REQUEST) {
+				newSize = clamp(size * 2, config);
+			}
+			if (newSize == size) {
+				return -1;
+			}
+			size = newSize;
+			return newSize;
+		}
+	}
+}
@@ -66,7 +66,8 @@ public class ControlledWorkerBoundJoin extends ControlledWorkerJoin {
 			return;
 		}
 
-		int nBindingsCfg = this.queryInfo.getFederationContext().getConfig().getBoundJoinBlockSize();
+		BoundJoinBlockSizeController blockSizeController = this.queryInfo.getFederationContext()
+				.getBoundJoinBlockSizeController();
 		int totalBindings = 0; // the total number of bindings
 		TupleExpr expr = rightArg;
 
@@ -117,7 +118,7 @@ public class ControlledWorkerBoundJoin extends ControlledWorkerJoin {
 			 */
 
 			if (totalBindings > 10) {
-				nBindings = nBindingsCfg;
+				nBindings = blockSizeController.getBlockSize(expr);
 			} else {
 				nBindings = 3;
 			}
@@ -119,7 +119,7 @@ public class HashJoin extends JoinExecutorBase<BindingSet> {
 	 * Perform a hash join of bindings from the left block with those of the right block.
 	 * <p>
 	 * This method keeps the merged bindings in the results, if the join variables match and if all previously resolved
-	 * bindings hold.
+	 * bindings hold, i.e. if the left and right bindings are compatible.
 	 * </p>
 	 *
 	 * @param leftBlock
@@ -136,29 +136,34 @@ public class HashJoin extends JoinExecutorBase<BindingSet> {
 
 			for (BindingSet right : rightBlock) {
 
-				boolean match = false;
-				// check join variables: must be equal in both operands
+				// at least one join variable must match, and the bindings must be compatible: shared
+				// variables (i.e. the join variables and other free variables of the right expression
+				// bound in the left bindings) must be equal
+				boolean match = joinVariables.isEmpty();
 				for (String joinVariable : joinVariables) {
 					Value leftValue = left.getValue(joinVariable);
 					Value rightValue = right.getValue(joinVariable);
-
-					// join match
-					if (leftValue != null && leftValue.equals(rightValue)) {
-						match = true;
+					if (leftValue == null || rightValue == null) {
+						continue;
+					}
+					if (!leftValue.equals(rightValue)) {
+						match = false;
 						break;
 					}
+					match = true;
 				}
 
-				// check other free variables of right expression
-				// => must be available in bindings
 				for (String freeVariable : freeVariablesRight) {
+					if (!match) {
+						break;
+					}
 					if (joinVariables.contains(freeVariable)) {
 						continue; // skip
 					}
 					Value leftValue = left.getValue(freeVariable);
 					Value rightValue = right.getValue(freeVariable);
-					if (leftValue != null && leftValue.equals(rightValue)) {
-						match = true;
+					if (leftValue != null && rightValue != null && !leftValue.equals(rightValue)) {
+						match = false;
 					}
 				}
 
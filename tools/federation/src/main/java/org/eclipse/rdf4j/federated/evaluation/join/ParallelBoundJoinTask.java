@@ -44,7 +44,12 @@ public class ParallelBoundJoinTask extends ParallelTaskBase<BindingSet> {
 
 	@Override
 	protected CloseableIteration<BindingSet, QueryEvaluationException> performTaskInternal() throws Exception {
-		return strategy.evaluateBoundJoinStatementPattern(expr, bindings);
+		long start = System.currentTimeMillis();
+		CloseableIteration<BindingSet, QueryEvaluationException> result = strategy
+				.evaluateBoundJoinStatementPattern(expr, bindings);
+		return getQueryInfo().getFederationContext()
+				.getBoundJoinBlockSizeController()
+				.measure(expr, bindings.size(), System.currentTimeMillis() - start, result);
 	}
 
 	@Override
@@ -43,7 +43,12 @@ public class ParallelCheckJoinTask extends ParallelTaskBase<BindingSet> {
 
 	@Override
 	protected CloseableIteration<BindingSet, QueryEvaluationException> performTaskInternal() throws Exception {
-		return strategy.evaluateGroupedCheck(expr, bindings);
+		long start = System.currentTimeMillis();
+		CloseableIteration<BindingSet, QueryEvaluationException> result = strategy.evaluateGroupedCheck(expr,
+				bindings);
+		return getQueryInfo().getFederationContext()
+				.getBoundJoinBlockSizeController()
+				.measure(expr, bindings.size(), System.currentTimeMillis() - start, result);
 	}
 
 	@Override
@@ -54,7 +54,8 @@ public class SynchronousBoundJoin extends SynchronousJoin {
 			return;
 		}
 
-		int nBindingsCfg = this.queryInfo.getFederationContext().getConfig().getBoundJoinBlockSize();
+		BoundJoinBlockSizeController blockSizeController = this.queryInfo.getFederationContext()
+				.getBoundJoinBlockSizeController();
 		int totalBindings = 0; // the total number of bindings
 		StatementTupleExpr stmt = (StatementTupleExpr) rightArg;
 
@@ -86,7 +87,7 @@ public class SynchronousBoundJoin extends SynchronousJoin {
 			 *
 			 */
 			if (totalBindings > 10) {
-				nBindings = nBindingsCfg;
+				nBindings = blockSizeController.getBlockSize(stmt);
 			} else {
 				nBindings = 3;
 			}
@@ -102,11 +103,14 @@ public class SynchronousBoundJoin extends SynchronousJoin {
 			totalBindings += count;
 			if (isClosed())
 				return;
+			long start = System.currentTimeMillis();
+			CloseableIteration<BindingSet, QueryEvaluationException> result;
 			if (hasFreeVars) {
-				addResult(strategy.evaluateBoundJoinStatementPattern(stmt, bindings));
+				result = strategy.evaluateBoundJoinStatementPattern(stmt, bindings);
 			} else {
-				addResult(strategy.evaluateGroupedCheck((CheckStatementPattern) stmt, bindings));
+				result = strategy.evaluateGroupedCheck((CheckStatementPattern) stmt, bindings);
 			}
+			addResult(blockSizeController.measure(stmt, count, System.currentTimeMillis() - start, result));
 
 		}
 
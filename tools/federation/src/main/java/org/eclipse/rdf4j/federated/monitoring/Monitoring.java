@@ -10,6 +10,7 @@
  *******************************************************************************/
 package org.eclipse.rdf4j.federated.monitoring;
 
+import org.eclipse.rdf4j.common.annotation.Experimental;
 import org.eclipse.rdf4j.federated.endpoint.Endpoint;
 import org.eclipse.rdf4j.federated.structures.QueryInfo;
 import org.eclipse.rdf4j.query.algebra.TupleExpr;
@@ -23,4 +24,15 @@ public interface Monitoring {
 	void monitorQuery(QueryInfo query);
 
 	void logQueryPlan(TupleExpr tupleExpr);
+
+	/**
+	 * Monitor a change of the adaptive bound join block size of the given endpoint.
+	 *
+	 * @param e
+	 * @param blockSize the new block size
+	 * @see org.eclipse.rdf4j.federated.evaluation.join.BoundJoinBlockSizeController
+	 */
+	@Experimental
+	default void monitorBoundJoinBlockSize(Endpoint e, int blockSize) {
+	}
 }
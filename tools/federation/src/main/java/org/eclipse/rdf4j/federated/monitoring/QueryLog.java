@@ -14,6 +14,7 @@ import java.io.IOException;
 import java.util.concurrent.atomic.AtomicBoolean;
 
 import org.eclipse.rdf4j.federated.FedXConfig;
+import org.eclipse.rdf4j.federated.endpoint.Endpoint;
 import org.eclipse.rdf4j.federated.structures.QueryInfo;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -61,4 +62,10 @@ public class QueryLog {
 		}
 	}
 
+	public void logBoundJoinBlockSize(Endpoint e, int blockSize) {
+		if (active.get()) {
+			queryLog.info("Bound join block size of endpoint {}: {}", e.getId(), blockSize);
+		}
+	}
+
 }
@@ -0,0 +1,287 @@
+/*******************************************************************************
+ * Copyright (c) 2023 Eclipse RDF4J contributors.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Distribution License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/org/documents/edl-v10.php.
+ *
+ * SPDX-License-Identifier: BSD-3-Clause
+ *******************************************************************************/
+package org.eclipse.rdf4j.federated.optimizer;
+
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+import org.eclipse.rdf4j.common.annotation.Experimental;
+import org.eclipse.rdf4j.federated.FederationContext;
+import org.eclipse.rdf4j.federated.algebra.ExclusiveGroup;
+import org.eclipse.rdf4j.federated.algebra.ExclusiveStatement;
+import org.eclipse.rdf4j.federated.algebra.ExclusiveTupleExpr;
+import org.eclipse.rdf4j.federated.algebra.FedXService;
+import org.eclipse.rdf4j.federated.algebra.FedXStatementPattern;
+import org.eclipse.rdf4j.federated.algebra.NJoin;
+import org.eclipse.rdf4j.federated.algebra.NUnion;
+import org.eclipse.rdf4j.federated.algebra.StatementSource;
+import org.eclipse.rdf4j.federated.algebra.StatementSourcePattern;
+import org.eclipse.rdf4j.federated.endpoint.Endpoint;
+import org.eclipse.rdf4j.federated.statistics.EndpointStatistics;
+import org.eclipse.rdf4j.federated.statistics.EndpointStatistics.PropertyPartition;
+import org.eclipse.rdf4j.federated.statistics.EndpointStatisticsManager;
+import org.eclipse.rdf4j.federated.util.QueryAlgebraUtil;
+import org.eclipse.rdf4j.model.IRI;
+import org.eclipse.rdf4j.model.vocabulary.RDF;
+import org.eclipse.rdf4j.query.algebra.BindingSetAssignment;
+import org.eclipse.rdf4j.query.algebra.Extension;
+import org.eclipse.rdf4j.query.algebra.StatementPattern;
+import org.eclipse.rdf4j.query.algebra.TupleExpr;
+import org.eclipse.rdf4j.query.algebra.Var;
+
+/**
+ * A {@link FedXCostModel} which estimates the cost of a join argument as the number of results it produces (for each
+ * binding of the join variables), using the {@link EndpointStatistics} of the relevant federation members.
+ * <p>
+ * If no statistics are available for an expression (e.g. while they are loaded in the background), its cardinality is
+ * guessed from the number of its unbound variables, which approximates the ordering of the
+ * {@link DefaultFedXCostModel}.
+ * </p>
+ *
+ * <p>
+ * Based on the estimated cardinalities, a join argument is evaluated with a hash join if fetching all of its results
+ * with a single request is cheaper than the requests of a bound join.
+ * </p>
+ *
+ * @see EndpointStatisticsManager
+ */
+@Experimental
+public class EndpointStatisticsCostModel implements FedXCostModel {
+
+	/**
+	 * The guessed cardinality of an expression with a single unbound variable and without statistics
+	 */
+	public static final double UNKNOWN_CARDINALITY = 1000;
+
+	/**
+	 * The selectivity of a bound subject or object if the number of distinct values is not known
+	 */
+	public static final double DEFAULT_SELECTIVITY = 0.1;
+
+	/**
+	 * The cost of a remote request, in terms of transferred results
+	 */
+	public static final double REQUEST_COST = 1000;
+
+	/**
+	 * The default maximum estimated cardinality of a join argument evaluated with a hash join
+	 */
+	public static final long DEFAULT_MAX_HASH_JOIN_CARDINALITY = 10000;
+
+	private static final double UNKNOWN = -1;
+
+	private final FederationContext federationContext;
+
+	private final EndpointStatisticsManager statisticsManager;
+
+	private final long maxHashJoinCardinality;
+
+	public EndpointStatisticsCostModel(FederationContext federationContext) {
+		this(federationContext, DEFAULT_MAX_HASH_JOIN_CARDINALITY);
+	}
+
+	/**
+	 * @param federationContext
+	 * @param maxHashJoinCardinality the maximum estimated cardinality of a join argument evaluated with a hash join,
+	 *                               i.e. which is kept in memory, 0 to disable hash joins
+	 */
+	public EndpointStatisticsCostModel(FederationContext federationContext, long maxHashJoinCardinality) {
+		this.federationContext = federationContext;
+		this.statisticsManager = federationContext.getEndpointStatisticsManager();
+		this.maxHashJoinCardinality = maxHashJoinCardinality;
+	}
+
+	@Override
+	public double estimateCost(TupleExpr tupleExpr, Set<String> joinVars) {
+
+		if (tupleExpr instanceof BindingSetAssignment || tupleExpr instanceof Extension) {
+			return 0;
+		}
+		if (tupleExpr instanceof NJoin) {
+			// the join order of this join is already determined (depth first)
+			return estimateCost(((NJoin) tupleExpr).getArg(0), joinVars);
+		}
+		if (tupleExpr instanceof NUnion) {
+			double sum = 0;
+			for (TupleExpr arg : ((NUnion) tupleExpr).getArgs()) {
+				sum += estimateCost(arg, joinVars);
+			}
+			return sum;
+		}
+		if (tupleExpr instanceof FedXService) {
+			double cost = guessCardinality(tupleExpr, joinVars);
+			// evaluate services with variable service ref late (since the service ref
+			// may be computed at evaluation time)
+			if (!((FedXService) tupleExpr).getService().getServiceRef().hasValue()) {
+				cost *= REQUEST_COST;
+			}
+			return cost;
+		}
+
+		double cardinality = estimateCardinality(tupleExpr, joinVars);
+		if (cardinality == UNKNOWN) {
+			return guessCardinality(tupleExpr, joinVars);
+		}
+		return cardinality;
+	}
+
+	@Override
+	public boolean isHashJoin(List<TupleExpr> joinArgs, int joinIndex) {
+
+		TupleExpr rightArg = joinArgs.get(joinIndex);
+		if (!(rightArg instanceof FedXStatementPattern || rightArg instanceof ExclusiveGroup)) {
+			return false;
+		}
+
+		// the number of results if the right argument is evaluated independently
+		double rightCardinality = estimateCardinality(rightArg, Set.of());
+		if (rightCardinality == UNKNOWN || rightCardinality > maxHashJoinCardinality) {
+			return false;
+		}
+
+		// the number of results of the left arguments
+		Set<String> joinVars = new HashSet<>();
+		double leftCardinality = 1;
+		for (int i = 0; i < joinIndex; i++) {
+			leftCardinality *= estimateCost(joinArgs.get(i), joinVars);
+			joinVars.addAll(QueryAlgebraUtil.getFreeVars(joinArgs.get(i)));
+		}
+
+		Collection<String> rightVars = QueryAlgebraUtil.getFreeVars(rightArg);
+		if (rightVars.stream().noneMatch(joinVars::contains)) {
+			return false; // cartesian product
+		}
+
+		int blockSize = Math.max(1, federationContext.getBoundJoinBlockSizeController().getBlockSize(rightArg));
+		double boundJoinCost = Math.ceil(leftCardinality / blockSize) * REQUEST_COST
+				+ leftCardinality * estimateCost(rightArg, joinVars);
+		double hashJoinCost = REQUEST_COST + rightCardinality;
+
+		return hashJoinCost < boundJoinCost;
+	}
+
+	/**
+	 * Estimate the cardinality of the given expression from the statistics of its sources.
+	 *
+	 * @return the cardinality, {@link #UNKNOWN} if not available
+	 */
+	private double estimateCardinality(TupleExpr tupleExpr, Set<String> joinVars) {
+
+		if (tupleExpr instanceof StatementSourcePattern) {
+			// the union of the results of all sources
+			double sum = 0;
+			for (StatementSource source : ((StatementSourcePattern) tupleExpr).getStatementSources()) {
+				double cardinality = estimateCardinality((StatementPattern) tupleExpr, source, joinVars);
+				if (cardinality == UNKNOWN) {
+					return UNKNOWN;
+				}
+				sum += cardinality;
+			}
+			return sum;
+		}
+		if (tupleExpr instanceof ExclusiveStatement) {
+			ExclusiveStatement stmt = (ExclusiveStatement) tupleExpr;
+			return estimateCardinality(stmt, stmt.getOwner(), joinVars);
+		}
+		if (tupleExpr instanceof ExclusiveGroup) {
+			// the group cannot produce more results than its most selective statement
+			double min = UNKNOWN;
+			for (ExclusiveTupleExpr expr : ((ExclusiveGroup) tupleExpr).getExclusiveExpressions()) {
+				double cardinality = estimateCardinality(expr, joinVars);
+				if (cardinality != UNKNOWN && (min == UNKNOWN || cardinality < min)) {
+					min = cardinality;
+				}
+			}
+			return min;
+		}
+		return UNKNOWN;
+	}
+
+	private double estimateCardinality(StatementPattern stmt, StatementSource source, Set<String> joinVars) {
+
+		Endpoint endpoint = federationContext.getEndpointManager().getEndpoint(source.getEndpointID());
+		if (endpoint == null) {
+			return UNKNOWN;
+		}
+		EndpointStatistics statistics = statisticsManager.getStatistics(endpoint);
+		if (statistics == null || statistics.isEmpty()) {
+			return UNKNOWN;
+		}
+
+		boolean subjectBound = isBound(stmt.getSubjectVar(), joinVars);
+		boolean objectBound = isBound(stmt.getObjectVar(), joinVars);
+		Var predicateVar = stmt.getPredicateVar();
+
+		if (!predicateVar.hasValue()) {
+			if (statistics.getTriples() == EndpointStatistics.UNKNOWN) {
+				return UNKNOWN;
+			}
+			return select(select(statistics.getTriples(), subjectBound, EndpointStatistics.UNKNOWN), objectBound,
+					EndpointStatistics.UNKNOWN);
+		}
+
+		if (!(predicateVar.getValue() instanceof IRI)) {
+			return 0;
+		}
+		IRI predicate = (IRI) predicateVar.getValue();
+
+		// ?x rdf:type :someType
+		if (RDF.TYPE.equals(predicate) && stmt.getObjectVar().hasValue()
+				&& stmt.getObjectVar().getValue() instanceof IRI) {
+			long entities = statistics.getEntities((IRI) stmt.getObjectVar().getValue());
+			if (entities != EndpointStatistics.UNKNOWN) {
+				return subjectBound ? Math.min(1, entities) : entities;
+			}
+		}
+
+		PropertyPartition partition = statistics.getPropertyPartition(predicate);
+		if (partition == null) {
+			return UNKNOWN;
+		}
+		double cardinality = select(partition.getTriples(), subjectBound, partition.getDistinctSubjects());
+		return select(cardinality, objectBound, partition.getDistinctObjects());
+	}
+
+	/**
+	 * The cardinality after binding a position with the given number of distinct values.
+	 */
+	private static double select(double cardinality, boolean bound, long distinctValues) {
+		if (!bound) {
+			return cardinality;
+		}
+		if (distinctValues > 0) {
+			return cardinality / distinctValues;
+		}
+		return cardinality * DEFAULT_SELECTIVITY;
+	}
+
+	private static boolean isBound(Var var, Set<String> joinVars) {
+		return var.hasValue() || joinVars.contains(var.getName());
+	}
+
+	/**
+	 * Guess the cardinality from the number of unbound variables of the expression.
+	 */
+	private static double guessCardinality(TupleExpr tupleExpr, Set<String> joinVars) {
+		int unbound = 0;
+		for (String var : QueryAlgebraUtil.getFreeVars(tupleExpr)) {
+			if (!joinVars.contains(var)) {
+				unbound++;
+			}
+		}
+		if (unbound == 0) {
+			return 1;
+		}
+		return UNKNOWN_CARDINALITY * Math.pow(10, unbound - 1);
+	}
+}
@@ -10,8 +10,10 @@
  *******************************************************************************/
 package org.eclipse.rdf4j.federated.optimizer;
 
+import java.util.List;
 import java.util.Set;
 
+import org.eclipse.rdf4j.common.annotation.Experimental;
 import org.eclipse.rdf4j.query.algebra.TupleExpr;
 
 /**
@@ -30,4 +32,18 @@ public interface FedXCostModel {
 	 * @return the cost associated to the tupleExpr
 	 */
 	double estimateCost(TupleExpr tupleExpr, Set<String> joinVars);
+
+	/**
+	 * Return whether the join argument at the given index of the (ordered) join arguments shall be evaluated with a
+	 * hash join instead of a bound join. The default implementation always uses bound joins.
+	 *
+	 * @param joinArgs  the ordered join arguments
+	 * @param joinIndex the join index, starting with 1
+	 * @return whether a hash join shall be used
+	 * @see org.eclipse.rdf4j.federated.algebra.NJoin#setHashJoin(int, boolean)
+	 */
+	@Experimental
+	default boolean isHashJoin(List<TupleExpr> joinArgs, int joinIndex) {
+		return false;
+	}
 }
@@ -12,6 +12,7 @@ package org.eclipse.rdf4j.federated.optimizer;
 
 import java.util.ArrayList;
 import java.util.HashSet;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
@@ -21,6 +22,7 @@ import java.util.concurrent.CountDownLatch;
 import java.util.concurrent.TimeUnit;
 
 import org.eclipse.rdf4j.common.iteration.CloseableIteration;
+import org.eclipse.rdf4j.federated.FedXConfig;
 import org.eclipse.rdf4j.federated.algebra.EmptyStatementPattern;
 import org.eclipse.rdf4j.federated.algebra.ExclusiveStatement;
 import org.eclipse.rdf4j.federated.algebra.StatementSource;
@@ -41,6 +43,7 @@ import org.eclipse.rdf4j.federated.util.QueryStringUtil;
 import org.eclipse.rdf4j.query.BindingSet;
 import org.eclipse.rdf4j.query.QueryEvaluationException;
 import org.eclipse.rdf4j.query.algebra.StatementPattern;
+import org.eclipse.rdf4j.query.algebra.Var;
 import org.eclipse.rdf4j.query.impl.EmptyBindingSet;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -212,9 +215,10 @@ public class SourceSelection {
 				return;
 			}
 
-			latch = new CountDownLatch(tasks.size());
-			for (CheckTaskPair task : tasks) {
-				scheduler.schedule(new ParallelCheckTask(task.e, task.t, task.queryInfo, this));
+			List<ParallelTaskBase<BindingSet>> checkTasks = createCheckTasks(tasks);
+			latch = new CountDownLatch(checkTasks.size());
+			for (ParallelTaskBase<BindingSet> task : checkTasks) {
+				scheduler.schedule(task);
 			}
 
 			try {
@@ -252,6 +256,53 @@ public class SourceSelection {
 			}
 		}
 
+		/**
+		 * Create the tasks for the given checks. If a source selection batch size is configured, the statements without
+		 * context variable and without repeated variables are checked with one task per endpoint and batch.
+		 *
+		 * @param tasks
+		 * @return the tasks to be scheduled
+		 * @see FedXConfig#getSourceSelectionBatchSize()
+		 */
+		private List<ParallelTaskBase<BindingSet>> createCheckTasks(List<CheckTaskPair> tasks) {
+			List<ParallelTaskBase<BindingSet>> res = new ArrayList<>();
+			int batchSize = getQueryInfo().getFederationContext().getConfig().getSourceSelectionBatchSize();
+
+			Map<Endpoint, List<StatementPattern>> batches = new LinkedHashMap<>();
+			for (CheckTaskPair task : tasks) {
+				// the batched check only matches the bound values of a statement, i.e. it cannot express
+				// the constraint of a repeated variable (e.g. ?x :p ?x)
+				if (batchSize <= 1 || task.t.getContextVar() != null || hasRepeatedVariable(task.t)) {
+					res.add(new ParallelCheckTask(task.e, task.t, task.queryInfo, this));
+					continue;
+				}
+				List<StatementPattern> batch = batches.computeIfAbsent(task.e, e -> new ArrayList<>());
+				batch.add(task.t);
+				if (batch.size() >= batchSize) {
+					res.add(new ParallelBatchCheckTask(task.e, batch, getQueryInfo(), this));
+					batches.remove(task.e);
+				}
+			}
+			for (Map.Entry<Endpoint, List<StatementPattern>> batch : batches.entrySet()) {
+				if (batch.getValue().size() == 1) {
+					res.add(new ParallelCheckTask(batch.getKey(), batch.getValue().get(0), getQueryInfo(), this));
+				} else {
+					res.add(new ParallelBatchCheckTask(batch.getKey(), batch.getValue(), getQueryInfo(), this));
+				}
+			}
+			return res;
+		}
+
+		private boolean hasRepeatedVariable(StatementPattern stmt) {
+			Set<String> names = new HashSet<>();
+			for (Var var : List.of(stmt.getSubjectVar(), stmt.getPredicateVar(), stmt.getObjectVar())) {
+				if (!var.hasValue() && !names.add(var.getName())) {
+					return true;
+				}
+			}
+			return false;
+		}
+
 		@Override
 		public void run() {
 			/* not needed */
@@ -351,4 +402,61 @@ public class SourceSelection {
 		}
 	}
 
+	/**
+	 * Task for checking multiple statements at an endpoint with a single request (for source selection)
+	 *
+	 * @see TripleSource#hasStatements(List, QueryInfo, org.eclipse.rdf4j.query.Dataset)
+	 */
+	protected static class ParallelBatchCheckTask extends ParallelTaskBase<BindingSet> {
+
+		protected final Endpoint endpoint;
+		protected final List<StatementPattern> stmts;
+		protected final SourceSelectionExecutorWithLatch control;
+		protected final QueryInfo queryInfo;
+
+		public ParallelBatchCheckTask(Endpoint endpoint, List<StatementPattern> stmts, QueryInfo queryInfo,
+				SourceSelectionExecutorWithLatch control) {
+			this.endpoint = endpoint;
+			this.stmts = stmts;
+			this.queryInfo = queryInfo;
+			this.control = control;
+		}
+
+		@Override
+		protected CloseableIteration<BindingSet, QueryEvaluationException> performTaskInternal() throws Exception {
+			try {
+				TripleSource t = endpoint.getTripleSource();
+				boolean[] hasResults = t.hasStatements(stmts, queryInfo, queryInfo.getDataset());
+
+				SourceSelection sourceSelection = control.sourceSelection;
+				for (int i = 0; i < stmts.size(); i++) {
+					StatementPattern stmt = stmts.get(i);
+					sourceSelection.cache.updateInformation(new SubQuery(stmt, queryInfo.getDataset()), endpoint,
+							hasResults[i]);
+
+					if (hasResults[i]) {
+						sourceSelection.addSource(stmt,
+								new StatementSource(endpoint.getId(), StatementSourceType.REMOTE));
+					}
+				}
+
+				return null;
+			} catch (Exception e) {
+				throw new OptimizationException(
+						"Error checking results for endpoint " + endpoint.getId() + ": " + e.getMessage(), e);
+			}
+		}
+
+		@Override
+		public ParallelExecutor<BindingSet> getControl() {
+			return control;
+		}
+
+		@Override
+		public void cancel() {
+			control.latch.countDown();
+			super.cancel();
+		}
+	}
+
 }
@@ -102,6 +102,11 @@ public class StatementGroupAndJoinOptimizer extends AbstractSimpleQueryModelVisi
 
 		// exchange the node
 		NJoin newNode = new NJoin(args, queryInfo);
+		for (int i = 1; i < args.size(); i++) {
+			if (costModel.isHashJoin(args, i)) {
+				newNode.setHashJoin(i, true);
+			}
+		}
 		node.replaceWith(newNode);
 	}
 
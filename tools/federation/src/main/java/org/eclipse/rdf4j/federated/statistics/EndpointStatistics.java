@@ -0,0 +1,129 @@
+/*******************************************************************************
+ * Copyright (c) 2023 Eclipse RDF4J contributors.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Distribution License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/org/documents/edl-v10.php.
+ *
+ * SPDX-License-Identifier: BSD-3-Clause
+ *******************************************************************************/
+package org.eclipse.rdf4j.federated.statistics;
+
+import java.util.Map;
+
+import org.eclipse.rdf4j.common.annotation.Experimental;
+import org.eclipse.rdf4j.model.IRI;
+
+/**
+ * Cardinality statistics of a federation member, modeled after the VoID vocabulary: the number of triples of the
+ * endpoint, a property partition per predicate and the number of entities per class.
+ *
+ * @see EndpointStatisticsManager
+ */
+@Experimental
+public class EndpointStatistics {
+
+	/**
+	 * Marker for unknown counts
+	 */
+	public static final long UNKNOWN = -1;
+
+	private final long triples;
+
+	private final Map<IRI, PropertyPartition> propertyPartitions;
+
+	private final Map<IRI, Long> classPartitions;
+
+	private final long created = System.currentTimeMillis();
+
+	/**
+	 * @param triples            the number of triples, {@link #UNKNOWN} if not known
+	 * @param propertyPartitions the property partitions by predicate
+	 * @param classPartitions    the number of entities by class
+	 */
+	public EndpointStatistics(long triples, Map<IRI, PropertyPartition> propertyPartitions,
+			Map<IRI, Long> classPartitions) {
+		this.triples = triples;
+		this.propertyPartitions = Map.copyOf(propertyPartitions);
+		this.classPartitions = Map.copyOf(classPartitions);
+	}
+
+	/**
+	 * @return the number of triples, {@link #UNKNOWN} if not known
+	 */
+	public long getTriples() {
+		return triples;
+	}
+
+	/**
+	 * @param predicate
+	 * @return the {@link PropertyPartition} of the given predicate, <code>null</code> if not known
+	 */
+	public PropertyPartition getPropertyPartition(IRI predicate) {
+		return propertyPartitions.get(predicate);
+	}
+
+	/**
+	 * @param clazz
+	 * @return the number of entities of the given class, {@link #UNKNOWN} if not known
+	 */
+	public long getEntities(IRI clazz) {
+		return classPartitions.getOrDefault(clazz, UNKNOWN);
+	}
+
+	/**
+	 * @return whether no information is available at all
+	 */
+	public boolean isEmpty() {
+		return triples == UNKNOWN && propertyPartitions.isEmpty() && classPartitions.isEmpty();
+	}
+
+	/**
+	 * @return the time in milliseconds since these statistics were collected
+	 */
+	public long getAge() {
+		return System.currentTimeMillis() - created;
+	}
+
+	@Override
+	public String toString() {
+		return "EndpointStatistics [triples=" + triples + ", properties=" + propertyPartitions.size() + ", classes="
+				+ classPartitions.size() + "]";
+	}
+
+	/**
+	 * The statistics of the triples with a given predicate
+	 */
+	public static class PropertyPartition {
+
+		private final long triples;
+
+		private final long distinctSubjects;
+
+		private final long distinctObjects;
+
+		/**
+		 * @param triples          the number of triples
+		 * @param distinctSubjects the number of distinct subjects, {@link #UNKNOWN} if not known
+		 * @param distinctObjects  the number of distinct objects, {@link #UNKNOWN} if not known
+		 */
+		public PropertyPartition(long triples, long distinctSubjects, long distinctObjects) {
+			this.triples = triples;
+			this.distinctSubjects = distinctSubjects;
+			this.distinctObjects = distinctObjects;
+		}
+
+		public long getTriples() {
+			return triples;
+		}
+
+		public long getDistinctSubjects() {
+			return distinctSubjects;
+		}
+
+		public long getDistinctObjects() {
+			return distinctObjects;
+		}
+	}
+}
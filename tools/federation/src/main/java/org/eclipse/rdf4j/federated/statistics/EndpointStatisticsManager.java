@@ -0,0 +1,260 @@
+/*******************************************************************************
+ * Copyright (c) 2023 Eclipse RDF4J contributors.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Distribution License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/org/documents/edl-v10.php.
+ *
+ * SPDX-License-Identifier: BSD-3-Clause
+ *******************************************************************************/
+package org.eclipse.rdf4j.federated.statistics;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+
+import org.eclipse.rdf4j.common.annotation.Experimental;
+import org.eclipse.rdf4j.federated.FedXConfig;
+import org.eclipse.rdf4j.federated.endpoint.Endpoint;
+import org.eclipse.rdf4j.federated.evaluation.concurrent.NamingThreadFactory;
+import org.eclipse.rdf4j.federated.statistics.EndpointStatistics.PropertyPartition;
+import org.eclipse.rdf4j.model.IRI;
+import org.eclipse.rdf4j.model.Literal;
+import org.eclipse.rdf4j.model.Value;
+import org.eclipse.rdf4j.query.BindingSet;
+import org.eclipse.rdf4j.query.QueryLanguage;
+import org.eclipse.rdf4j.query.QueryResults;
+import org.eclipse.rdf4j.query.TupleQuery;
+import org.eclipse.rdf4j.query.TupleQueryResult;
+import org.eclipse.rdf4j.repository.RepositoryConnection;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Collects and maintains {@link EndpointStatistics} for the federation members.
+ * <p>
+ * The statistics are read from the VoID description of an endpoint (i.e. <code>void:propertyPartition</code> and
+ * <code>void:classPartition</code> of the described datasets). If the endpoint does not provide such description, the
+ * statistics are computed with aggregate COUNT queries.
+ * </p>
+ *
+ * <p>
+ * Statistics are loaded in a background thread: {@link #getStatistics(Endpoint)} never blocks, and returns
+ * <code>null</code> until the statistics of an endpoint are available. Statistics older than the
+ * {@link FedXConfig#getEndpointStatisticsRefreshInterval()} are refreshed in the background on access.
+ * </p>
+ *
+ * @see FedXConfig#withEnableEndpointStatistics(boolean)
+ */
+@Experimental
+public class EndpointStatisticsManager {
+
+	private static final Logger log = LoggerFactory.getLogger(EndpointStatisticsManager.class);
+
+	private static final String VOID_PREFIX = "PREFIX void: <http://rdfs.org/ns/void#> ";
+
+	protected static final String VOID_TRIPLES_QUERY = VOID_PREFIX
+			+ "SELECT ?triples WHERE { ?dataset void:triples ?triples }";
+
+	protected static final String VOID_PROPERTIES_QUERY = VOID_PREFIX
+			+ "SELECT ?p ?triples ?distinctSubjects ?distinctObjects WHERE { "
+			+ "?dataset void:propertyPartition ?partition . ?partition void:property ?p ; void:triples ?triples . "
+			+ "OPTIONAL { ?partition void:distinctSubjects ?distinctSubjects } "
+			+ "OPTIONAL { ?partition void:distinctObjects ?distinctObjects } }";
+
+	protected static final String VOID_CLASSES_QUERY = VOID_PREFIX
+			+ "SELECT ?c ?entities WHERE { "
+			+ "?dataset void:classPartition ?partition . ?partition void:class ?c ; void:entities ?entities }";
+
+	protected static final String COUNT_PROPERTIES_QUERY = "SELECT ?p (COUNT(*) AS ?triples) "
+			+ "(COUNT(DISTINCT ?s) AS ?distinctSubjects) (COUNT(DISTINCT ?o) AS ?distinctObjects) "
+			+ "WHERE { ?s ?p ?o } GROUP BY ?p";
+
+	protected static final String COUNT_CLASSES_QUERY = "SELECT ?c (COUNT(DISTINCT ?s) AS ?entities) "
+			+ "WHERE { ?s a ?c } GROUP BY ?c";
+
+	private final FedXConfig config;
+
+	private final Map<String, EndpointStatistics> statistics = new ConcurrentHashMap<>();
+
+	/**
+	 * The ids of the endpoints for which a refresh is scheduled
+	 */
+	private final Set<String> scheduled = ConcurrentHashMap.newKeySet();
+
+	private ExecutorService executor;
+
+	private boolean shutDown = false;
+
+	public EndpointStatisticsManager(FedXConfig config) {
+		this.config = config;
+	}
+
+	/**
+	 * Returns the current statistics of the given endpoint, and schedules a refresh in the background if they are not
+	 * available or outdated.
+	 *
+	 * @param endpoint
+	 * @return the {@link EndpointStatistics}, <code>null</code> if not (yet) available
+	 */
+	public EndpointStatistics getStatistics(Endpoint endpoint) {
+		EndpointStatistics res = statistics.get(endpoint.getId());
+		if (res == null
+				|| res.getAge() > TimeUnit.SECONDS.toMillis(config.getEndpointStatisticsRefreshInterval())) {
+			scheduleRefresh(endpoint);
+		}
+		return res;
+	}
+
+	/**
+	 * Load the statistics of the given endpoint in the calling thread.
+	 *
+	 * @param endpoint
+	 * @return the {@link EndpointStatistics}
+	 */
+	public EndpointStatistics refresh(Endpoint endpoint) {
+		EndpointStatistics res = loadStatistics(endpoint);
+		statistics.put(endpoint.getId(), res);
+		if (log.isDebugEnabled()) {
+			log.debug("Statistics of endpoint " + endpoint.getId() + ": " + res);
+		}
+		return res;
+	}
+
+	/**
+	 * Remove all statistics, e.g. if the federation members have changed.
+	 */
+	public void clear() {
+		statistics.clear();
+	}
+
+	/**
+	 * Stop the background loading of statistics.
+	 */
+	public synchronized void shutDown() {
+		shutDown = true;
+		if (executor != null) {
+			executor.shutdownNow();
+		}
+	}
+
+	private void scheduleRefresh(Endpoint endpoint) {
+		if (!scheduled.add(endpoint.getId())) {
+			return; // refresh already scheduled
+		}
+		try {
+			getExecutor().execute(() -> {
+				try {
+					refresh(endpoint);
+				} catch (Exception e) {
+					log.warn("Failed to load statistics of endpoint " + endpoint.getId() + ": " + e.getMessage());
+					log.debug("Details: ", e);
+				} finally {
+					scheduled.remove(endpoint.getId());
+				}
+			});
+		} catch (RejectedExecutionException e) {
+			scheduled.remove(endpoint.getId());
+			log.debug("Statistics of endpoint " + endpoint.getId() + " not loaded: " + e.getMessage());
+		}
+	}
+
+	private synchronized ExecutorService getExecutor() {
+		if (shutDown) {
+			throw new RejectedExecutionException("Endpoint statistics manager has been shut down");
+		}
+		if (executor == null) {
+			NamingThreadFactory threadFactory = new NamingThreadFactory("FedX Endpoint Statistics") {
+				@Override
+				public Thread newThread(Runnable r) {
+					Thread t = super.newThread(r);
+					t.setDaemon(true);
+					return t;
+				}
+			};
+			executor = Executors.newSingleThreadExecutor(threadFactory);
+		}
+		return executor;
+	}
+
+	/**
+	 * Load the statistics from the VoID description of the endpoint, or compute them with COUNT queries if there is no
+	 * such description.
+	 *
+	 * @param endpoint
+	 * @return the {@link EndpointStatistics}
+	 */
+	protected EndpointStatistics loadStatistics(Endpoint endpoint) {
+
+		Map<IRI, PropertyPartition> properties = new HashMap<>();
+		Map<IRI, Long> classes = new HashMap<>();
+		long triples;
+
+		try (RepositoryConnection conn = endpoint.getConnection()) {
+
+			triples = 0;
+			for (BindingSet b : evaluate(conn, VOID_TRIPLES_QUERY)) {
+				triples = Math.max(triples, count(b.getValue("triples")));
+			}
+			readPropertyPartitions(conn, VOID_PROPERTIES_QUERY, properties);
+			readClassPartitions(conn, VOID_CLASSES_QUERY, classes);
+
+			if (properties.isEmpty()) {
+				log.debug("No VoID description available for endpoint " + endpoint.getId()
+						+ ", computing statistics with COUNT queries.");
+				readPropertyPartitions(conn, COUNT_PROPERTIES_QUERY, properties);
+				readClassPartitions(conn, COUNT_CLASSES_QUERY, classes);
+				triples = properties.values().stream().mapToLong(PropertyPartition::getTriples).sum();
+			}
+		}
+
+		return new EndpointStatistics(triples > 0 ? triples : EndpointStatistics.UNKNOWN, properties, classes);
+	}
+
+	private void readPropertyPartitions(RepositoryConnection conn, String query, Map<IRI, PropertyPartition> res) {
+		for (BindingSet b : evaluate(conn, query)) {
+			Value p = b.getValue("p");
+			long triples = count(b.getValue("triples"));
+			if (p instanceof IRI && triples >= 0) {
+				res.put((IRI) p, new PropertyPartition(triples, count(b.getValue("distinctSubjects")),
+						count(b.getValue("distinctObjects"))));
+			}
+		}
+	}
+
+	private void readClassPartitions(RepositoryConnection conn, String query, Map<IRI, Long> res) {
+		for (BindingSet b : evaluate(conn, query)) {
+			Value c = b.getValue("c");
+			long entities = count(b.getValue("entities"));
+			if (c instanceof IRI && entities >= 0) {
+				res.put((IRI) c, entities);
+			}
+		}
+	}
+
+	private List<BindingSet> evaluate(RepositoryConnection conn, String queryString) {
+		TupleQuery query = conn.prepareTupleQuery(QueryLanguage.SPARQL, queryString);
+		query.setMaxExecutionTime(config.getEndpointStatisticsMaxQueryTime());
+		try (TupleQueryResult res = query.evaluate()) {
+			return QueryResults.asList(res);
+		}
+	}
+
+	private static long count(Value value) {
+		if (!(value instanceof Literal)) {
+			return EndpointStatistics.UNKNOWN;
+		}
+		try {
+			return ((Literal) value).longValue();
+		} catch (NumberFormatException e) {
+			return EndpointStatistics.UNKNOWN;
+		}
+	}
+}
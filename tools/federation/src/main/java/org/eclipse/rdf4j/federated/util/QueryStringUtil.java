@@ -63,6 +63,12 @@ public class QueryStringUtil {
 	 */
 	public static final IRI BNODE_URI = FedXUtil.iri("http://fluidops.com/fedx/bnode");
 
+	/**
+	 * The name of the binding which holds the index of a statement in
+	 * {@link #selectQueryStringSourceSelectionVALUES(List, Dataset)}
+	 */
+	public static final String SOURCE_SELECTION_INDEX_BINDING_NAME = "__index";
+
 	/**
 	 * returns true iff there is at least one free variable, i.e. there is no binding for any variable
 	 *
@@ -626,6 +632,52 @@ public class QueryStringUtil {
 		return res.toString();
 	}
 
+	/**
+	 * Construct a SELECT query to check with a single request which of the provided statements can return results. Such
+	 * query can be used for source selection instead of an ASK query per statement. Only the constants of the
+	 * statements are considered, i.e. the statements must not have a context variable.
+	 *
+	 * Pattern:
+	 *
+	 * <pre>
+	 * SELECT ?__index WHERE {
+	 *   VALUES (?__s ?__p ?__o ?__index) { (s1 p1 UNDEF "0") (UNDEF p2 o2 "1") ... }
+	 *   FILTER EXISTS { ?__s ?__p ?__o }
+	 * }
+	 * </pre>
+	 *
+	 * @param stmts
+	 * @param dataset
+	 * @return the SELECT query string
+	 * @see #SOURCE_SELECTION_INDEX_BINDING_NAME
+	 */
+	public static String selectQueryStringSourceSelectionVALUES(List<StatementPattern> stmts, Dataset dataset) {
+
+		StringBuilder res = new StringBuilder();
+
+		res.append("SELECT ?").append(SOURCE_SELECTION_INDEX_BINDING_NAME).append(" ");
+		appendDatasetClause(res, dataset);
+		res.append("WHERE { VALUES (?__s ?__p ?__o ?").append(SOURCE_SELECTION_INDEX_BINDING_NAME).append(") { ");
+
+		int index = 0;
+		for (StatementPattern stmt : stmts) {
+			res.append("(");
+			for (Var var : new Var[] { stmt.getSubjectVar(), stmt.getPredicateVar(), stmt.getObjectVar() }) {
+				if (var.hasValue()) {
+					appendValue(res, var.getValue()).append(" ");
+				} else {
+					res.append("UNDEF ");
+				}
+			}
+			res.append("\"").append(index).append("\") ");
+			index++;
+		}
+
+		res.append("} FILTER EXISTS { ?__s ?__p ?__o } }");
+
+		return res.toString();
+	}
+
 	/**
 	 * Construct a SELECT query for the provided expr with LIMIT 1. Such query can be used for source selection instead
 	 * of ASK queries.
@@ -0,0 +1,84 @@
+/*******************************************************************************
+ * Copyright (c) 2023 Eclipse RDF4J contributors.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Distribution License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/org/documents/edl-v10.php.
+ *
+ * SPDX-License-Identifier: BSD-3-Clause
+ *******************************************************************************/
+package org.eclipse.rdf4j.federated.cache;
+
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.List;
+
+import org.eclipse.rdf4j.federated.cache.SourceSelectionCache.StatementSourceAssurance;
+import org.eclipse.rdf4j.federated.endpoint.Endpoint;
+import org.eclipse.rdf4j.federated.endpoint.EndpointFactory;
+import org.eclipse.rdf4j.federated.structures.SubQuery;
+import org.eclipse.rdf4j.model.impl.SimpleValueFactory;
+import org.eclipse.rdf4j.model.vocabulary.FOAF;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+public class SourceSelectionPersistentCacheTest {
+
+	@TempDir
+	Path tempDir;
+
+	@Test
+	public void testRestore() throws Exception {
+
+		Path file = tempDir.resolve("cache.journal");
+		Endpoint ep = EndpointFactory.loadResolvableRepository("dummy");
+
+		SubQuery s1 = new SubQuery(null, FOAF.NAME, SimpleValueFactory.getInstance().createLiteral("Alan"));
+		SubQuery s2 = new SubQuery(null, FOAF.NAME, null);
+		SubQuery s3 = new SubQuery(FOAF.PERSON, FOAF.INTEREST, null, FOAF.PERSON);
+
+		try (SourceSelectionPersistentCache cache = new SourceSelectionPersistentCache(file)) {
+			cache.updateInformation(s1, ep, false);
+			cache.updateInformation(s1, ep, true);
+			cache.updateInformation(s3, ep, false);
+		}
+
+		try (SourceSelectionPersistentCache cache = new SourceSelectionPersistentCache(file)) {
+			Assertions.assertEquals(StatementSourceAssurance.HAS_REMOTE_STATEMENTS, cache.getAssurance(s1, ep));
+			// inferred information is restored as well
+			Assertions.assertEquals(StatementSourceAssurance.HAS_REMOTE_STATEMENTS, cache.getAssurance(s2, ep));
+			Assertions.assertEquals(StatementSourceAssurance.NONE, cache.getAssurance(s3, ep));
+		}
+
+		// the journal is compacted to the latest update per sub query and endpoint
+		Assertions.assertEquals(2, Files.readAllLines(file).size());
+	}
+
+	@Test
+	public void testExpiredAndInvalidLines() throws Exception {
+
+		Path file = tempDir.resolve("cache.journal");
+		Endpoint ep = EndpointFactory.loadResolvableRepository("dummy");
+
+		SubQuery s1 = new SubQuery(null, FOAF.NAME, null);
+		SubQuery s2 = new SubQuery(null, FOAF.INTEREST, null);
+
+		long expired = System.currentTimeMillis() - Duration.ofHours(7).toMillis();
+		Files.write(file, List.of(
+				expired + "\t" + ep.getId() + "\t\t<" + FOAF.NAME + ">\t\tfalse",
+				"invalid line",
+				System.currentTimeMillis() + "\t" + ep.getId() + "\t\t<" + FOAF.INTEREST + ">\t\tfalse"),
+				StandardCharsets.UTF_8);
+
+		try (SourceSelectionPersistentCache cache = new SourceSelectionPersistentCache(file)) {
+			Assertions.assertEquals(StatementSourceAssurance.POSSIBLY_HAS_STATEMENTS, cache.getAssurance(s1, ep));
+			Assertions.assertEquals(StatementSourceAssurance.NONE, cache.getAssurance(s2, ep));
+		}
+
+		Assertions.assertEquals(1, Files.readAllLines(file).size());
+	}
+}
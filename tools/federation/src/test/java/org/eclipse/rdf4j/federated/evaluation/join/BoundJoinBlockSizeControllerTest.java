@@ -0,0 +1,107 @@
+/*******************************************************************************
+ * Copyright (c) 2023 Eclipse RDF4J contributors.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Distribution License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/org/documents/edl-v10.php.
+ *
+ * SPDX-License-Identifier: BSD-3-Clause
+ *******************************************************************************/
+package org.eclipse.rdf4j.federated.evaluation.join;
+
+import java.util.Arrays;
+import java.util.List;
+
+import org.eclipse.rdf4j.common.iteration.Iterations;
+import org.eclipse.rdf4j.federated.SPARQLBaseTest;
+import org.eclipse.rdf4j.federated.endpoint.Endpoint;
+import org.eclipse.rdf4j.federated.monitoring.MonitoringImpl.MonitoringInformation;
+import org.eclipse.rdf4j.federated.monitoring.MonitoringService;
+import org.eclipse.rdf4j.model.vocabulary.FOAF;
+import org.eclipse.rdf4j.query.TupleQueryResult;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+public class BoundJoinBlockSizeControllerTest extends SPARQLBaseTest {
+
+	@Override
+	protected void initFedXConfig() {
+		fedxRule.withConfiguration(c -> c.withEnableMonitoring(true)
+				.withEnableAdaptiveBoundJoinBlockSize(true)
+				.withBoundJoinBlockSize(4)
+				.withBoundJoinMinBlockSize(2)
+				.withBoundJoinMaxBlockSize(16)
+				.withBoundJoinTargetRequestTime(1000));
+	}
+
+	@Test
+	public void testUpdate() throws Exception {
+
+		// just execute for one kind of test environment
+		assumeSparqlEndpoint();
+
+		List<Endpoint> endpoints = prepareTest(
+				Arrays.asList("/tests/boundjoin/data02endpoint1.ttl", "/tests/boundjoin/data02endpoint2.ttl"));
+		Endpoint endpoint = endpoints.get(0);
+		String id = endpoint.getId();
+		BoundJoinBlockSizeController controller = federationContext().getBoundJoinBlockSizeController();
+
+		Assertions.assertEquals(4, controller.getBlockSize(id));
+
+		// fast requests with full blocks
+		controller.update(id, 4, 10, 10);
+		Assertions.assertEquals(8, controller.getBlockSize(id));
+		controller.update(id, 4, 10, 10); // block created before the increase
+		Assertions.assertEquals(8, controller.getBlockSize(id));
+		controller.update(id, 8, 10, 10);
+		controller.update(id, 16, 10, 10);
+		Assertions.assertEquals(16, controller.getBlockSize(id)); // maximum
+
+		// slow requests
+		controller.update(id, 16, 2000, 10);
+		Assertions.assertEquals(8, controller.getBlockSize(id));
+		controller.update(id, 16, 2000, 10); // block created before the decrease
+		Assertions.assertEquals(8, controller.getBlockSize(id));
+
+		// large results
+		controller.update(id, 8, 10, BoundJoinBlockSizeController.MAX_RESULTS_PER_REQUEST + 1);
+		Assertions.assertEquals(4, controller.getBlockSize(id));
+
+		controller.update(id, 4, 2000, 0);
+		controller.update(id, 2, 2000, 0);
+		Assertions.assertEquals(2, controller.getBlockSize(id)); // minimum
+
+		Assertions.assertEquals(2, monitoring().getMonitoringInformation(endpoint).getBoundJoinBlockSize());
+
+		// other endpoints are not affected
+		Assertions.assertEquals(4, controller.getBlockSize(endpoints.get(1).getId()));
+	}
+
+	@Test
+	public void testBoundJoin() throws Exception {
+
+		// just execute for one kind of test environment
+		assumeSparqlEndpoint();
+
+		List<Endpoint> endpoints = prepareTest(
+				Arrays.asList("/tests/boundjoin/data02endpoint1.ttl", "/tests/boundjoin/data02endpoint2.ttl"));
+
+		String query = "SELECT * WHERE { ?person <" + FOAF.NAME + "> ?name . ?person <" + FOAF.INTEREST
+				+ "> ?interest }";
+		try (TupleQueryResult tqr = federationContext().getQueryManager().prepareTupleQuery(query).evaluate()) {
+			Assertions.assertEquals(100, Iterations.asList(tqr).size());
+		}
+
+		// the interests are fetched with bound joins, which are answered fast by the local endpoint
+		BoundJoinBlockSizeController controller = federationContext().getBoundJoinBlockSizeController();
+		Assertions.assertTrue(controller.getBlockSize(endpoints.get(1).getId()) > 4);
+		Assertions.assertEquals(controller.getBlockSize(endpoints.get(1).getId()),
+				monitoring().getMonitoringInformation(endpoints.get(1)).getBoundJoinBlockSize());
+		Assertions.assertEquals(4, controller.getBlockSize(endpoints.get(0).getId()));
+	}
+
+	private MonitoringService monitoring() {
+		return (MonitoringService) federationContext().getMonitoringService();
+	}
+}
@@ -99,6 +99,27 @@ public class HashJoinTest {
 				joinResult.get(0));
 	}
 
+	@Test
+	public void testMultipleJoinVariables() throws Exception {
+
+		List<BindingSet> leftBlock = new ArrayList<>();
+		leftBlock.add(bindingSet(binding("x", irid("p1")), binding("y", l("P1"))));
+		leftBlock.add(bindingSet(binding("x", irid("p1")), binding("y", l("P2"))));
+
+		List<BindingSet> rightBlock = new ArrayList<>();
+		rightBlock.add(bindingSet(binding("x", irid("p1")), binding("y", l("P2")), binding("z", l("something"))));
+
+		CloseableIteration<BindingSet, QueryEvaluationException> joinResultIter = HashJoin.join(leftBlock, rightBlock,
+				Sets.newHashSet("x", "y"),
+				Collections.emptyList());
+		List<BindingSet> joinResult = Iterations.asList(joinResultIter);
+
+		Assertions.assertEquals(1, joinResult.size());
+		Assertions.assertEquals(
+				bindingSet(binding("x", irid("p1")), binding("y", l("P2")), binding("z", l("something"))),
+				joinResult.get(0));
+	}
+
 	protected BindingSet bindingSet(Binding... bindings) {
 		MapBindingSet bs = new MapBindingSet();
 		for (Binding b : bindings) {
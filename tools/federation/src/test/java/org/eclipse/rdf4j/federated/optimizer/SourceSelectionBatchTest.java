@@ -0,0 +1,114 @@
+/*******************************************************************************
+ * Copyright (c) 2023 Eclipse RDF4J contributors.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Distribution License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/org/documents/edl-v10.php.
+ *
+ * SPDX-License-Identifier: BSD-3-Clause
+ *******************************************************************************/
+package org.eclipse.rdf4j.federated.optimizer;
+
+import java.util.Arrays;
+import java.util.List;
+
+import org.eclipse.rdf4j.common.iteration.Iterations;
+import org.eclipse.rdf4j.federated.SPARQLBaseTest;
+import org.eclipse.rdf4j.federated.algebra.ExclusiveStatement;
+import org.eclipse.rdf4j.federated.algebra.StatementSourcePattern;
+import org.eclipse.rdf4j.federated.cache.SourceSelectionCache;
+import org.eclipse.rdf4j.federated.cache.SourceSelectionCache.StatementSourceAssurance;
+import org.eclipse.rdf4j.federated.endpoint.Endpoint;
+import org.eclipse.rdf4j.federated.monitoring.MonitoringImpl.MonitoringInformation;
+import org.eclipse.rdf4j.federated.monitoring.MonitoringService;
+import org.eclipse.rdf4j.federated.structures.QueryInfo;
+import org.eclipse.rdf4j.federated.structures.QueryType;
+import org.eclipse.rdf4j.federated.structures.SubQuery;
+import org.eclipse.rdf4j.model.vocabulary.FOAF;
+import org.eclipse.rdf4j.query.TupleQueryResult;
+import org.eclipse.rdf4j.query.algebra.Join;
+import org.eclipse.rdf4j.query.algebra.StatementPattern;
+import org.eclipse.rdf4j.query.algebra.Var;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+public class SourceSelectionBatchTest extends SPARQLBaseTest {
+
+	@Override
+	protected void initFedXConfig() {
+		fedxRule.withConfiguration(c -> c.withEnableMonitoring(true).withSourceSelectionBatchSize(10));
+	}
+
+	@Test
+	public void testBatchedSourceSelection() throws Exception {
+
+		// just execute for one kind of test environment
+		assumeSparqlEndpoint();
+
+		List<Endpoint> endpoints = prepareTest(
+				Arrays.asList("/tests/basic/data01endpoint1.ttl", "/tests/basic/data01endpoint2.ttl"));
+
+		String query = "SELECT * WHERE { ?person <" + FOAF.NAME + "> ?name . ?person <" + FOAF.INTEREST
+				+ "> ?interest . ?person <" + FOAF.MBOX + "> ?mbox }";
+		try (TupleQueryResult tqr = federationContext().getQueryManager().prepareTupleQuery(query).evaluate()) {
+			Assertions.assertEquals(0, Iterations.asList(tqr).size());
+		}
+
+		// 1 request for source selection of all three statements, none for data
+		Assertions.assertEquals(1, requestsForEndpoint(endpoints.get(0)));
+		Assertions.assertEquals(1, requestsForEndpoint(endpoints.get(1)));
+
+		// the results of the batched check are cached
+		SourceSelectionCache cache = federationContext().getSourceSelectionCache();
+		SubQuery name = new SubQuery(null, FOAF.NAME, null);
+		SubQuery interest = new SubQuery(null, FOAF.INTEREST, null);
+		Assertions.assertEquals(StatementSourceAssurance.HAS_REMOTE_STATEMENTS,
+				cache.getAssurance(name, endpoints.get(0)));
+		Assertions.assertEquals(StatementSourceAssurance.NONE, cache.getAssurance(name, endpoints.get(1)));
+		Assertions.assertEquals(StatementSourceAssurance.NONE, cache.getAssurance(interest, endpoints.get(0)));
+		Assertions.assertEquals(StatementSourceAssurance.HAS_REMOTE_STATEMENTS,
+				cache.getAssurance(interest, endpoints.get(1)));
+
+		query = "SELECT * WHERE { ?person <" + FOAF.NAME + "> ?name . ?person <" + FOAF.INTEREST + "> ?interest }";
+		try (TupleQueryResult tqr = federationContext().getQueryManager().prepareTupleQuery(query).evaluate()) {
+			Assertions.assertEquals(2, Iterations.asList(tqr).size());
+		}
+	}
+
+	@Test
+	public void testRepeatedVariable() throws Exception {
+
+		// just execute for one kind of test environment
+		assumeSparqlEndpoint();
+
+		List<Endpoint> endpoints = prepareTest(Arrays.asList("/tests/optimizer/sourceSelection01endpoint1.ttl",
+				"/tests/optimizer/sourceSelection01endpoint2.ttl"));
+
+		// the SPARQL parser rewrites repeated variables into a filter, hence create the patterns directly
+		StatementPattern knows = new StatementPattern(new Var("person"), new Var("knows", FOAF.KNOWS),
+				new Var("person"));
+		StatementPattern name = new StatementPattern(new Var("person"), new Var("name", FOAF.NAME), new Var("name"));
+		Join join = new Join(knows, name);
+
+		QueryInfo queryInfo = new QueryInfo("", null, QueryType.SELECT, 0, false, federationContext(),
+				federationContext().createStrategy(null), null);
+		new SourceSelection(endpoints, federationContext().getSourceSelectionCache(), queryInfo)
+				.doSourceSelection(List.of(knows, name));
+
+		// only endpoint2 has a statement matching ?person foaf:knows ?person
+		Assertions.assertTrue(join.getLeftArg() instanceof ExclusiveStatement);
+		Assertions.assertEquals(endpoints.get(1).getId(),
+				((ExclusiveStatement) join.getLeftArg()).getOwner().getEndpointID());
+		Assertions.assertTrue(join.getRightArg() instanceof StatementSourcePattern);
+	}
+
+	private int requestsForEndpoint(Endpoint endpoint) {
+		MonitoringInformation m = monitoring().getMonitoringInformation(endpoint);
+		return m == null ? 0 : m.getNumberOfRequests();
+	}
+
+	private MonitoringService monitoring() {
+		return (MonitoringService) federationContext().getMonitoringService();
+	}
+}
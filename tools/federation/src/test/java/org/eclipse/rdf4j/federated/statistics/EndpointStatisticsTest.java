@@ -0,0 +1,108 @@
+/*******************************************************************************
+ * Copyright (c) 2023 Eclipse RDF4J contributors.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Distribution License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/org/documents/edl-v10.php.
+ *
+ * SPDX-License-Identifier: BSD-3-Clause
+ *******************************************************************************/
+package org.eclipse.rdf4j.federated.statistics;
+
+import java.util.Arrays;
+import java.util.List;
+
+import org.eclipse.rdf4j.common.iteration.Iterations;
+import org.eclipse.rdf4j.federated.SPARQLBaseTest;
+import org.eclipse.rdf4j.federated.endpoint.Endpoint;
+import org.eclipse.rdf4j.federated.monitoring.MonitoringImpl.MonitoringInformation;
+import org.eclipse.rdf4j.federated.monitoring.MonitoringService;
+import org.eclipse.rdf4j.federated.statistics.EndpointStatistics.PropertyPartition;
+import org.eclipse.rdf4j.model.vocabulary.FOAF;
+import org.eclipse.rdf4j.query.TupleQueryResult;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+public class EndpointStatisticsTest extends SPARQLBaseTest {
+
+	@Override
+	protected void initFedXConfig() {
+		fedxRule.withConfiguration(c -> c.withEnableMonitoring(true).withEnableEndpointStatistics(true));
+	}
+
+	@Test
+	public void testVoidStatistics() throws Exception {
+
+		// just execute for one kind of test environment
+		assumeSparqlEndpoint();
+
+		List<Endpoint> endpoints = prepareTest(Arrays.asList("/tests/statistics/void.ttl"));
+
+		EndpointStatistics statistics = federationContext().getEndpointStatisticsManager()
+				.refresh(endpoints.get(0));
+
+		Assertions.assertEquals(1000, statistics.getTriples());
+		Assertions.assertEquals(400, statistics.getEntities(FOAF.PERSON));
+		Assertions.assertEquals(EndpointStatistics.UNKNOWN, statistics.getEntities(FOAF.DOCUMENT));
+
+		PropertyPartition name = statistics.getPropertyPartition(FOAF.NAME);
+		Assertions.assertEquals(800, name.getTriples());
+		Assertions.assertEquals(400, name.getDistinctSubjects());
+		Assertions.assertEquals(750, name.getDistinctObjects());
+
+		PropertyPartition knows = statistics.getPropertyPartition(FOAF.KNOWS);
+		Assertions.assertEquals(200, knows.getTriples());
+		Assertions.assertEquals(EndpointStatistics.UNKNOWN, knows.getDistinctSubjects());
+	}
+
+	@Test
+	public void testCountStatistics() throws Exception {
+
+		// just execute for one kind of test environment
+		assumeSparqlEndpoint();
+
+		List<Endpoint> endpoints = prepareTest(Arrays.asList("/tests/statistics/data01endpoint1.ttl"));
+
+		EndpointStatistics statistics = federationContext().getEndpointStatisticsManager()
+				.refresh(endpoints.get(0));
+
+		Assertions.assertEquals(40, statistics.getTriples());
+		Assertions.assertEquals(40, statistics.getPropertyPartition(FOAF.NAME).getDistinctSubjects());
+		Assertions.assertNull(statistics.getPropertyPartition(FOAF.INTEREST));
+	}
+
+	@Test
+	public void testHashJoin() throws Exception {
+
+		// just execute for one kind of test environment
+		assumeSparqlEndpoint();
+
+		List<Endpoint> endpoints = prepareTest(
+				Arrays.asList("/tests/statistics/data01endpoint1.ttl", "/tests/statistics/data01endpoint2.ttl"));
+		for (Endpoint endpoint : endpoints) {
+			federationContext().getEndpointStatisticsManager().refresh(endpoint);
+		}
+
+		String query = "SELECT * WHERE { ?person <" + FOAF.NAME + "> ?name . ?person <" + FOAF.INTEREST
+				+ "> ?interest }";
+		try (TupleQueryResult tqr = federationContext().getQueryManager().prepareTupleQuery(query).evaluate()) {
+			Assertions.assertEquals(20, Iterations.asList(tqr).size());
+		}
+
+		// 2 requests for source selection, 1 for fetching data
+		Assertions.assertEquals(3, requestsForEndpoint(endpoints.get(0)));
+		// 2 requests for source selection, all interests are fetched with a single request (instead of a bound join
+		// with 3 requests for the 40 persons)
+		Assertions.assertEquals(3, requestsForEndpoint(endpoints.get(1)));
+	}
+
+	private int requestsForEndpoint(Endpoint endpoint) {
+		MonitoringInformation m = monitoring().getMonitoringInformation(endpoint);
+		return m == null ? 0 : m.getNumberOfRequests();
+	}
+
+	private MonitoringService monitoring() {
+		return (MonitoringService) federationContext().getMonitoringService();
+	}
+}